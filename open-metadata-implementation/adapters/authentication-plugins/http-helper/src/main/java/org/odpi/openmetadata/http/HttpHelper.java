@@ -24,6 +24,25 @@ public class HttpHelper {
 
         LOGGER.warn("Strict SSL is set to false! Invalid certificates will be accepted for connection!");
 
+        // Install the all-trusting trust manager
+        try {
+            SSLContext sc = getNoStrictSSLContext();
+            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+            HttpsURLConnection.setDefaultHostnameVerifier ((hostname, session) -> true);
+        } catch (GeneralSecurityException e) {
+            LOGGER.error("The configuration for no strict SSL went wrong");
+        }
+    }
+
+    /**
+     * Return an SSL context that trusts all certificates.  HTTP clients that do not use HttpsURLConnection
+     * use this context when strict SSL is turned off.
+     *
+     * @return SSL context with a trust manager that does not validate certificate chains
+     * @throws GeneralSecurityException the SSL context could not be created
+     */
+    public static SSLContext getNoStrictSSLContext() throws GeneralSecurityException {
+
         // Create a trust manager that does not validate certificate chains
         TrustManager[] trustAllCerts = new TrustManager[] {
                 new X509TrustManager() {
@@ -39,15 +58,19 @@ public class HttpHelper {
                 }
         };
 
-        // Install the all-trusting trust manager
-        try {
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier ((hostname, session) -> true);
-        } catch (GeneralSecurityException e) {
-            LOGGER.error("The configuration for no strict SSL went wrong");
-        }
+        SSLContext sc = SSLContext.getInstance("SSL");
+        sc.init(null, trustAllCerts, new java.security.SecureRandom());
+
+        return sc;
+    }
+
+    /**
+     * Is the override property strict.ssl set to false?
+     *
+     * @return true if certificates should not be validated
+     */
+    public static boolean isNoStrictSSLConfigured() {
+        return "false".equalsIgnoreCase(System.getProperty("strict.ssl"));
     }
 
     /**
@@ -56,7 +79,7 @@ public class HttpHelper {
      * Only if the override property strict.ssl is set
      */
     public static void noStrictSSLIfConfigured() {
-        if ("false".equalsIgnoreCase(System.getProperty("strict.ssl")))
+        if (isNoStrictSSLConfigured())
         {
             noStrictSSL();
         }
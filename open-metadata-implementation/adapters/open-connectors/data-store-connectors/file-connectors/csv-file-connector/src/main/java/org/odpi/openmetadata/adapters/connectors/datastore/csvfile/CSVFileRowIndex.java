@@ -0,0 +1,211 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * CSVFileRowIndex records where each row of a CSV file starts so that a row can be read without scanning the
+ * rows before it.  The index is built in a single pass over a memory-mapped view of the file and only applies
+ * to the version of the file (length and modification time) that it was built from.
+ *
+ * Rows are separated by \n, \r\n or \r.  The bytes are matched directly, so the file must use an encoding where
+ * these bytes only appear as line terminators (such as UTF-8 or ISO-8859-1).  Lines at the end of the file that
+ * only contain white space are not counted as rows.
+ */
+class CSVFileRowIndex
+{
+    private static final long MAX_MAPPED_REGION_SIZE = Integer.MAX_VALUE;
+
+    private final long   lastModified;
+    private final long   fileLength;
+    private final int    rowCount;
+    private final long[] rowOffsets;
+
+
+    /**
+     * Constructor
+     *
+     * @param lastModified modification time of the indexed file
+     * @param fileLength length of the indexed file
+     * @param rowCount number of rows
+     * @param rowOffsets start of each row followed by the end of the last row
+     */
+    private CSVFileRowIndex(long   lastModified,
+                            long   fileLength,
+                            int    rowCount,
+                            long[] rowOffsets)
+    {
+        this.lastModified = lastModified;
+        this.fileLength   = fileLength;
+        this.rowCount     = rowCount;
+        this.rowOffsets   = rowOffsets;
+    }
+
+
+    /**
+     * Scan the file and build its index.
+     *
+     * @param fileStore file to index
+     * @return new index
+     * @throws IOException unable to read the file
+     */
+    static CSVFileRowIndex build(File fileStore) throws IOException
+    {
+        long lastModified = fileStore.lastModified();
+
+        try (FileChannel channel = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ))
+        {
+            long    fileLength           = channel.size();
+            long[]  rowOffsets           = new long[1024];
+            int     currentRow           = 0;
+            int     lastNonBlankRow      = -1;
+            boolean currentRowBlank      = true;
+            boolean afterCarriageReturn  = false;
+
+            for (long regionStart = 0; regionStart < fileLength; regionStart = regionStart + MAX_MAPPED_REGION_SIZE)
+            {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                      regionStart,
+                                                      Math.min(MAX_MAPPED_REGION_SIZE, fileLength - regionStart));
+
+                while (region.hasRemaining())
+                {
+                    byte character = region.get();
+                    long nextOffset = regionStart + region.position();
+
+                    if (afterCarriageReturn)
+                    {
+                        afterCarriageReturn = false;
+
+                        if (character == '\n')
+                        {
+                            /*
+                             * The row after \r\n starts after the \n.
+                             */
+                            rowOffsets[currentRow] = nextOffset;
+                            continue;
+                        }
+                    }
+
+                    if ((character == '\n') || (character == '\r'))
+                    {
+                        if (! currentRowBlank)
+                        {
+                            lastNonBlankRow = currentRow;
+                        }
+
+                        currentRow ++;
+                        if (currentRow == rowOffsets.length)
+                        {
+                            rowOffsets = Arrays.copyOf(rowOffsets, rowOffsets.length * 2);
+                        }
+                        rowOffsets[currentRow] = nextOffset;
+
+                        currentRowBlank = true;
+                        afterCarriageReturn = (character == '\r');
+                    }
+                    else if ((character < 0) || (! Character.isWhitespace((char)character)))
+                    {
+                        currentRowBlank = false;
+                    }
+                }
+            }
+
+            if (! currentRowBlank)
+            {
+                lastNonBlankRow = currentRow;
+            }
+
+            int rowCount = lastNonBlankRow + 1;
+
+            if (rowCount == currentRow + 1)
+            {
+                /*
+                 * The last row runs to the end of the file.
+                 */
+                rowOffsets = Arrays.copyOf(rowOffsets, rowCount + 1);
+                rowOffsets[rowCount] = fileLength;
+            }
+            else
+            {
+                rowOffsets = Arrays.copyOf(rowOffsets, rowCount + 1);
+            }
+
+            return new CSVFileRowIndex(lastModified, fileLength, rowCount, rowOffsets);
+        }
+    }
+
+
+    /**
+     * Return whether the index still describes the file.
+     *
+     * @param fileStore file that was indexed
+     * @return boolean result
+     */
+    boolean isCurrent(File fileStore)
+    {
+        return (fileStore.lastModified() == lastModified) && (fileStore.length() == fileLength);
+    }
+
+
+    /**
+     * Return the number of rows in the file.
+     *
+     * @return count
+     */
+    int getRowCount()
+    {
+        return rowCount;
+    }
+
+
+    /**
+     * Read a row from the file.
+     *
+     * @param fileStore file that was indexed
+     * @param rowNumber row to read, the first row is row 0
+     * @param charset encoding of the file
+     * @return text of the row without its line terminator
+     * @throws IOException unable to read the file
+     */
+    String readRow(File    fileStore,
+                   int     rowNumber,
+                   Charset charset) throws IOException
+    {
+        long       rowStart = rowOffsets[rowNumber];
+        ByteBuffer buffer   = ByteBuffer.allocate(Math.toIntExact(rowOffsets[rowNumber + 1] - rowStart));
+
+        try (FileChannel channel = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ))
+        {
+            while (buffer.hasRemaining())
+            {
+                if (channel.read(buffer, rowStart + buffer.position()) < 0)
+                {
+                    break;
+                }
+            }
+        }
+
+        buffer.flip();
+
+        String row    = charset.decode(buffer).toString();
+        int    length = row.length();
+
+        while ((length > 0) && ((row.charAt(length - 1) == '\n') || (row.charAt(length - 1) == '\r')))
+        {
+            length --;
+        }
+
+        return row.substring(0, length);
+    }
+}
@@ -42,8 +42,7 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time and again when it changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +73,15 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator that steps through the data records of the file in a single pass.  This is the efficient
+     * way to process every record.  The iterator must be closed once it is no longer needed.
+     *
+     * @return iterator positioned before record 0
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find or open the file
+     */
+    CSVRecordIterator getRecordIterator() throws FileException, FileReadException;
 }
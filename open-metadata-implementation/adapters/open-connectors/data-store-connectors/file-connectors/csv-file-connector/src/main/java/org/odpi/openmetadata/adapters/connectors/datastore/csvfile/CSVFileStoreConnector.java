@@ -12,22 +12,30 @@ import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.*;
 
 
 /**
  * CSVFileStoreConnector works with structured files to retrieve simple tables of data.
+ * Individual records are located through an index of where each row starts, which is built on first use and
+ * rebuilt when the file changes.  Processing every record is best done with the single-pass record iterator.
  */
 public class CSVFileStoreConnector extends BasicFileStoreConnector implements CSVFileStore
 {
     /*
      * Variables used in reading the file.
      */
-    private List<String>   columnNames       = null;
-    private char           delimiterChar     = ',';
-    private char           quoteChar         = '"';
+    private List<String>    columnNames       = null;
+    private char            delimiterChar     = ',';
+    private char            quoteChar         = '"';
+    private final Charset   fileCharset       = Charset.defaultCharset();
+    private CSVFileRowIndex rowIndex          = null;
 
     /*
      * Variables used for logging and debug.
@@ -127,8 +135,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time and again when it changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,31 +145,13 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
         File fileStore = getFile(methodName);
 
-        try (Scanner scanner  = new Scanner(fileStore))
-        {
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
+        long rowCount = getRowIndex(fileStore, methodName).getRowCount();
 
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
+        if ((rowCount > 0) && (columnNames == null))
         {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -233,31 +222,69 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                       String  methodName) throws FileException, FileReadException
     {
 
+        File            fileStore = super.getFile(methodName);
+        CSVFileRowIndex index     = getRowIndex(fileStore, methodName);
+
+        if ((recordLocation < 0) || (recordLocation >= index.getRowCount()))
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                      Integer.toString(recordLocation)),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        try
+        {
+            return parseRecord(index.readRow(fileStore, recordLocation, fileCharset));
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Return an iterator that steps through the data records of the file in a single pass.  This is the efficient
+     * way to process every record.  The iterator must be closed once it is no longer needed.
+     *
+     * @return iterator positioned before record 0
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find or open the file
+     */
+    public CSVRecordIterator getRecordIterator() throws FileException, FileReadException
+    {
+        final String  methodName = "getRecordIterator";
+
         File fileStore = super.getFile(methodName);
 
-        try (Scanner scanner = new Scanner(fileStore))
+        try
         {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileStore), fileCharset));
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            if (columnNames == null)
             {
-                if (rowCounter == recordLocation)
+                /*
+                 * Skip the column names.
+                 */
+                try
                 {
-                    return parseRecord(scanner.nextLine());
+                    reader.readLine();
                 }
-                else
+                catch (IOException  error)
                 {
-                    scanner.nextLine();
+                    reader.close();
+                    throw error;
                 }
-                rowCounter ++;
             }
 
-            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
-                                                                                                      Integer.toString(recordLocation)),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        fileStoreName);
-
+            return new CSVRecordIterator(reader, this::parseRecord, fileStoreName);
         }
         catch (IOException  error)
         {
@@ -271,6 +298,40 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return the index of the rows in the file, building it if the file has changed since it was last indexed.
+     *
+     * @param fileStore file to index
+     * @param methodName name of calling method
+     * @return index
+     * @throws FileReadException unable to scan the file
+     */
+    private synchronized CSVFileRowIndex getRowIndex(File    fileStore,
+                                                     String  methodName) throws FileReadException
+    {
+        if ((rowIndex == null) || (! rowIndex.isCurrent(fileStore)))
+        {
+            try
+            {
+                rowIndex = CSVFileRowIndex.build(fileStore);
+            }
+            catch (IOException  error)
+            {
+                rowIndex = null;
+
+                throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                                   error.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            error,
+                                            fileStoreName);
+            }
+        }
+
+        return rowIndex;
+    }
+
+
     /**
      * Step through the record, character by character, extracting each column and enduring that escaped double quotes
      * and other tricks found in CSV files are handled.
@@ -369,6 +430,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      */
     public void disconnect()
     {
+        synchronized (this)
+        {
+            rowIndex = null;
+        }
+
         try
         {
             super.disconnect();
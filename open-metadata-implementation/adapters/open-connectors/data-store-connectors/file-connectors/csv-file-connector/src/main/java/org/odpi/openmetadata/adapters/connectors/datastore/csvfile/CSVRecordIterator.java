@@ -0,0 +1,159 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.CSVFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.exception.FileReadException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+
+/**
+ * CSVRecordIterator steps through the data records of a CSV file in a single pass.  It returns the same records,
+ * in the same order, as calling readRecord for each record number, but reads the file only once so it is the
+ * efficient way to process a whole file.
+ *
+ * The iterator holds the file open and so must be closed, typically with try-with-resources.  Its methods throw
+ * FileReadException when the file can not be read, which is why it does not implement java.util.Iterator.
+ */
+public class CSVRecordIterator implements AutoCloseable
+{
+    private final BufferedReader                 reader;
+    private final Function<String, List<String>> recordParser;
+    private final String                         fileStoreName;
+
+    /*
+     * Lines that have been read but not returned.  Blank lines are held back until a following line shows that
+     * they are not at the end of the file.
+     */
+    private final Deque<String>                  pendingLines = new ArrayDeque<>();
+    private boolean                              endOfFile    = false;
+    private long                                 recordCount  = 0;
+
+
+    /**
+     * Constructor
+     *
+     * @param reader reader positioned at the first data record
+     * @param recordParser function to split a line into its column values
+     * @param fileStoreName name of the file for error messages
+     */
+    CSVRecordIterator(BufferedReader                 reader,
+                      Function<String, List<String>> recordParser,
+                      String                         fileStoreName)
+    {
+        this.reader        = reader;
+        this.recordParser  = recordParser;
+        this.fileStoreName = fileStoreName;
+    }
+
+
+    /**
+     * Return whether there is another data record in the file.
+     *
+     * @return boolean result
+     * @throws FileReadException unable to read the file
+     */
+    public boolean hasNext() throws FileReadException
+    {
+        final String  methodName = "hasNext";
+
+        if (! pendingLines.isEmpty())
+        {
+            return true;
+        }
+
+        if (endOfFile)
+        {
+            return false;
+        }
+
+        try
+        {
+            String line = reader.readLine();
+
+            while (line != null)
+            {
+                pendingLines.add(line);
+
+                if (! line.isBlank())
+                {
+                    return true;
+                }
+
+                line = reader.readLine();
+            }
+
+            endOfFile = true;
+            pendingLines.clear();
+
+            return false;
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Return the next data record.
+     *
+     * @return List of strings, each string is the value from the column, or null if the line is empty.
+     * @throws FileReadException unable to read the file
+     * @throws NoSuchElementException there are no more records
+     */
+    public List<String> next() throws FileReadException
+    {
+        if (! hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        recordCount ++;
+
+        return recordParser.apply(pendingLines.poll());
+    }
+
+
+    /**
+     * Return the number of records returned so far.
+     *
+     * @return count
+     */
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Close the file.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            reader.close();
+        }
+        catch (IOException  error)
+        {
+            /*
+             * Nothing more is read from the file.
+             */
+        }
+    }
+}
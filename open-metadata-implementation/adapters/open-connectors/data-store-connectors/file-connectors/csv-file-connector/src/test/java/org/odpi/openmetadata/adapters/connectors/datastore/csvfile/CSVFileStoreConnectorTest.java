@@ -10,9 +10,14 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -101,6 +106,16 @@ public class CSVFileStoreConnectorTest
             assertTrue(columnNames.size() == columns.size());
         }
 
+        try (CSVRecordIterator records = connector.getRecordIterator())
+        {
+            while (records.hasNext())
+            {
+                assertEquals(records.next(), connector.readRecord((int)records.getRecordCount() - 1));
+            }
+
+            assertEquals(records.getRecordCount(), connector.getRecordCount());
+        }
+
         try
         {
             connector.readRecord(10000);
@@ -206,6 +221,49 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    @Test public void testChangingFile() throws Exception
+    {
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+        File                  file      = File.createTempFile("CSVFileStoreConnectorTest", ".csv");
+
+        try
+        {
+            Files.writeString(file.toPath(), "Name,Value\r1,2\n\n3,4\r\n  \n\n", Charset.defaultCharset());
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(file.getPath()));
+            connector.start();
+
+            assertEquals(connector.getColumnNames(), Arrays.asList("Name", "Value"));
+            assertEquals(connector.getRecordCount(), 3);
+            assertEquals(connector.readRecord(0), Arrays.asList("1", "2"));
+            assertNull(connector.readRecord(1));
+            assertEquals(connector.readRecord(2), Arrays.asList("3", "4"));
+
+            try (CSVRecordIterator records = connector.getRecordIterator())
+            {
+                assertEquals(records.next(), Arrays.asList("1", "2"));
+                assertNull(records.next());
+                assertEquals(records.next(), Arrays.asList("3", "4"));
+                assertFalse(records.hasNext());
+            }
+
+            /*
+             * The index is rebuilt when the file changes.
+             */
+            Files.writeString(file.toPath(), "Name,Value\n5,6\n7,8\n9,10\n11,12\n", Charset.defaultCharset());
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+
+            assertEquals(connector.getRecordCount(), 4);
+            assertEquals(connector.readRecord(3), Arrays.asList("11", "12"));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
     @Test public void testNullFileName()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
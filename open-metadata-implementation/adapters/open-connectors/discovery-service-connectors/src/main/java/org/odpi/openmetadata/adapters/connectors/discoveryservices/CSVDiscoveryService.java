@@ -3,12 +3,14 @@
 package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileStoreConnector;
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVRecordIterator;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
 import org.odpi.openmetadata.frameworks.discovery.properties.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,7 +74,8 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
 
     /**
-     * Return the updated value count for this column.
+     * Return the updated value count for this column.  The values are kept in the order they are first seen
+     * so that the value list can be taken from the value count.
      *
      * @param existingValueCount current value count
      * @param newFieldValue next field value to process
@@ -82,7 +85,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     {
         if (existingValueCount == null)
         {
-            Map<String, Integer> newValueCount = new HashMap<>();
+            Map<String, Integer> newValueCount = new LinkedHashMap<>();
 
             newValueCount.put(newFieldValue, 1);
 
@@ -105,29 +108,19 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
 
     /**
-     * Return the updated value list.
+     * Return the list of distinct values for this column, in the order they were first seen.
      *
-     * @param existingValueList existing value list
-     * @param newFieldValue next field value to process
-     * @return updated value list
+     * @param valueCount value count for the column
+     * @return value list or null if the column has no values
      */
-    private List<String> getValueList(List<String> existingValueList, String newFieldValue)
+    private List<String> getValueList(Map<String, Integer> valueCount)
     {
-        if (existingValueList == null)
+        if (valueCount == null)
         {
-            List<String> newValueList = new ArrayList<>();
-
-            newValueList.add(newFieldValue);
-
-            return newValueList;
+            return null;
         }
 
-        if (! existingValueList.contains(newFieldValue))
-        {
-            existingValueList.add(newFieldValue);
-        }
-
-        return existingValueList;
+        return new ArrayList<>(valueCount.keySet());
     }
 
 
@@ -149,7 +142,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
             DiscoveryAnnotationStore annotationStore = discoveryContext.getAnnotationStore();
             int                      size            = 0;
             int                      delimiterCount  = 0;
-            long                     recordCount     = assetConnector.getRecordCount();
+            long                     recordCount;
 
             SchemaAnalysisAnnotation  schemaAnnotation      = new SchemaAnalysisAnnotation();
 
@@ -193,41 +186,59 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
+                /*
+                 * The records are read in a single pass over the file.
+                 */
+                try (CSVRecordIterator records = assetConnector.getRecordIterator())
                 {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
-
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
+                    while (records.hasNext())
                     {
-                        int columnPosition = 0;
-                        int recordLength = 0;
+                        List<String>  recordValues = records.next();
 
-                        for (String fieldValue : recordValues)
+                        if ((recordValues != null) && (! recordValues.isEmpty()))
                         {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
+                            int columnPosition = 0;
+                            int recordLength = 0;
 
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
+                            for (String fieldValue : recordValues)
+                            {
+                                DataField             dataField   = dataFields.get(columnPosition);
+                                DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
 
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
+                                dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
 
-                            recordLength = recordLength + fieldValue.length();
+                                dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
 
-                            columnPosition++;
-                        }
+                                recordLength = recordLength + fieldValue.length();
+
+                                columnPosition++;
+                            }
 
-                        size = size + recordLength + delimiterCount;
+                            size = size + recordLength + delimiterCount;
+                        }
                     }
+
+                    recordCount = records.getRecordCount();
                 }
 
                 for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
                 {
+                    DataProfileAnnotation dataProfile = dataProfiles.get(columnNumber);
+
+                    if (dataProfile != null)
+                    {
+                        dataProfile.setValueList(this.getValueList(dataProfile.getValueCount()));
+                    }
+
                     String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataFields.get(columnNumber));
 
-                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfiles.get(columnNumber));
+                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfile);
                 }
             }
+            else
+            {
+                recordCount = assetConnector.getRecordCount();
+            }
 
             DataSourcePhysicalStatusAnnotation measurementAnnotation = new DataSourcePhysicalStatusAnnotation();
             Map<String, String>                measurementProperties = new HashMap<>();
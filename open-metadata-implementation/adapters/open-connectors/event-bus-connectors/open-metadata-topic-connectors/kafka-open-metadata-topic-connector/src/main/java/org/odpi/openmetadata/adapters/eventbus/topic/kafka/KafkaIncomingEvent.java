@@ -24,6 +24,20 @@ public class KafkaIncomingEvent extends IncomingEvent
         this.offset = offset;
     }
 
+
+    /**
+     * Constructor for a message whose content is not a string.
+     *
+     * @param payload message content
+     * @param offset the kafka offset of the message
+     */
+    public KafkaIncomingEvent(byte[] payload, long offset)
+    {
+        //use the offset as the message id
+        super(payload, String.valueOf(offset));
+        this.offset = offset;
+    }
+
     /**
      * Gets the kafka offset of this message
      * 
@@ -12,6 +12,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.kafka.clients.consumer.*;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.slf4j.Logger;
@@ -28,30 +29,29 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 {
     private static final Logger log      = LoggerFactory.getLogger(KafkaOpenMetadataEventConsumer.class);
 
+    // Longest time to wait in poll while the partitions are paused before trying the listener thread again.
+    private static final long pausedPollTimeoutMs = 100;
+
     private final AuditLog auditLog;
 
     private final long recoverySleepTimeSec; 
     private final long pollTimeout;
     private final long maxQueueSize;
 
-    private              KafkaConsumer<String, String>   consumer;
+    private              Consumer<String, Object>        consumer;
     private final              String                    topicToSubscribe;
     private final              String                    localServerId;
 
     private final        KafkaOpenMetadataTopicConnector connector;
 
     private long nextMessageProcessingStatusCheckTime = System.currentTimeMillis();
-    private long maxNextPollTimestampToAvoidConsumerTimeout = 0;
-    private final long maxMsBetweenPolls;
 
     // Keep track of when an initial rebalance is done
     private boolean initialPartitionAssignment = true;
 
-    
-    //If we get close enough to the consumer timeout timestamp, force a poll so that
-    //we do not exceed the timeout.  This parameter controls how close we can get
-    //before forcing a poll.
-    private final long consumerTimeoutPreventionSafetyWindowMs;
+    // Records received from Kafka that the listener thread has not yet taken.  While there are
+    // any, the assigned partitions are paused.  Only used by the consumer thread.
+    private final Deque<ConsumerRecord<String, Object>> undeliveredRecords = new ArrayDeque<>();
     
     private final long messageProcessingStatusCheckIntervalMs;
     private final long messageProcessingTimeoutMs;
@@ -89,9 +89,32 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                                    KafkaOpenMetadataTopicConnector             connector,
                                    AuditLog                                    auditLog)
     {
+        this(new KafkaConsumer<>(kafkaConsumerProperties), topicName, localServerId, config, kafkaConsumerProperties, connector, auditLog);
+    }
+
+
+    /**
+     * Constructor for the event consumer that uses the supplied Kafka consumer.
+     *
+     * @param consumer Kafka consumer to receive the events.
+     * @param topicName name of the topic to listen on.
+     * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param config additional properties
+     * @param kafkaConsumerProperties properties for the consumer.
+     * @param connector connector holding the inbound listeners.
+     * @param auditLog  audit log for this component.
+     */
+    KafkaOpenMetadataEventConsumer(Consumer<String, Object>                    consumer,
+                                   String                                      topicName,
+                                   String                                      localServerId,
+                                   KafkaOpenMetadataEventConsumerConfiguration config,
+                                   Properties                                  kafkaConsumerProperties,
+                                   KafkaOpenMetadataTopicConnector             connector,
+                                   AuditLog                                    auditLog)
+    {
 
         this.auditLog = auditLog;
-        this.consumer = new KafkaConsumer<>(kafkaConsumerProperties);
+        this.consumer = consumer;
         this.topicToSubscribe = topicName;
         this.consumer.subscribe(Collections.singletonList(topicToSubscribe), new HandleRebalance(auditLog));
         this.connector = connector;
@@ -107,10 +130,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                                 kafkaConsumerProperties.toString());
         }
         
-        this.maxMsBetweenPolls = new KafkaConfigurationWrapper(kafkaConsumerProperties).getMaxPollIntervalMs();
         this.recoverySleepTimeSec = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.RECOVERY_SLEEP_TIME);
         this.maxQueueSize = config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.MAX_QUEUE_SIZE);
-        this.consumerTimeoutPreventionSafetyWindowMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_TIMEOUT_PREVENTION_SAFETY_WINDOW_MS);
         this.pollTimeout = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.POLL_TIMEOUT);
         this.isAutoCommitEnabled = getBooleanProperty(kafkaConsumerProperties, KafkaOpenMetadataTopicConnector.ENABLE_AUTO_COMMIT_PROPERTY, false);
         this.messageProcessingStatusCheckIntervalMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS);
@@ -128,10 +149,6 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     }
 
 
-    private void updateNextMaxPollTimestamp() {
-    	maxNextPollTimestampToAvoidConsumerTimeout = System.currentTimeMillis() + maxMsBetweenPolls - consumerTimeoutPreventionSafetyWindowMs;	
-    }
-     
       /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -145,7 +162,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
         log.info("Main loop started for topic {}", this.topicToSubscribe);
 
-        while (isRunning())
+        //An interrupt is a request to stop, even if it arrives outside a Kafka call that would report it
+        while (isRunning() && ! Thread.currentThread().isInterrupted())
         {
             try
             {
@@ -153,88 +171,16 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 //This needs to be done in the same thread since the Kafka consumer does
                 //not allow access by multiple threads
                 checkForFullyProcessedMessagesIfNeeded();
-                
-            	//if we are close to the timeout, force a poll to avoid having the consumer
-            	//be marked as dead because we have not polled often enough
-            	final boolean pollRequired = System.currentTimeMillis() > maxNextPollTimestampToAvoidConsumerTimeout;
-            
-            
-                	
-            	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
-            	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
-            	{
-            		//The connector queue is too big.  Wait until the size goes down until
-            		//polling again.  If we let the events just accumulate, we will
-            		//eventually run out of memory if the consumer cannot keep up.
-            		log.debug("Skipping Kafka polling since unprocessed message queue size {} is greater than {}", nUnprocessedEvents, maxQueueSize);
-            		awaitNextPollingTime();
-            		continue;
-            	
-            	}
-
-            	updateNextMaxPollTimestamp();
-
-                final Duration pollDuration = Duration.ofMillis(pollTimeout);
-                final ConsumerRecords<String, String> records = consumer.poll(pollDuration);
-                
-                log.debug("Found records: {}", records.count());
-                for (ConsumerRecord<String, String> consumerRecord : records)
-                {
-                    String json = consumerRecord.value();
-                    log.debug("Received message: {}" ,json);
-                    countReceivedMessages++;
-                    log.debug("Metrics: receivedMessages: {}", countReceivedMessages);
-                    final KafkaIncomingEvent event = new KafkaIncomingEvent(json, consumerRecord.offset());
-                    final String recordKey=consumerRecord.key();
-                    final String recordValue=consumerRecord.value();
-                    if (! localServerId.equals(recordKey))
-                    {
-                        try
-                        {
-                            addUnprocessedEvent(consumerRecord.partition(), consumerRecord.topic(), event);
-                            connector.distributeToListeners(event);
-                            countMessagesToProcess++;
-                            log.debug("Metrics: messagesToProcess: {}", countMessagesToProcess);
-                        }
-                        catch (Exception error)
-                        {
-                            countMessagesFailedToProcess++;
-                            log.debug("Metrics: messagesFailedToProcess: {}", countMessagesFailedToProcess);
-                            log.warn("Error distributing inbound event: {}", error.getMessage());
-
-                            if (auditLog != null)
-                            {
-                                auditLog.logException(actionDescription,
-                                                      KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_DISTRIBUTING_EVENT.getMessageDefinition
-                                                            (topicToSubscribe,
-                                                             error.getClass().getName(), json,
-                                                             error.getMessage()),
-                                                      error);
-                            }
-                        }
-                    }
-                    else
-                    {
-                        log.debug("Ignoring message with key: {} and value: {}",recordKey, recordValue);
-                        countIgnoredMessages++;
-                        log.debug("Metrics: ignoredMessages: {}", countIgnoredMessages);
-                    }
 
-                    if ( isAutoCommitEnabled) {
-                        /*
-                         * Acknowledge receipt of message.
-                         */
-                        
-                        //If auto-commit is disabled, the offset for a message is only committed when
-                        //the message has been completely processed by all consumers.  That
-                        //is handled by the call to checkForFullyProcessedMessagesIfNeeded().
-                        final TopicPartition partition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
-                        currentOffsets.put(partition, new OffsetAndMetadata(consumerRecord.offset() + 1));
-                        countCommits++;
-                        log.debug("Metrics: messageCommits: {}", countCommits);
-                    
-                    }
-                }
+                pollForRecords(actionDescription);
+            }
+            catch (InterruptException e)
+            {
+                //The consumer thread has been interrupted, which is a request to stop.
+                //Kafka has already restored the interrupt flag.
+                log.debug("Consumer thread interrupted, proceeding with shutdown");
+                Thread.currentThread().interrupt();
+                stopRunning();
             }
             catch (WakeupException e)
             {
@@ -254,14 +200,13 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 }
                 recoverAfterError();
             }
-            finally
-            {
-                awaitNextPollingTime();
-            }
         }
 
         if (consumer != null)
         {
+            //Clear the interrupt flag while the offsets are committed and the consumer is closed,
+            //since these calls fail on an interrupted thread, and restore it afterwards.
+            final boolean interrupted = Thread.interrupted();
             try
             {
                 //Check for fully processed messages one last time before
@@ -310,6 +255,11 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             finally
             {
                 consumer.close();
+
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
             }
             consumer = null;
         }
@@ -317,6 +267,162 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
     }
 
+    /**
+     * Poll Kafka for more records and pass them to the listener thread.  If the listener thread is behind,
+     * the assigned partitions are paused rather than skipping the poll.  The consumer keeps polling (and
+     * receives no records from the paused partitions) so Kafka does not treat it as dead and rebalance the group.
+     * While paused, the poll waits a short time rather than the full poll timeout so the waiting records are
+     * offered to the listener thread again soon after it catches up.  There is no other wait between polls.
+     *
+     * @param actionDescription calling activity for the audit log
+     */
+    private void pollForRecords(String actionDescription) {
+        //Pass on any records that the listener thread could not take on an earlier pass
+        deliverUndeliveredRecords(actionDescription);
+
+        final Duration pollDuration;
+        int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
+        if (! undeliveredRecords.isEmpty() || nUnprocessedEvents > maxQueueSize) {
+            //The connector queue is too big.  If we let the events just accumulate, we will
+            //eventually run out of memory if the consumer cannot keep up.
+            log.debug("Pausing Kafka partitions since unprocessed message queue size {} is greater than {} or {} records are waiting",
+                      nUnprocessedEvents, maxQueueSize, undeliveredRecords.size());
+            pauseConsumption();
+            pollDuration = Duration.ofMillis(Math.min(pollTimeout, pausedPollTimeoutMs));
+        }
+        else {
+            resumeConsumption();
+            pollDuration = Duration.ofMillis(pollTimeout);
+        }
+
+        final ConsumerRecords<String, Object> records = consumer.poll(pollDuration);
+
+        log.debug("Found records: {}", records.count());
+        for (ConsumerRecord<String, Object> consumerRecord : records) {
+            undeliveredRecords.add(consumerRecord);
+        }
+
+        deliverUndeliveredRecords(actionDescription);
+    }
+
+    /**
+     * Pass the waiting records, in order, to the listener thread until it will take no more.
+     *
+     * @param actionDescription calling activity for the audit log
+     */
+    private void deliverUndeliveredRecords(String actionDescription) {
+        while (! undeliveredRecords.isEmpty()) {
+            if (! deliverRecord(undeliveredRecords.peek(), actionDescription)) {
+                return;
+            }
+            undeliveredRecords.remove();
+        }
+    }
+
+    /**
+     * Pass a record to the listener thread.
+     *
+     * @param consumerRecord record received from Kafka
+     * @param actionDescription calling activity for the audit log
+     * @return false if the listener thread has too many events waiting to take the record
+     */
+    private boolean deliverRecord(ConsumerRecord<String, Object> consumerRecord, String actionDescription) {
+        /*
+         * The value is a byte array with the default deserializer.  It is passed on unchanged
+         * so that the listeners can decode it, since it may be a binary encoded event.
+         */
+        final KafkaIncomingEvent event;
+        if (consumerRecord.value() instanceof byte[])
+        {
+            event = new KafkaIncomingEvent((byte[])consumerRecord.value(), consumerRecord.offset());
+        }
+        else
+        {
+            event = new KafkaIncomingEvent((String)consumerRecord.value(), consumerRecord.offset());
+        }
+        String json = event.getPayloadDescription();
+        final String recordKey=consumerRecord.key();
+        final String recordValue=json;
+        if (! localServerId.equals(recordKey))
+        {
+            try
+            {
+                if (! connector.distributeToListeners(event))
+                {
+                    log.debug("Listener thread is busy; holding message with offset {}", consumerRecord.offset());
+                    return false;
+                }
+                log.debug("Received message: {}" ,json);
+                countReceivedMessages++;
+                log.debug("Metrics: receivedMessages: {}", countReceivedMessages);
+                addUnprocessedEvent(consumerRecord.partition(), consumerRecord.topic(), event);
+                countMessagesToProcess++;
+                log.debug("Metrics: messagesToProcess: {}", countMessagesToProcess);
+            }
+            catch (Exception error)
+            {
+                countMessagesFailedToProcess++;
+                log.debug("Metrics: messagesFailedToProcess: {}", countMessagesFailedToProcess);
+                log.warn("Error distributing inbound event: {}", error.getMessage());
+
+                if (auditLog != null)
+                {
+                    auditLog.logException(actionDescription,
+                                          KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_DISTRIBUTING_EVENT.getMessageDefinition
+                                                (topicToSubscribe,
+                                                 error.getClass().getName(), json,
+                                                 error.getMessage()),
+                                          error);
+                }
+            }
+        }
+        else
+        {
+            countReceivedMessages++;
+            log.debug("Ignoring message with key: {} and value: {}",recordKey, recordValue);
+            countIgnoredMessages++;
+            log.debug("Metrics: ignoredMessages: {}", countIgnoredMessages);
+        }
+
+        if ( isAutoCommitEnabled) {
+            /*
+             * Acknowledge receipt of message.
+             */
+            
+            //If auto-commit is disabled, the offset for a message is only committed when
+            //the message has been completely processed by all consumers.  That
+            //is handled by the call to checkForFullyProcessedMessagesIfNeeded().
+            final TopicPartition partition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+            currentOffsets.put(partition, new OffsetAndMetadata(consumerRecord.offset() + 1));
+            countCommits++;
+            log.debug("Metrics: messageCommits: {}", countCommits);
+        
+        }
+        return true;
+    }
+
+    /**
+     * Stop fetching records from the assigned partitions.
+     */
+    private void pauseConsumption() {
+        final Set<TopicPartition> assignedPartitions = consumer.assignment();
+        if (! consumer.paused().containsAll(assignedPartitions)) {
+            log.debug("Pausing partitions {}", assignedPartitions);
+            consumer.pause(assignedPartitions);
+        }
+    }
+
+    /**
+     * Start fetching records from any paused partitions.
+     */
+    private void resumeConsumption() {
+        final Set<TopicPartition> pausedPartitions = consumer.paused();
+        if (! pausedPartitions.isEmpty()) {
+            log.debug("Resuming partitions {}", pausedPartitions);
+            consumer.resume(pausedPartitions);
+        }
+    }
+
     private void addUnprocessedEvent(int partition, String topic, KafkaIncomingEvent event) {
         if (isAutoCommitEnabled) {
             return;
@@ -468,20 +574,6 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         return result;
     }
 
-    private void awaitNextPollingTime() {
-		try
-		{
-		    sleep(1000);
-		}
-		catch (InterruptedException e)
-		{
-		    log.debug("Interrupted whilst sleeping:");
-            Thread.currentThread().interrupt();
-		}
-	}
-
-
-
     private void recoverAfterError()
     {
         log.info("Waiting {} seconds to recover", recoverySleepTimeSec);
@@ -494,6 +586,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         {
             log.debug("Interrupted while recovering");
             Thread.currentThread().interrupt();
+            stopRunning();
         }
     }
 
@@ -607,6 +700,10 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         public void onPartitionsRevoked(Collection<TopicPartition> partitions)
         {
             final String methodName = "onPartitionsRevoked.commitSync";
+
+            // Records held for revoked partitions are fetched again, from the committed offset, by their new owner
+            undeliveredRecords.removeIf(consumerRecord -> partitions.contains(new TopicPartition(consumerRecord.topic(), consumerRecord.partition())));
+
             if( !currentOffsets.isEmpty() )
             {
                 log.info("Lost partitions in rebalance. Committing current offsets: {}",currentOffsets);
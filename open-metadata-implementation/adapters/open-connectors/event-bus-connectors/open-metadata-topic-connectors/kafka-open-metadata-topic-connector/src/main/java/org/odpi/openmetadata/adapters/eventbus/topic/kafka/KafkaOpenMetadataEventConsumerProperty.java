@@ -10,8 +10,8 @@ public enum KafkaOpenMetadataEventConsumerProperty
 {
 	/*
 	 * Controls the maximum size of the unprocessed kafka event queue. When this
-	 * size is reached, we will not poll for additional events unless a poll is
-	 * required to prevent Kafka from treating the consumer as dead.
+	 * size is reached, the assigned partitions are paused.  The consumer keeps
+	 * polling so that Kafka does not treat it as dead.
 	 */
 	MAX_QUEUE_SIZE("event_bus_max_queue_size", "100"),
 	
@@ -23,6 +23,10 @@ public enum KafkaOpenMetadataEventConsumerProperty
 	 * interval. If we are close enough, then we force a poll to avoid having the consumer die. 
 	 * This parameter controls how close to the timeout we need to do be in order to force a poll.
 	 * 
+	 * The consumer now pauses its partitions rather than skipping polls, so it always polls
+	 * within the interval and this property is no longer used.  It is still accepted so that
+	 * existing configurations remain valid.
+	 * 
 	 * The value provided as a number of milliseconds.
 	 */
 	CONSUMER_TIMEOUT_PREVENTION_SAFETY_WINDOW_MS("timeout_prevention_safety_window_ms", "30000"),
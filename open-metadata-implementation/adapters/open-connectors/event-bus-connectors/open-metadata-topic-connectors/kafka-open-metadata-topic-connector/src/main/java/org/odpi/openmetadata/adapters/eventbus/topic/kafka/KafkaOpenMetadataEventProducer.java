@@ -7,17 +7,23 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
-import java.util.List;
+import java.util.IdentityHashMap;
 import java.util.Properties;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -26,22 +32,46 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ * <p>
+ * Events are handed to the producer thread through a bounded queue.  The producer thread waits on the queue
+ * and passes each event to Kafka asynchronously so that Kafka is able to batch events together
+ * (see the linger.ms and batch.size producer properties).  The outcome of each send is reported through a
+ * callback.  Retryable errors are retried by the Kafka producer itself; with enable.idempotence set, these
+ * retries do not duplicate or reorder events.  An event that Kafka fails to deliver is reported in the audit
+ * log and discarded.  If an event can not be passed to Kafka at all (for example, because Kafka is not
+ * running), the producer thread waits and tries the same event again before taking any more events from
+ * the queue.  All events from this server use the same key and so are sent to the same partition,
+ * in the order they were queued.
+ * <p>
+ * With the default StringSerializer every event is sent as JSON.  If the ByteArraySerializer is configured,
+ * string events are sent as UTF-8 bytes, which is the same as the StringSerializer, and binary encoded
+ * events can also be sent.
+ * <p>
+ * If the queue is full, the caller is blocked until there is space, or the send queue timeout expires.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
+    private final BlockingQueue<PendingEvent> sendQueue;
     private final AuditLog auditLog;
     private final String topicName;
     private final String localServerId;
     private final Properties producerProperties;
+    private final Supplier<Producer<String, Object>> producerFactory;
+    private final boolean binaryEventSupported;
+    private final long sendQueueTimeout;
+    private final long pollTimeout;
+    private final long recoverySleepTimeSec;
     private volatile boolean running = true;
-    private Producer<String, String> producer = null;
-    private long messageSendCount = 0;
+    private Producer<String, Object> producer = null;
+    private PendingEvent unsentEvent = null;
+    private boolean inErrorLoop = false;
+    private volatile String lastSendError = null;
+    private final AtomicLong messageSendCount = new AtomicLong(0);
     private long kafkaSendAttemptCount = 0;
     private long messagePublishRequestCount = 0;
-    private long inmemoryPutMessageCount = 0;
-    private long kafkaSendFailCount = 0;
-    private long messageFailedSendCount = 0;
+    private final AtomicLong inmemoryPutMessageCount = new AtomicLong(0);
+    private final AtomicLong kafkaSendFailCount = new AtomicLong(0);
+    private final AtomicLong messageFailedSendCount = new AtomicLong(0);
 
 
     /**
@@ -49,15 +79,49 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
      *
      * @param topicName          name of the topic to listen on.
      * @param localServerId      identifier to enable receiver to identify that an event came from this server.
+     * @param config             additional properties to control the queuing and retry of events.
      * @param producerProperties properties for the consumer.
      * @param auditLog           audit log for this component.
      */
-    KafkaOpenMetadataEventProducer(String topicName, String localServerId, Properties producerProperties,
-                                   AuditLog auditLog) {
+    KafkaOpenMetadataEventProducer(String topicName, String localServerId,
+                                   KafkaOpenMetadataEventProducerConfiguration config,
+                                   Properties producerProperties, AuditLog auditLog) {
+        this(topicName, localServerId, config, producerProperties, auditLog,
+             () -> new KafkaProducer<>(producerProperties));
+    }
+
+
+    /**
+     * Constructor for the event producer that uses the supplied factory to create its Kafka producer.  A new
+     * producer is created after the previous one is closed because of an error.
+     *
+     * @param topicName          name of the topic to listen on.
+     * @param localServerId      identifier to enable receiver to identify that an event came from this server.
+     * @param config             additional properties to control the queuing and retry of events.
+     * @param producerProperties properties for the consumer.
+     * @param auditLog           audit log for this component.
+     * @param producerFactory    creates the Kafka producer.
+     */
+    KafkaOpenMetadataEventProducer(String topicName, String localServerId,
+                                   KafkaOpenMetadataEventProducerConfiguration config,
+                                   Properties producerProperties, AuditLog auditLog,
+                                   Supplier<Producer<String, Object>> producerFactory) {
         this.auditLog = auditLog;
         this.topicName = topicName;
         this.localServerId = localServerId;
         this.producerProperties = producerProperties;
+        this.producerFactory = producerFactory;
+        this.binaryEventSupported = isBinaryEventSupported(producerProperties);
+        this.sendQueueTimeout = config.getLongProperty(KafkaOpenMetadataEventProducerProperty.SEND_QUEUE_TIMEOUT_MS);
+        this.pollTimeout = config.getLongProperty(KafkaOpenMetadataEventProducerProperty.POLL_TIMEOUT);
+        this.recoverySleepTimeSec = config.getLongProperty(KafkaOpenMetadataEventProducerProperty.RECOVERY_SLEEP_TIME);
+
+        int maxQueueSize = config.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE);
+        if (maxQueueSize > 0) {
+            this.sendQueue = new LinkedBlockingQueue<>(maxQueueSize);
+        } else {
+            this.sendQueue = new LinkedBlockingQueue<>();
+        }
 
         final String           actionDescription = "new producer";
 
@@ -71,25 +135,17 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
 
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Create the Kafka producer if it does not exist.
      *
-     * @param event object containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void publishEvent(String event) throws ConnectorCheckedException {
-        final String methodName = "publishEvent";
-        final String messageFailedCountString = "Metrics: messageFailedSendCount {}";
-
-        boolean eventSent = false;
-        long eventRetryCount = 0;
-
-        messagePublishRequestCount++;
-        log.debug("Metrics: messagePublishRequestCount {}", messagePublishRequestCount);
+    private void createProducer() throws ConnectorCheckedException {
+        final String methodName = "createProducer";
 
         if (producer == null) {
             try {
                 log.debug("Creating new producer for topic {}", topicName);
-                producer = new KafkaProducer<>(producerProperties);
+                producer = producerFactory.get();
             } catch (Exception error) {
                 if (auditLog != null) {
                     auditLog.logException(methodName,
@@ -102,84 +158,124 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
                                 error.getMessage()), this.getClass().getName(), methodName, error);
             }
         }
-        while (!eventSent) {
-            try {
-                log.debug("Sending message try {} [0 based] : {}", eventRetryCount,event);
-                ProducerRecord<String, String> producerRecord = new ProducerRecord<>(topicName, localServerId, event);
-                kafkaSendAttemptCount++;
-                log.debug("Metrics: kafkaSendAttemptCount {}", kafkaSendAttemptCount);
-                producer.send(producerRecord).get();
-                eventSent = true;
-                messageSendCount++;
-                log.debug("Metrics: messageSendCount {}", messageSendCount);
-            } catch (ExecutionException error) {
-                kafkaSendFailCount++;
-                log.debug("Metrics: kafkaSendFailCount {}", kafkaSendFailCount);
-                /*
-                 * This may be a simple timeout or something else more
-                 */
-                log.debug("Kafka had trouble sending event: {} : Exception  message is {}", event, error.getMessage());
+    }
+
+
+    /**
+     * Passes the supplied event to Kafka.  The send is asynchronous and its outcome is handled
+     * by {@link #handleSendResult(PendingEvent, Exception)}.  If the event can not be passed to Kafka,
+     * it is saved so that it is sent again before any later events.
+     *
+     * @param pendingEvent event to send
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    private void publishEvent(PendingEvent pendingEvent) throws ConnectorCheckedException {
+        final String methodName = "publishEvent";
 
-                if (!isExceptionRetryable(error)) {
-                    /* kafka thinks this isn't a retryable problem */
-                    /* so let the caller try */
+        messagePublishRequestCount++;
+        log.debug("Metrics: messagePublishRequestCount {}", messagePublishRequestCount);
 
-                    log.debug("Exception not retryable, closing producer");
-                    producer.close();
-                    producer = null;
+        try {
+            createProducer();
+        } catch (ConnectorCheckedException error) {
+            lastSendError = error.getMessage();
+            unsentEvent = pendingEvent;
+            throw error;
+        }
 
-                    messageFailedSendCount++;
-                    log.warn(messageFailedCountString, messageFailedSendCount);
+        try {
+            log.debug("Sending message: {}", pendingEvent);
+            ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(topicName, localServerId, pendingEvent.value);
+            kafkaSendAttemptCount++;
+            log.debug("Metrics: kafkaSendAttemptCount {}", kafkaSendAttemptCount);
+            producer.send(producerRecord, (metadata, error) -> handleSendResult(pendingEvent, error));
+            unsentEvent = null;
+        } catch (WakeupException error) {
+            log.warn("Wake up for shut down");
+            lastSendError = error.getMessage();
+            unsentEvent = pendingEvent;
+        } catch (Exception error) {
+            /*
+             * The producer rejected the event before it was queued for sending, for example
+             * because its buffer memory was exhausted for longer than max.block.ms.
+             */
+            lastSendError = error.getMessage();
+            unsentEvent = pendingEvent;
+
+            if (producer != null) {
+                producer.close();
+                producer = null;
+            }
+            log.warn("Closed producer due to Exception in sendEvent {}", error.getMessage());
 
-                    throw new ConnectorCheckedException(
-                            KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(
-                                    error.getClass().getName(), topicName, error.getMessage()),
-                            this.getClass().getName(), methodName, error);
-                }
-                if (eventRetryCount == 10) {
-                    /* we've retried now let the caller retry */
-                    producer.close();
-                    producer = null;
-                    messageFailedSendCount++;
-                    log.warn(messageFailedCountString, messageFailedSendCount);
-                    log.error("Retryable Exception closed producer after {} tries", eventRetryCount);
-                    break;
-                } else {
-                    if (eventRetryCount == 0) {
-                        log.debug("Retrying event warning - count is {}", eventRetryCount);
-                        if (auditLog != null) {
-                            auditLog.logMessage(methodName,
-                                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(
-                                                        topicName, Long.toString(messageSendCount),
-                                                        Long.toString(this.getSendBufferSize()), error.getMessage()));
-                        }
-                    }
+            throw new ConnectorCheckedException(
+                    KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(
+                            error.getClass().getName(), topicName, error.getMessage()), this.getClass().getName(),
+                    methodName, error);
+        }
+    }
 
-                    eventRetryCount++;
-                }
-            } catch (WakeupException error) {
-                log.warn("Wake up for shut down");
-            } catch (Exception error) {
-                if (producer!=null) {
-                    producer.close();
-                    producer = null;
-                }
-                log.warn("Closed producer due to Exception in sendEvent {}",error.getMessage());
 
-                if (error instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                }
+    /**
+     * Called by the Kafka producer's I/O thread when a send completes.  By this time Kafka has
+     * already retried any retryable error (see the retries and delivery.timeout.ms producer properties),
+     * so a failed event is discarded.  Resending it here would place it behind later events on the partition.
+     *
+     * @param pendingEvent event that was sent
+     * @param error exception if the send failed; null if it was successful
+     */
+    private void handleSendResult(PendingEvent pendingEvent, Exception error) {
+        final String methodName = "handleSendResult";
 
-                messageFailedSendCount++;
-                log.warn(messageFailedCountString, messageFailedSendCount);
+        if (error == null) {
+            log.debug("Metrics: messageSendCount {}", messageSendCount.incrementAndGet());
+            return;
+        }
 
-                throw new ConnectorCheckedException(
-                        KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(
-                                error.getClass().getName(), topicName, error.getMessage()), this.getClass().getName(),
-                        methodName, error);
+        log.debug("Metrics: kafkaSendFailCount {}", kafkaSendFailCount.incrementAndGet());
+        log.debug("Kafka had trouble sending event: {} : Exception  message is {}", pendingEvent, error.getMessage());
+        lastSendError = error.getMessage();
+
+        log.warn("Metrics: messageFailedSendCount {}", messageFailedSendCount.incrementAndGet());
+
+        if (auditLog != null) {
+            auditLog.logMessage(methodName,
+                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_ABANDONED.getMessageDefinition(
+                                        topicName, error.getClass().getName(), error.getMessage()),
+                                pendingEvent.toString());
+        }
+    }
+
+
+    /**
+     * Send the event that could not be passed to Kafka by an earlier call to publishEvent.  Since no later
+     * events have been passed to Kafka, this does not change the order of the events.
+     *
+     * @throws ConnectorCheckedException the connector is still not able to communicate with the event bus
+     */
+    private void resendUnsentEvent() throws ConnectorCheckedException {
+        final String methodName = "resendUnsentEvent";
+
+        if (!inErrorLoop) {
+            inErrorLoop = true;
+
+            if (auditLog != null) {
+                auditLog.logMessage(methodName,
+                                    KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(
+                                            topicName, Long.toString(messageSendCount.get()),
+                                            Integer.toString(this.getSendBufferSize() + 1),
+                                            lastSendError));
             }
         }
 
+        this.recoverAfterError();
+
+        publishEvent(unsentEvent);
+
+        if (unsentEvent == null) {
+            log.info("Events are being sent to topic {} again", topicName);
+            inErrorLoop = false;
+        }
     }
 
 
@@ -199,29 +295,27 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
         if (auditLog != null) {
             auditLog.logMessage(actionDescription,
                                 KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_START.getMessageDefinition(
-                                        topicName, String.valueOf(sendBuffer.size())),
+                                        topicName, String.valueOf(sendQueue.size())),
                                 this.producerProperties.toString());
         }
 
         log.info("Main loop started for topic {}", topicName);
-        int sleepTime = 1000;
         while (isRunning()) {
             try {
-                String bufferedEvent = this.getEvent();
+                if (unsentEvent != null) {
+                    resendUnsentEvent();
+                }
 
                 /*
-                 * If there are no events waiting then sleep
+                 * Wait for the next event - the poll timeout allows the running flag to be checked
                  */
-                if (bufferedEvent == null) {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
-                } else {
-                    log.debug("Processing buffered events");
-                    /*
-                     * Send all waiting events
-                     */
-                    while (bufferedEvent != null) {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
+                PendingEvent pendingEvent = sendQueue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+
+                while ((pendingEvent != null) && (unsentEvent == null)) {
+                    publishEvent(pendingEvent);
+
+                    if (unsentEvent == null) {
+                        pendingEvent = sendQueue.poll();
                     }
                 }
             } catch (InterruptedException error) {
@@ -244,30 +338,68 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
 
         /* producer may have already closed by exception handler in publishEvent */
         if (producer != null) {
-            log.debug("");
-            producer.close();
+            log.debug("Flushing events to topic {}", topicName);
+            producer.flush();
+            producer.close(Duration.ofSeconds(recoverySleepTimeSec));
             producer = null;
         }
 
         if (auditLog != null) {
+            int unsentEvents = this.getSendBufferSize();
+            if (unsentEvent != null) {
+                unsentEvents++;
+            }
+
             auditLog.logMessage(actionDescription,
                                 KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_SHUTDOWN.getMessageDefinition(
-                                        topicName, Integer.toString(getSendBufferSize()),
-                                        Long.toString(messageSendCount)), this.producerProperties.toString());
+                                        topicName, Integer.toString(unsentEvents),
+                                        Long.toString(messageSendCount.get())), this.producerProperties.toString());
         }
     }
 
 
     /**
-     * Supports putting events to the in memory OMRS Topic
+     * Supports putting events to the in memory OMRS Topic.  If the queue is full, the caller waits
+     * for space in the queue.  No lock is held while waiting, so other callers are only blocked by
+     * the full queue.
      *
-     * @param newEvent event to publish
+     * @param newEvent event to publish - a String or byte array to match the value serializer
+     * @throws ConnectorCheckedException the queue stayed full for longer than the send queue timeout
      */
-    private void putEvent(String newEvent) {
-        inmemoryPutMessageCount++;
-        log.debug("Metrics: inmemoryPutMessageCount {}", inmemoryPutMessageCount);
-        log.debug("Metrics: sendBufferSize {}", sendBuffer.size());
-        sendBuffer.add(newEvent);
+    private void putEvent(Object newEvent) throws ConnectorCheckedException {
+        final String methodName = "sendEvent";
+
+        log.debug("Metrics: inmemoryPutMessageCount {}", inmemoryPutMessageCount.incrementAndGet());
+        log.debug("Metrics: sendBufferSize {}", sendQueue.size());
+
+        PendingEvent pendingEvent = new PendingEvent(newEvent);
+
+        boolean queued;
+        try {
+            if (sendQueueTimeout < 0) {
+                sendQueue.put(pendingEvent);
+                queued = true;
+            } else {
+                queued = sendQueue.offer(pendingEvent, sendQueueTimeout, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            log.warn("Metrics: messageFailedSendCount {}", messageFailedSendCount.incrementAndGet());
+
+            if (auditLog != null) {
+                auditLog.logMessage(methodName,
+                                    KafkaOpenMetadataTopicConnectorAuditCode.SEND_QUEUE_FULL.getMessageDefinition(
+                                            topicName, Integer.toString(sendQueue.size()), Long.toString(sendQueueTimeout)));
+            }
+
+            throw new ConnectorCheckedException(
+                    KafkaOpenMetadataTopicConnectorErrorCode.SEND_QUEUE_FULL.getMessageDefinition(
+                            topicName, Long.toString(sendQueueTimeout)), this.getClass().getName(), methodName);
+        }
     }
 
 
@@ -277,39 +409,58 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
      * @return int
      */
     private int getSendBufferSize() {
-        return sendBuffer.size();
+        return sendQueue.size();
     }
 
 
     /**
-     * Returns all the events found on the in memory OMRS Topic.
+     * Sends the supplied event to the topic.
      *
-     * @return list of received events.
+     * @param event OMRSEvent object containing the event properties.
+     * @throws ConnectorCheckedException the event could not be queued for sending
      */
-    private String getEvent() {
-        if (sendBuffer.isEmpty()) {
-            return null;
+    public void sendEvent(String event) throws ConnectorCheckedException {
+        if (binaryEventSupported) {
+            this.putEvent(event.getBytes(StandardCharsets.UTF_8));
+        } else {
+            this.putEvent(event);
         }
-
-        return sendBuffer.remove(0);
     }
 
 
     /**
-     * Sends the supplied event to the topic.
+     * Sends the supplied binary encoded event to the topic.  This is only valid if the producer
+     * is configured with the ByteArraySerializer.
      *
-     * @param event OMRSEvent object containing the event properties.
+     * @param event encoded event
+     * @throws ConnectorCheckedException the event could not be queued for sending
      */
-    public void sendEvent(String event) {
+    public void sendEvent(byte[] event) throws ConnectorCheckedException {
         this.putEvent(event);
     }
 
 
+    /**
+     * Return whether the producer properties configure a value serializer that is able to send binary events.
+     *
+     * @param producerProperties properties for the Kafka producer
+     * @return boolean
+     */
+    static boolean isBinaryEventSupported(Properties producerProperties) {
+        Object valueSerializer = producerProperties.get("value.serializer");
+
+        if (valueSerializer instanceof Class) {
+            return ByteArraySerializer.class.equals(valueSerializer);
+        }
+
+        return ByteArraySerializer.class.getName().equals(String.valueOf(valueSerializer).trim());
+    }
+
+
     /**
      * Give time for an error to clear.
      */
     protected void recoverAfterError() {
-        long recoverySleepTimeSec = 10L;
         log.info("Waiting {} seconds to recover", recoverySleepTimeSec);
 
         try {
@@ -346,20 +497,58 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
         running = false;
     }
 
-    private boolean isExceptionRetryable(Exception error) {
+
+    /**
+     * Return whether the exception, or any of its causes, is an error that Kafka may recover from.
+     *
+     * @param error exception to test
+     * @return boolean
+     */
+    static boolean isExceptionRetryable(Exception error) {
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Throwable      cause   = error;
 
         /*
-        This code would probably be more elegant if it used Throwables
-        however I don't want to add Throwabales to the search and I didn't want to cast
+         * The chain ends with a null cause; a cause that has already been seen means the chain is a loop.
          */
-        Throwable nested = null;
-        while ((nested = error.getCause()) != null) {
-            if (nested instanceof RetriableException) {
+        while ((cause != null) && (visited.add(cause))) {
+            if (cause instanceof RetriableException) {
                 return true;
             }
 
-            error = new Exception(error.getCause());
+            cause = cause.getCause();
         }
+
         return false;
     }
+
+
+    /**
+     * An event waiting to be sent.
+     */
+    private static class PendingEvent {
+        private final Object value;
+
+        PendingEvent(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+
+                /*
+                 * JSON events are shown as text; binary encoded events are summarized.
+                 */
+                if ((bytes.length > 0) && (bytes[0] == '{')) {
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                return "<binary event of " + bytes.length + " bytes>";
+            }
+
+            return String.valueOf(value);
+        }
+    }
 }
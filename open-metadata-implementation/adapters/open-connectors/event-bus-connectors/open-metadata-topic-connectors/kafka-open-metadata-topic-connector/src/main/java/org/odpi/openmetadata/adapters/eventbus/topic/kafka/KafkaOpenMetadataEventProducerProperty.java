@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer
+ *
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * Controls the maximum number of events waiting to be handed to the Kafka producer.
+	 * When this size is reached, callers sending events are blocked until there is space
+	 * in the queue (see SEND_QUEUE_TIMEOUT_MS).
+	 */
+	MAX_QUEUE_SIZE("event_bus_max_send_queue_size", "10000"),
+
+	/*
+	 * The maximum time (in ms) that a caller is blocked waiting for space in a full send queue
+	 * before the event is rejected.  A negative value means wait indefinitely.
+	 */
+	SEND_QUEUE_TIMEOUT_MS("send_queue_timeout_ms", "30000"),
+
+	/*
+	 * The maximum time (in ms) that the producer thread waits for a new event before
+	 * checking whether it has been asked to shut down.
+	 */
+	POLL_TIMEOUT("poll_timeout_ms", "1000"),
+
+	/*
+	 * The amount of time to sleep after we encounter a Kafka error, in seconds
+	 */
+	RECOVERY_SLEEP_TIME("recovery_sleep_time_sec", "10");
+
+	private final String propertyName;
+	private final String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+	
+	public String getPropertyName() {
+		return propertyName;
+	}
+	
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+
+}
@@ -15,10 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -39,6 +36,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private final Properties producerProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
@@ -49,9 +47,6 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     private String       topicName          = null;
     private String       serverId           = null;
 
-    /* this buffer is for consumed events */
-    private final List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
-
     private KafkaConsumerExecutor consumerExecutor = null;
     private KafkaProducerExecutor producerExecutor = null;
 
@@ -116,9 +111,11 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
         producerProperties.put("bootstrap.servers", "localhost:9092");
         producerProperties.put("acks", "all");
-        producerProperties.put("retries", 1);
+        producerProperties.put("retries", Integer.MAX_VALUE);
         producerProperties.put("batch.size", 16384);
-        producerProperties.put("linger.ms", 0);
+        producerProperties.put("linger.ms", 5);
+        producerProperties.put("enable.idempotence", true);
+        producerProperties.put("max.in.flight.requests.per.connection", 5);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
         producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
@@ -132,7 +129,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerProperties.put("session.timeout.ms", "30000");
         consumerProperties.put("max.partition.fetch.bytes",	10485760);
         consumerProperties.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
-        consumerProperties.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProperties.put("value.deserializer", "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         consumerProperties.put("bring.up.retries", "10");
         consumerProperties.put("bring.up.minSleepTime", "5000");
     }
@@ -217,6 +214,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.producerPropertyName);
             copyProperties(propertiesObject, producerProperties);
 
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
+
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.consumerPropertyName);
             copyProperties(propertiesObject, consumerProperties);
             
@@ -322,7 +322,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private void initializeProducerAndProducerThread() {
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, auditLog);
+        KafkaOpenMetadataEventProducerConfiguration producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties, auditLog);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerConfig, producerProperties, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
     }
 
@@ -344,39 +345,52 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
 
     /**
-     * Look to see if there is one of more new events to process.
+     * Return whether the topic is able to carry events in a binary encoding.  This is only the case when the
+     * producer is explicitly configured with the ByteArraySerializer.  With the default StringSerializer,
+     * every event is sent as JSON so that members of the cohort running earlier releases can read it.
      *
-     * @return a list of received events or null
+     * @return boolean
      */
     @Override
-    protected List<IncomingEvent> checkForIncomingEvents()
+    public boolean isBinaryEventSupported()
     {
-        List<IncomingEvent> newEvents = null;
+        return KafkaOpenMetadataEventProducer.isBinaryEventSupported(producerProperties);
+    }
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
 
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
+    /**
+     * Sends the supplied binary encoded event to the topic.
+     *
+     * @param event encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    @Override
+    public void sendEvent(byte[] event) throws ConnectorCheckedException
+    {
+        if (! this.isBinaryEventSupported())
         {
-            log.debug("Checking for events.  Number of found events: {}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
+            super.sendEvent(event);
+        }
+        else if (producer != null)
+        {
+            producer.sendEvent(event);
         }
-
-        return newEvents;
     }
 
+
     /**
-     * Distribute events to other listeners.
+     * Distribute events to other listeners.  The event is passed to the listener thread straight away.
+     * This call does not wait.  If the listener thread has too many events waiting, the event is not
+     * taken and the consumer holds on to it until there is space.
      *
      * @param event object containing the event properties.
+     * @return boolean true if the event was passed to the listener thread
      */
-    void distributeToListeners(IncomingEvent event)
+    boolean distributeToListeners(IncomingEvent event)
     {
         log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+
+        return super.offerEvent(event);
     }
 
 
@@ -452,7 +466,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
      * @return int
      */
     int getNumberOfUnprocessedEvents() {
-    	return incomingEventsList.size();
+    	return super.getPendingEventCount();
     }
 
     private class KafkaStatusChecker {
@@ -141,6 +141,24 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Check the  Kafka error logs for related messages that could " +
                     "indicate the cause of this error.  Work to clear the underlying error.  " +
                     "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    EVENT_SEND_ABANDONED("OCF-KAFKA-TOPIC-CONNECTOR-0020",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "An event for topic {0} has been discarded because Apache Kafka was not able to deliver it.  The error was {1} with message {2}",
+            "The event is not sent.  The event is included with this message.  Apache Kafka has already retried any " +
+                    "retryable error until the delivery.timeout.ms producer property expired.  The producer continues to send other events.",
+            "Review the operational status of Apache Kafka to ensure it is running and the topic is defined.  " +
+                    "If the error is not retryable, it may be a configuration error, either in this " +
+                    "server or in the event bus itself."),
+
+    SEND_QUEUE_FULL("OCF-KAFKA-TOPIC-CONNECTOR-0021",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "An event for topic {0} has been rejected because the send queue is full with {1} events and no space became free within {2} milliseconds",
+            "The event is not sent and an exception is returned to the caller.  Events are being produced faster than " +
+                    "they can be sent to Apache Kafka.",
+            "Review the operational status of Apache Kafka.  If it is running normally, increase the " +
+                    "event_bus_max_send_queue_size or send_queue_timeout_ms properties in the egeria_kafka_producer " +
+                    "configuration, or review the linger.ms and batch.size producer properties."),
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
@@ -0,0 +1,279 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the Kafka consumer pauses its partitions, but keeps polling, while the listener thread is
+ * behind and resumes them once the waiting records have been taken, that it does not wait between polls,
+ * and that it stops when it is interrupted.
+ */
+public class KafkaOpenMetadataEventConsumerBackpressureTest
+{
+    private static final String         topicName = "egeria.omag.openmetadata.repositoryservices.cohort.test.OMRSTopic";
+    private static final TopicPartition partition = new TopicPartition(topicName, 0);
+    private static final long           waitTime  = 20000;
+
+
+    /**
+     * Records are held, in order, while the listener thread will not take them, and the partitions are
+     * paused rather than polling stopping.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testPauseAndResume() throws Exception
+    {
+        CountingConsumer               kafkaConsumer  = this.getConsumer();
+        TestConnector                  connector      = new TestConnector();
+        KafkaOpenMetadataEventConsumer eventConsumer  = this.getEventConsumer(kafkaConsumer, connector);
+        Thread                         consumerThread = new Thread(eventConsumer);
+
+        consumerThread.start();
+
+        try
+        {
+            for (long offset = 0; offset < 3; offset++)
+            {
+                kafkaConsumer.addRecord(this.getRecord(offset));
+            }
+
+            assertTrue(this.waitFor(() -> kafkaConsumer.paused().contains(partition)));
+
+            int pollCount = kafkaConsumer.pollCount.get();
+
+            assertTrue(this.waitFor(() -> kafkaConsumer.pollCount.get() > pollCount + 1));
+            assertTrue(kafkaConsumer.paused().contains(partition));
+            assertTrue(connector.getDeliveredOffsets().isEmpty());
+
+            connector.accepting.set(true);
+
+            assertTrue(this.waitFor(() -> (connector.getDeliveredOffsets().size() == 3) && kafkaConsumer.paused().isEmpty()));
+            assertEquals(connector.getDeliveredOffsets(), List.of(0L, 1L, 2L));
+        }
+        finally
+        {
+            eventConsumer.safeCloseConsumer();
+            consumerThread.join(waitTime);
+        }
+
+        assertFalse(consumerThread.isAlive());
+        assertTrue(kafkaConsumer.closed());
+    }
+
+
+    /**
+     * Records are passed on as they arrive rather than once per fixed wait between polls.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testNoWaitBetweenPolls() throws Exception
+    {
+        CountingConsumer               kafkaConsumer  = this.getConsumer();
+        TestConnector                  connector      = new TestConnector();
+        KafkaOpenMetadataEventConsumer eventConsumer  = this.getEventConsumer(kafkaConsumer, connector);
+        Thread                         consumerThread = new Thread(eventConsumer);
+
+        connector.accepting.set(true);
+        consumerThread.start();
+
+        try
+        {
+            long startTime = System.currentTimeMillis();
+
+            for (long offset = 0; offset < 10; offset++)
+            {
+                final int deliveredCount = (int) offset + 1;
+
+                kafkaConsumer.addRecord(this.getRecord(offset));
+
+                assertTrue(this.waitFor(() -> connector.getDeliveredOffsets().size() == deliveredCount));
+            }
+
+            assertTrue(System.currentTimeMillis() - startTime < 5000);
+        }
+        finally
+        {
+            eventConsumer.safeCloseConsumer();
+            consumerThread.join(waitTime);
+        }
+
+        assertFalse(consumerThread.isAlive());
+    }
+
+
+    /**
+     * An interrupt stops the consumer, which closes the Kafka consumer and leaves the interrupt flag set.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testInterrupt() throws Exception
+    {
+        CountingConsumer               kafkaConsumer  = this.getConsumer();
+        KafkaOpenMetadataEventConsumer eventConsumer  = this.getEventConsumer(kafkaConsumer, new TestConnector());
+        AtomicBoolean                  interrupted    = new AtomicBoolean(false);
+        Thread                         consumerThread = new Thread(() ->
+                                                       {
+                                                           eventConsumer.run();
+                                                           interrupted.set(Thread.currentThread().isInterrupted());
+                                                       });
+
+        consumerThread.start();
+
+        assertTrue(this.waitFor(() -> kafkaConsumer.pollCount.get() > 0));
+
+        consumerThread.interrupt();
+        consumerThread.join(waitTime);
+
+        assertFalse(consumerThread.isAlive());
+        assertTrue(interrupted.get());
+        assertTrue(kafkaConsumer.closed());
+    }
+
+
+    private CountingConsumer getConsumer()
+    {
+        CountingConsumer kafkaConsumer = new CountingConsumer();
+
+        kafkaConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+
+        return kafkaConsumer;
+    }
+
+
+    private KafkaOpenMetadataEventConsumer getEventConsumer(CountingConsumer kafkaConsumer,
+                                                            TestConnector    connector)
+    {
+        Properties kafkaConsumerProperties = new Properties();
+
+        kafkaConsumerProperties.setProperty(KafkaOpenMetadataEventConsumerProperty.POLL_TIMEOUT.getPropertyName(), "10");
+
+        KafkaOpenMetadataEventConsumer eventConsumer
+                = new KafkaOpenMetadataEventConsumer(kafkaConsumer,
+                                                     topicName,
+                                                     "localServer",
+                                                     new KafkaOpenMetadataEventConsumerConfiguration(kafkaConsumerProperties, null),
+                                                     kafkaConsumerProperties,
+                                                     connector,
+                                                     null);
+
+        kafkaConsumer.rebalance(Collections.singletonList(partition));
+
+        return eventConsumer;
+    }
+
+
+    private ConsumerRecord<String, Object> getRecord(long offset)
+    {
+        return new ConsumerRecord<>(topicName, 0, offset, "remoteServer", ("event-" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + waitTime;
+
+        while (! condition.getAsBoolean())
+        {
+            if (System.currentTimeMillis() > deadline)
+            {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Mock Kafka consumer that counts the calls to poll.
+     */
+    private static class CountingConsumer extends MockConsumer<String, Object>
+    {
+        final AtomicInteger pollCount = new AtomicInteger(0);
+
+
+        CountingConsumer()
+        {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+
+        @Override
+        public synchronized ConsumerRecords<String, Object> poll(Duration timeout)
+        {
+            pollCount.incrementAndGet();
+
+            return super.poll(timeout);
+        }
+    }
+
+
+    /**
+     * Topic connector whose listener thread only takes events once accepting is set.
+     */
+    private static class TestConnector extends KafkaOpenMetadataTopicConnector
+    {
+        final AtomicBoolean accepting        = new AtomicBoolean(false);
+        final List<Long>    deliveredOffsets = new ArrayList<>();
+
+
+        @Override
+        boolean distributeToListeners(IncomingEvent event)
+        {
+            if (! accepting.get())
+            {
+                return false;
+            }
+
+            synchronized (deliveredOffsets)
+            {
+                deliveredOffsets.add(((KafkaIncomingEvent) event).getOffset());
+            }
+
+            return true;
+        }
+
+
+        @Override
+        int getNumberOfUnprocessedEvents()
+        {
+            return 0;
+        }
+
+
+        List<Long> getDeliveredOffsets()
+        {
+            synchronized (deliveredOffsets)
+            {
+                return new ArrayList<>(deliveredOffsets);
+            }
+        }
+    }
+}
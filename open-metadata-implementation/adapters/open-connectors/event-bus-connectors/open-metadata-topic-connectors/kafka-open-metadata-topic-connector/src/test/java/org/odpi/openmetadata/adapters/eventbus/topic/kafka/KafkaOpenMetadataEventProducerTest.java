@@ -0,0 +1,347 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that the Kafka producer sends an event that Kafka rejected before any later events, keeps the
+ * events in order when a send fails, does not resend an event whose delivery failed, and rejects an event
+ * once the send queue has been full for longer than the send queue timeout.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final String topicName = "egeria.omag.openmetadata.repositoryservices.cohort.test.OMRSTopic";
+    private static final long   waitTime  = 20000;
+
+
+    /**
+     * An event that the Kafka producer rejects is sent again, through a new producer, before the events
+     * that were queued after it.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testUnsentEventSentFirst() throws Exception
+    {
+        TestProducerFactory            producerFactory = new TestProducerFactory(1);
+        KafkaOpenMetadataEventProducer eventProducer   = this.getEventProducer(producerFactory, 0, -1);
+
+        for (int i = 0; i < 4; i++)
+        {
+            eventProducer.sendEvent("event-" + i);
+        }
+
+        Thread producerThread = this.start(eventProducer);
+
+        try
+        {
+            assertTrue(this.waitFor(() -> producerFactory.getSentEvents().size() == 4));
+        }
+        finally
+        {
+            this.stop(eventProducer, producerThread);
+        }
+
+        assertEquals(producerFactory.producers.size(), 2);
+        assertTrue(producerFactory.producers.get(0).closed());
+        assertTrue(producerFactory.producers.get(0).history().isEmpty());
+        assertEquals(producerFactory.getSentEvents(), List.of("event-0", "event-1", "event-2", "event-3"));
+    }
+
+
+    /**
+     * Events sent before, during and after a failed send reach Kafka once each and in the order that
+     * they were sent.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testOrderKeptAcrossFailedSend() throws Exception
+    {
+        TestProducerFactory            producerFactory = new TestProducerFactory(3);
+        KafkaOpenMetadataEventProducer eventProducer   = this.getEventProducer(producerFactory, 0, -1);
+        Thread                         producerThread  = this.start(eventProducer);
+        List<String>                   expectedEvents  = new ArrayList<>();
+
+        try
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                expectedEvents.add("event-" + i);
+                eventProducer.sendEvent("event-" + i);
+            }
+
+            assertTrue(this.waitFor(() -> producerFactory.getSentEvents().size() == 10));
+        }
+        finally
+        {
+            this.stop(eventProducer, producerThread);
+        }
+
+        assertEquals(producerFactory.producers.size(), 2);
+        assertEquals(producerFactory.producers.get(0).history().size(), 2);
+        assertEquals(producerFactory.getSentEvents(), expectedEvents);
+    }
+
+
+    /**
+     * An event whose delivery fails after it was passed to Kafka is not sent again, so it can not be placed
+     * behind the events that follow it.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testFailedDeliveryNotResent() throws Exception
+    {
+        MockProducer<String, Object>   kafkaProducer  = new MockProducer<>(false, new StringSerializer(), this::serialize);
+        KafkaOpenMetadataEventProducer eventProducer  = this.getEventProducer(() -> kafkaProducer, 0, -1);
+        Thread                         producerThread = this.start(eventProducer);
+
+        try
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                eventProducer.sendEvent("event-" + i);
+            }
+
+            assertTrue(this.waitFor(() -> kafkaProducer.history().size() == 3));
+
+            assertTrue(kafkaProducer.completeNext());
+            assertTrue(kafkaProducer.errorNext(new TimeoutException("Delivery timed out")));
+            assertTrue(kafkaProducer.completeNext());
+
+            eventProducer.sendEvent("event-3");
+
+            assertTrue(this.waitFor(() -> kafkaProducer.history().size() == 4));
+            assertTrue(kafkaProducer.completeNext());
+        }
+        finally
+        {
+            this.stop(eventProducer, producerThread);
+        }
+
+        assertEquals(this.getValues(kafkaProducer), List.of("event-0", "event-1", "event-2", "event-3"));
+    }
+
+
+    /**
+     * A caller waits while the send queue is full and the event is rejected once the send queue timeout
+     * expires.  The events already in the queue are still sent.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testFullQueueRejected() throws Exception
+    {
+        final long sendQueueTimeout = 200;
+
+        TestProducerFactory            producerFactory = new TestProducerFactory(0);
+        KafkaOpenMetadataEventProducer eventProducer   = this.getEventProducer(producerFactory, 2, sendQueueTimeout);
+
+        eventProducer.sendEvent("event-0");
+        eventProducer.sendEvent("event-1");
+
+        long startTime = System.currentTimeMillis();
+
+        try
+        {
+            eventProducer.sendEvent("event-2");
+            fail("ConnectorCheckedException expected");
+        }
+        catch (ConnectorCheckedException expected)
+        {
+            assertTrue(System.currentTimeMillis() - startTime >= sendQueueTimeout);
+            assertEquals(expected.getReportedErrorMessageId().trim(), "OCF-KAFKA-TOPIC-CONNECTOR-500-004");
+        }
+
+        assertTrue(producerFactory.producers.isEmpty());
+
+        Thread producerThread = this.start(eventProducer);
+
+        try
+        {
+            assertTrue(this.waitFor(() -> producerFactory.getSentEvents().size() == 2));
+        }
+        finally
+        {
+            this.stop(eventProducer, producerThread);
+        }
+
+        assertEquals(producerFactory.getSentEvents(), List.of("event-0", "event-1"));
+    }
+
+
+    private KafkaOpenMetadataEventProducer getEventProducer(Supplier<Producer<String, Object>> producerFactory,
+                                                            int                                maxQueueSize,
+                                                            long                               sendQueueTimeout)
+    {
+        Properties egeriaProperties = new Properties();
+
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_QUEUE_SIZE.getPropertyName(), Integer.toString(maxQueueSize));
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.SEND_QUEUE_TIMEOUT_MS.getPropertyName(), Long.toString(sendQueueTimeout));
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.POLL_TIMEOUT.getPropertyName(), "10");
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.RECOVERY_SLEEP_TIME.getPropertyName(), "0");
+
+        return new KafkaOpenMetadataEventProducer(topicName,
+                                                  "localServer",
+                                                  new KafkaOpenMetadataEventProducerConfiguration(egeriaProperties, null),
+                                                  new Properties(),
+                                                  null,
+                                                  producerFactory);
+    }
+
+
+    private Thread start(KafkaOpenMetadataEventProducer eventProducer)
+    {
+        Thread producerThread = new Thread(eventProducer);
+
+        producerThread.start();
+
+        return producerThread;
+    }
+
+
+    private void stop(KafkaOpenMetadataEventProducer eventProducer,
+                      Thread                         producerThread) throws InterruptedException
+    {
+        eventProducer.safeCloseProducer();
+        producerThread.join(waitTime);
+
+        assertFalse(producerThread.isAlive());
+    }
+
+
+    private byte[] serialize(String topic,
+                             Object data)
+    {
+        return String.valueOf(data).getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private List<String> getValues(MockProducer<String, Object> kafkaProducer)
+    {
+        List<String> values = new ArrayList<>();
+
+        for (ProducerRecord<String, Object> producerRecord : kafkaProducer.history())
+        {
+            values.add((String) producerRecord.value());
+        }
+
+        return values;
+    }
+
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + waitTime;
+
+        while (! condition.getAsBoolean())
+        {
+            if (System.currentTimeMillis() > deadline)
+            {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Creates mock Kafka producers.  The first producer rejects the requested send, as a Kafka producer does
+     * when its buffer stays full for longer than max.block.ms.  Later producers accept every event.
+     */
+    private class TestProducerFactory implements Supplier<Producer<String, Object>>
+    {
+        final List<MockProducer<String, Object>> producers = new ArrayList<>();
+        private final int                        rejectedSend;
+
+
+        /**
+         * Constructor.
+         *
+         * @param rejectedSend number of the send that the first producer rejects, or 0 for none
+         */
+        TestProducerFactory(int rejectedSend)
+        {
+            this.rejectedSend = rejectedSend;
+        }
+
+
+        @Override
+        public synchronized Producer<String, Object> get()
+        {
+            MockProducer<String, Object> kafkaProducer;
+
+            if (producers.isEmpty() && (rejectedSend > 0))
+            {
+                kafkaProducer = new MockProducer<>(true, new StringSerializer(), KafkaOpenMetadataEventProducerTest.this::serialize)
+                {
+                    private int sendCount = 0;
+
+                    @Override
+                    public synchronized Future<RecordMetadata> send(ProducerRecord<String, Object> producerRecord,
+                                                                    Callback                       callback)
+                    {
+                        if (++ sendCount == rejectedSend)
+                        {
+                            throw new TimeoutException("Topic not present in metadata after 60000 ms.");
+                        }
+
+                        return super.send(producerRecord, callback);
+                    }
+                };
+            }
+            else
+            {
+                kafkaProducer = new MockProducer<>(true, new StringSerializer(), KafkaOpenMetadataEventProducerTest.this::serialize);
+            }
+
+            producers.add(kafkaProducer);
+
+            return kafkaProducer;
+        }
+
+
+        /**
+         * Return the events sent by all of the producers, in the order they were sent.
+         *
+         * @return event values
+         */
+        synchronized List<String> getSentEvents()
+        {
+            List<String> events = new ArrayList<>();
+
+            for (MockProducer<String, Object> kafkaProducer : producers)
+            {
+                events.addAll(getValues(kafkaProducer));
+            }
+
+            return events;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the Kafka topic connector sends JSON unless binary events are explicitly configured, and that
+ * the default consumer configuration decodes events sent in JSON by earlier releases as well as binary events.
+ */
+public class KafkaOpenMetadataTopicConnectorEncodingTest
+{
+    private static final String topicName = "egeria.omag.openmetadata.repositoryservices.cohort.test.OMRSTopic";
+
+    private final ObjectMapper jsonMapper  = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+
+    /**
+     * Binary events are only sent when the producer is explicitly configured with the ByteArraySerializer.
+     */
+    @Test
+    public void testJSONIsTheDefault()
+    {
+        assertFalse(new KafkaOpenMetadataTopicConnector().isBinaryEventSupported());
+
+        Properties producerProperties = new Properties();
+
+        producerProperties.put("value.serializer", StringSerializer.class.getName());
+        assertFalse(KafkaOpenMetadataEventProducer.isBinaryEventSupported(producerProperties));
+
+        producerProperties.put("value.serializer", ByteArraySerializer.class.getName());
+        assertTrue(KafkaOpenMetadataEventProducer.isBinaryEventSupported(producerProperties));
+
+        producerProperties.put("value.serializer", ByteArraySerializer.class);
+        assertTrue(KafkaOpenMetadataEventProducer.isBinaryEventSupported(producerProperties));
+    }
+
+
+    /**
+     * An event sent as JSON with the StringSerializer and an event sent in Smile with the ByteArraySerializer
+     * are both decoded after passing through the default ByteArrayDeserializer.
+     *
+     * @throws Exception encoding error
+     */
+    @Test
+    public void testDecodeBothFormats() throws Exception
+    {
+        OMRSTopicConnector      topicConnector = new OMRSTopicConnector();
+        List<OMRSInstanceEvent> receivedEvents = new ArrayList<>();
+        List<AuditLogRecord>    auditRecords   = new ArrayList<>();
+
+        topicConnector.setAuditLog(new AuditLog(new AuditLogDestination(null)
+        {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord)
+            {
+                auditRecords.add(logRecord);
+            }
+        }, OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR));
+
+        topicConnector.registerListener(new OMRSTopicListener()
+        {
+            @Override
+            public void processRegistryEvent(OMRSRegistryEvent event)
+            {
+            }
+
+            @Override
+            public void processTypeDefEvent(OMRSTypeDefEvent event)
+            {
+            }
+
+            @Override
+            public void processInstanceEvent(OMRSInstanceEvent event)
+            {
+                synchronized (receivedEvents)
+                {
+                    receivedEvents.add(event);
+                }
+            }
+        }, "Kafka Encoding Test");
+
+        OMRSEventV1 event = this.getEvent();
+
+        try (StringSerializer      stringSerializer = new StringSerializer();
+             ByteArraySerializer   binarySerializer = new ByteArraySerializer();
+             ByteArrayDeserializer deserializer     = new ByteArrayDeserializer())
+        {
+            byte[] jsonRecord   = stringSerializer.serialize(topicName, jsonMapper.writeValueAsString(event));
+            byte[] binaryRecord = binarySerializer.serialize(topicName, smileMapper.writeValueAsBytes(event));
+
+            KafkaIncomingEvent jsonEvent   = new KafkaIncomingEvent(deserializer.deserialize(topicName, jsonRecord), 1L);
+            KafkaIncomingEvent binaryEvent = new KafkaIncomingEvent(deserializer.deserialize(topicName, binaryRecord), 2L);
+
+            /*
+             * The JSON event is delivered unchanged, as UTF-8 bytes.
+             */
+            assertEquals(new String(jsonEvent.getBinaryPayload(), StandardCharsets.UTF_8), jsonMapper.writeValueAsString(event));
+
+            topicConnector.processEvent(jsonEvent.getBinaryPayload());
+            topicConnector.processEvent(binaryEvent.getBinaryPayload());
+        }
+
+        assertEquals(receivedEvents.size(), 2, auditRecords.toString());
+
+        for (OMRSInstanceEvent receivedEvent : receivedEvents)
+        {
+            assertEquals(receivedEvent.getInstanceEventType(), OMRSInstanceEventType.NEW_ENTITY_EVENT);
+            assertEquals(receivedEvent.getEntity().getGUID(), event.getInstanceEventSection().getEntity().getGUID());
+        }
+    }
+
+
+    /**
+     * Return a new entity event.
+     *
+     * @return event bean
+     */
+    private OMRSEventV1 getEvent()
+    {
+        OMRSEventOriginator originator = new OMRSEventOriginator();
+
+        originator.setMetadataCollectionId(UUID.randomUUID().toString());
+        originator.setServerName("cocoMDS1");
+
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(UUID.randomUUID().toString());
+        entity.setType(new InstanceType(TypeDefCategory.ENTITY_DEF, UUID.randomUUID().toString(), "GlossaryTerm", 1L));
+        entity.setMetadataCollectionId(originator.getMetadataCollectionId());
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setCreatedBy("garygeeke");
+        entity.setCreateTime(new Date());
+        entity.setVersion(1L);
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+
+        instanceEvent.setEventOriginator(originator);
+
+        return instanceEvent.getOMRSEventV1();
+    }
+}
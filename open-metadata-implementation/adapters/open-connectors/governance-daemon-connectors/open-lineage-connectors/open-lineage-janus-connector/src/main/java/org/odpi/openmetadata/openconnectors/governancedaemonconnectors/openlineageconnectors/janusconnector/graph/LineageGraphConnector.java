@@ -14,6 +14,11 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlinea
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.GRAPH_DISCONNECT_ERROR;
 
 @EqualsAndHashCode(callSuper = true)
@@ -28,9 +33,22 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
     public static final String VERTEX_NOT_FOUND = "Vertex does not exist with guid {} and display name {}";
     public static final String THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR = "The Lineage graph could not be initialized due to an error";
 
+    /*
+     * The configuration properties of the connector that are not passed to the graph.
+     */
+    private static final List<String> CONNECTOR_PROPERTY_NAMES = Arrays.asList(
+            LineageGraphConnectorProvider.FULL_RECONCILIATION_INTERVAL,
+            LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_DEPTH,
+            LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_FAN_OUT,
+            LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_TIME_TO_LIVE,
+            LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_SIZE);
+
     private GraphHelper graphHelper;
     private LineageGraphStorageService graphStorageHelper;
     private LineageGraphQueryService lineageGraphQueryService;
+    private LineageJobTracker lineageJobTracker;
+    private LineageJobHelper lineageJobHelper;
+    private LineageQueryCache lineageQueryCache;
     private AuditLog auditLog;
 
     /**
@@ -42,10 +60,18 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
             this.graphHelper = new GraphHelper();
 
             this.graphHelper.openGraph(connectionProperties.getConnectorType().getConnectorProviderClassName(),
-                    connectionProperties.getConfigurationProperties(), auditLog);
+                    getGraphConfigurationProperties(), auditLog);
 
-            this.graphStorageHelper = new LineageGraphStorageService(graphHelper, auditLog);
-            this.lineageGraphQueryService = new LineageGraphQueryService(graphHelper, auditLog);
+            this.lineageJobTracker = new LineageJobTracker(getLongProperty(LineageGraphConnectorProvider.FULL_RECONCILIATION_INTERVAL,
+                    LineageGraphConnectorProvider.DEFAULT_FULL_RECONCILIATION_INTERVAL));
+            this.lineageQueryCache = new LineageQueryCache(getLongProperty(LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_TIME_TO_LIVE,
+                    LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_CACHE_TIME_TO_LIVE),
+                    (int) getLongProperty(LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_SIZE, LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_CACHE_SIZE));
+            this.lineageJobHelper = new LineageJobHelper(graphHelper, auditLog, lineageJobTracker, lineageQueryCache);
+            this.graphStorageHelper = new LineageGraphStorageService(graphHelper, auditLog, lineageJobTracker, lineageQueryCache);
+            this.lineageGraphQueryService = new LineageGraphQueryService(graphHelper, auditLog, lineageQueryCache,
+                    (int) getLongProperty(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_DEPTH, LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_MAX_DEPTH),
+                    (int) getLongProperty(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_FAN_OUT, LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_MAX_FAN_OUT));
 
         } catch (JanusConnectorException error) {
             log.error(THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR, error);
@@ -55,6 +81,40 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
     }
 
 
+    /**
+     * Returns the configuration properties for the graph, without the properties of the lineage graph job and the
+     * lineage queries.
+     *
+     * @return configuration properties
+     */
+    private Map<String, Object> getGraphConfigurationProperties() {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties == null || CONNECTOR_PROPERTY_NAMES.stream().noneMatch(configurationProperties::containsKey)) {
+            return configurationProperties;
+        }
+        Map<String, Object> graphConfigurationProperties = new HashMap<>(configurationProperties);
+        graphConfigurationProperties.keySet().removeAll(CONNECTOR_PROPERTY_NAMES);
+        return graphConfigurationProperties;
+    }
+
+    /**
+     * Returns a numeric configuration property of the connector.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return value of the property
+     */
+    private long getLongProperty(String propertyName, long defaultValue) {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties != null) {
+            Object value = configurationProperties.get(propertyName);
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public synchronized void disconnect() throws ConnectorCheckedException {
         try {
@@ -69,9 +129,27 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
 
     @Override
     public void performLineageGraphJob() {
-        LineageJobHelper lineageJobHelper = new LineageJobHelper(graphHelper, auditLog);
         lineageJobHelper.performLineageGraphJob();
     }
+
+    /**
+     * Returns the tracker of the changes waiting for the lineage graph job, which also holds the statistics of the job runs.
+     *
+     * @return the lineage job tracker
+     */
+    public LineageJobTracker getLineageJobTracker() {
+        return lineageJobTracker;
+    }
+
+    /**
+     * Returns the cache of the results of the lineage queries, which also holds the statistics of the queries.
+     *
+     * @return the lineage query cache
+     */
+    public LineageQueryCache getLineageQueryCache() {
+        return lineageQueryCache;
+    }
+
     @Override
     public OpenLineageQueryService getLineageQueryService(){
         return lineageGraphQueryService;
@@ -11,6 +11,38 @@ public class LineageGraphConnectorProvider extends LineageGraphProviderBase {
     static final String CONNECTOR_TYPE_NAME = "Janus Graph Connector";
     static final String CONNECTOR_TYPE_DESCRIPTION = "Connector supports storing and retrieving entities for lineage from Janus Graph.";
 
+    /**
+     * Time in seconds between the runs of the lineage graph job that map every process rather than just the
+     * processes affected by recent changes.  0 means only the first run after startup maps every process.
+     */
+    public static final String FULL_RECONCILIATION_INTERVAL = "lineageJob.fullReconciliationInterval";
+    public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL = 3600;
+
+    /**
+     * Maximum number of relationships followed from the queried element by the end to end, ultimate source and
+     * ultimate destination lineage queries.  0 means no limit.
+     */
+    public static final String LINEAGE_QUERY_MAX_DEPTH = "lineageQuery.maxDepth";
+    public static final int DEFAULT_LINEAGE_QUERY_MAX_DEPTH = 50;
+
+    /**
+     * Maximum number of lineage relationships followed from any one element by these queries.  0 means no limit.
+     */
+    public static final String LINEAGE_QUERY_MAX_FAN_OUT = "lineageQuery.maxFanOut";
+    public static final int DEFAULT_LINEAGE_QUERY_MAX_FAN_OUT = 200;
+
+    /**
+     * Time in seconds that the result of a lineage query is cached.  0 means results are not cached.
+     */
+    public static final String LINEAGE_QUERY_CACHE_TIME_TO_LIVE = "lineageQuery.cacheTimeToLive";
+    public static final long DEFAULT_LINEAGE_QUERY_CACHE_TIME_TO_LIVE = 300;
+
+    /**
+     * Maximum number of lineage query results that are cached.
+     */
+    public static final String LINEAGE_QUERY_CACHE_SIZE = "lineageQuery.cacheSize";
+    public static final int DEFAULT_LINEAGE_QUERY_CACHE_SIZE = 1000;
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * registry store implementation.
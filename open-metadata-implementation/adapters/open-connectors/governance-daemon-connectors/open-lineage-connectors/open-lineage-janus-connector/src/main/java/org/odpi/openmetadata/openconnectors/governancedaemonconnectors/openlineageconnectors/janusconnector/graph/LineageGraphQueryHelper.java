@@ -68,6 +68,19 @@ public class LineageGraphQueryHelper {
     public LineageVerticesAndEdges getLineageVerticesAndEdges(Graph subGraph, boolean includeProcesses) {
         Set<LineageVertex> lineageVertices = getLineageVertices(subGraph);
         Set<LineageEdge> lineageEdges = getLineageEdges(subGraph);
+        return getLineageVerticesAndEdges(lineageVertices, lineageEdges, includeProcesses);
+    }
+
+    /**
+     * Combine vertices and edges that are already in the Open Lineage format, condensing the processes if they are not included.
+     *
+     * @param lineageVertices  The vertices, which are changed if the processes are condensed.
+     * @param lineageEdges     The edges, which are changed if the processes are condensed.
+     * @param includeProcesses include processes
+     * @return The graph in an Open Lineage specific format.
+     */
+    public LineageVerticesAndEdges getLineageVerticesAndEdges(Set<LineageVertex> lineageVertices, Set<LineageEdge> lineageEdges,
+                                                              boolean includeProcesses) {
         condenseProcesses(includeProcesses, lineageVertices, lineageEdges);
         return new LineageVerticesAndEdges(lineageVertices, lineageEdges);
     }
@@ -100,13 +113,21 @@ public class LineageGraphQueryHelper {
         Iterator<Edge> originalEdges = subGraph.edges();
         Set<LineageEdge> lineageEdges = new HashSet<>();
         while (originalEdges.hasNext()) {
-            Edge next = originalEdges.next();
-            LineageEdge newLineageEdge = new LineageEdge(getEdgeID(next), next.label(), getNodeID(next.outVertex()), getNodeID(next.inVertex()));
-            lineageEdges.add(newLineageEdge);
+            lineageEdges.add(abstractEdge(originalEdges.next()));
         }
         return lineageEdges;
     }
 
+    /**
+     * Map a Tinkerpop edge to the Open Lineage format.
+     *
+     * @param edge The edge to be mapped.
+     * @return The edge in the Open Lineage format.
+     */
+    public LineageEdge abstractEdge(Edge edge) {
+        return new LineageEdge(getEdgeID(edge), edge.label(), getNodeID(edge.outVertex()), getNodeID(edge.inVertex()));
+    }
+
     private String getEdgeID(Edge edge) {
         String edgeID;
         if (edge.property("edge--guid").isPresent()) {
@@ -4,10 +4,11 @@ package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openline
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -41,18 +42,19 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.until;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_ENTITY_NOT_FOUND;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_LINEAGE_NOT_FOUND;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_TYPES_NOT_FOUND;
@@ -100,7 +102,6 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.RELATIONAL_TABLE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.S;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.SEMANTIC_ASSIGNMENT;
-import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.SUB_GRAPH;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_COLUMN_AND_CLASSIFICATION_EDGES;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.TABULAR_FILE_COLUMN;
@@ -129,14 +130,37 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LineageGraphQueryService.class);
 
+    public static final String LINEAGE_QUERY_FINISHED = "Lineage query {} for {} returned {} vertices in {} ms (truncated {})";
+
     private final GraphHelper graphHelper;
     private final LineageGraphQueryHelper lineageGraphQueryHelper;
     private final AuditLog auditLog;
+    private final LineageQueryCache lineageQueryCache;
+    private final int maxDepth;
+    private final int maxFanOut;
 
     public LineageGraphQueryService(GraphHelper graphHelper, AuditLog auditLog) {
+        this(graphHelper, auditLog, new LineageQueryCache(0, 0), LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_MAX_DEPTH,
+                LineageGraphConnectorProvider.DEFAULT_LINEAGE_QUERY_MAX_FAN_OUT);
+    }
+
+    /**
+     * Creates the query service.
+     *
+     * @param graphHelper       helper for the graph
+     * @param auditLog          audit log
+     * @param lineageQueryCache cache of the results of the lineage queries, which also holds their statistics
+     * @param maxDepth          maximum number of relationships followed from the queried element, 0 means no limit
+     * @param maxFanOut         maximum number of relationships followed from each element, 0 means no limit
+     */
+    public LineageGraphQueryService(GraphHelper graphHelper, AuditLog auditLog, LineageQueryCache lineageQueryCache,
+                                    int maxDepth, int maxFanOut) {
         this.graphHelper = graphHelper;
         this.auditLog = auditLog;
         this.lineageGraphQueryHelper = new LineageGraphQueryHelper(graphHelper);
+        this.lineageQueryCache = lineageQueryCache;
+        this.maxDepth = maxDepth;
+        this.maxFanOut = maxFanOut;
     }
 
     /**
@@ -145,31 +169,65 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
     @Override
     public LineageResponse lineage(Scope scope, String guid, boolean includeProcesses) {
 
+        LineageVerticesAndEdges cachedLineage = lineageQueryCache.get(guid, scope, includeProcesses);
+        if (cachedLineage != null) {
+            return new LineageResponse(cachedLineage);
+        }
+
         LineageResponse response = graphHelper.getResult(this::checkEntityExists, guid, this::handleGetQueriedVertexException);
         if (response != null) {
             return response;
         }
 
+        long invalidationCount = lineageQueryCache.getInvalidationCount();
+        long startTime = System.nanoTime();
+        Set<String> traversedGuids = new HashSet<>();
         Optional<LineageVerticesAndEdges> lineageVerticesAndEdges = Optional.empty();
 
         switch (scope) {
             case END_TO_END:
-                lineageVerticesAndEdges = endToEnd(guid, includeProcesses);
+                lineageVerticesAndEdges = endToEnd(guid, includeProcesses, traversedGuids);
                 break;
             case ULTIMATE_SOURCE:
-                lineageVerticesAndEdges = ultimateSource(guid);
+                lineageVerticesAndEdges = ultimateSource(guid, traversedGuids);
                 break;
             case ULTIMATE_DESTINATION:
-                lineageVerticesAndEdges = ultimateDestination(guid);
+                lineageVerticesAndEdges = ultimateDestination(guid, traversedGuids);
                 break;
             case VERTICAL:
                 lineageVerticesAndEdges = verticalLineage(guid);
+                lineageVerticesAndEdges.ifPresent(lineage -> lineage.getLineageVertices().stream().map(LineageVertex::getGuid)
+                        .filter(Objects::nonNull).forEach(traversedGuids::add));
                 break;
         }
+        recordQuery(scope, guid, startTime, lineageVerticesAndEdges.orElse(null));
         if (lineageVerticesAndEdges.isEmpty()) {
             return getLineageResponse(guid, ERROR_LINEAGE_NOT_FOUND);
         }
-        return new LineageResponse(lineageVerticesAndEdges.orElse(null));
+        lineageQueryCache.put(guid, scope, includeProcesses, lineageVerticesAndEdges.get(), traversedGuids, invalidationCount);
+        return new LineageResponse(lineageVerticesAndEdges.get());
+    }
+
+    private void recordQuery(Scope scope, String guid, long startTime, LineageVerticesAndEdges lineageVerticesAndEdges) {
+        int vertexCount = 0;
+        boolean truncated = false;
+        if (lineageVerticesAndEdges != null) {
+            vertexCount = lineageVerticesAndEdges.getLineageVertices() == null ? 0 : lineageVerticesAndEdges.getLineageVertices().size();
+            truncated = lineageVerticesAndEdges.isTruncated();
+        }
+        lineageQueryCache.recordQuery(scope, startTime, vertexCount, truncated);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(LINEAGE_QUERY_FINISHED, scope, guid, vertexCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), truncated);
+        }
+    }
+
+    /**
+     * Returns the cache of the results of the lineage queries, which also holds the statistics of the queries.
+     *
+     * @return the lineage query cache
+     */
+    public LineageQueryCache getLineageQueryCache() {
+        return lineageQueryCache;
     }
 
     private LineageResponse checkEntityExists(GraphTraversalSource g, String guid) {
@@ -196,13 +254,18 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      * Returns the end to end graph of queried entity, which can be a column or a table. In case of tables, relationships
      * of type DataFlow will be traversed backwards and forwards, all the way to the source and the destination,
      * respectively. If no vertices are found, then DataFlow relationships are used for traversal. In case of columns,
-     * DataFlow relationships are directly used
+     * DataFlow relationships are directly used. The traversal stops at the depth and fan-out limits of the service,
+     * in which case the result is marked as truncated.
      *
      * @param guid             queried entity
      * @param includeProcesses include processes
      * @return graph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> endToEnd(String guid, boolean includeProcesses) {
+        return endToEnd(guid, includeProcesses, new HashSet<>());
+    }
+
+    private Optional<LineageVerticesAndEdges> endToEnd(String guid, boolean includeProcesses, Set<String> traversedGuids) {
 
         Vertex queriedVertex = this.graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
@@ -213,14 +276,17 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
 
-        Graph endToEndGraph = this.graphHelper.getResult(this::queryEndToEnd, guid, edgeLabels, this::handleLineageNotFoundException);
-        if (endToEndGraph == null || !endToEndGraph.vertices().hasNext()) {
+        LineageTraversal traversal = this.graphHelper.getResult(this::queryEndToEnd, guid, edgeLabels, this::handleLineageNotFoundException);
+        if (traversal == null || traversal.edges.isEmpty()) {
             return Optional.empty();
         }
+        traversedGuids.addAll(traversal.guids);
 
-        LineageVerticesAndEdges lineageVerticesAndEdges = this.lineageGraphQueryHelper.getLineageVerticesAndEdges(endToEndGraph, includeProcesses);
+        LineageVerticesAndEdges lineageVerticesAndEdges = this.lineageGraphQueryHelper.getLineageVerticesAndEdges(
+                new LinkedHashSet<>(traversal.vertices.values()), traversal.edges, includeProcesses);
         addIncompleteClassifications(lineageVerticesAndEdges);
         this.lineageGraphQueryHelper.addColumnProperties(lineageVerticesAndEdges);
+        addTruncationMarkers(lineageVerticesAndEdges, traversal);
         return Optional.of(lineageVerticesAndEdges);
     }
 
@@ -229,16 +295,14 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      *
      * @param guid       queried entity
      * @param edgeLabels edge type to traverse
-     * @return graph
+     * @return the traversed vertices and edges
      */
-    private Graph queryEndToEnd(GraphTraversalSource g, String guid, List<String> edgeLabels) {
-        String[] labels = edgeLabels.toArray(new String[0]);
-        return (Graph) g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                union(until(inE(labels).count().is(0)).
-                                repeat((Traversal) inE(labels).subgraph(SUB_GRAPH).outV().simplePath().dedup()),
-                        until(outE(labels).count().is(0)).
-                                repeat((Traversal) outE(labels).subgraph(SUB_GRAPH).inV().simplePath().dedup())
-                ).cap(SUB_GRAPH).next();
+    private LineageTraversal queryEndToEnd(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        LineageTraversal traversal = new LineageTraversal();
+        traverse(queriedVertex, edgeLabels, Direction.IN, traversal);
+        traverse(queriedVertex, edgeLabels, Direction.OUT, traversal);
+        return traversal;
     }
 
     private void handleLineageNotFoundException(Exception e, String guid, List<String> edgeLabels) {
@@ -258,12 +322,17 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      * Returns the ultimate source graph of queried entity, which can be a column or a table. In case of tables,
      * relationships of type DataFlow will be traversed backwards, all the way to the source. If no vertices are
      * found, then DataFlow relationships are used for traversal. In case of columns, DataFlow relationships are
-     * directly used
+     * directly used. When the traversal stops at the depth limit, the vertices where it stopped are returned with
+     * the sources and the result is marked as truncated.
      *
      * @param guid queried entity
      * @return graph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> ultimateSource(String guid) {
+        return ultimateSource(guid, new HashSet<>());
+    }
+
+    private Optional<LineageVerticesAndEdges> ultimateSource(String guid, Set<String> traversedGuids) {
 
         Vertex queriedVertex = this.graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
@@ -274,9 +343,14 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
             return Optional.empty();
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
-        List<Vertex> sourcesList = this.graphHelper.getResult(this::querySources, guid, edgeLabels, this::handleLineageNotFoundException);
-        Set<LineageVertex> lineageVertices = this.lineageGraphQueryHelper.getLineageVertices(sourcesList);
-        return Optional.of(getCondensedLineage(queriedVertex, lineageVertices, SOURCE_CONDENSATION));
+        LineageTraversal traversal = this.graphHelper.getResult(this::querySources, guid, edgeLabels, this::handleLineageNotFoundException);
+        if (traversal == null) {
+            return Optional.empty();
+        }
+        traversedGuids.addAll(traversal.guids);
+        LineageVerticesAndEdges lineageVerticesAndEdges = getCondensedLineage(queriedVertex, traversal.endVertices, SOURCE_CONDENSATION);
+        addTruncationMarkers(lineageVerticesAndEdges, traversal);
+        return Optional.of(lineageVerticesAndEdges);
     }
 
     /**
@@ -284,27 +358,30 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      *
      * @param guid       entity
      * @param edgeLabels edge type to traverse
-     * @return sources
+     * @return the traversal, whose end vertices are the sources
      */
-    private List<Vertex> querySources(GraphTraversalSource g, String guid, List<String> edgeLabels) {
-        String[] labels = edgeLabels.toArray(new String[0]);
-        List<Vertex> sourceList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                until(inE(labels).count().is(0)).
-                repeat(inE(labels).outV().simplePath().dedup()).
-                dedup().toList();
-        return sourceList;
+    private LineageTraversal querySources(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        LineageTraversal traversal = new LineageTraversal();
+        traverse(queriedVertex, edgeLabels, Direction.IN, traversal);
+        return traversal;
     }
 
     /**
      * Returns the ultimate destination graph of queried entity, which can be a column or a table. In case of tables,
      * relationships of type DataFlow will be traversed forwards, all the way to the destination. If no vertices
      * are found, then DataFlow relationships are used for traversal. In case of columns, DataFlow relationships are
-     * directly used
+     * directly used. When the traversal stops at the depth limit, the vertices where it stopped are returned with
+     * the destinations and the result is marked as truncated.
      *
      * @param guid queried entity
      * @return graph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> ultimateDestination(String guid) {
+        return ultimateDestination(guid, new HashSet<>());
+    }
+
+    private Optional<LineageVerticesAndEdges> ultimateDestination(String guid, Set<String> traversedGuids) {
         Vertex queriedVertex = graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
         Optional<List<String>> edgeLabelsOptional = getEdgeLabelsForDataFlow(label);
@@ -312,9 +389,14 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
             return Optional.empty();
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
-        List<Vertex> destinationsList = graphHelper.getResult(this::queryDestinations, guid, edgeLabels, this::handleLineageNotFoundException);
-        Set<LineageVertex> lineageVertices = this.lineageGraphQueryHelper.getLineageVertices(destinationsList);
-        return Optional.of(getCondensedLineage(queriedVertex, lineageVertices, DESTINATION_CONDENSATION));
+        LineageTraversal traversal = graphHelper.getResult(this::queryDestinations, guid, edgeLabels, this::handleLineageNotFoundException);
+        if (traversal == null) {
+            return Optional.empty();
+        }
+        traversedGuids.addAll(traversal.guids);
+        LineageVerticesAndEdges lineageVerticesAndEdges = getCondensedLineage(queriedVertex, traversal.endVertices, DESTINATION_CONDENSATION);
+        addTruncationMarkers(lineageVerticesAndEdges, traversal);
+        return Optional.of(lineageVerticesAndEdges);
 
     }
 
@@ -323,16 +405,113 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      *
      * @param guid       entity
      * @param edgeLabels edge type to traverse
-     * @return sources
+     * @return the traversal, whose end vertices are the destinations
      */
-    private List<Vertex> queryDestinations(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+    private LineageTraversal queryDestinations(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        Vertex queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        LineageTraversal traversal = new LineageTraversal();
+        traverse(queriedVertex, edgeLabels, Direction.OUT, traversal);
+        return traversal;
+    }
+
+    /**
+     * Follows the edges of the given labels from the start vertex in one direction, breadth first, visiting each vertex
+     * once.  A vertex without such edges is an end of the lineage.  No edges are followed from the vertices at the
+     * maximum depth, which are also treated as ends, and at most the maximum fan-out of edges are followed from any
+     * vertex; the vertices where the traversal was cut short are recorded as truncated.
+     *
+     * @param startVertex vertex to start from
+     * @param edgeLabels  edge types to traverse
+     * @param direction   IN to follow the edges backwards, OUT to follow them forwards
+     * @param traversal   collects the vertices and edges that are traversed
+     */
+    private void traverse(Vertex startVertex, List<String> edgeLabels, Direction direction, LineageTraversal traversal) {
         String[] labels = edgeLabels.toArray(new String[0]);
-        List<Vertex> destinationList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                until(outE(labels).count().is(0)).
-                repeat(outE(labels).inV().simplePath().dedup()).
-                dedup().toList();
+        Set<Object> visited = new HashSet<>();
+        visited.add(startVertex.id());
+        List<Vertex> frontier = Collections.singletonList(startVertex);
+
+        for (int depth = 0; !frontier.isEmpty(); depth++) {
+            List<Vertex> nextFrontier = new ArrayList<>();
+            for (Vertex vertex : frontier) {
+                Iterator<Edge> edges = vertex.edges(direction, labels);
+                if (!edges.hasNext()) {
+                    traversal.endVertices.add(traversal.addVertex(vertex));
+                    continue;
+                }
+                if (maxDepth > 0 && depth >= maxDepth) {
+                    traversal.endVertices.add(traversal.addTruncatedVertex(vertex));
+                    continue;
+                }
+                int followedEdges = 0;
+                while (edges.hasNext()) {
+                    if (maxFanOut > 0 && followedEdges >= maxFanOut) {
+                        traversal.addTruncatedVertex(vertex);
+                        break;
+                    }
+                    Edge edge = edges.next();
+                    Vertex nextVertex = direction == Direction.IN ? edge.outVertex() : edge.inVertex();
+                    traversal.addEdge(edge);
+                    followedEdges++;
+                    if (visited.add(nextVertex.id())) {
+                        nextFrontier.add(nextVertex);
+                    }
+                }
+            }
+            frontier = nextFrontier;
+        }
+    }
 
-        return destinationList;
+    /**
+     * Marks the result as truncated if the traversal was cut short, listing the returned vertices where it was.
+     *
+     * @param lineageVerticesAndEdges result of the query
+     * @param traversal               traversal of the query
+     */
+    private void addTruncationMarkers(LineageVerticesAndEdges lineageVerticesAndEdges, LineageTraversal traversal) {
+        if (traversal.truncatedNodeIDs.isEmpty()) {
+            return;
+        }
+        Set<String> returnedNodeIDs = lineageVerticesAndEdges.getLineageVertices().stream().map(LineageVertex::getNodeID).collect(Collectors.toSet());
+        Set<String> truncatedNodeIDs = new LinkedHashSet<>(traversal.truncatedNodeIDs);
+        truncatedNodeIDs.retainAll(returnedNodeIDs);
+        lineageVerticesAndEdges.setTruncated(true);
+        lineageVerticesAndEdges.setTruncatedNodeIDs(truncatedNodeIDs);
+    }
+
+    /**
+     * The vertices and edges visited by a lineage query, in the Open Lineage format.  The vertices are mapped while the
+     * transaction of the query is open.
+     */
+    private class LineageTraversal {
+
+        private final Map<Object, LineageVertex> vertices = new LinkedHashMap<>();
+        private final Set<LineageEdge> edges = new LinkedHashSet<>();
+        private final Set<LineageVertex> endVertices = new LinkedHashSet<>();
+        private final Set<String> truncatedNodeIDs = new LinkedHashSet<>();
+        private final Set<String> guids = new HashSet<>();
+
+        private LineageVertex addVertex(Vertex vertex) {
+            return vertices.computeIfAbsent(vertex.id(), id -> {
+                LineageVertex lineageVertex = lineageGraphQueryHelper.abstractVertex(vertex);
+                if (lineageVertex.getGuid() != null) {
+                    guids.add(lineageVertex.getGuid());
+                }
+                return lineageVertex;
+            });
+        }
+
+        private LineageVertex addTruncatedVertex(Vertex vertex) {
+            LineageVertex lineageVertex = addVertex(vertex);
+            truncatedNodeIDs.add(lineageVertex.getNodeID());
+            return lineageVertex;
+        }
+
+        private void addEdge(Edge edge) {
+            addVertex(edge.outVertex());
+            addVertex(edge.inVertex());
+            edges.add(lineageGraphQueryHelper.abstractEdge(edge));
+        }
     }
 
     /**
@@ -637,13 +816,16 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
         if (CollectionUtils.isEmpty(hierarchyEdgeLabels)) {
             return new LineageVerticesAndEdges();
         }
-        Graph hierarchyGraph = this.graphHelper.getResult(this::queryEndToEnd, elementHierarchyRequest.getGuid(), hierarchyEdgeLabels,
+        LineageTraversal traversal = this.graphHelper.getResult(this::queryEndToEnd, elementHierarchyRequest.getGuid(), hierarchyEdgeLabels,
                 this::handleLineageNotFoundException);
-        if (hierarchyGraph == null || !hierarchyGraph.vertices().hasNext()) {
+        if (traversal == null || traversal.edges.isEmpty()) {
             return new LineageVerticesAndEdges();
         }
 
-        return this.lineageGraphQueryHelper.getLineageVerticesAndEdges(hierarchyGraph, true);
+        LineageVerticesAndEdges lineageVerticesAndEdges = this.lineageGraphQueryHelper.getLineageVerticesAndEdges(
+                new LinkedHashSet<>(traversal.vertices.values()), traversal.edges, true);
+        addTruncationMarkers(lineageVerticesAndEdges, traversal);
+        return lineageVerticesAndEdges;
     }
 
     private List<String> getHierarchyEdgeLabels(ElementHierarchyRequest elementHierarchyRequest) {
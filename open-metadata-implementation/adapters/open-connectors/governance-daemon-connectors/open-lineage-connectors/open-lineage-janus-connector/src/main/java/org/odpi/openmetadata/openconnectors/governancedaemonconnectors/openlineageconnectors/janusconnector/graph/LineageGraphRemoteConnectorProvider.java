@@ -68,6 +68,11 @@ public class LineageGraphRemoteConnectorProvider extends LineageGraphProviderBas
         recognizedPropertyNames.add(CLUSTER_TRUST_STORE);
         recognizedPropertyNames.add(CLUSTER_TRUST_STORE_PASSWORD);
         recognizedPropertyNames.add(SCHEMA_MANAGEMENT_ENABLE);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.FULL_RECONCILIATION_INTERVAL);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_DEPTH);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_MAX_FAN_OUT);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_TIME_TO_LIVE);
+        recognizedPropertyNames.add(LineageGraphConnectorProvider.LINEAGE_QUERY_CACHE_SIZE);
 
 
         connectorType.setRecognizedConfigurationProperties(recognizedPropertyNames);
@@ -84,10 +84,15 @@ public class LineageGraphStorageService implements LineageGraph {
     private LineageGraphQueryService helper;
     private GraphHelper graphHelper;
     private AuditLog auditLog;
+    private LineageJobTracker lineageJobTracker;
+    private LineageQueryCache lineageQueryCache;
 
-    public LineageGraphStorageService(GraphHelper graphHelper, AuditLog auditLog) {
+    public LineageGraphStorageService(GraphHelper graphHelper, AuditLog auditLog, LineageJobTracker lineageJobTracker,
+                                      LineageQueryCache lineageQueryCache) {
         this.graphHelper = graphHelper;
         this.auditLog = auditLog;
+        this.lineageJobTracker = lineageJobTracker;
+        this.lineageQueryCache = lineageQueryCache;
         this.helper = new LineageGraphQueryService(graphHelper, auditLog);
     }
 
@@ -110,6 +115,9 @@ public class LineageGraphStorageService implements LineageGraph {
     private void storeRelationship(GraphRelationship relationship) {
         BiConsumer<GraphTraversalSource, GraphRelationship> upsertToGraph = this::upsertToGraph;
         graphHelper.commit(upsertToGraph, relationship, this::handleStoreRelationshipError);
+        lineageJobTracker.relationshipChanged(relationship.getRelationshipLabel(), relationship.getFromEntity(), relationship.getToEntity());
+        lineageQueryCache.invalidate(relationship.getFromEntity().getGuid());
+        lineageQueryCache.invalidate(relationship.getToEntity().getGuid());
     }
 
     private void handleStoreRelationshipError(Exception e) throws JanusConnectorException {
@@ -171,6 +179,9 @@ public class LineageGraphStorageService implements LineageGraph {
                 this.graphHelper.getResult(this::getAllNeighbours, syncUpdateContext.getEntityGUID(), this::handleErrorGetAllNeighbours);
         if (isDifferentGraphContext(syncUpdateContext.getNeighboursGUID(), existingNeighboursGUIDs)) {
             this.graphHelper.commit(this::removeObsoleteEdges, syncUpdateContext, existingNeighboursGUIDs, this::handleErrorRemoveObsoleteEdges);
+            lineageQueryCache.invalidate(syncUpdateContext.getEntityGUID());
+            lineageQueryCache.invalidate(existingNeighboursGUIDs.stream().filter(existingVertex ->
+                    !syncUpdateContext.getNeighboursGUID().contains(existingVertex)).collect(Collectors.toList()));
         }
     }
 
@@ -229,7 +240,7 @@ public class LineageGraphStorageService implements LineageGraph {
     @Override
     public void updateEntity(LineageEntity lineageEntity) {
         this.graphHelper.commit(this::updateEntityInGraph, lineageEntity, this::handleUpdateEntityError);
-
+        lineageQueryCache.invalidate(lineageEntity.getGuid());
     }
 
     private void updateEntityInGraph(GraphTraversalSource g, LineageEntity entity) {
@@ -279,8 +290,7 @@ public class LineageGraphStorageService implements LineageGraph {
 
         GraphRelationship graphRelationship = new GraphRelationship(lineageRelationship);
 
-        BiConsumer<GraphTraversalSource, GraphRelationship> upsertToGraph = this::upsertToGraph;
-        graphHelper.commit(upsertToGraph, graphRelationship, this::handleStoreRelationshipError);
+        storeRelationship(graphRelationship);
 
         BiConsumer<GraphTraversalSource, LineageRelationship> addOrUpdatePropertiesEdge = this::addOrUpdatePropertiesEdge;
         graphHelper.commit(addOrUpdatePropertiesEdge, lineageRelationship, this::handlePropertiesEdgeException);
@@ -352,7 +362,10 @@ public class LineageGraphStorageService implements LineageGraph {
      */
     @Override
     public void updateClassification(Set<GraphContext> classificationContext) {
-        classificationContext.forEach(context -> this.graphHelper.commit(this::updateClassification, context, this::handleUpdateClassificationException));
+        classificationContext.forEach(context -> {
+            this.graphHelper.commit(this::updateClassification, context, this::handleUpdateClassificationException);
+            invalidateCachedLineage(context);
+        });
     }
 
     private void updateClassification(GraphTraversalSource g, GraphContext graphContext) {
@@ -385,7 +398,15 @@ public class LineageGraphStorageService implements LineageGraph {
     @Override
     public void deleteClassification(Set<GraphContext> classificationContext) {
         BiConsumer<GraphTraversalSource, GraphContext> deleteClassification = this::deleteClassification;
-        classificationContext.forEach(classification -> graphHelper.commit(deleteClassification, classification, this::handleDeleteClassificationException));
+        classificationContext.forEach(classification -> {
+            graphHelper.commit(deleteClassification, classification, this::handleDeleteClassificationException);
+            invalidateCachedLineage(classification);
+        });
+    }
+
+    private void invalidateCachedLineage(GraphContext context) {
+        lineageQueryCache.invalidate(context.getFromVertex().getGuid());
+        lineageQueryCache.invalidate(context.getToVertex().getGuid());
     }
 
     private void deleteClassification(GraphTraversalSource g, GraphContext context) {
@@ -419,16 +440,20 @@ public class LineageGraphStorageService implements LineageGraph {
 
     @Override
     public void deleteRelationship(String guid) {
+        List<String> endGuids = new ArrayList<>();
         BiConsumer<GraphTraversalSource, String> deleteRelationship = (g, edgeGuid) -> {
             Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, edgeGuid);
             if (!edge.hasNext()) {
                 log.debug(EDGE_WITH_GUID_DID_NOT_DELETE, edgeGuid);
                 return;
             }
-            g.E(edge.next().id()).drop().iterate();
+            Object edgeId = edge.next().id();
+            endGuids.addAll(g.E(edgeId).bothV().<String>values(PROPERTY_KEY_ENTITY_GUID).toList());
+            g.E(edgeId).drop().iterate();
             log.debug(EDGE_WITH_GUID_DELETED, edgeGuid);
         };
         graphHelper.commit(deleteRelationship, guid, this::handleDeleteRelationshipException);
+        lineageQueryCache.invalidate(endGuids);
     }
 
     private void handleDeleteRelationshipException(Exception e) {
@@ -445,6 +470,7 @@ public class LineageGraphStorageService implements LineageGraph {
          * */
         BiConsumer<GraphTraversalSource, String> deleteEntity = this::deleteEntity;
         this.graphHelper.commit(deleteEntity, guid, this::handleDeleteEntityException);
+        lineageQueryCache.invalidate(guid);
         log.debug(VERTEX_WITH_GUID_DELETED, guid);
     }
 
@@ -13,10 +13,15 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlinea
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.bothE;
@@ -24,6 +29,7 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLab
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector.INPUT_PORT;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector.OLS_HAS_CORRESPONDING_ELEMENTS;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnector.VERTEX_NOT_FOUND;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageJobTracker.LINEAGE_JOB_RELATIONSHIP_TYPES;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.PROCESS_MAPPING_ERROR;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
@@ -64,27 +70,119 @@ public class LineageJobHelper {
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS = "Something went wrong when trying to map a process.";
     public static final String SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS = SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS + " The error is: ";
 
+    public static final String LINEAGE_GRAPH_JOB_FINISHED = "Lineage graph job mapped {} processes ({} failed, full reconciliation {}): {}";
+
+    /*
+     * The number of relationships followed from a changed element to find the processes whose column lineage it is
+     * part of.  This covers the path from a process through its ports and schema to the columns of a topic.
+     */
+    private static final int MAX_AFFECTED_PROCESS_DEPTH = 8;
+
     private GraphHelper graphHelper;
     private AuditLog auditLog;
+    private LineageJobTracker lineageJobTracker;
+    private LineageQueryCache lineageQueryCache;
 
-    public LineageJobHelper(GraphHelper graphHelper, AuditLog auditLog) {
+    public LineageJobHelper(GraphHelper graphHelper, AuditLog auditLog, LineageJobTracker lineageJobTracker,
+                            LineageQueryCache lineageQueryCache) {
         this.graphHelper = graphHelper;
         this.auditLog = auditLog;
+        this.lineageJobTracker = lineageJobTracker;
+        this.lineageQueryCache = lineageQueryCache;
     }
 
+    /**
+     * Maps the columns of the processes affected by the changes recorded since the last run, or of every process
+     * when a full reconciliation is due.  A process that can not be mapped is retried in the next run, and so
+     * are the processes that were not reached if the run stops early.
+     */
     public void performLineageGraphJob() {
+        long startTime = System.nanoTime();
+        boolean fullReconciliation = lineageJobTracker.isFullReconciliationDue();
+        int processCount = 0;
+        int failureCount = 0;
+        Exception lastError = null;
+        Deque<String> pendingGuids = new ArrayDeque<>();
         try {
             //TODO investigate possibility of adding the PROPERTY_KEY_PROCESS_LINEAGE_COMPLETED_FLAG again
-            List<String> guidList = this.graphHelper.getResult(this::getProcessGuids, this::handleRetrieveProcessGuids);
-            for (String guid : guidList) {
-                findInputColumns(guid);
+            Collection<String> guidList;
+            if (fullReconciliation) {
+                lineageJobTracker.startFullReconciliation();
+                guidList = this.graphHelper.getResult(this::getProcessGuids, this::handleRetrieveProcessGuids);
+                if (guidList == null) {
+                    lineageJobTracker.fullReconciliationFailed();
+                    return;
+                }
+            } else {
+                guidList = getChangedProcessGuids();
+            }
+            pendingGuids.addAll(guidList);
+            String guid;
+            while ((guid = pendingGuids.poll()) != null) {
+                processCount++;
+                try {
+                    findInputColumns(guid);
+                } catch (Exception e) {
+                    failureCount++;
+                    lastError = e;
+                    lineageJobTracker.processChanged(guid);
+                    log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e);
+                }
             }
         } catch (Exception e) {
+            lastError = e;
+            if (fullReconciliation) {
+                lineageJobTracker.fullReconciliationFailed();
+            } else {
+                lineageJobTracker.restoreChanges(pendingGuids, Collections.emptySet());
+            }
             log.error(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS_THE_ERROR_IS, e);
-            auditLog.logException(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS, PROCESS_MAPPING_ERROR.getMessageDefinition(), e);
+        } finally {
+            lineageJobTracker.recordRun(startTime, processCount, failureCount);
+            log.debug(LINEAGE_GRAPH_JOB_FINISHED, processCount, failureCount, fullReconciliation, lineageJobTracker);
+        }
+        if (lastError != null) {
+            auditLog.logException(SOMETHING_WENT_WRONG_WHEN_TRYING_TO_MAP_A_PROCESS, PROCESS_MAPPING_ERROR.getMessageDefinition(), lastError);
         }
     }
 
+    /**
+     * Returns the processes that have changed and the processes that the other changed elements are linked to.
+     * An element whose processes can not be retrieved is kept for the next run.  If the retrieval stops early,
+     * all the changes that were taken are kept for the next run.
+     *
+     * @return the unique identifiers of the processes
+     */
+    private Set<String> getChangedProcessGuids() {
+        Set<String> guids = lineageJobTracker.takeChangedProcesses();
+        Set<String> elementGuids = lineageJobTracker.takeChangedElements();
+        try {
+            for (String elementGuid : elementGuids) {
+                List<String> affectedProcessGuids = this.graphHelper.getResult(this::getAffectedProcessGuids, elementGuid, this::handleRetrieveResultError);
+                if (affectedProcessGuids != null) {
+                    guids.addAll(affectedProcessGuids);
+                } else {
+                    lineageJobTracker.elementChanged(elementGuid);
+                }
+            }
+        } catch (RuntimeException e) {
+            lineageJobTracker.restoreChanges(guids, elementGuids);
+            throw e;
+        }
+        return guids;
+    }
+
+    private List<String> getAffectedProcessGuids(GraphTraversalSource g, String guid) {
+        String[] relationshipTypes = LINEAGE_JOB_RELATIONSHIP_TYPES.toArray(new String[0]);
+        return g.V().has(PROPERTY_KEY_ENTITY_GUID, guid)
+                .repeat(__.both(relationshipTypes).dedup())
+                .until(__.or(__.has(PROPERTY_KEY_LABEL, PROCESS), __.loops().is(MAX_AFFECTED_PROCESS_DEPTH)))
+                .has(PROPERTY_KEY_LABEL, PROCESS)
+                .dedup()
+                .<String>values(PROPERTY_KEY_ENTITY_GUID)
+                .toList();
+    }
+
     private List<String> getProcessGuids(GraphTraversalSource g) {
         List<String> guidList = new ArrayList<>();
         List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, PROCESS).toList();
@@ -263,6 +361,9 @@ public class LineageJobHelper {
 
         if (!existingSubProcess.hasNext()) {
             this.graphHelper.commit(this::connectNodes, subProcessDetails, this::handleCouldNotAddEdge);
+            lineageQueryCache.invalidate(subProcessDetails.getColumnInGuid());
+            lineageQueryCache.invalidate(subProcessDetails.getColumnOutGuid());
+            lineageQueryCache.invalidate(subProcessDetails.getProcessGuid());
             addAssetToProcessEdges(columnIn, process, columnOut);
             log.info(OLS_HAS_CORRESPONDING_ELEMENTS, subProcessDetails.getColumnInGuid(), subProcessDetails.getColumnOutGuid(), subProcessDetails.getProcessGuid());
         }
@@ -325,10 +426,22 @@ public class LineageJobHelper {
 
         Optional<Vertex> assetIn = this.graphHelper.getResult(this::getAsset, columnIn, this::handleRetrieveResultError);
         this.graphHelper.commit(this::addEdgeFromColumnToProcess, assetIn, process, this::handleCouldNotAddEdge);
+        invalidateCachedLineage(assetIn);
 
         Optional<Vertex> assetOut = this.graphHelper.getResult(this::getAsset, columnOut, this::handleRetrieveResultError);
         this.graphHelper.commit(this::addEdgeFromProcessToColumn, process, assetOut, this::handleCouldNotAddEdge);
+        invalidateCachedLineage(assetOut);
+    }
 
+    /**
+     * Removes the cached lineage queries that passed through an asset that may have a new edge to a process.
+     *
+     * @param asset - The vertex of the asset
+     */
+    private void invalidateCachedLineage(Optional<Vertex> asset) {
+        if (asset != null && asset.isPresent()) {
+            lineageQueryCache.invalidate(this.graphHelper.getResult(this::getGuid, asset.get(), this::handleRetrieveResultError));
+        }
     }
 
     private void addEdgeFromColumnToProcess(GraphTraversalSource g, Optional<Vertex> assetIn, Vertex process) {
@@ -0,0 +1,304 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.DATA_FLOW;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.LINEAGE_MAPPING;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.NESTED_SCHEMA_ATTRIBUTE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_DELEGATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PORT_SCHEMA;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.SCHEMA_TYPE_OPTION;
+
+/**
+ * Tracks the changes to the lineage graph that may change the column lineage of a process, so that the lineage
+ * graph job only needs to map the processes that are affected.  A changed process is recorded directly; for any
+ * other element the job finds the processes that are near to it in the graph.  A full reconciliation of every
+ * process is due on the first run and then after each full reconciliation interval, which catches any change
+ * that is not seen here (for example a change made to a remote graph by another server).
+ * <p>
+ * The tracker also keeps the statistics of the job runs.
+ */
+public class LineageJobTracker {
+
+    /**
+     * The relationship types that the lineage graph job follows when it maps the columns of a process.
+     */
+    static final Collection<String> LINEAGE_JOB_RELATIONSHIP_TYPES = Arrays.asList(PROCESS_PORT, PORT_DELEGATION, PORT_SCHEMA,
+            ATTRIBUTE_FOR_SCHEMA, NESTED_SCHEMA_ATTRIBUTE, ASSET_SCHEMA_TYPE, SCHEMA_TYPE_OPTION, DATA_FLOW, LINEAGE_MAPPING);
+
+    private final long fullReconciliationInterval;
+
+    private final Set<String> changedProcessGUIDs = ConcurrentHashMap.newKeySet();
+    private final Set<String> changedElementGUIDs = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastFullReconciliationTime = 0;
+
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong fullReconciliationCount = new AtomicLong();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+    private volatile long lastRunNanos = 0;
+    private volatile int lastRunProcessCount = 0;
+    private volatile int lastRunFailureCount = 0;
+
+    /**
+     * Create a tracker.
+     *
+     * @param fullReconciliationInterval time in seconds between full reconciliations, 0 means only the first run is a full reconciliation
+     */
+    public LineageJobTracker(long fullReconciliationInterval) {
+        this.fullReconciliationInterval = TimeUnit.SECONDS.toMillis(Math.max(fullReconciliationInterval, 0));
+    }
+
+    /**
+     * Record a new or updated relationship between two entities if it is one that the lineage graph job follows.
+     *
+     * @param relationshipType type name of the relationship
+     * @param fromEntity       entity at one end of the relationship
+     * @param toEntity         entity at the other end of the relationship
+     */
+    public void relationshipChanged(String relationshipType, LineageEntity fromEntity, LineageEntity toEntity) {
+        if (LINEAGE_JOB_RELATIONSHIP_TYPES.contains(relationshipType)) {
+            entityChanged(fromEntity);
+            entityChanged(toEntity);
+        }
+    }
+
+    /**
+     * Record a new or updated entity.
+     *
+     * @param entity the entity that has changed
+     */
+    public void entityChanged(LineageEntity entity) {
+        if (entity == null || entity.getGuid() == null) {
+            return;
+        }
+        if (PROCESS.equals(entity.getTypeDefName())) {
+            changedProcessGUIDs.add(entity.getGuid());
+        } else {
+            changedElementGUIDs.add(entity.getGuid());
+        }
+    }
+
+    /**
+     * Record a process that needs to be mapped again, for example because it failed in the last run.
+     *
+     * @param processGUID unique identifier of the process
+     */
+    public void processChanged(String processGUID) {
+        if (processGUID != null) {
+            changedProcessGUIDs.add(processGUID);
+        }
+    }
+
+    /**
+     * Record an element that is not a process whose affected processes need to be found again, for example
+     * because they could not be retrieved in the last run.
+     *
+     * @param elementGUID unique identifier of the element
+     */
+    public void elementChanged(String elementGUID) {
+        if (elementGUID != null) {
+            changedElementGUIDs.add(elementGUID);
+        }
+    }
+
+    /**
+     * Return changes that were taken by a run that was not able to process them, so that they are processed
+     * in the next run.
+     *
+     * @param processGUIDs unique identifiers of the processes
+     * @param elementGUIDs unique identifiers of the elements that are not processes
+     */
+    public void restoreChanges(Collection<String> processGUIDs, Collection<String> elementGUIDs) {
+        changedProcessGUIDs.addAll(processGUIDs);
+        changedElementGUIDs.addAll(elementGUIDs);
+    }
+
+    /**
+     * Return whether the next run should map every process.
+     *
+     * @return boolean result
+     */
+    public boolean isFullReconciliationDue() {
+        if (lastFullReconciliationTime == 0) {
+            return true;
+        }
+        return fullReconciliationInterval > 0 && System.currentTimeMillis() - lastFullReconciliationTime >= fullReconciliationInterval;
+    }
+
+    /**
+     * Record the start of a full reconciliation.  The changes recorded so far are covered by it, so they are discarded.
+     */
+    public void startFullReconciliation() {
+        lastFullReconciliationTime = System.currentTimeMillis();
+        fullReconciliationCount.incrementAndGet();
+        changedProcessGUIDs.clear();
+        changedElementGUIDs.clear();
+    }
+
+    /**
+     * Record that a full reconciliation could not be run, so that it is tried again in the next run.
+     */
+    public void fullReconciliationFailed() {
+        lastFullReconciliationTime = 0;
+    }
+
+    /**
+     * Remove and return the changed processes.  Changes recorded after this call are kept for the next run.
+     *
+     * @return unique identifiers of the processes
+     */
+    public Set<String> takeChangedProcesses() {
+        return take(changedProcessGUIDs);
+    }
+
+    /**
+     * Remove and return the changed elements that are not processes.
+     *
+     * @return unique identifiers of the elements
+     */
+    public Set<String> takeChangedElements() {
+        return take(changedElementGUIDs);
+    }
+
+    private Set<String> take(Set<String> changes) {
+        Set<String> taken = new HashSet<>();
+        for (String guid : changes) {
+            if (changes.remove(guid)) {
+                taken.add(guid);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Record the end of a run of the lineage graph job.
+     *
+     * @param startTime    value of System.nanoTime() when the run started
+     * @param processCount number of processes that were mapped
+     * @param failureCount number of processes that could not be mapped
+     */
+    public void recordRun(long startTime, int processCount, int failureCount) {
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        runCount.incrementAndGet();
+        totalRunNanos.add(elapsedNanos);
+        maxRunNanos.accumulate(elapsedNanos);
+        lastRunNanos = elapsedNanos;
+        lastRunProcessCount = processCount;
+        lastRunFailureCount = failureCount;
+    }
+
+    /**
+     * Return the number of changes waiting for the next run of the job.
+     *
+     * @return count of changed processes and other elements
+     */
+    public int getBacklogSize() {
+        return changedProcessGUIDs.size() + changedElementGUIDs.size();
+    }
+
+    /**
+     * Return the number of times the job has run.
+     *
+     * @return count
+     */
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    /**
+     * Return the number of runs that mapped every process.
+     *
+     * @return count
+     */
+    public long getFullReconciliationCount() {
+        return fullReconciliationCount.get();
+    }
+
+    /**
+     * Return the time taken by the last run.
+     *
+     * @return milliseconds
+     */
+    public long getLastRunDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastRunNanos);
+    }
+
+    /**
+     * Return the longest time taken by a run.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRunDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get());
+    }
+
+    /**
+     * Return the mean time taken by a run.
+     *
+     * @return milliseconds
+     */
+    public long getAverageRunDurationMillis() {
+        long runs = runCount.get();
+        return runs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.sum() / runs);
+    }
+
+    /**
+     * Return the number of processes mapped by the last run.
+     *
+     * @return count
+     */
+    public int getLastRunProcessCount() {
+        return lastRunProcessCount;
+    }
+
+    /**
+     * Return the number of processes that could not be mapped by the last run.  They are retried in the next run.
+     *
+     * @return count
+     */
+    public int getLastRunFailureCount() {
+        return lastRunFailureCount;
+    }
+
+    /**
+     * Return the time of the last full reconciliation.
+     *
+     * @return milliseconds since the epoch, or 0 if there has not been one
+     */
+    public long getLastFullReconciliationTime() {
+        return lastFullReconciliationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "LineageJobTracker{" +
+                "backlogSize=" + getBacklogSize() +
+                ", runCount=" + getRunCount() +
+                ", fullReconciliationCount=" + getFullReconciliationCount() +
+                ", lastRunDurationMillis=" + getLastRunDurationMillis() +
+                ", maxRunDurationMillis=" + getMaxRunDurationMillis() +
+                ", averageRunDurationMillis=" + getAverageRunDurationMillis() +
+                ", lastRunProcessCount=" + getLastRunProcessCount() +
+                ", lastRunFailureCount=" + getLastRunFailureCount() +
+                '}';
+    }
+}
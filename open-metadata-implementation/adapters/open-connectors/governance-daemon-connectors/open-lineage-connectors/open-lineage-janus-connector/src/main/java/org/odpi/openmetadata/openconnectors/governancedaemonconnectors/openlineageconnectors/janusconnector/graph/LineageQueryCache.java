@@ -0,0 +1,370 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the results of the lineage queries, keyed by the queried element, the scope of the query and whether
+ * processes are included.  Each result remembers the elements that the query passed through, and a write to the
+ * lineage graph that touches one of these elements removes the result.  Results also expire after a time to live,
+ * since the properties shown for an element are partly read from its neighbours (for example the name of the table
+ * of a column), and a change to a neighbour that is not part of the lineage does not remove the result.
+ * <p>
+ * A query that runs while the graph is being written to is not cached, since the write may have been missed by
+ * the query after the write removed the older results.
+ * <p>
+ * Lookups are free of locks; saving and removing results is synchronized so that the index from the elements to
+ * the results stays consistent.
+ * <p>
+ * The cache also keeps the statistics of the lineage queries for each scope.
+ */
+public class LineageQueryCache {
+
+    private final long timeToLive;
+    private final int maxEntries;
+
+    private final Map<String, CachedLineage> cachedLineage = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> cacheKeysByGuid = new HashMap<>();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final Map<Scope, QueryStatistics> queryStatistics = new EnumMap<>(Scope.class);
+
+    /**
+     * Create a cache.
+     *
+     * @param timeToLive time in seconds that a result is kept, 0 means no results are kept
+     * @param maxEntries maximum number of results that are kept, the cache is emptied when it is full
+     */
+    public LineageQueryCache(long timeToLive, int maxEntries) {
+        this.timeToLive = TimeUnit.SECONDS.toMillis(Math.max(timeToLive, 0));
+        this.maxEntries = maxEntries;
+        for (Scope scope : Scope.values()) {
+            queryStatistics.put(scope, new QueryStatistics());
+        }
+    }
+
+    /**
+     * Return whether results are kept.
+     *
+     * @return boolean result
+     */
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxEntries > 0;
+    }
+
+    /**
+     * Return a copy of the cached result of a query, or null if there is no current result.
+     *
+     * @param guid             queried element
+     * @param scope            scope of the query
+     * @param includeProcesses whether processes are included
+     * @return result or null
+     */
+    public LineageVerticesAndEdges get(String guid, Scope scope, boolean includeProcesses) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = getKey(guid, scope, includeProcesses);
+        CachedLineage cached = cachedLineage.get(key);
+        if (cached != null && cached.expiryTime <= System.currentTimeMillis()) {
+            removeExpired(key, cached);
+            cached = null;
+        }
+        if (cached == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return copy(cached.lineageVerticesAndEdges);
+    }
+
+    /**
+     * Return a value to pass to {@link #put} that identifies the writes made to the graph so far.  It is taken
+     * before the query is run.
+     *
+     * @return marker of the writes to the graph
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * Save the result of a query, unless the graph has been written to since the query started.
+     *
+     * @param guid                    queried element
+     * @param scope                   scope of the query
+     * @param includeProcesses        whether processes are included
+     * @param lineageVerticesAndEdges result of the query
+     * @param traversedGuids          unique identifiers of the elements that the query passed through
+     * @param invalidationCount       value of {@link #getInvalidationCount()} before the query started
+     */
+    public synchronized void put(String guid, Scope scope, boolean includeProcesses, LineageVerticesAndEdges lineageVerticesAndEdges,
+                                 Collection<String> traversedGuids, long invalidationCount) {
+        if (!isEnabled() || lineageVerticesAndEdges == null || this.invalidationCount.get() != invalidationCount) {
+            return;
+        }
+        if (cachedLineage.size() >= maxEntries) {
+            cachedLineage.clear();
+            cacheKeysByGuid.clear();
+        }
+        String key = getKey(guid, scope, includeProcesses);
+        remove(key);
+
+        Set<String> guids = new HashSet<>(traversedGuids);
+        guids.add(guid);
+        for (String traversedGuid : guids) {
+            cacheKeysByGuid.computeIfAbsent(traversedGuid, k -> new HashSet<>()).add(key);
+        }
+        cachedLineage.put(key, new CachedLineage(copy(lineageVerticesAndEdges), guids, System.currentTimeMillis() + timeToLive));
+    }
+
+    /**
+     * Remove the results of the queries that passed through an element, because the element or its relationships
+     * have changed.
+     *
+     * @param guid unique identifier of the element
+     */
+    public synchronized void invalidate(String guid) {
+        invalidationCount.incrementAndGet();
+        if (guid == null) {
+            return;
+        }
+        Set<String> keys = cacheKeysByGuid.get(guid);
+        if (keys != null) {
+            new ArrayList<>(keys).forEach(this::remove);
+        }
+    }
+
+    /**
+     * Remove the results of the queries that passed through any of the elements.
+     *
+     * @param guids unique identifiers of the elements
+     */
+    public synchronized void invalidate(Collection<String> guids) {
+        guids.forEach(this::invalidate);
+    }
+
+    /**
+     * Remove all results.
+     */
+    public synchronized void clear() {
+        invalidationCount.incrementAndGet();
+        cachedLineage.clear();
+        cacheKeysByGuid.clear();
+    }
+
+    /**
+     * Record a lineage query that was run against the graph.
+     *
+     * @param scope       scope of the query
+     * @param startTime   value of System.nanoTime() when the query started
+     * @param vertexCount number of vertices returned
+     * @param truncated   whether the lineage reached a limit of the query
+     */
+    public void recordQuery(Scope scope, long startTime, int vertexCount, boolean truncated) {
+        QueryStatistics statistics = queryStatistics.get(scope);
+        if (statistics != null) {
+            statistics.record(System.nanoTime() - startTime, vertexCount, truncated);
+        }
+    }
+
+    /**
+     * Return the statistics of the queries run against the graph for each scope.
+     *
+     * @return unmodifiable map from scope to statistics
+     */
+    public Map<Scope, QueryStatistics> getQueryStatistics() {
+        return Collections.unmodifiableMap(queryStatistics);
+    }
+
+    /**
+     * Return the number of queries answered from the cache.
+     *
+     * @return count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Return the number of queries that were not in the cache.
+     *
+     * @return count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Return the number of results in the cache.
+     *
+     * @return count
+     */
+    public int getSize() {
+        return cachedLineage.size();
+    }
+
+    private synchronized void removeExpired(String key, CachedLineage cached) {
+        if (cachedLineage.get(key) == cached) {
+            remove(key);
+        }
+    }
+
+    /*
+     * Called with the lock held.
+     */
+    private void remove(String key) {
+        CachedLineage cached = cachedLineage.remove(key);
+        if (cached == null) {
+            return;
+        }
+        for (String guid : cached.guids) {
+            Set<String> keys = cacheKeysByGuid.get(guid);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    cacheKeysByGuid.remove(guid);
+                }
+            }
+        }
+    }
+
+    private String getKey(String guid, Scope scope, boolean includeProcesses) {
+        return scope + ":" + includeProcesses + ":" + guid;
+    }
+
+    /*
+     * The sets are copied so that callers can not change the cached result, the vertices and edges are shared.
+     */
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges lineageVerticesAndEdges) {
+        LineageVerticesAndEdges copy = new LineageVerticesAndEdges(
+                lineageVerticesAndEdges.getLineageVertices() == null ? null : new LinkedHashSet<>(lineageVerticesAndEdges.getLineageVertices()),
+                lineageVerticesAndEdges.getLineageEdges() == null ? null : new LinkedHashSet<>(lineageVerticesAndEdges.getLineageEdges()));
+        copy.setTruncated(lineageVerticesAndEdges.isTruncated());
+        if (lineageVerticesAndEdges.getTruncatedNodeIDs() != null) {
+            copy.setTruncatedNodeIDs(new LinkedHashSet<>(lineageVerticesAndEdges.getTruncatedNodeIDs()));
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "LineageQueryCache{" +
+                "size=" + getSize() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", queryStatistics=" + queryStatistics +
+                '}';
+    }
+
+    private static class CachedLineage {
+
+        private final LineageVerticesAndEdges lineageVerticesAndEdges;
+        private final Set<String> guids;
+        private final long expiryTime;
+
+        private CachedLineage(LineageVerticesAndEdges lineageVerticesAndEdges, Set<String> guids, long expiryTime) {
+            this.lineageVerticesAndEdges = lineageVerticesAndEdges;
+            this.guids = guids;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+    /**
+     * The number and duration of the lineage queries of one scope that were run against the graph.
+     */
+    public static class QueryStatistics {
+
+        private final LongAdder queryCount = new LongAdder();
+        private final LongAdder truncatedCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxVertexCount = new LongAccumulator(Math::max, 0);
+
+        private void record(long elapsedNanos, int vertexCount, boolean truncated) {
+            queryCount.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            maxVertexCount.accumulate(vertexCount);
+            if (truncated) {
+                truncatedCount.increment();
+            }
+        }
+
+        /**
+         * Return the number of queries.
+         *
+         * @return count
+         */
+        public long getQueryCount() {
+            return queryCount.sum();
+        }
+
+        /**
+         * Return the number of queries that reached a limit.
+         *
+         * @return count
+         */
+        public long getTruncatedCount() {
+            return truncatedCount.sum();
+        }
+
+        /**
+         * Return the mean time taken by a query.
+         *
+         * @return milliseconds
+         */
+        public long getAverageDurationMillis() {
+            long queries = queryCount.sum();
+            return queries == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / queries);
+        }
+
+        /**
+         * Return the longest time taken by a query.
+         *
+         * @return milliseconds
+         */
+        public long getMaxDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        /**
+         * Return the largest number of vertices returned by a query.
+         *
+         * @return count
+         */
+        public long getMaxVertexCount() {
+            return maxVertexCount.get();
+        }
+
+        @Override
+        public String toString() {
+            return "QueryStatistics{" +
+                    "queryCount=" + getQueryCount() +
+                    ", truncatedCount=" + getTruncatedCount() +
+                    ", averageDurationMillis=" + getAverageDurationMillis() +
+                    ", maxDurationMillis=" + getMaxDurationMillis() +
+                    ", maxVertexCount=" + getMaxVertexCount() +
+                    '}';
+        }
+    }
+}
@@ -11,15 +11,18 @@ import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageExcep
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
 import org.odpi.openmetadata.governanceservers.openlineage.model.NodeNamesSearchCriteria;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.requests.ElementHierarchyRequest;
 import org.odpi.openmetadata.governanceservers.openlineage.requests.HierarchyType;
 import org.odpi.openmetadata.governanceservers.openlineage.requests.LineageSearchRequest;
 import org.odpi.openmetadata.governanceservers.openlineage.requests.Node;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageNodeNamesResponse;
+import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageSearchResponse;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageTypesResponse;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.GraphHelper;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphQueryService;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageQueryCache;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
 
 import java.util.Arrays;
@@ -29,6 +32,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
@@ -68,12 +72,13 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 
 public class LineageGraphQueryServiceTest {
 
+    static GraphHelper graphHelper;
     static LineageGraphQueryService lineageGraphQueryService;
     private static final String CONNECTOR_PROVIDER_NAME = "org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider";
 
     @BeforeAll
     public static void beforeClass() throws JanusConnectorException, OpenLineageException {
-        GraphHelper graphHelper = new GraphHelper();
+        graphHelper = new GraphHelper();
         graphHelper.openGraph(CONNECTOR_PROVIDER_NAME, Collections.singletonMap("storage.backend", "inmemory"), null);
         lineageGraphQueryService = new LineageGraphQueryService(graphHelper, null);
         addColumnLineageData(graphHelper.getGraphTraversalSource());
@@ -96,6 +101,40 @@ public class LineageGraphQueryServiceTest {
         validateResponse(expectedNodeIDs, lineageVertices);
     }
 
+    @Test
+    void ultimateSourceColumnLevelTruncatedAtMaxDepth() {
+        LineageGraphQueryService boundedQueryService = new LineageGraphQueryService(graphHelper, null, new LineageQueryCache(0, 0), 2, 0);
+        HashSet<String> expectedNodeIDs = new HashSet<>();
+        final String queriedNodeID = "c32";
+        expectedNodeIDs.add("c21");
+        expectedNodeIDs.add("c22");
+        expectedNodeIDs.add(queriedNodeID);
+        expectedNodeIDs.add(PROPERTY_VALUE_NODE_ID_CONDENSED_SOURCE);
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = boundedQueryService.ultimateSource(queriedNodeID).get();
+
+        validateResponse(expectedNodeIDs, lineageVerticesAndEdges.getLineageVertices());
+        assertTrue(lineageVerticesAndEdges.isTruncated());
+        assertEquals(new HashSet<>(Arrays.asList("c21", "c22")), lineageVerticesAndEdges.getTruncatedNodeIDs());
+    }
+
+    @Test
+    void endToEndColumnLevelIsCached() {
+        LineageQueryCache lineageQueryCache = new LineageQueryCache(60, 10);
+        LineageGraphQueryService cachingQueryService = new LineageGraphQueryService(graphHelper, null, lineageQueryCache, 0, 0);
+
+        LineageResponse firstResponse = cachingQueryService.lineage(Scope.END_TO_END, "c22", true);
+        LineageResponse secondResponse = cachingQueryService.lineage(Scope.END_TO_END, "c22", true);
+
+        assertEquals(firstResponse.getLineageVerticesAndEdges().getLineageVertices(), secondResponse.getLineageVerticesAndEdges().getLineageVertices());
+        assertFalse(secondResponse.getLineageVerticesAndEdges().isTruncated());
+        assertEquals(1, lineageQueryCache.getHitCount());
+        assertEquals(1, lineageQueryCache.getQueryStatistics().get(Scope.END_TO_END).getQueryCount());
+
+        lineageQueryCache.invalidate("sp4");
+        assertEquals(0, lineageQueryCache.getSize());
+    }
+
     @Test
     void ultimateDestinationColumnLevel() {
         HashSet<String> expectedNodeIDs = new HashSet<>();
@@ -0,0 +1,80 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.GraphHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageJobHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageJobTracker;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageQueryCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.RELATIONAL_COLUMN;
+
+public class LineageJobHelperTest {
+
+    private GraphHelper graphHelper;
+    private LineageJobTracker tracker;
+    private LineageJobHelper lineageJobHelper;
+
+    @BeforeEach
+    public void setUp() {
+        graphHelper = mock(GraphHelper.class);
+        tracker = new LineageJobTracker(0);
+        tracker.startFullReconciliation();
+        lineageJobHelper = new LineageJobHelper(graphHelper, mock(AuditLog.class), tracker, mock(LineageQueryCache.class));
+    }
+
+    @Test
+    public void elementWithFailedLookupIsRetried() {
+        affectedProcesses("column1");
+        tracker.entityChanged(newEntity("column1", RELATIONAL_COLUMN));
+        tracker.entityChanged(newEntity("column2", RELATIONAL_COLUMN));
+
+        lineageJobHelper.performLineageGraphJob();
+
+        assertEquals(Collections.emptySet(), tracker.takeChangedProcesses());
+        assertEquals(Collections.singleton("column2"), tracker.takeChangedElements());
+    }
+
+    @Test
+    public void changesAreKeptWhenTheRunStops() {
+        affectedProcesses("column1");
+        when(graphHelper.getResult(any(BiFunction.class), eq("column2"), any(BiConsumer.class))).thenThrow(new IllegalStateException("rollback failed"));
+        tracker.entityChanged(newEntity("process1", PROCESS));
+        tracker.entityChanged(newEntity("column1", RELATIONAL_COLUMN));
+        tracker.entityChanged(newEntity("column2", RELATIONAL_COLUMN));
+
+        lineageJobHelper.performLineageGraphJob();
+
+        assertEquals(Collections.singleton("process1"), tracker.takeChangedProcesses());
+        assertEquals(new HashSet<>(Arrays.asList("column1", "column2")), tracker.takeChangedElements());
+        assertEquals(1, tracker.getRunCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void affectedProcesses(String elementGuid) {
+        when(graphHelper.getResult(any(BiFunction.class), eq(elementGuid), any(BiConsumer.class))).thenReturn(Collections.emptyList());
+    }
+
+    private LineageEntity newEntity(String guid, String typeDefName) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(typeDefName);
+        return lineageEntity;
+    }
+}
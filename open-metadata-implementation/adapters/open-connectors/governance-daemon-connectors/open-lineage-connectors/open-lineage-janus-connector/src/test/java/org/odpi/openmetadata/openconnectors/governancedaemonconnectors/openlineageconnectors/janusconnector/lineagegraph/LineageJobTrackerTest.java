@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageJobTracker;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.DATA_FLOW;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.PROCESS_PORT;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.RELATIONAL_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.SEMANTIC_ASSIGNMENT;
+
+public class LineageJobTrackerTest {
+
+    @Test
+    public void firstRunIsFullReconciliation() {
+        LineageJobTracker tracker = new LineageJobTracker(0);
+
+        assertTrue(tracker.isFullReconciliationDue());
+        tracker.startFullReconciliation();
+        assertFalse(tracker.isFullReconciliationDue());
+
+        tracker.fullReconciliationFailed();
+        assertTrue(tracker.isFullReconciliationDue());
+    }
+
+    @Test
+    public void lineageRelationshipsAreTracked() {
+        LineageJobTracker tracker = new LineageJobTracker(0);
+        tracker.startFullReconciliation();
+
+        tracker.relationshipChanged(PROCESS_PORT, newEntity("process1", PROCESS), newEntity("port1", "Port"));
+        tracker.relationshipChanged(DATA_FLOW, newEntity("column1", RELATIONAL_COLUMN), newEntity("column2", RELATIONAL_COLUMN));
+        tracker.relationshipChanged(SEMANTIC_ASSIGNMENT, newEntity("column3", RELATIONAL_COLUMN), newEntity("term1", "GlossaryTerm"));
+
+        assertEquals(4, tracker.getBacklogSize());
+        assertEquals(Collections.singleton("process1"), tracker.takeChangedProcesses());
+        assertEquals(new HashSet<>(Arrays.asList("port1", "column1", "column2")), tracker.takeChangedElements());
+        assertEquals(0, tracker.getBacklogSize());
+    }
+
+    @Test
+    public void fullReconciliationDiscardsChanges() {
+        LineageJobTracker tracker = new LineageJobTracker(3600);
+
+        tracker.processChanged("process1");
+        tracker.entityChanged(newEntity("column1", RELATIONAL_COLUMN));
+        tracker.startFullReconciliation();
+
+        assertEquals(0, tracker.getBacklogSize());
+        assertEquals(1, tracker.getFullReconciliationCount());
+    }
+
+    @Test
+    public void restoredChangesAreKept() {
+        LineageJobTracker tracker = new LineageJobTracker(0);
+        tracker.startFullReconciliation();
+
+        tracker.processChanged("process2");
+        tracker.restoreChanges(Collections.singleton("process1"), Collections.singleton("column1"));
+        tracker.elementChanged("column2");
+
+        assertEquals(new HashSet<>(Arrays.asList("process1", "process2")), tracker.takeChangedProcesses());
+        assertEquals(new HashSet<>(Arrays.asList("column1", "column2")), tracker.takeChangedElements());
+    }
+
+    @Test
+    public void runsAreRecorded() {
+        LineageJobTracker tracker = new LineageJobTracker(0);
+
+        tracker.recordRun(System.nanoTime(), 5, 1);
+        tracker.recordRun(System.nanoTime(), 2, 0);
+
+        assertEquals(2, tracker.getRunCount());
+        assertEquals(2, tracker.getLastRunProcessCount());
+        assertEquals(0, tracker.getLastRunFailureCount());
+        assertTrue(tracker.getMaxRunDurationMillis() >= tracker.getAverageRunDurationMillis());
+    }
+
+    private LineageEntity newEntity(String guid, String typeDefName) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(typeDefName);
+        return lineageEntity;
+    }
+}
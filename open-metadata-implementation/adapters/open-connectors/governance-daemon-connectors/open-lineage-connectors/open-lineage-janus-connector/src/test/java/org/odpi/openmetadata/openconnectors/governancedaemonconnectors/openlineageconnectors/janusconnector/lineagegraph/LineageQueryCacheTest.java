@@ -0,0 +1,101 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageQueryCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LineageQueryCacheTest {
+
+    @Test
+    void resultIsCachedPerScopeAndProcesses() {
+        LineageQueryCache cache = new LineageQueryCache(60, 10);
+
+        cache.put("c1", Scope.END_TO_END, true, newLineage("c1", "c2"), Arrays.asList("c1", "c2"), cache.getInvalidationCount());
+
+        assertNotNull(cache.get("c1", Scope.END_TO_END, true));
+        assertNull(cache.get("c1", Scope.END_TO_END, false));
+        assertNull(cache.get("c1", Scope.ULTIMATE_SOURCE, true));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void writeToTraversedElementRemovesResult() {
+        LineageQueryCache cache = new LineageQueryCache(60, 10);
+
+        cache.put("c1", Scope.ULTIMATE_SOURCE, true, newLineage("c1"), Arrays.asList("c1", "c2", "c3"), cache.getInvalidationCount());
+        cache.put("c4", Scope.ULTIMATE_SOURCE, true, newLineage("c4"), Collections.singletonList("c4"), cache.getInvalidationCount());
+        cache.invalidate("c3");
+
+        assertNull(cache.get("c1", Scope.ULTIMATE_SOURCE, true));
+        assertNotNull(cache.get("c4", Scope.ULTIMATE_SOURCE, true));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    void resultOfQueryDuringWriteIsNotCached() {
+        LineageQueryCache cache = new LineageQueryCache(60, 10);
+
+        long invalidationCount = cache.getInvalidationCount();
+        cache.invalidate("c9");
+        cache.put("c1", Scope.END_TO_END, true, newLineage("c1"), Collections.singletonList("c1"), invalidationCount);
+
+        assertNull(cache.get("c1", Scope.END_TO_END, true));
+    }
+
+    @Test
+    void cachedResultCanNotBeChangedByCaller() {
+        LineageQueryCache cache = new LineageQueryCache(60, 10);
+
+        cache.put("c1", Scope.END_TO_END, true, newLineage("c1", "c2"), Arrays.asList("c1", "c2"), cache.getInvalidationCount());
+        cache.get("c1", Scope.END_TO_END, true).getLineageVertices().clear();
+
+        assertEquals(2, cache.get("c1", Scope.END_TO_END, true).getLineageVertices().size());
+    }
+
+    @Test
+    void disabledCacheKeepsNothing() {
+        LineageQueryCache cache = new LineageQueryCache(0, 10);
+
+        cache.put("c1", Scope.END_TO_END, true, newLineage("c1"), Collections.singletonList("c1"), cache.getInvalidationCount());
+
+        assertNull(cache.get("c1", Scope.END_TO_END, true));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void queriesAreRecorded() {
+        LineageQueryCache cache = new LineageQueryCache(0, 0);
+
+        cache.recordQuery(Scope.END_TO_END, System.nanoTime(), 12, false);
+        cache.recordQuery(Scope.END_TO_END, System.nanoTime(), 40, true);
+
+        LineageQueryCache.QueryStatistics statistics = cache.getQueryStatistics().get(Scope.END_TO_END);
+        assertEquals(2, statistics.getQueryCount());
+        assertEquals(1, statistics.getTruncatedCount());
+        assertEquals(40, statistics.getMaxVertexCount());
+        assertEquals(0, cache.getQueryStatistics().get(Scope.VERTICAL).getQueryCount());
+    }
+
+    private LineageVerticesAndEdges newLineage(String... nodeIDs) {
+        HashSet<LineageVertex> lineageVertices = new HashSet<>();
+        for (String nodeID : nodeIDs) {
+            LineageVertex lineageVertex = new LineageVertex(nodeID, "TabularColumn");
+            lineageVertex.setGuid(nodeID);
+            lineageVertices.add(lineageVertex);
+        }
+        return new LineageVerticesAndEdges(lineageVertices, new HashSet<>());
+    }
+}
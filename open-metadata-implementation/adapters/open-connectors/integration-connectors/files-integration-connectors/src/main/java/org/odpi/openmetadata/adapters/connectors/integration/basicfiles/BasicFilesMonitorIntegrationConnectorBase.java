@@ -18,8 +18,10 @@ import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties
 import org.odpi.openmetadata.integrationservices.files.connector.FilesIntegratorConnector;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
@@ -40,6 +42,14 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
 
     private static final int POLL_INTERVAL = 500; // milliseconds
 
+    private boolean                    useWatchService     = false;
+    private long                       watchBatchInterval  = DEFAULT_WATCH_BATCH_INTERVAL;
+    private volatile FileChangeWatcher fileChangeWatcher   = null;
+    private final AtomicBoolean        fullRefreshRequired = new AtomicBoolean(true);
+
+    private static final long DEFAULT_WATCH_BATCH_INTERVAL = 1000; // milliseconds
+    private static final int  MAX_WATCH_BATCH_SIZE         = 1000; // files
+
 
     /**
      * Indicates that the connector is completely configured and can begin processing.
@@ -73,7 +83,39 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
                 allowCatalogDelete = true;
             }
 
-            templateQualifiedName = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY).toString();
+            Object templateQualifiedNameProperty = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY);
+
+            if (templateQualifiedNameProperty != null)
+            {
+                templateQualifiedName = templateQualifiedNameProperty.toString();
+            }
+
+            Object useWatchServiceProperty = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.USE_WATCH_SERVICE_CONFIGURATION_PROPERTY);
+
+            if (useWatchServiceProperty != null)
+            {
+                useWatchService = Boolean.parseBoolean(useWatchServiceProperty.toString());
+            }
+
+            Object watchBatchIntervalProperty = configurationProperties.get(BasicFilesMonitorIntegrationProviderBase.WATCH_BATCH_INTERVAL_CONFIGURATION_PROPERTY);
+
+            if (watchBatchIntervalProperty instanceof Number)
+            {
+                watchBatchInterval = ((Number)watchBatchIntervalProperty).longValue();
+            }
+            else if (watchBatchIntervalProperty != null)
+            {
+                try
+                {
+                    watchBatchInterval = Long.parseLong(watchBatchIntervalProperty.toString().trim());
+                }
+                catch (NumberFormatException error)
+                {
+                    /*
+                     * Keep the default.
+                     */
+                }
+            }
         }
 
         /*
@@ -91,7 +133,14 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
         /*
          * Start listening
          */
-        this.initiateDirectoryMonitoring(this.getRootDirectoryFile(), methodName);
+        if (useWatchService)
+        {
+            this.initiateDirectoryWatching(this.getRootDirectoryFile(), methodName);
+        }
+        else
+        {
+            this.initiateDirectoryMonitoring(this.getRootDirectoryFile(), methodName);
+        }
     }
 
 
@@ -337,6 +386,109 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
     abstract FileAlterationListenerAdaptor getListener();
 
 
+    /**
+     * Use the operating system's file change notifications to monitor a directory and all of its subdirectories.
+     * The changes are passed to processFileChanges in batches.  If the notifications are not available, the
+     * directory is polled instead.
+     *
+     * @param directory directory to monitor
+     * @param methodName calling method
+     */
+    synchronized void initiateDirectoryWatching(File   directory,
+                                                String methodName)
+    {
+        FileChangeWatcher watcher = new FileChangeWatcher(directory,
+                                                          watchBatchInterval,
+                                                          MAX_WATCH_BATCH_SIZE,
+                                                          connectorName + " file change watcher",
+                                                          this::processWatchedFileChanges);
+
+        try
+        {
+            int directoryCount = watcher.start();
+
+            fileChangeWatcher = watcher;
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    BasicFilesIntegrationConnectorsAuditCode.WATCH_SERVICE_STARTING.getMessageDefinition(connectorName,
+                                                                                                                         directory.getAbsolutePath(),
+                                                                                                                         Integer.toString(directoryCount)));
+            }
+        }
+        catch (Exception error)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_WATCH_SERVICE_START.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                       connectorName,
+                                                                                                                                       directory.getAbsolutePath(),
+                                                                                                                                       error.getMessage()),
+                                      error);
+            }
+
+            this.initiateDirectoryMonitoring(directory, methodName);
+        }
+    }
+
+
+    /**
+     * Record any lost events before passing a batch of changes from the file change watcher to the subclass.
+     *
+     * @param changes coalesced changes to the files under the monitored directory
+     */
+    private void processWatchedFileChanges(FileChangeBatch changes)
+    {
+        final String methodName = "processWatchedFileChanges";
+
+        if (auditLog != null)
+        {
+            for (File directory : changes.getRescanDirectories())
+            {
+                auditLog.logMessage(methodName,
+                                    BasicFilesIntegrationConnectorsAuditCode.FILE_CHANGE_EVENTS_LOST.getMessageDefinition(connectorName,
+                                                                                                                          directory.getAbsolutePath()));
+            }
+        }
+
+        this.processFileChanges(changes);
+    }
+
+
+    /**
+     * Process a batch of changes reported by the file change watcher - this is implemented by the subclasses.
+     * The files in the directories returned by getRescanDirectories() need to be compared with the catalog
+     * because some of their changes were lost.  Only these directories are rescanned - refresh does not
+     * scan the rest of the tree.  The files under the directories returned by getDeletedDirectories()
+     * are not reported individually.
+     *
+     * @param changes coalesced changes to the files under the monitored directory
+     */
+    abstract void processFileChanges(FileChangeBatch changes);
+
+
+    /**
+     * Return whether refresh needs to scan the whole directory.  This is always the case when the directory
+     * is polled.  When the file change watcher is in use, only the first refresh needs to scan it.  After that the
+     * watcher reports every change, and a directory that loses change events is rescanned on its own.
+     *
+     * @return boolean result
+     */
+    boolean isFullRefreshRequired()
+    {
+        FileChangeWatcher watcher = fileChangeWatcher;
+
+        if ((watcher == null) || (! watcher.isRunning()))
+        {
+            return true;
+        }
+
+        return fullRefreshRequired.getAndSet(false);
+    }
+
+
     synchronized void stopDirectoryMonitoring(String fileName,
                                               String methodName)
     {
@@ -383,11 +535,27 @@ public abstract class BasicFilesMonitorIntegrationConnectorBase extends FilesInt
     {
         final String methodName = "disconnect";
 
-        for (String fileName : monitors.keySet())
+        for (String fileName : new ArrayList<>(monitors.keySet()))
         {
             this.stopDirectoryMonitoring(fileName, methodName);
         }
 
+        FileChangeWatcher watcher = fileChangeWatcher;
+
+        if (watcher != null)
+        {
+            fileChangeWatcher = null;
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    BasicFilesIntegrationConnectorsAuditCode.DIRECTORY_MONITORING_STOPPING.getMessageDefinition(connectorName,
+                                                                                                                                fileDirectoryName));
+            }
+
+            watcher.stop();
+        }
+
         if (auditLog != null)
         {
             auditLog.logMessage(methodName,
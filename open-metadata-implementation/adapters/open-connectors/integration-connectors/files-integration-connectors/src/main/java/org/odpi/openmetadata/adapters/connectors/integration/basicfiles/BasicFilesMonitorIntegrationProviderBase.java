@@ -19,6 +19,8 @@ class BasicFilesMonitorIntegrationProviderBase extends IntegrationConnectorProvi
 {
     static final String TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY = "templateQualifiedName";
     static final String ALLOW_CATALOG_DELETE_CONFIGURATION_PROPERTY    = "allowCatalogDelete";
+    static final String USE_WATCH_SERVICE_CONFIGURATION_PROPERTY       = "useWatchService";
+    static final String WATCH_BATCH_INTERVAL_CONFIGURATION_PROPERTY    = "watchBatchInterval";
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -61,6 +63,8 @@ class BasicFilesMonitorIntegrationProviderBase extends IntegrationConnectorProvi
         List<String> recognizedConfigurationProperties = new ArrayList<>();
         recognizedConfigurationProperties.add(TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY);
         recognizedConfigurationProperties.add(ALLOW_CATALOG_DELETE_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(USE_WATCH_SERVICE_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(WATCH_BATCH_INTERVAL_CONFIGURATION_PROPERTY);
 
         connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
@@ -18,6 +18,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 
@@ -99,6 +103,245 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
     }
 
 
+    /**
+     * A batch of changes has been reported by the file change watcher.  Each file in the batch is catalogued once,
+     * no matter how many times it changed during the batch.
+     *
+     * @param changes coalesced changes to the files under the monitored directory
+     */
+    @Override
+    void processFileChanges(FileChangeBatch changes)
+    {
+        final String methodName = "processFileChanges";
+
+        log.debug("Files changed: {}", changes);
+
+        for (File file : changes.getDeletedFiles())
+        {
+            this.archiveFileInCatalog(file, null, methodName);
+        }
+
+        for (File directory : changes.getDeletedDirectories())
+        {
+            this.archiveFilesInDeletedDirectory(directory, methodName);
+        }
+
+        for (File file : changes.getCreatedFiles())
+        {
+            this.catalogFile(file, methodName);
+        }
+
+        for (File file : changes.getChangedFiles())
+        {
+            this.updateFileInCatalog(file);
+        }
+
+        for (File directory : changes.getRescanDirectories())
+        {
+            this.rescanDirectory(directory, methodName);
+        }
+    }
+
+
+    /**
+     * A directory has been deleted, or moved out of the monitored directory tree.  The watch service only reports
+     * the directory itself, so the catalogued files in the directory and its nested directories are archived
+     * (or deleted) here.  The files are retrieved before any are archived so that the paging is not disturbed.
+     *
+     * @param directory deleted directory
+     * @param methodName calling method
+     */
+    private void archiveFilesInDeletedDirectory(File   directory,
+                                                String methodName)
+    {
+        if (this.isActive())
+        {
+            List<DataFileElement> cataloguedFiles = new ArrayList<>();
+
+            try
+            {
+                FileFolderElement folder = this.getContext().getFolderByPathName(directory.getAbsolutePath());
+
+                if ((folder != null) && (folder.getElementHeader() != null))
+                {
+                    this.getCataloguedFiles(folder.getElementHeader().getGUID(), cataloguedFiles);
+                }
+            }
+            catch (Exception error)
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(
+                                                  error.getClass().getName(),
+                                                  connectorName,
+                                                  directory.getAbsolutePath(),
+                                                  error.getMessage()),
+                                          error);
+                }
+            }
+
+            for (DataFileElement dataFile : cataloguedFiles)
+            {
+                if ((dataFile.getDataFileProperties() != null) && (dataFile.getDataFileProperties().getPathName() != null))
+                {
+                    File file = new File(dataFile.getDataFileProperties().getPathName());
+
+                    if (! file.exists())
+                    {
+                        this.archiveFileInCatalog(file, dataFile, methodName);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add the catalogued files in a folder and its nested folders to the list.
+     *
+     * @param folderGUID unique identifier of the folder
+     * @param cataloguedFiles list to add the files to
+     * @throws Exception problem retrieving the catalogued files
+     */
+    private void getCataloguedFiles(String                folderGUID,
+                                    List<DataFileElement> cataloguedFiles) throws Exception
+    {
+        final int pageSize = 100;
+
+        this.getFolderFiles(folderGUID, cataloguedFiles);
+
+        int                     startFrom     = 0;
+        List<FileFolderElement> nestedFolders = this.getContext().getNestedFolders(folderGUID, startFrom, pageSize);
+
+        while ((nestedFolders != null) && (! nestedFolders.isEmpty()))
+        {
+            for (FileFolderElement nestedFolder : nestedFolders)
+            {
+                if ((nestedFolder != null) && (nestedFolder.getElementHeader() != null))
+                {
+                    this.getCataloguedFiles(nestedFolder.getElementHeader().getGUID(), cataloguedFiles);
+                }
+            }
+
+            startFrom = startFrom + nestedFolders.size();
+            nestedFolders = this.getContext().getNestedFolders(folderGUID, startFrom, pageSize);
+        }
+    }
+
+
+    /**
+     * Add the catalogued files that are immediately in a folder to the list.
+     *
+     * @param folderGUID unique identifier of the folder
+     * @param cataloguedFiles list to add the files to
+     * @throws Exception problem retrieving the catalogued files
+     */
+    private void getFolderFiles(String                folderGUID,
+                                List<DataFileElement> cataloguedFiles) throws Exception
+    {
+        final int pageSize = 100;
+
+        int                   startFrom = 0;
+        List<DataFileElement> dataFiles = this.getContext().getFolderFiles(folderGUID, startFrom, pageSize);
+
+        while ((dataFiles != null) && (! dataFiles.isEmpty()))
+        {
+            for (DataFileElement dataFile : dataFiles)
+            {
+                if (dataFile != null)
+                {
+                    cataloguedFiles.add(dataFile);
+                }
+            }
+
+            startFrom = startFrom + dataFiles.size();
+            dataFiles = this.getContext().getFolderFiles(folderGUID, startFrom, pageSize);
+        }
+    }
+
+
+    /**
+     * Change events have been lost for a directory, so it is reconciled with its folder in the catalog.
+     * Each file in the directory is catalogued, or its catalog entry is updated if it has changed.  The catalogued
+     * files in the folder that are no longer in the directory are archived (or deleted).  The nested directories
+     * are not rescanned since their change events were not lost.
+     *
+     * @param directory directory to rescan
+     * @param methodName calling method
+     */
+    private void rescanDirectory(File   directory,
+                                 String methodName)
+    {
+        if (this.isActive())
+        {
+            Set<String> listedFiles = new HashSet<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory.toPath()))
+            {
+                for (Path entry : entries)
+                {
+                    if (Files.isRegularFile(entry))
+                    {
+                        listedFiles.add(entry.toFile().getAbsolutePath());
+                        this.updateFileInCatalog(entry.toFile());
+                    }
+                }
+            }
+            catch (IOException error)
+            {
+                /*
+                 * Without the listing it is not possible to tell which catalogued files have gone.
+                 */
+                log.debug("Unable to rescan directory {}", directory.getAbsolutePath(), error);
+                return;
+            }
+
+            List<DataFileElement> cataloguedFiles = new ArrayList<>();
+
+            try
+            {
+                FileFolderElement folder = this.getContext().getFolderByPathName(directory.getAbsolutePath());
+
+                if ((folder != null) && (folder.getElementHeader() != null))
+                {
+                    this.getFolderFiles(folder.getElementHeader().getGUID(), cataloguedFiles);
+                }
+            }
+            catch (Exception error)
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          BasicFilesIntegrationConnectorsAuditCode.UNEXPECTED_EXC_DATA_FILE_UPDATE.getMessageDefinition(
+                                                  error.getClass().getName(),
+                                                  connectorName,
+                                                  directory.getAbsolutePath(),
+                                                  error.getMessage()),
+                                          error);
+                }
+            }
+
+            /*
+             * The files are retrieved before any are archived so that the paging is not disturbed.  A file that is
+             * missing from the listing is checked again in case it was created after the directory was listed.
+             */
+            for (DataFileElement dataFile : cataloguedFiles)
+            {
+                if ((dataFile.getDataFileProperties() != null) && (dataFile.getDataFileProperties().getPathName() != null))
+                {
+                    File file = new File(dataFile.getDataFileProperties().getPathName());
+
+                    if ((! listedFiles.contains(file.getAbsolutePath())) && (! file.exists()))
+                    {
+                        this.archiveFileInCatalog(file, dataFile, methodName);
+                    }
+                }
+            }
+        }
+    }
+
+
     /**
      * Requests that the connector does a comparison of the metadata in the third party technology and open metadata repositories.
      * Refresh is called when the integration connector first starts and then at intervals defined in the connector's configuration
@@ -106,7 +349,8 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
      *
      * This method performs two sweeps.  It first retrieves the files in the directory and validates that are in the
      * catalog - adding or updating them if necessary.  The second sweep is to ensure that all the assets catalogued
-     * in this directory actually exist on the file system.
+     * in this directory actually exist on the file system.  When the file change watcher is in use, the sweeps are only
+     * needed on the first refresh, since the watcher reports all other changes and rescans any directory that loses them.
      *
      * @throws ConnectorCheckedException there is a problem with the connector.  It is not able to refresh the metadata.
      */
@@ -117,7 +361,7 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
 
         File directory = this.getRootDirectoryFile();
 
-        if (directory != null)
+        if ((directory != null) && (super.isFullRefreshRequired()))
         {
             /*
              * Sweep one - cataloguing all files
@@ -486,6 +730,16 @@ public class DataFilesMonitorIntegrationConnector extends BasicFilesMonitorInteg
                     if ((dataFileInCatalog.getElementHeader() != null) && (dataFileInCatalog.getElementHeader().getGUID() != null) &&
                                 (dataFileInCatalog.getDataFileProperties() != null) && (dataFileInCatalog.getDataFileProperties().getPathName() != null))
                     {
+                        Date lastRecordedChange = dataFileInCatalog.getDataFileProperties().getModifiedTime();
+
+                        if ((lastRecordedChange != null) && (lastRecordedChange.getTime() == file.lastModified()))
+                        {
+                            /*
+                             * The catalog is already up to date.
+                             */
+                            return;
+                        }
+
                         DataFileProperties properties = new DataFileProperties();
 
                         properties.setModifiedTime(new Date(file.lastModified()));
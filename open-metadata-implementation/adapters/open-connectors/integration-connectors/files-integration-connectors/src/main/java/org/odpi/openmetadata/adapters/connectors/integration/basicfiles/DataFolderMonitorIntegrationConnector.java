@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.Date;
+import java.util.List;
 
 
 /**
@@ -37,6 +38,30 @@ public class DataFolderMonitorIntegrationConnector extends BasicFilesMonitorInte
     }
 
 
+    /**
+     * A batch of changes has been reported by the file change watcher.  The DataFolder is updated once for the
+     * whole batch.
+     *
+     * @param changes coalesced changes to the files under the monitored directory
+     */
+    @Override
+    void processFileChanges(FileChangeBatch changes)
+    {
+        final String methodName = "processFileChanges";
+
+        List<File> files = changes.getFiles();
+        File       lastFileChanged = null;
+
+        if (! files.isEmpty())
+        {
+            lastFileChanged = files.get(files.size() - 1);
+        }
+
+        log.debug("Files changed: {}", changes);
+        this.updateDataFolder(lastFileChanged, new Date(), methodName);
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * This call can be used to register with non-blocking services.
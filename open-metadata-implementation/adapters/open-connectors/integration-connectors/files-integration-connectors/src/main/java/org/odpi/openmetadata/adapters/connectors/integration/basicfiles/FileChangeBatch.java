@@ -0,0 +1,272 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * FileChangeBatch collects the changes to the files under a monitored directory that are reported by the
+ * FileChangeWatcher over a short interval.  The changes to each file are coalesced so that the batch holds at most
+ * one change for each file.  For example, a file that is created and then written to many times is reported
+ * as a single creation, and a file that is created and deleted within the batch is not reported at all.
+ */
+class FileChangeBatch
+{
+    /**
+     * The coalesced change made to a file.
+     */
+    enum FileChangeType
+    {
+        CREATED,
+        CHANGED,
+        DELETED
+    }
+
+    private final Map<File, FileChangeType> fileChanges         = new LinkedHashMap<>();
+    private final List<File>                createdDirectories  = new ArrayList<>();
+    private final List<File>                deletedDirectories  = new ArrayList<>();
+    private final Set<File>                 rescanDirectories   = new LinkedHashSet<>();
+
+
+    /**
+     * Record that a file has been created.
+     *
+     * @param file new file
+     */
+    void fileCreated(File file)
+    {
+        FileChangeType previousChange = fileChanges.get(file);
+
+        if (previousChange == null)
+        {
+            fileChanges.put(file, FileChangeType.CREATED);
+        }
+        else if (previousChange == FileChangeType.DELETED)
+        {
+            /*
+             * The file was replaced.
+             */
+            fileChanges.put(file, FileChangeType.CHANGED);
+        }
+    }
+
+
+    /**
+     * Record that the content of a file has changed.
+     *
+     * @param file changed file
+     */
+    void fileChanged(File file)
+    {
+        FileChangeType previousChange = fileChanges.get(file);
+
+        if ((previousChange == null) || (previousChange == FileChangeType.DELETED))
+        {
+            fileChanges.put(file, FileChangeType.CHANGED);
+        }
+    }
+
+
+    /**
+     * Record that a file has been deleted.
+     *
+     * @param file deleted file
+     */
+    void fileDeleted(File file)
+    {
+        FileChangeType previousChange = fileChanges.get(file);
+
+        if (previousChange == FileChangeType.CREATED)
+        {
+            /*
+             * The file came and went within the batch.
+             */
+            fileChanges.remove(file);
+        }
+        else
+        {
+            fileChanges.put(file, FileChangeType.DELETED);
+        }
+    }
+
+
+    /**
+     * Record that a directory has been created.  The files that are already in the directory when it is
+     * registered with the watch service are reported as created files.
+     *
+     * @param directory new directory
+     */
+    void directoryCreated(File directory)
+    {
+        createdDirectories.add(directory);
+    }
+
+
+    /**
+     * Record that a directory has been deleted.
+     *
+     * @param directory deleted directory
+     */
+    void directoryDeleted(File directory)
+    {
+        deletedDirectories.add(directory);
+    }
+
+
+    /**
+     * Record that change events were lost for a directory so its files need to be compared with the catalog.
+     *
+     * @param directory directory to rescan
+     */
+    void rescanDirectory(File directory)
+    {
+        rescanDirectories.add(directory);
+    }
+
+
+    /**
+     * Return the number of files in the batch.
+     *
+     * @return count
+     */
+    int getFileCount()
+    {
+        return fileChanges.size();
+    }
+
+
+    /**
+     * Return whether the batch contains any changes.
+     *
+     * @return boolean result
+     */
+    boolean isEmpty()
+    {
+        return fileChanges.isEmpty() && createdDirectories.isEmpty() && deletedDirectories.isEmpty() && rescanDirectories.isEmpty();
+    }
+
+
+    /**
+     * Return all the files in the batch in the order that they were first reported.
+     *
+     * @return list of files
+     */
+    List<File> getFiles()
+    {
+        return new ArrayList<>(fileChanges.keySet());
+    }
+
+
+    /**
+     * Return the files that were created.
+     *
+     * @return list of files
+     */
+    List<File> getCreatedFiles()
+    {
+        return getFiles(FileChangeType.CREATED);
+    }
+
+
+    /**
+     * Return the files that already existed and have changed.
+     *
+     * @return list of files
+     */
+    List<File> getChangedFiles()
+    {
+        return getFiles(FileChangeType.CHANGED);
+    }
+
+
+    /**
+     * Return the files that were deleted.
+     *
+     * @return list of files
+     */
+    List<File> getDeletedFiles()
+    {
+        return getFiles(FileChangeType.DELETED);
+    }
+
+
+    /**
+     * Return the directories that were created.
+     *
+     * @return list of directories
+     */
+    List<File> getCreatedDirectories()
+    {
+        return createdDirectories;
+    }
+
+
+    /**
+     * Return the directories that were deleted or moved out of the directory tree.  The files that were under
+     * these directories are not included in the deleted files.
+     *
+     * @return list of directories
+     */
+    List<File> getDeletedDirectories()
+    {
+        return deletedDirectories;
+    }
+
+
+    /**
+     * Return the directories where change events were lost.
+     *
+     * @return list of directories
+     */
+    List<File> getRescanDirectories()
+    {
+        return new ArrayList<>(rescanDirectories);
+    }
+
+
+    /**
+     * Return the files with the requested type of change.
+     *
+     * @param changeType type of change
+     * @return list of files
+     */
+    private List<File> getFiles(FileChangeType changeType)
+    {
+        List<File> files = new ArrayList<>();
+
+        for (Map.Entry<File, FileChangeType> fileChange : fileChanges.entrySet())
+        {
+            if (fileChange.getValue() == changeType)
+            {
+                files.add(fileChange.getKey());
+            }
+        }
+
+        return files;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FileChangeBatch{" +
+                       "fileChanges=" + fileChanges +
+                       ", createdDirectories=" + createdDirectories +
+                       ", deletedDirectories=" + deletedDirectories +
+                       ", rescanDirectories=" + rescanDirectories +
+                       '}';
+    }
+}
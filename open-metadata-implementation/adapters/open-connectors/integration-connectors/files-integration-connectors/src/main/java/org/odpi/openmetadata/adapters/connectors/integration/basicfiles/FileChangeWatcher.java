@@ -0,0 +1,423 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+
+/**
+ * FileChangeWatcher uses the operating system's file change notifications (through the Java WatchService) to
+ * detect changes to the files in a directory and all of its subdirectories.  Unlike the Apache Commons
+ * FileAlterationMonitor, it does not need to list the directories and check every file on each poll, so its cost
+ * depends on the number of changes rather than the number of files.
+ *
+ * The events are collected into a FileChangeBatch until the batch interval has passed since the first event of
+ * the batch (or the batch is full) and then the batch is passed to the consumer supplied by the connector.
+ * New subdirectories are registered as they appear, and the files they already contain are reported as created.
+ * If the operating system loses events for a directory (an overflow), the directory is passed back for rescanning.
+ */
+class FileChangeWatcher implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(FileChangeWatcher.class);
+
+    private final Path                      rootDirectory;
+    private final long                      batchInterval;
+    private final int                       maxBatchSize;
+    private final String                    threadName;
+    private final Consumer<FileChangeBatch> batchConsumer;
+
+    /*
+     * These maps are only used by the watcher thread once the watcher has started.
+     */
+    private final Map<WatchKey, Path>       watchedDirectories    = new HashMap<>();
+    private final Map<Path, WatchKey>       registeredDirectories = new HashMap<>();
+
+    private WatchService                    watchService = null;
+    private volatile boolean                running      = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param rootDirectory directory to watch
+     * @param batchInterval time in milliseconds to collect events before passing them to the consumer
+     * @param maxBatchSize number of files that causes a batch to be passed to the consumer before the batch interval ends
+     * @param threadName name of the thread that processes the events
+     * @param batchConsumer consumer of the batches of changes
+     */
+    FileChangeWatcher(File                      rootDirectory,
+                      long                      batchInterval,
+                      int                       maxBatchSize,
+                      String                    threadName,
+                      Consumer<FileChangeBatch> batchConsumer)
+    {
+        this.rootDirectory = rootDirectory.toPath().toAbsolutePath();
+        this.batchInterval = batchInterval;
+        this.maxBatchSize  = maxBatchSize;
+        this.threadName    = threadName;
+        this.batchConsumer = batchConsumer;
+    }
+
+
+    /**
+     * Register the root directory and all of its subdirectories with the watch service and start the thread
+     * that processes the events.
+     *
+     * @return number of directories being watched
+     * @throws IOException the directories can not be registered
+     */
+    synchronized int start() throws IOException
+    {
+        watchService = rootDirectory.getFileSystem().newWatchService();
+
+        try
+        {
+            this.registerDirectoryTree(rootDirectory, null);
+        }
+        catch (IOException error)
+        {
+            watchService.close();
+            throw error;
+        }
+
+        running = true;
+
+        Thread watcherThread = new Thread(this, threadName);
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+
+        return registeredDirectories.size();
+    }
+
+
+    /**
+     * Return whether the watcher is still receiving events.
+     *
+     * @return boolean result
+     */
+    boolean isRunning()
+    {
+        return running;
+    }
+
+
+    /**
+     * Stop watching the directories.  A batch that is being processed is allowed to complete.
+     */
+    synchronized void stop()
+    {
+        running = false;
+
+        if (watchService != null)
+        {
+            try
+            {
+                watchService.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Error closing watch service for " + rootDirectory, error);
+            }
+        }
+    }
+
+
+    /**
+     * Collect the events into batches and pass them to the consumer until the watcher is stopped.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (running)
+            {
+                WatchKey        watchKey = watchService.take();
+                FileChangeBatch batch    = new FileChangeBatch();
+                long            deadline = System.currentTimeMillis() + batchInterval;
+
+                while (watchKey != null)
+                {
+                    this.processEvents(watchKey, batch);
+
+                    long remainingTime = deadline - System.currentTimeMillis();
+
+                    if ((batch.getFileCount() >= maxBatchSize) || (remainingTime <= 0))
+                    {
+                        watchKey = null;
+                    }
+                    else
+                    {
+                        watchKey = watchService.poll(remainingTime, TimeUnit.MILLISECONDS);
+                    }
+                }
+
+                if (! batch.isEmpty())
+                {
+                    try
+                    {
+                        batchConsumer.accept(batch);
+                    }
+                    catch (Exception error)
+                    {
+                        log.error("Unable to process file changes under " + rootDirectory + ": " + batch, error);
+                    }
+                }
+            }
+        }
+        catch (ClosedWatchServiceException | InterruptedException stopped)
+        {
+            log.debug("Watch service stopped for " + rootDirectory);
+        }
+        catch (Exception error)
+        {
+            log.error("Watch service failed for " + rootDirectory, error);
+        }
+        finally
+        {
+            running = false;
+        }
+    }
+
+
+    /**
+     * Add the events queued for a directory to the batch.
+     *
+     * @param watchKey key for the directory
+     * @param batch batch to add the events to
+     */
+    private void processEvents(WatchKey        watchKey,
+                               FileChangeBatch batch)
+    {
+        Path directory = watchedDirectories.get(watchKey);
+
+        for (WatchEvent<?> event : watchKey.pollEvents())
+        {
+            if (directory == null)
+            {
+                continue;
+            }
+
+            WatchEvent.Kind<?> eventKind = event.kind();
+
+            if (eventKind == StandardWatchEventKinds.OVERFLOW)
+            {
+                this.processOverflow(directory, batch);
+                continue;
+            }
+
+            Path path = directory.resolve((Path)event.context());
+
+            if (eventKind == StandardWatchEventKinds.ENTRY_CREATE)
+            {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+                {
+                    this.registerNewDirectoryTree(path, batch);
+                }
+                else
+                {
+                    batch.fileCreated(path.toFile());
+                }
+            }
+            else if (eventKind == StandardWatchEventKinds.ENTRY_MODIFY)
+            {
+                /*
+                 * A directory is modified each time an entry is added or removed.  These changes are reported
+                 * through the events for the entries themselves.
+                 */
+                if (! registeredDirectories.containsKey(path))
+                {
+                    batch.fileChanged(path.toFile());
+                }
+            }
+            else if (eventKind == StandardWatchEventKinds.ENTRY_DELETE)
+            {
+                if (registeredDirectories.containsKey(path))
+                {
+                    this.unregisterDirectoryTree(path, batch);
+                }
+                else
+                {
+                    batch.fileDeleted(path.toFile());
+                }
+            }
+        }
+
+        if ((! watchKey.reset()) && (directory != null) && (registeredDirectories.containsKey(directory)))
+        {
+            /*
+             * The directory is no longer accessible.
+             */
+            this.unregisterDirectoryTree(directory, batch);
+        }
+    }
+
+
+    /**
+     * Events have been lost for a directory.  Its files need to be compared with the catalog and any
+     * subdirectories created while the events were lost need to be registered.  The rest of the tree
+     * is not affected.
+     *
+     * @param directory directory that lost events
+     * @param batch batch to add the changes to
+     */
+    private void processOverflow(Path            directory,
+                                 FileChangeBatch batch)
+    {
+        batch.rescanDirectory(directory.toFile());
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+        {
+            for (Path entry : entries)
+            {
+                if ((Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) && (! registeredDirectories.containsKey(entry)))
+                {
+                    this.registerNewDirectoryTree(entry, batch);
+                }
+            }
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to rescan directory " + directory, error);
+        }
+    }
+
+
+    /**
+     * Register a directory that has been created, along with its subdirectories.  Files may be created
+     * before the directory is registered, so any that are found are added to the batch.
+     *
+     * @param directory new directory
+     * @param batch batch to add the changes to
+     */
+    private void registerNewDirectoryTree(Path            directory,
+                                          FileChangeBatch batch)
+    {
+        try
+        {
+            this.registerDirectoryTree(directory, batch);
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to watch directory " + directory, error);
+
+            batch.rescanDirectory(directory.toFile());
+        }
+    }
+
+
+    /**
+     * Register a directory and all of its subdirectories with the watch service.
+     *
+     * @param directory top of the directory tree
+     * @param batch batch to add the files and directories to, or null if they are not new
+     * @throws IOException unable to register a directory
+     */
+    private void registerDirectoryTree(Path            directory,
+                                       FileChangeBatch batch) throws IOException
+    {
+        Files.walkFileTree(directory, new SimpleFileVisitor<>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path                subdirectory,
+                                                     BasicFileAttributes attributes) throws IOException
+            {
+                if (! registeredDirectories.containsKey(subdirectory))
+                {
+                    WatchKey watchKey = subdirectory.register(watchService,
+                                                              StandardWatchEventKinds.ENTRY_CREATE,
+                                                              StandardWatchEventKinds.ENTRY_MODIFY,
+                                                              StandardWatchEventKinds.ENTRY_DELETE);
+
+                    watchedDirectories.put(watchKey, subdirectory);
+                    registeredDirectories.put(subdirectory, watchKey);
+
+                    if (batch != null)
+                    {
+                        batch.directoryCreated(subdirectory.toFile());
+                    }
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path                file,
+                                             BasicFileAttributes attributes)
+            {
+                if ((batch != null) && (attributes.isRegularFile()))
+                {
+                    batch.fileCreated(file.toFile());
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path        file,
+                                                   IOException error)
+            {
+                /*
+                 * The file may have been deleted while the tree was being walked.
+                 */
+                log.debug("Unable to visit " + file, error);
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+
+    /**
+     * Stop watching a directory that has been deleted, along with its subdirectories.
+     *
+     * @param directory deleted directory
+     * @param batch batch to add the deleted directory to
+     */
+    private void unregisterDirectoryTree(Path            directory,
+                                         FileChangeBatch batch)
+    {
+        List<Path> deletedDirectories = new ArrayList<>();
+
+        for (Path registeredDirectory : registeredDirectories.keySet())
+        {
+            if (registeredDirectory.startsWith(directory))
+            {
+                deletedDirectories.add(registeredDirectory);
+            }
+        }
+
+        for (Path deletedDirectory : deletedDirectories)
+        {
+            WatchKey watchKey = registeredDirectories.remove(deletedDirectory);
+
+            watchedDirectories.remove(watchKey);
+            watchKey.cancel();
+        }
+
+        batch.directoryDeleted(directory.toFile());
+    }
+}
@@ -179,6 +179,34 @@ public enum BasicFilesIntegrationConnectorsAuditCode implements AuditLogMessageS
                               "Its presence is still needed in the metadata repository for lineage reporting.",
                       "No action is required.  This message is to record the reason why the DataFile was archived."),
 
+    WATCH_SERVICE_STARTING("BASIC-FILES-INTEGRATION-CONNECTORS-0021",
+                           OMRSAuditLogRecordSeverity.INFO,
+                           "The {0} integration connector is using the Java WatchService to monitor file directory {1} and its subdirectories ({2} directories in total)",
+                           "The connector has registered the directories with the operating system's file change notifications.  " +
+                                   "A background thread collects the changes into batches and passes them to this integration connector.  " +
+                                   "New subdirectories are registered as they are created.",
+                           "No action is required unless there are errors that follow indicating that the monitoring of the directory failed."),
+
+    UNEXPECTED_EXC_WATCH_SERVICE_START("BASIC-FILES-INTEGRATION-CONNECTORS-0022",
+                                       OMRSAuditLogRecordSeverity.ERROR,
+                                       "An unexpected {0} exception was returned to the {1} integration connector by the Java " +
+                                               "WatchService for directory {2} while it was starting the monitoring service.  The error message was {3}",
+                                       "The exception is logged and the integration connector monitors the directory with the Apache Commons " +
+                                               "FileAlterationMonitor instead.",
+                                       "Use the message in the unexpected exception to determine the root cause of the error.  A common cause is the " +
+                                               "operating system's limit on the number of directories that can be watched (for example, " +
+                                               "fs.inotify.max_user_watches on Linux).  Once this is resolved, follow the instructions in the messages " +
+                                               "produced by the integration daemon to restart the connector."),
+
+    FILE_CHANGE_EVENTS_LOST("BASIC-FILES-INTEGRATION-CONNECTORS-0023",
+                            OMRSAuditLogRecordSeverity.INFO,
+                            "The {0} integration connector missed file change events for directory {1} and is rescanning it",
+                            "The operating system discarded file change events because they arrived faster than they were processed.  " +
+                                    "The connector compares the files in this directory with the catalog, cataloguing new and changed files and " +
+                                    "removing the catalogued files that no longer exist.  The rest of the directory tree is not rescanned.",
+                            "No action is required.  If this message occurs frequently, consider increasing the size of the operating " +
+                                    "system's event queue (for example, fs.inotify.max_queued_events on Linux)."),
+
 
     ;
 
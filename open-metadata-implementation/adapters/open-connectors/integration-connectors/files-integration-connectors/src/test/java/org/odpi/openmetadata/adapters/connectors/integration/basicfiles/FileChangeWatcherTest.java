@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.basicfiles;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate that FileChangeWatcher reports the changes to the files under a directory tree, including files in
+ * new subdirectories, and that FileChangeBatch coalesces the changes to each file.
+ */
+public class FileChangeWatcherTest
+{
+    private static final long batchInterval = 200;
+
+    private Path                                 rootDirectory = null;
+    private FileChangeWatcher                    watcher       = null;
+    private LinkedBlockingQueue<FileChangeBatch> batches       = null;
+
+
+    @BeforeMethod
+    void setUp() throws IOException
+    {
+        rootDirectory = Files.createTempDirectory("FileChangeWatcherTest");
+        batches       = new LinkedBlockingQueue<>();
+        watcher       = new FileChangeWatcher(rootDirectory.toFile(), batchInterval, 1000, "testWatcher", batches::add);
+    }
+
+
+    @AfterMethod
+    void tearDown() throws IOException
+    {
+        watcher.stop();
+
+        try (Stream<Path> paths = Files.walk(rootDirectory))
+        {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+
+    @Test
+    void testBatchCoalescing()
+    {
+        File created  = new File("created");
+        File changed  = new File("changed");
+        File replaced = new File("replaced");
+        File deleted  = new File("deleted");
+        File gone     = new File("gone");
+
+        FileChangeBatch batch = new FileChangeBatch();
+
+        assertTrue(batch.isEmpty());
+
+        batch.fileCreated(created);
+        batch.fileChanged(created);
+        batch.fileChanged(changed);
+        batch.fileChanged(changed);
+        batch.fileDeleted(replaced);
+        batch.fileCreated(replaced);
+        batch.fileChanged(deleted);
+        batch.fileDeleted(deleted);
+        batch.fileCreated(gone);
+        batch.fileDeleted(gone);
+
+        assertFalse(batch.isEmpty());
+        assertEquals(batch.getFileCount(), 4);
+        assertEquals(batch.getCreatedFiles(), List.of(created));
+        assertEquals(batch.getChangedFiles(), List.of(changed, replaced));
+        assertEquals(batch.getDeletedFiles(), List.of(deleted));
+    }
+
+
+    @Test
+    void testFileChanges() throws Exception
+    {
+        Path existingFile = Files.writeString(rootDirectory.resolve("existing.csv"), "a,b");
+
+        assertEquals(watcher.start(), 1);
+        assertTrue(watcher.isRunning());
+
+        Path newFile = rootDirectory.resolve("new.csv");
+
+        Files.writeString(newFile, "a,b");
+        Files.writeString(newFile, "a,b,c");
+        Files.writeString(existingFile, "a,b,c");
+
+        List<FileChangeBatch> received = this.waitForFiles(2);
+
+        assertEquals(this.getCreatedFiles(received), List.of(newFile.toFile()));
+        assertTrue(this.getChangedFiles(received).contains(existingFile.toFile()));
+
+        Files.delete(existingFile);
+
+        received = this.waitForFiles(1);
+
+        assertEquals(this.getDeletedFiles(received), List.of(existingFile.toFile()));
+
+        watcher.stop();
+        assertFalse(watcher.isRunning());
+    }
+
+
+    @Test
+    void testNewDirectories() throws Exception
+    {
+        Files.createDirectories(rootDirectory.resolve("existing").resolve("nested"));
+
+        assertEquals(watcher.start(), 3);
+
+        Path nestedFile = rootDirectory.resolve("existing").resolve("nested").resolve("nested.json");
+        Files.writeString(nestedFile, "{}");
+
+        List<FileChangeBatch> received = this.waitForFiles(1);
+
+        assertEquals(this.getCreatedFiles(received), List.of(nestedFile.toFile()));
+
+        /*
+         * The file may be written before the new directory is registered, either way it is reported once as created.
+         */
+        Path newDirectory = rootDirectory.resolve("new");
+        Files.createDirectories(newDirectory.resolve("deeper"));
+        Path newFile = Files.writeString(newDirectory.resolve("deeper").resolve("new.json"), "{}");
+
+        received = this.waitForFiles(1);
+
+        assertEquals(this.getCreatedFiles(received), List.of(newFile.toFile()));
+
+        /*
+         * Files in the new directory are now reported directly.
+         */
+        Path laterFile = Files.writeString(newDirectory.resolve("deeper").resolve("later.json"), "{}");
+
+        received = this.waitForFiles(1);
+
+        assertEquals(this.getCreatedFiles(received), List.of(laterFile.toFile()));
+    }
+
+
+    @Test
+    void testDirectoryMovedOutOfTree() throws Exception
+    {
+        Path movingDirectory = rootDirectory.resolve("moving");
+        Path nestedDirectory = movingDirectory.resolve("nested");
+
+        Files.createDirectories(nestedDirectory);
+        Files.writeString(movingDirectory.resolve("moving.csv"), "a,b");
+        Files.writeString(nestedDirectory.resolve("nested.csv"), "a,b");
+
+        assertEquals(watcher.start(), 3);
+
+        Path outsideDirectory = Files.createTempDirectory("FileChangeWatcherTestOutside");
+
+        try
+        {
+            Path movedDirectory = Files.move(movingDirectory, outsideDirectory.resolve("moving"));
+
+            /*
+             * Only the directory itself is reported, so the files under it must be found in the catalog.
+             */
+            List<FileChangeBatch> received = new ArrayList<>();
+            List<File>            deletedDirectories = new ArrayList<>();
+            long                  deadline = System.currentTimeMillis() + 30000;
+
+            while ((deletedDirectories.isEmpty()) && (System.currentTimeMillis() < deadline))
+            {
+                FileChangeBatch batch = batches.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+
+                if (batch != null)
+                {
+                    received.add(batch);
+                    deletedDirectories.addAll(batch.getDeletedDirectories());
+                }
+            }
+
+            assertEquals(deletedDirectories, List.of(movingDirectory.toFile()), "Received " + received);
+            assertTrue(this.getDeletedFiles(received).isEmpty());
+
+            /*
+             * The moved directories are no longer watched.
+             */
+            Files.writeString(movedDirectory.resolve("nested").resolve("later.csv"), "a,b");
+
+            FileChangeBatch batch = batches.poll(batchInterval * 3, TimeUnit.MILLISECONDS);
+
+            assertTrue(batch == null, "Unexpected batch " + batch);
+            assertTrue(watcher.isRunning());
+        }
+        finally
+        {
+            try (Stream<Path> paths = Files.walk(outsideDirectory))
+            {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+
+    /**
+     * Collect batches until they contain the requested number of files, then wait for any straggling events.
+     *
+     * @param fileCount number of files expected
+     * @return batches
+     * @throws InterruptedException interrupted
+     */
+    private List<FileChangeBatch> waitForFiles(int fileCount) throws InterruptedException
+    {
+        List<FileChangeBatch> received      = new ArrayList<>();
+        List<File>            receivedFiles = new ArrayList<>();
+        long                  deadline      = System.currentTimeMillis() + 30000;
+
+        while ((receivedFiles.size() < fileCount) && (System.currentTimeMillis() < deadline))
+        {
+            FileChangeBatch batch = batches.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+
+            if (batch != null)
+            {
+                received.add(batch);
+
+                for (File file : batch.getFiles())
+                {
+                    if (! receivedFiles.contains(file))
+                    {
+                        receivedFiles.add(file);
+                    }
+                }
+            }
+        }
+
+        assertEquals(receivedFiles.size(), fileCount, "Received " + received);
+
+        FileChangeBatch straggler = batches.poll(batchInterval * 2, TimeUnit.MILLISECONDS);
+
+        while (straggler != null)
+        {
+            received.add(straggler);
+            straggler = batches.poll(batchInterval * 2, TimeUnit.MILLISECONDS);
+        }
+
+        return received;
+    }
+
+
+    private List<File> getCreatedFiles(List<FileChangeBatch> received)
+    {
+        return this.getFiles(received, FileChangeBatch::getCreatedFiles);
+    }
+
+
+    private List<File> getChangedFiles(List<FileChangeBatch> received)
+    {
+        return this.getFiles(received, FileChangeBatch::getChangedFiles);
+    }
+
+
+    private List<File> getDeletedFiles(List<FileChangeBatch> received)
+    {
+        return this.getFiles(received, FileChangeBatch::getDeletedFiles);
+    }
+
+
+    /**
+     * A file in a new directory may be reported by more than one batch, depending on whether it was found
+     * when the directory was registered or reported by its own event, so duplicates are removed.
+     *
+     * @param received batches
+     * @param selector method that selects the files from a batch
+     * @return distinct files
+     */
+    private List<File> getFiles(List<FileChangeBatch>                   received,
+                                Function<FileChangeBatch, List<File>>   selector)
+    {
+        List<File> files = new ArrayList<>();
+
+        for (FileChangeBatch batch : received)
+        {
+            for (File file : selector.apply(batch))
+            {
+                if (! files.contains(file))
+                {
+                    files.add(file);
+                }
+            }
+        }
+
+        return files;
+    }
+}
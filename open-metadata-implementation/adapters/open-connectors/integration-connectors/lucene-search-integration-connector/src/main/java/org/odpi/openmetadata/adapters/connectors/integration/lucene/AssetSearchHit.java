@@ -0,0 +1,179 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+
+
+/**
+ * AssetSearchHit describes an asset that matched a search of the Lucene search index.
+ */
+public class AssetSearchHit
+{
+    private String guid          = null;
+    private String typeName      = null;
+    private String qualifiedName = null;
+    private String displayName   = null;
+    private float  score         = 0;
+    private Asset  asset         = null;
+
+
+    /**
+     * Default constructor
+     */
+    public AssetSearchHit()
+    {
+    }
+
+
+    /**
+     * Return the unique identifier of the asset.
+     *
+     * @return guid
+     */
+    public String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Set up the unique identifier of the asset.
+     *
+     * @param guid guid
+     */
+    public void setGUID(String guid)
+    {
+        this.guid = guid;
+    }
+
+
+    /**
+     * Return the name of the asset's type.
+     *
+     * @return type name
+     */
+    public String getTypeName()
+    {
+        return typeName;
+    }
+
+
+    /**
+     * Set up the name of the asset's type.
+     *
+     * @param typeName type name
+     */
+    public void setTypeName(String typeName)
+    {
+        this.typeName = typeName;
+    }
+
+
+    /**
+     * Return the unique name of the asset.
+     *
+     * @return qualified name
+     */
+    public String getQualifiedName()
+    {
+        return qualifiedName;
+    }
+
+
+    /**
+     * Set up the unique name of the asset.
+     *
+     * @param qualifiedName qualified name
+     */
+    public void setQualifiedName(String qualifiedName)
+    {
+        this.qualifiedName = qualifiedName;
+    }
+
+
+    /**
+     * Return the display name of the asset.
+     *
+     * @return display name
+     */
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+
+
+    /**
+     * Set up the display name of the asset.
+     *
+     * @param displayName display name
+     */
+    public void setDisplayName(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+
+    /**
+     * Return how well the asset matched the search.  Higher is better.
+     *
+     * @return score
+     */
+    public float getScore()
+    {
+        return score;
+    }
+
+
+    /**
+     * Set up how well the asset matched the search.
+     *
+     * @param score score
+     */
+    public void setScore(float score)
+    {
+        this.score = score;
+    }
+
+
+    /**
+     * Return the asset as it was last reported by the Asset Catalog OMAS.
+     *
+     * @return asset
+     */
+    public Asset getAsset()
+    {
+        return asset;
+    }
+
+
+    /**
+     * Set up the asset as it was last reported by the Asset Catalog OMAS.
+     *
+     * @param asset asset
+     */
+    public void setAsset(Asset asset)
+    {
+        this.asset = asset;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AssetSearchHit{" +
+                       "guid='" + guid + '\'' +
+                       ", typeName='" + typeName + '\'' +
+                       ", qualifiedName='" + qualifiedName + '\'' +
+                       ", displayName='" + displayName + '\'' +
+                       ", score=" + score +
+                       ", asset=" + asset +
+                       '}';
+    }
+}
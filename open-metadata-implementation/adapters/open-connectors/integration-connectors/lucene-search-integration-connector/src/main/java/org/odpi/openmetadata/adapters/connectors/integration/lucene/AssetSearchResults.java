@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * AssetSearchResults returns a page of the assets that matched a search of the Lucene search index, along with
+ * the total number of matching assets and the number of matching assets for each value of the facets.
+ * The facets are the asset's type, its governance zones and its owner.  The facet values can be passed back
+ * on a subsequent search to narrow the results.
+ */
+public class AssetSearchResults
+{
+    /**
+     * Name of the facet for the asset's type name.
+     */
+    public static final String TYPE_FACET  = "type";
+
+    /**
+     * Name of the facet for the governance zones that the asset is a member of.
+     */
+    public static final String ZONE_FACET  = "zone";
+
+    /**
+     * Name of the facet for the asset's owner.
+     */
+    public static final String OWNER_FACET = "owner";
+
+    private long                             totalHits = 0;
+    private List<AssetSearchHit>             hits      = null;
+    private Map<String, Map<String, Long>>   facets    = null;
+
+
+    /**
+     * Default constructor
+     */
+    public AssetSearchResults()
+    {
+    }
+
+
+    /**
+     * Return the total number of assets that matched the search.
+     *
+     * @return count
+     */
+    public long getTotalHits()
+    {
+        return totalHits;
+    }
+
+
+    /**
+     * Set up the total number of assets that matched the search.
+     *
+     * @param totalHits count
+     */
+    public void setTotalHits(long totalHits)
+    {
+        this.totalHits = totalHits;
+    }
+
+
+    /**
+     * Return the requested page of matching assets, best match first.
+     *
+     * @return list of hits
+     */
+    public List<AssetSearchHit> getHits()
+    {
+        return hits;
+    }
+
+
+    /**
+     * Set up the requested page of matching assets.
+     *
+     * @param hits list of hits
+     */
+    public void setHits(List<AssetSearchHit> hits)
+    {
+        this.hits = hits;
+    }
+
+
+    /**
+     * Return the number of matching assets for the most common values of each facet.  The map is keyed by
+     * facet name and then by facet value.
+     *
+     * @return map of facet name to map of value to count
+     */
+    public Map<String, Map<String, Long>> getFacets()
+    {
+        return facets;
+    }
+
+
+    /**
+     * Set up the number of matching assets for the most common values of each facet.
+     *
+     * @param facets map of facet name to map of value to count
+     */
+    public void setFacets(Map<String, Map<String, Long>> facets)
+    {
+        this.facets = facets;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AssetSearchResults{" +
+                       "totalHits=" + totalHits +
+                       ", hits=" + hits +
+                       ", facets=" + facets +
+                       '}';
+    }
+}
@@ -0,0 +1,782 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.odpi.openmetadata.adapters.connectors.integration.lucene.ffdc.LuceneSearchIntegrationConnectorAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * LuceneSearchIndex maintains an Apache Lucene index of assets.
+ *
+ * Assets are saved to a pending map keyed by GUID, so an asset that is saved several times before it is indexed is
+ * only indexed once, in its latest form.  A background thread adds the pending assets to the index in batches.
+ * It waits up to the refresh interval after the first pending asset arrives (or until the batch is full), indexes
+ * the batch and then refreshes the searcher so that the batch can be found (near-real-time search).  A saved asset
+ * can be found within the refresh interval, plus the time to index its batch.  The index is committed to its
+ * directory at the commit interval.  If the pending map is full, saveAsset blocks until the background thread has
+ * taken the next batch.
+ */
+class LuceneSearchIndex
+{
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIndex.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static final String GUID_FIELD           = "guid";
+    static final String TYPE_FIELD           = "type";
+    static final String ZONE_FIELD           = "zone";
+    static final String OWNER_FIELD          = "owner";
+    static final String QUALIFIED_NAME_FIELD = "qualifiedName";
+    static final String DISPLAY_NAME_FIELD   = "displayName";
+    static final String DESCRIPTION_FIELD    = "description";
+    static final String CONTENT_FIELD        = "content";
+    static final String ASSET_FIELD          = "asset";
+
+    private static final String[] FACETS = { AssetSearchResults.TYPE_FACET, AssetSearchResults.ZONE_FACET, AssetSearchResults.OWNER_FACET };
+
+    private static final int    PENDING_BATCHES    = 4;
+    private static final double RAM_BUFFER_SIZE_MB = 64;
+
+    private final Directory       directory;
+    private final long            refreshInterval;
+    private final long            commitInterval;
+    private final int             maxBatchSize;
+    private final String          connectorName;
+    private final AuditLog        auditLog;
+
+    private final Analyzer        analyzer;
+    private final FacetsConfig    facetsConfig;
+    private final IndexWriter     indexWriter;
+    private final SearcherManager searcherManager;
+    private final Thread          indexingThread;
+
+    /*
+     * The pending assets and the counters are guarded by the lock.  The sequence numbers count the calls to
+     * saveAsset so that flush can wait until everything saved before it is searchable.
+     */
+    private final Object                 lock               = new Object();
+    private LinkedHashMap<String, Asset> pendingAssets      = new LinkedHashMap<>();
+    private long                         firstPendingTime   = 0;
+    private long                         savedSequence      = 0;
+    private long                         searchableSequence = 0;
+    private boolean                      flushRequested     = false;
+    private boolean                      closed             = false;
+    private long                         lastCommitTime     = System.currentTimeMillis();
+
+    /*
+     * Facet counting needs the ordinals of the facet values in the current reader.  They are cached until the
+     * searcher is refreshed.
+     */
+    private IndexReader                   readerStateReader = null;
+    private SortedSetDocValuesReaderState readerState       = null;
+
+
+    /**
+     * Open the index and start the indexing thread.
+     *
+     * @param directory directory holding the index
+     * @param refreshInterval maximum time in milliseconds before a saved asset can be found by searches
+     * @param commitInterval time in milliseconds between saving the index to the directory
+     * @param maxBatchSize number of pending assets that causes a batch to be indexed before the refresh interval ends
+     * @param connectorName name of the connector for messages
+     * @param auditLog logging destination
+     * @throws IOException unable to open the index
+     */
+    LuceneSearchIndex(Directory directory,
+                      long      refreshInterval,
+                      long      commitInterval,
+                      int       maxBatchSize,
+                      String    connectorName,
+                      AuditLog  auditLog) throws IOException
+    {
+        this.directory       = directory;
+        this.refreshInterval = refreshInterval;
+        this.commitInterval  = commitInterval;
+        this.maxBatchSize    = Math.max(1, maxBatchSize);
+        this.connectorName   = connectorName;
+        this.auditLog        = auditLog;
+
+        /*
+         * The identifying fields are matched exactly; the rest are tokenized.
+         */
+        Map<String, Analyzer> keywordFields = new HashMap<>();
+        keywordFields.put(GUID_FIELD, new KeywordAnalyzer());
+        keywordFields.put(TYPE_FIELD, new KeywordAnalyzer());
+        keywordFields.put(ZONE_FIELD, new KeywordAnalyzer());
+        keywordFields.put(OWNER_FIELD, new KeywordAnalyzer());
+
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), keywordFields);
+
+        this.facetsConfig = new FacetsConfig();
+        this.facetsConfig.setMultiValued(AssetSearchResults.ZONE_FACET, true);
+
+        IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
+        indexWriterConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        indexWriterConfig.setRAMBufferSizeMB(RAM_BUFFER_SIZE_MB);
+
+        this.indexWriter     = new IndexWriter(directory, indexWriterConfig);
+        this.searcherManager = new SearcherManager(indexWriter, new SearcherFactory());
+
+        this.indexingThread = new Thread(this::indexPendingAssets, connectorName + " indexer");
+        this.indexingThread.setDaemon(true);
+        this.indexingThread.start();
+    }
+
+
+    /**
+     * Save an asset to the index.  It replaces any earlier version of the asset that is waiting to be indexed.
+     * This method blocks if there are too many assets waiting to be indexed.
+     *
+     * @param asset asset to index
+     * @return false if the index is closed
+     */
+    boolean saveAsset(Asset asset)
+    {
+        String guid = asset.getGUID();
+
+        synchronized (lock)
+        {
+            while ((! closed) && (pendingAssets.size() >= maxBatchSize * PENDING_BATCHES) && (! pendingAssets.containsKey(guid)))
+            {
+                try
+                {
+                    lock.wait();
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            if (closed)
+            {
+                return false;
+            }
+
+            if (pendingAssets.isEmpty())
+            {
+                firstPendingTime = System.currentTimeMillis();
+            }
+
+            pendingAssets.put(guid, asset);
+            savedSequence ++;
+
+            /*
+             * The indexing thread is woken for the first asset of a batch and when the batch is full.
+             */
+            if ((pendingAssets.size() == 1) || (pendingAssets.size() == maxBatchSize))
+            {
+                lock.notifyAll();
+            }
+
+            return true;
+        }
+    }
+
+
+    /**
+     * Wait until all the assets saved before this call can be found by searches.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    void flush() throws InterruptedException
+    {
+        synchronized (lock)
+        {
+            long targetSequence = savedSequence;
+
+            flushRequested = true;
+            lock.notifyAll();
+
+            while ((searchableSequence < targetSequence) && (indexingThread.isAlive()))
+            {
+                lock.wait(refreshInterval + 1000);
+            }
+        }
+    }
+
+
+    /**
+     * Save the indexed assets to the directory.
+     *
+     * @throws IOException unable to write to the directory
+     */
+    void commit() throws IOException
+    {
+        indexWriter.commit();
+
+        synchronized (lock)
+        {
+            lastCommitTime = System.currentTimeMillis();
+        }
+    }
+
+
+    /**
+     * Return the number of assets that can be found by searches.
+     *
+     * @return count
+     * @throws IOException unable to read the index
+     */
+    int getAssetCount() throws IOException
+    {
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try
+        {
+            return searcher.getIndexReader().numDocs();
+        }
+        finally
+        {
+            searcherManager.release(searcher);
+        }
+    }
+
+
+    /**
+     * Search the index.
+     *
+     * @param searchString query in the Lucene classic query parser syntax; null or blank matches all assets
+     * @param facetFilters values of the facets that matching assets must have, keyed by facet name;
+     *                     an asset matches if it has any of the values for a facet
+     * @param startFrom index of the first hit to return
+     * @param pageSize maximum number of hits to return
+     * @param maxFacetValues maximum number of values to count for each facet
+     * @return results
+     * @throws ParseException the search string is not valid
+     * @throws IOException unable to read the index
+     */
+    AssetSearchResults search(String                    searchString,
+                              Map<String, List<String>> facetFilters,
+                              int                       startFrom,
+                              int                       pageSize,
+                              int                       maxFacetValues) throws ParseException, IOException
+    {
+        Query query;
+
+        if ((searchString == null) || (searchString.isBlank()))
+        {
+            query = new MatchAllDocsQuery();
+        }
+        else
+        {
+            /*
+             * QueryParser is not thread safe so a new one is used for each search.
+             */
+            QueryParser queryParser = new QueryParser(CONTENT_FIELD, analyzer);
+
+            query = queryParser.parse(searchString);
+        }
+
+        if ((facetFilters != null) && (! facetFilters.isEmpty()))
+        {
+            DrillDownQuery drillDownQuery = new DrillDownQuery(facetsConfig, query);
+
+            for (Map.Entry<String, List<String>> facetFilter : facetFilters.entrySet())
+            {
+                if (facetFilter.getValue() != null)
+                {
+                    for (String value : facetFilter.getValue())
+                    {
+                        if ((value != null) && (! value.isEmpty()))
+                        {
+                            drillDownQuery.add(facetFilter.getKey(), value);
+                        }
+                    }
+                }
+            }
+
+            query = drillDownQuery;
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try
+        {
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs         topDocs         = FacetsCollector.search(searcher, query, Math.max(1, startFrom + pageSize), facetsCollector);
+
+            List<AssetSearchHit> hits = new ArrayList<>();
+
+            for (int i = startFrom; i < Math.min(topDocs.scoreDocs.length, startFrom + pageSize); i++)
+            {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = searcher.doc(scoreDoc.doc);
+
+                AssetSearchHit hit = new AssetSearchHit();
+
+                hit.setGUID(document.get(GUID_FIELD));
+                hit.setTypeName(document.get(TYPE_FIELD));
+                hit.setQualifiedName(document.get(QUALIFIED_NAME_FIELD));
+                hit.setDisplayName(document.get(DISPLAY_NAME_FIELD));
+                hit.setScore(scoreDoc.score);
+                hit.setAsset(OBJECT_MAPPER.readValue(document.get(ASSET_FIELD), Asset.class));
+
+                hits.add(hit);
+            }
+
+            AssetSearchResults results = new AssetSearchResults();
+
+            results.setTotalHits(topDocs.totalHits.value);
+            results.setHits(hits);
+            results.setFacets(this.countFacets(searcher, facetsCollector, maxFacetValues));
+
+            return results;
+        }
+        finally
+        {
+            searcherManager.release(searcher);
+        }
+    }
+
+
+    /**
+     * Stop indexing, index any pending assets and save the index to the directory.
+     *
+     * @throws IOException unable to save the index
+     */
+    void close() throws IOException
+    {
+        synchronized (lock)
+        {
+            closed = true;
+            lock.notifyAll();
+        }
+
+        try
+        {
+            indexingThread.join();
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        try
+        {
+            indexWriter.commit();
+        }
+        finally
+        {
+            searcherManager.close();
+            indexWriter.close();
+            directory.close();
+        }
+    }
+
+
+    /**
+     * Body of the indexing thread.  It takes the pending assets in batches and indexes them until the index is
+     * closed and there are no more pending assets.  The searcher is refreshed when the thread has caught up with
+     * the saved assets, or when the oldest asset that is not yet searchable has waited for the refresh interval.
+     * This means that while assets are arriving faster than a batch can be indexed, the cost of the refresh is
+     * paid once per refresh interval rather than once per batch.
+     */
+    private void indexPendingAssets()
+    {
+        long unsearchableSince    = 0;
+        long unsearchableSequence = 0;
+
+        while (true)
+        {
+            Map<String, Asset> batch;
+            long               batchSequence;
+            boolean            refreshDue;
+            boolean            commitDue;
+
+            synchronized (lock)
+            {
+                try
+                {
+                    while ((! closed) && (pendingAssets.isEmpty()))
+                    {
+                        lock.wait();
+                    }
+
+                    /*
+                     * Wait for more events to arrive, unless the batch is full or it is needed now.
+                     */
+                    long oldestTime = firstPendingTime;
+
+                    if ((unsearchableSince != 0) && (unsearchableSince < oldestTime))
+                    {
+                        oldestTime = unsearchableSince;
+                    }
+
+                    long remainingTime = oldestTime + refreshInterval - System.currentTimeMillis();
+
+                    while ((! closed) && (! flushRequested) && (pendingAssets.size() < maxBatchSize) && (remainingTime > 0))
+                    {
+                        lock.wait(remainingTime);
+                        remainingTime = oldestTime + refreshInterval - System.currentTimeMillis();
+                    }
+                }
+                catch (InterruptedException interrupted)
+                {
+                    closed = true;
+                }
+
+                if (closed && pendingAssets.isEmpty())
+                {
+                    return;
+                }
+
+                if (unsearchableSince == 0)
+                {
+                    unsearchableSince = firstPendingTime;
+                }
+
+                batch          = pendingAssets;
+                batchSequence  = savedSequence;
+                pendingAssets  = new LinkedHashMap<>();
+                refreshDue     = flushRequested;
+                flushRequested = false;
+
+                /*
+                 * Wake any callers of saveAsset that are waiting for space.
+                 */
+                lock.notifyAll();
+            }
+
+            this.indexBatch(batch);
+
+            unsearchableSequence = batchSequence;
+
+            synchronized (lock)
+            {
+                refreshDue = refreshDue || closed || flushRequested || pendingAssets.isEmpty() ||
+                             (System.currentTimeMillis() - unsearchableSince >= refreshInterval);
+                commitDue  = (System.currentTimeMillis() - lastCommitTime) >= commitInterval;
+            }
+
+            if (refreshDue)
+            {
+                this.refreshSearcher();
+
+                unsearchableSince = 0;
+
+                synchronized (lock)
+                {
+                    searchableSequence = unsearchableSequence;
+                    lock.notifyAll();
+                }
+
+                if (commitDue)
+                {
+                    this.commitIndex();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add a batch of assets to the index.  They are not searchable until the searcher is refreshed.
+     *
+     * @param batch assets keyed by GUID
+     */
+    private void indexBatch(Map<String, Asset> batch)
+    {
+        final String methodName = "indexBatch";
+
+        try
+        {
+            for (Map.Entry<String, Asset> pendingAsset : batch.entrySet())
+            {
+                indexWriter.updateDocument(new Term(GUID_FIELD, pendingAsset.getKey()),
+                                           facetsConfig.build(this.getDocument(pendingAsset.getKey(), pendingAsset.getValue())));
+            }
+        }
+        catch (Exception error)
+        {
+            log.error("Unable to index " + batch.size() + " assets", error);
+
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      LuceneSearchIntegrationConnectorAuditCode.UNEXPECTED_EXC_INDEXING.getMessageDefinition(connectorName,
+                                                                                                                             error.getClass().getName(),
+                                                                                                                             Integer.toString(batch.size()),
+                                                                                                                             error.getMessage()),
+                                      error);
+            }
+        }
+    }
+
+
+    /**
+     * Make the indexed assets searchable.
+     */
+    private void refreshSearcher()
+    {
+        try
+        {
+            searcherManager.maybeRefreshBlocking();
+        }
+        catch (Exception error)
+        {
+            log.error("Unable to refresh the searcher", error);
+        }
+    }
+
+
+    /**
+     * Save the index to the directory from the indexing thread.
+     */
+    private void commitIndex()
+    {
+        final String methodName = "commitIndex";
+
+        try
+        {
+            this.commit();
+        }
+        catch (Exception error)
+        {
+            log.error("Unable to commit the index", error);
+
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      LuceneSearchIntegrationConnectorAuditCode.UNEXPECTED_EXC_COMMIT.getMessageDefinition(connectorName,
+                                                                                                                           error.getClass().getName(),
+                                                                                                                           error.getMessage()),
+                                      error);
+            }
+        }
+    }
+
+
+    /**
+     * Build the Lucene document for an asset.  The searchable text of the asset is also added to a single
+     * content field that is used when a search does not name a field.
+     *
+     * @param guid unique identifier of the asset
+     * @param asset asset to index
+     * @return document with its facet fields
+     * @throws IOException unable to serialize the asset
+     */
+    private Document getDocument(String guid,
+                                 Asset  asset) throws IOException
+    {
+        Document      document = new Document();
+        StringBuilder content  = new StringBuilder();
+
+        document.add(new StringField(GUID_FIELD, guid, Field.Store.YES));
+
+        String typeName = null;
+
+        if (asset.getType() != null)
+        {
+            typeName = asset.getType().getTypeName();
+        }
+
+        if ((typeName != null) && (! typeName.isEmpty()))
+        {
+            document.add(new StringField(TYPE_FIELD, typeName, Field.Store.YES));
+            document.add(new SortedSetDocValuesFacetField(AssetSearchResults.TYPE_FACET, typeName));
+            content.append(typeName).append(' ');
+        }
+
+        if (asset.getZoneMembership() != null)
+        {
+            for (String zone : asset.getZoneMembership())
+            {
+                if ((zone != null) && (! zone.isEmpty()))
+                {
+                    document.add(new StringField(ZONE_FIELD, zone, Field.Store.YES));
+                    document.add(new SortedSetDocValuesFacetField(AssetSearchResults.ZONE_FACET, zone));
+                }
+            }
+        }
+
+        if ((asset.getOwner() != null) && (! asset.getOwner().isEmpty()))
+        {
+            document.add(new StringField(OWNER_FIELD, asset.getOwner(), Field.Store.YES));
+            document.add(new SortedSetDocValuesFacetField(AssetSearchResults.OWNER_FACET, asset.getOwner()));
+            content.append(asset.getOwner()).append(' ');
+        }
+
+        String displayName = asset.getDisplayName();
+
+        if (displayName == null)
+        {
+            displayName = asset.getResourceName();
+        }
+
+        String description = asset.getDisplayDescription();
+
+        if (description == null)
+        {
+            description = asset.getResourceDescription();
+        }
+
+        this.addText(document, content, QUALIFIED_NAME_FIELD, asset.getQualifiedName());
+        this.addText(document, content, DISPLAY_NAME_FIELD, displayName);
+        this.addText(document, content, DESCRIPTION_FIELD, description);
+
+        if (asset.getAdditionalProperties() != null)
+        {
+            for (String value : asset.getAdditionalProperties().values())
+            {
+                if (value != null)
+                {
+                    content.append(value).append(' ');
+                }
+            }
+        }
+
+        document.add(new TextField(CONTENT_FIELD, content.toString(), Field.Store.NO));
+        document.add(new StoredField(ASSET_FIELD, OBJECT_MAPPER.writeValueAsString(asset)));
+
+        return document;
+    }
+
+
+    /**
+     * Add a stored text field to the document and its value to the content.
+     *
+     * @param document document to add the field to
+     * @param content content field text
+     * @param fieldName name of the field
+     * @param value value of the field
+     */
+    private void addText(Document      document,
+                         StringBuilder content,
+                         String        fieldName,
+                         String        value)
+    {
+        if (value != null)
+        {
+            document.add(new TextField(fieldName, value, Field.Store.YES));
+            content.append(value).append(' ');
+        }
+    }
+
+
+    /**
+     * Count the matching assets for the most common values of each facet.
+     *
+     * @param searcher searcher used for the search
+     * @param facetsCollector matching documents
+     * @param maxFacetValues maximum number of values to return for each facet
+     * @return map of facet name to map of value to count
+     * @throws IOException unable to read the index
+     */
+    private Map<String, Map<String, Long>> countFacets(IndexSearcher   searcher,
+                                                       FacetsCollector facetsCollector,
+                                                       int             maxFacetValues) throws IOException
+    {
+        Map<String, Map<String, Long>> facetCounts = new HashMap<>();
+        SortedSetDocValuesReaderState  state       = this.getReaderState(searcher.getIndexReader());
+
+        if ((state == null) || (maxFacetValues <= 0))
+        {
+            return facetCounts;
+        }
+
+        Facets facets = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+
+        for (String facetName : FACETS)
+        {
+            Map<String, Long> valueCounts = new LinkedHashMap<>();
+
+            try
+            {
+                FacetResult facetResult = facets.getTopChildren(maxFacetValues, facetName);
+
+                if (facetResult != null)
+                {
+                    for (LabelAndValue labelAndValue : facetResult.labelValues)
+                    {
+                        valueCounts.put(labelAndValue.label, labelAndValue.value.longValue());
+                    }
+                }
+            }
+            catch (IllegalArgumentException noValues)
+            {
+                /*
+                 * No asset in the index has a value for this facet.
+                 */
+            }
+
+            facetCounts.put(facetName, valueCounts);
+        }
+
+        return facetCounts;
+    }
+
+
+    /**
+     * Return the facet ordinals for a reader, building them if the reader has changed since the last search.
+     *
+     * @param reader reader of the current searcher
+     * @return state or null if no asset in the index has any facet values
+     * @throws IOException unable to read the index
+     */
+    private synchronized SortedSetDocValuesReaderState getReaderState(IndexReader reader) throws IOException
+    {
+        if (reader != readerStateReader)
+        {
+            readerStateReader = reader;
+
+            try
+            {
+                readerState = new DefaultSortedSetDocValuesReaderState(reader);
+            }
+            catch (IllegalArgumentException noFacets)
+            {
+                readerState = null;
+            }
+        }
+
+        return readerState;
+    }
+}
@@ -0,0 +1,352 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.odpi.openmetadata.accessservices.assetcatalog.model.AssetCatalogEvent;
+import org.odpi.openmetadata.adapters.connectors.integration.lucene.ffdc.LuceneSearchIntegrationConnectorAuditCode;
+import org.odpi.openmetadata.adapters.connectors.integration.lucene.ffdc.LuceneSearchIntegrationConnectorErrorCode;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.integrationservices.search.connector.SearchIntegratorConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * LuceneSearchIntegrationConnector maintains an embedded Apache Lucene search index of the assets received from
+ * the Asset Catalog OMAS.  The endpoint address is the directory that holds the index.  If there is no endpoint
+ * address, the index is held in memory and is rebuilt from the events each time the connector starts.
+ *
+ * The events are indexed in batches by LuceneSearchIndex.  Repeated events for the same asset within a batch are
+ * coalesced and a batch can be found by searches as soon as it is indexed.  The findAssets method searches
+ * the index and returns the matching assets with counts of their types, zones and owners.
+ */
+public class LuceneSearchIntegrationConnector extends SearchIntegratorConnector
+{
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIntegrationConnector.class);
+
+    private static final long DEFAULT_REFRESH_INTERVAL = 1000;  // milliseconds
+    private static final long DEFAULT_COMMIT_INTERVAL  = 60000; // milliseconds
+    private static final int  DEFAULT_MAX_BATCH_SIZE   = 1000;  // assets
+    private static final int  MAX_PAGE_SIZE            = 1000;  // assets
+    private static final int  MAX_FACET_VALUES         = 100;   // values for each facet
+
+    private String                     indexLocation   = null;
+    private long                       refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    private long                       commitInterval  = DEFAULT_COMMIT_INTERVAL;
+    private int                        maxBatchSize    = DEFAULT_MAX_BATCH_SIZE;
+    private volatile LuceneSearchIndex searchIndex     = null;
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.
+     * This call can be used to register with non-blocking services.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public synchronized void start() throws ConnectorCheckedException
+    {
+        super.start();
+
+        final String methodName = "start";
+
+        /*
+         * Extract the configuration
+         */
+        EndpointProperties endpoint = connectionProperties.getEndpoint();
+
+        if (endpoint != null)
+        {
+            indexLocation = endpoint.getAddress();
+        }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            refreshInterval = this.getLongProperty(configurationProperties, LuceneSearchIntegrationProvider.REFRESH_INTERVAL_CONFIGURATION_PROPERTY, DEFAULT_REFRESH_INTERVAL);
+            commitInterval  = this.getLongProperty(configurationProperties, LuceneSearchIntegrationProvider.COMMIT_INTERVAL_CONFIGURATION_PROPERTY, DEFAULT_COMMIT_INTERVAL);
+            maxBatchSize    = (int)this.getLongProperty(configurationProperties, LuceneSearchIntegrationProvider.MAX_BATCH_SIZE_CONFIGURATION_PROPERTY, DEFAULT_MAX_BATCH_SIZE);
+        }
+
+        /*
+         * Open the index
+         */
+        try
+        {
+            Directory directory;
+
+            if ((indexLocation == null) || (indexLocation.isBlank()))
+            {
+                indexLocation = "memory";
+                directory     = new ByteBuffersDirectory();
+            }
+            else
+            {
+                directory = FSDirectory.open(Paths.get(indexLocation));
+            }
+
+            searchIndex = new LuceneSearchIndex(directory, refreshInterval, commitInterval, maxBatchSize, connectorName, auditLog);
+
+            /*
+             * Record the configuration
+             */
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    LuceneSearchIntegrationConnectorAuditCode.CONNECTOR_CONFIGURATION.getMessageDefinition(connectorName,
+                                                                                                                           indexLocation,
+                                                                                                                           Integer.toString(searchIndex.getAssetCount()),
+                                                                                                                           Long.toString(refreshInterval),
+                                                                                                                           Long.toString(commitInterval),
+                                                                                                                           Integer.toString(maxBatchSize)));
+            }
+        }
+        catch (Exception error)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      LuceneSearchIntegrationConnectorAuditCode.UNEXPECTED_EXC_OPENING_INDEX.getMessageDefinition(connectorName,
+                                                                                                                                  error.getClass().getName(),
+                                                                                                                                  indexLocation,
+                                                                                                                                  error.getMessage()),
+                                      error);
+            }
+
+            throw new ConnectorCheckedException(LuceneSearchIntegrationConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(connectorName,
+                                                                                                                                       indexLocation,
+                                                                                                                                       error.getMessage()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error);
+        }
+    }
+
+
+    /**
+     * Add the asset from an event to the search index.  It can be found by searches within the refresh interval.
+     *
+     * @param assetCatalogEvent the event which contains the asset
+     */
+    @Override
+    public void saveAsset(AssetCatalogEvent assetCatalogEvent)
+    {
+        LuceneSearchIndex index = searchIndex;
+
+        if ((index == null) || (assetCatalogEvent == null))
+        {
+            return;
+        }
+
+        Asset asset = assetCatalogEvent.getAsset();
+
+        if ((asset == null) || (asset.getGUID() == null))
+        {
+            return;
+        }
+
+        log.debug("saving to search index {}", asset.getGUID());
+
+        index.saveAsset(asset);
+    }
+
+
+    /**
+     * Search the index for assets.  The search string uses the Apache Lucene classic query syntax.  Words that are
+     * not qualified by a field name are matched against the type, owner, names, description and additional
+     * properties of the assets.  The qualifiedName, displayName, description, type, zone and owner fields may be
+     * named explicitly.
+     *
+     * @param searchString query; null or blank matches all assets
+     * @param facetFilters facet values that the assets must have, keyed by facet name (type, zone or owner)
+     * @param startFrom index of the first asset to return
+     * @param pageSize maximum number of assets to return; 0 means the maximum page size
+     * @return matching assets and the counts of their facet values
+     * @throws InvalidParameterException the search string is not valid
+     * @throws ConnectorCheckedException the index is not open or can not be read
+     */
+    public AssetSearchResults findAssets(String                    searchString,
+                                         Map<String, List<String>> facetFilters,
+                                         int                       startFrom,
+                                         int                       pageSize) throws InvalidParameterException,
+                                                                                    ConnectorCheckedException
+    {
+        final String methodName = "findAssets";
+        final String searchStringParameterName = "searchString";
+
+        LuceneSearchIndex index = searchIndex;
+
+        if (index == null)
+        {
+            throw new ConnectorCheckedException(LuceneSearchIntegrationConnectorErrorCode.INDEX_NOT_OPEN.getMessageDefinition(connectorName),
+                                                this.getClass().getName(),
+                                                methodName);
+        }
+
+        int queryPageSize = pageSize;
+
+        if ((queryPageSize <= 0) || (queryPageSize > MAX_PAGE_SIZE))
+        {
+            queryPageSize = MAX_PAGE_SIZE;
+        }
+
+        try
+        {
+            return index.search(searchString, facetFilters, Math.max(0, startFrom), queryPageSize, MAX_FACET_VALUES);
+        }
+        catch (ParseException error)
+        {
+            throw new InvalidParameterException(LuceneSearchIntegrationConnectorErrorCode.BAD_SEARCH_STRING.getMessageDefinition(connectorName,
+                                                                                                                                  searchString,
+                                                                                                                                  error.getMessage()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error,
+                                                searchStringParameterName);
+        }
+        catch (Exception error)
+        {
+            throw new ConnectorCheckedException(LuceneSearchIntegrationConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(connectorName,
+                                                                                                                                       indexLocation,
+                                                                                                                                       error.getMessage()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error);
+        }
+    }
+
+
+    /**
+     * Save the index to its directory.
+     *
+     * @throws ConnectorCheckedException there is a problem with the connector.  It is not able to refresh the metadata.
+     */
+    @Override
+    public synchronized void refresh() throws ConnectorCheckedException
+    {
+        final String methodName = "refresh";
+
+        LuceneSearchIndex index = searchIndex;
+
+        if (index != null)
+        {
+            try
+            {
+                index.commit();
+            }
+            catch (Exception error)
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          LuceneSearchIntegrationConnectorAuditCode.UNEXPECTED_EXC_COMMIT.getMessageDefinition(connectorName,
+                                                                                                                               error.getClass().getName(),
+                                                                                                                               error.getMessage()),
+                                          error);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Index any pending events, save the index and close it.
+     *
+     * @throws ConnectorCheckedException something failed in the super class
+     */
+    @Override
+    public synchronized void disconnect() throws ConnectorCheckedException
+    {
+        final String methodName = "disconnect";
+
+        LuceneSearchIndex index = searchIndex;
+
+        searchIndex = null;
+
+        if (index != null)
+        {
+            try
+            {
+                index.flush();
+
+                int assetCount = index.getAssetCount();
+
+                index.close();
+
+                if (auditLog != null)
+                {
+                    auditLog.logMessage(methodName,
+                                        LuceneSearchIntegrationConnectorAuditCode.CONNECTOR_STOPPING.getMessageDefinition(connectorName,
+                                                                                                                          Integer.toString(assetCount)));
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (Exception error)
+            {
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          LuceneSearchIntegrationConnectorAuditCode.UNEXPECTED_EXC_COMMIT.getMessageDefinition(connectorName,
+                                                                                                                               error.getClass().getName(),
+                                                                                                                               error.getMessage()),
+                                          error);
+                }
+            }
+        }
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Return a numeric configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is missing or not a number
+     * @return value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                /*
+                 * Use the default.
+                 */
+            }
+        }
+
+        return defaultValue;
+    }
+}
@@ -0,0 +1,91 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.frameworks.integration.connectors.IntegrationConnectorProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * LuceneSearchIntegrationProvider is the connector provider for the search integration connector that maintains
+ * an embedded Apache Lucene index of the assets received from the Asset Catalog OMAS.
+ */
+public class LuceneSearchIntegrationProvider extends IntegrationConnectorProvider
+{
+    /*
+     * Unique identifier of the connector for the audit log.
+     */
+    private static final int    connectorComponentId   = 661;
+
+    /*
+     * Unique identifier for the connector type.
+     */
+    private static final String connectorTypeGUID      = "d567afde-8985-4a64-acea-9ef86dafee24";
+
+    /*
+     * Descriptive information about the connector for the connector type and audit log.
+     */
+    private static final String connectorQualifiedName = "Egeria:IntegrationConnector:Search:LuceneSearch";
+    private static final String connectorDisplayName   = "Lucene Search Integration Connector";
+    private static final String connectorDescription   = "Connector maintains an embedded Apache Lucene search index of the assets received from the Asset Catalog OMAS.";
+    private static final String connectorWikiPage      = "https://egeria-project.org/connectors/integration/lucene-search-integration-connector/";
+
+    /*
+     * Class of the connector.
+     */
+    private static final Class<?> connectorClass       = LuceneSearchIntegrationConnector.class;
+
+
+    static final String REFRESH_INTERVAL_CONFIGURATION_PROPERTY = "refreshInterval";
+    static final String COMMIT_INTERVAL_CONFIGURATION_PROPERTY  = "commitInterval";
+    static final String MAX_BATCH_SIZE_CONFIGURATION_PROPERTY   = "maxBatchSize";
+
+    /**
+     * Constructor used to initialize the ConnectorProvider with the Java class name of the specific
+     * store implementation.
+     */
+    public LuceneSearchIntegrationProvider()
+    {
+        super();
+
+        /*
+         * Set up the class name of the connector that this provider creates.
+         */
+        super.setConnectorClassName(connectorClass.getName());
+
+        /*
+         * Set up the connector type that should be included in a connection used to configure this connector.
+         */
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setType(ConnectorType.getConnectorTypeType());
+        connectorType.setGUID(connectorTypeGUID);
+        connectorType.setQualifiedName(connectorQualifiedName);
+        connectorType.setDisplayName(connectorDisplayName);
+        connectorType.setDescription(connectorDescription);
+        connectorType.setConnectorProviderClassName(this.getClass().getName());
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(REFRESH_INTERVAL_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(COMMIT_INTERVAL_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(MAX_BATCH_SIZE_CONFIGURATION_PROPERTY);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
+        super.connectorTypeBean = connectorType;
+
+        /*
+         * Set up the component description used in the connector's audit log messages.
+         */
+        AuditLogReportingComponent componentDescription = new AuditLogReportingComponent();
+
+        componentDescription.setComponentId(connectorComponentId);
+        componentDescription.setComponentName(connectorQualifiedName);
+        componentDescription.setComponentDescription(connectorDescription);
+        componentDescription.setComponentWikiURL(connectorWikiPage);
+
+        super.setConnectorComponentDescription(componentDescription);
+    }
+}
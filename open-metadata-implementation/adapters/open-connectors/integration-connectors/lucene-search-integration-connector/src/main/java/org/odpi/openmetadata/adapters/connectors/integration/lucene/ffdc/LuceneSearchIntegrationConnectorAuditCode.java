@@ -0,0 +1,152 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.lucene.ffdc;
+
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageSet;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+
+
+/**
+ * The LuceneSearchIntegrationConnectorAuditCode is used to define the message content for the OMRS Audit Log.
+ *
+ * The 5 fields in the enum are:
+ * <ul>
+ *     <li>Log Message Id - to uniquely identify the message</li>
+ *     <li>Severity - is this an event, decision, action, error or exception</li>
+ *     <li>Log Message Text - includes placeholder to allow additional values to be captured</li>
+ *     <li>Additional Information - further parameters and data relating to the audit message (optional)</li>
+ *     <li>SystemAction - describes the result of the situation</li>
+ *     <li>UserAction - describes how a user should correct the situation</li>
+ * </ul>
+ */
+public enum LuceneSearchIntegrationConnectorAuditCode implements AuditLogMessageSet
+{
+    CONNECTOR_CONFIGURATION("LUCENE-SEARCH-INTEGRATION-CONNECTOR-0001",
+                            OMRSAuditLogRecordSeverity.INFO,
+                            "The {0} integration connector has opened the search index in {1} containing {2} assets with refreshInterval={3}, commitInterval={4} and maxBatchSize={5}",
+                            "The connector maintains an embedded Apache Lucene index of the assets that are reported by the Asset Catalog OMAS.  " +
+                                    "The events for the assets are collected for up to refreshInterval milliseconds (or until maxBatchSize assets " +
+                                    "are waiting) and are then added to the index together so that they can be found by searches.  " +
+                                    "The index is saved to disk every commitInterval milliseconds.  If no directory is configured, the index is held in memory.",
+                            "No specific action is required.  This message is to confirm the configuration for the integration connector."),
+
+    UNEXPECTED_EXC_OPENING_INDEX("LUCENE-SEARCH-INTEGRATION-CONNECTOR-0002",
+                                 OMRSAuditLogRecordSeverity.EXCEPTION,
+                                 "The {0} integration connector received an unexpected {1} exception when opening the search index in {2}.  The error message was {3}",
+                                 "The exception is passed back to the Search Integrator OMIS in the integration daemon that is hosting " +
+                                         "this connector to enable it to perform error handling.",
+                                 "Use the information from the exception to determine why the connector is not able to open the index.  " +
+                                         "Check that the directory in the address property of the connection's Endpoint object can be written to and " +
+                                         "that no other connector is using the same directory.  Then restart the connector."),
+
+    UNEXPECTED_EXC_INDEXING("LUCENE-SEARCH-INTEGRATION-CONNECTOR-0003",
+                            OMRSAuditLogRecordSeverity.EXCEPTION,
+                            "The {0} integration connector received an unexpected {1} exception when adding {2} assets to the search index.  The error message was {3}",
+                            "The exception is logged and the integration connector continues to process events.  " +
+                                    "The assets in this batch may not be found by searches until they are changed again.",
+                            "Use the information from the exception to determine the cause of the error, such as a full disk, and resolve it."),
+
+    UNEXPECTED_EXC_COMMIT("LUCENE-SEARCH-INTEGRATION-CONNECTOR-0004",
+                          OMRSAuditLogRecordSeverity.EXCEPTION,
+                          "The {0} integration connector received an unexpected {1} exception when saving the search index to disk.  The error message was {2}",
+                          "The exception is logged and the integration connector continues to process events.  " +
+                                  "The recent changes to the index remain searchable but will be lost if the integration daemon stops before the next successful save.",
+                          "Use the information from the exception to determine why the index directory can not be written to and resolve it.  " +
+                                  "The index is saved again at the next commit interval."),
+
+    CONNECTOR_STOPPING("LUCENE-SEARCH-INTEGRATION-CONNECTOR-0005",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "The {0} integration connector has saved the search index containing {1} assets and is shutting down",
+                       "The connector is disconnecting.",
+                       "No action is required unless there are errors that follow indicating that there were problems shutting down."),
+
+    ;
+
+    private final String                     logMessageId;
+    private final OMRSAuditLogRecordSeverity severity;
+    private final String                     logMessage;
+    private final String                     systemAction;
+    private final String                     userAction;
+
+
+    /**
+     * The constructor for LuceneSearchIntegrationConnectorAuditCode expects to be passed one of the enumeration rows defined in
+     * LuceneSearchIntegrationConnectorAuditCode above.   For example:
+     *
+     *     LuceneSearchIntegrationConnectorAuditCode   auditCode = LuceneSearchIntegrationConnectorAuditCode.CONNECTOR_STOPPING;
+     *
+     * This will expand out to the 4 parameters shown below.
+     *
+     * @param messageId - unique id for the message
+     * @param severity - severity of the message
+     * @param message - text for the message
+     * @param systemAction - description of the action taken by the system when the condition happened
+     * @param userAction - instructions for resolving the situation, if any
+     */
+    LuceneSearchIntegrationConnectorAuditCode(String                     messageId,
+                                             OMRSAuditLogRecordSeverity severity,
+                                             String                     message,
+                                             String                     systemAction,
+                                             String                     userAction)
+    {
+        this.logMessageId = messageId;
+        this.severity = severity;
+        this.logMessage = message;
+        this.systemAction = systemAction;
+        this.userAction = userAction;
+    }
+
+
+    /**
+     * Retrieve a message definition object for logging.  This method is used when there are no message inserts.
+     *
+     * @return message definition object.
+     */
+    @Override
+    public AuditLogMessageDefinition getMessageDefinition()
+    {
+        return new AuditLogMessageDefinition(logMessageId,
+                                             severity,
+                                             logMessage,
+                                             systemAction,
+                                             userAction);
+    }
+
+
+    /**
+     * Retrieve a message definition object for logging.  This method is used when there are values to be inserted into the message.
+     *
+     * @param params array of parameters (all strings).  They are inserted into the message according to the numbering in the message text.
+     * @return message definition object.
+     */
+    @Override
+    public AuditLogMessageDefinition getMessageDefinition(String ...params)
+    {
+        AuditLogMessageDefinition messageDefinition = new AuditLogMessageDefinition(logMessageId,
+                                                                                    severity,
+                                                                                    logMessage,
+                                                                                    systemAction,
+                                                                                    userAction);
+        messageDefinition.setMessageParameters(params);
+        return messageDefinition;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return string of property names and values for this enum
+     */
+    @Override
+    public String toString()
+    {
+        return "LuceneSearchIntegrationConnectorAuditCode{" +
+                "logMessageId='" + logMessageId + '\'' +
+                ", severity=" + severity +
+                ", logMessage='" + logMessage + '\'' +
+                ", systemAction='" + systemAction + '\'' +
+                ", userAction='" + userAction + '\'' +
+                '}';
+    }
+}
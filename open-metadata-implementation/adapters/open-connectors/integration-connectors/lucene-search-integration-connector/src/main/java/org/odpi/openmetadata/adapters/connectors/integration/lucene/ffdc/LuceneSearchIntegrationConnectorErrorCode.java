@@ -0,0 +1,113 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.lucene.ffdc;
+
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.ExceptionMessageDefinition;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.ExceptionMessageSet;
+
+/**
+ * The LuceneSearchIntegrationConnectorErrorCode is used to define first failure data capture (FFDC) for errors that occur when working with
+ * the Lucene Search Integration Connector.  It is used in conjunction with both Checked and Runtime (unchecked) exceptions.
+ *
+ * The 5 fields in the enum are:
+ * <ul>
+ *     <li>HTTP Error Code - for translating between REST and JAVA - Typically the numbers used are:</li>
+ *     <li><ul>
+ *         <li>500 - internal error</li>
+ *         <li>400 - invalid parameters</li>
+ *         <li>404 - not found</li>
+ *         <li>409 - data conflict errors - eg item already defined</li>
+ *     </ul></li>
+ *     <li>Error Message Id - to uniquely identify the message</li>
+ *     <li>Error Message Text - includes placeholder to allow additional values to be captured</li>
+ *     <li>SystemAction - describes the result of the error</li>
+ *     <li>UserAction - describes how a consumer should correct the error</li>
+ * </ul>
+ */
+public enum LuceneSearchIntegrationConnectorErrorCode implements ExceptionMessageSet
+{
+    BAD_SEARCH_STRING(400, "LUCENE-SEARCH-INTEGRATION-CONNECTOR-400-001",
+            "The {0} integration connector is unable to parse the search string {1}; the error message was: {2}",
+            "The search is rejected.",
+            "Correct the search string.  It uses the Apache Lucene classic query parser syntax.  For example, terms can be combined " +
+                    "with AND, OR and NOT, phrases are enclosed in double quotes and a field such as displayName or qualifiedName can be " +
+                    "named before the term (displayName:customers)."),
+    INDEX_NOT_OPEN(500, "LUCENE-SEARCH-INTEGRATION-CONNECTOR-500-001",
+             "The {0} integration connector can not search for assets because its search index is not open",
+             "The search is rejected because the connector has not been started or has been disconnected.",
+             "Start the connector in the integration daemon and retry the request."),
+    UNEXPECTED_IO_EXCEPTION(500, "LUCENE-SEARCH-INTEGRATION-CONNECTOR-500-002",
+             "The {0} integration connector received an unexpected IO exception when using the search index in {1}; the error message was: {2}",
+             "The connector is unable to use the search index.",
+             "Use the details from the error message to determine the cause of the error and retry the request once it is resolved."),
+    ;
+
+
+    private final ExceptionMessageDefinition messageDefinition;
+
+
+    /**
+     * The constructor for LuceneSearchIntegrationConnectorErrorCode expects to be passed one of the enumeration rows defined in
+     * LuceneSearchIntegrationConnectorErrorCode above.   For example:
+     *
+     *     LuceneSearchIntegrationConnectorErrorCode   errorCode = LuceneSearchIntegrationConnectorErrorCode.INDEX_NOT_OPEN;
+     *
+     * This will expand out to the 5 parameters shown below.
+     *
+     *
+     * @param httpErrorCode   error code to use over REST calls
+     * @param errorMessageId   unique id for the message
+     * @param errorMessage   text for the message
+     * @param systemAction   description of the action taken by the system when the error condition happened
+     * @param userAction   instructions for resolving the error
+     */
+    LuceneSearchIntegrationConnectorErrorCode(int  httpErrorCode, String errorMessageId, String errorMessage, String systemAction, String userAction)
+    {
+        this.messageDefinition = new ExceptionMessageDefinition(httpErrorCode,
+                                                                errorMessageId,
+                                                                errorMessage,
+                                                                systemAction,
+                                                                userAction);
+    }
+
+
+    /**
+     * Retrieve a message definition object for an exception.  This method is used when there are no message inserts.
+     *
+     * @return message definition object.
+     */
+    @Override
+    public ExceptionMessageDefinition getMessageDefinition()
+    {
+        return messageDefinition;
+    }
+
+
+    /**
+     * Retrieve a message definition object for an exception.  This method is used when there are values to be inserted into the message.
+     *
+     * @param params array of parameters (all strings).  They are inserted into the message according to the numbering in the message text.
+     * @return message definition object.
+     */
+    @Override
+    public ExceptionMessageDefinition getMessageDefinition(String... params)
+    {
+        messageDefinition.setMessageParameters(params);
+
+        return messageDefinition;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return string of property names and values for this enum
+     */
+    @Override
+    public String toString()
+    {
+        return "LuceneSearchIntegrationConnectorErrorCode{" +
+                       "messageDefinition=" + messageDefinition +
+                       '}';
+    }
+}
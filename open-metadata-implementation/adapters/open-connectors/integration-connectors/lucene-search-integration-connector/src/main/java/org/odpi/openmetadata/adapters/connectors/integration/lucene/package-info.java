@@ -0,0 +1,12 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+/**
+ * The Lucene search integration connector maintains an embedded Apache Lucene index of the assets reported by the
+ * Asset Catalog OMAS so that they can be searched without an external search cluster.
+ *
+ * The asset events are coalesced by asset GUID and added to the index in batches.  The index is refreshed after each
+ * batch so that new assets can be found within the configured refresh interval (near-real-time search), and it is
+ * saved to disk at the configured commit interval.  Searches support the Apache Lucene query syntax and return counts
+ * of the matching assets for each asset type, governance zone and owner (facets) that can be used to narrow the search.
+ */
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
@@ -0,0 +1,228 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import org.odpi.openmetadata.accessservices.assetcatalog.model.AssetCatalogEvent;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Feed synthetic AssetCatalogEvents to the LuceneSearchIntegrationConnector and measure the indexing throughput
+ * (until every asset can be found) and the latency of free text and faceted searches.  The events include repeated
+ * updates to the same assets, as the Asset Catalog OMAS sends when an asset is changed several times.  The timings
+ * are logged rather than asserted since they depend on the machine running the tests.
+ */
+public class LuceneSearchIndexBenchmarkTest
+{
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIndexBenchmarkTest.class);
+
+    private static final int  ASSET_COUNT        = 20000;
+    private static final int  UPDATES_PER_ASSET  = 2;
+    private static final int  WARM_UP_ITERATIONS = 50;
+    private static final int  TIMED_ITERATIONS   = 500;
+    private static final long SEARCHABLE_TIMEOUT = 120000;
+
+    private static final String[] typeNames = { "CSVFile", "DataFile", "Database", "KafkaTopic", "DeployedAPI" };
+    private static final String[] zones     = { "quarantine", "data-lake", "sales", "finance", "research", "trash-can" };
+    private static final String[] owners    = { "erinoverview", "peterprofile", "callielake", "garygeeke", "harryhopeful" };
+    private static final String[] words     = { "customer", "order", "invoice", "product", "shipment", "account",
+                                                "patient", "treatment", "sensor", "reading", "forecast", "campaign" };
+
+    private LuceneSearchIntegrationConnector connector = null;
+
+
+    @BeforeMethod
+    void setUp() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(LuceneSearchIntegrationProvider.REFRESH_INTERVAL_CONFIGURATION_PROPERTY, 200);
+        configurationProperties.put(LuceneSearchIntegrationProvider.MAX_BATCH_SIZE_CONFIGURATION_PROPERTY, 1000);
+
+        Connection connection = new Connection();
+        connection.setConfigurationProperties(configurationProperties);
+
+        connector = new LuceneSearchIntegrationConnector();
+        connector.initialize("LuceneSearchIndexBenchmarkTest", new ConnectionProperties(connection));
+        connector.start();
+    }
+
+
+    @AfterMethod
+    void tearDown() throws Exception
+    {
+        connector.disconnect();
+    }
+
+
+    @Test
+    void testIndexingThroughputAndQueryLatency() throws Exception
+    {
+        Random                  random = new Random(42);
+        List<AssetCatalogEvent> events = new ArrayList<>();
+
+        for (int update = 0; update < UPDATES_PER_ASSET; update++)
+        {
+            for (int i = 0; i < ASSET_COUNT; i++)
+            {
+                events.add(this.getEvent(i, update, random));
+            }
+        }
+
+        /*
+         * Indexing throughput is measured until the last update of every asset can be found.
+         */
+        String lastUpdate = "update" + (UPDATES_PER_ASSET - 1);
+        long   start      = System.nanoTime();
+
+        for (AssetCatalogEvent event : events)
+        {
+            connector.saveAsset(event);
+        }
+
+        long submitTime = System.nanoTime() - start;
+        long totalHits  = this.waitForAssets(lastUpdate, ASSET_COUNT);
+        long indexTime  = System.nanoTime() - start;
+
+        assertEquals(totalHits, ASSET_COUNT);
+
+        log.info("Indexing: {} events for {} assets submitted in {} ms, searchable after {} ms ({} events/s)",
+                 events.size(), ASSET_COUNT, submitTime / 1000000, indexTime / 1000000,
+                 (long)(events.size() / (indexTime / 1.0e9)));
+
+        /*
+         * The updates replaced the earlier versions of the assets.
+         */
+        assertEquals(connector.findAssets(null, null, 0, 10).getTotalHits(), ASSET_COUNT);
+
+        /*
+         * Query latency
+         */
+        this.measureQueries("Free text", random, false);
+        this.measureQueries("Faceted", random, true);
+    }
+
+
+    /**
+     * Run a mix of queries and log the latency percentiles.
+     *
+     * @param queryKind description of the queries
+     * @param random source of query words
+     * @param useFacetFilters add a zone filter to each query
+     * @throws Exception search failed
+     */
+    private void measureQueries(String  queryKind,
+                                Random  random,
+                                boolean useFacetFilters) throws Exception
+    {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+        {
+            this.runQuery(random, useFacetFilters);
+        }
+
+        long[] latencies = new long[TIMED_ITERATIONS];
+
+        for (int i = 0; i < TIMED_ITERATIONS; i++)
+        {
+            long start = System.nanoTime();
+
+            AssetSearchResults results = this.runQuery(random, useFacetFilters);
+
+            latencies[i] = System.nanoTime() - start;
+
+            assertTrue(results.getTotalHits() > 0);
+        }
+
+        Arrays.sort(latencies);
+
+        log.info("{} queries: p50 {} us, p95 {} us, p99 {} us over {} queries",
+                 queryKind,
+                 latencies[TIMED_ITERATIONS / 2] / 1000,
+                 latencies[(TIMED_ITERATIONS * 95) / 100] / 1000,
+                 latencies[(TIMED_ITERATIONS * 99) / 100] / 1000,
+                 TIMED_ITERATIONS);
+    }
+
+
+    private AssetSearchResults runQuery(Random  random,
+                                        boolean useFacetFilters) throws Exception
+    {
+        String                    searchString = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+        Map<String, List<String>> facetFilters = null;
+
+        if (useFacetFilters)
+        {
+            facetFilters = Map.of(AssetSearchResults.ZONE_FACET, List.of(zones[random.nextInt(zones.length)]));
+        }
+
+        return connector.findAssets(searchString, facetFilters, 0, 25);
+    }
+
+
+    /**
+     * Poll the index until all the assets can be found.
+     *
+     * @param searchString query that matches the assets once they are indexed
+     * @param assetCount expected number of assets
+     * @return number of assets found
+     * @throws Exception search failed
+     */
+    private long waitForAssets(String searchString,
+                               int    assetCount) throws Exception
+    {
+        long deadline  = System.currentTimeMillis() + SEARCHABLE_TIMEOUT;
+        long totalHits = connector.findAssets(searchString, null, 0, 1).getTotalHits();
+
+        while ((totalHits < assetCount) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+            totalHits = connector.findAssets(searchString, null, 0, 1).getTotalHits();
+        }
+
+        return totalHits;
+    }
+
+
+    private AssetCatalogEvent getEvent(int    assetNumber,
+                                       int    update,
+                                       Random random)
+    {
+        Asset       asset       = new Asset();
+        ElementType elementType = new ElementType();
+
+        elementType.setTypeName(typeNames[assetNumber % typeNames.length]);
+
+        asset.setGUID("guid-" + assetNumber);
+        asset.setType(elementType);
+        asset.setQualifiedName("synthetic::asset-" + assetNumber);
+        asset.setDisplayName(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + assetNumber);
+        asset.setDisplayDescription("Synthetic asset " + assetNumber + " about " + words[random.nextInt(words.length)] +
+                                    " and " + words[random.nextInt(words.length)] + " update" + update);
+        asset.setOwner(owners[assetNumber % owners.length]);
+        asset.setZoneMembership(List.of(zones[assetNumber % zones.length], zones[(assetNumber / zones.length) % zones.length]));
+
+        AssetCatalogEvent event = new AssetCatalogEvent();
+
+        event.setAsset(asset);
+
+        return event;
+    }
+}
@@ -0,0 +1,193 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.integration.lucene;
+
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ElementType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that LuceneSearchIndex coalesces repeated saves of an asset, makes saved assets searchable,
+ * counts and filters on the type, zone and owner facets and pages through the results.
+ */
+public class LuceneSearchIndexTest
+{
+    private static final long refreshInterval = 100;
+
+    private LuceneSearchIndex searchIndex = null;
+
+
+    @BeforeMethod
+    void setUp() throws IOException
+    {
+        searchIndex = new LuceneSearchIndex(new ByteBuffersDirectory(), refreshInterval, 60000, 10, "testConnector", null);
+    }
+
+
+    @AfterMethod
+    void tearDown() throws IOException
+    {
+        searchIndex.close();
+    }
+
+
+    @Test
+    void testCoalescing() throws Exception
+    {
+        searchIndex.saveAsset(this.getAsset("guid-1", "CSVFile", "Customers v1", "Sales", "alice"));
+        searchIndex.saveAsset(this.getAsset("guid-1", "CSVFile", "Customers v2", "Sales", "alice"));
+        searchIndex.saveAsset(this.getAsset("guid-1", "CSVFile", "Customers v3", "Sales", "alice"));
+        searchIndex.flush();
+
+        assertEquals(searchIndex.getAssetCount(), 1);
+
+        AssetSearchResults results = searchIndex.search("customers", null, 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 1);
+        assertEquals(results.getHits().get(0).getGUID(), "guid-1");
+        assertEquals(results.getHits().get(0).getDisplayName(), "Customers v3");
+        assertEquals(results.getHits().get(0).getTypeName(), "CSVFile");
+        assertNotNull(results.getHits().get(0).getAsset());
+        assertEquals(results.getHits().get(0).getAsset().getDisplayName(), "Customers v3");
+
+        /*
+         * A later save replaces the indexed asset.
+         */
+        searchIndex.saveAsset(this.getAsset("guid-1", "CSVFile", "Clients", "Sales", "alice"));
+        searchIndex.flush();
+
+        assertEquals(searchIndex.getAssetCount(), 1);
+        assertEquals(searchIndex.search("customers", null, 0, 10, 10).getTotalHits(), 0);
+        assertEquals(searchIndex.search("clients", null, 0, 10, 10).getTotalHits(), 1);
+    }
+
+
+    @Test
+    void testFacets() throws Exception
+    {
+        searchIndex.saveAsset(this.getAsset("guid-1", "CSVFile", "Customers", "Sales", "alice"));
+        searchIndex.saveAsset(this.getAsset("guid-2", "CSVFile", "Orders", "Sales", "bob"));
+        searchIndex.saveAsset(this.getAsset("guid-3", "Database", "Customer database", "Finance", "alice"));
+
+        Asset noFacets = this.getAsset("guid-4", null, "Customer notes", null, null);
+        searchIndex.saveAsset(noFacets);
+        searchIndex.flush();
+
+        AssetSearchResults results = searchIndex.search(null, null, 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 4);
+        assertEquals(results.getFacets().get(AssetSearchResults.TYPE_FACET), Map.of("CSVFile", 2L, "Database", 1L));
+        assertEquals(results.getFacets().get(AssetSearchResults.ZONE_FACET), Map.of("Sales", 2L, "Finance", 1L, "Shared", 3L));
+        assertEquals(results.getFacets().get(AssetSearchResults.OWNER_FACET), Map.of("alice", 2L, "bob", 1L));
+
+        results = searchIndex.search("customer*", Map.of(AssetSearchResults.OWNER_FACET, List.of("alice")), 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 2);
+        assertEquals(results.getFacets().get(AssetSearchResults.TYPE_FACET), Map.of("CSVFile", 1L, "Database", 1L));
+
+        results = searchIndex.search(null, Map.of(AssetSearchResults.ZONE_FACET, List.of("Sales", "Finance")), 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 3);
+
+        results = searchIndex.search("type:Database", null, 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 1);
+        assertEquals(results.getHits().get(0).getGUID(), "guid-3");
+
+        results = searchIndex.search("notes", null, 0, 10, 10);
+
+        assertEquals(results.getTotalHits(), 1);
+        assertNull(results.getHits().get(0).getTypeName());
+    }
+
+
+    @Test
+    void testPaging() throws Exception
+    {
+        for (int i = 0; i < 25; i++)
+        {
+            searchIndex.saveAsset(this.getAsset("guid-" + i, "CSVFile", "File " + i, "Sales", "alice"));
+        }
+
+        searchIndex.flush();
+
+        List<String> guids = new ArrayList<>();
+
+        for (int startFrom = 0; startFrom < 30; startFrom += 10)
+        {
+            AssetSearchResults results = searchIndex.search("file", null, startFrom, 10, 10);
+
+            assertEquals(results.getTotalHits(), 25);
+
+            for (AssetSearchHit hit : results.getHits())
+            {
+                assertTrue(! guids.contains(hit.getGUID()), hit.getGUID());
+                guids.add(hit.getGUID());
+            }
+        }
+
+        assertEquals(guids.size(), 25);
+    }
+
+
+    @Test
+    void testBadSearchString() throws Exception
+    {
+        try
+        {
+            searchIndex.search("displayName:(unbalanced", null, 0, 10, 10);
+            fail("ParseException expected");
+        }
+        catch (ParseException expected)
+        {
+            /*
+             * The connector turns this into an InvalidParameterException.
+             */
+        }
+    }
+
+
+    private Asset getAsset(String guid,
+                           String typeName,
+                           String displayName,
+                           String zone,
+                           String owner)
+    {
+        Asset asset = new Asset();
+
+        asset.setGUID(guid);
+        asset.setQualifiedName("test::" + guid);
+        asset.setDisplayName(displayName);
+        asset.setOwner(owner);
+
+        if (typeName != null)
+        {
+            ElementType elementType = new ElementType();
+            elementType.setTypeName(typeName);
+            asset.setType(elementType);
+        }
+
+        if (zone != null)
+        {
+            asset.setZoneMembership(List.of(zone, "Shared"));
+        }
+
+        return asset;
+    }
+}
@@ -0,0 +1,367 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * AuditLogSegment describes one segment file of the file based audit log.  Each line of the file is a
+ * JSON formatted audit log record.  The segment keeps a small index of its content: the range of time stamps,
+ * the severities and reporting components of its records and a bloom filter of their unique identifiers.
+ * This lets the queries skip the segments that can not contain a matching record.
+ */
+class AuditLogSegment
+{
+    private static final int GUID_FILTER_SIZE   = 1 << 17;
+    private static final int GUID_FILTER_HASHES = 3;
+
+    private final File        file;
+    private final long        sequenceNumber;
+    private final long        creationTime;
+    private final BitSet      guidFilter          = new BitSet(GUID_FILTER_SIZE);
+    private final Set<String> severities          = new HashSet<>();
+    private final Set<String> reportingComponents = new HashSet<>();
+
+    private long size           = 0L;
+    private long firstTimeStamp = Long.MAX_VALUE;
+    private long lastTimeStamp  = Long.MIN_VALUE;
+
+
+    /**
+     * Constructor
+     *
+     * @param file file holding the records
+     * @param sequenceNumber position of the segment in the log
+     * @param creationTime time the segment was started
+     */
+    AuditLogSegment(File file,
+                    long sequenceNumber,
+                    long creationTime)
+    {
+        this.file           = file;
+        this.sequenceNumber = sequenceNumber;
+        this.creationTime   = creationTime;
+    }
+
+
+    /**
+     * Return the file holding the records.
+     *
+     * @return file
+     */
+    File getFile()
+    {
+        return file;
+    }
+
+
+    /**
+     * Return the position of the segment in the log.
+     *
+     * @return sequence number
+     */
+    long getSequenceNumber()
+    {
+        return sequenceNumber;
+    }
+
+
+    /**
+     * Return the time the segment was started.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getCreationTime()
+    {
+        return creationTime;
+    }
+
+
+    /**
+     * Return the number of bytes written to the segment.
+     *
+     * @return size in bytes
+     */
+    long getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Add a record to the index of the segment.
+     *
+     * @param logRecord record written to the segment
+     * @param recordSize number of bytes used by the record in the file
+     */
+    void addRecord(OMRSAuditLogRecord logRecord,
+                   long               recordSize)
+    {
+        size = size + recordSize;
+
+        if (logRecord.getTimeStamp() != null)
+        {
+            long timeStamp = logRecord.getTimeStamp().getTime();
+
+            firstTimeStamp = Math.min(firstTimeStamp, timeStamp);
+            lastTimeStamp  = Math.max(lastTimeStamp, timeStamp);
+        }
+
+        if (logRecord.getSeverity() != null)
+        {
+            severities.add(logRecord.getSeverity());
+        }
+
+        String componentName = getComponentName(logRecord);
+
+        if (componentName != null)
+        {
+            reportingComponents.add(componentName);
+        }
+
+        if (logRecord.getGUID() != null)
+        {
+            int hash1 = logRecord.getGUID().hashCode();
+            int hash2 = Integer.rotateLeft(hash1, 16) ^ 0x5bd1e995;
+
+            for (int i = 0; i < GUID_FILTER_HASHES; i++)
+            {
+                guidFilter.set(Math.floorMod(hash1 + (i * hash2), GUID_FILTER_SIZE));
+            }
+        }
+    }
+
+
+    /**
+     * Could this segment contain the record with the supplied unique identifier?
+     *
+     * @param guid unique identifier of the log record
+     * @return false if the record is definitely not in this segment
+     */
+    boolean mayContainGUID(String guid)
+    {
+        int hash1 = guid.hashCode();
+        int hash2 = Integer.rotateLeft(hash1, 16) ^ 0x5bd1e995;
+
+        for (int i = 0; i < GUID_FILTER_HASHES; i++)
+        {
+            if (! guidFilter.get(Math.floorMod(hash1 + (i * hash2), GUID_FILTER_SIZE)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Could this segment contain records from the supplied time period?
+     *
+     * @param startDate start of the time period (null for no lower bound)
+     * @param endDate end of the time period (null for no upper bound)
+     * @return false if none of the records fall in the time period
+     */
+    boolean overlaps(Date startDate,
+                     Date endDate)
+    {
+        if (firstTimeStamp > lastTimeStamp)
+        {
+            return false;
+        }
+
+        if ((startDate != null) && (lastTimeStamp < startDate.getTime()))
+        {
+            return false;
+        }
+
+        return (endDate == null) || (firstTimeStamp <= endDate.getTime());
+    }
+
+
+    /**
+     * Does this segment contain records with the supplied severity?
+     *
+     * @param severity name of the severity
+     * @return boolean
+     */
+    boolean hasSeverity(String severity)
+    {
+        return severities.contains(severity);
+    }
+
+
+    /**
+     * Does this segment contain records from the supplied reporting component?
+     *
+     * @param componentName name of the component
+     * @return boolean
+     */
+    boolean hasReportingComponent(String componentName)
+    {
+        return reportingComponents.contains(componentName);
+    }
+
+
+    /**
+     * Read the records in the segment that match the filter, in the order they were written.
+     * Only the first length bytes of the file are read.  The caller takes the length from getSize() while
+     * holding the log's lock so that a record being appended by the writer is never seen half written.
+     * Lines that can not be parsed (for example a record that was being written when the server stopped)
+     * are skipped.
+     *
+     * @param length number of bytes of the file to read
+     * @param objectReader reader for the JSON records
+     * @param lineFilter quick test on the raw line, before it is parsed (may be null)
+     * @param recordFilter test on the parsed record
+     * @param offset number of matching records to skip
+     * @param results list to add the matching records to
+     * @param maximumRecords maximum size of the results list (0 for no limit)
+     * @return number of matching records skipped
+     * @throws IOException unable to read the file
+     */
+    int readRecords(long                           length,
+                    ObjectReader                   objectReader,
+                    Predicate<String>              lineFilter,
+                    Predicate<OMRSAuditLogRecord>  recordFilter,
+                    int                            offset,
+                    List<OMRSAuditLogRecord>       results,
+                    int                            maximumRecords) throws IOException
+    {
+        int skipped = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new BoundedInputStream(Files.newInputStream(file.toPath()), length),
+                                                                              StandardCharsets.UTF_8)))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                if ((maximumRecords > 0) && (results.size() >= maximumRecords))
+                {
+                    break;
+                }
+
+                if ((line.isEmpty()) || ((lineFilter != null) && (! lineFilter.test(line))))
+                {
+                    continue;
+                }
+
+                OMRSAuditLogRecord logRecord = parseRecord(objectReader, line);
+
+                if ((logRecord != null) && (recordFilter.test(logRecord)))
+                {
+                    if (skipped < offset)
+                    {
+                        skipped++;
+                    }
+                    else
+                    {
+                        results.add(logRecord);
+                    }
+                }
+            }
+        }
+
+        return skipped;
+    }
+
+
+    /**
+     * Rebuild the index for an existing segment file by reading each of its records.
+     *
+     * @param file segment file
+     * @param sequenceNumber position of the segment in the log
+     * @param objectReader reader for the JSON records
+     * @return indexed segment
+     * @throws IOException unable to read the file
+     */
+    static AuditLogSegment load(File         file,
+                                long         sequenceNumber,
+                                ObjectReader objectReader) throws IOException
+    {
+        AuditLogSegment segment = new AuditLogSegment(file, sequenceNumber, file.lastModified());
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                OMRSAuditLogRecord logRecord = parseRecord(objectReader, line);
+
+                if (logRecord != null)
+                {
+                    segment.addRecord(logRecord, 0L);
+                }
+            }
+        }
+
+        segment.size = file.length();
+
+        return segment;
+    }
+
+
+    /**
+     * Return the name of the component that reported the log record.
+     *
+     * @param logRecord log record
+     * @return component name or null
+     */
+    static String getComponentName(OMRSAuditLogRecord logRecord)
+    {
+        if (logRecord.getOriginatorComponent() != null)
+        {
+            return logRecord.getOriginatorComponent().getComponentName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Parse a line from a segment file.  The line is read as the framework's AuditLogRecord because the
+     * OMRS reporting component can not be rebuilt from JSON.  The OMRS originator and reporting component
+     * are then derived from the originator properties and component, as they are when the record is created.
+     *
+     * @param objectReader reader for the JSON records (reads AuditLogRecord beans)
+     * @param line line of text
+     * @return log record or null if the line is not a valid record
+     */
+    private static OMRSAuditLogRecord parseRecord(ObjectReader objectReader,
+                                                  String       line)
+    {
+        if (line.isEmpty())
+        {
+            return null;
+        }
+
+        try
+        {
+            AuditLogRecord auditLogRecord = objectReader.readValue(line);
+
+            return new OMRSAuditLogRecord(auditLogRecord);
+        }
+        catch (IOException error)
+        {
+            return null;
+        }
+    }
+}
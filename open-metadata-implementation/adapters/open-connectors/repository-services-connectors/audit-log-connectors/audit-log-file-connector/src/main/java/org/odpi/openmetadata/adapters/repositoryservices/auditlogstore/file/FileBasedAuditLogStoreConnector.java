@@ -3,37 +3,94 @@
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of segment files.  Each line of a segment is a
+ * JSON formatted audit log record.  Records are appended to the newest segment by a background thread
+ * that writes and flushes them in batches.  A new segment is started when the current one reaches its
+ * maximum size or age, and the oldest segments are deleted once the number of retained segments is exceeded.
+ * Each segment keeps a small in-memory index so the query methods only read the segments that can
+ * contain matching records.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
 
+    private static final String segmentFilePrefix = "audit-log-";
+    private static final String segmentFileSuffix = ".jsonl";
+
+    private static final long defaultMaxSegmentSize    = 10L * 1024L * 1024L;
+    private static final int  defaultMaxSegmentAge     = 60;
+    private static final int  defaultRetainedSegments  = 48;
+    private static final int  defaultFlushInterval     = 1000;
+    private static final int  defaultWriteQueueSize    = 10000;
+
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writer();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
+    private static final ObjectReader OBJECT_READER = OBJECT_MAPPER.readerFor(AuditLogRecord.class);
 
     private String logStoreTemplateName = null;
+    private long   maxSegmentSize       = defaultMaxSegmentSize;
+    private long   maxSegmentAge        = TimeUnit.MINUTES.toMillis(defaultMaxSegmentAge);
+    private int    retainedSegments     = defaultRetainedSegments;
+    private int    flushInterval        = defaultFlushInterval;
+    private int    writeQueueSize       = defaultWriteQueueSize;
+
+    /*
+     * The segments are held oldest first.  The list, the current segment and its output stream are
+     * only changed while synchronized on the segments list.
+     */
+    private final List<AuditLogSegment> segments       = new ArrayList<>();
+    private AuditLogSegment             currentSegment = null;
+    private OutputStream                currentOutput  = null;
+    private long                        nextSequence   = 1L;
+
+    /*
+     * Records are only taken from the queue while synchronized on the segments list so that they are
+     * written in the order they were queued, whether by the writer thread or by a query.  The writer
+     * thread waits on the semaphore, which is released as each record is queued.
+     */
+    private BlockingQueue<OMRSAuditLogRecord> pendingRecords = null;
+    private final Semaphore                   recordsQueued  = new Semaphore(0);
+    private Thread                            writerThread   = null;
+    private volatile boolean                  running        = false;
+    private volatile boolean                  disconnected   = false;
 
 
     /**
@@ -45,7 +102,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Set up the name of the file store
+     * Set up the directory for the log, index any existing segments and start the writer thread.
      *
      * @throws ConnectorCheckedException something went wrong
      */
@@ -66,25 +123,153 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             logStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        this.setUpConfigurationProperties();
+
         try
         {
             File         auditLogStoreDirectory = new File(logStoreTemplateName);
 
             FileUtils.forceMkdir(auditLogStoreDirectory);
+
+            this.loadSegments(auditLogStoreDirectory);
         }
         catch (IOException ioException)
         {
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
+
+        pendingRecords = new LinkedBlockingQueue<>(writeQueueSize);
+        running = true;
+
+        writerThread = new Thread(this::writeRecords, "FileBasedAuditLogWriter:" + logStoreTemplateName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Extract the settings for the segments and the writer from the configuration properties.
+     */
+    private void setUpConfigurationProperties()
+    {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object maxSegmentSizeProperty = configurationProperties.get(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty);
+
+            if ((maxSegmentSizeProperty instanceof Number) && (((Number)maxSegmentSizeProperty).longValue() > 0))
+            {
+                maxSegmentSize = ((Number)maxSegmentSizeProperty).longValue();
+            }
+
+            Object maxSegmentAgeProperty = configurationProperties.get(FileBasedAuditLogStoreProvider.maxSegmentAgeProperty);
+
+            if ((maxSegmentAgeProperty instanceof Integer) && ((Integer)maxSegmentAgeProperty > 0))
+            {
+                maxSegmentAge = TimeUnit.MINUTES.toMillis((Integer)maxSegmentAgeProperty);
+            }
+
+            Object retainedSegmentsProperty = configurationProperties.get(FileBasedAuditLogStoreProvider.retainedSegmentsProperty);
+
+            if ((retainedSegmentsProperty instanceof Integer) && ((Integer)retainedSegmentsProperty > 0))
+            {
+                retainedSegments = (Integer)retainedSegmentsProperty;
+            }
+
+            Object flushIntervalProperty = configurationProperties.get(FileBasedAuditLogStoreProvider.flushIntervalProperty);
+
+            if ((flushIntervalProperty instanceof Integer) && ((Integer)flushIntervalProperty > 0))
+            {
+                flushInterval = (Integer)flushIntervalProperty;
+            }
+
+            Object writeQueueSizeProperty = configurationProperties.get(FileBasedAuditLogStoreProvider.writeQueueSizeProperty);
+
+            if ((writeQueueSizeProperty instanceof Integer) && ((Integer)writeQueueSizeProperty > 0))
+            {
+                writeQueueSize = (Integer)writeQueueSizeProperty;
+            }
+        }
+    }
+
+
+    /**
+     * Build the index for the segments already in the directory.  New records always go to a new segment.
+     *
+     * @param auditLogStoreDirectory directory for the log
+     * @throws IOException unable to read the directory
+     */
+    private void loadSegments(File auditLogStoreDirectory) throws IOException
+    {
+        File[] files = auditLogStoreDirectory.listFiles();
+
+        if (files == null)
+        {
+            throw new IOException("Unable to list the contents of " + auditLogStoreDirectory.getAbsolutePath());
+        }
+
+        List<AuditLogSegment> existingSegments = new ArrayList<>();
+
+        for (File file : files)
+        {
+            long sequenceNumber = getSequenceNumber(file.getName());
+
+            if (sequenceNumber > 0)
+            {
+                existingSegments.add(AuditLogSegment.load(file, sequenceNumber, OBJECT_READER));
+            }
+        }
+
+        existingSegments.sort((segment1, segment2) -> Long.compare(segment1.getSequenceNumber(), segment2.getSequenceNumber()));
+
+        synchronized (segments)
+        {
+            segments.clear();
+            segments.addAll(existingSegments);
+
+            if (! segments.isEmpty())
+            {
+                nextSequence = segments.get(segments.size() - 1).getSequenceNumber() + 1;
+            }
+
+            this.removeExpiredSegments();
+        }
+    }
+
+
+    /**
+     * Return the sequence number from the name of a segment file.
+     *
+     * @param fileName name of the file
+     * @return sequence number or 0 if this is not a segment file
+     */
+    private long getSequenceNumber(String fileName)
+    {
+        if ((fileName.startsWith(segmentFilePrefix)) && (fileName.endsWith(segmentFileSuffix)))
+        {
+            try
+            {
+                return Long.parseLong(fileName.substring(segmentFilePrefix.length(), fileName.length() - segmentFileSuffix.length()));
+            }
+            catch (NumberFormatException notSegment)
+            {
+                return 0L;
+            }
+        }
+
+        return 0L;
     }
 
 
     /**
-     * Store the audit log record in the audit log store.
+     * Store the audit log record in the audit log store.  The record is queued for the writer thread,
+     * waiting for space if the queue is full.
      *
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
      * @throws InvalidParameterException indicates that the logRecord parameter is invalid.
+     * @throws OMRSLogicErrorException the connector has been disconnected so the record can not be stored.
      */
     @Override
     public String storeLogRecord(OMRSAuditLogRecord logRecord) throws InvalidParameterException
@@ -94,21 +279,207 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
         super.validateLogRecord(logRecord, methodName);
 
         if (isSupportedSeverity(logRecord))
+        {
+            this.validateConnected(methodName);
+
+            if (running)
+            {
+                try
+                {
+                    pendingRecords.put(logRecord);
+                    recordsQueued.release();
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                    log.error("Audit log record {} not stored because the caller was interrupted", logRecord.getGUID());
+                }
+
+                /*
+                 * If disconnect() ran while the record was being queued, it may have already written the
+                 * queued records and closed the log.  A record still in the queue will never be written.
+                 */
+                if ((disconnected) && (pendingRecords.remove(logRecord)))
+                {
+                    this.validateConnected(methodName);
+                }
+            }
+            else
+            {
+                this.writePendingRecords(logRecord);
+            }
+        }
+
+        return logRecord.getGUID();
+    }
+
+
+    /**
+     * Throw an exception if the connector has been disconnected.
+     *
+     * @param methodName calling method
+     * @throws OMRSLogicErrorException the connector has been disconnected
+     */
+    private void validateConnected(String methodName)
+    {
+        if (disconnected)
+        {
+            throw new OMRSLogicErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                               "the connector is disconnected"),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+    }
+
+
+    /**
+     * Loop run by the writer thread.  It waits for records to arrive and writes all the queued
+     * records before flushing the segment.  The records may already have been written by a query.
+     */
+    private void writeRecords()
+    {
+        while (running)
         {
             try
             {
-                File logFileStore = new File(logStoreTemplateName + "/log-record-" + logRecord.getGUID() + ".json");
+                if (recordsQueued.tryAcquire(flushInterval, TimeUnit.MILLISECONDS))
+                {
+                    recordsQueued.drainPermits();
+                    this.writePendingRecords(null);
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                running = false;
+            }
+        }
+
+        this.writePendingRecords(null);
+    }
+
 
-                String configStoreFileContents = OBJECT_WRITER.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(logFileStore, configStoreFileContents, (String)null, false);
+    /**
+     * Write the supplied record followed by any records that are waiting in the queue, then flush the segment.
+     *
+     * @param firstRecord record to write first (may be null)
+     */
+    private void writePendingRecords(OMRSAuditLogRecord firstRecord)
+    {
+        synchronized (segments)
+        {
+            try
+            {
+                if (firstRecord != null)
+                {
+                    this.writeRecord(firstRecord);
+                }
+
+                if (pendingRecords != null)
+                {
+                    OMRSAuditLogRecord logRecord;
+
+                    while ((logRecord = pendingRecords.poll()) != null)
+                    {
+                        this.writeRecord(logRecord);
+                    }
+                }
+
+                if (currentOutput != null)
+                {
+                    currentOutput.flush();
+                }
             }
             catch (IOException ioException)
             {
                 log.error("Unusable Server Audit Log Store :(", ioException);
             }
         }
+    }
 
-        return logRecord.getGUID();
+
+    /**
+     * Append a record to the current segment, starting a new segment if needed.
+     *
+     * @param logRecord record to write
+     * @throws IOException unable to write to the segment
+     */
+    private void writeRecord(OMRSAuditLogRecord logRecord) throws IOException
+    {
+        byte[] recordBytes = (OBJECT_WRITER.writeValueAsString(logRecord) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        if ((currentSegment == null) ||
+            (currentSegment.getSize() >= maxSegmentSize) ||
+            (System.currentTimeMillis() - currentSegment.getCreationTime() >= maxSegmentAge))
+        {
+            this.startNewSegment();
+        }
+
+        currentOutput.write(recordBytes);
+        currentSegment.addRecord(logRecord, recordBytes.length);
+    }
+
+
+    /**
+     * Close the current segment and open a new one, deleting the oldest segments if there are too many.
+     *
+     * @throws IOException unable to create the segment file
+     */
+    private void startNewSegment() throws IOException
+    {
+        this.closeCurrentSegment();
+
+        File segmentFile = new File(logStoreTemplateName, String.format("%s%010d%s", segmentFilePrefix, nextSequence, segmentFileSuffix));
+
+        currentOutput  = new BufferedOutputStream(new FileOutputStream(segmentFile, true));
+        currentSegment = new AuditLogSegment(segmentFile, nextSequence, System.currentTimeMillis());
+        nextSequence++;
+
+        segments.add(currentSegment);
+
+        this.removeExpiredSegments();
+    }
+
+
+    /**
+     * Flush and close the output stream for the current segment.
+     *
+     * @throws IOException unable to close the file
+     */
+    private void closeCurrentSegment() throws IOException
+    {
+        if (currentOutput != null)
+        {
+            try
+            {
+                currentOutput.close();
+            }
+            finally
+            {
+                currentOutput  = null;
+                currentSegment = null;
+            }
+        }
+    }
+
+
+    /**
+     * Delete the oldest segments until no more than the retained number are left.
+     */
+    private void removeExpiredSegments()
+    {
+        while (segments.size() > retainedSegments)
+        {
+            AuditLogSegment expiredSegment = segments.remove(0);
+
+            try
+            {
+                FileUtils.forceDelete(expiredSegment.getFile());
+            }
+            catch (IOException ioException)
+            {
+                log.error("Unable to remove expired audit log segment " + expiredSegment.getFile().getName(), ioException);
+            }
+        }
     }
 
 
@@ -126,6 +497,33 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecord";
 
+        if (logRecordId == null)
+        {
+            return null;
+        }
+
+        List<SegmentExtent>      candidateSegments = this.getCandidateSegments(segment -> segment.mayContainGUID(logRecordId));
+        List<OMRSAuditLogRecord> results           = new ArrayList<>();
+
+        /*
+         * Search the newest segments first since recent records are the most likely to be requested.
+         */
+        for (int i = candidateSegments.size() - 1; i >= 0; i--)
+        {
+            this.readSegment(candidateSegments.get(i),
+                             line -> line.contains(logRecordId),
+                             logRecord -> logRecordId.equals(logRecord.getGUID()),
+                             0,
+                             results,
+                             1,
+                             methodName);
+
+            if (! results.isEmpty())
+            {
+                return results.get(0);
+            }
+        }
+
         return null;
     }
 
@@ -153,7 +551,13 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return this.findRecords(segment -> segment.overlaps(startDate, endDate),
+                                logRecord -> isInTimePeriod(logRecord, startDate, endDate),
+                                offset,
+                                maximumRecords,
+                                methodName);
     }
 
 
@@ -182,7 +586,18 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsBySeverity";
 
-        return null;
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        if (severity == null)
+        {
+            return this.getAuditLogRecordsByTimeStamp(startDate, endDate, offset, maximumRecords);
+        }
+
+        return this.findRecords(segment -> segment.hasSeverity(severity) && segment.overlaps(startDate, endDate),
+                                logRecord -> severity.equals(logRecord.getSeverity()) && isInTimePeriod(logRecord, startDate, endDate),
+                                offset,
+                                maximumRecords,
+                                methodName);
     }
 
 
@@ -211,18 +626,261 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByComponent";
 
-        return null;
+        this.validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        if (component == null)
+        {
+            return this.getAuditLogRecordsByTimeStamp(startDate, endDate, offset, maximumRecords);
+        }
+
+        return this.findRecords(segment -> segment.hasReportingComponent(component) && segment.overlaps(startDate, endDate),
+                                logRecord -> component.equals(AuditLogSegment.getComponentName(logRecord)) && isInTimePeriod(logRecord, startDate, endDate),
+                                offset,
+                                maximumRecords,
+                                methodName);
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Check the parameters of a query.
+     *
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @throws InvalidParameterException the time period is reversed
+     * @throws PagingErrorException the offset or maximumRecords is negative
+     */
+    private void validateQuery(Date   startDate,
+                               Date   endDate,
+                               int    offset,
+                               int    maximumRecords,
+                               String methodName) throws InvalidParameterException,
+                                                         PagingErrorException
+    {
+        final String parameterName = "startDate";
+
+        if ((startDate != null) && (endDate != null) && (startDate.after(endDate)))
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_TIME_RANGE.getMessageDefinition(methodName,
+                                                                                                     startDate.toString(),
+                                                                                                     endDate.toString()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            throw new PagingErrorException(OMRSErrorCode.INVALID_AUDIT_LOG_PAGING.getMessageDefinition(super.getDestinationName(),
+                                                                                                      Integer.toString(offset),
+                                                                                                      Integer.toString(maximumRecords),
+                                                                                                      methodName),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+    }
+
+
+    /**
+     * Is the log record's time stamp in the time period?
+     *
+     * @param logRecord log record
+     * @param startDate start of time period (null for no lower bound)
+     * @param endDate end of time period (null for no upper bound)
+     * @return boolean
+     */
+    private static boolean isInTimePeriod(OMRSAuditLogRecord logRecord,
+                                          Date               startDate,
+                                          Date               endDate)
+    {
+        Date timeStamp = logRecord.getTimeStamp();
+
+        if (timeStamp == null)
+        {
+            return false;
+        }
+
+        return ((startDate == null) || (! timeStamp.before(startDate))) && ((endDate == null) || (! timeStamp.after(endDate)));
+    }
+
+
+    /**
+     * Return the matching records from the segments selected by the index, oldest first.
+     *
+     * @param segmentFilter test on the index of each segment
+     * @param recordFilter test on each record
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return (0 for no limit)
+     * @param methodName calling method
+     * @return list of log records
+     * @throws RepositoryErrorException unable to read a segment
+     */
+    private List<OMRSAuditLogRecord> findRecords(Predicate<AuditLogSegment>    segmentFilter,
+                                                 Predicate<OMRSAuditLogRecord> recordFilter,
+                                                 int                           offset,
+                                                 int                           maximumRecords,
+                                                 String                        methodName) throws RepositoryErrorException
+    {
+        List<OMRSAuditLogRecord> results         = new ArrayList<>();
+        int                      remainingOffset = offset;
+
+        for (SegmentExtent segment : this.getCandidateSegments(segmentFilter))
+        {
+            if ((maximumRecords > 0) && (results.size() >= maximumRecords))
+            {
+                break;
+            }
+
+            remainingOffset = remainingOffset - this.readSegment(segment,
+                                                                 null,
+                                                                 recordFilter,
+                                                                 remainingOffset,
+                                                                 results,
+                                                                 maximumRecords,
+                                                                 methodName);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Write any queued records and then return the segments that pass the filter, oldest first.
+     * The size of each segment is taken while holding the lock.  The writer flushes each batch of
+     * records before it releases the lock, so that many bytes of the file are complete records.
+     *
+     * @param segmentFilter test on the index of each segment
+     * @return list of segments and the number of bytes of each to read
+     */
+    private List<SegmentExtent> getCandidateSegments(Predicate<AuditLogSegment> segmentFilter)
+    {
+        this.writePendingRecords(null);
+
+        List<SegmentExtent> candidateSegments = new ArrayList<>();
+
+        synchronized (segments)
+        {
+            for (AuditLogSegment segment : segments)
+            {
+                if (segmentFilter.test(segment))
+                {
+                    candidateSegments.add(new SegmentExtent(segment, segment.getSize()));
+                }
+            }
+        }
+
+        return candidateSegments;
+    }
+
+
+    /**
+     * Read the matching records from a segment.  A segment that has been removed since it was selected is skipped.
+     *
+     * @param segment segment to read and the number of bytes to read from it
+     * @param lineFilter quick test on the raw line (may be null)
+     * @param recordFilter test on each record
+     * @param offset number of matching records to skip
+     * @param results list to add the matching records to
+     * @param maximumRecords maximum size of the results list (0 for no limit)
+     * @param methodName calling method
+     * @return number of matching records skipped
+     * @throws RepositoryErrorException unable to read the segment
+     */
+    private int readSegment(SegmentExtent                 segment,
+                            Predicate<String>             lineFilter,
+                            Predicate<OMRSAuditLogRecord> recordFilter,
+                            int                           offset,
+                            List<OMRSAuditLogRecord>      results,
+                            int                           maximumRecords,
+                            String                        methodName) throws RepositoryErrorException
+    {
+        try
+        {
+            return segment.segment.readRecords(segment.length, OBJECT_READER, lineFilter, recordFilter, offset, results, maximumRecords);
+        }
+        catch (NoSuchFileException | FileNotFoundException expiredSegment)
+        {
+            return 0;
+        }
+        catch (IOException ioException)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                               ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  Queued records are written
+     * before the current segment is closed.  Records stored after this call are rejected.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        disconnected = true;
+        running = false;
+
+        if (writerThread != null)
+        {
+            writerThread.interrupt();
+
+            try
+            {
+                writerThread.join(flushInterval + 1000L);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            writerThread = null;
+        }
+
+        this.writePendingRecords(null);
+
+        synchronized (segments)
+        {
+            try
+            {
+                this.closeCurrentSegment();
+            }
+            catch (IOException ioException)
+            {
+                log.error("Unable to close the audit log segment", ioException);
+            }
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * A segment selected for a query and the number of bytes of it that hold complete records.
+     */
+    private static class SegmentExtent
+    {
+        private final AuditLogSegment segment;
+        private final long            length;
+
+
+        /**
+         * Constructor
+         *
+         * @param segment segment to read
+         * @param length number of bytes to read
+         */
+        SegmentExtent(AuditLogSegment segment,
+                      long            length)
+        {
+            this.segment = segment;
+            this.length = length;
+        }
+    }
 }
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
  */
@@ -20,13 +22,39 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
      */
     private static final String connectorQualifiedName = "Egeria:AuditLogDestinationConnector:Files";
     private static final String connectorDisplayName   = "File-based Audit Log Destination Connector";
-    private static final String connectorDescription   = "Connector supports the distribution of audit log record to a directory where each file is a JSON formatted log record.";
+    private static final String connectorDescription   = "Connector stores audit log records in a directory of rolling segment files where each line is a JSON formatted log record.";
 
     /*
      * Class of the connector.
      */
     private static final Class<?> connectorClass       = FileBasedAuditLogStoreConnector.class;
 
+    /**
+     * Maximum size in bytes of a segment file before a new segment is started.  The default is 10MB.
+     */
+    public static final String maxSegmentSizeProperty   = "maxSegmentSize";
+
+    /**
+     * Maximum age in minutes of a segment file before a new segment is started.  The default is 60.
+     */
+    public static final String maxSegmentAgeProperty    = "maxSegmentAge";
+
+    /**
+     * Number of segment files kept in the directory.  The oldest is deleted when a new segment takes the
+     * total over this number.  The default is 48.
+     */
+    public static final String retainedSegmentsProperty = "retainedSegments";
+
+    /**
+     * Maximum time in milliseconds that a record waits before it is flushed to the file.  The default is 1000.
+     */
+    public static final String flushIntervalProperty    = "flushInterval";
+
+    /**
+     * Number of records that can be waiting to be written before callers are held up.  The default is 10000.
+     */
+    public static final String writeQueueSizeProperty   = "writeQueueSize";
+
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -51,7 +79,15 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDisplayName(connectorDisplayName);
         connectorType.setDescription(connectorDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
-        connectorType.setRecognizedConfigurationProperties(super.getRecognizedConfigurationProperties());
+
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+
+        recognizedConfigurationProperties.add(maxSegmentSizeProperty);
+        recognizedConfigurationProperties.add(maxSegmentAgeProperty);
+        recognizedConfigurationProperties.add(retainedSegmentsProperty);
+        recognizedConfigurationProperties.add(flushIntervalProperty);
+        recognizedConfigurationProperties.add(writeQueueSizeProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
         super.connectorTypeBean = connectorType;
     }
@@ -0,0 +1,348 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that the FileBasedAuditLogStoreConnector rolls the log over into new segments, deletes the oldest
+ * segments, pages through records that span several segments, returns only complete records while records
+ * are being stored and rejects records once it is disconnected.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final String severity      = "Information";
+    private static final long   segmentSize   = 2048L;
+    private static final long   waitTime      = 60000;
+
+
+    /**
+     * Small segments cause the log to roll over and only the retained number of segment files are kept.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSegmentRollover() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-rollover").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = this.getConnector(directory, 3);
+
+            for (int i = 0; i < 100; i++)
+            {
+                connector.storeLogRecord(this.getRecord(i));
+            }
+
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+            assertEquals(this.countSegmentFiles(directory), 3);
+            assertTrue(results.size() < 100);
+            assertEquals(results.get(results.size() - 1).getGUID(), this.getGUID(99));
+            assertNull(connector.getAuditLogRecord(this.getGUID(0)));
+            assertNotNull(connector.getAuditLogRecord(this.getGUID(99)));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * Paging and retrieval by GUID work across segment boundaries, and the segments are indexed again
+     * when the log is reopened.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testReadAcrossSegments() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-read").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = this.getConnector(directory, 100);
+
+            for (int i = 0; i < 60; i++)
+            {
+                connector.storeLogRecord(this.getRecord(i));
+            }
+
+            this.validatePaging(connector);
+
+            connector.disconnect();
+
+            assertTrue(this.countSegmentFiles(directory) > 5);
+
+            connector = this.getConnector(directory, 100);
+
+            this.validatePaging(connector);
+
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByComponent("Component1", null, null, 5, 10);
+
+            assertEquals(results.size(), 10);
+
+            for (int i = 0; i < results.size(); i++)
+            {
+                assertEquals(results.get(i).getGUID(), this.getGUID(11 + (i * 2)));
+            }
+
+            for (int i = 0; i < 60; i = i + 7)
+            {
+                assertEquals(connector.getAuditLogRecord(this.getGUID(i)).getGUID(), this.getGUID(i));
+            }
+
+            assertNull(connector.getAuditLogRecord("unknown-guid"));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * Queries issued while another thread stores records only ever see complete records, in the order they
+     * were stored, and see every record that was stored before the query started.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConcurrentStoreAndRead() throws Exception
+    {
+        File                            directory = Files.createTempDirectory("audit-log-concurrent").toFile();
+        FileBasedAuditLogStoreConnector connector = this.getConnector(directory, 1000);
+        Thread                          writer    = null;
+
+        try
+        {
+            AtomicInteger              stored  = new AtomicInteger(0);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            final int                  total   = 2000;
+
+            writer = new Thread(() ->
+                               {
+                                   try
+                                   {
+                                       for (int i = 0; i < total; i++)
+                                       {
+                                           connector.storeLogRecord(this.getRecord(i));
+                                           stored.incrementAndGet();
+                                       }
+                                   }
+                                   catch (Throwable error)
+                                   {
+                                       failure.set(error);
+                                   }
+                               });
+
+            writer.start();
+
+            long deadline = System.currentTimeMillis() + waitTime;
+            int  queries  = 0;
+
+            while ((stored.get() < total) || (queries == 0))
+            {
+                assertTrue(System.currentTimeMillis() < deadline);
+
+                int                      storedBefore = stored.get();
+                List<OMRSAuditLogRecord> results      = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+                assertTrue(results.size() >= storedBefore);
+
+                for (int i = 0; i < results.size(); i++)
+                {
+                    assertEquals(results.get(i).getGUID(), this.getGUID(i));
+                }
+
+                queries++;
+            }
+
+            writer.join(waitTime);
+
+            assertNull(failure.get());
+            assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0).size(), total);
+        }
+        finally
+        {
+            if (writer != null)
+            {
+                writer.interrupt();
+                writer.join(waitTime);
+            }
+
+            connector.disconnect();
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * Records stored before disconnect are written and records stored after it are rejected.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testStoreAfterDisconnect() throws Exception
+    {
+        File directory = Files.createTempDirectory("audit-log-disconnect").toFile();
+
+        try
+        {
+            FileBasedAuditLogStoreConnector connector = this.getConnector(directory, 100);
+
+            connector.storeLogRecord(this.getRecord(0));
+            connector.disconnect();
+
+            try
+            {
+                connector.storeLogRecord(this.getRecord(1));
+                fail("OMRSLogicErrorException expected");
+            }
+            catch (OMRSLogicErrorException expected)
+            {
+                /*
+                 * The record is rejected.
+                 */
+            }
+
+            connector = this.getConnector(directory, 100);
+
+            assertNotNull(connector.getAuditLogRecord(this.getGUID(0)));
+            assertNull(connector.getAuditLogRecord(this.getGUID(1)));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+
+    /**
+     * Page through the 60 stored records, 7 at a time.
+     *
+     * @param connector connector to query
+     * @throws Exception query failed
+     */
+    private void validatePaging(FileBasedAuditLogStoreConnector connector) throws Exception
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (int offset = 0; offset < 70; offset = offset + 7)
+        {
+            for (OMRSAuditLogRecord logRecord : connector.getAuditLogRecordsBySeverity(severity, null, null, offset, 7))
+            {
+                guids.add(logRecord.getGUID());
+            }
+        }
+
+        assertEquals(guids.size(), 60);
+
+        for (int i = 0; i < guids.size(); i++)
+        {
+            assertEquals(guids.get(i), this.getGUID(i));
+        }
+    }
+
+
+    /**
+     * Return a started connector that writes small segments to the directory.
+     *
+     * @param directory directory for the segment files
+     * @param retainedSegments number of segments to keep
+     * @return connector
+     * @throws Exception unable to start the connector
+     */
+    private FileBasedAuditLogStoreConnector getConnector(File directory,
+                                                         int  retainedSegments) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(directory.getAbsolutePath());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, segmentSize);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.retainedSegmentsProperty, retainedSegments);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.writeQueueSizeProperty, 50);
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("FileBasedAuditLogStoreConnectorTest");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize("FileBasedAuditLogStoreConnectorTest", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    private OMRSAuditLogRecord getRecord(int index)
+    {
+        AuditLogRecord logRecord = new AuditLogRecord();
+
+        logRecord.setGUID(this.getGUID(index));
+        logRecord.setTimeStamp(new Date());
+        logRecord.setOriginatorProperties(Map.of("serverName", "testServer"));
+        logRecord.setOriginatorComponent(new AuditLogReportingComponent(index % 2,
+                                                                        null,
+                                                                        "Component" + (index % 2),
+                                                                        "Test component",
+                                                                        null));
+        logRecord.setSeverity(severity);
+        logRecord.setMessageId("TEST-0001");
+        logRecord.setMessageText("Test record " + index);
+
+        return new OMRSAuditLogRecord(logRecord);
+    }
+
+
+    private String getGUID(int index)
+    {
+        return String.format("test-record-%05d", index);
+    }
+
+
+    private int countSegmentFiles(File directory)
+    {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("audit-log-") && name.endsWith(".jsonl"));
+
+        return (files == null) ? 0 : files.length;
+    }
+}
@@ -9,15 +9,30 @@ import org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file.f
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentHandler;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamReader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FileBasedOpenMetadataArchiveStoreConnector stores an open metadata archive as a JSON file.  The file may be
+ * gzip compressed.  Compression is detected from the content of the file when it is read.  New archives are
+ * compressed when the file name ends in ".gz".  When the archive is loaded into a repository it is parsed
+ * incrementally so large archives do not need to fit in memory.  The whole file is checked before any of it
+ * is loaded.
+ */
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
     /*
@@ -25,10 +40,15 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    /*
+     * The suffix of file names for archives that should be written compressed.
+     */
+    private static final String compressedFileSuffix = ".gz";
     /*
      * Variables used in writing to the file.
      */
     private String archiveStoreName = null;
+    private int    batchSize        = OpenMetadataArchiveStreamReader.DEFAULT_BATCH_SIZE;
 
     /*
      * Variables used for logging and debug.
@@ -69,6 +89,29 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
         {
             archiveStoreName = defaultFilename;
         }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object batchSizeValue = configurationProperties.get(FileBasedOpenMetadataArchiveStoreProvider.BATCH_SIZE_PROPERTY);
+
+            if (batchSizeValue instanceof Integer)
+            {
+                batchSize = (Integer)batchSizeValue;
+            }
+            else if (batchSizeValue != null)
+            {
+                try
+                {
+                    batchSize = Integer.parseInt(batchSizeValue.toString());
+                }
+                catch (NumberFormatException badValue)
+                {
+                    log.debug("Ignoring invalid batch size: " + batchSizeValue);
+                }
+            }
+        }
     }
 
 
@@ -83,45 +126,117 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
         File                archiveStoreFile     = new File(archiveStoreName);
         OpenMetadataArchive newOpenMetadataArchive;
 
-        try
-        {
-            log.debug("Retrieving open metadata archive from file");
-
-            if (auditLog != null)
-            {
-                final String actionDescription = "Opening open metadata archive";
-
-                auditLog.logMessage(actionDescription,
-                                    FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
-            }
+        log.debug("Retrieving open metadata archive from file");
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
+        this.logOpeningFile();
 
-            newOpenMetadataArchive = OBJECT_READER.readValue(configStoreFileContents, OpenMetadataArchive.class);
+        try (InputStream archiveStream = OpenMetadataArchiveStreamReader.getUncompressedStream(new FileInputStream(archiveStoreFile)))
+        {
+            newOpenMetadataArchive = OBJECT_READER.readValue(archiveStream, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
             /*
              * The archive file is not found, create an empty one ...
              */
-            if (auditLog != null)
+            this.logBadFile(ioException);
+
+            log.debug("Create empty archive", ioException);
+
+            newOpenMetadataArchive = new OpenMetadataArchive();
+        }
+
+        return newOpenMetadataArchive;
+    }
+
+
+    /**
+     * Parse the archive file incrementally, passing its contents to the handler in batches.  The file is read
+     * twice.  The first pass parses the whole file without loading anything, so an archive that can not be
+     * parsed is rejected before any of it is loaded.  The second pass passes the content to the handler.
+     * If the content is not in the order it must be loaded, the second pass reads the whole archive into
+     * memory and passes it to the handler in load order.
+     *
+     * @param handler receiver of the archive content
+     * @return boolean true if the archive was retrieved; false if it could not be read
+     */
+    @Override
+    public boolean processArchiveContents(OpenMetadataArchiveContentHandler handler)
+    {
+        File                            archiveStoreFile = new File(archiveStoreName);
+        OpenMetadataArchiveStreamReader archiveReader    = new OpenMetadataArchiveStreamReader(handler, batchSize);
+        boolean                         inLoadOrder;
+
+        log.debug("Streaming open metadata archive from file");
+
+        this.logOpeningFile();
+
+        try
+        {
+            try (InputStream archiveStream = OpenMetadataArchiveStreamReader.getUncompressedStream(new FileInputStream(archiveStoreFile)))
+            {
+                inLoadOrder = OpenMetadataArchiveStreamReader.validateArchive(archiveStream);
+            }
+
+            if (! inLoadOrder)
             {
-                final String actionDescription = "Unable to open file";
+                log.debug("Open metadata archive is not in load order so it is read into memory");
 
-                auditLog.logException(actionDescription,
-                                      FileBasedOpenMetadataArchiveStoreConnectorAuditCode.BAD_FILE.getMessageDefinition(archiveStoreName,
-                                                                                                                        ioException.getClass().getName(),
-                                                                                                                        ioException.getMessage()),
-                                      ioException);
+                try (InputStream archiveStream = OpenMetadataArchiveStreamReader.getUncompressedStream(new FileInputStream(archiveStoreFile)))
+                {
+                    return OpenMetadataArchiveStreamReader.processArchive(OBJECT_READER.readValue(archiveStream, OpenMetadataArchive.class),
+                                                                          handler);
+                }
             }
 
+            try (InputStream archiveStream = OpenMetadataArchiveStreamReader.getUncompressedStream(new FileInputStream(archiveStoreFile)))
+            {
+                archiveReader.readArchive(archiveStream);
+            }
+        }
+        catch (IOException ioException)
+        {
+            this.logBadFile(ioException);
 
-            log.debug("Create empty archive", ioException);
+            return false;
+        }
 
-            newOpenMetadataArchive = new OpenMetadataArchive();
+        return true;
+    }
+
+
+    /**
+     * Log that the archive file is being opened.
+     */
+    private void logOpeningFile()
+    {
+        if (auditLog != null)
+        {
+            final String actionDescription = "Opening open metadata archive";
+
+            auditLog.logMessage(actionDescription,
+                                FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
         }
+    }
 
-        return newOpenMetadataArchive;
+
+    /**
+     * Log that the archive file could not be read.
+     *
+     * @param ioException exception from reading the file
+     */
+    private void logBadFile(IOException ioException)
+    {
+        if (auditLog != null)
+        {
+            final String actionDescription = "Unable to open file";
+
+            auditLog.logException(actionDescription,
+                                  FileBasedOpenMetadataArchiveStoreConnectorAuditCode.BAD_FILE.getMessageDefinition(archiveStoreName,
+                                                                                                                    ioException.getClass().getName(),
+                                                                                                                    ioException.getMessage()),
+                                  ioException);
+        }
     }
 
 
@@ -145,9 +260,10 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                String archiveStoreFileContents = OBJECT_WRITER.writeValueAsString(archiveContents);
-
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+                try (OutputStream archiveStream = this.getOutputStream(archiveStoreFile))
+                {
+                    OBJECT_WRITER.writeValue(archiveStream, archiveContents);
+                }
             }
         }
         catch (IOException   ioException)
@@ -157,6 +273,26 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Return the stream to write the archive to.  The archive is compressed if the file name ends in ".gz".
+     *
+     * @param archiveStoreFile file to write
+     * @return output stream
+     * @throws IOException unable to open the file
+     */
+    private OutputStream getOutputStream(File archiveStoreFile) throws IOException
+    {
+        OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(archiveStoreFile, false));
+
+        if (archiveStoreName.endsWith(compressedFileSuffix))
+        {
+            return new GZIPOutputStream(fileStream);
+        }
+
+        return fileStream;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
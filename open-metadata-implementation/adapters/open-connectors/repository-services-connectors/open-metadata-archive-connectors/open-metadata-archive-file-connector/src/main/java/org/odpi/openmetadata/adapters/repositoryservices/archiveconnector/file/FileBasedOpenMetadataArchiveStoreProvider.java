@@ -7,6 +7,9 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * FileBasedOpenMetadataArchiveStoreProvider is the OCF connector provider for the file based server configuration store.
@@ -36,6 +39,11 @@ public class FileBasedOpenMetadataArchiveStoreProvider extends OpenMetadataArchi
      */
     private static final Class<?> connectorClass       = FileBasedOpenMetadataArchiveStoreConnector.class;
 
+    /*
+     * Names of configuration properties
+     */
+    public  static final String BATCH_SIZE_PROPERTY = "batchSize";
+
     /**
      * Constructor to initialize the ConnectorProviderBase class.
      */
@@ -59,6 +67,10 @@ public class FileBasedOpenMetadataArchiveStoreProvider extends OpenMetadataArchi
         connectorType.setDescription(connectorDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(BATCH_SIZE_PROPERTY);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
 
         /*
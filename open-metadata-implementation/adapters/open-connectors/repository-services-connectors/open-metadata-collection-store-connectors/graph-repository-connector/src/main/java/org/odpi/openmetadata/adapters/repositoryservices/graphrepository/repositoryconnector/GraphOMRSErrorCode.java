@@ -146,6 +146,11 @@ public enum GraphOMRSErrorCode implements ExceptionMessageSet
             "The search properties contains a values that do not match the type of property {0} - reported by the {1} method of class {2} to open metadata repository {3}",
             "The system is unable to perform the request because the provided values do not match the type of the property.",
             "Correct the caller's code and retry the request."),
+    TRANSACTION_FAILED(400, "OMRS-GRAPH-REPOSITORY-400-030",
+            "The transaction in the {0} method of class {1} to open metadata repository {2} failed after {3} attempt(s) with message {4}",
+            "The system rolled back the transaction.  A transaction that conflicts with a concurrent transaction is retried, " +
+                    "so this is either a different error or the conflict continued after the last attempt.",
+            "Check the graph database for errors.  If the conflicts continue, reduce the number of concurrent updates to the same instances."),
 
     ;
 
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
@@ -56,6 +57,8 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -421,6 +424,54 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getEntitiesByGUIDs
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntitiesByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Perform operation - the entities are retrieved from the graph together and then returned in the
+         * order requested.
+         */
+        Set<String>               uniqueGUIDs = new LinkedHashSet<>(guids);
+        Map<String, EntityDetail> entities    = graphStore.getEntityDetailsFromStore(uniqueGUIDs);
+        List<EntityDetail>        results     = new ArrayList<>();
+
+        for (String guid : uniqueGUIDs)
+        {
+            EntityDetail entity = entities.get(guid);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(entity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     // addRelationship
     @Override
     public Relationship addRelationship(String               userId,
@@ -608,6 +659,54 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getRelationshipsByGUIDs
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getRelationshipsByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Process operation - the relationships are retrieved from the graph together and then returned in the
+         * order requested.
+         */
+        Set<String>               uniqueGUIDs   = new LinkedHashSet<>(guids);
+        Map<String, Relationship> relationships = graphStore.getRelationshipsFromStore(uniqueGUIDs);
+        List<Relationship>        results       = new ArrayList<>();
+
+        for (String guid : uniqueGUIDs)
+        {
+            Relationship relationship = relationships.get(guid);
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(relationship);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     // updateEntityStatus
     @Override
     public EntityDetail updateEntityStatus(String           userId,
@@ -1189,6 +1288,87 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // countRelationshipsForEntity
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            PagingErrorException,
+            UserNotAuthorizedException,
+            FunctionNotSupportedException
+    {
+        return this.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime, null);
+    }
+
+
+    // countRelationshipsForEntity
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           String                     homeMetadataCollectionId)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            PagingErrorException,
+            UserNotAuthorizedException,
+            FunctionNotSupportedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntityParameterValidation(userId,
+                entityGUID,
+                relationshipTypeGUID,
+                0,
+                limitResultsByStatus,
+                asOfTime,
+                null,
+                null,
+                0);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        String relationshipTypeName = null;
+
+        if (relationshipTypeGUID != null)
+        {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, "relationshipTypeGUID", relationshipTypeGUID, methodName);
+
+            relationshipTypeName = typeDef.getName();
+        }
+
+        return graphStore.countRelationshipsForEntity(entityGUID, relationshipTypeName, limitResultsByStatus, homeMetadataCollectionId);
+    }
+
+
     // findEntitiesByProperty
     @Override
     public  List<EntityDetail> findEntitiesByProperty(String                 userId,
@@ -1240,6 +1420,135 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             super.reportUnsupportedOptionalFunction(methodName);
         }
 
+        List<EntityDetail> retainedEntities = this.getMatchingEntitiesByProperty(entityTypeGUID,
+                                                                                 matchProperties,
+                                                                                 matchCriteria,
+                                                                                 limitResultsByStatus,
+                                                                                 limitResultsByClassification);
+
+        if (retainedEntities != null)
+        {
+            // Perform sequencing and paging
+            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+        }
+
+        return entities;
+    }
+
+
+    // countEntitiesByProperty
+    @Override
+    public int countEntitiesByProperty(String                 userId,
+                                       String                 entityTypeGUID,
+                                       InstanceProperties     matchProperties,
+                                       MatchCriteria          matchCriteria,
+                                       List<InstanceStatus>   limitResultsByStatus,
+                                       List<String>           limitResultsByClassification,
+                                       Date                   asOfTime)
+    throws
+    InvalidParameterException,
+    TypeErrorException,
+    RepositoryErrorException,
+    PropertyErrorException,
+    PagingErrorException,
+    FunctionNotSupportedException,
+    UserNotAuthorizedException
+    {
+        return this.countEntitiesByProperty(userId,
+                                            entityTypeGUID,
+                                            matchProperties,
+                                            matchCriteria,
+                                            limitResultsByStatus,
+                                            limitResultsByClassification,
+                                            asOfTime,
+                                            null);
+    }
+
+
+    // countEntitiesByProperty
+    @Override
+    public int countEntitiesByProperty(String                 userId,
+                                       String                 entityTypeGUID,
+                                       InstanceProperties     matchProperties,
+                                       MatchCriteria          matchCriteria,
+                                       List<InstanceStatus>   limitResultsByStatus,
+                                       List<String>           limitResultsByClassification,
+                                       Date                   asOfTime,
+                                       String                 homeMetadataCollectionId)
+    throws
+    InvalidParameterException,
+    TypeErrorException,
+    RepositoryErrorException,
+    PropertyErrorException,
+    PagingErrorException,
+    FunctionNotSupportedException,
+    UserNotAuthorizedException
+    {
+        final String methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        0);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        List<EntityDetail> retainedEntities = this.getMatchingEntitiesByProperty(entityTypeGUID,
+                                                                                 matchProperties,
+                                                                                 matchCriteria,
+                                                                                 limitResultsByStatus,
+                                                                                 limitResultsByClassification);
+
+        if (retainedEntities == null)
+        {
+            return 0;
+        }
+
+        if (homeMetadataCollectionId == null)
+        {
+            return retainedEntities.size();
+        }
+
+        int count = 0;
+
+        for (EntityDetail entity : retainedEntities)
+        {
+            if (super.isHomedIn(entity, homeMetadataCollectionId))
+            {
+                count ++;
+            }
+        }
+
+        return count;
+    }
+
+
+    // getMatchingEntitiesByProperty
+    private List<EntityDetail> getMatchingEntitiesByProperty(String                 entityTypeGUID,
+                                                             InstanceProperties     matchProperties,
+                                                             MatchCriteria          matchCriteria,
+                                                             List<InstanceStatus>   limitResultsByStatus,
+                                                             List<String>           limitResultsByClassification)
+    throws
+    InvalidParameterException,
+    TypeErrorException,
+    RepositoryErrorException,
+    PropertyErrorException
+    {
         // Generate a query plan
         GraphOMRSQueryPlan queryPlan = new   GraphOMRSQueryPlan(repositoryName,
                                                                 metadataCollectionId,
@@ -1306,12 +1615,10 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                     }
                 }
             }
-            // Perform sequencing and paging
-            // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            return retainedEntities;
         }
 
-        return entities;
+        return null;
     }
 
 
@@ -4301,6 +4608,38 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            InvalidEntityException,
+            InvalidRelationshipException
+    {
+        final String  methodName = "saveInstanceReferenceCopies";
+
+        /*
+         * Validate the request once for the whole batch.  Any instance with an invalid header is recorded as a
+         * failure and the rest of the batch is saved.
+         */
+        List<EntityDetail>             validEntities      = new ArrayList<>();
+        List<Relationship>             validRelationships = new ArrayList<>();
+        Map<InstanceHeader, Exception> failures           = new LinkedHashMap<>();
+
+        super.referenceInstanceBatchValidation(userId, instances, validEntities, validRelationships, failures, methodName);
+
+        int instanceCount = failures.size() + validEntities.size() + validRelationships.size();
+
+        /*
+         * Save the instances in chunked transactions
+         */
+        failures.putAll(graphStore.saveReferenceCopiesToStore(validEntities, validRelationships));
+
+        super.reportReferenceCopyFailures(failures, instanceCount, methodName);
+    }
+
+
     @Override
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
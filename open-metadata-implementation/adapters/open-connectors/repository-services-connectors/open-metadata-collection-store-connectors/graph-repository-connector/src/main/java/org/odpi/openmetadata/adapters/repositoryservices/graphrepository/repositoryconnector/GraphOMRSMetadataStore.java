@@ -12,7 +12,10 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphException;
 import org.janusgraph.core.attribute.Text;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
+import org.janusgraph.diskstorage.locking.TemporaryLockingException;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
@@ -21,6 +24,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
@@ -55,9 +59,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
@@ -67,6 +74,7 @@ import static org.apache.tinkerpop.gremlin.process.traversal.P.lte;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.neq;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_CLASSIFICATION_CLASSIFICATION_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
@@ -78,6 +86,8 @@ import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_RELATIONSHIP;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_METADATACOLLECTION_ID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_REPLICATED_BY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_NAME_TYPE_NAME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.corePropertiesClassification;
@@ -97,6 +107,11 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * The store does not serialize requests.  Each thread works in its own JanusGraph transaction (the graph's
+ * thread-bound transaction) so reads and writes from different threads run concurrently.  Conflicting updates are
+ * detected by JanusGraph's locking on the unique GUID indexes when the transaction commits.  A write that fails
+ * because of such a conflict is rolled back and retried from the start, so it sees the other transaction's changes.
  */
 class GraphOMRSMetadataStore {
 
@@ -116,6 +131,19 @@ class GraphOMRSMetadataStore {
     private final GraphOMRSEntityMapper entityMapper;
     private final GraphOMRSClassificationMapper classificationMapper;
 
+    /*
+     * Number of times a write is attempted when its transaction conflicts with another, and the base delay
+     * in milliseconds between attempts.  The delay grows with each attempt and has a random element so the
+     * conflicting transactions do not retry in step.
+     */
+    static final int          maxTransactionAttempts = 5;
+    private static final long transactionRetryDelay  = 20L;
+
+    /*
+     * Number of instances written in each transaction when a batch of reference copies is saved.
+     */
+    private static final int  referenceCopyChunkSize = 200;
+
 
     /**
      * Typical constructor
@@ -164,13 +192,87 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /**
+     * Handle the failure of a write to the graph.  The transaction is rolled back.  If the failure was caused by
+     * a conflict with a concurrent transaction and there are attempts left, the method waits before returning so the
+     * caller can retry the write.  Otherwise, the error is returned as a repository error.
+     *
+     * @param error exception from JanusGraph
+     * @param attempt number of the attempt that failed
+     * @param methodName calling method
+     * @throws RepositoryErrorException the write can not be retried
+     */
+    void handleTransactionFailure(JanusGraphException error,
+                                  int                 attempt,
+                                  String              methodName) throws RepositoryErrorException
+    {
+        try
+        {
+            instanceGraph.tx().rollback();
+        }
+        catch (Exception rollbackError)
+        {
+            log.debug("{} ignored exception from rollback {}", methodName, rollbackError.getMessage());
+        }
+
+        boolean isConflict = error.isCausedBy(PermanentLockingException.class) || error.isCausedBy(TemporaryLockingException.class);
+
+        if ((isConflict) && (attempt < maxTransactionAttempts))
+        {
+            log.debug("{} transaction conflict on attempt {}, retrying: {}", methodName, attempt, error.getMessage());
+
+            try
+            {
+                Thread.sleep(transactionRetryDelay * attempt + ThreadLocalRandom.current().nextLong(transactionRetryDelay));
+                return;
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        log.error("{} transaction failed after {} attempt(s): {}", methodName, attempt, error.getMessage());
+
+        throw new RepositoryErrorException(GraphOMRSErrorCode.TRANSACTION_FAILED.getMessageDefinition(methodName,
+                                                                                                      this.getClass().getName(),
+                                                                                                      repositoryName,
+                                                                                                      Integer.toString(attempt),
+                                                                                                      error.getMessage()),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           error);
+    }
+
+
     // A note on existence checking:
     // The MDC will NOT have already checked that there is not already an entity or entity proxy wth the same GUID.
     // Although we KNOW that this is an attempt to create a new entity and that the GUID has just been generated,
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    EntityDetail createEntityInStore(EntityDetail entity)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        final String methodName = "createEntityInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                return this.createEntityInGraph(entity);
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private EntityDetail createEntityInGraph(EntityDetail entity)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -289,7 +391,29 @@ class GraphOMRSMetadataStore {
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    void createEntityProxyInStore(EntityProxy entityProxy)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        final String methodName = "createEntityProxyInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.createEntityProxyInGraph(entityProxy);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void createEntityProxyInGraph(EntityProxy entityProxy)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -314,25 +438,9 @@ class GraphOMRSMetadataStore {
                     "entityProxy");
         }
 
-        Vertex vertex = g.addV("Entity").next();
-
         try
         {
-            entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
-
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entityProxy.getClassifications();
-            if (classifications != null)
-            {
-                for (Classification classification : classifications)
-                {
-                    log.debug("{} add classification {}", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    vertex.addEdge("Classifier", classificationVertex);
-                }
-            }
-
+            this.addEntityProxyVertex(entityProxy, g);
         }
         catch (Exception e)
         {
@@ -353,6 +461,35 @@ class GraphOMRSMetadataStore {
     }
 
 
+    // Add a vertex for the entity proxy, with a vertex for each of its classifications, in the current transaction
+    private Vertex addEntityProxyVertex(EntityProxy          entityProxy,
+                                        GraphTraversalSource g)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "addEntityProxyVertex";
+
+        Vertex vertex = g.addV("Entity").next();
+
+        entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
+
+        // Create a vertex per classification and link them to the entity vertex
+        List<Classification> classifications = entityProxy.getClassifications();
+        if (classifications != null)
+        {
+            for (Classification classification : classifications)
+            {
+                log.debug("{} add classification {}", methodName, classification.getName());
+                Vertex classificationVertex = g.addV("Classification").next();
+                classificationMapper.mapClassificationToVertex(classification, classificationVertex);
+                vertex.addEdge("Classifier", classificationVertex);
+            }
+        }
+
+        return vertex;
+    }
+
+
     /*
      *  If there is no entity that has the GUID of the entity to be saved, create an entity detail using the passed entity.
      *
@@ -389,7 +526,30 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.saveEntityReferenceCopyToGraph(entity);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void saveEntityReferenceCopyToGraph(EntityDetail entity)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -450,26 +610,14 @@ class GraphOMRSMetadataStore {
          * Whether this just created a new vertex or is reusing an existing vertex (for a reference copy or proxy),
          * populate the vertex.
          * The mapping of an entity detail to the vertex will clear the proxy flag, even if previously set.
+         * The classifications on an existing vertex are brought into line with the entity rather than added again.
          */
 
 
         try
         {
             entityMapper.mapEntityDetailToVertex(entity, vertex);
-
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entity.getClassifications();
-            if (classifications != null)
-            {
-                for (Classification classification : classifications)
-                {
-                    log.debug("{} add classification: {} ", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    vertex.addEdge("Classifier", classificationVertex);
-                }
-            }
-
+            updateEntityClassifications(entity, vertex, g);
         }
         catch (Exception e)
         {
@@ -524,7 +672,30 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityProxy entity)
+    void saveEntityReferenceCopyToStore(EntityProxy entity)
+
+            throws InvalidParameterException,
+                   RepositoryErrorException
+
+    {
+        final String methodName = "saveEntityReferenceCopyToStore(proxy)";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.saveEntityReferenceCopyToGraph(entity);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void saveEntityReferenceCopyToGraph(EntityProxy entity)
 
             throws InvalidParameterException,
                    RepositoryErrorException
@@ -607,7 +778,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    EntityDetail getEntityDetailFromStore(String guid)
 
     throws EntityNotKnownException,
            EntityProxyOnlyException,
@@ -704,7 +875,59 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    // getEntityDetailsFromStore
+    Map<String, EntityDetail> getEntityDetailsFromStore(Collection<String> guids)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "getEntityDetailsFromStore";
+
+        /*
+         * All the entities are located with one traversal.  Proxies are skipped since only full entities are
+         * returned, and GUIDs that are not found are simply missing from the map.
+         */
+        Map<String, EntityDetail> entities = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity")
+                                             .has(PROPERTY_KEY_ENTITY_GUID, within(guids))
+                                             .has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        while (gt.hasNext())
+        {
+            Vertex vertex = gt.next();
+            log.debug("{} found entity vertex {}", methodName, vertex);
+
+            try
+            {
+                EntityDetail entity = new EntityDetail();
+                entityMapper.mapVertexToEntityDetail(vertex, entity);
+                entities.put(entity.getGUID(), entity);
+            }
+            catch (RepositoryErrorException | EntityProxyOnlyException e)
+            {
+                log.error("{} Caught exception {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
+                                entityMapper.getEntityGUID(vertex), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+        }
+
+        g.tx().commit();
+
+        return entities;
+    }
+
+
+    EntitySummary getEntitySummaryFromStore(String guid)
 
     throws EntityNotKnownException,
            RepositoryErrorException
@@ -774,7 +997,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
 
     throws RepositoryErrorException
 
@@ -833,7 +1056,30 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    void createRelationshipInStore(Relationship relationship)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+
+    {
+        final String methodName = "createRelationshipInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.createRelationshipInGraph(relationship);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void createRelationshipInGraph(Relationship relationship)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -974,7 +1220,30 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveRelationshipReferenceCopyToStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.saveRelationshipReferenceCopyToGraph(relationship);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void saveRelationshipReferenceCopyToGraph(Relationship relationship)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -1011,7 +1280,7 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
+            createEntityProxyInGraph(entityOne);
         }
 
         // Process end 2
@@ -1036,7 +1305,7 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
+            createEntityProxyInGraph(entityTwo);
         }
 
 
@@ -1152,47 +1421,357 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized Relationship getRelationshipFromStore(String guid)
-
-    throws RepositoryErrorException
-
+    /*
+     *  Save a batch of reference copies.  The entities are saved first so that the relationships in the batch find
+     *  their ends rather than creating proxies for them.
+     *
+     *  The instances are written in chunks, each in its own transaction.  The vertices and edges already in the graph
+     *  for a chunk are located with one traversal each.  If any instance in a chunk fails, the chunk is rolled back
+     *  and its instances are saved one at a time, using the same logic as saveEntityReferenceCopyToStore and
+     *  saveRelationshipReferenceCopyToStore, so that only the instances in error are skipped.
+     *
+     *  The instances that could not be saved are returned with the exception for each one.
+     */
+    Map<InstanceHeader, Exception> saveReferenceCopiesToStore(List<EntityDetail> entities,
+                                                              List<Relationship> relationships)
     {
-        String methodName = "getRelationshipFromStore";
-
-        Relationship relationship = null;
+        final String methodName = "saveReferenceCopiesToStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        Map<InstanceHeader, Exception> failures = new LinkedHashMap<>();
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
-        if (edgeIt.hasNext())
+        for (int start = 0; start < entities.size(); start += referenceCopyChunkSize)
         {
-            Edge edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
-
-            relationship = new Relationship();
+            List<EntityDetail> chunk = entities.subList(start, Math.min(start + referenceCopyChunkSize, entities.size()));
 
-            // Map the properties
-            relationshipMapper.mapEdgeToRelationship(edge, relationship);
-
-            // Set the relationship ends...
-            Vertex vertex = null;
             try
             {
-
-                vertex = edge.outVertex();
-
-                // Could test here whether each vertex is for a proxy, but it doesn't matter whether the vertex represents a full entity
-                // (i.e. EntityDetail of a local/reference copy) as opposed to an EntityProxy. It can be retrieved as a proxy anyway...
-
-                if (vertex != null)
+                for (int attempt = 1; ; attempt++)
                 {
-                    log.debug("{} entity vertex {}", methodName, vertex);
-                    EntityProxy entityOneProxy = new EntityProxy();
-                    entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
-                    log.debug("{} entityOneProxy {}", methodName, entityOneProxy);
-                    relationship.setEntityOneProxy(entityOneProxy);
+                    try
+                    {
+                        this.saveEntityReferenceCopiesToGraph(chunk);
+                        break;
+                    }
+                    catch (JanusGraphException error)
+                    {
+                        this.handleTransactionFailure(error, attempt, methodName);
+                    }
                 }
-
+            }
+            catch (Exception error)
+            {
+                log.debug("{} unable to save chunk of {} entities, saving them one at a time: {}", methodName, chunk.size(), error.getMessage());
+                this.rollbackTransaction(methodName);
+
+                for (EntityDetail entity : chunk)
+                {
+                    try
+                    {
+                        this.saveEntityReferenceCopyToStore(entity);
+                    }
+                    catch (Exception entityError)
+                    {
+                        failures.put(entity, entityError);
+                    }
+                }
+            }
+        }
+
+        for (int start = 0; start < relationships.size(); start += referenceCopyChunkSize)
+        {
+            List<Relationship> chunk = relationships.subList(start, Math.min(start + referenceCopyChunkSize, relationships.size()));
+
+            try
+            {
+                for (int attempt = 1; ; attempt++)
+                {
+                    try
+                    {
+                        this.saveRelationshipReferenceCopiesToGraph(chunk);
+                        break;
+                    }
+                    catch (JanusGraphException error)
+                    {
+                        this.handleTransactionFailure(error, attempt, methodName);
+                    }
+                }
+            }
+            catch (Exception error)
+            {
+                log.debug("{} unable to save chunk of {} relationships, saving them one at a time: {}", methodName, chunk.size(), error.getMessage());
+                this.rollbackTransaction(methodName);
+
+                for (Relationship relationship : chunk)
+                {
+                    try
+                    {
+                        this.saveRelationshipReferenceCopyToStore(relationship);
+                    }
+                    catch (Exception relationshipError)
+                    {
+                        failures.put(relationship, relationshipError);
+                    }
+                }
+            }
+        }
+
+        return failures;
+    }
+
+
+    private void saveEntityReferenceCopiesToGraph(List<EntityDetail> entities)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveEntityReferenceCopiesToGraph";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Map<String, Vertex> vertices = this.getEntityVertices(g, entities.stream().map(EntityDetail::getGUID).collect(Collectors.toSet()));
+
+        for (EntityDetail entity : entities)
+        {
+            Vertex vertex = vertices.get(entity.getGUID());
+
+            if (vertex == null)
+            {
+                log.debug("{} create vertex for entity {}", methodName, entity.getGUID());
+                vertex = g.addV("Entity").next();
+                vertices.put(entity.getGUID(), vertex);
+            }
+            else
+            {
+                String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
+
+                if (! vertexMetadataCollectionId.equals(entity.getMetadataCollectionId()))
+                {
+                    log.debug("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
+                    g.tx().rollback();
+
+                    throw new InvalidParameterException(
+                            GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
+                                    entity.getGUID(), methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName,
+                            "entity");
+                }
+            }
+
+            /*
+             * The mapping of an entity detail to the vertex clears the proxy flag, even if previously set.
+             * The classifications on an existing vertex are brought into line with the entity.
+             */
+            try
+            {
+                entityMapper.mapEntityDetailToVertex(entity, vertex);
+                updateEntityClassifications(entity, vertex, g);
+            }
+            catch (Exception e)
+            {
+                log.debug("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
+                                entity.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+        }
+
+        g.tx().commit();
+    }
+
+
+    private void saveRelationshipReferenceCopiesToGraph(List<Relationship> relationships)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveRelationshipReferenceCopiesToGraph";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Set<String> entityGUIDs       = new HashSet<>();
+        Set<String> relationshipGUIDs = new HashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            entityGUIDs.add(relationship.getEntityOneProxy().getGUID());
+            entityGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+            relationshipGUIDs.add(relationship.getGUID());
+        }
+
+        Map<String, Vertex> vertices = this.getEntityVertices(g, entityGUIDs);
+        Map<String, Edge>   edges    = new HashMap<>();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(relationshipGUIDs));
+
+        while (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+
+            edges.put(relationshipMapper.getRelationshipGUID(edge), edge);
+        }
+
+        for (Relationship relationship : relationships)
+        {
+            try
+            {
+                /*
+                 * An existing vertex for an end is reused whether it is the master, a ref copy or a proxy.  A proxy
+                 * is created for a missing end and is then reused by the other relationships in the chunk.
+                 */
+                Vertex vertexOne = vertices.get(relationship.getEntityOneProxy().getGUID());
+
+                if (vertexOne == null)
+                {
+                    vertexOne = this.addEntityProxyVertex(relationship.getEntityOneProxy(), g);
+                    vertices.put(relationship.getEntityOneProxy().getGUID(), vertexOne);
+                }
+
+                Vertex vertexTwo = vertices.get(relationship.getEntityTwoProxy().getGUID());
+
+                if (vertexTwo == null)
+                {
+                    vertexTwo = this.addEntityProxyVertex(relationship.getEntityTwoProxy(), g);
+                    vertices.put(relationship.getEntityTwoProxy().getGUID(), vertexTwo);
+                }
+
+                Edge edge = edges.get(relationship.getGUID());
+
+                if (edge == null)
+                {
+                    edge = vertexOne.addEdge("Relationship", vertexTwo);
+                    edges.put(relationship.getGUID(), edge);
+                }
+                else
+                {
+                    String edgeMetadataCollectionId = relationshipMapper.getRelationshipMetadataCollectionId(edge);
+
+                    if (! edgeMetadataCollectionId.equals(relationship.getMetadataCollectionId()))
+                    {
+                        log.debug("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
+                        g.tx().rollback();
+
+                        throw new InvalidParameterException(
+                                GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
+                                        relationship.getGUID(),
+                                        methodName,
+                                        this.getClass().getName(),
+                                        repositoryName),
+                                this.getClass().getName(),
+                                methodName,
+                                "relationship");
+                    }
+                }
+
+                relationshipMapper.mapRelationshipToEdge(relationship, edge);
+            }
+            catch (RepositoryErrorException e)
+            {
+                log.debug("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
+                                relationship.getGUID(),
+                                methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+        }
+
+        g.tx().commit();
+    }
+
+
+    // Roll back the current transaction, if any, ignoring any error from the rollback
+    private void rollbackTransaction(String methodName)
+    {
+        try
+        {
+            if (instanceGraph.tx().isOpen())
+            {
+                instanceGraph.tx().rollback();
+            }
+        }
+        catch (Exception rollbackError)
+        {
+            log.debug("{} ignored exception from rollback {}", methodName, rollbackError.getMessage());
+        }
+    }
+
+
+    // Locate the vertices for the entities with one traversal, returning a map from GUID to vertex
+    private Map<String, Vertex> getEntityVertices(GraphTraversalSource g,
+                                                  Set<String>          guids)
+    {
+        Map<String, Vertex> vertices = new HashMap<>();
+
+        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, within(guids));
+
+        while (vertexIt.hasNext())
+        {
+            Vertex vertex = vertexIt.next();
+
+            vertices.put(entityMapper.getEntityGUID(vertex), vertex);
+        }
+
+        return vertices;
+    }
+
+
+    Relationship getRelationshipFromStore(String guid)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "getRelationshipFromStore";
+
+        Relationship relationship = null;
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+        if (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
+
+            relationship = new Relationship();
+
+            // Map the properties
+            relationshipMapper.mapEdgeToRelationship(edge, relationship);
+
+            // Set the relationship ends...
+            Vertex vertex = null;
+            try
+            {
+
+                vertex = edge.outVertex();
+
+                // Could test here whether each vertex is for a proxy, but it doesn't matter whether the vertex represents a full entity
+                // (i.e. EntityDetail of a local/reference copy) as opposed to an EntityProxy. It can be retrieved as a proxy anyway...
+
+                if (vertex != null)
+                {
+                    log.debug("{} entity vertex {}", methodName, vertex);
+                    EntityProxy entityOneProxy = new EntityProxy();
+                    entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
+                    log.debug("{} entityOneProxy {}", methodName, entityOneProxy);
+                    relationship.setEntityOneProxy(entityOneProxy);
+                }
+
                 vertex = edge.inVertex();
 
                 if (vertex != null)
@@ -1227,7 +1806,102 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    // getRelationshipsFromStore
+    Map<String, Relationship> getRelationshipsFromStore(Collection<String> guids)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "getRelationshipsFromStore";
+
+        /*
+         * All the relationships are located with one traversal.  GUIDs that are not found are simply missing
+         * from the map.
+         */
+        Map<String, Relationship> relationships = new HashMap<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(guids));
+
+        while (gt.hasNext())
+        {
+            Edge edge = gt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
+
+            Relationship relationship = new Relationship();
+
+            // Map the properties
+            relationshipMapper.mapEdgeToRelationship(edge, relationship);
+
+            // Set the relationship ends...
+            Vertex vertex = null;
+            try
+            {
+                vertex = edge.outVertex();
+
+                if (vertex != null)
+                {
+                    EntityProxy entityOneProxy = new EntityProxy();
+                    entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
+                    relationship.setEntityOneProxy(entityOneProxy);
+                }
+
+                vertex = edge.inVertex();
+
+                if (vertex != null)
+                {
+                    EntityProxy entityTwoProxy = new EntityProxy();
+                    entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
+                    relationship.setEntityTwoProxy(entityTwoProxy);
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
+                                entityMapper.getEntityGUID(vertex), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+
+            relationships.put(relationship.getGUID(), relationship);
+        }
+
+        g.tx().commit();
+
+        return relationships;
+    }
+
+
+    void updateEntityInStore(EntityDetail entity)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "updateEntityInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.updateEntityInGraph(entity);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void updateEntityInGraph(EntityDetail entity)
 
     throws RepositoryErrorException
 
@@ -1285,7 +1959,29 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityProxy entity)
+    void updateEntityInStore(EntityProxy entity)
+
+            throws RepositoryErrorException
+
+    {
+        final String methodName = "updateEntityInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.updateEntityInGraph(entity);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void updateEntityInGraph(EntityProxy entity)
 
             throws RepositoryErrorException
 
@@ -1438,7 +2134,29 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    void updateRelationshipInStore(Relationship relationship)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "updateRelationshipInStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.updateRelationshipInGraph(relationship);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void updateRelationshipInGraph(Relationship relationship)
 
     throws RepositoryErrorException
 
@@ -1484,7 +2202,28 @@ class GraphOMRSMetadataStore {
     //
     // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    void removeEntityFromStore(String entityGUID)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "removeEntityFromStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.removeEntityFromGraph(entityGUID);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void removeEntityFromGraph(String entityGUID)
     {
         final String methodName = "removeEntityFromStore";
 
@@ -1540,7 +2279,28 @@ class GraphOMRSMetadataStore {
 
 
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    void removeRelationshipFromStore(String relationshipGUID)
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "removeRelationshipFromStore";
+
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                this.removeRelationshipFromGraph(relationshipGUID);
+                return;
+            }
+            catch (JanusGraphException error)
+            {
+                this.handleTransactionFailure(error, attempt, methodName);
+            }
+        }
+    }
+
+
+    private void removeRelationshipFromGraph(String relationshipGUID)
     {
         final String methodName = "removeRelationshipFromStore";
 
@@ -1560,7 +2320,7 @@ class GraphOMRSMetadataStore {
     }
 
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
     throws RepositoryErrorException
 
@@ -1641,6 +2401,62 @@ class GraphOMRSMetadataStore {
     }
 
 
+    // countRelationshipsForEntity
+    int countRelationshipsForEntity(String               entityGUID,
+                                    String               relationshipTypeName,
+                                    List<InstanceStatus> limitResultsByStatus,
+                                    String               homeMetadataCollectionId)
+
+    {
+        final String methodName = "countRelationshipsForEntity";
+
+        /*
+         * The count is answered from the edge properties in the graph - the relationships and their
+         * entity proxies are not mapped.  DELETED relationships are never counted.
+         */
+        List<Integer> excludedStatusOrdinals = new ArrayList<>();
+        excludedStatusOrdinals.add(InstanceStatus.DELETED.getOrdinal());
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Edge> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID)
+                                           .bothE("Relationship")
+                                           .has(PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS, without(excludedStatusOrdinals));
+
+        if (limitResultsByStatus != null)
+        {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus)
+            {
+                if (status != null)
+                {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS, within(statusOrdinals));
+        }
+
+        if (relationshipTypeName != null)
+        {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, relationshipTypeName);
+        }
+
+        if (homeMetadataCollectionId != null)
+        {
+            gt = gt.or(has(PROPERTY_KEY_RELATIONSHIP_METADATACOLLECTION_ID, homeMetadataCollectionId),
+                       has(PROPERTY_KEY_RELATIONSHIP_REPLICATED_BY, homeMetadataCollectionId));
+        }
+
+        long count = gt.count().next();
+
+        log.debug("{} entity {} has {} matching relationships", methodName, entityGUID, count);
+
+        g.tx().commit();
+
+        return (int) count;
+    }
+
+
 
     // findEntitiesByPropertyForType
     List<EntityDetail> findEntitiesByPropertyForType(String               typeDefName,
@@ -0,0 +1,375 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that GraphOMRSMetadataStore.saveReferenceCopiesToStore saves a batch of reference copies in chunks,
+ * and that when a chunk fails its instances are saved one at a time so that only the instances in error are
+ * skipped, without duplicating the classifications of the entities that are saved again.
+ */
+public class GraphOMRSMetadataStoreReferenceCopyTest
+{
+    private static final String localMetadataCollectionId  = "local-metadata-collection-id";
+    private static final String remoteMetadataCollectionId = "remote-metadata-collection-id";
+    private static final String otherMetadataCollectionId  = "other-metadata-collection-id";
+    private static final String repositoryName             = "TestGraphRepository";
+    private static final String entityTypeName             = "Referenceable";
+    private static final String classificationTypeName     = "Confidentiality";
+    private static final String otherClassificationName    = "Criticality";
+    private static final String relationshipTypeName       = "TestRelationship";
+
+    private GraphOMRSMetadataStore graphStore = null;
+
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        Map<String, Object> storageProperties = new HashMap<>();
+
+        storageProperties.put("storage.backend", "inmemory");
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", Files.createTempDirectory("graph-reference-copy-test").toString());
+
+        graphStore = new GraphOMRSMetadataStore(localMetadataCollectionId,
+                                                repositoryName,
+                                                getRepositoryHelper(),
+                                                getAuditLog(),
+                                                storageProperties);
+    }
+
+
+    /**
+     * A batch that spans several chunks is saved, the relationships find the entities saved earlier in the
+     * batch, and a proxy is created for an end that is not in the batch.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSaveBatch() throws Exception
+    {
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int i = 0; i < 250; i++)
+        {
+            entities.add(getEntity("entity-" + i, 1L, classificationTypeName));
+        }
+
+        relationships.add(getRelationship("relationship-1", "entity-0", "entity-249"));
+        relationships.add(getRelationship("relationship-2", "entity-1", "entity-not-in-batch"));
+
+        Map<InstanceHeader, Exception> failures = graphStore.saveReferenceCopiesToStore(entities, relationships);
+
+        assertTrue(failures.isEmpty(), failures.toString());
+
+        for (int i = 0; i < 250; i++)
+        {
+            assertEquals(graphStore.getEntityDetailFromStore("entity-" + i).getClassifications().size(), 1);
+        }
+
+        assertEquals(graphStore.getRelationshipFromStore("relationship-1").getEntityTwoProxy().getGUID(), "entity-249");
+        assertEquals(graphStore.getRelationshipFromStore("relationship-2").getEntityTwoProxy().getGUID(), "entity-not-in-batch");
+        assertNotNull(graphStore.getEntityProxyFromStore("entity-not-in-batch"));
+
+        try
+        {
+            graphStore.getEntityDetailFromStore("entity-not-in-batch");
+            fail("EntityProxyOnlyException expected");
+        }
+        catch (EntityProxyOnlyException expected)
+        {
+            /*
+             * Only a proxy is stored for the end that is not in the batch.
+             */
+        }
+    }
+
+
+    /**
+     * When one entity in a chunk fails, the rest of the chunk is saved one at a time.  The failure is returned,
+     * and the entities that already had classifications are not given duplicate classifications.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testChunkFallback() throws Exception
+    {
+        graphStore.saveEntityReferenceCopyToStore(getEntity("entity-1", 1L, classificationTypeName, otherClassificationName));
+        graphStore.saveEntityReferenceCopyToStore(getEntity("entity-conflict", otherMetadataCollectionId, 1L));
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        entities.add(getEntity("entity-1", 2L, classificationTypeName, otherClassificationName));
+        entities.add(getEntity("entity-conflict", 2L));
+        entities.add(getEntity("entity-2", 1L, classificationTypeName));
+
+        Map<InstanceHeader, Exception> failures = graphStore.saveReferenceCopiesToStore(entities, new ArrayList<>());
+
+        assertEquals(failures.size(), 1);
+        assertEquals(failures.keySet().iterator().next().getGUID(), "entity-conflict");
+        assertTrue(failures.values().iterator().next() instanceof InvalidParameterException);
+
+        EntityDetail entity = graphStore.getEntityDetailFromStore("entity-1");
+
+        assertEquals(entity.getVersion(), 2L);
+        assertEquals(entity.getClassifications().size(), 2);
+        assertEquals(graphStore.getEntityDetailFromStore("entity-2").getClassifications().size(), 1);
+        assertEquals(graphStore.getEntityDetailFromStore("entity-conflict").getMetadataCollectionId(), otherMetadataCollectionId);
+    }
+
+
+    /**
+     * Saving the same reference copy again, on its own, keeps one classification of each name.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSingleSaveSyncsClassifications() throws Exception
+    {
+        graphStore.saveEntityReferenceCopyToStore(getEntity("entity-1", 1L, classificationTypeName, otherClassificationName));
+        graphStore.saveEntityReferenceCopyToStore(getEntity("entity-1", 2L, classificationTypeName, otherClassificationName));
+
+        assertEquals(graphStore.getEntityDetailFromStore("entity-1").getClassifications().size(), 2);
+
+        graphStore.saveEntityReferenceCopyToStore(getEntity("entity-1", 3L, classificationTypeName));
+
+        List<Classification> classifications = graphStore.getEntityDetailFromStore("entity-1").getClassifications();
+
+        assertEquals(classifications.size(), 1);
+        assertEquals(classifications.get(0).getName(), classificationTypeName);
+    }
+
+
+    /**
+     * When one relationship in a chunk fails, the rest of the chunk is saved one at a time.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testRelationshipChunkFallback() throws Exception
+    {
+        Relationship conflict = getRelationship("relationship-conflict", "entity-1", "entity-2");
+
+        conflict.setMetadataCollectionId(otherMetadataCollectionId);
+        graphStore.saveRelationshipReferenceCopyToStore(conflict);
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        relationships.add(getRelationship("relationship-1", "entity-1", "entity-2"));
+        relationships.add(getRelationship("relationship-conflict", "entity-1", "entity-2"));
+        relationships.add(getRelationship("relationship-2", "entity-2", "entity-3"));
+
+        Map<InstanceHeader, Exception> failures = graphStore.saveReferenceCopiesToStore(new ArrayList<>(), relationships);
+
+        assertEquals(failures.size(), 1);
+        assertEquals(failures.keySet().iterator().next().getGUID(), "relationship-conflict");
+        assertNotNull(graphStore.getRelationshipFromStore("relationship-1"));
+        assertNotNull(graphStore.getRelationshipFromStore("relationship-2"));
+        assertEquals(graphStore.getRelationshipFromStore("relationship-conflict").getMetadataCollectionId(), otherMetadataCollectionId);
+    }
+
+
+    private static EntityDetail getEntity(String    guid,
+                                          long      version,
+                                          String... classificationNames)
+    {
+        return getEntity(guid, remoteMetadataCollectionId, version, classificationNames);
+    }
+
+
+    private static EntityDetail getEntity(String    guid,
+                                          String    metadataCollectionId,
+                                          long      version,
+                                          String... classificationNames)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        setHeader(entity, guid, metadataCollectionId, version, TypeDefCategory.ENTITY_DEF, entityTypeName);
+
+        List<Classification> classifications = new ArrayList<>();
+
+        for (String classificationName : classificationNames)
+        {
+            Classification classification = new Classification();
+
+            setAuditHeader(classification, metadataCollectionId, version, TypeDefCategory.CLASSIFICATION_DEF, classificationName);
+            classification.setName(classificationName);
+            classifications.add(classification);
+        }
+
+        entity.setClassifications(classifications);
+
+        return entity;
+    }
+
+
+    private static Relationship getRelationship(String guid,
+                                                String end1GUID,
+                                                String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+
+        setHeader(relationship, guid, remoteMetadataCollectionId, 1L, TypeDefCategory.RELATIONSHIP_DEF, relationshipTypeName);
+        relationship.setEntityOneProxy(getProxy(end1GUID));
+        relationship.setEntityTwoProxy(getProxy(end2GUID));
+
+        return relationship;
+    }
+
+
+    private static EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        setHeader(proxy, guid, remoteMetadataCollectionId, 1L, TypeDefCategory.ENTITY_DEF, entityTypeName);
+
+        return proxy;
+    }
+
+
+    private static void setHeader(InstanceHeader  instance,
+                                  String          guid,
+                                  String          metadataCollectionId,
+                                  long            version,
+                                  TypeDefCategory category,
+                                  String          typeName)
+    {
+        instance.setGUID(guid);
+        setAuditHeader(instance, metadataCollectionId, version, category, typeName);
+    }
+
+
+    private static void setAuditHeader(InstanceAuditHeader instance,
+                                       String              metadataCollectionId,
+                                       long                version,
+                                       TypeDefCategory     category,
+                                       String              typeName)
+    {
+        instance.setMetadataCollectionId(metadataCollectionId);
+        instance.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        instance.setVersion(version);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setCreatedBy("testUser");
+        instance.setCreateTime(new Date());
+        instance.setType(new InstanceType(category, typeName + "-guid", typeName, 1L));
+    }
+
+
+    /**
+     * Return a repository helper that describes every type as a type with no properties.  The mappers only use
+     * it to look up the types of the instances.
+     *
+     * @return repository helper
+     */
+    private static OMRSRepositoryHelper getRepositoryHelper()
+    {
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                         return getTypeDef((String) arguments[1]);
+
+                                                                     case "getTypeDef":
+                                                                         return getTypeDef((String) arguments[4]);
+
+                                                                     case "getNewInstanceType":
+                                                                         TypeDef typeDef = (TypeDef) arguments[1];
+
+                                                                         return new InstanceType(typeDef.getCategory(), typeDef.getGUID(), typeDef.getName(), typeDef.getVersion());
+
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return new ArrayList<>();
+                                                                 }
+
+                                                                 if (method.getReturnType() == boolean.class)
+                                                                 {
+                                                                     return false;
+                                                                 }
+
+                                                                 return null;
+                                                             });
+    }
+
+
+    private static TypeDef getTypeDef(String typeName)
+    {
+        TypeDef typeDef;
+
+        if (relationshipTypeName.equals(typeName))
+        {
+            typeDef = new RelationshipDef();
+        }
+        else if (entityTypeName.equals(typeName))
+        {
+            typeDef = new EntityDef();
+        }
+        else
+        {
+            typeDef = new ClassificationDef();
+        }
+
+        typeDef.setGUID(typeName + "-guid");
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+
+        return typeDef;
+    }
+
+
+    private static AuditLog getAuditLog()
+    {
+        return new AuditLog(new AuditLogDestination(null)
+                            {
+                                @Override
+                                public void addLogRecord(AuditLogRecord logRecord)
+                                {
+                                }
+                            },
+                            0,
+                            ComponentDevelopmentStatus.STABLE,
+                            repositoryName,
+                            "Graph repository reference copy test",
+                            null);
+    }
+}
@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.ClassificationDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that GraphOMRSMetadataStore retries a write whose transaction conflicts with a concurrent transaction,
+ * so that concurrent writes to the same vertex are all saved, and that a write that can not be retried is
+ * returned as a repository error.
+ */
+public class GraphOMRSMetadataStoreTransactionTest
+{
+    private static final String localMetadataCollectionId  = "local-metadata-collection-id";
+    private static final String remoteMetadataCollectionId = "remote-metadata-collection-id";
+    private static final String repositoryName             = "TestGraphRepository";
+    private static final String entityTypeName             = "Referenceable";
+    private static final String relationshipTypeName       = "TestRelationship";
+    private static final String transactionFailedId        = "OMRS-GRAPH-REPOSITORY-400-030";
+    private static final int    threadCount                = 8;
+    private static final int    roundCount                 = 20;
+
+    private final AtomicInteger conflicts = new AtomicInteger();
+
+    private GraphOMRSMetadataStore graphStore = null;
+
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        Map<String, Object> storageProperties = new HashMap<>();
+
+        storageProperties.put("storage.backend", "inmemory");
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", Files.createTempDirectory("graph-transaction-test").toString());
+
+        conflicts.set(0);
+
+        /*
+         * The store counts the conflicts that it retries.
+         */
+        graphStore = new GraphOMRSMetadataStore(localMetadataCollectionId,
+                                                repositoryName,
+                                                getRepositoryHelper(),
+                                                getAuditLog(),
+                                                storageProperties)
+        {
+            @Override
+            void handleTransactionFailure(JanusGraphException error,
+                                          int                 attempt,
+                                          String              methodName) throws RepositoryErrorException
+            {
+                super.handleTransactionFailure(error, attempt, methodName);
+                conflicts.incrementAndGet();
+            }
+        };
+    }
+
+
+    /**
+     * Threads that each save a relationship to the same new entity all create its vertex at the same time.  The
+     * unique index on the GUID means only one of the transactions can commit, and the others are retried and
+     * find the vertex.  Every relationship is saved and there is one vertex for the entity.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConcurrentWritesToOneVertex() throws Exception
+    {
+        /*
+         * The property keys are created when they are first used.  Saving one relationship first means the
+         * concurrent writes only conflict on the instances.
+         */
+        graphStore.saveRelationshipReferenceCopyToStore(getRelationship("relationship-setup", "entity-setup-1", "entity-setup-2"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        try
+        {
+            for (int round = 0; round < roundCount; round++)
+            {
+                String          sharedGUID = "shared-entity-" + round;
+                CyclicBarrier   barrier    = new CyclicBarrier(threadCount);
+                List<Future<?>> saves      = new ArrayList<>();
+
+                for (int i = 0; i < threadCount; i++)
+                {
+                    Relationship relationship = getRelationship("relationship-" + round + "-" + i, sharedGUID, "entity-" + round + "-" + i);
+
+                    saves.add(executor.submit(() ->
+                                              {
+                                                  barrier.await();
+                                                  graphStore.saveRelationshipReferenceCopyToStore(relationship);
+                                                  return null;
+                                              }));
+                }
+
+                for (Future<?> save : saves)
+                {
+                    save.get(60, TimeUnit.SECONDS);
+                }
+
+                for (int i = 0; i < threadCount; i++)
+                {
+                    assertEquals(graphStore.getRelationshipFromStore("relationship-" + round + "-" + i).getEntityOneProxy().getGUID(), sharedGUID);
+                }
+
+                assertEquals(graphStore.getEntityProxyFromStore(sharedGUID).getGUID(), sharedGUID);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertTrue(conflicts.get() > 0, "no conflicting transactions were retried");
+    }
+
+
+    /**
+     * A conflict with a concurrent transaction is retried while there are attempts left.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConflictRetried() throws Exception
+    {
+        for (int attempt = 1; attempt < GraphOMRSMetadataStore.maxTransactionAttempts; attempt++)
+        {
+            graphStore.handleTransactionFailure(this.getConflict(), attempt, "testConflictRetried");
+        }
+
+        assertEquals(conflicts.get(), GraphOMRSMetadataStore.maxTransactionAttempts - 1);
+    }
+
+
+    /**
+     * A conflict on the last attempt is returned as a repository error.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConflictOnLastAttemptReported() throws Exception
+    {
+        try
+        {
+            graphStore.handleTransactionFailure(this.getConflict(), GraphOMRSMetadataStore.maxTransactionAttempts, "testConflictOnLastAttemptReported");
+            fail("RepositoryErrorException expected");
+        }
+        catch (RepositoryErrorException expected)
+        {
+            assertEquals(expected.getReportedErrorMessageId(), transactionFailedId);
+            assertTrue(expected.getCause() instanceof JanusGraphException);
+        }
+
+        assertEquals(conflicts.get(), 0);
+    }
+
+
+    /**
+     * A failure that is not caused by a conflict is not retried, and is returned as a repository error.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testOtherFailureReported() throws Exception
+    {
+        try
+        {
+            graphStore.handleTransactionFailure(new JanusGraphException("Storage failure"), 1, "testOtherFailureReported");
+            fail("RepositoryErrorException expected");
+        }
+        catch (RepositoryErrorException expected)
+        {
+            assertEquals(expected.getReportedErrorMessageId(), transactionFailedId);
+        }
+
+        assertEquals(conflicts.get(), 0);
+    }
+
+
+    private JanusGraphException getConflict()
+    {
+        return new JanusGraphException("Could not commit transaction", new PermanentLockingException("Local lock contention"));
+    }
+
+
+    private static Relationship getRelationship(String guid,
+                                                String end1GUID,
+                                                String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+
+        setHeader(relationship, guid, remoteMetadataCollectionId, 1L, TypeDefCategory.RELATIONSHIP_DEF, relationshipTypeName);
+        relationship.setEntityOneProxy(getProxy(end1GUID));
+        relationship.setEntityTwoProxy(getProxy(end2GUID));
+
+        return relationship;
+    }
+
+
+    private static EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        setHeader(proxy, guid, remoteMetadataCollectionId, 1L, TypeDefCategory.ENTITY_DEF, entityTypeName);
+
+        return proxy;
+    }
+
+
+    private static void setHeader(InstanceHeader  instance,
+                                  String          guid,
+                                  String          metadataCollectionId,
+                                  long            version,
+                                  TypeDefCategory category,
+                                  String          typeName)
+    {
+        instance.setGUID(guid);
+        setAuditHeader(instance, metadataCollectionId, version, category, typeName);
+    }
+
+
+    private static void setAuditHeader(InstanceAuditHeader instance,
+                                       String              metadataCollectionId,
+                                       long                version,
+                                       TypeDefCategory     category,
+                                       String              typeName)
+    {
+        instance.setMetadataCollectionId(metadataCollectionId);
+        instance.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        instance.setVersion(version);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setCreatedBy("testUser");
+        instance.setCreateTime(new Date());
+        instance.setType(new InstanceType(category, typeName + "-guid", typeName, 1L));
+    }
+
+
+    /**
+     * Return a repository helper that describes every type as a type with no properties.  The mappers only use
+     * it to look up the types of the instances.
+     *
+     * @return repository helper
+     */
+    private static OMRSRepositoryHelper getRepositoryHelper()
+    {
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 switch (method.getName())
+                                                                 {
+                                                                     case "getTypeDefByName":
+                                                                         return getTypeDef((String) arguments[1]);
+
+                                                                     case "getTypeDef":
+                                                                         return getTypeDef((String) arguments[4]);
+
+                                                                     case "getNewInstanceType":
+                                                                         TypeDef typeDef = (TypeDef) arguments[1];
+
+                                                                         return new InstanceType(typeDef.getCategory(), typeDef.getGUID(), typeDef.getName(), typeDef.getVersion());
+
+                                                                     case "getAllPropertiesForTypeDef":
+                                                                         return new ArrayList<>();
+                                                                 }
+
+                                                                 if (method.getReturnType() == boolean.class)
+                                                                 {
+                                                                     return false;
+                                                                 }
+
+                                                                 return null;
+                                                             });
+    }
+
+
+    private static TypeDef getTypeDef(String typeName)
+    {
+        TypeDef typeDef;
+
+        if (relationshipTypeName.equals(typeName))
+        {
+            typeDef = new RelationshipDef();
+        }
+        else if (entityTypeName.equals(typeName))
+        {
+            typeDef = new EntityDef();
+        }
+        else
+        {
+            typeDef = new ClassificationDef();
+        }
+
+        typeDef.setGUID(typeName + "-guid");
+        typeDef.setName(typeName);
+        typeDef.setVersion(1L);
+
+        return typeDef;
+    }
+
+
+    private static AuditLog getAuditLog()
+    {
+        return new AuditLog(new AuditLogDestination(null)
+                            {
+                                @Override
+                                public void addLogRecord(AuditLogRecord logRecord)
+                                {
+                                }
+                            },
+                            0,
+                            ComponentDevelopmentStatus.STABLE,
+                            repositoryName,
+                            "Graph repository transaction test",
+                            null);
+    }
+}
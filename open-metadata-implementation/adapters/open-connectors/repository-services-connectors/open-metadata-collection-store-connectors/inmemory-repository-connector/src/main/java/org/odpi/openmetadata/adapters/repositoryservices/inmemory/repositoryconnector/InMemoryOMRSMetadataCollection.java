@@ -7,6 +7,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
@@ -179,6 +181,60 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  Entities that
+     * are not known, are only stored as proxies or are deleted are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            EntityDetail entity = repositoryStore.getEntity(guid);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(entity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity - includes the header, classifications and properties of the entity.
      *
@@ -296,39 +352,11 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
-
-        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
-        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
-
-        List<Relationship> entityRelationships = new ArrayList<>();
-
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
-        {
-            if (storedRelationship != null)
-            {
-                if (storedRelationship.getStatus() != InstanceStatus.DELETED)
-                {
-                    repositoryValidator.validRelationship(repositoryName, storedRelationship);
-
-                    if (repositoryHelper.relatedEntity(repositoryName,
-                                                       entityGUID,
-                                                       storedRelationship))
-                    {
-                        if (relationshipTypeGUID == null)
-                        {
-                            entityRelationships.add(storedRelationship);
-                        }
-                        else if (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID()))
-                        {
-                            entityRelationships.add(storedRelationship);
-                        }
-                    }
-                }
-            }
-        }
+        List<Relationship> entityRelationships = this.getMatchingRelationshipsForEntity(userId,
+                                                                                        entityGUID,
+                                                                                        relationshipTypeGUID,
+                                                                                        asOfTime,
+                                                                                        methodName);
 
         if (entityRelationships.isEmpty())
         {
@@ -343,6 +371,105 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  The relationships are counted in the
+     * repository store without being sorted or copied.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       PagingErrorException,
+                                                                                       UserNotAuthorizedException
+    {
+        return this.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime, null);
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     * The relationships are counted in the repository store without being sorted or copied.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           String                     homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                       TypeErrorException,
+                                                                                                       RepositoryErrorException,
+                                                                                                       EntityNotKnownException,
+                                                                                                       PagingErrorException,
+                                                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntityParameterValidation(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           0,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           null,
+                                                           0);
+
+        /*
+         * Perform operation
+         */
+        return this.countHomedInstances(this.getMatchingRelationshipsForEntity(userId,
+                                                                               entityGUID,
+                                                                               relationshipTypeGUID,
+                                                                               asOfTime,
+                                                                               methodName),
+                                        homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -396,6 +523,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                 PagingErrorException,
                                                                                                 UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByProperty";
+
         /*
          * Validate parameters
          */
@@ -413,35 +542,142 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         /*
          * Perform operation
-         *
-         * This is a brute force implementation of locating in entity since it iterates through all
-         * the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
-        {
-            if (entity != null)
-            {
-                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
-                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
-                {
-                    foundEntities.add(entity);
-                }
-            }
-        }
+        List<EntityDetail> foundEntities = this.getMatchingEntitiesByProperty(entityTypeGUID,
+                                                                              matchProperties,
+                                                                              matchCriteria,
+                                                                              limitResultsByStatus,
+                                                                              limitResultsByClassification,
+                                                                              asOfTime,
+                                                                              methodName);
 
         return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * The entities are counted in the repository store without being sorted or copied.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  UserNotAuthorizedException
+    {
+        return this.countEntitiesByProperty(userId,
+                                            entityTypeGUID,
+                                            matchProperties,
+                                            matchCriteria,
+                                            limitResultsByStatus,
+                                            limitResultsByClassification,
+                                            asOfTime,
+                                            null);
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and are
+     * homed in the requested metadata collection.  The entities are counted in the repository store without being
+     * sorted or copied.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 TypeErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        0);
+
+        /*
+         * Perform operation
+         */
+        return this.countHomedInstances(this.getMatchingEntitiesByProperty(entityTypeGUID,
+                                                                           matchProperties,
+                                                                           matchCriteria,
+                                                                           limitResultsByStatus,
+                                                                           limitResultsByClassification,
+                                                                           asOfTime,
+                                                                           methodName),
+                                        homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -493,6 +729,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                       PagingErrorException,
                                                                                       UserNotAuthorizedException
     {
+        final String  methodName = "findEntities";
+
         /*
          * Validate parameters
          */
@@ -511,13 +749,17 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all
-         * the stored entities.
+         * The repository store's indexes select the candidate entities, which are then tested against the
+         * full search criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        Collection<EntityDetail>   candidateEntities = repositoryStore.getCandidateEntities(this.getTypeNamesForQuery(entityTypeGUID, methodName),
+                                                                                            limitResultsByStatus,
+                                                                                            null,
+                                                                                            this.getUniquePropertyForQuery(matchProperties),
+                                                                                            asOfTime);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -591,6 +833,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                        PagingErrorException,
                                                                                                        UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByClassification";
+
         /*
          * Validate parameters
          */
@@ -609,16 +853,21 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all
-         * the stored entities.
+         * The repository store's indexes select the candidate entities, which are then tested against the
+         * full search criteria.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        Collection<EntityDetail>    candidateEntities = repositoryStore.getCandidateEntities(this.getTypeNamesForQuery(entityTypeGUID, methodName),
+                                                                                             limitResultsByStatus,
+                                                                                             classificationList,
+                                                                                             null,
+                                                                                             asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -734,12 +983,16 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all
-         * the stored entities.
+         * The repository store's indexes select the candidate entities, which are then tested against the
+         * search criteria.
          */
         List<EntityDetail>   foundEntities = new ArrayList<>();
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : repositoryStore.getCandidateEntities(this.getTypeNamesForQuery(entityTypeGUID, methodName),
+                                                                         limitResultsByStatus,
+                                                                         limitResultsByClassification,
+                                                                         null,
+                                                                         asOfTime))
         {
             if (entity != null)
             {
@@ -832,6 +1085,60 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  Relationships that are not known
+     * or are deleted are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationshipsByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Process operation
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            Relationship relationship = repositoryStore.getRelationship(guid);
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(relationship);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
@@ -1002,6 +1309,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                             FunctionNotSupportedException,
                                                                                             UserNotAuthorizedException
     {
+        final String  methodName = "findRelationships";
+
         /*
          * Validate parameters
          */
@@ -1020,13 +1329,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all
-         * the stored entities.
+         * The repository store's type index selects the candidate relationships, which are then tested against the
+         * full search criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        Collection<Relationship>   candidateRelationships = repositoryStore.getCandidateRelationships(this.getTypeNamesForQuery(relationshipTypeGUID, methodName),
+                                                                                                      null,
+                                                                                                      asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
@@ -1101,6 +1412,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                       FunctionNotSupportedException,
                                                                                                       UserNotAuthorizedException
     {
+        final String  methodName = "findRelationshipsByProperty";
+
         /*
          * Validate parameters
          */
@@ -1119,13 +1432,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all
-         * the stored entities.
+         * The repository store's type index selects the candidate relationships, which are then tested against the
+         * full search criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        Collection<Relationship>   candidateRelationships = repositoryStore.getCandidateRelationships(this.getTypeNamesForQuery(relationshipTypeGUID, methodName),
+                                                                                                      null,
+                                                                                                      asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
@@ -1218,12 +1533,14 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all
-         * the stored relationships.
+         * The repository store's type index selects the candidate relationships, which are then tested against the
+         * search criteria.
          */
         List<Relationship>  foundRelationships = new ArrayList<>();
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : repositoryStore.getCandidateRelationships(this.getTypeNamesForQuery(relationshipTypeGUID, methodName),
+                                                                                    null,
+                                                                                    asOfTime))
         {
             if (relationship != null)
             {
@@ -4366,6 +4683,97 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Save the entities and relationships supplied in the instance graph as a reference copies.
+     * The id of the home metadata collection is already set up in the instances.
+     * Any instances from the home metadata collection are ignored.
+     *
+     * The request is validated once for the batch.  An instance that can not be saved is recorded in the audit
+     * log and the rest of the batch is saved.  The proxies for relationship ends that are already saved by
+     * this batch are not saved again.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances instances to save.
+     * @throws InvalidParameterException the userId is invalid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws InvalidEntityException one or more entities could not be saved.
+     * @throws InvalidRelationshipException one or more relationships (and no entities) could not be saved.
+     */
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              InvalidEntityException,
+                                                                              InvalidRelationshipException
+    {
+        final String methodName = "saveInstanceReferenceCopies";
+
+        List<EntityDetail>             validEntities      = new ArrayList<>();
+        List<Relationship>             validRelationships = new ArrayList<>();
+        Map<InstanceHeader, Exception> failures           = new LinkedHashMap<>();
+
+        super.referenceInstanceBatchValidation(userId, instances, validEntities, validRelationships, failures, methodName);
+
+        int instanceCount = failures.size() + validEntities.size() + validRelationships.size();
+
+        /*
+         * The version of each entity saved by this batch is remembered so that the same entity is not saved again
+         * from the proxies in the relationships.
+         */
+        Map<String, Long> savedEntityVersions = new HashMap<>();
+
+        for (EntityDetail entity : validEntities)
+        {
+            try
+            {
+                repositoryStore.addEntityToStore(entity);
+                savedEntityVersions.merge(entity.getGUID(), entity.getVersion(), Math::max);
+            }
+            catch (Exception error)
+            {
+                failures.put(entity, error);
+            }
+        }
+
+        for (Relationship relationship : validRelationships)
+        {
+            try
+            {
+                this.saveBatchEntityProxy(relationship.getEntityOneProxy(), savedEntityVersions);
+                this.saveBatchEntityProxy(relationship.getEntityTwoProxy(), savedEntityVersions);
+                repositoryStore.addRelationshipToStore(relationship);
+            }
+            catch (Exception error)
+            {
+                failures.put(relationship, error);
+            }
+        }
+
+        super.reportReferenceCopyFailures(failures, instanceCount, methodName);
+    }
+
+
+    /**
+     * Save the proxy for a relationship end unless the same or a later version of the entity has already been
+     * saved by the batch.
+     *
+     * @param entityProxy proxy from the relationship
+     * @param savedEntityVersions versions of the entities already saved by the batch
+     */
+    private void saveBatchEntityProxy(EntityProxy       entityProxy,
+                                      Map<String, Long> savedEntityVersions)
+    {
+        Long savedVersion = savedEntityVersions.get(entityProxy.getGUID());
+
+        if ((savedVersion == null) || (savedVersion < entityProxy.getVersion()))
+        {
+            repositoryStore.addEntityProxyToStore(entityProxy);
+            savedEntityVersions.put(entityProxy.getGUID(), entityProxy.getVersion());
+        }
+    }
+
+
     /**
      * Remove the reference copy of the relationship from the local repository. This method can be used to
      * remove reference copies from the local cohort, repositories that have left the cohort,
@@ -4417,4 +4825,275 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
          */
         repositoryStore.purgeRelationshipFromStore(relationshipGUID);
     }
+
+
+    /**
+     * Return the relationships stored for an entity that are not deleted and are of the requested type.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param asOfTime time of the query (null for the present values).
+     * @param methodName calling method
+     * @return list of relationships (may be empty)
+     * @throws InvalidParameterException the entity GUID is not valid
+     * @throws RepositoryErrorException a stored relationship is not valid
+     * @throws EntityNotKnownException the entity is not known or is deleted
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private List<Relationship> getMatchingRelationshipsForEntity(String userId,
+                                                                 String entityGUID,
+                                                                 String relationshipTypeGUID,
+                                                                 Date   asOfTime,
+                                                                 String methodName) throws InvalidParameterException,
+                                                                                           RepositoryErrorException,
+                                                                                           EntityNotKnownException,
+                                                                                           UserNotAuthorizedException
+    {
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        List<Relationship> entityRelationships = new ArrayList<>();
+
+        for (Relationship  storedRelationship : repositoryStore.getCandidateRelationships(null, entityGUID, asOfTime))
+        {
+            if (storedRelationship != null)
+            {
+                if (storedRelationship.getStatus() != InstanceStatus.DELETED)
+                {
+                    repositoryValidator.validRelationship(repositoryName, storedRelationship);
+
+                    if (repositoryHelper.relatedEntity(repositoryName,
+                                                       entityGUID,
+                                                       storedRelationship))
+                    {
+                        if (relationshipTypeGUID == null)
+                        {
+                            entityRelationships.add(storedRelationship);
+                        }
+                        else if (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID()))
+                        {
+                            entityRelationships.add(storedRelationship);
+                        }
+                    }
+                }
+            }
+        }
+
+        return entityRelationships;
+    }
+
+
+    /**
+     * Return the entities in the repository store that match the supplied properties according to the match criteria.
+     * The repository store's indexes select the candidate entities, which are then tested against the
+     * full search criteria.
+     *
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match.
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus list of statuses to restrict the results to (null for all except DELETED).
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime time of the query (null for the present values).
+     * @param methodName calling method
+     * @return list of matching entities (may be empty)
+     * @throws InvalidParameterException the match properties are not valid
+     * @throws RepositoryErrorException a stored entity is not valid
+     */
+    private List<EntityDetail> getMatchingEntitiesByProperty(String               entityTypeGUID,
+                                                             InstanceProperties   matchProperties,
+                                                             MatchCriteria        matchCriteria,
+                                                             List<InstanceStatus> limitResultsByStatus,
+                                                             List<String>         limitResultsByClassification,
+                                                             Date                 asOfTime,
+                                                             String               methodName) throws InvalidParameterException,
+                                                                                                     RepositoryErrorException
+    {
+        List<EntityDetail>         foundEntities = new ArrayList<>();
+        Collection<EntityDetail>   candidateEntities = repositoryStore.getCandidateEntities(this.getTypeNamesForQuery(entityTypeGUID, methodName),
+                                                                                            limitResultsByStatus,
+                                                                                            limitResultsByClassification,
+                                                                                            this.getUniquePropertyForQuery(matchProperties, matchCriteria),
+                                                                                            asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
+        {
+            if (entity != null)
+            {
+                if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
+                    (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
+                    (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
+                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                              entity,
+                                                                              entity.getProperties(),
+                                                                              matchCriteria
+                                                                              )))
+                {
+                    foundEntities.add(entity);
+                }
+            }
+        }
+
+        return foundEntities;
+    }
+
+
+    /**
+     * Return the number of instances in the list that are homed in the requested metadata collection.
+     *
+     * @param instances instances to count
+     * @param homeMetadataCollectionId metadata collection to count the instances of (null for all)
+     * @return count of instances
+     */
+    private int countHomedInstances(List<? extends InstanceHeader> instances,
+                                    String                         homeMetadataCollectionId)
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return instances.size();
+        }
+
+        int count = 0;
+
+        for (InstanceHeader instance : instances)
+        {
+            if (super.isHomedIn(instance, homeMetadataCollectionId))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the names of the type identified by the type GUID and all of its subtypes.  These are used to select
+     * candidate instances from the repository store's type indexes.
+     *
+     * @param typeGUID unique identifier of the type of instance requested (or null)
+     * @param methodName calling method
+     * @return set of type names, or null if any type is of interest
+     */
+    private Set<String> getTypeNamesForQuery(String typeGUID,
+                                             String methodName)
+    {
+        final String typeGUIDParameterName = "typeGUID";
+
+        if (typeGUID == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, typeGUID, methodName);
+
+            Set<String> typeNames = new HashSet<>();
+
+            typeNames.add(typeDef.getName());
+
+            List<String> subTypeNames = repositoryHelper.getSubTypesOf(repositoryName, typeDef.getName());
+
+            if (subTypeNames != null)
+            {
+                typeNames.addAll(subTypeNames);
+            }
+
+            return typeNames;
+        }
+        catch (TypeErrorException error)
+        {
+            /*
+             * The type has been validated by the caller so this is unexpected.  Searching all
+             * types is safe since each candidate is checked against the type.
+             */
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the literal value of the unique property when the match properties require an exact match on it.
+     *
+     * @param matchProperties properties to match
+     * @param matchCriteria how the properties are to be combined
+     * @return literal value or null if the unique property index can not be used
+     */
+    private String getUniquePropertyForQuery(InstanceProperties matchProperties,
+                                             MatchCriteria      matchCriteria)
+    {
+        if ((matchProperties != null) && (matchCriteria == MatchCriteria.ALL))
+        {
+            return this.getLiteralValue(matchProperties.getPropertyValue(InMemoryOMRSMetadataStore.UNIQUE_PROPERTY_NAME));
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the value of the unique property when the search properties require it to equal, or exactly
+     * match, a literal value.
+     *
+     * @param matchProperties search conditions
+     * @return literal value or null if the unique property index can not be used
+     */
+    private String getUniquePropertyForQuery(SearchProperties matchProperties)
+    {
+        if ((matchProperties != null) &&
+            (matchProperties.getConditions() != null) &&
+            (matchProperties.getMatchCriteria() == MatchCriteria.ALL))
+        {
+            for (PropertyCondition condition : matchProperties.getConditions())
+            {
+                if ((condition != null) && (InMemoryOMRSMetadataStore.UNIQUE_PROPERTY_NAME.equals(condition.getProperty())))
+                {
+                    if ((condition.getOperator() == PropertyComparisonOperator.EQ) &&
+                        (condition.getValue() instanceof PrimitivePropertyValue))
+                    {
+                        return condition.getValue().valueAsString();
+                    }
+                    else if (condition.getOperator() == PropertyComparisonOperator.LIKE)
+                    {
+                        return this.getLiteralValue(condition.getValue());
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the literal string from a property value that holds an exact match regular expression.
+     *
+     * @param propertyValue property value from the search request
+     * @return literal string or null if the value is not an exact match regex
+     */
+    private String getLiteralValue(InstancePropertyValue propertyValue)
+    {
+        if (propertyValue instanceof PrimitivePropertyValue)
+        {
+            String regex = propertyValue.valueAsString();
+
+            if ((regex != null) && (repositoryHelper.isExactMatchRegex(regex, false)))
+            {
+                String literal = repositoryHelper.getUnqualifiedLiteralString(regex);
+
+                /*
+                 * A literal that itself contains the quote terminator has been escaped in several pieces.
+                 */
+                if (! literal.contains("\\E"))
+                {
+                    return literal;
+                }
+            }
+        }
+
+        return null;
+    }
 }
@@ -8,6 +8,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
@@ -15,9 +19,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * InMemoryOMRSMetadataStore provides the in memory store for the InMemoryRepositoryConnector.
+ * The entities and relationships are held in concurrent maps.  Each stored instance manages its own
+ * versions, so readers never block one another and updates only contend on the instance they change.
  */
 class InMemoryOMRSMetadataStore
 {
@@ -25,8 +33,24 @@ class InMemoryOMRSMetadataStore
     private final OMRSRepositoryHelper repositoryHelper;
     private final String               localMetadataCollectionId;
 
-    private final Map<String, StoredEntity>       entityStore       = new HashMap<>();
-    private final Map<String, StoredRelationship> relationshipStore = new HashMap<>();
+    private final Map<String, StoredEntity>       entityStore       = new ConcurrentHashMap<>();
+    private final Map<String, StoredRelationship> relationshipStore = new ConcurrentHashMap<>();
+
+    /*
+     * Secondary indexes over the current version of each stored instance.  They are maintained under the
+     * lock of the stored instance each time it changes and are used to select candidate instances for queries
+     * that have no asOfTime.  Each stored instance records the keys it is indexed under so that it can be
+     * removed from the indexes before it is re-indexed.
+     */
+    static final String UNIQUE_PROPERTY_NAME = "qualifiedName";
+
+    private final Map<String, Set<String>>              entityTypeIndex           = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>              entityClassificationIndex = new ConcurrentHashMap<>();
+    private final Map<InstanceStatus, Set<String>>      entityStatusIndex         = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>              entityUniquePropertyIndex = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>>              relationshipTypeIndex     = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>              relationshipEndIndex      = new ConcurrentHashMap<>();
 
     private static final Logger log = LoggerFactory.getLogger(InMemoryOMRSMetadataStore.class);
 
@@ -40,10 +64,10 @@ class InMemoryOMRSMetadataStore
      * @param versionEndTime time when this version was superseded
      * @return boolean flag - true means it is valid
      */
-    static synchronized boolean checkInclusiveDate(Date           fromTime,
-                                                   Date           toTime,
-                                                   InstanceHeader instanceHeader,
-                                                   Date           versionEndTime)
+    static boolean checkInclusiveDate(Date           fromTime,
+                                      Date           toTime,
+                                      InstanceHeader instanceHeader,
+                                      Date           versionEndTime)
     {
         Date versionStartTime = instanceHeader.getUpdateTime();
 
@@ -94,7 +118,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String guid)
+    EntityDetail  getEntity(String guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
@@ -113,15 +137,17 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntitySummary  getEntitySummary(String guid)
+    EntitySummary  getEntitySummary(String guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
         if (storedEntity != null)
         {
-            if (storedEntity.getEntity() != null)
+            EntityDetail entity = storedEntity.getEntity();
+
+            if (entity != null)
             {
-                return storedEntity.getEntity();
+                return entity;
             }
             else
             {
@@ -139,7 +165,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String guid)
+    EntityProxy  getEntityProxy(String guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
@@ -159,7 +185,7 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return entity store for the requested time
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date asOfTime)
     {
         Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
@@ -183,7 +209,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    synchronized Relationship  getRelationship(String guid)
+    Relationship  getRelationship(String guid)
     {
         StoredRelationship storedRelationship = relationshipStore.get(guid);
 
@@ -203,7 +229,7 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return relationship store for the requested time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
         Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
@@ -228,7 +254,7 @@ class InMemoryOMRSMetadataStore
      * @return entity with potentially updated GUID
      * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    EntityDetail createEntityInStore(EntityDetail entity) throws RepositoryErrorException
     {
         StoredEntity newStoredEntity = new StoredEntity(entity);
 
@@ -236,16 +262,14 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing entity.
          * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        StoredEntity existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
-
-        while (existingStoredEntity != null)
+        while (entityStore.putIfAbsent(entity.getGUID(), newStoredEntity) != null)
         {
-            entityStore.put(entity.getGUID(), existingStoredEntity);
             entity.setGUID(UUID.randomUUID().toString());
             newStoredEntity = new StoredEntity(entity);
-            existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
         }
 
+        reindexEntity(entity.getGUID(), newStoredEntity);
+
         return entity;
     }
 
@@ -256,7 +280,7 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship relationship)
+    Relationship createRelationshipInStore(Relationship relationship)
     {
         StoredRelationship newStoredRelationship = new StoredRelationship(relationship);
 
@@ -264,16 +288,14 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        StoredRelationship existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
-
-        while (existingStoredRelationship != null)
+        while (relationshipStore.putIfAbsent(relationship.getGUID(), newStoredRelationship) != null)
         {
-            relationshipStore.put(relationship.getGUID(), existingStoredRelationship);
             relationship.setGUID(UUID.randomUUID().toString());
             newStoredRelationship = new StoredRelationship(relationship);
-            existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
         }
 
+        reindexRelationship(relationship.getGUID(), newStoredRelationship);
+
         return relationship;
     }
 
@@ -284,18 +306,9 @@ class InMemoryOMRSMetadataStore
      * @param entityDetail - entity object to add
      * @throws RepositoryErrorException unable to create proxy
      */
-    synchronized void addEntityToStore(EntityDetail entityDetail) throws RepositoryErrorException
+    void addEntityToStore(EntityDetail entityDetail) throws RepositoryErrorException
     {
-        StoredEntity storedEntity = entityStore.get(entityDetail.getGUID());
-
-        if (storedEntity == null)
-        {
-            entityStore.put(entityDetail.getGUID(), new StoredEntity(entityDetail));
-        }
-        else
-        {
-            storedEntity.saveEntity(entityDetail);
-        }
+        saveEntityInStore(entityDetail);
     }
 
 
@@ -305,17 +318,36 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy entityProxy)
+    void addEntityProxyToStore(EntityProxy entityProxy)
     {
-        StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+        boolean saved = false;
 
-        if (storedEntity == null)
+        while (! saved)
         {
-            entityStore.put(entityProxy.getGUID(), new StoredEntity(entityProxy));
-        }
-        else
-        {
-            storedEntity.saveEntityProxy(entityProxy);
+            StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+
+            if (storedEntity == null)
+            {
+                storedEntity = new StoredEntity(entityProxy);
+
+                if (entityStore.putIfAbsent(entityProxy.getGUID(), storedEntity) == null)
+                {
+                    reindexEntity(entityProxy.getGUID(), storedEntity);
+                    saved = true;
+                }
+            }
+            else
+            {
+                synchronized (storedEntity)
+                {
+                    if (! storedEntity.isRemovedFromStore())
+                    {
+                        storedEntity.saveEntityProxy(entityProxy);
+                        reindexEntity(entityProxy.getGUID(), storedEntity);
+                        saved = true;
+                    }
+                }
+            }
         }
     }
 
@@ -325,18 +357,9 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - entity proxy object to add
      */
-    synchronized void addRelationshipToStore(Relationship relationship)
+    void addRelationshipToStore(Relationship relationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
-
-        if (storedRelationship == null)
-        {
-            relationshipStore.put(relationship.getGUID(), new StoredRelationship(relationship));
-        }
-        else
-        {
-            storedRelationship.saveRelationship(relationship);
-        }
+        saveRelationshipInStore(relationship);
     }
 
 
@@ -347,18 +370,9 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    void updateEntityInStore(EntityDetail entity) throws RepositoryErrorException
     {
-        StoredEntity storedEntity = entityStore.get(entity.getGUID());
-
-        if (storedEntity == null)
-        {
-            entityStore.put(entity.getGUID(), new StoredEntity(entity));
-        }
-        else
-        {
-            storedEntity.saveEntity(entity);
-        }
+        saveEntityInStore(entity);
     }
 
 
@@ -368,14 +382,22 @@ class InMemoryOMRSMetadataStore
      * @param entityGUID unique identifier of entity
      * @param classification classification to update
      */
-    synchronized void saveClassification(String          entityGUID,
-                                         Classification  classification)
+    void saveClassification(String          entityGUID,
+                            Classification  classification)
     {
         StoredEntity storedEntity = entityStore.get(entityGUID);
 
         if (storedEntity != null)
         {
-           storedEntity.saveClassification(classification);
+            synchronized (storedEntity)
+            {
+                if (! storedEntity.isRemovedFromStore())
+                {
+                    storedEntity.saveClassification(classification);
+
+                    reindexEntity(entityGUID, storedEntity);
+                }
+            }
         }
     }
 
@@ -386,14 +408,24 @@ class InMemoryOMRSMetadataStore
      * @param entityDetail entity
      * @param classificationName name of classification to remove
      */
-    synchronized EntityDetail removeClassificationFromEntity(EntityDetail entityDetail,
-                                                             String       classificationName)
+    EntityDetail removeClassificationFromEntity(EntityDetail entityDetail,
+                                                String       classificationName)
     {
         StoredEntity storedEntity = entityStore.get(entityDetail.getGUID());
 
         if (storedEntity != null)
         {
-            return storedEntity.removeClassificationFromEntity(classificationName);
+            synchronized (storedEntity)
+            {
+                if (! storedEntity.isRemovedFromStore())
+                {
+                    EntityDetail updatedEntity = storedEntity.removeClassificationFromEntity(classificationName);
+
+                    reindexEntity(entityDetail.getGUID(), storedEntity);
+
+                    return updatedEntity;
+                }
+            }
         }
 
         return null;
@@ -406,14 +438,24 @@ class InMemoryOMRSMetadataStore
      * @param entityProxy entity
      * @param classificationName name of classification to remove
      */
-    synchronized Classification removeClassificationFromProxy(EntityProxy entityProxy,
-                                                              String      classificationName)
+    Classification removeClassificationFromProxy(EntityProxy entityProxy,
+                                                 String      classificationName)
     {
         StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
 
         if (storedEntity != null)
         {
-            return storedEntity.removeClassificationFromEntityProxy(classificationName);
+            synchronized (storedEntity)
+            {
+                if (! storedEntity.isRemovedFromStore())
+                {
+                    Classification removedClassification = storedEntity.removeClassificationFromEntityProxy(classificationName);
+
+                    reindexEntity(entityProxy.getGUID(), storedEntity);
+
+                    return removedClassification;
+                }
+            }
         }
 
         return null;
@@ -426,18 +468,9 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    void updateRelationshipInStore(Relationship relationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
-
-        if (storedRelationship == null)
-        {
-            relationshipStore.put(relationship.getGUID(), new StoredRelationship(relationship));
-        }
-        else
-        {
-            storedRelationship.saveRelationship(relationship);
-        }
+        saveRelationshipInStore(relationship);
     }
 
 
@@ -448,7 +481,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
         StoredRelationship storedRelationship = relationshipStore.get(guid);
 
@@ -468,7 +501,7 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
@@ -487,7 +520,7 @@ class InMemoryOMRSMetadataStore
      * @param guid unique identifier of the entity
      * @return list of classifications or null
      */
-    synchronized List<Classification> getHomeClassifications(String guid)
+    List<Classification> getHomeClassifications(String guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
@@ -509,10 +542,10 @@ class InMemoryOMRSMetadataStore
      * @param oldestFirst ordering
      * @return list of instance versions
      */
-    synchronized List<EntityDetail> getEntityHistory(String  guid,
-                                                     Date    fromTime,
-                                                     Date    toTime,
-                                                     boolean oldestFirst)
+    List<EntityDetail> getEntityHistory(String  guid,
+                                        Date    fromTime,
+                                        Date    toTime,
+                                        boolean oldestFirst)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
@@ -534,10 +567,10 @@ class InMemoryOMRSMetadataStore
      * @param oldestFirst ordering
      * @return list of instance versions
      */
-    synchronized  List<Relationship> getRelationshipHistory(String  guid,
-                                                            Date    fromTime,
-                                                            Date    toTime,
-                                                            boolean oldestFirst)
+    List<Relationship> getRelationshipHistory(String  guid,
+                                              Date    fromTime,
+                                              Date    toTime,
+                                              boolean oldestFirst)
     {
         StoredRelationship storedRelationship = relationshipStore.get(guid);
 
@@ -555,13 +588,22 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - entity to remove
      */
-    synchronized void purgeEntityFromStore(String guid)
+    void purgeEntityFromStore(String guid)
     {
         StoredEntity storedEntity = entityStore.get(guid);
 
         if (storedEntity != null)
         {
-            entityStore.remove(guid);
+            /*
+             * The entity is removed from the indexes before it leaves the store so a new entity stored
+             * under the same guid can not have its index entries removed.
+             */
+            synchronized (storedEntity)
+            {
+                storedEntity.setRemovedFromStore();
+                reindexEntity(guid, storedEntity);
+                entityStore.remove(guid, storedEntity);
+            }
         }
     }
 
@@ -572,18 +614,25 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+        boolean removed = false;
 
-        if (storedRelationship == null)
+        while (! removed)
         {
-            storedRelationship = new StoredRelationship(relationship);
+            StoredRelationship storedRelationship = relationshipStore.computeIfAbsent(relationship.getGUID(),
+                                                                                      guid -> new StoredRelationship(relationship));
 
-            relationshipStore.put(relationship.getGUID(), storedRelationship);
+            synchronized (storedRelationship)
+            {
+                if (! storedRelationship.isRemovedFromStore())
+                {
+                    storedRelationship.purgeRelationship();
+                    reindexRelationship(relationship.getGUID(), storedRelationship);
+                    removed = true;
+                }
+            }
         }
-
-        storedRelationship.purgeRelationship();
     }
 
 
@@ -592,28 +641,566 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - relationship to remove
      */
-    synchronized void purgeRelationshipFromStore(String guid)
+    void purgeRelationshipFromStore(String guid)
     {
         StoredRelationship storedRelationship = relationshipStore.get(guid);
 
         if (storedRelationship != null)
         {
-            relationshipStore.remove(guid);
+            synchronized (storedRelationship)
+            {
+                storedRelationship.setRemovedFromStore();
+                reindexRelationship(guid, storedRelationship);
+                relationshipStore.remove(guid, storedRelationship);
+            }
+        }
+    }
+
+
+    /**
+     * Save a new version of an entity, creating its stored entity if this is the first version seen.
+     * A stored entity that is being removed from the store is skipped and the save is retried against the store.
+     *
+     * @param entity new version of the entity
+     * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
+     */
+    private void saveEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    {
+        boolean saved = false;
+
+        while (! saved)
+        {
+            StoredEntity storedEntity = entityStore.get(entity.getGUID());
+
+            if (storedEntity == null)
+            {
+                storedEntity = new StoredEntity(entity);
+
+                if (entityStore.putIfAbsent(entity.getGUID(), storedEntity) == null)
+                {
+                    reindexEntity(entity.getGUID(), storedEntity);
+                    saved = true;
+                }
+            }
+            else
+            {
+                synchronized (storedEntity)
+                {
+                    if (! storedEntity.isRemovedFromStore())
+                    {
+                        storedEntity.saveEntity(entity);
+                        reindexEntity(entity.getGUID(), storedEntity);
+                        saved = true;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Save a new version of a relationship, creating its stored relationship if this is the first version seen.
+     * A stored relationship that is being removed from the store is skipped and the save is retried against the store.
+     *
+     * @param relationship new version of the relationship
+     */
+    private void saveRelationshipInStore(Relationship relationship)
+    {
+        boolean saved = false;
+
+        while (! saved)
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+
+            if (storedRelationship == null)
+            {
+                storedRelationship = new StoredRelationship(relationship);
+
+                if (relationshipStore.putIfAbsent(relationship.getGUID(), storedRelationship) == null)
+                {
+                    reindexRelationship(relationship.getGUID(), storedRelationship);
+                    saved = true;
+                }
+            }
+            else
+            {
+                synchronized (storedRelationship)
+                {
+                    if (! storedRelationship.isRemovedFromStore())
+                    {
+                        storedRelationship.saveRelationship(relationship);
+                        reindexRelationship(relationship.getGUID(), storedRelationship);
+                        saved = true;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the current versions of the entities that may match a query.  The indexes are used to narrow
+     * the candidates when the query is for the current time - otherwise a time-warped copy of the store is
+     * used.  The caller must still test each candidate against the full search criteria since the indexes
+     * only select a superset of the matching entities.
+     *
+     * @param typeNames names of the entity type and its subtypes (null means any type)
+     * @param limitResultsByStatus statuses of interest (null means any status)
+     * @param classificationNames classifications that must all be present (null means no restriction)
+     * @param uniquePropertyValue exact value of the unique property (null means no restriction)
+     * @param asOfTime time for the query (or null means now)
+     * @return candidate entities
+     */
+    Collection<EntityDetail> getCandidateEntities(Set<String>          typeNames,
+                                                  List<InstanceStatus> limitResultsByStatus,
+                                                  List<String>         classificationNames,
+                                                  String               uniquePropertyValue,
+                                                  Date                 asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return timeWarpEntityStore(asOfTime).values();
+        }
+
+        List<Set<String>> candidateGUIDSets = new ArrayList<>();
+
+        if (typeNames != null)
+        {
+            candidateGUIDSets.add(getIndexedGUIDs(entityTypeIndex, typeNames));
+        }
+
+        if ((limitResultsByStatus != null) && (! limitResultsByStatus.isEmpty()))
+        {
+            candidateGUIDSets.add(getIndexedGUIDs(entityStatusIndex, limitResultsByStatus));
+        }
+
+        if (classificationNames != null)
+        {
+            for (String classificationName : classificationNames)
+            {
+                if (classificationName != null)
+                {
+                    candidateGUIDSets.add(getIndexedGUIDs(entityClassificationIndex, Collections.singletonList(classificationName)));
+                }
+            }
+        }
+
+        if (uniquePropertyValue != null)
+        {
+            candidateGUIDSets.add(getIndexedGUIDs(entityUniquePropertyIndex, Collections.singletonList(uniquePropertyValue)));
+        }
+
+        List<EntityDetail> candidates = new ArrayList<>();
+
+        if (candidateGUIDSets.isEmpty())
+        {
+            for (StoredEntity storedEntity : entityStore.values())
+            {
+                EntityDetail entity = storedEntity.getEntity();
+
+                if (entity != null)
+                {
+                    candidates.add(entity);
+                }
+            }
+
+            return candidates;
+        }
+
+        for (String guid : intersectGUIDSets(candidateGUIDSets))
+        {
+            EntityDetail entity = this.getEntity(guid);
+
+            if (entity != null)
+            {
+                candidates.add(entity);
+            }
+        }
+
+        return candidates;
+    }
+
+
+    /**
+     * Return the current versions of the relationships that may match a query.  The indexes are used to narrow
+     * the candidates when the query is for the current time - otherwise a time-warped copy of the store is used.
+     * The caller must still test each candidate against the full search criteria.
+     *
+     * @param typeNames names of the relationship type and its subtypes (null means any type)
+     * @param entityGUID unique identifier of an entity at either end of the relationship (null means any entity)
+     * @param asOfTime time for the query (or null means now)
+     * @return candidate relationships
+     */
+    Collection<Relationship> getCandidateRelationships(Set<String> typeNames,
+                                                       String      entityGUID,
+                                                       Date        asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        List<Set<String>> candidateGUIDSets = new ArrayList<>();
+
+        if (typeNames != null)
+        {
+            candidateGUIDSets.add(getIndexedGUIDs(relationshipTypeIndex, typeNames));
+        }
+
+        if (entityGUID != null)
+        {
+            candidateGUIDSets.add(getIndexedGUIDs(relationshipEndIndex, Collections.singletonList(entityGUID)));
+        }
+
+        List<Relationship> candidates = new ArrayList<>();
+
+        if (candidateGUIDSets.isEmpty())
+        {
+            for (StoredRelationship storedRelationship : relationshipStore.values())
+            {
+                Relationship relationship = storedRelationship.getRelationship();
+
+                if (relationship != null)
+                {
+                    candidates.add(relationship);
+                }
+            }
+
+            return candidates;
+        }
+
+        for (String guid : intersectGUIDSets(candidateGUIDSets))
+        {
+            Relationship relationship = this.getRelationship(guid);
+
+            if (relationship != null)
+            {
+                candidates.add(relationship);
+            }
+        }
+
+        return candidates;
+    }
+
+
+    /**
+     * Return the union of the guids stored in an index under the supplied keys.
+     *
+     * @param index index to query
+     * @param keys keys to look up
+     * @param <K> type of key
+     * @return set of guids (may be empty)
+     */
+    private <K> Set<String> getIndexedGUIDs(Map<K, Set<String>> index,
+                                            Collection<K>       keys)
+    {
+        if (keys.size() == 1)
+        {
+            Set<String> guids = index.get(keys.iterator().next());
+
+            if (guids != null)
+            {
+                return guids;
+            }
+
+            return Collections.emptySet();
+        }
+
+        Set<String> results = new HashSet<>();
+
+        for (K key : keys)
+        {
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                results.addAll(guids);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Intersect the candidate guid sets by iterating over the smallest one.
+     *
+     * @param candidateGUIDSets sets of candidate guids from each index that applies to the query
+     * @return guids present in all of the sets
+     */
+    private List<String> intersectGUIDSets(List<Set<String>> candidateGUIDSets)
+    {
+        candidateGUIDSets.sort(Comparator.comparingInt(Set::size));
+
+        List<String> results = new ArrayList<>();
+
+        for (String guid : candidateGUIDSets.get(0))
+        {
+            boolean inAllSets = true;
+
+            for (int i = 1; i < candidateGUIDSets.size(); i++)
+            {
+                if (! candidateGUIDSets.get(i).contains(guid))
+                {
+                    inAllSets = false;
+                    break;
+                }
+            }
+
+            if (inAllSets)
+            {
+                results.add(guid);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Bring the indexes up-to-date with the current version of an entity.  Any previous index entries are
+     * removed first.  Entities that are only known through their proxy, or are being removed from the store,
+     * are not indexed.  The index entries of an entity are only changed while holding the lock of its stored entity.
+     *
+     * @param guid unique identifier of the entity
+     * @param storedEntity stored entity that has changed
+     */
+    private void reindexEntity(String       guid,
+                               StoredEntity storedEntity)
+    {
+        synchronized (storedEntity)
+        {
+            EntityIndexKeys previousKeys = storedEntity.getIndexKeys();
+
+            if (previousKeys != null)
+            {
+                removeFromIndex(entityTypeIndex, previousKeys.typeName, guid);
+                removeFromIndex(entityStatusIndex, previousKeys.status, guid);
+                removeFromIndex(entityUniquePropertyIndex, previousKeys.uniquePropertyValue, guid);
+
+                for (String classificationName : previousKeys.classificationNames)
+                {
+                    removeFromIndex(entityClassificationIndex, classificationName, guid);
+                }
+            }
+
+            EntityIndexKeys currentKeys = null;
+            EntityDetail    entity      = storedEntity.getEntity();
+
+            if ((! storedEntity.isRemovedFromStore()) && (entity != null))
+            {
+                currentKeys = new EntityIndexKeys(entity);
+
+                addToIndex(entityTypeIndex, currentKeys.typeName, guid);
+                addToIndex(entityStatusIndex, currentKeys.status, guid);
+                addToIndex(entityUniquePropertyIndex, currentKeys.uniquePropertyValue, guid);
+
+                for (String classificationName : currentKeys.classificationNames)
+                {
+                    addToIndex(entityClassificationIndex, classificationName, guid);
+                }
+            }
+
+            storedEntity.setIndexKeys(currentKeys);
+        }
+    }
+
+
+    /**
+     * Bring the indexes up-to-date with the current version of a relationship.  Any previous index entries are
+     * removed first.  The index entries of a relationship are only changed while holding the lock of its
+     * stored relationship.
+     *
+     * @param guid unique identifier of the relationship
+     * @param storedRelationship stored relationship that has changed
+     */
+    private void reindexRelationship(String             guid,
+                                     StoredRelationship storedRelationship)
+    {
+        synchronized (storedRelationship)
+        {
+            RelationshipIndexKeys previousKeys = storedRelationship.getIndexKeys();
+
+            if (previousKeys != null)
+            {
+                removeFromIndex(relationshipTypeIndex, previousKeys.typeName, guid);
+                removeFromIndex(relationshipEndIndex, previousKeys.entityOneGUID, guid);
+                removeFromIndex(relationshipEndIndex, previousKeys.entityTwoGUID, guid);
+            }
+
+            RelationshipIndexKeys currentKeys  = null;
+            Relationship          relationship = storedRelationship.getCurrentVersion();
+
+            if ((! storedRelationship.isRemovedFromStore()) && (relationship != null))
+            {
+                currentKeys = new RelationshipIndexKeys(relationship);
+
+                addToIndex(relationshipTypeIndex, currentKeys.typeName, guid);
+                addToIndex(relationshipEndIndex, currentKeys.entityOneGUID, guid);
+                addToIndex(relationshipEndIndex, currentKeys.entityTwoGUID, guid);
+            }
+
+            storedRelationship.setIndexKeys(currentKeys);
+        }
+    }
+
+
+    /**
+     * Add a guid to an index.  Null keys are ignored.  The update is atomic for the key so concurrent
+     * changes to other instances indexed under the same key are not lost.
+     *
+     * @param index index to update
+     * @param key key for the guid
+     * @param guid unique identifier of the instance
+     * @param <K> type of key
+     */
+    private static <K> void addToIndex(Map<K, Set<String>> index,
+                                       K                   key,
+                                       String              guid)
+    {
+        if (key != null)
+        {
+            index.compute(key, (indexKey, guids) ->
+            {
+                Set<String> updatedGUIDs = guids;
+
+                if (updatedGUIDs == null)
+                {
+                    updatedGUIDs = ConcurrentHashMap.newKeySet();
+                }
+
+                updatedGUIDs.add(guid);
+
+                return updatedGUIDs;
+            });
+        }
+    }
+
+
+    /**
+     * Remove a guid from an index, dropping the key when it no longer has any guids.
+     *
+     * @param index index to update
+     * @param key key for the guid
+     * @param guid unique identifier of the instance
+     * @param <K> type of key
+     */
+    private static <K> void removeFromIndex(Map<K, Set<String>> index,
+                                            K                   key,
+                                            String              guid)
+    {
+        if (key != null)
+        {
+            index.computeIfPresent(key, (indexKey, guids) ->
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    return null;
+                }
+
+                return guids;
+            });
+        }
+    }
+
+
+    /**
+     * Extract the value of the unique property from an instance's properties.
+     *
+     * @param properties properties of the instance
+     * @return string value or null if the property is not set
+     */
+    static String getUniquePropertyValue(InstanceProperties properties)
+    {
+        if (properties != null)
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(UNIQUE_PROPERTY_NAME);
+
+            if (propertyValue instanceof PrimitivePropertyValue)
+            {
+                return propertyValue.valueAsString();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * The values an entity is indexed under.
+     */
+    private static class EntityIndexKeys
+    {
+        private final String         typeName;
+        private final InstanceStatus status;
+        private final String         uniquePropertyValue;
+        private final List<String>   classificationNames = new ArrayList<>();
+
+        /**
+         * Extract the index keys from the current version of an entity.
+         *
+         * @param entity current version of the entity
+         */
+        EntityIndexKeys(EntityDetail entity)
+        {
+            this.typeName = entity.getType() == null ? null : entity.getType().getTypeDefName();
+            this.status = entity.getStatus();
+            this.uniquePropertyValue = getUniquePropertyValue(entity.getProperties());
+
+            if (entity.getClassifications() != null)
+            {
+                for (Classification classification : entity.getClassifications())
+                {
+                    if ((classification != null) && (classification.getName() != null))
+                    {
+                        classificationNames.add(classification.getName());
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The values a relationship is indexed under.
+     */
+    private static class RelationshipIndexKeys
+    {
+        private final String typeName;
+        private final String entityOneGUID;
+        private final String entityTwoGUID;
+
+        /**
+         * Extract the index keys from the current version of a relationship.
+         *
+         * @param relationship current version of the relationship
+         */
+        RelationshipIndexKeys(Relationship relationship)
+        {
+            this.typeName = relationship.getType() == null ? null : relationship.getType().getTypeDefName();
+            this.entityOneGUID = relationship.getEntityOneProxy() == null ? null : relationship.getEntityOneProxy().getGUID();
+            this.entityTwoGUID = relationship.getEntityTwoProxy() == null ? null : relationship.getEntityTwoProxy().getGUID();
         }
     }
 
 
     /**
      * Provides storage for an entity, its proxy and classifications.  It is proactively keeping the stored entity
-     * and entity proxy up-to-date with the latest known classifications.
+     * and entity proxy up-to-date with the latest known classifications.  Updates are serialized on the stored
+     * entity and each new version is fully built before it is published, so the getters do not need the lock.
      */
     private class StoredEntity
     {
-        private final Map<String, HomeClassification> homeClassifications = new HashMap<>();
-        private final List<EntityDetail>              entityHistory       = new ArrayList<>();
+        private final Map<String, HomeClassification> homeClassifications = new ConcurrentHashMap<>();
+        private final List<EntityDetail>              entityHistory       = new CopyOnWriteArrayList<>();
+
+        private volatile EntityDetail entity = null;
+        private volatile EntityProxy  entityProxy = null;
+        private volatile boolean      removedFromStore = false;
 
-        private EntityDetail entity = null;
-        private EntityProxy  entityProxy = null;
+        private EntityIndexKeys indexKeys = null;
 
         /**
          * Constructor for when the first element stored is an entity
@@ -736,15 +1323,15 @@ class InMemoryOMRSMetadataStore
          *
          * @return list of classifications or null
          */
-        synchronized List<Classification> getHomeClassifications()
+        List<Classification> getHomeClassifications()
         {
             if (! homeClassifications.isEmpty())
             {
                 List<Classification> results = new ArrayList<>();
 
-                for (String homeClassificationName : homeClassifications.keySet())
+                for (HomeClassification storedHomeClassification : homeClassifications.values())
                 {
-                    Classification homeClassification = homeClassifications.get(homeClassificationName).getHomeClassification();
+                    Classification homeClassification = storedHomeClassification.getHomeClassification();
                     if (homeClassification != null)
                     {
                         results.add(homeClassification);
@@ -894,6 +1481,8 @@ class InMemoryOMRSMetadataStore
              * The test of the version is >= to ensure updates to classifications (that do not change the entity version) are stored.
              * The history contains the intermediate versions of the entity caused by classification changes.
              */
+            EntityDetail updatedEntity;
+
             if ((this.entity == null) || (entity.getVersion() >= this.entity.getVersion()))
             {
                 if (this.entity != null)
@@ -901,12 +1490,17 @@ class InMemoryOMRSMetadataStore
                     entityHistory.add(0, this.entity);
                 }
 
-                this.entity = new EntityDetail(entity);
+                updatedEntity = new EntityDetail(entity);
+            }
+            else
+            {
+                updatedEntity = new EntityDetail(this.entity);
             }
 
-            addHomeClassifications(this.entity);
+            addHomeClassifications(updatedEntity);
 
-            this.entityProxy = repositoryHelper.getNewEntityProxy(repositoryName, this.entity);
+            this.entityProxy = repositoryHelper.getNewEntityProxy(repositoryName, updatedEntity);
+            this.entity = updatedEntity;
         }
 
 
@@ -924,16 +1518,26 @@ class InMemoryOMRSMetadataStore
              */
             saveHomeClassifications(entityProxy);
 
+            EntityProxy updatedProxy;
+
             if ((this.entityProxy == null) || (entityProxy.getVersion() >= this.entityProxy.getVersion()))
             {
-                this.entityProxy = new EntityProxy(entityProxy);
+                updatedProxy = new EntityProxy(entityProxy);
+            }
+            else
+            {
+                updatedProxy = new EntityProxy(this.entityProxy);
             }
 
-            addHomeClassifications(this.entityProxy);
+            addHomeClassifications(updatedProxy);
+            this.entityProxy = updatedProxy;
 
             if (this.entity != null)
             {
-                addHomeClassifications(this.entity);
+                EntityDetail updatedEntity = new EntityDetail(this.entity);
+
+                addHomeClassifications(updatedEntity);
+                this.entity = updatedEntity;
             }
         }
 
@@ -969,7 +1573,7 @@ class InMemoryOMRSMetadataStore
          *
          * @return entity object
          */
-        synchronized EntityDetail  getEntity()
+        EntityDetail  getEntity()
         {
             return entity;
         }
@@ -980,7 +1584,7 @@ class InMemoryOMRSMetadataStore
          *
          * @return entity proxy object
          */
-        synchronized EntityProxy  getEntityProxy()
+        EntityProxy  getEntityProxy()
         {
             return entityProxy;
         }
@@ -992,19 +1596,21 @@ class InMemoryOMRSMetadataStore
          * @param asOfTime time to use on the query
          * @return selected instance
          */
-        synchronized EntityDetail getEntity(Date asOfTime)
+        EntityDetail getEntity(Date asOfTime)
         {
+            EntityDetail currentEntity = this.entity;
+
             if (asOfTime == null)
             {
-                return getEntity();
+                return currentEntity;
             }
 
-            if (this.entity != null)
+            if (currentEntity != null)
             {
                 /*
                  * The requested time is before the element was created.
                  */
-                if (asOfTime.before(entity.getCreateTime()))
+                if (asOfTime.before(currentEntity.getCreateTime()))
                 {
                     return null;
                 }
@@ -1012,17 +1618,17 @@ class InMemoryOMRSMetadataStore
                 /*
                  * The element has never been updated so the initial version is still valid.
                  */
-                if (entity.getUpdateTime() == null)
+                if (currentEntity.getUpdateTime() == null)
                 {
-                    return entity;
+                    return currentEntity;
                 }
 
-                if ((asOfTime.equals(entity.getUpdateTime())) || (asOfTime.after(entity.getUpdateTime())))
+                if ((asOfTime.equals(currentEntity.getUpdateTime())) || (asOfTime.after(currentEntity.getUpdateTime())))
                 {
                     /*
                      * The asOfTime is within the window of when this instance is valid.
                      */
-                    return entity;
+                    return currentEntity;
                 }
             }
 
@@ -1058,21 +1664,22 @@ class InMemoryOMRSMetadataStore
          * @param oldestFirst ordering of results
          * @return list of versions of this relationship
          */
-        synchronized List<EntityDetail> getEntityHistory(Date    fromTime,
-                                                         Date    toTime,
-                                                         boolean oldestFirst)
+        List<EntityDetail> getEntityHistory(Date    fromTime,
+                                            Date    toTime,
+                                            boolean oldestFirst)
         {
             List<EntityDetail> historyResults = new ArrayList<>();
+            EntityDetail       currentEntity  = this.entity;
 
             /*
              * Do not have a full entity
              */
-            if (this.entity == null)
+            if (currentEntity == null)
             {
                 return null;
             }
 
-            if ((toTime != null) && (toTime.before(this.entity.getCreateTime())))
+            if ((toTime != null) && (toTime.before(currentEntity.getCreateTime())))
             {
                 /*
                  * The entity is known - but the query time is from before the instance existed.
@@ -1083,9 +1690,9 @@ class InMemoryOMRSMetadataStore
             /*
              * The current version of the entity is in range.
              */
-            if (checkInclusiveDate(fromTime, toTime, this.entity, null))
+            if (checkInclusiveDate(fromTime, toTime, currentEntity, null))
             {
-                historyResults.add(this.entity);
+                historyResults.add(currentEntity);
             }
 
             if (! this.entityHistory.isEmpty())
@@ -1094,7 +1701,7 @@ class InMemoryOMRSMetadataStore
                  * The period when an instance is active is from its updateTime to the updateTime of the next element.
                  * The entityHistory has the latest version first.
                  */
-                Date followingUpdateTime = this.entity.getUpdateTime();
+                Date followingUpdateTime = currentEntity.getUpdateTime();
 
                 for (EntityDetail historicalInstance : this.entityHistory)
                 {
@@ -1129,8 +1736,11 @@ class InMemoryOMRSMetadataStore
          *
          * @return first element in the history
          */
-        synchronized EntityDetail retrievePreviousVersion()
+        EntityDetail retrievePreviousVersion()
         {
+            /*
+             * The history only grows so the first element is still present after the test.
+             */
             if (! entityHistory.isEmpty())
             {
                 return entityHistory.get(0);
@@ -1140,6 +1750,49 @@ class InMemoryOMRSMetadataStore
         }
 
 
+        /**
+         * Return whether this stored entity has been removed from the entity store.
+         *
+         * @return boolean flag
+         */
+        boolean isRemovedFromStore()
+        {
+            return removedFromStore;
+        }
+
+
+        /**
+         * Record that this stored entity is being removed from the entity store.  Any updates that
+         * are waiting for its lock will be redirected to the store.
+         */
+        synchronized void setRemovedFromStore()
+        {
+            this.removedFromStore = true;
+        }
+
+
+        /**
+         * Return the keys that this entity is currently indexed under.
+         *
+         * @return index keys or null if the entity is not indexed
+         */
+        synchronized EntityIndexKeys getIndexKeys()
+        {
+            return indexKeys;
+        }
+
+
+        /**
+         * Save the keys that this entity is currently indexed under.
+         *
+         * @param indexKeys index keys or null if the entity is not indexed
+         */
+        synchronized void setIndexKeys(EntityIndexKeys indexKeys)
+        {
+            this.indexKeys = indexKeys;
+        }
+
+
         /**
          * Class used to store and manage a single home classification.
          */
@@ -1165,7 +1818,7 @@ class InMemoryOMRSMetadataStore
              *
              * @return active classification or null if the classification has been deleted
              */
-            synchronized Classification getHomeClassification()
+            Classification getHomeClassification()
             {
                 return this.latestClassification;
             }
@@ -1222,14 +1875,18 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Class to manage the storage of relationships.
+     * Class to manage the storage of relationships.  Updates are serialized on the stored relationship
+     * while the getters work from the volatile current version and the copy-on-write history.
      */
     private class StoredRelationship
     {
-        private final List<Relationship> relationshipHistory = new ArrayList<>();
+        private final List<Relationship> relationshipHistory = new CopyOnWriteArrayList<>();
 
         private volatile Relationship relationship         = null;
         private volatile Date         unilateralDeleteTime = null;
+        private volatile boolean      removedFromStore     = false;
+
+        private RelationshipIndexKeys indexKeys = null;
 
 
         /**
@@ -1274,19 +1931,25 @@ class InMemoryOMRSMetadataStore
         }
 
 
+        /**
+         * Retrieve the current instance without refreshing its proxies.
+         *
+         * @return stored instance or null if purged
+         */
+        Relationship getCurrentVersion()
+        {
+            return relationship;
+        }
+
+
         /**
          * Retrieve the current instance.
          *
          * @return selected instance
          */
-        synchronized Relationship getRelationship()
+        Relationship getRelationship()
         {
-            if (relationship != null)
-            {
-                return refreshRelationshipProxies(this.relationship);
-            }
-
-            return relationship;
+            return refreshRelationshipProxies(this.relationship);
         }
 
 
@@ -1296,19 +1959,21 @@ class InMemoryOMRSMetadataStore
          * @param asOfTime time to use on the query
          * @return selected instance
          */
-        synchronized Relationship getRelationship(Date asOfTime)
+        Relationship getRelationship(Date asOfTime)
         {
             if (asOfTime == null)
             {
                 return getRelationship();
             }
 
-            if (this.relationship != null)
+            Relationship currentRelationship = this.relationship;
+
+            if (currentRelationship != null)
             {
                 /*
                  * The requested time is before the element was created.
                  */
-                if (asOfTime.before(relationship.getCreateTime()))
+                if (asOfTime.before(currentRelationship.getCreateTime()))
                 {
                     return null;
                 }
@@ -1316,17 +1981,17 @@ class InMemoryOMRSMetadataStore
                 /*
                  * The element has never been updated so the initial version is still valid.
                  */
-                if (relationship.getUpdateTime() == null)
+                if (currentRelationship.getUpdateTime() == null)
                 {
-                    return relationship;
+                    return currentRelationship;
                 }
 
-                if ((asOfTime.equals(relationship.getUpdateTime())) || (asOfTime.after(relationship.getUpdateTime())))
+                if ((asOfTime.equals(currentRelationship.getUpdateTime())) || (asOfTime.after(currentRelationship.getUpdateTime())))
                 {
                     /*
                      * The asOfTime is within the window of when this instance is valid.
                      */
-                    return relationship;
+                    return currentRelationship;
                 }
             }
 
@@ -1361,22 +2026,24 @@ class InMemoryOMRSMetadataStore
          * @param oldestFirst ordering of results
          * @return list of versions of this relationship
          */
-        synchronized List<Relationship> getRelationshipHistory(Date    fromTime,
-                                                               Date    toTime,
-                                                               boolean oldestFirst)
+        List<Relationship> getRelationshipHistory(Date    fromTime,
+                                                  Date    toTime,
+                                                  boolean oldestFirst)
         {
             List<Relationship> historyResults = new ArrayList<>();
+            Relationship       currentRelationship = this.relationship;
+            Date               deleteTime = this.unilateralDeleteTime;
             Date               followingUpdateTime = null;
 
             /*
              * Do not have a relationship
              */
-            if (this.relationship == null)
+            if (currentRelationship == null)
             {
                 return null;
             }
 
-            if ((toTime != null) && (toTime.before(this.relationship.getCreateTime())))
+            if ((toTime != null) && (toTime.before(currentRelationship.getCreateTime())))
             {
                 /*
                  * The relationship is known - but the query time is from before the instance existed.
@@ -1384,12 +2051,12 @@ class InMemoryOMRSMetadataStore
                 return null;
             }
 
-            if (unilateralDeleteTime != null)
+            if (deleteTime != null)
             {
                 /*
                  * Unilateral delete set when a linked entity is deleted.
                  */
-                if (fromTime.after(unilateralDeleteTime))
+                if (fromTime.after(deleteTime))
                 {
                     /*
                      * The relationship has been purged before the "fromTime".
@@ -1397,19 +2064,19 @@ class InMemoryOMRSMetadataStore
                     return null;
                 }
 
-                followingUpdateTime = unilateralDeleteTime;
+                followingUpdateTime = deleteTime;
             }
             else
             {
-                if (checkInclusiveDate(fromTime, toTime, this.relationship, null))
+                if (checkInclusiveDate(fromTime, toTime, currentRelationship, null))
                 {
                     /*
                      * The current version of the relationship is in range.
                      */
-                    historyResults.add(this.relationship);
+                    historyResults.add(currentRelationship);
                 }
 
-                followingUpdateTime = this.relationship.getUpdateTime();
+                followingUpdateTime = currentRelationship.getUpdateTime();
             }
 
             if (! this.relationshipHistory.isEmpty())
@@ -1451,8 +2118,11 @@ class InMemoryOMRSMetadataStore
          *
          * @return first element in the history
          */
-        synchronized Relationship retrievePreviousVersion()
+        Relationship retrievePreviousVersion()
         {
+            /*
+             * The history only grows so the first element is still present after the test.
+             */
             if (! relationshipHistory.isEmpty())
             {
                 return relationshipHistory.get(0);
@@ -1462,13 +2132,56 @@ class InMemoryOMRSMetadataStore
         }
 
 
+        /**
+         * Return whether this stored relationship has been removed from the relationship store.
+         *
+         * @return boolean flag
+         */
+        boolean isRemovedFromStore()
+        {
+            return removedFromStore;
+        }
+
+
+        /**
+         * Record that this stored relationship is being removed from the relationship store.  Any updates that
+         * are waiting for its lock will be redirected to the store.
+         */
+        synchronized void setRemovedFromStore()
+        {
+            this.removedFromStore = true;
+        }
+
+
+        /**
+         * Return the keys that this relationship is currently indexed under.
+         *
+         * @return index keys or null if the relationship is not indexed
+         */
+        synchronized RelationshipIndexKeys getIndexKeys()
+        {
+            return indexKeys;
+        }
+
+
+        /**
+         * Save the keys that this relationship is currently indexed under.
+         *
+         * @param indexKeys index keys or null if the relationship is not indexed
+         */
+        synchronized void setIndexKeys(RelationshipIndexKeys indexKeys)
+        {
+            this.indexKeys = indexKeys;
+        }
+
+
         /**
          * Ensure a returned relationship is a clone of a stored value and contains the latest proxies for its ends.
          *
          * @param storedRelationship relationship retrieved from one of the relationship stores.
          * @return a cloned relationship with the latest proxies.
          */
-        private synchronized Relationship refreshRelationshipProxies(Relationship storedRelationship)
+        private Relationship refreshRelationshipProxies(Relationship storedRelationship)
         {
             if (storedRelationship != null)
             {
@@ -1476,14 +2189,14 @@ class InMemoryOMRSMetadataStore
 
                 StoredEntity storedEntity = entityStore.get(storedRelationship.getEntityOneProxy().getGUID());
 
-                if (storedEntity != null)
+                if ((storedEntity != null) && (storedEntity.getEntityProxy() != null))
                 {
                     result.setEntityOneProxy(storedEntity.getEntityProxy());
                 }
 
                 storedEntity = entityStore.get(storedRelationship.getEntityTwoProxy().getGUID());
 
-                if (storedEntity != null)
+                if ((storedEntity != null) && (storedEntity.getEntityProxy() != null))
                 {
                     result.setEntityTwoProxy(storedEntity.getEntityProxy());
                 }
@@ -0,0 +1,335 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify the secondary indexes maintained by the InMemoryOMRSMetadataStore select the right candidates,
+ * including while the store is being updated by several threads.
+ */
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String ASSET_TYPE        = "Asset";
+    private static final String PROCESS_TYPE      = "Process";
+    private static final String LINEAGE_TYPE      = "LineageMapping";
+    private static final String CLASSIFICATION_1  = "Confidentiality";
+    private static final long   WAIT_TIME         = 10;                     /* seconds */
+
+    @Mock
+    private OMRSRepositoryHelper repositoryHelper;
+
+    private InMemoryOMRSMetadataStore repositoryStore;
+
+    @BeforeMethod
+    public void setup()
+    {
+        MockitoAnnotations.openMocks(this);
+
+        repositoryStore = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, "TestMetadataCollection");
+    }
+
+
+    @Test
+    void testEntityIndexes() throws RepositoryErrorException
+    {
+        EntityDetail asset = getEntity("1111", ASSET_TYPE, "asset1", CLASSIFICATION_1);
+        EntityDetail process = getEntity("2222", PROCESS_TYPE, "process1", null);
+
+        repositoryStore.createEntityInStore(asset);
+        repositoryStore.createEntityInStore(process);
+
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, null, null, null, null)), Set.of("1111", "2222"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(Set.of(ASSET_TYPE), null, null, null, null)), Set.of("1111"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(Set.of(ASSET_TYPE, PROCESS_TYPE), null, null, null, null)), Set.of("1111", "2222"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, null, List.of(CLASSIFICATION_1), null, null)), Set.of("1111"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, null, null, "process1", null)), Set.of("2222"));
+        assertTrue(repositoryStore.getCandidateEntities(null, List.of(InstanceStatus.DELETED), null, null, null).isEmpty());
+        assertTrue(repositoryStore.getCandidateEntities(Set.of(PROCESS_TYPE), null, List.of(CLASSIFICATION_1), null, null).isEmpty());
+
+        /*
+         * Updates move the entity between index entries.
+         */
+        EntityDetail updatedAsset = getEntity("1111", ASSET_TYPE, "asset2", null);
+        updatedAsset.setStatus(InstanceStatus.DELETED);
+        updatedAsset.setVersion(2L);
+        repositoryStore.updateEntityInStore(updatedAsset);
+
+        assertTrue(repositoryStore.getCandidateEntities(null, null, null, "asset1", null).isEmpty());
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, null, null, "asset2", null)), Set.of("1111"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, List.of(InstanceStatus.DELETED), null, null, null)), Set.of("1111"));
+
+        repositoryStore.purgeEntityFromStore("1111");
+
+        assertTrue(repositoryStore.getCandidateEntities(Set.of(ASSET_TYPE), null, null, null, null).isEmpty());
+    }
+
+
+    @Test
+    void testRelationshipIndexes() throws RepositoryErrorException
+    {
+        repositoryStore.createEntityInStore(getEntity("1111", ASSET_TYPE, "asset1", null));
+        repositoryStore.createEntityInStore(getEntity("2222", PROCESS_TYPE, "process1", null));
+        repositoryStore.createEntityInStore(getEntity("3333", ASSET_TYPE, "asset2", null));
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("4444");
+        relationship.setType(getType(LINEAGE_TYPE));
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setEntityOneProxy(getProxy("1111"));
+        relationship.setEntityTwoProxy(getProxy("2222"));
+
+        repositoryStore.createRelationshipInStore(relationship);
+
+        assertEquals(getGUIDs(repositoryStore.getCandidateRelationships(null, "1111", null)), Set.of("4444"));
+        assertEquals(getGUIDs(repositoryStore.getCandidateRelationships(null, "2222", null)), Set.of("4444"));
+        assertTrue(repositoryStore.getCandidateRelationships(null, "3333", null).isEmpty());
+        assertEquals(getGUIDs(repositoryStore.getCandidateRelationships(Set.of(LINEAGE_TYPE), "1111", null)), Set.of("4444"));
+        assertTrue(repositoryStore.getCandidateRelationships(Set.of("OtherType"), null, null).isEmpty());
+
+        repositoryStore.purgeRelationshipFromStore("4444");
+
+        assertTrue(repositoryStore.getCandidateRelationships(null, "1111", null).isEmpty());
+        assertTrue(repositoryStore.getCandidateRelationships(Set.of(LINEAGE_TYPE), null, null).isEmpty());
+    }
+
+
+    @Test
+    void testConcurrentUpdates() throws Exception
+    {
+        final int threadCount        = 8;
+        final int entitiesPerThread  = 200;
+
+        ExecutorService     executorService = Executors.newFixedThreadPool(threadCount * 2);
+        List<Future<?>>     results         = new ArrayList<>();
+
+        for (int thread = 0; thread < threadCount; thread++)
+        {
+            final int threadNumber = thread;
+
+            /*
+             * Writers create and then update their own entities while readers query the indexes.
+             */
+            results.add(executorService.submit(() ->
+            {
+                for (int i = 0; i < entitiesPerThread; i++)
+                {
+                    String guid = threadNumber + "-" + i;
+
+                    repositoryStore.createEntityInStore(getEntity(guid, ASSET_TYPE, "asset-" + guid, null));
+
+                    EntityDetail updatedEntity = getEntity(guid, PROCESS_TYPE, "process-" + guid, CLASSIFICATION_1);
+                    updatedEntity.setVersion(2L);
+                    repositoryStore.updateEntityInStore(updatedEntity);
+                }
+
+                return null;
+            }));
+
+            results.add(executorService.submit(() ->
+            {
+                for (int i = 0; i < entitiesPerThread; i++)
+                {
+                    for (EntityDetail entity : repositoryStore.getCandidateEntities(Set.of(PROCESS_TYPE), null, null, null, null))
+                    {
+                        assertEquals(entity.getType().getTypeDefName(), PROCESS_TYPE);
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(repositoryStore.getCandidateEntities(Set.of(ASSET_TYPE), null, null, null, null).isEmpty());
+        assertEquals(repositoryStore.getCandidateEntities(Set.of(PROCESS_TYPE), null, null, null, null).size(), threadCount * entitiesPerThread);
+        assertEquals(repositoryStore.getCandidateEntities(null, null, List.of(CLASSIFICATION_1), null, null).size(), threadCount * entitiesPerThread);
+        assertEquals(getGUIDs(repositoryStore.getCandidateEntities(null, null, null, "process-3-7", null)), Set.of("3-7"));
+    }
+
+
+    /**
+     * An update that is held up while it holds the lock on one entity must not hold up updates of other
+     * entities, or queries that return the locked entity.  With a lock over the whole store they would all
+     * wait for it.  The amount of other work is bounded, so the test takes about the same time on any
+     * number of processors.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testUpdatesOfOtherEntitiesAreNotBlocked() throws Exception
+    {
+        final String blockedGUID   = "blocked";
+        final int    otherEntities = 500;
+
+        CountDownLatch updateBlocked = new CountDownLatch(1);
+        CountDownLatch releaseUpdate = new CountDownLatch(1);
+
+        /*
+         * The helper is called while the stored entity is locked.  It holds up version 2 of the blocked entity.
+         */
+        OMRSRepositoryHelper blockingHelper = mock(OMRSRepositoryHelper.class, invocation ->
+        {
+            for (Object argument : invocation.getArguments())
+            {
+                if ((argument instanceof EntityDetail) &&
+                    (blockedGUID.equals(((EntityDetail) argument).getGUID())) &&
+                    (((EntityDetail) argument).getVersion() == 2L))
+                {
+                    updateBlocked.countDown();
+                    releaseUpdate.await(WAIT_TIME, TimeUnit.SECONDS);
+                }
+            }
+
+            return null;
+        });
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore("TestRepository", blockingHelper, "TestMetadataCollection");
+
+        store.createEntityInStore(getEntity(blockedGUID, ASSET_TYPE, "asset-" + blockedGUID, null));
+
+        for (int i = 0; i < otherEntities; i++)
+        {
+            store.createEntityInStore(getEntity(Integer.toString(i), ASSET_TYPE, "asset-" + i, null));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try
+        {
+            EntityDetail blockedUpdate = getEntity(blockedGUID, PROCESS_TYPE, "process-" + blockedGUID, null);
+            blockedUpdate.setVersion(2L);
+
+            Future<?> blockedResult = executorService.submit(() ->
+            {
+                store.updateEntityInStore(blockedUpdate);
+
+                return null;
+            });
+
+            assertTrue(updateBlocked.await(WAIT_TIME, TimeUnit.SECONDS));
+
+            Future<?> otherResults = executorService.submit(() ->
+            {
+                for (int i = 0; i < otherEntities; i++)
+                {
+                    EntityDetail updatedEntity = getEntity(Integer.toString(i), PROCESS_TYPE, "process-" + i, null);
+                    updatedEntity.setVersion(2L);
+                    store.updateEntityInStore(updatedEntity);
+                }
+
+                assertEquals(store.getCandidateEntities(Set.of(ASSET_TYPE), null, null, null, null).size(), 1);
+                assertEquals(store.getCandidateEntities(Set.of(PROCESS_TYPE), null, null, null, null).size(), otherEntities);
+
+                return null;
+            });
+
+            /*
+             * Throws TimeoutException if the other updates wait for the blocked one.
+             */
+            otherResults.get(WAIT_TIME, TimeUnit.SECONDS);
+
+            assertFalse(blockedResult.isDone());
+
+            releaseUpdate.countDown();
+            blockedResult.get(WAIT_TIME, TimeUnit.SECONDS);
+
+            assertEquals(getGUIDs(store.getCandidateEntities(null, null, null, "process-" + blockedGUID, null)), Set.of(blockedGUID));
+        }
+        finally
+        {
+            releaseUpdate.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+
+    private EntityDetail getEntity(String guid, String typeName, String qualifiedName, String classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeName));
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+        entity.setCreateTime(new Date());
+
+        PrimitivePropertyValue qualifiedNameValue = new PrimitivePropertyValue();
+        qualifiedNameValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        qualifiedNameValue.setPrimitiveValue(qualifiedName);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty(InMemoryOMRSMetadataStore.UNIQUE_PROPERTY_NAME, qualifiedNameValue);
+        entity.setProperties(properties);
+
+        if (classificationName != null)
+        {
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            entity.setClassifications(List.of(classification));
+        }
+
+        return entity;
+    }
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefName(typeName);
+        type.setTypeDefGUID(typeName + "GUID");
+
+        return type;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+
+        return proxy;
+    }
+
+
+    private Set<String> getGUIDs(Collection<? extends InstanceHeader> instances)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+}
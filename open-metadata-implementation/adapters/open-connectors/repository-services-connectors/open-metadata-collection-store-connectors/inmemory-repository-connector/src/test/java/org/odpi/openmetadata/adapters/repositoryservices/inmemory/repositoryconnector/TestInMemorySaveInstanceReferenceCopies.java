@@ -0,0 +1,238 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidEntityException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that InMemoryOMRSMetadataCollection.saveInstanceReferenceCopies saves the valid instances in a batch,
+ * reports the instances that could not be saved, and does not save a relationship end proxy again when the
+ * batch has already saved the same or a later version of the entity.
+ */
+public class TestInMemorySaveInstanceReferenceCopies
+{
+    private static final String userId                     = "testUser";
+    private static final String repositoryName             = "TestRepository";
+    private static final String localMetadataCollectionId  = "local-metadata-collection-id";
+    private static final String remoteMetadataCollectionId = "remote-metadata-collection-id";
+    private static final String entityProxyCreator         = "entity";
+    private static final String relationshipProxyCreator   = "relationship";
+
+    @Mock
+    private OMRSRepositoryValidator repositoryValidator;
+    @Mock
+    private OMRSRepositoryHelper    repositoryHelper;
+    @Mock
+    private AuditLog                auditLog;
+
+    private InMemoryOMRSMetadataCollection metadataCollection;
+
+
+    @BeforeMethod
+    public void setup() throws Exception
+    {
+        MockitoAnnotations.openMocks(this);
+
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenReturn(true);
+        when(repositoryHelper.getNewEntityProxy(anyString(), any(EntityDetail.class))).thenAnswer(invocation ->
+        {
+            EntityDetail entity = invocation.getArgument(1);
+
+            if (entity.getGUID().startsWith("bad"))
+            {
+                throw new RepositoryErrorException(OMRSErrorCode.NULL_INSTANCE.getMessageDefinition(repositoryName, "getNewEntityProxy", repositoryName),
+                                                   this.getClass().getName(),
+                                                   "getNewEntityProxy");
+            }
+
+            return getProxy(entity.getGUID(), entity.getVersion(), entityProxyCreator);
+        });
+
+        metadataCollection = new InMemoryOMRSMetadataCollection(mock(InMemoryOMRSRepositoryConnector.class),
+                                                                repositoryName,
+                                                                repositoryHelper,
+                                                                repositoryValidator,
+                                                                localMetadataCollectionId);
+        metadataCollection.setAuditLog(auditLog);
+    }
+
+
+    /**
+     * The proxy for a relationship end is not saved when the batch has already saved the same version of the
+     * entity, but a later version of the proxy is saved.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testProxySkipping() throws Exception
+    {
+        InstanceGraph instances = new InstanceGraph();
+
+        instances.setEntities(List.of(getEntity("entity-1", 1L), getEntity("entity-2", 1L)));
+        instances.setRelationships(List.of(getRelationship("relationship-1",
+                                                           getProxy("entity-1", 1L, relationshipProxyCreator),
+                                                           getProxy("entity-2", 2L, relationshipProxyCreator)),
+                                           getRelationship("relationship-2",
+                                                           getProxy("entity-3", 1L, relationshipProxyCreator),
+                                                           getProxy("entity-1", 1L, relationshipProxyCreator))));
+
+        metadataCollection.saveInstanceReferenceCopies(userId, instances);
+
+        Relationship relationship = metadataCollection.getRelationship(userId, "relationship-1");
+
+        assertEquals(relationship.getEntityOneProxy().getCreatedBy(), entityProxyCreator);
+        assertEquals(relationship.getEntityTwoProxy().getCreatedBy(), relationshipProxyCreator);
+        assertEquals(relationship.getEntityTwoProxy().getVersion(), 2L);
+
+        relationship = metadataCollection.getRelationship(userId, "relationship-2");
+
+        assertEquals(relationship.getEntityOneProxy().getCreatedBy(), relationshipProxyCreator);
+        assertEquals(relationship.getEntityTwoProxy().getCreatedBy(), entityProxyCreator);
+    }
+
+
+    /**
+     * The instances that fail validation or can not be stored are recorded in the audit log, and the rest of the
+     * batch is saved before the first failure is returned to the caller.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testFailureReporting() throws Exception
+    {
+        EntityDetail invalidEntity = getEntity("invalid-entity", 1L);
+
+        doThrow(new InvalidParameterException(OMRSErrorCode.NULL_INSTANCE.getMessageDefinition(repositoryName, "saveInstanceReferenceCopies", repositoryName),
+                                              this.getClass().getName(),
+                                              "saveInstanceReferenceCopies",
+                                              "instances.entities")).when(repositoryValidator)
+                                                                    .validateReferenceInstanceHeader(anyString(),
+                                                                                                     anyString(),
+                                                                                                     anyString(),
+                                                                                                     eq(invalidEntity),
+                                                                                                     any(),
+                                                                                                     anyString());
+
+        InstanceGraph instances = new InstanceGraph();
+
+        instances.setEntities(List.of(getEntity("entity-1", 1L), invalidEntity, getEntity("bad-entity", 1L), getEntity("entity-2", 1L)));
+        instances.setRelationships(new ArrayList<>());
+
+        try
+        {
+            metadataCollection.saveInstanceReferenceCopies(userId, instances);
+            fail("InvalidEntityException expected");
+        }
+        catch (InvalidEntityException expected)
+        {
+            assertEquals(expected.getReportedErrorMessageId(), OMRSErrorCode.REFERENCE_COPIES_NOT_SAVED.getMessageDefinition().getMessageId());
+            assertEquals(expected.getReportedErrorMessageParameters()[1], "2");
+            assertEquals(expected.getReportedErrorMessageParameters()[2], "4");
+            assertEquals(expected.getReportedErrorMessageParameters()[3], "invalid-entity");
+        }
+
+        ArgumentCaptor<AuditLogMessageDefinition> messages = ArgumentCaptor.forClass(AuditLogMessageDefinition.class);
+
+        verify(auditLog, times(2)).logException(anyString(), messages.capture(), anyString(), any(Throwable.class));
+
+        for (AuditLogMessageDefinition message : messages.getAllValues())
+        {
+            assertEquals(message.getMessageId(), "OMRS-AUDIT-8010");
+        }
+
+        verify(auditLog).logException(anyString(), any(AuditLogMessageDefinition.class), contains("invalid-entity"), any(InvalidParameterException.class));
+        verify(auditLog).logException(anyString(), any(AuditLogMessageDefinition.class), contains("bad-entity"), any(RepositoryErrorException.class));
+
+        assertNotNull(metadataCollection.isEntityKnown(userId, "entity-1"));
+        assertNotNull(metadataCollection.isEntityKnown(userId, "entity-2"));
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        setHeader(entity, guid, version, TypeDefCategory.ENTITY_DEF, "Referenceable");
+
+        return entity;
+    }
+
+
+    private EntityProxy getProxy(String guid,
+                                 long   version,
+                                 String createdBy)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        setHeader(proxy, guid, version, TypeDefCategory.ENTITY_DEF, "Referenceable");
+        proxy.setCreatedBy(createdBy);
+
+        return proxy;
+    }
+
+
+    private Relationship getRelationship(String      guid,
+                                         EntityProxy entityOneProxy,
+                                         EntityProxy entityTwoProxy)
+    {
+        Relationship relationship = new Relationship();
+
+        setHeader(relationship, guid, 1L, TypeDefCategory.RELATIONSHIP_DEF, "TestRelationship");
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+
+    private void setHeader(InstanceHeader  instance,
+                           String          guid,
+                           long            version,
+                           TypeDefCategory category,
+                           String          typeName)
+    {
+        instance.setGUID(guid);
+        instance.setMetadataCollectionId(remoteMetadataCollectionId);
+        instance.setVersion(version);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setType(new InstanceType(category, typeName + "-guid", typeName, 1L));
+    }
+}
@@ -23,6 +23,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -177,6 +178,30 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Remember that the remote platform does not offer an API that was added in a later release, so the
+     * function is provided by the default implementation from now on.  Any other function not supported
+     * exception (for example, because the remote repository does not support the asOfTime parameter) is
+     * returned to the caller.
+     *
+     * @param methodName calling method
+     * @param error exception from the client
+     * @throws FunctionNotSupportedException the remote repository does not support the request
+     */
+    private void handleMissingRemoteFunction(String                        methodName,
+                                             FunctionNotSupportedException error) throws FunctionNotSupportedException
+    {
+        if (OMRSErrorCode.REMOTE_API_NOT_IMPLEMENTED.getMessageDefinition().getMessageId().equals(error.getReportedErrorMessageId()))
+        {
+            markFunctionUnsupported(methodName);
+        }
+        else
+        {
+            throw error;
+        }
+    }
+
+
     /**
      * Validate that the metadata collection id from the remote server matches the one expected
      * locally.
@@ -965,6 +990,76 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities in a single call.
+     * Entities that are not known, or are only stored as proxies, in the metadata collection are left out of
+     * the results.  If the remote platform does not offer this call, the entities are retrieved one at a time.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException  one of the guids is null.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            UserNotAuthorizedException
+    {
+        final String methodName  = "getEntitiesByGUIDs";
+
+        validateClient(methodName);
+
+        if (isfunctionSupported(methodName))
+        {
+            try
+            {
+                return omrsClient.getEntitiesByGUIDs(userId, guids);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Platforms from earlier releases do not offer this call, so the entities are retrieved
+                 * one at a time from now on.  Any other problem with the remote repository is returned
+                 * to the caller and the call is tried again next time.
+                 */
+                markFunctionUnsupported(methodName);
+            }
+        }
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                results.add(omrsClient.getEntityDetail(userId, guid));
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException notFound)
+            {
+                /*
+                 * Entities that are not stored in the remote repository are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -1106,6 +1201,139 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param userId                  unique identifier for requesting user.
+     * @param entityGUID              String unique identifier for the entity.
+     * @param relationshipTypeGUID    String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus    By default, relationships in all statuses are counted.  However, it is possible
+     *                                to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                                status values.
+     * @param asOfTime                Requests a historical count of the relationships for the entity.  Null means count the
+     *                                present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException     a parameter is invalid or null.
+     * @throws TypeErrorException            the type guid passed on the request is not known by the
+     *                                       metadata collection.
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws EntityNotKnownException       the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException        the request is not valid for the relationships.
+     * @throws PagingErrorException          the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime) throws InvalidParameterException,
+                                                                                 TypeErrorException,
+                                                                                 RepositoryErrorException,
+                                                                                 EntityNotKnownException,
+                                                                                 PropertyErrorException,
+                                                                                 PagingErrorException,
+                                                                                 FunctionNotSupportedException,
+                                                                                 UserNotAuthorizedException
+    {
+        return this.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime, null);
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     *
+     * @param userId                  unique identifier for requesting user.
+     * @param entityGUID              String unique identifier for the entity.
+     * @param relationshipTypeGUID    String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus    By default, relationships in all statuses are counted.  However, it is possible
+     *                                to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                                status values.
+     * @param asOfTime                Requests a historical count of the relationships for the entity.  Null means count the
+     *                                present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException     a parameter is invalid or null.
+     * @throws TypeErrorException            the type guid passed on the request is not known by the
+     *                                       metadata collection.
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws EntityNotKnownException       the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException        the request is not valid for the relationships.
+     * @throws PagingErrorException          the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime,
+                                           String               homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 TypeErrorException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 EntityNotKnownException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String             methodName = "countRelationshipsForEntity";
+
+        validateClient(methodName);
+
+        if (isfunctionSupported(methodName))
+        {
+            try
+            {
+                return omrsClient.countRelationshipsForEntity(userId,
+                                                              entityGUID,
+                                                              relationshipTypeGUID,
+                                                              limitResultsByStatus,
+                                                              asOfTime,
+                                                              homeMetadataCollectionId);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                this.handleMissingRemoteFunction(methodName, error);
+            }
+        }
+
+        /*
+         * Platforms from earlier releases do not offer counts, so the relationships are retrieved and counted.
+         */
+        List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                          entityGUID,
+                                                                          relationshipTypeGUID,
+                                                                          0,
+                                                                          limitResultsByStatus,
+                                                                          asOfTime,
+                                                                          null,
+                                                                          null,
+                                                                          0);
+
+        if (relationships == null)
+        {
+            return 0;
+        }
+
+        int count = 0;
+
+        for (Relationship relationship : relationships)
+        {
+            if (super.isHomedIn(relationship, homeMetadataCollectionId))
+            {
+                count ++;
+            }
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1248,6 +1476,157 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        return this.countEntitiesByProperty(userId,
+                                            entityTypeGUID,
+                                            matchProperties,
+                                            matchCriteria,
+                                            limitResultsByStatus,
+                                            limitResultsByClassification,
+                                            asOfTime,
+                                            null);
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and are
+     * homed in the requested metadata collection.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 TypeErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String       methodName = "countEntitiesByProperty";
+
+        validateClient(methodName);
+
+        if (isfunctionSupported(methodName))
+        {
+            try
+            {
+                return omrsClient.countEntitiesByProperty(userId,
+                                                          entityTypeGUID,
+                                                          matchProperties,
+                                                          matchCriteria,
+                                                          limitResultsByStatus,
+                                                          limitResultsByClassification,
+                                                          asOfTime,
+                                                          homeMetadataCollectionId);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                this.handleMissingRemoteFunction(methodName, error);
+            }
+        }
+
+        /*
+         * Platforms from earlier releases do not offer counts, so the entities are retrieved and counted.
+         */
+        List<EntityDetail> entities = this.findEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  0,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  null,
+                                                                  null,
+                                                                  0);
+
+        if (entities == null)
+        {
+            return 0;
+        }
+
+        int count = 0;
+
+        for (EntityDetail entity : entities)
+        {
+            if (super.isHomedIn(entity, homeMetadataCollectionId))
+            {
+                count ++;
+            }
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1447,6 +1826,76 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships in a single call.  Relationships that
+     * are not known in the metadata collection are left out of the results.  If the remote platform does not
+     * offer this call, the relationships are retrieved one at a time.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationshipsByGUIDs";
+
+        validateClient(methodName);
+
+        if (isfunctionSupported(methodName))
+        {
+            try
+            {
+                return omrsClient.getRelationshipsByGUIDs(userId, guids);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Platforms from earlier releases do not offer this call, so the relationships are retrieved
+                 * one at a time from now on.  Any other problem with the remote repository is returned
+                 * to the caller and the call is tried again next time.
+                 */
+                markFunctionUnsupported(methodName);
+            }
+        }
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                results.add(omrsClient.getRelationship(userId, guid));
+            }
+            catch (RelationshipNotKnownException notFound)
+            {
+                /*
+                 * Relationships that are not stored in the remote repository are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
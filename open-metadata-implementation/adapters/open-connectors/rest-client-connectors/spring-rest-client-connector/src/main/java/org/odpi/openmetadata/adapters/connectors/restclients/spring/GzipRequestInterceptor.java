@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * GzipRequestInterceptor compresses the body of a request with gzip before it is sent.  Small bodies are sent
+ * uncompressed since compression gains nothing for them.
+ */
+class GzipRequestInterceptor implements ClientHttpRequestInterceptor
+{
+    private static final int    MIN_COMPRESSED_SIZE = 2048;
+    private static final String GZIP_ENCODING       = "gzip";
+
+
+    /**
+     * Compress the request body if it is large enough and has not already been encoded.
+     *
+     * @param request the request, containing method, URI, and headers
+     * @param body the body of the request
+     * @param execution the request execution
+     * @return the response
+     * @throws IOException in case of I/O errors
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest                request,
+                                        byte[]                     body,
+                                        ClientHttpRequestExecution execution) throws IOException
+    {
+        HttpHeaders headers = request.getHeaders();
+
+        if ((body.length < MIN_COMPRESSED_SIZE) || (headers.containsKey(HttpHeaders.CONTENT_ENCODING)))
+        {
+            return execution.execute(request, body);
+        }
+
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream(body.length / 4);
+
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressedBody))
+        {
+            gzipStream.write(body);
+        }
+
+        byte[] compressedBytes = compressedBody.toByteArray();
+
+        headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        headers.setContentLength(compressedBytes.length);
+
+        return execution.execute(request, compressedBytes);
+    }
+}
@@ -0,0 +1,173 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * RESTCallStatistics records the number of calls and their latency for one REST endpoint called through the
+ * SpringRESTClientConnector.  An endpoint is identified by the HTTP method and the URL template of the call, so
+ * the calls to the same operation on different servers or instances are counted together.  The statistics
+ * are kept for the life of the JVM and are shared by all connectors.
+ */
+public class RESTCallStatistics
+{
+    static final int            MAX_ENDPOINTS  = 2000;
+    private static final String OTHER_ENDPOINT = "OTHER";
+
+    private static final Map<String, RESTCallStatistics> endpointStatistics = new ConcurrentHashMap<>();
+
+    private final String         endpoint;
+    private final LongAdder      callCount     = new LongAdder();
+    private final LongAdder      failureCount  = new LongAdder();
+    private final LongAdder      totalNanos    = new LongAdder();
+    private final LongAccumulator maxNanos     = new LongAccumulator(Math::max, 0);
+
+
+    /**
+     * Constructor
+     *
+     * @param endpoint HTTP method and URL template
+     */
+    private RESTCallStatistics(String endpoint)
+    {
+        this.endpoint = endpoint;
+    }
+
+
+    /**
+     * Record a completed call.  Once the maximum number of endpoints has been reached, calls to new endpoints are
+     * recorded under a single endpoint called OTHER.
+     *
+     * @param httpMethod HTTP method of the call
+     * @param urlTemplate URL template of the call
+     * @param startTime value of System.nanoTime() when the call started
+     * @param failed did the call fail?
+     */
+    static void recordCall(String  httpMethod,
+                           String  urlTemplate,
+                           long    startTime,
+                           boolean failed)
+    {
+        long   elapsedNanos = System.nanoTime() - startTime;
+        String endpoint     = httpMethod + " " + urlTemplate;
+
+        RESTCallStatistics statistics = endpointStatistics.get(endpoint);
+
+        if (statistics == null)
+        {
+            if (endpointStatistics.size() >= MAX_ENDPOINTS)
+            {
+                endpoint = OTHER_ENDPOINT;
+            }
+
+            statistics = endpointStatistics.computeIfAbsent(endpoint, RESTCallStatistics::new);
+        }
+
+        statistics.callCount.increment();
+        statistics.totalNanos.add(elapsedNanos);
+        statistics.maxNanos.accumulate(elapsedNanos);
+
+        if (failed)
+        {
+            statistics.failureCount.increment();
+        }
+    }
+
+
+    /**
+     * Return the statistics for each endpoint that has been called.
+     *
+     * @return unmodifiable map from endpoint (HTTP method and URL template) to its statistics
+     */
+    public static Map<String, RESTCallStatistics> getEndpointStatistics()
+    {
+        return Collections.unmodifiableMap(endpointStatistics);
+    }
+
+
+    /**
+     * Return the HTTP method and URL template of the endpoint.
+     *
+     * @return string
+     */
+    public String getEndpoint()
+    {
+        return endpoint;
+    }
+
+
+    /**
+     * Return the number of calls made to the endpoint.
+     *
+     * @return count
+     */
+    public long getCallCount()
+    {
+        return callCount.sum();
+    }
+
+
+    /**
+     * Return the number of calls to the endpoint that failed.
+     *
+     * @return count
+     */
+    public long getFailureCount()
+    {
+        return failureCount.sum();
+    }
+
+
+    /**
+     * Return the mean time taken by a call to the endpoint.
+     *
+     * @return milliseconds
+     */
+    public double getAverageLatencyMillis()
+    {
+        long calls = callCount.sum();
+
+        if (calls == 0)
+        {
+            return 0;
+        }
+
+        return (double) totalNanos.sum() / calls / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+
+    /**
+     * Return the longest time taken by a call to the endpoint.
+     *
+     * @return milliseconds
+     */
+    public double getMaxLatencyMillis()
+    {
+        return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "RESTCallStatistics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", callCount=" + getCallCount() +
+                ", failureCount=" + getFailureCount() +
+                ", averageLatencyMillis=" + getAverageLatencyMillis() +
+                ", maxLatencyMillis=" + getMaxLatencyMillis() +
+                '}';
+    }
+}
@@ -6,6 +6,7 @@ import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.http.HttpHeadersThreadLocal;
@@ -15,9 +16,12 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -42,6 +46,13 @@ public class SpringRESTClientConnector extends RESTClientConnector
     private String       serverPlatformURLRoot    = null;
     private HttpHeaders  basicAuthorizationHeader = null;
 
+    private ClientHttpRequestFactory pooledRequestFactory = null;
+
+    private static final int DEFAULT_MAX_CONNECTIONS         = 50;
+    private static final int DEFAULT_CONNECT_TIMEOUT         = 30000;
+    private static final int DEFAULT_READ_TIMEOUT            = 0;
+    private static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 60000;
+
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
 
@@ -117,6 +128,155 @@ public class SpringRESTClientConnector extends RESTClientConnector
             log.debug("Using no authentication to call server {} on platform {} .", this.serverName, this.serverPlatformURLRoot );
 
         }
+
+        this.setUpHTTPTransport(connectionProperties.getConfigurationProperties());
+    }
+
+
+    /**
+     * Set up the HTTP client used by the RestTemplate from the configuration properties.  By default, the calls
+     * use a pool of keep-alive connections that is shared with the other connectors calling the same platform,
+     * and the responses are compressed.  The pooled client is released when the connector disconnects.
+     * If the pooled client can not be created, the connector continues with the JDK's HttpURLConnection.
+     *
+     * @param configurationProperties configuration properties from the connection (may be null)
+     */
+    private void setUpHTTPTransport(Map<String, Object> configurationProperties)
+    {
+        boolean usePooledConnections  = true;
+        boolean compressRequests      = false;
+        int     maxConnections        = DEFAULT_MAX_CONNECTIONS;
+        int     connectTimeout        = DEFAULT_CONNECT_TIMEOUT;
+        int     readTimeout           = DEFAULT_READ_TIMEOUT;
+        int     idleConnectionTimeout = DEFAULT_IDLE_CONNECTION_TIMEOUT;
+
+        if (configurationProperties != null)
+        {
+            usePooledConnections  = getBooleanProperty(configurationProperties, SpringRESTClientConnectorProvider.usePooledConnectionsProperty, true);
+            compressRequests      = getBooleanProperty(configurationProperties, SpringRESTClientConnectorProvider.compressRequestsProperty, false);
+            maxConnections        = getIntProperty(configurationProperties, SpringRESTClientConnectorProvider.maxConnectionsProperty, DEFAULT_MAX_CONNECTIONS, 1);
+            connectTimeout        = getIntProperty(configurationProperties, SpringRESTClientConnectorProvider.connectTimeoutProperty, DEFAULT_CONNECT_TIMEOUT, 0);
+            readTimeout           = getIntProperty(configurationProperties, SpringRESTClientConnectorProvider.readTimeoutProperty, DEFAULT_READ_TIMEOUT, 0);
+            idleConnectionTimeout = getIntProperty(configurationProperties, SpringRESTClientConnectorProvider.idleConnectionTimeoutProperty, DEFAULT_IDLE_CONNECTION_TIMEOUT, 1);
+        }
+
+        if (usePooledConnections)
+        {
+            try
+            {
+                ClientHttpRequestFactory requestFactory = SpringRESTClientPool.getRequestFactory(serverPlatformURLRoot,
+                                                                                                 maxConnections,
+                                                                                                 connectTimeout,
+                                                                                                 readTimeout,
+                                                                                                 idleConnectionTimeout);
+                this.releasePooledRequestFactory();
+
+                restTemplate.setRequestFactory(requestFactory);
+                pooledRequestFactory = requestFactory;
+            }
+            catch (Exception error)
+            {
+                log.warn("Unable to create pooled HTTP client for platform {}; using HttpURLConnection: {}",
+                         serverPlatformURLRoot,
+                         error.getMessage());
+            }
+        }
+
+        if (compressRequests)
+        {
+            restTemplate.getInterceptors().add(new GzipRequestInterceptor());
+        }
+    }
+
+
+    /**
+     * Release the pooled client so that it can be closed once no other connector is using it.
+     */
+    private synchronized void releasePooledRequestFactory()
+    {
+        if (pooledRequestFactory != null)
+        {
+            SpringRESTClientPool.releaseRequestFactory(pooledRequestFactory);
+            pooledRequestFactory = null;
+        }
+    }
+
+
+    /**
+     * Return the request factory used by the RestTemplate.
+     *
+     * @return request factory
+     */
+    ClientHttpRequestFactory getRequestFactory()
+    {
+        return restTemplate.getRequestFactory();
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  This includes the connector's use
+     * of the pooled HTTP client.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        super.disconnect();
+
+        this.releasePooledRequestFactory();
+    }
+
+
+    /**
+     * Return the value of a boolean configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private boolean getBooleanProperty(Map<String, Object> configurationProperties,
+                                       String              propertyName,
+                                       boolean             defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Boolean)
+        {
+            return (Boolean)propertyValue;
+        }
+        else if (propertyValue != null)
+        {
+            return Boolean.parseBoolean(propertyValue.toString());
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the value of an integer configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is too small
+     * @param minimumValue smallest valid value
+     * @return property value
+     */
+    private int getIntProperty(Map<String, Object> configurationProperties,
+                               String              propertyName,
+                               int                 defaultValue,
+                               int                 minimumValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if ((propertyValue instanceof Number) && (((Number)propertyValue).intValue() >= minimumValue))
+        {
+            return ((Number)propertyValue).intValue();
+        }
+
+        return defaultValue;
     }
 
 
@@ -157,6 +317,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                           Class<T>  returnClass,
                                           String    urlTemplate) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             log.debug("Calling {} with URL template {} and no parameters.",  methodName, urlTemplate);
@@ -188,10 +350,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -205,7 +371,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -234,6 +400,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                   String    urlTemplate,
                                   Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if (log.isDebugEnabled())
@@ -273,10 +441,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
             }
 
 
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -290,7 +462,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -320,6 +492,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                            String    urlTemplate,
                                            Object    requestBody) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             log.debug("Calling {} with URL template {} and no parameters.",  methodName, urlTemplate);
@@ -363,10 +537,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
 
 
 
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -380,7 +558,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -413,6 +591,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                    Object    requestBody,
                                    Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if (log.isDebugEnabled())
@@ -460,10 +640,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -477,7 +661,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -507,6 +691,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                   Object    requestBody,
                                   Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if (log.isDebugEnabled())
@@ -543,10 +729,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("PUT", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("PUT", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -560,7 +750,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -588,6 +778,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                              String    urlTemplate,
                                              Object    requestBody) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             log.debug("Calling {} with URL template {} and no parameters.",  methodName, urlTemplate);
@@ -629,10 +821,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -646,7 +842,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -678,6 +874,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                      Object    requestBody,
                                      Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if (log.isDebugEnabled())
@@ -706,10 +904,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, true);
+
             log.error("Exception " + error.getClass().getName() + " with message " + error.getMessage() + " occurred during REST call for " + methodName + ".");
 
             RESTClientConnectorErrorCode errorCode = RESTClientConnectorErrorCode.CLIENT_SIDE_REST_API_ERROR;
@@ -720,7 +922,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -750,6 +952,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                   Object requestBody,
                                   Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if (log.isDebugEnabled())
@@ -798,10 +1002,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("POST", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -815,7 +1023,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -843,6 +1051,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                  String urlTemplate,
                                  Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if(log.isDebugEnabled())
@@ -883,10 +1093,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("GET", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -900,7 +1114,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -930,6 +1144,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                      Object    requestBody,
                                      Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if(log.isDebugEnabled())
@@ -960,10 +1176,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("DELETE", urlTemplate, startTime, true);
+
             log.error("Exception " + error.getClass().getName() + " with message " + error.getMessage() + " occurred during REST call for " + methodName + ".");
 
             RESTClientConnectorErrorCode errorCode = RESTClientConnectorErrorCode.CLIENT_SIDE_REST_API_ERROR;
@@ -974,7 +1194,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -1003,6 +1223,8 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                   Object    requestBody,
                                   Object... params) throws RESTServerException
     {
+        long startTime = System.nanoTime();
+
         try
         {
             if(log.isDebugEnabled())
@@ -1040,10 +1262,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 log.debug("Returning from {} with no response object.", methodName);
             }
 
+            RESTCallStatistics.recordCall("PUT", urlTemplate, startTime, false);
+
             return responseObject;
         }
         catch (Exception error)
         {
+            RESTCallStatistics.recordCall("PUT", urlTemplate, startTime, true);
+
             log.debug("Exception {} with message {} occurred during REST call for {}.",
                       error.getClass().getName(),
                       error.getMessage(),
@@ -1057,7 +1283,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getHTTPErrorCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -1067,6 +1293,26 @@ public class SpringRESTClientConnector extends RESTClientConnector
         }
     }
 
+    /**
+     * Return the HTTP code to report for a failed REST call.  A request for a URL that the server does not have
+     * is reported as 404 so that callers can tell an API that the server does not offer from any other error.
+     *
+     * @param error exception from the REST call
+     * @param errorCode error code for the failure
+     * @return HTTP code
+     */
+    private int getHTTPErrorCode(Exception                    error,
+                                 RESTClientConnectorErrorCode errorCode)
+    {
+        if (error instanceof HttpClientErrorException.NotFound)
+        {
+            return HttpStatus.NOT_FOUND.value();
+        }
+
+        return errorCode.getHTTPErrorCode();
+    }
+
+
     /**
      * Creates the http headers for the requests. It checks if there are headers saved in the thread local or
      * any basic authorisation headers and adds them to the list.
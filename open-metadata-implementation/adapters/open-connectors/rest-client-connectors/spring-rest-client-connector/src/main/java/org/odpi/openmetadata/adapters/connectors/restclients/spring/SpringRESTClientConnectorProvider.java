@@ -6,6 +6,9 @@ import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector
 import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * SpringRESTClientConnectorProvider provides the connector provider for the SpringRESTClientConnector.
@@ -16,6 +19,40 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
     static final String  connectorTypeName = "Spring REST Client Connector";
     static final String  connectorTypeDescription = "Connector that calls the REST API of a remote server using Spring.";
 
+    /**
+     * Use a pool of keep-alive connections that is shared by all connectors calling the same platform.  The default
+     * is true.  When false, each call uses the JDK's HttpURLConnection.
+     */
+    public static final String usePooledConnectionsProperty  = "usePooledConnections";
+
+    /**
+     * Maximum number of open connections in the pool for a platform.  The default is 50.
+     */
+    public static final String maxConnectionsProperty        = "maxConnections";
+
+    /**
+     * Maximum time in milliseconds to wait for a new connection to the platform to be established.  The default
+     * is 30000.
+     */
+    public static final String connectTimeoutProperty        = "connectTimeout";
+
+    /**
+     * Maximum time in milliseconds to wait for the response to a call.  The default is 0, which means wait
+     * for as long as the call takes.
+     */
+    public static final String readTimeoutProperty           = "readTimeout";
+
+    /**
+     * Time in milliseconds that an unused connection is kept open in the pool.  The default is 60000.
+     */
+    public static final String idleConnectionTimeoutProperty = "idleConnectionTimeout";
+
+    /**
+     * Compress request bodies with gzip.  The default is false since the platform must be able to accept gzip
+     * encoded requests.  Responses are always requested with gzip compression when pooled connections are used.
+     */
+    public static final String compressRequestsProperty      = "compressRequests";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * REST Client Connector implementation.
@@ -34,6 +71,15 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(usePooledConnectionsProperty);
+        recognizedConfigurationProperties.add(maxConnectionsProperty);
+        recognizedConfigurationProperties.add(connectTimeoutProperty);
+        recognizedConfigurationProperties.add(readTimeoutProperty);
+        recognizedConfigurationProperties.add(idleConnectionTimeoutProperty);
+        recognizedConfigurationProperties.add(compressRequestsProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
@@ -0,0 +1,263 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * SpringRESTClientPool holds the pooled HTTP clients used by the SpringRESTClientConnector.  A client is created for
+ * each combination of target platform and pool settings, and it is shared by every connector that calls that
+ * platform.  This means the open connections, and their TLS sessions, are reused by all the clients of a platform
+ * rather than being set up again for each connector.
+ *
+ * The clients request gzip compressed responses and decompress them automatically.  Unused connections are closed
+ * after the idle connection timeout.  The pool counts the connectors using each client, and the client is closed
+ * and removed from the pool when the last of them disconnects.
+ */
+class SpringRESTClientPool
+{
+    private static final Logger log = LoggerFactory.getLogger(SpringRESTClientPool.class);
+
+    /*
+     * Pooled clients keyed by platform origin and settings.  Access is synchronized on the class.
+     */
+    private static final Map<String, PooledClient> pooledClients = new HashMap<>();
+
+
+    /**
+     * Private constructor to prevent instances of this class.
+     */
+    private SpringRESTClientPool()
+    {
+    }
+
+
+    /**
+     * Return the request factory for the platform, creating it if this is the first request for the platform with
+     * these settings.  Each call must be matched by a call to releaseRequestFactory when the caller no longer
+     * needs the factory.
+     *
+     * @param platformURLRoot network address of the platform
+     * @param maxConnections maximum number of open connections to the platform
+     * @param connectTimeout maximum time in milliseconds to establish a connection
+     * @param readTimeout maximum time in milliseconds to wait for a response (0 means no limit)
+     * @param idleConnectionTimeout time in milliseconds that an unused connection is kept open
+     * @return request factory for the RestTemplate
+     * @throws GeneralSecurityException unable to set up the SSL context
+     */
+    static synchronized ClientHttpRequestFactory getRequestFactory(String platformURLRoot,
+                                                                   int    maxConnections,
+                                                                   int    connectTimeout,
+                                                                   int    readTimeout,
+                                                                   int    idleConnectionTimeout) throws GeneralSecurityException
+    {
+        String key = getPoolKey(platformURLRoot, maxConnections, connectTimeout, readTimeout, idleConnectionTimeout);
+
+        PooledClient pooledClient = pooledClients.get(key);
+
+        if (pooledClient == null)
+        {
+            pooledClient = new PooledClient(key, createRequestFactory(maxConnections, connectTimeout, readTimeout, idleConnectionTimeout));
+            pooledClients.put(key, pooledClient);
+
+            log.debug("Created pooled HTTP client {}", key);
+        }
+
+        pooledClient.userCount++;
+
+        return pooledClient.requestFactory;
+    }
+
+
+    /**
+     * Record that a caller no longer needs a request factory returned by getRequestFactory.  When the last
+     * caller releases it, the HTTP client and its open connections are closed.
+     *
+     * @param requestFactory request factory returned by getRequestFactory
+     */
+    static synchronized void releaseRequestFactory(ClientHttpRequestFactory requestFactory)
+    {
+        for (PooledClient pooledClient : pooledClients.values())
+        {
+            if (pooledClient.requestFactory == requestFactory)
+            {
+                pooledClient.userCount--;
+
+                if (pooledClient.userCount <= 0)
+                {
+                    pooledClients.remove(pooledClient.key);
+
+                    try
+                    {
+                        pooledClient.requestFactory.destroy();
+
+                        log.debug("Closed pooled HTTP client {}", pooledClient.key);
+                    }
+                    catch (Exception error)
+                    {
+                        log.debug("Unable to close pooled HTTP client {}: {}", pooledClient.key, error.getMessage());
+                    }
+                }
+
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Return the number of HTTP clients in the pool.
+     *
+     * @return count
+     */
+    static synchronized int getPooledClientCount()
+    {
+        return pooledClients.size();
+    }
+
+
+    /**
+     * Return the key of the pooled client for the platform and settings.
+     *
+     * @param platformURLRoot network address of the platform
+     * @param maxConnections maximum number of open connections to the platform
+     * @param connectTimeout maximum time in milliseconds to establish a connection
+     * @param readTimeout maximum time in milliseconds to wait for a response (0 means no limit)
+     * @param idleConnectionTimeout time in milliseconds that an unused connection is kept open
+     * @return key
+     */
+    static String getPoolKey(String platformURLRoot,
+                             int    maxConnections,
+                             int    connectTimeout,
+                             int    readTimeout,
+                             int    idleConnectionTimeout)
+    {
+        return getPlatformOrigin(platformURLRoot) + ":" + maxConnections + ":" + connectTimeout + ":" + readTimeout + ":" + idleConnectionTimeout;
+    }
+
+
+    /**
+     * Create a request factory with a new pooled HTTP client.  The client follows the JVM's SSL and proxy system
+     * properties in the same way as HttpURLConnection, and accepts any certificate when strict SSL is turned off.
+     *
+     * @param maxConnections maximum number of open connections to the platform
+     * @param connectTimeout maximum time in milliseconds to establish a connection
+     * @param readTimeout maximum time in milliseconds to wait for a response (0 means no limit)
+     * @param idleConnectionTimeout time in milliseconds that an unused connection is kept open
+     * @return request factory for the RestTemplate
+     * @throws GeneralSecurityException unable to set up the SSL context
+     */
+    private static HttpComponentsClientHttpRequestFactory createRequestFactory(int maxConnections,
+                                                                               int connectTimeout,
+                                                                               int readTimeout,
+                                                                               int idleConnectionTimeout) throws GeneralSecurityException
+    {
+        PoolingHttpClientConnectionManagerBuilder connectionManagerBuilder = PoolingHttpClientConnectionManagerBuilder.create();
+
+        if (HttpHelper.isNoStrictSSLConfigured())
+        {
+            connectionManagerBuilder.setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                                                                                          .setSslContext(HttpHelper.getNoStrictSSLContext())
+                                                                                          .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                                                                                          .build());
+        }
+        else
+        {
+            connectionManagerBuilder.useSystemProperties();
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = connectionManagerBuilder.setMaxConnTotal(maxConnections)
+                                                                                       .setMaxConnPerRoute(maxConnections)
+                                                                                       .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                                                                                                                   .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                                                                                                                                   .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                                                                                                                                   .build())
+                                                                                       .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                                                    .useSystemProperties()
+                                                    .setConnectionManager(connectionManager)
+                                                    .setDefaultRequestConfig(RequestConfig.custom()
+                                                                                          .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                                                                                          .build())
+                                                    .evictExpiredConnections()
+                                                    .evictIdleConnections(TimeValue.ofMilliseconds(idleConnectionTimeout))
+                                                    .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+
+    /**
+     * Return the scheme, host and port of the platform so that all the servers on a platform share a client.
+     *
+     * @param platformURLRoot network address of the platform
+     * @return origin of the platform's URLs
+     */
+    private static String getPlatformOrigin(String platformURLRoot)
+    {
+        if (platformURLRoot != null)
+        {
+            try
+            {
+                URI uri = new URI(platformURLRoot);
+
+                if (uri.getHost() != null)
+                {
+                    return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+                }
+            }
+            catch (Exception error)
+            {
+                log.debug("Unable to parse platform URL root {}: {}", platformURLRoot, error.getMessage());
+            }
+        }
+
+        return String.valueOf(platformURLRoot);
+    }
+
+
+    /**
+     * A pooled HTTP client and the number of connectors using it.
+     */
+    private static class PooledClient
+    {
+        private final String                                 key;
+        private final HttpComponentsClientHttpRequestFactory requestFactory;
+        private int                                          userCount = 0;
+
+
+        /**
+         * Constructor
+         *
+         * @param key pool key
+         * @param requestFactory request factory wrapping the HTTP client
+         */
+        PooledClient(String                                 key,
+                     HttpComponentsClientHttpRequestFactory requestFactory)
+        {
+            this.key = key;
+            this.requestFactory = requestFactory;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+
+/**
+ * Validate that GzipRequestInterceptor compresses large request bodies, and leaves small bodies and bodies
+ * that are already encoded unchanged.
+ */
+public class GzipRequestInterceptorTest
+{
+    private byte[] sentBody = null;
+
+
+    /**
+     * A small body is sent unchanged.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSmallBody() throws Exception
+    {
+        HttpRequest request = this.getRequest();
+        byte[]      body    = "{\"class\":\"SmallRequest\"}".getBytes(StandardCharsets.UTF_8);
+
+        new GzipRequestInterceptor().intercept(request, body, this.getExecution());
+
+        assertSame(sentBody, body);
+        assertNull(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+
+    /**
+     * A large body is compressed and the headers describe the compressed body.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testLargeBody() throws Exception
+    {
+        HttpRequest request = this.getRequest();
+        byte[]      body    = this.getLargeBody();
+
+        new GzipRequestInterceptor().intercept(request, body, this.getExecution());
+
+        assertEquals(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "gzip");
+        assertEquals(request.getHeaders().getContentLength(), sentBody.length);
+
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(sentBody)))
+        {
+            assertEquals(new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+
+    /**
+     * A body that already has a content encoding is sent unchanged.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testEncodedBody() throws Exception
+    {
+        HttpRequest request = this.getRequest();
+        byte[]      body    = this.getLargeBody();
+
+        request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "deflate");
+
+        new GzipRequestInterceptor().intercept(request, body, this.getExecution());
+
+        assertSame(sentBody, body);
+        assertEquals(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "deflate");
+    }
+
+
+    private byte[] getLargeBody()
+    {
+        char[] characters = new char[10000];
+
+        Arrays.fill(characters, 'x');
+
+        return new String(characters).getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private HttpRequest getRequest()
+    {
+        HttpHeaders headers = new HttpHeaders();
+
+        return new HttpRequest()
+        {
+            @Override
+            public HttpMethod getMethod()
+            {
+                return HttpMethod.POST;
+            }
+
+            @Override
+            public URI getURI()
+            {
+                return URI.create("https://localhost:9443/servers/server1");
+            }
+
+            @Override
+            public HttpHeaders getHeaders()
+            {
+                return headers;
+            }
+        };
+    }
+
+
+    /**
+     * Return an execution that saves the body it is asked to send.
+     *
+     * @return execution
+     */
+    private ClientHttpRequestExecution getExecution()
+    {
+        return (request, body) ->
+        {
+            sentBody = body;
+
+            return null;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate that RESTCallStatistics counts the calls to each endpoint, and records the calls to new endpoints
+ * under a single endpoint once the maximum number of endpoints is reached.
+ */
+public class RESTCallStatisticsTest
+{
+    /**
+     * Calls and failures are counted for each endpoint.  The number of endpoints is limited, and the calls
+     * beyond the limit are recorded under OTHER.  The statistics are shared by the JVM, so both are checked
+     * in one test.
+     */
+    @Test
+    public void testRecordCall()
+    {
+        RESTCallStatistics.recordCall("GET", "/test/record-call", System.nanoTime(), false);
+        RESTCallStatistics.recordCall("GET", "/test/record-call", System.nanoTime(), true);
+
+        RESTCallStatistics statistics = RESTCallStatistics.getEndpointStatistics().get("GET /test/record-call");
+
+        assertNotNull(statistics);
+        assertEquals(statistics.getCallCount(), 2);
+        assertEquals(statistics.getFailureCount(), 1);
+
+        for (int i = 0; i < RESTCallStatistics.MAX_ENDPOINTS + 100; i++)
+        {
+            RESTCallStatistics.recordCall("POST", "/test/endpoint-" + i, System.nanoTime(), false);
+        }
+
+        Map<String, RESTCallStatistics> endpointStatistics = RESTCallStatistics.getEndpointStatistics();
+
+        assertTrue(endpointStatistics.size() <= RESTCallStatistics.MAX_ENDPOINTS + 1);
+        assertNotNull(endpointStatistics.get("OTHER"));
+        assertTrue(endpointStatistics.get("OTHER").getCallCount() >= 100);
+    }
+}
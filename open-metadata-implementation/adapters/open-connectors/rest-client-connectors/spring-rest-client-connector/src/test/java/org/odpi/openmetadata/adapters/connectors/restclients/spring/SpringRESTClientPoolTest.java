@@ -0,0 +1,185 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate that SpringRESTClientPool shares a client between the callers of the same platform with the same
+ * settings, and closes the client when the last caller releases it.  Also validate that the
+ * SpringRESTClientConnector releases its pooled client when it disconnects.
+ */
+public class SpringRESTClientPoolTest
+{
+    private static final String platformURLRoot = "https://localhost:9443";
+
+
+    /**
+     * Callers of the same platform and settings share a client, whatever the path of their URLs.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSharedClient() throws Exception
+    {
+        int startCount = SpringRESTClientPool.getPooledClientCount();
+
+        ClientHttpRequestFactory first  = SpringRESTClientPool.getRequestFactory(platformURLRoot, 100, 1000, 2000, 3000);
+        ClientHttpRequestFactory second = SpringRESTClientPool.getRequestFactory(platformURLRoot + "/servers/server1", 100, 1000, 2000, 3000);
+
+        assertSame(second, first);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount + 1);
+
+        SpringRESTClientPool.releaseRequestFactory(first);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount + 1);
+
+        SpringRESTClientPool.releaseRequestFactory(second);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount);
+    }
+
+
+    /**
+     * A different port or different settings use a different client.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSeparateClients() throws Exception
+    {
+        int startCount = SpringRESTClientPool.getPooledClientCount();
+
+        ClientHttpRequestFactory first  = SpringRESTClientPool.getRequestFactory(platformURLRoot, 100, 1000, 2000, 3000);
+        ClientHttpRequestFactory second = SpringRESTClientPool.getRequestFactory("https://localhost:9444", 100, 1000, 2000, 3000);
+        ClientHttpRequestFactory third  = SpringRESTClientPool.getRequestFactory(platformURLRoot, 50, 1000, 2000, 3000);
+
+        assertNotSame(second, first);
+        assertNotSame(third, first);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount + 3);
+
+        SpringRESTClientPool.releaseRequestFactory(first);
+        SpringRESTClientPool.releaseRequestFactory(second);
+        SpringRESTClientPool.releaseRequestFactory(third);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount);
+    }
+
+
+    /**
+     * The key is made from the scheme, host and port of the platform and the settings.
+     */
+    @Test
+    public void testPoolKey()
+    {
+        assertEquals(SpringRESTClientPool.getPoolKey(platformURLRoot + "/servers/server1", 1, 2, 3, 4), "https://localhost:9443:1:2:3:4");
+        assertEquals(SpringRESTClientPool.getPoolKey("not a url", 1, 2, 3, 4), "not a url:1:2:3:4");
+    }
+
+
+    /**
+     * Once released, a new request for the platform creates a new client.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testNewClientAfterRelease() throws Exception
+    {
+        ClientHttpRequestFactory first = SpringRESTClientPool.getRequestFactory(platformURLRoot, 10, 1000, 2000, 3000);
+
+        SpringRESTClientPool.releaseRequestFactory(first);
+
+        ClientHttpRequestFactory second = SpringRESTClientPool.getRequestFactory(platformURLRoot, 10, 1000, 2000, 3000);
+
+        assertNotSame(second, first);
+
+        SpringRESTClientPool.releaseRequestFactory(second);
+    }
+
+
+    /**
+     * A connector uses the pooled client by default, and releases it when it disconnects.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConnectorReleasesClient() throws Exception
+    {
+        int startCount = SpringRESTClientPool.getPooledClientCount();
+
+        SpringRESTClientConnector first  = this.getConnector(null);
+        SpringRESTClientConnector second = this.getConnector(null);
+
+        assertSame(second.getRequestFactory(), first.getRequestFactory());
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount + 1);
+
+        first.disconnect();
+        first.disconnect();
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount + 1);
+
+        second.disconnect();
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount);
+    }
+
+
+    /**
+     * A connector configured not to use pooled connections uses HttpURLConnection.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testConnectorWithoutPool() throws Exception
+    {
+        int startCount = SpringRESTClientPool.getPooledClientCount();
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(SpringRESTClientConnectorProvider.usePooledConnectionsProperty, false);
+
+        SpringRESTClientConnector connector = this.getConnector(configurationProperties);
+
+        assertTrue(connector.getRequestFactory() instanceof SimpleClientHttpRequestFactory);
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount);
+
+        connector.disconnect();
+        assertEquals(SpringRESTClientPool.getPooledClientCount(), startCount);
+    }
+
+
+    /**
+     * Return an initialized connector for the test platform.
+     *
+     * @param configurationProperties configuration properties for the connection (may be null)
+     * @return connector
+     * @throws Exception unable to create the connector
+     */
+    private SpringRESTClientConnector getConnector(Map<String, Object> configurationProperties) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(platformURLRoot);
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("SpringRESTClientPoolTest");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+
+        connector.initialize("test-connector-instance", new ConnectionProperties(connection));
+
+        return connector;
+    }
+}
@@ -25,9 +25,10 @@ public class EngineConfig extends AdminServicesConfigHeader
 {
     private static final long    serialVersionUID = 1L;
 
-    private String engineId            = UUID.randomUUID().toString();
-    private String engineQualifiedName = null;
-    private String engineUserId        = null;
+    private String engineId              = UUID.randomUUID().toString();
+    private String engineQualifiedName   = null;
+    private String engineUserId          = null;
+    private int    maxConcurrentServices = 0;
 
 
     /**
@@ -50,9 +51,10 @@ public class EngineConfig extends AdminServicesConfigHeader
 
         if (template != null)
         {
-            engineId            = template.getEngineId();
-            engineQualifiedName = template.getEngineQualifiedName();
-            engineUserId        = template.getEngineUserId();
+            engineId              = template.getEngineId();
+            engineQualifiedName   = template.getEngineQualifiedName();
+            engineUserId          = template.getEngineUserId();
+            maxConcurrentServices = template.getMaxConcurrentServices();
         }
     }
 
@@ -127,6 +129,30 @@ public class EngineConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of governance services that the governance engine runs at the same time.  Further requests
+     * wait in the engine host's queue.  Zero means use the default.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that the governance engine runs at the same time.  Further requests
+     * wait in the engine host's queue.  Zero means use the default.
+     *
+     * @param maxConcurrentServices count
+     */
+    public void setMaxConcurrentServices(int maxConcurrentServices)
+    {
+        this.maxConcurrentServices = maxConcurrentServices;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -139,6 +165,7 @@ public class EngineConfig extends AdminServicesConfigHeader
                        "engineId=" + engineId +
                        ", engineQualifiedName='" + engineQualifiedName + '\'' +
                        ", engineUserId='" + engineUserId + '\'' +
+                       ", maxConcurrentServices=" + maxConcurrentServices +
                        '}';
     }
 
@@ -163,7 +190,8 @@ public class EngineConfig extends AdminServicesConfigHeader
         EngineConfig that = (EngineConfig) objectToCompare;
         return Objects.equals(engineId, that.engineId) &&
                        Objects.equals(engineQualifiedName, that.engineQualifiedName) &&
-                       Objects.equals(engineUserId, that.engineUserId);
+                       Objects.equals(engineUserId, that.engineUserId) &&
+                       maxConcurrentServices == that.maxConcurrentServices;
     }
 
 
@@ -175,6 +203,6 @@ public class EngineConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId());
+        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId(), getMaxConcurrentServices());
     }
 }
@@ -35,6 +35,8 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
 
     
     private List<EngineServiceConfig> engineServiceConfigs = null;
+    private int                       maxQueuedServices    = 0;
+    private boolean                   useVirtualThreads    = false;
 
 
     /**
@@ -58,6 +60,8 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
         if (template != null)
         {
             engineServiceConfigs = template.getEngineServiceConfigs();
+            maxQueuedServices    = template.getMaxQueuedServices();
+            useVirtualThreads    = template.getUseVirtualThreads();
         }
     }
 
@@ -84,6 +88,54 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
     }
 
 
+    /**
+     * Return the maximum number of governance services that can be waiting to run across all the governance engines
+     * in this server.  Requests that arrive when the queue is full are rejected.  Zero means use the default.
+     *
+     * @return count
+     */
+    public int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that can be waiting to run across all the governance engines
+     * in this server.  Requests that arrive when the queue is full are rejected.  Zero means use the default.
+     *
+     * @param maxQueuedServices count
+     */
+    public void setMaxQueuedServices(int maxQueuedServices)
+    {
+        this.maxQueuedServices = maxQueuedServices;
+    }
+
+
+    /**
+     * Return whether the governance services should run on virtual threads.  This is only possible when the
+     * server runs on a version of Java that supports virtual threads; otherwise platform threads are used.
+     *
+     * @return boolean flag
+     */
+    public boolean getUseVirtualThreads()
+    {
+        return useVirtualThreads;
+    }
+
+
+    /**
+     * Set up whether the governance services should run on virtual threads.  This is only possible when the
+     * server runs on a version of Java that supports virtual threads; otherwise platform threads are used.
+     *
+     * @param useVirtualThreads boolean flag
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads)
+    {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -94,6 +146,8 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
     {
         return "EngineHostServicesConfig{" +
                        "engineServiceConfigs=" + engineServiceConfigs +
+                       ", maxQueuedServices=" + maxQueuedServices +
+                       ", useVirtualThreads=" + useVirtualThreads +
                        ", OMAGServerPlatformRootURL='" + getOMAGServerPlatformRootURL() + '\'' +
                        ", OMAGServerName='" + getOMAGServerName() + '\'' +
                        '}';
@@ -122,7 +176,9 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
             return false;
         }
         EngineHostServicesConfig that = (EngineHostServicesConfig) objectToCompare;
-        return Objects.equals(engineServiceConfigs, that.engineServiceConfigs);
+        return maxQueuedServices == that.maxQueuedServices &&
+                       useVirtualThreads == that.useVirtualThreads &&
+                       Objects.equals(engineServiceConfigs, that.engineServiceConfigs);
     }
 
 
@@ -134,6 +190,6 @@ public class EngineHostServicesConfig extends OMAGServerClientConfig
     @Override
     public int hashCode()
     {
-        return Objects.hash(super.hashCode(), engineServiceConfigs);
+        return Objects.hash(super.hashCode(), engineServiceConfigs, maxQueuedServices, useVirtualThreads);
     }
 }
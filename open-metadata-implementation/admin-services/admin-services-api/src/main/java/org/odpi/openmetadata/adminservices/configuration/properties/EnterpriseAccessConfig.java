@@ -35,6 +35,10 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *     <li>
  *         remoteEnterpriseOMRSTopicConnection - connection for the remote (external) enterprise OMRS Topic connector.
  *     </li>
+ *     <li>
+ *         federationTimeout - time in milliseconds that a federated request waits for the repositories in the
+ *                             connected cohorts to respond.  Null means use the default.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -49,6 +53,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private Connection                       enterpriseOMRSTopicConnection       = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion  = null;
     private Connection                       remoteEnterpriseOMRSTopicConnection = null;
+    private Long                             federationTimeout                   = null;
 
 
     /**
@@ -76,6 +81,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
             this.enterpriseOMRSTopicConnection = template.getEnterpriseOMRSTopicConnection();
             this.enterpriseOMRSTopicProtocolVersion = template.getEnterpriseOMRSTopicProtocolVersion();
             this.remoteEnterpriseOMRSTopicConnection = template.getRemoteEnterpriseOMRSTopicConnection();
+            this.federationTimeout = template.getFederationTimeout();
         }
     }
 
@@ -219,6 +225,30 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the time in milliseconds that a federated request waits for the repositories in the connected
+     * cohorts to respond.  Null means use the default.
+     *
+     * @return timeout in milliseconds
+     */
+    public Long getFederationTimeout()
+    {
+        return federationTimeout;
+    }
+
+
+    /**
+     * Set up the time in milliseconds that a federated request waits for the repositories in the connected
+     * cohorts to respond.  Null means use the default.
+     *
+     * @param federationTimeout timeout in milliseconds
+     */
+    public void setFederationTimeout(Long federationTimeout)
+    {
+        this.federationTimeout = federationTimeout;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -233,6 +263,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
                        ", enterpriseOMRSTopicConnection=" + enterpriseOMRSTopicConnection +
                        ", enterpriseOMRSTopicProtocolVersion=" + enterpriseOMRSTopicProtocolVersion +
                        ", remoteEnterpriseOMRSTopicConnection=" + remoteEnterpriseOMRSTopicConnection +
+                       ", federationTimeout=" + federationTimeout +
                        '}';
     }
 
@@ -259,7 +290,8 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
                        Objects.equals(enterpriseMetadataCollectionId, that.enterpriseMetadataCollectionId) &&
                        Objects.equals(enterpriseOMRSTopicConnection, that.enterpriseOMRSTopicConnection) &&
                        enterpriseOMRSTopicProtocolVersion == that.enterpriseOMRSTopicProtocolVersion &&
-                       Objects.equals(remoteEnterpriseOMRSTopicConnection, that.remoteEnterpriseOMRSTopicConnection);
+                       Objects.equals(remoteEnterpriseOMRSTopicConnection, that.remoteEnterpriseOMRSTopicConnection) &&
+                       Objects.equals(federationTimeout, that.federationTimeout);
     }
 
 
@@ -273,6 +305,6 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     public int hashCode()
     {
         return Objects.hash(enterpriseMetadataCollectionName, enterpriseMetadataCollectionId, enterpriseOMRSTopicConnection,
-                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection);
+                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection, federationTimeout);
     }
 }
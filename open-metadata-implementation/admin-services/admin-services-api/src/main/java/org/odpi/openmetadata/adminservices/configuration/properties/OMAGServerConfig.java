@@ -104,6 +104,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     private List<AccessServiceConfig>       accessServicesConfig            = null;
     private List<IntegrationServiceConfig>  integrationServicesConfig       = null;
     private List<IntegrationGroupConfig>    dynamicIntegrationGroupsConfig  = null;
+    private Integer                         maxIntegrationRefreshThreads    = null;
     private List<ViewServiceConfig>         viewServicesConfig              = null;
     private RepositoryServicesConfig        repositoryServicesConfig        = null;
     private ConformanceSuiteConfig          conformanceSuiteConfig          = null;
@@ -148,6 +149,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
             accessServicesConfig            = template.getAccessServicesConfig();
             integrationServicesConfig       = template.getIntegrationServicesConfig();
             dynamicIntegrationGroupsConfig  = template.getDynamicIntegrationGroupsConfig();
+            maxIntegrationRefreshThreads    = template.getMaxIntegrationRefreshThreads();
             engineHostServicesConfig        = template.getEngineHostServicesConfig();
             viewServicesConfig              = template.getViewServicesConfig();
             repositoryServicesConfig        = template.getRepositoryServicesConfig();
@@ -495,6 +497,29 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of integration connectors that are refreshed at the same time.  Used in an integration daemon.
+     * Null means the integration daemon's default (10) is used.
+     *
+     * @return number of refresh threads or null
+     */
+    public Integer getMaxIntegrationRefreshThreads()
+    {
+        return maxIntegrationRefreshThreads;
+    }
+
+
+    /**
+     * Set up the maximum number of integration connectors that are refreshed at the same time.  Used in an integration daemon.
+     *
+     * @param maxIntegrationRefreshThreads number of refresh threads or null for the default
+     */
+    public void setMaxIntegrationRefreshThreads(Integer maxIntegrationRefreshThreads)
+    {
+        this.maxIntegrationRefreshThreads = maxIntegrationRefreshThreads;
+    }
+
+
     /**
      * Return the configuration for the registered Open Metadata View Services (OMVSs).  Used in a view server.
      *
@@ -671,6 +696,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
                        ", eventBusConfig=" + eventBusConfig +
                        ", accessServicesConfig=" + accessServicesConfig +
                        ", integrationServicesConfig=" + integrationServicesConfig +
+                       ", maxIntegrationRefreshThreads=" + maxIntegrationRefreshThreads +
                        ", engineHostServicesConfig=" + engineHostServicesConfig +
                        ", viewServicesConfig=" + viewServicesConfig +
                        ", repositoryServicesConfig=" + repositoryServicesConfig +
@@ -714,6 +740,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
                        Objects.equals(getEventBusConfig(), that.getEventBusConfig()) &&
                        Objects.equals(getAccessServicesConfig(), that.getAccessServicesConfig()) &&
                        Objects.equals(getIntegrationServicesConfig(), that.getIntegrationServicesConfig()) &&
+                       Objects.equals(getMaxIntegrationRefreshThreads(), that.getMaxIntegrationRefreshThreads()) &&
                        Objects.equals(getEngineHostServicesConfig(), that.getEngineHostServicesConfig()) &&
                        Objects.equals(getViewServicesConfig(), that.getViewServicesConfig()) &&
                        Objects.equals(getRepositoryServicesConfig(), that.getRepositoryServicesConfig()) &&
@@ -735,7 +762,8 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
         return Objects.hash(getVersionId(), getLocalServerId(), getLocalServerName(), getLocalServerDescription(), getLocalServerType(), getOrganizationName(),
                             getLocalServerURL(),
                             getLocalServerUserId(), getLocalServerPassword(), getMaxPageSize(), getServerSecurityConnection(), getEventBusConfig(),
-                            getAccessServicesConfig(), getIntegrationServicesConfig(), getEngineHostServicesConfig(), getViewServicesConfig(),
+                            getAccessServicesConfig(), getIntegrationServicesConfig(), getMaxIntegrationRefreshThreads(),
+                            getEngineHostServicesConfig(), getViewServicesConfig(),
                             getRepositoryServicesConfig(), getConformanceSuiteConfig(),
                             getOpenLineageServerConfig(),
                             getDataEngineProxyConfig(), getAuditTrail());
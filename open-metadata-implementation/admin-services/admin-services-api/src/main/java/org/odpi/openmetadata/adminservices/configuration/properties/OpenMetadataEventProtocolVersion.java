@@ -12,15 +12,17 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
 
 /**
- * OpenMetadataEventProtocolVersion provides the identifier for the version number of the event payload.  There is
- * only one version at the moment which is why it looks a little sad.
+ * OpenMetadataEventProtocolVersion provides the identifier for the version number of the event payload.
+ * V1_BINARY sends the version 1 payload in a compact binary encoding.  It should only be selected for a cohort
+ * once all of its members are running a level of Egeria that can decode it.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown=true)
 public enum OpenMetadataEventProtocolVersion implements Serializable
 {
-    V1 (1, "V1", "Version 1");
+    V1        (1, "V1", "Version 1"),
+    V1_BINARY (2, "V1_BINARY", "Version 1 in a compact binary encoding");
 
     private static final long     serialVersionUID = 1L;
 
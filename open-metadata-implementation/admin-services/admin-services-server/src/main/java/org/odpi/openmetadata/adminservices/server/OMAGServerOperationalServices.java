@@ -1119,7 +1119,8 @@ public class OMAGServerOperationalServices
                                                                configuration.getLocalServerId(),
                                                                configuration.getLocalServerUserId(),
                                                                configuration.getLocalServerPassword(),
-                                                               configuration.getMaxPageSize());
+                                                               configuration.getMaxPageSize(),
+                                                               configuration.getMaxIntegrationRefreshThreads());
 
             instance.setOperationalIntegrationDaemon(integrationDaemonOperationalServices);
             List<String> integrationServices = integrationDaemonOperationalServices.initialize(configuration.getIntegrationServicesConfig(),
@@ -21,6 +21,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRegexMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.ClassificationErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 import org.slf4j.Logger;
@@ -9382,7 +9383,7 @@ public class OpenMetadataAPIGenericHandler<B>
                         if (pdCat == PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)
                         {
                             String currentValue = (String) ppv.getPrimitiveValue();
-                            if (currentValue != null && currentValue.matches(regExedSearchCriteria))
+                            if (currentValue != null && OMRSRegexMatcher.matches(currentValue, regExedSearchCriteria))
                             {
                                 isMatch = true;
                             }
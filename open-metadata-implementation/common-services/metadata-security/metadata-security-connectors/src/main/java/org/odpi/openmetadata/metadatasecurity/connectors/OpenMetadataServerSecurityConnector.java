@@ -22,6 +22,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -1322,6 +1323,44 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * Each instance is tested with validateUserForEntityRead and those that it returns null for are removed.
+     * This method is public so that subclasses that implement OpenMetadataRepositorySecurity inherit it as the
+     * implementation of the interface method.  Override it when the decisions for a list can be made more
+     * efficiently together.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return entities to return (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    public List<EntityDetail>  validateUserForEntityListRead(String             userId,
+                                                             String             metadataCollectionName,
+                                                             List<EntityDetail> instances) throws UserNotAuthorizedException
+    {
+        if (instances == null)
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (EntityDetail instance : instances)
+        {
+            EntityDetail result = this.validateUserForEntityRead(userId, metadataCollectionName, instance);
+
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+
+        return results;
+    }
+
+
     /**
      * Tests for whether a specific user should have read access to a specific instance within a repository.
      *
@@ -1697,6 +1736,43 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * Each instance is tested with validateUserForRelationshipRead and those that it returns null for are removed.
+     * This method is public so that subclasses that implement OpenMetadataRepositorySecurity inherit it as the
+     * implementation of the interface method.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return relationships to return (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    public List<Relationship> validateUserForRelationshipListRead(String             userId,
+                                                                  String             metadataCollectionName,
+                                                                  List<Relationship> instances) throws UserNotAuthorizedException
+    {
+        if (instances == null)
+        {
+            return null;
+        }
+
+        List<Relationship> results = new ArrayList<>();
+
+        for (Relationship instance : instances)
+        {
+            Relationship result = this.validateUserForRelationshipRead(userId, metadataCollectionName, instance);
+
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+
+        return results;
+    }
+
+
     /**
      * Tests for whether a specific user should have the right to update an instance within a repository.
      *
@@ -12,6 +12,14 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
  */
 public abstract class OpenMetadataServerSecurityProvider extends ConnectorProviderBase
 {
+    /**
+     * Number of seconds that the server's security verifier remembers the decisions made by the connector about
+     * which instances a user may read.  A decision is also forgotten as soon as the instance changes.  The default
+     * is 30 and 0 turns off the caching of decisions.
+     */
+    public static final String decisionCacheTTLProperty = "decisionCacheTTL";
+
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * Security Connector implementation.
@@ -12,12 +12,14 @@ import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode
 
 
 /**
- * OpenMetadataPlatformSecurityVerifier provides the plug-in point for the open metadata platform connector
+ * OpenMetadataPlatformSecurityVerifier provides the plug-in point for the open metadata platform connector.
+ * Changing the connector is synchronized; the validation methods read the current connector without taking the
+ * lock since they are called on the request path.
  */
 public class OpenMetadataPlatformSecurityVerifier
 {
-    private static Connection                            platformSecurityConnection = null;
-    private static OpenMetadataPlatformSecurityConnector platformSecurityConnector  = null;
+    private static          Connection                            platformSecurityConnection = null;
+    private static volatile OpenMetadataPlatformSecurityConnector platformSecurityConnector  = null;
 
     /**
      * Override the default location of the configuration documents.
@@ -50,10 +52,11 @@ public class OpenMetadataPlatformSecurityVerifier
             ConnectorBroker connectorBroker = new ConnectorBroker();
             Connector       newConnector    = connectorBroker.getConnector(connection);
 
-            platformSecurityConnector = (OpenMetadataPlatformSecurityConnector)newConnector;
+            OpenMetadataPlatformSecurityConnector newPlatformSecurityConnector = (OpenMetadataPlatformSecurityConnector)newConnector;
 
-            platformSecurityConnector.setServerPlatformURL(serverPlatformURL);
-            platformSecurityConnector.start();
+            newPlatformSecurityConnector.setServerPlatformURL(serverPlatformURL);
+            newPlatformSecurityConnector.start();
+            platformSecurityConnector  = newPlatformSecurityConnector;
             platformSecurityConnection = connection;
         }
         catch (Exception error)
@@ -122,11 +125,13 @@ public class OpenMetadataPlatformSecurityVerifier
      *
      * @throws UserNotAuthorizedException the user is not authorized to access this platform
      */
-    public static synchronized void  validateUserForNewServer(String   userId) throws UserNotAuthorizedException
+    public static void  validateUserForNewServer(String   userId) throws UserNotAuthorizedException
     {
-        if (platformSecurityConnector != null)
+        OpenMetadataPlatformSecurityConnector currentConnector = platformSecurityConnector;
+
+        if (currentConnector != null)
         {
-            platformSecurityConnector.validateUserForNewServer(userId);
+            currentConnector.validateUserForNewServer(userId);
         }
     }
 
@@ -138,11 +143,13 @@ public class OpenMetadataPlatformSecurityVerifier
      *
      * @throws UserNotAuthorizedException the user is not authorized to issue operator commands to this platform
      */
-    public static synchronized void  validateUserAsOperatorForPlatform(String   userId) throws UserNotAuthorizedException
+    public static void  validateUserAsOperatorForPlatform(String   userId) throws UserNotAuthorizedException
     {
-        if (platformSecurityConnector != null)
+        OpenMetadataPlatformSecurityConnector currentConnector = platformSecurityConnector;
+
+        if (currentConnector != null)
         {
-            platformSecurityConnector.validateUserAsOperatorForPlatform(userId);
+            currentConnector.validateUserAsOperatorForPlatform(userId);
         }
     }
 
@@ -154,11 +161,13 @@ public class OpenMetadataPlatformSecurityVerifier
      *
      * @throws UserNotAuthorizedException the user is not authorized to issue diagnostic commands to this platform
      */
-    public static synchronized void  validateUserAsInvestigatorForPlatform(String   userId) throws UserNotAuthorizedException
+    public static void  validateUserAsInvestigatorForPlatform(String   userId) throws UserNotAuthorizedException
     {
-        if (platformSecurityConnector != null)
+        OpenMetadataPlatformSecurityConnector currentConnector = platformSecurityConnector;
+
+        if (currentConnector != null)
         {
-            platformSecurityConnector.validateUserAsInvestigatorForPlatform(userId);
+            currentConnector.validateUserAsInvestigatorForPlatform(userId);
         }
     }
 }
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.metadatasecurity.*;
 import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
 import org.odpi.openmetadata.metadatasecurity.properties.Asset;
@@ -37,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -127,6 +129,11 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     private OpenMetadataAssetSecurity      assetSecurityConnector      = null;
     private OpenMetadataGlossarySecurity   glossarySecurityConnector   = null;
 
+    private static final long   DEFAULT_DECISION_CACHE_TTL = 30;                                                  /* seconds */
+
+    private SecurityDecisionCache<EntityDetail> entityDecisionCache       = new SecurityDecisionCache<>(TimeUnit.SECONDS.toMillis(DEFAULT_DECISION_CACHE_TTL), EntityDetail::new);
+    private SecurityDecisionCache<Relationship> relationshipDecisionCache = new SecurityDecisionCache<>(TimeUnit.SECONDS.toMillis(DEFAULT_DECISION_CACHE_TTL), Relationship::new);
+
     private final InvalidParameterHandler invalidParameterHandler = new InvalidParameterHandler();
 
     /**
@@ -193,6 +200,11 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
             {
                 glossarySecurityConnector = (OpenMetadataGlossarySecurity)connector;
             }
+
+            long decisionCacheTTL = this.getDecisionCacheTTL(connection);
+
+            entityDecisionCache       = new SecurityDecisionCache<>(decisionCacheTTL, EntityDetail::new);
+            relationshipDecisionCache = new SecurityDecisionCache<>(decisionCacheTTL, Relationship::new);
         }
         catch (InvalidParameterException error)
         {
@@ -201,6 +213,30 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Return the time to live of the cached read decisions from the connection's configuration properties.
+     *
+     * @param connection connection from the configuration document
+     * @return time in milliseconds
+     */
+    private long getDecisionCacheTTL(org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection   connection)
+    {
+        long decisionCacheTTL = DEFAULT_DECISION_CACHE_TTL;
+
+        if ((connection != null) && (connection.getConfigurationProperties() != null))
+        {
+            Object decisionCacheTTLProperty = connection.getConfigurationProperties().get(OpenMetadataServerSecurityProvider.decisionCacheTTLProperty);
+
+            if ((decisionCacheTTLProperty instanceof Number) && (((Number)decisionCacheTTLProperty).longValue() >= 0))
+            {
+                decisionCacheTTL = ((Number)decisionCacheTTLProperty).longValue();
+            }
+        }
+
+        return TimeUnit.SECONDS.toMillis(decisionCacheTTL);
+    }
+
+
     /**
      * Return the Open Metadata Server Security Connector for the connection.
      *
@@ -2365,6 +2401,35 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * The decisions of the connector are cached so that instances that the user has recently read are not
+     * tested again.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return entities to return (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    @Override
+    public List<EntityDetail>  validateUserForEntityListRead(String             userId,
+                                                             String             metadataCollectionName,
+                                                             List<EntityDetail> instances) throws UserNotAuthorizedException
+    {
+        if (repositorySecurityConnector != null)
+        {
+            return this.validateUserForListRead(userId,
+                                                metadataCollectionName,
+                                                instances,
+                                                entityDecisionCache,
+                                                repositorySecurityConnector::validateUserForEntityListRead);
+        }
+
+        return instances;
+    }
+
+
     /**
      * Tests for whether a specific user should have read access to a specific instance within a repository.
      *
@@ -2677,6 +2742,208 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * The decisions of the connector are cached so that instances that the user has recently read are not
+     * tested again.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return relationships to return (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    @Override
+    public List<Relationship>  validateUserForRelationshipListRead(String             userId,
+                                                                   String             metadataCollectionName,
+                                                                   List<Relationship> instances) throws UserNotAuthorizedException
+    {
+        if (repositorySecurityConnector != null)
+        {
+            return this.validateUserForListRead(userId,
+                                                metadataCollectionName,
+                                                instances,
+                                                relationshipDecisionCache,
+                                                repositorySecurityConnector::validateUserForRelationshipListRead);
+        }
+
+        return instances;
+    }
+
+
+    /**
+     * ListReadValidator is the connector method that tests a list of instances.
+     *
+     * @param <T> type of instance
+     */
+    private interface ListReadValidator<T>
+    {
+        List<T> validate(String  userId,
+                         String  metadataCollectionName,
+                         List<T> instances) throws UserNotAuthorizedException;
+    }
+
+
+    /**
+     * Test a list of instances using the cached decisions where they are current and passing the other instances
+     * to the connector in a single call.  The connector's results are matched to the instances by GUID.  If the
+     * list contains an instance without a GUID, or the same GUID twice, the whole list is passed to the connector
+     * without caching.  The instances are returned in their original order.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @param decisionCache cached decisions for this type of instance
+     * @param validator connector method to test the instances
+     * @param <T> type of instance
+     * @return instances to return (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    private <T extends InstanceHeader> List<T> validateUserForListRead(String                   userId,
+                                                                            String                   metadataCollectionName,
+                                                                            List<T>                  instances,
+                                                                            SecurityDecisionCache<T> decisionCache,
+                                                                            ListReadValidator<T>     validator) throws UserNotAuthorizedException
+    {
+        if (instances == null)
+        {
+            return null;
+        }
+
+        Map<String, SecurityDecisionCache.CachedDecision<T>> cachedDecisions = new HashMap<>();
+        List<T>                                              uncachedInstances = new ArrayList<>();
+        boolean                                              cacheable = true;
+
+        for (T instance : instances)
+        {
+            if ((instance == null) || (instance.getGUID() == null) || (cachedDecisions.containsKey(instance.getGUID())))
+            {
+                cacheable = false;
+                break;
+            }
+
+            SecurityDecisionCache.CachedDecision<T> decision = decisionCache.getDecision(userId, metadataCollectionName, instance);
+
+            cachedDecisions.put(instance.getGUID(), decision);
+
+            if (decision == null)
+            {
+                uncachedInstances.add(instance);
+            }
+        }
+
+        if (! cacheable)
+        {
+            return validator.validate(userId, metadataCollectionName, this.copyInstances(instances, decisionCache));
+        }
+
+        Map<String, T> validatedInstances = new HashMap<>();
+
+        if (! uncachedInstances.isEmpty())
+        {
+            List<T> results = validator.validate(userId, metadataCollectionName, this.copyInstances(uncachedInstances, decisionCache));
+
+            if (results != null)
+            {
+                for (T result : results)
+                {
+                    if ((result != null) && (result.getGUID() != null))
+                    {
+                        validatedInstances.put(result.getGUID(), result);
+                    }
+                }
+            }
+
+            for (T instance : uncachedInstances)
+            {
+                decisionCache.saveDecision(userId, metadataCollectionName, instance, validatedInstances.get(instance.getGUID()));
+            }
+        }
+
+        List<T> visibleInstances = new ArrayList<>();
+
+        for (T instance : instances)
+        {
+            SecurityDecisionCache.CachedDecision<T> decision = cachedDecisions.get(instance.getGUID());
+            T                                       visibleInstance;
+
+            if (decision != null)
+            {
+                visibleInstance = decision.getVisibleInstance();
+            }
+            else
+            {
+                visibleInstance = validatedInstances.get(instance.getGUID());
+            }
+
+            if (visibleInstance != null)
+            {
+                visibleInstances.add(visibleInstance);
+            }
+        }
+
+        return visibleInstances;
+    }
+
+
+    /**
+     * Copy the instances before they are passed to the connector so that any changes it makes do not affect the caller.
+     *
+     * @param instances instance details
+     * @param decisionCache cache for this type of instance, which knows how to copy it
+     * @param <T> type of instance
+     * @return list of copies
+     */
+    private <T extends InstanceHeader> List<T> copyInstances(List<T>                  instances,
+                                                                  SecurityDecisionCache<T> decisionCache)
+    {
+        List<T> copies = new ArrayList<>();
+
+        for (T instance : instances)
+        {
+            copies.add(decisionCache.copy(instance));
+        }
+
+        return copies;
+    }
+
+
+    /**
+     * Remove the cached read decisions for an instance.  This is called when the server learns that the instance
+     * has changed.
+     *
+     * @param guid unique identifier of the instance
+     */
+    public void invalidateCachedDecisions(String guid)
+    {
+        entityDecisionCache.invalidate(guid);
+        relationshipDecisionCache.invalidate(guid);
+    }
+
+
+    /**
+     * Remove the cached read decisions for a user.  This is called when the user's access rights may have changed,
+     * for example because they have been added to a new group.
+     *
+     * @param userId identifier of user
+     */
+    public void invalidateCachedDecisionsForUser(String userId)
+    {
+        entityDecisionCache.invalidateUser(userId);
+        relationshipDecisionCache.invalidateUser(userId);
+    }
+
+
+    /**
+     * Remove all cached read decisions.  This is called when the security rules have changed.
+     */
+    public void clearCachedDecisions()
+    {
+        entityDecisionCache.clear();
+        relationshipDecisionCache.clear();
+    }
+
+
     /**
      * Tests for whether a specific user should have the right to update an instance within a repository.
      *
@@ -2854,6 +3121,8 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public OMRSInstanceEvent validateInboundEvent(String            cohortName,
                                                   OMRSInstanceEvent event)
     {
+        this.invalidateCachedDecisions(event);
+
         if (eventsSecurityConnector != null)
         {
             return eventsSecurityConnector.validateInboundEvent(cohortName, event);
@@ -2873,6 +3142,8 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public OMRSInstanceEvent validateOutboundEvent(String            cohortName,
                                                    OMRSInstanceEvent event)
     {
+        this.invalidateCachedDecisions(event);
+
         if (eventsSecurityConnector != null)
         {
             return eventsSecurityConnector.validateOutboundEvent(cohortName, event);
@@ -2880,4 +3151,55 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
 
         return event;
     }
+
+
+    /**
+     * Remove the cached read decisions for the instances described in an instance event since they have changed.
+     *
+     * @param event event that describes a change to one or more instances
+     */
+    private void invalidateCachedDecisions(OMRSInstanceEvent event)
+    {
+        if (event != null)
+        {
+            this.invalidateCachedDecisions(event.getInstanceGUID());
+            this.invalidateCachedDecisions(event.getOriginalInstanceGUID());
+
+            if (event.getEntity() != null)
+            {
+                this.invalidateCachedDecisions(event.getEntity().getGUID());
+            }
+            if (event.getEntityProxy() != null)
+            {
+                this.invalidateCachedDecisions(event.getEntityProxy().getGUID());
+            }
+            if (event.getRelationship() != null)
+            {
+                this.invalidateCachedDecisions(event.getRelationship().getGUID());
+            }
+            if (event.getInstanceBatch() != null)
+            {
+                if (event.getInstanceBatch().getEntities() != null)
+                {
+                    for (EntityDetail entity : event.getInstanceBatch().getEntities())
+                    {
+                        if (entity != null)
+                        {
+                            this.invalidateCachedDecisions(entity.getGUID());
+                        }
+                    }
+                }
+                if (event.getInstanceBatch().getRelationships() != null)
+                {
+                    for (Relationship relationship : event.getInstanceBatch().getRelationships())
+                    {
+                        if (relationship != null)
+                        {
+                            this.invalidateCachedDecisions(relationship.getGUID());
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,253 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * SecurityDecisionCache remembers the decisions made by the security connector about whether a user may read
+ * an instance.  A decision is keyed by the instance's GUID and the user, and it only applies to the version of
+ * the instance that it was made for, so an update to the instance means the connector is asked again.  Decisions
+ * also expire after a time to live since they may depend on information outside the instance, such as the groups
+ * that the user belongs to.
+ *
+ * Only the outcome of a successful call to the connector is cached: either the (possibly altered) instance
+ * that the user may see, or the fact that the instance is hidden from the user.
+ *
+ * @param <T> type of instance
+ */
+class SecurityDecisionCache<T extends InstanceHeader>
+{
+    static final int MAX_CACHED_INSTANCES = 10000;
+
+    private final long                                         timeToLive;
+    private final UnaryOperator<T>                             copier;
+    private final Map<String, Map<String, CachedDecision<T>>>  decisions = new ConcurrentHashMap<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param timeToLive time in milliseconds that a decision is kept (0 means no decisions are kept)
+     * @param copier function to copy an instance so that callers can not change the cached instance
+     */
+    SecurityDecisionCache(long             timeToLive,
+                          UnaryOperator<T> copier)
+    {
+        this.timeToLive = timeToLive;
+        this.copier     = copier;
+    }
+
+
+    /**
+     * Return the cached decision for the user and instance, or null if there is no current decision.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instance instance to test
+     * @return decision or null
+     */
+    CachedDecision<T> getDecision(String userId,
+                                  String metadataCollectionName,
+                                  T      instance)
+    {
+        if ((timeToLive <= 0) || (userId == null) || (instance == null) || (instance.getGUID() == null))
+        {
+            return null;
+        }
+
+        Map<String, CachedDecision<T>> userDecisions = decisions.get(instance.getGUID());
+
+        if (userDecisions != null)
+        {
+            CachedDecision<T> decision = userDecisions.get(userId);
+
+            if (decision != null)
+            {
+                if (decision.appliesTo(metadataCollectionName, instance))
+                {
+                    return decision;
+                }
+
+                userDecisions.remove(userId, decision);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save the decision made by the security connector.  When the cache is full it is emptied rather than tracking
+     * the use of each entry, which keeps the lookups free of locks.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instance instance that was tested
+     * @param visibleInstance instance returned by the connector or null if it is hidden from the user
+     */
+    void saveDecision(String userId,
+                      String metadataCollectionName,
+                      T      instance,
+                      T      visibleInstance)
+    {
+        if ((timeToLive <= 0) || (userId == null) || (instance == null) || (instance.getGUID() == null))
+        {
+            return;
+        }
+
+        if (decisions.size() >= MAX_CACHED_INSTANCES)
+        {
+            decisions.clear();
+        }
+
+        T cachedInstance = null;
+
+        if (visibleInstance != null)
+        {
+            cachedInstance = copier.apply(visibleInstance);
+        }
+
+        decisions.computeIfAbsent(instance.getGUID(), guid -> new ConcurrentHashMap<>())
+                 .put(userId, new CachedDecision<>(metadataCollectionName,
+                                                   instance.getVersion(),
+                                                   instance.getUpdateTime(),
+                                                   System.currentTimeMillis() + timeToLive,
+                                                   cachedInstance,
+                                                   copier));
+    }
+
+
+    /**
+     * Return a copy of an instance.
+     *
+     * @param instance instance to copy
+     * @return copy
+     */
+    T copy(T instance)
+    {
+        return copier.apply(instance);
+    }
+
+
+    /**
+     * Remove the decisions for an instance.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void invalidate(String guid)
+    {
+        if (guid != null)
+        {
+            decisions.remove(guid);
+        }
+    }
+
+
+    /**
+     * Remove the decisions for a user.
+     *
+     * @param userId identifier of user
+     */
+    void invalidateUser(String userId)
+    {
+        if (userId != null)
+        {
+            for (Map<String, CachedDecision<T>> userDecisions : decisions.values())
+            {
+                userDecisions.remove(userId);
+            }
+        }
+    }
+
+
+    /**
+     * Remove all decisions.
+     */
+    void clear()
+    {
+        decisions.clear();
+    }
+
+
+    /**
+     * CachedDecision is the decision for one user and one version of an instance.
+     *
+     * @param <T> type of instance
+     */
+    static class CachedDecision<T extends InstanceHeader>
+    {
+        private final String           metadataCollectionName;
+        private final long             version;
+        private final Date             updateTime;
+        private final long             expiryTime;
+        private final T                visibleInstance;
+        private final UnaryOperator<T> copier;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionName configurable name of the metadata collection
+         * @param version version of the instance that was tested
+         * @param updateTime update time of the instance that was tested
+         * @param expiryTime time in milliseconds when the decision expires
+         * @param visibleInstance instance returned by the connector or null if it is hidden from the user
+         * @param copier function to copy an instance
+         */
+        private CachedDecision(String           metadataCollectionName,
+                               long             version,
+                               Date             updateTime,
+                               long             expiryTime,
+                               T                visibleInstance,
+                               UnaryOperator<T> copier)
+        {
+            this.metadataCollectionName = metadataCollectionName;
+            this.version                = version;
+            this.updateTime             = updateTime;
+            this.expiryTime             = expiryTime;
+            this.visibleInstance        = visibleInstance;
+            this.copier                 = copier;
+        }
+
+
+        /**
+         * Does this decision apply to the instance?
+         *
+         * @param metadataCollectionName configurable name of the metadata collection
+         * @param instance instance to test
+         * @return boolean result
+         */
+        private boolean appliesTo(String metadataCollectionName,
+                                  T      instance)
+        {
+            return (System.currentTimeMillis() < expiryTime)
+                    && (version == instance.getVersion())
+                    && (Objects.equals(updateTime, instance.getUpdateTime()))
+                    && (Objects.equals(this.metadataCollectionName, metadataCollectionName));
+        }
+
+
+        /**
+         * Return a copy of the instance that the user may see, or null if the instance is hidden from the user.
+         *
+         * @return instance or null
+         */
+        T getVisibleInstance()
+        {
+            if (visibleInstance == null)
+            {
+                return null;
+            }
+
+            return copier.apply(visibleInstance);
+        }
+    }
+}
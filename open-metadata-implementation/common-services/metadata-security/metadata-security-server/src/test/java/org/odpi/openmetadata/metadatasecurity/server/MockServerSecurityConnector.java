@@ -0,0 +1,439 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OpenMetadataRepositorySecurity;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MockServerSecurityConnector lets a user read every entity and relationship except those that the test has
+ * hidden or denied.  A hidden instance is removed from the results and a denied instance causes the read to
+ * fail.  The connector counts the instances it tests so that the tests can see which decisions came from the
+ * verifier's cache.  The settings are static because the connector is created by the connector broker.
+ * All other requests are rejected, as they are in the base class.
+ */
+public class MockServerSecurityConnector extends OpenMetadataServerSecurityConnector implements OpenMetadataRepositorySecurity
+{
+    static final Set<String>   hiddenGUIDs   = ConcurrentHashMap.newKeySet();
+    static final Set<String>   deniedGUIDs   = ConcurrentHashMap.newKeySet();
+    static final AtomicInteger readCount     = new AtomicInteger(0);
+    static final AtomicInteger listReadCount = new AtomicInteger(0);
+
+
+    /**
+     * Clear the settings and counts.
+     */
+    static void reset()
+    {
+        hiddenGUIDs.clear();
+        deniedGUIDs.clear();
+        readCount.set(0);
+        listReadCount.set(0);
+    }
+
+
+    /**
+     * Return the entity unless it is hidden or denied.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instance instance details
+     * @return entity or null
+     * @throws UserNotAuthorizedException the entity is denied
+     */
+    @Override
+    public EntityDetail validateUserForEntityRead(String       userId,
+                                                  String       metadataCollectionName,
+                                                  EntityDetail instance) throws UserNotAuthorizedException
+    {
+        readCount.incrementAndGet();
+
+        if (deniedGUIDs.contains(instance.getGUID()))
+        {
+            return super.validateUserForEntityRead(userId, metadataCollectionName, instance);
+        }
+        if (hiddenGUIDs.contains(instance.getGUID()))
+        {
+            return null;
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Count the calls and test each entity in the list.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return visible entities
+     * @throws UserNotAuthorizedException an entity is denied
+     */
+    @Override
+    public List<EntityDetail> validateUserForEntityListRead(String             userId,
+                                                            String             metadataCollectionName,
+                                                            List<EntityDetail> instances) throws UserNotAuthorizedException
+    {
+        listReadCount.incrementAndGet();
+
+        return super.validateUserForEntityListRead(userId, metadataCollectionName, instances);
+    }
+
+
+    /**
+     * Return the relationship unless it is hidden or denied.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instance instance details
+     * @return relationship or null
+     * @throws UserNotAuthorizedException the relationship is denied
+     */
+    @Override
+    public Relationship validateUserForRelationshipRead(String       userId,
+                                                        String       metadataCollectionName,
+                                                        Relationship instance) throws UserNotAuthorizedException
+    {
+        readCount.incrementAndGet();
+
+        if (deniedGUIDs.contains(instance.getGUID()))
+        {
+            return super.validateUserForRelationshipRead(userId, metadataCollectionName, instance);
+        }
+        if (hiddenGUIDs.contains(instance.getGUID()))
+        {
+            return null;
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Count the calls and test each relationship in the list.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return visible relationships
+     * @throws UserNotAuthorizedException a relationship is denied
+     */
+    @Override
+    public List<Relationship> validateUserForRelationshipListRead(String             userId,
+                                                                  String             metadataCollectionName,
+                                                                  List<Relationship> instances) throws UserNotAuthorizedException
+    {
+        listReadCount.incrementAndGet();
+
+        return super.validateUserForRelationshipListRead(userId, metadataCollectionName, instances);
+    }
+
+
+    /*
+     * The remaining methods make the base class's checks public so that they implement the interface.
+     * Reference copies are always saved.
+     */
+
+
+    @Override
+    public void validateUserForTypeCreate(String  userId,
+                                          String  metadataCollectionName,
+                                          TypeDef typeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeCreate(userId, metadataCollectionName, typeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeCreate(String           userId,
+                                          String           metadataCollectionName,
+                                          AttributeTypeDef attributeTypeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeCreate(userId, metadataCollectionName, attributeTypeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeRead(String  userId,
+                                        String  metadataCollectionName,
+                                        TypeDef typeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeRead(userId, metadataCollectionName, typeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeRead(String           userId,
+                                        String           metadataCollectionName,
+                                        AttributeTypeDef attributeTypeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeRead(userId, metadataCollectionName, attributeTypeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeUpdate(String       userId,
+                                          String       metadataCollectionName,
+                                          TypeDef      typeDef,
+                                          TypeDefPatch patch) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeUpdate(userId, metadataCollectionName, typeDef, patch);
+    }
+
+
+    @Override
+    public void validateUserForTypeDelete(String  userId,
+                                          String  metadataCollectionName,
+                                          TypeDef typeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeDelete(userId, metadataCollectionName, typeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeDelete(String           userId,
+                                          String           metadataCollectionName,
+                                          AttributeTypeDef attributeTypeDef) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeDelete(userId, metadataCollectionName, attributeTypeDef);
+    }
+
+
+    @Override
+    public void validateUserForTypeReIdentify(String  userId,
+                                              String  metadataCollectionName,
+                                              TypeDef originalTypeDef,
+                                              String  newTypeDefGUID,
+                                              String  newTypeDefName) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeReIdentify(userId, metadataCollectionName, originalTypeDef, newTypeDefGUID, newTypeDefName);
+    }
+
+
+    @Override
+    public void validateUserForTypeReIdentify(String           userId,
+                                              String           metadataCollectionName,
+                                              AttributeTypeDef originalAttributeTypeDef,
+                                              String           newTypeDefGUID,
+                                              String           newTypeDefName) throws UserNotAuthorizedException
+    {
+        super.validateUserForTypeReIdentify(userId, metadataCollectionName, originalAttributeTypeDef, newTypeDefGUID, newTypeDefName);
+    }
+
+
+    @Override
+    public void validateUserForEntityCreate(String               userId,
+                                            String               metadataCollectionName,
+                                            String               entityTypeGUID,
+                                            InstanceProperties   initialProperties,
+                                            List<Classification> initialClassifications,
+                                            InstanceStatus       initialStatus) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityCreate(userId, metadataCollectionName, entityTypeGUID, initialProperties, initialClassifications, initialStatus);
+    }
+
+
+    @Override
+    public void validateUserForEntitySummaryRead(String        userId,
+                                                 String        metadataCollectionName,
+                                                 EntitySummary instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntitySummaryRead(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForEntityProxyRead(String      userId,
+                                               String      metadataCollectionName,
+                                               EntityProxy instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityProxyRead(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForEntityUpdate(String       userId,
+                                            String       metadataCollectionName,
+                                            EntityDetail instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityUpdate(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForEntityClassificationAdd(String             userId,
+                                                       String             metadataCollectionName,
+                                                       EntitySummary      instance,
+                                                       String             classificationName,
+                                                       InstanceProperties properties) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityClassificationAdd(userId, metadataCollectionName, instance, classificationName, properties);
+    }
+
+
+    @Override
+    public void validateUserForEntityClassificationUpdate(String             userId,
+                                                          String             metadataCollectionName,
+                                                          EntitySummary      instance,
+                                                          String             classificationName,
+                                                          InstanceProperties properties) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityClassificationUpdate(userId, metadataCollectionName, instance, classificationName, properties);
+    }
+
+
+    @Override
+    public void validateUserForEntityClassificationDelete(String        userId,
+                                                          String        metadataCollectionName,
+                                                          EntitySummary instance,
+                                                          String        classificationName) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityClassificationDelete(userId, metadataCollectionName, instance, classificationName);
+    }
+
+
+    @Override
+    public void validateUserForEntityDelete(String       userId,
+                                            String       metadataCollectionName,
+                                            EntityDetail instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityDelete(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForEntityRestore(String userId,
+                                             String metadataCollectionName,
+                                             String deletedEntityGUID) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityRestore(userId, metadataCollectionName, deletedEntityGUID);
+    }
+
+
+    @Override
+    public void validateUserForEntityReIdentification(String       userId,
+                                                      String       metadataCollectionName,
+                                                      EntityDetail instance,
+                                                      String       newGUID) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityReIdentification(userId, metadataCollectionName, instance, newGUID);
+    }
+
+
+    @Override
+    public void validateUserForEntityReTyping(String         userId,
+                                              String         metadataCollectionName,
+                                              EntityDetail   instance,
+                                              TypeDefSummary newTypeDefSummary) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityReTyping(userId, metadataCollectionName, instance, newTypeDefSummary);
+    }
+
+
+    @Override
+    public void validateUserForEntityReHoming(String       userId,
+                                              String       metadataCollectionName,
+                                              EntityDetail instance,
+                                              String       newHomeMetadataCollectionId,
+                                              String       newHomeMetadataCollectionName) throws UserNotAuthorizedException
+    {
+        super.validateUserForEntityReHoming(userId, metadataCollectionName, instance, newHomeMetadataCollectionId, newHomeMetadataCollectionName);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipCreate(String             userId,
+                                                  String             metadataCollectionName,
+                                                  String             relationshipTypeGUID,
+                                                  InstanceProperties initialProperties,
+                                                  EntitySummary      entityOneSummary,
+                                                  EntitySummary      entityTwoSummary,
+                                                  InstanceStatus     initialStatus) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipCreate(userId, metadataCollectionName, relationshipTypeGUID, initialProperties, entityOneSummary, entityTwoSummary, initialStatus);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipUpdate(String       userId,
+                                                  String       metadataCollectionName,
+                                                  Relationship instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipUpdate(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipDelete(String       userId,
+                                                  String       metadataCollectionName,
+                                                  Relationship instance) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipDelete(userId, metadataCollectionName, instance);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipRestore(String userId,
+                                                   String metadataCollectionName,
+                                                   String deletedRelationshipGUID) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipRestore(userId, metadataCollectionName, deletedRelationshipGUID);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipReIdentification(String       userId,
+                                                            String       metadataCollectionName,
+                                                            Relationship instance,
+                                                            String       newGUID) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipReIdentification(userId, metadataCollectionName, instance, newGUID);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipReTyping(String         userId,
+                                                    String         metadataCollectionName,
+                                                    Relationship   instance,
+                                                    TypeDefSummary newTypeDefSummary) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipReTyping(userId, metadataCollectionName, instance, newTypeDefSummary);
+    }
+
+
+    @Override
+    public void validateUserForRelationshipReHoming(String       userId,
+                                                    String       metadataCollectionName,
+                                                    Relationship instance,
+                                                    String       newHomeMetadataCollectionId,
+                                                    String       newHomeMetadataCollectionName) throws UserNotAuthorizedException
+    {
+        super.validateUserForRelationshipReHoming(userId, metadataCollectionName, instance, newHomeMetadataCollectionId, newHomeMetadataCollectionName);
+    }
+
+
+    @Override
+    public boolean validateEntityReferenceCopySave(EntityDetail instance)
+    {
+        return true;
+    }
+
+
+    @Override
+    public boolean validateRelationshipReferenceCopySave(Relationship instance)
+    {
+        return true;
+    }
+}
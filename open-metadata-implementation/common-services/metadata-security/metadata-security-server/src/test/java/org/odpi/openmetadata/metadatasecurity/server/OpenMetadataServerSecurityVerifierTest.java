@@ -0,0 +1,281 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that the list read methods of OpenMetadataServerSecurityVerifier remove the instances that the
+ * connector hides, pass only the instances without a current cached decision to the connector, and still
+ * fail when the connector denies access.
+ */
+public class OpenMetadataServerSecurityVerifierTest
+{
+    private static final String userId         = "testUser";
+    private static final String otherUserId    = "otherUser";
+    private static final String serverName     = "testServer";
+    private static final String collectionName = "testCollection";
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        MockServerSecurityConnector.reset();
+    }
+
+
+    /**
+     * Without a security connector the list is returned unchanged.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testNoConnector() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = new OpenMetadataServerSecurityVerifier();
+        List<EntityDetail>                 entities = this.getEntities(3);
+
+        assertSame(verifier.validateUserForEntityListRead(userId, collectionName, entities), entities);
+    }
+
+
+    /**
+     * Hidden entities are removed and the order is kept.  Repeating the request uses the cached decisions
+     * until the user, the metadata collection, or the version or update time of an entity changes.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testEntityListRead() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = this.getVerifier(null);
+        List<EntityDetail>                 entities = this.getEntities(4);
+
+        MockServerSecurityConnector.hiddenGUIDs.add("guid-1");
+
+        assertEquals(this.getGUIDs(verifier.validateUserForEntityListRead(userId, collectionName, entities)), List.of("guid-0", "guid-2", "guid-3"));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 4);
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 1);
+
+        assertEquals(this.getGUIDs(verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(4))), List.of("guid-0", "guid-2", "guid-3"));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 4);
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 1);
+
+        entities = this.getEntities(4);
+        entities.get(0).setVersion(2);
+        entities.get(1).setUpdateTime(new Date(2000));
+
+        assertEquals(this.getGUIDs(verifier.validateUserForEntityListRead(userId, collectionName, entities)), List.of("guid-0", "guid-2", "guid-3"));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 6);
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 2);
+
+        verifier.validateUserForEntityListRead(userId, "otherCollection", this.getEntities(4));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 10);
+
+        verifier.validateUserForEntityListRead(otherUserId, collectionName, this.getEntities(4));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 14);
+    }
+
+
+    /**
+     * Relationships are cached in the same way as entities.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testRelationshipListRead() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier      = this.getVerifier(null);
+        List<Relationship>                 relationships = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+        {
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("guid-" + i);
+            relationship.setVersion(1);
+            relationships.add(relationship);
+        }
+
+        MockServerSecurityConnector.hiddenGUIDs.add("guid-2");
+
+        assertEquals(verifier.validateUserForRelationshipListRead(userId, collectionName, relationships).size(), 2);
+        assertEquals(verifier.validateUserForRelationshipListRead(userId, collectionName, relationships).size(), 2);
+        assertEquals(MockServerSecurityConnector.readCount.get(), 3);
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 1);
+    }
+
+
+    /**
+     * A denial from the connector is passed to the caller and is not cached.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testDenial() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = this.getVerifier(null);
+
+        MockServerSecurityConnector.deniedGUIDs.add("guid-2");
+
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+                fail("UserNotAuthorizedException expected");
+            }
+            catch (UserNotAuthorizedException expected)
+            {
+                /*
+                 * The read is denied.
+                 */
+            }
+        }
+
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 2);
+
+        MockServerSecurityConnector.deniedGUIDs.clear();
+
+        assertEquals(verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3)).size(), 3);
+        assertEquals(MockServerSecurityConnector.listReadCount.get(), 3);
+    }
+
+
+    /**
+     * Cached decisions expire after the configured time to live, and a time to live of 0 turns off caching.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testTimeToLive() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = this.getVerifier(1);
+
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(2));
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(2));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 2);
+
+        Thread.sleep(1200);
+
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(2));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 4);
+
+        verifier = this.getVerifier(0);
+
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(2));
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(2));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 8);
+    }
+
+
+    /**
+     * Instance events and the invalidation methods remove cached decisions.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testInvalidation() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = this.getVerifier(null);
+
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 3);
+
+        verifier.validateInboundEvent("testCohort", new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, this.getEntities(1).get(0)));
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 4);
+
+        verifier.invalidateCachedDecisions("guid-1");
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 5);
+
+        verifier.invalidateCachedDecisionsForUser(userId);
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 8);
+
+        verifier.clearCachedDecisions();
+        verifier.validateUserForEntityListRead(userId, collectionName, this.getEntities(3));
+        assertEquals(MockServerSecurityConnector.readCount.get(), 11);
+    }
+
+
+    /**
+     * Return a verifier using the mock security connector.
+     *
+     * @param decisionCacheTTL time to live of cached decisions in seconds, or null for the default
+     * @return verifier
+     * @throws Exception unable to create the connector
+     */
+    private OpenMetadataServerSecurityVerifier getVerifier(Integer decisionCacheTTL) throws Exception
+    {
+        ConnectorType connectorType = new ConnectorType();
+
+        connectorType.setConnectorProviderClassName(MockServerSecurityProvider.class.getName());
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("OpenMetadataServerSecurityVerifierTest");
+        connection.setConnectorType(connectorType);
+
+        if (decisionCacheTTL != null)
+        {
+            connection.setConfigurationProperties(Map.of(OpenMetadataServerSecurityProvider.decisionCacheTTLProperty, decisionCacheTTL));
+        }
+
+        OpenMetadataServerSecurityVerifier verifier = new OpenMetadataServerSecurityVerifier();
+
+        verifier.registerSecurityValidator(userId, serverName, null, connection);
+
+        return verifier;
+    }
+
+
+    private List<EntityDetail> getEntities(int count)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID("guid-" + i);
+            entity.setVersion(1);
+            entity.setUpdateTime(new Date(1000));
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+}
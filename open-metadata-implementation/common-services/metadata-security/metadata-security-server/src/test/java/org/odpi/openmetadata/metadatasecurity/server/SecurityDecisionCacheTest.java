@@ -0,0 +1,186 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Validate that SecurityDecisionCache only returns a decision for the same user, version, update time and
+ * metadata collection as the instance it was made for, that decisions expire and can be removed, and that
+ * the cache is emptied when it is full.
+ */
+public class SecurityDecisionCacheTest
+{
+    private static final String userId         = "testUser";
+    private static final String otherUserId    = "otherUser";
+    private static final String collectionName = "testCollection";
+    private static final long   timeToLive     = 60000;
+
+
+    /**
+     * A saved decision is returned for the same user and instance, and the visible instance is a copy.
+     */
+    @Test
+    public void testCacheHit()
+    {
+        SecurityDecisionCache<EntityDetail> cache    = new SecurityDecisionCache<>(timeToLive, EntityDetail::new);
+        EntityDetail                        instance = this.getEntity("guid-1", 1, 1000);
+
+        assertNull(cache.getDecision(userId, collectionName, instance));
+
+        cache.saveDecision(userId, collectionName, instance, instance);
+
+        SecurityDecisionCache.CachedDecision<EntityDetail> decision = cache.getDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000));
+
+        assertNotNull(decision);
+        assertEquals(decision.getVisibleInstance().getGUID(), "guid-1");
+        assertNull(cache.getDecision(otherUserId, collectionName, instance));
+
+        decision.getVisibleInstance().setVersion(5);
+        instance.setVersion(6);
+
+        assertEquals(cache.getDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000)).getVisibleInstance().getVersion(), 1);
+    }
+
+
+    /**
+     * A decision that the instance is hidden is cached too.
+     */
+    @Test
+    public void testHiddenDecision()
+    {
+        SecurityDecisionCache<EntityDetail> cache    = new SecurityDecisionCache<>(timeToLive, EntityDetail::new);
+        EntityDetail                        instance = this.getEntity("guid-1", 1, 1000);
+
+        cache.saveDecision(userId, collectionName, instance, null);
+
+        SecurityDecisionCache.CachedDecision<EntityDetail> decision = cache.getDecision(userId, collectionName, instance);
+
+        assertNotNull(decision);
+        assertNull(decision.getVisibleInstance());
+    }
+
+
+    /**
+     * A decision does not apply once the instance's version, update time or metadata collection changes.
+     */
+    @Test
+    public void testInstanceChanges()
+    {
+        SecurityDecisionCache<EntityDetail> cache = new SecurityDecisionCache<>(timeToLive, EntityDetail::new);
+
+        cache.saveDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000), this.getEntity("guid-1", 1, 1000));
+        assertNull(cache.getDecision(userId, collectionName, this.getEntity("guid-1", 2, 1000)));
+
+        cache.saveDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000), this.getEntity("guid-1", 1, 1000));
+        assertNull(cache.getDecision(userId, collectionName, this.getEntity("guid-1", 1, 2000)));
+
+        cache.saveDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000), this.getEntity("guid-1", 1, 1000));
+        assertNull(cache.getDecision(userId, "otherCollection", this.getEntity("guid-1", 1, 1000)));
+
+        cache.saveDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000), this.getEntity("guid-1", 1, 1000));
+        assertNotNull(cache.getDecision(userId, collectionName, this.getEntity("guid-1", 1, 1000)));
+    }
+
+
+    /**
+     * Decisions expire after the time to live, and a time to live of 0 turns off caching.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testTimeToLive() throws Exception
+    {
+        SecurityDecisionCache<EntityDetail> cache    = new SecurityDecisionCache<>(200, EntityDetail::new);
+        EntityDetail                        instance = this.getEntity("guid-1", 1, 1000);
+
+        cache.saveDecision(userId, collectionName, instance, instance);
+        assertNotNull(cache.getDecision(userId, collectionName, instance));
+
+        Thread.sleep(300);
+
+        assertNull(cache.getDecision(userId, collectionName, instance));
+
+        SecurityDecisionCache<EntityDetail> disabledCache = new SecurityDecisionCache<>(0, EntityDetail::new);
+
+        disabledCache.saveDecision(userId, collectionName, instance, instance);
+        assertNull(disabledCache.getDecision(userId, collectionName, instance));
+    }
+
+
+    /**
+     * Decisions can be removed for an instance, for a user or all together.
+     */
+    @Test
+    public void testInvalidation()
+    {
+        SecurityDecisionCache<EntityDetail> cache  = new SecurityDecisionCache<>(timeToLive, EntityDetail::new);
+        EntityDetail                        first  = this.getEntity("guid-1", 1, 1000);
+        EntityDetail                        second = this.getEntity("guid-2", 1, 1000);
+
+        cache.saveDecision(userId, collectionName, first, first);
+        cache.saveDecision(userId, collectionName, second, second);
+        cache.saveDecision(otherUserId, collectionName, second, second);
+
+        cache.invalidate("guid-1");
+
+        assertNull(cache.getDecision(userId, collectionName, first));
+        assertNotNull(cache.getDecision(userId, collectionName, second));
+
+        cache.invalidateUser(userId);
+
+        assertNull(cache.getDecision(userId, collectionName, second));
+        assertNotNull(cache.getDecision(otherUserId, collectionName, second));
+
+        cache.clear();
+
+        assertNull(cache.getDecision(otherUserId, collectionName, second));
+    }
+
+
+    /**
+     * The cache is emptied when it is full rather than growing without limit.
+     */
+    @Test
+    public void testClearWhenFull()
+    {
+        SecurityDecisionCache<EntityDetail> cache = new SecurityDecisionCache<>(timeToLive, EntityDetail::new);
+
+        for (int i = 0; i < SecurityDecisionCache.MAX_CACHED_INSTANCES; i++)
+        {
+            EntityDetail instance = this.getEntity("guid-" + i, 1, 1000);
+
+            cache.saveDecision(userId, collectionName, instance, instance);
+        }
+
+        assertNotNull(cache.getDecision(userId, collectionName, this.getEntity("guid-0", 1, 1000)));
+
+        EntityDetail extra = this.getEntity("guid-extra", 1, 1000);
+
+        cache.saveDecision(userId, collectionName, extra, extra);
+
+        assertNull(cache.getDecision(userId, collectionName, this.getEntity("guid-0", 1, 1000)));
+        assertNotNull(cache.getDecision(userId, collectionName, extra));
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   long   version,
+                                   long   updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setUpdateTime(new Date(updateTime));
+
+        return entity;
+    }
+}
@@ -12,19 +12,23 @@ import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityV
 import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerInstance represents an instance of a service in an OMAG Server.
  * It is also responsible for registering itself in the instance map.
+ *
+ * The security verifier and the service lookup are used by every inbound REST request, so they do not take the
+ * lock that guards the changes to the server's services and history.
  */
 class OMAGServerInstance
 {
-    private final String                             serverName;
-    private String                                   serverType;
-    private final List<OMAGServerInstanceHistory>    serverHistory      = new ArrayList<>();
-    private Map<String, OMAGServerServiceInstance>   serviceInstanceMap = new HashMap<>();
-    private Date                                     serverStartTime    = new Date();
-    private final OpenMetadataServerSecurityVerifier securityVerifier   = new OpenMetadataServerSecurityVerifier();
+    private final String                                 serverName;
+    private volatile String                              serverType;
+    private final List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
+    private final Map<String, OMAGServerServiceInstance> serviceInstanceMap = new ConcurrentHashMap<>();
+    private volatile Date                                serverStartTime    = new Date();
+    private final OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
 
 
     /**
@@ -181,7 +185,7 @@ class OMAGServerInstance
      *
      * @return connector
      */
-    synchronized OpenMetadataServerSecurityVerifier  getSecurityVerifier()
+    OpenMetadataServerSecurityVerifier  getSecurityVerifier()
     {
         return securityVerifier;
     }
@@ -215,10 +219,10 @@ class OMAGServerInstance
      * @throws UserNotAuthorizedException calling user not authorized to call the request
      * @throws PropertyServerException service is not running in this server
      */
-    synchronized OMAGServerServiceInstance getRegisteredService(String    userId,
-                                                                String    serviceName,
-                                                                String    serviceOperationName) throws UserNotAuthorizedException,
-                                                                                                       PropertyServerException
+    OMAGServerServiceInstance getRegisteredService(String    userId,
+                                                   String    serviceName,
+                                                   String    serviceOperationName) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException
     {
         try
         {
@@ -269,9 +273,11 @@ class OMAGServerInstance
 
         if (!serviceInstanceMap.isEmpty())
         {
-            this.serviceInstanceMap = new HashMap<>();
+            String residualServices = serviceInstanceMap.keySet().toString();
+
+            this.serviceInstanceMap.clear();
             throw new PropertyServerException(OMAGServerInstanceErrorCode.SERVICES_NOT_SHUTDOWN.getMessageDefinition(serverName,
-                                                                                                                     serviceInstanceMap.keySet().toString()),
+                                                                                                                     residualServices),
                                               this.getClass().getName(),
                                               methodName);
         }
@@ -20,18 +20,23 @@ import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityV
 import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerPlatformInstanceMap provides part of the mapping for inbound REST requests to the appropriate
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static, so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * Instances of this class call the static methods to work with the map.  The maps are concurrent so that the
+ * lookups made by every inbound REST request do not take a lock.  Only the methods that change the maps (as servers
+ * and their services start and stop) are synchronized, so that a server moves between the active and inactive
+ * maps in one step.  A server is added to its new map before it is removed from the old one, so a lookup may briefly
+ * see it in both maps but never in neither.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static final Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static final Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static final Map<String, OMAGServerInstance> activeServerInstanceMap   = new ConcurrentHashMap<>();
+    private static final Map<String, OMAGServerInstance> inActiveServerInstanceMap = new ConcurrentHashMap<>();
 
 
     /**
@@ -496,10 +501,10 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized String getServerInstanceType(String  userId,
-                                                             String  serverName,
-                                                             String  serviceOperationName) throws InvalidParameterException,
-                                                                                                  UserNotAuthorizedException
+    private static String getServerInstanceType(String  userId,
+                                                String  serverName,
+                                                String  serviceOperationName) throws InvalidParameterException,
+                                                                                     UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -531,8 +536,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -551,8 +556,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -574,12 +579,12 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                    String  serverName,
+                                                                    String  serviceName,
+                                                                    String  serviceOperationName) throws InvalidParameterException,
+                                                                                                         UserNotAuthorizedException,
+                                                                                                         PropertyServerException
     {
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
@@ -619,7 +624,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -650,7 +655,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -661,16 +666,19 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        List<String> knownServerList = new ArrayList<>(activeServerInstanceMap.keySet());
-        knownServerList.addAll(inActiveServerInstanceMap.keySet());
+        /*
+         * A server that is starting or stopping may be in both maps for a moment.
+         */
+        Set<String> knownServerSet = new LinkedHashSet<>(activeServerInstanceMap.keySet());
+        knownServerSet.addAll(inActiveServerInstanceMap.keySet());
 
-        if (knownServerList.isEmpty())
+        if (knownServerSet.isEmpty())
         {
             return null;
         }
         else
         {
-            return knownServerList;
+            return new ArrayList<>(knownServerSet);
         }
     }
 
@@ -682,8 +690,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -711,9 +719,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
@@ -748,9 +756,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
@@ -785,9 +793,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
@@ -821,9 +829,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
@@ -919,8 +927,8 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
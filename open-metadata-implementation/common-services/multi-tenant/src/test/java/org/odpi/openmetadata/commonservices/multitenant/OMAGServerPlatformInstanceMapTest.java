@@ -0,0 +1,132 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMAGServerPlatformInstanceMap resolves the service instances of running servers while other
+ * servers start and stop.
+ */
+public class OMAGServerPlatformInstanceMapTest
+{
+    private static final String userId      = "testUser";
+    private static final String serviceName = "TestService";
+
+    private final OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+
+    @Test
+    void testServerLifecycle() throws Exception
+    {
+        final String serverName = "lifecycleServer";
+        final String methodName = "testServerLifecycle";
+
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+        OMAGServerServiceInstance serviceInstance = newServiceInstance(serverName, "TestServer");
+
+        assertTrue(platformInstanceMap.isServerActive(userId, serverName));
+        assertEquals(platformInstanceMap.getServerType(userId, serverName, methodName), "TestServer");
+        assertSame(platformInstanceMap.getServiceInstance(userId, serverName, serviceName, methodName), serviceInstance);
+
+        serviceInstance.shutdown();
+        platformInstanceMap.shutdownServerInstance(userId, serverName, methodName);
+
+        assertFalse(platformInstanceMap.isServerActive(userId, serverName));
+        assertTrue(platformInstanceMap.isServerKnown(userId, serverName));
+        assertEquals(platformInstanceMap.getServerHistory(userId, serverName).size(), 1);
+        assertEquals(platformInstanceMap.getKnownServerList(userId).stream().filter(serverName::equals).count(), 1);
+    }
+
+
+    @Test
+    void testConcurrentInstanceResolution() throws Exception
+    {
+        final String busyServerName       = "busyServer";
+        final String restartingServerName = "restartingServer";
+        final String methodName           = "testConcurrentInstanceResolution";
+        final int    threadCount          = 8;
+        final int    requestsPerThread    = 5000;
+        final int    restartCount         = 200;
+
+        platformInstanceMap.startUpServerInstance(userId, busyServerName, null, null);
+        OMAGServerServiceInstance busyServiceInstance = newServiceInstance(busyServerName, null);
+
+        platformInstanceMap.startUpServerInstance(userId, restartingServerName, null, null);
+
+        ExecutorService     executorService = Executors.newFixedThreadPool(threadCount + 1);
+        List<Future<?>>     results         = new ArrayList<>();
+
+        /*
+         * One thread keeps restarting a server while the others resolve the service instance of a running server,
+         * as the REST requests do.
+         */
+        results.add(executorService.submit(() ->
+        {
+            for (int i = 0; i < restartCount; i++)
+            {
+                platformInstanceMap.startUpServerInstance(userId, restartingServerName, null, null);
+                OMAGServerServiceInstance serviceInstance = newServiceInstance(restartingServerName, null);
+
+                serviceInstance.shutdown();
+                platformInstanceMap.shutdownServerInstance(userId, restartingServerName, methodName);
+            }
+
+            return null;
+        }));
+
+        for (int thread = 0; thread < threadCount; thread++)
+        {
+            results.add(executorService.submit(() ->
+            {
+                for (int i = 0; i < requestsPerThread; i++)
+                {
+                    assertSame(platformInstanceMap.getServiceInstance(userId, busyServerName, serviceName, methodName), busyServiceInstance);
+                    assertTrue(platformInstanceMap.isServerKnown(userId, restartingServerName));
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(platformInstanceMap.isServerActive(userId, busyServerName));
+        assertFalse(platformInstanceMap.isServerActive(userId, restartingServerName));
+        assertEquals(platformInstanceMap.getServerHistory(userId, restartingServerName).size(), restartCount);
+    }
+
+
+    /**
+     * Create a service instance, which registers itself with the platform.
+     *
+     * @param serverName name of the server
+     * @param serverType type of the server or null
+     * @return new service instance
+     */
+    private OMAGServerServiceInstance newServiceInstance(String serverName,
+                                                         String serverType)
+    {
+        return new OMAGServerServiceInstance(serverName, serverType, serviceName, 100)
+        {
+        };
+    }
+}
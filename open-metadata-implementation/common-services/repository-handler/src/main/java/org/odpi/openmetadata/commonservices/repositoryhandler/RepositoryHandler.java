@@ -36,6 +36,7 @@ import java.util.Set;
 public class RepositoryHandler
 {
     private static final String consolidatedDuplicateLinkName = "ConsolidatedDuplicateLink";
+    private static final String knownDuplicate                = "KnownDuplicate";
     private static final String peerDuplicateLink             = "PeerDuplicateLink";
 
     private final InvalidParameterHandler invalidParameterHandler;
@@ -2735,7 +2736,8 @@ public class RepositoryHandler
 
             if (relationships != null)
             {
-                List<EntityDetail> results = new ArrayList<>();
+                List<EntityProxy> requiredEnds = new ArrayList<>();
+                List<String>      requiredGUIDs = new ArrayList<>();
 
                 for (Relationship relationship : relationships)
                 {
@@ -2743,22 +2745,59 @@ public class RepositoryHandler
                     {
                         EntityProxy requiredEnd = getOtherEnd(startingEntityGUID, startingEntityTypeName, relationship, attachmentEntityEnd, methodName);
 
-                        EntityDetail entity = this.getEntityByGUID(userId,
-                                                                   requiredEnd.getGUID(),
-                                                                   guidParameterName,
-                                                                   requiredEnd.getType().getTypeDefName(),
-                                                                   forLineage,
-                                                                   forDuplicateProcessing,
-                                                                   effectiveTime,
-                                                                   methodName);
+                        requiredEnds.add(requiredEnd);
 
-                        if (entity != null)
+                        if (! requiredGUIDs.contains(requiredEnd.getGUID()))
                         {
-                            results.add(entity);
+                            requiredGUIDs.add(requiredEnd.getGUID());
                         }
                     }
                 }
 
+                /*
+                 * The entities at the other ends are retrieved in one request.  An entity that is missing from the
+                 * bulk results, or that is not suitable for the caller, is retrieved on its own so that the caller
+                 * receives the same error as before.
+                 */
+                Map<String, EntityDetail> retrievedEntities = this.getEntitiesByGUIDs(userId, requiredGUIDs, methodName);
+                List<EntityDetail>        results           = new ArrayList<>();
+
+                for (EntityProxy requiredEnd : requiredEnds)
+                {
+                    String       requiredTypeName = requiredEnd.getType().getTypeDefName();
+                    EntityDetail entity           = retrievedEntities.get(requiredEnd.getGUID());
+
+                    if (entity != null)
+                    {
+                        errorHandler.validateInstanceType(entity, requiredTypeName, methodName, localMethodName);
+
+                        entity = this.validateRetrievedEntity(userId,
+                                                              entity,
+                                                              requiredTypeName,
+                                                              forLineage,
+                                                              forDuplicateProcessing,
+                                                              effectiveTime,
+                                                              methodName);
+                    }
+
+                    if (entity == null)
+                    {
+                        entity = this.getEntityByGUID(userId,
+                                                      requiredEnd.getGUID(),
+                                                      guidParameterName,
+                                                      requiredTypeName,
+                                                      forLineage,
+                                                      forDuplicateProcessing,
+                                                      effectiveTime,
+                                                      methodName);
+                    }
+
+                    if (entity != null)
+                    {
+                        results.add(entity);
+                    }
+                }
+
                 return this.validateEntities(userId,
                                              results,
                                              null,
@@ -2781,6 +2820,85 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Retrieve a list of entities in a single request to the repositories.
+     *
+     * @param userId calling user
+     * @param guids unique identifiers of the entities
+     * @param methodName calling method
+     * @return map from unique identifier to the retrieved entity - entities that are not found are missing from the map
+     * @throws UserNotAuthorizedException security access problem
+     * @throws PropertyServerException problem accessing the property server
+     */
+    private Map<String, EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                         List<String> guids,
+                                                         String       methodName) throws UserNotAuthorizedException,
+                                                                                         PropertyServerException
+    {
+        final String localMethodName = "getEntitiesByGUIDs";
+
+        Map<String, EntityDetail> results = new HashMap<>();
+
+        if (guids.isEmpty())
+        {
+            return results;
+        }
+
+        try
+        {
+            List<EntityDetail> entities = metadataCollection.getEntitiesByGUIDs(userId, guids);
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if (entity != null)
+                    {
+                        results.put(entity.getGUID(), entity);
+                    }
+                }
+            }
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Exception error)
+        {
+            errorHandler.handleRepositoryError(error, methodName, localMethodName);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return whether an entity has the KnownDuplicate classification at the effective time.
+     *
+     * @param entity entity to test
+     * @param effectiveTime the time that the classification must be effective for (null for any time)
+     * @return boolean
+     */
+    private boolean isKnownDuplicate(EntityDetail entity,
+                                     Date         effectiveTime)
+    {
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                if ((classification != null) &&
+                    (knownDuplicate.equals(classification.getName())) &&
+                    (this.isCorrectEffectiveTime(classification.getProperties(), effectiveTime)))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
     /**
      * Filter out the relationships where the entity used to retrieve the relationships is at the wrong end.
      *
@@ -4414,7 +4532,11 @@ public class RepositoryHandler
 
 
     /**
-     * Count the number of relationships of a specific type attached to a starting entity.
+     * Count the number of relationships of a specific type attached to a starting entity.  The repositories
+     * count the relationships without returning them when the count does not need to be filtered: that is when
+     * there are none, or when the count is not limited by end or effective time and the starting entity is not
+     * a known duplicate.  Otherwise, or if the repositories can not count relationships, the relationships are
+     * retrieved and counted.
      *
      * @param userId  user making the request
      * @param startingEntityGUID  starting entity's GUID
@@ -4446,14 +4568,85 @@ public class RepositoryHandler
                                                                            PropertyServerException,
                                                                            UserNotAuthorizedException
     {
+        final String localMethodName = "countAttachedRelationshipsByType";
+        final String guidParameterName = "startingEntityGUID";
+        final String typeGUIDParameterName = "relationshipTypeGUID";
+        final String typeNameParameterName = "relationshipTypeName";
+
+        EntityDetail startingEntity = this.getEntityByGUID(userId,
+                                                           startingEntityGUID,
+                                                           guidParameterName,
+                                                           startingEntityTypeName,
+                                                           forLineage,
+                                                           forDuplicateProcessing,
+                                                           effectiveTime,
+                                                           methodName);
+
+        if (startingEntity == null)
+        {
+            return 0;
+        }
+
+        errorHandler.validateTypeIdentifiers(relationshipTypeGUID,
+                                             typeGUIDParameterName,
+                                             relationshipTypeName,
+                                             typeNameParameterName,
+                                             methodName,
+                                             localMethodName);
+
+        errorHandler.validateInstanceType(startingEntity, startingEntityTypeName, methodName, localMethodName);
+
+        /*
+         * The relationships of the peers of a known duplicate are included in the count, so they must be retrieved.
+         */
+        if ((forDuplicateProcessing) || (! this.isKnownDuplicate(startingEntity, effectiveTime)))
+        {
+            try
+            {
+                int count = metadataCollection.countRelationshipsForEntity(userId,
+                                                                           startingEntity.getGUID(),
+                                                                           relationshipTypeGUID,
+                                                                           null,
+                                                                           null);
+
+                /*
+                 * The filtering below only removes relationships, so a count of zero is always exact.
+                 */
+                if ((count == 0) ||
+                    ((attachmentEntityEnd == 0) && (effectiveTime == null) &&
+                     ((forDuplicateProcessing) || ((relationshipTypeName != null) &&
+                                                   (! peerDuplicateLink.equals(relationshipTypeName)) &&
+                                                   (! consolidatedDuplicateLinkName.equals(relationshipTypeName))))))
+                {
+                    return count;
+                }
+            }
+            catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
+            {
+                /*
+                 * The repositories can not count relationships so they are retrieved and counted below.
+                 */
+                log.debug("Relationship count not supported: " + error.getMessage());
+            }
+            catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
+            {
+                errorHandler.handleUnauthorizedUser(userId, methodName);
+            }
+            catch (Exception error)
+            {
+                errorHandler.handleRepositoryError(error, methodName, localMethodName);
+            }
+        }
+
         List<Relationship> relationships = this.getRelationshipsByType(userId,
-                                                                       startingEntityGUID,
+                                                                       startingEntity,
                                                                        startingEntityTypeName,
                                                                        relationshipTypeGUID,
                                                                        relationshipTypeName,
                                                                        attachmentEntityEnd,
                                                                        forLineage,
                                                                        forDuplicateProcessing,
+                                                                       null,
                                                                        0, 0,
                                                                        effectiveTime,
                                                                        methodName);
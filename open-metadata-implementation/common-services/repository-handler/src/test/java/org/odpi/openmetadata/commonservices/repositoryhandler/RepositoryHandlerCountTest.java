@@ -0,0 +1,322 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that RepositoryHandler.countAttachedRelationshipsByType uses the count from the repositories when the
+ * count does not need filtering, and retrieves and counts the relationships when it does or when the repositories
+ * can not count relationships.
+ */
+public class RepositoryHandlerCountTest
+{
+    private static final String userId               = "testUser";
+    private static final String methodName           = "RepositoryHandlerCountTest";
+    private static final String entityGUID           = "entity-guid";
+    private static final String entityTypeName       = "Referenceable";
+    private static final String relationshipTypeGUID = "relationship-type-guid";
+    private static final String relationshipTypeName = "TestRelationship";
+
+    private TestMetadataCollection metadataCollection = null;
+    private RepositoryHandler      repositoryHandler  = null;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        OMRSRepositoryHelper repositoryHelper = this.getRepositoryHelper();
+
+        metadataCollection = new TestMetadataCollection(repositoryHelper);
+        repositoryHandler = new RepositoryHandler(null,
+                                                  repositoryHelper,
+                                                  new RepositoryErrorHandler(repositoryHelper, "TestService", "TestServer"),
+                                                  metadataCollection,
+                                                  100);
+
+        metadataCollection.relationships.add(this.getRelationship("relationship-1", entityGUID, "other-1"));
+        metadataCollection.relationships.add(this.getRelationship("relationship-2", entityGUID, "other-2"));
+        metadataCollection.relationships.add(this.getRelationship("relationship-3", "other-3", entityGUID));
+    }
+
+
+    /**
+     * An unfiltered count comes from the repositories without retrieving the relationships.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test
+    public void testUnfilteredCount() throws Exception
+    {
+        assertEquals(this.count(0, null), 3);
+        assertEquals(metadataCollection.countCalls, 1);
+        assertEquals(metadataCollection.retrieveCalls, 0);
+    }
+
+
+    /**
+     * A count of zero is exact whatever the filtering.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test
+    public void testZeroCount() throws Exception
+    {
+        metadataCollection.relationships.clear();
+
+        assertEquals(this.count(2, new Date()), 0);
+        assertEquals(metadataCollection.countCalls, 1);
+        assertEquals(metadataCollection.retrieveCalls, 0);
+    }
+
+
+    /**
+     * Counts filtered by end or effective time retrieve the relationships.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test
+    public void testFilteredCount() throws Exception
+    {
+        assertEquals(this.count(2, null), 2);
+        assertEquals(this.count(1, null), 1);
+        assertEquals(metadataCollection.retrieveCalls, 2);
+
+        InstanceProperties expired = new InstanceProperties();
+
+        expired.setEffectiveToTime(new Date(System.currentTimeMillis() - 60000));
+        metadataCollection.relationships.get(0).setProperties(expired);
+
+        assertEquals(this.count(0, new Date()), 2);
+        assertEquals(metadataCollection.retrieveCalls, 3);
+    }
+
+
+    /**
+     * Repositories that can not count relationships have them retrieved and counted.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test
+    public void testCountNotSupported() throws Exception
+    {
+        metadataCollection.countSupported = false;
+
+        assertEquals(this.count(0, null), 3);
+        assertEquals(metadataCollection.retrieveCalls, 1);
+    }
+
+
+    /**
+     * A security failure from the count is returned to the caller.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test
+    public void testCountNotAuthorized() throws Exception
+    {
+        metadataCollection.countAuthorized = false;
+
+        try
+        {
+            this.count(0, null);
+            fail("UserNotAuthorizedException expected");
+        }
+        catch (UserNotAuthorizedException expected)
+        {
+            assertEquals(metadataCollection.retrieveCalls, 0);
+        }
+    }
+
+
+    private int count(int  attachmentEntityEnd,
+                      Date effectiveTime) throws Exception
+    {
+        return repositoryHandler.countAttachedRelationshipsByType(userId,
+                                                                  entityGUID,
+                                                                  entityTypeName,
+                                                                  relationshipTypeGUID,
+                                                                  relationshipTypeName,
+                                                                  attachmentEntityEnd,
+                                                                  false,
+                                                                  false,
+                                                                  effectiveTime,
+                                                                  methodName);
+    }
+
+
+    /**
+     * Return a repository helper that accepts every type and describes the relationship type as a multi-link
+     * relationship.  The handler only uses it to validate and describe types.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        RelationshipDef relationshipDef = new RelationshipDef();
+
+        relationshipDef.setGUID(relationshipTypeGUID);
+        relationshipDef.setName(relationshipTypeName);
+        relationshipDef.setMultiLink(true);
+
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 if ("getTypeDefByName".equals(method.getName()))
+                                                                 {
+                                                                     return relationshipDef;
+                                                                 }
+                                                                 else if (method.getReturnType() == boolean.class)
+                                                                 {
+                                                                     return "isTypeOf".equals(method.getName());
+                                                                 }
+                                                                 else if (method.getReturnType() == int.class)
+                                                                 {
+                                                                     return 0;
+                                                                 }
+
+                                                                 return null;
+                                                             });
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         String end1GUID,
+                                         String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(new InstanceType(TypeDefCategory.RELATIONSHIP_DEF, relationshipTypeGUID, relationshipTypeName, 1L));
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setEntityOneProxy(this.getProxy(end1GUID));
+        relationship.setEntityTwoProxy(this.getProxy(end2GUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+        proxy.setType(new InstanceType(TypeDefCategory.ENTITY_DEF, "entity-type-guid", entityTypeName, 1L));
+        proxy.setStatus(InstanceStatus.ACTIVE);
+
+        return proxy;
+    }
+
+
+    /**
+     * Metadata collection that holds one entity and the relationships attached to it.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        final List<Relationship> relationships   = new ArrayList<>();
+        boolean                  countSupported  = true;
+        boolean                  countAuthorized = true;
+        int                      countCalls      = 0;
+        int                      retrieveCalls   = 0;
+
+
+        TestMetadataCollection(OMRSRepositoryHelper repositoryHelper)
+        {
+            super(null, "TestRepository", repositoryHelper, null, "test-metadata-collection-id");
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entity.setType(new InstanceType(TypeDefCategory.ENTITY_DEF, "entity-type-guid", entityTypeName, 1L));
+            entity.setStatus(InstanceStatus.ACTIVE);
+
+            return entity;
+        }
+
+
+        @Override
+        public int countRelationshipsForEntity(String               userId,
+                                               String               entityGUID,
+                                               String               relationshipTypeGUID,
+                                               List<InstanceStatus> limitResultsByStatus,
+                                               Date                 asOfTime) throws FunctionNotSupportedException,
+                                                                                     org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException
+        {
+            countCalls++;
+
+            if (! countSupported)
+            {
+                throw new FunctionNotSupportedException(OMRSErrorCode.METHOD_NOT_IMPLEMENTED.getMessageDefinition("countRelationshipsForEntity",
+                                                                                                                  this.getClass().getName(),
+                                                                                                                  repositoryName),
+                                                        this.getClass().getName(),
+                                                        "countRelationshipsForEntity");
+            }
+
+            if (! countAuthorized)
+            {
+                throw new org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException(OMRSErrorCode.NULL_USER_ID.getMessageDefinition("userId",
+                                                                                                                                                              "countRelationshipsForEntity",
+                                                                                                                                                              repositoryName),
+                                                                                                             this.getClass().getName(),
+                                                                                                             "countRelationshipsForEntity",
+                                                                                                             userId);
+            }
+
+            return relationships.size();
+        }
+
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize)
+        {
+            retrieveCalls++;
+
+            if (relationships.isEmpty())
+            {
+                return null;
+            }
+
+            return new ArrayList<>(relationships);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that RepositoryHandler.getEntitiesForRelationshipType retrieves the entities at the other ends of the
+ * relationships in a single request, and only retrieves an entity on its own when it is missing from the results.
+ */
+public class RepositoryHandlerRelatedEntitiesTest
+{
+    private static final String userId               = "testUser";
+    private static final String methodName           = "RepositoryHandlerRelatedEntitiesTest";
+    private static final String entityGUID           = "entity-guid";
+    private static final String entityTypeName       = "Referenceable";
+    private static final String relationshipTypeGUID = "relationship-type-guid";
+    private static final String relationshipTypeName = "TestRelationship";
+
+    private TestMetadataCollection metadataCollection = null;
+    private RepositoryHandler      repositoryHandler  = null;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        OMRSRepositoryHelper repositoryHelper = this.getRepositoryHelper();
+
+        metadataCollection = new TestMetadataCollection(repositoryHelper);
+        repositoryHandler = new RepositoryHandler(null,
+                                                  repositoryHelper,
+                                                  new RepositoryErrorHandler(repositoryHelper, "TestService", "TestServer"),
+                                                  metadataCollection,
+                                                  100);
+
+        metadataCollection.relationships.add(this.getRelationship("relationship-1", entityGUID, "other-1"));
+        metadataCollection.relationships.add(this.getRelationship("relationship-2", "other-2", entityGUID));
+        metadataCollection.relationships.add(this.getRelationship("relationship-3", entityGUID, "other-3"));
+        metadataCollection.relationships.add(this.getRelationship("relationship-4", entityGUID, "other-1"));
+    }
+
+
+    /**
+     * The entities at the other ends are retrieved in one request, and each entity is only requested once.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testBulkRetrieval() throws Exception
+    {
+        assertEquals(this.getGUIDs(this.getRelatedEntities()), Set.of("other-1", "other-2", "other-3"));
+        assertEquals(metadataCollection.bulkRequests.size(), 1);
+        assertEquals(new HashSet<>(metadataCollection.bulkRequests.get(0)), Set.of("other-1", "other-2", "other-3"));
+        assertEquals(metadataCollection.bulkRequests.get(0).size(), 3);
+        assertEquals(metadataCollection.singleRequests, List.of(entityGUID));
+    }
+
+
+    /**
+     * An entity that is missing from the bulk results is retrieved on its own.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testMissingEntityRetrievedAlone() throws Exception
+    {
+        metadataCollection.missingFromBulk.add("other-2");
+
+        assertEquals(this.getGUIDs(this.getRelatedEntities()), Set.of("other-1", "other-2", "other-3"));
+        assertEquals(metadataCollection.bulkRequests.size(), 1);
+        assertEquals(metadataCollection.singleRequests, List.of(entityGUID, "other-2"));
+    }
+
+
+    /**
+     * A security failure from the bulk request is returned to the caller.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testBulkNotAuthorized() throws Exception
+    {
+        metadataCollection.bulkAuthorized = false;
+
+        try
+        {
+            this.getRelatedEntities();
+            fail("UserNotAuthorizedException expected");
+        }
+        catch (UserNotAuthorizedException expected)
+        {
+            assertEquals(metadataCollection.singleRequests, List.of(entityGUID));
+        }
+    }
+
+
+    private List<EntityDetail> getRelatedEntities() throws Exception
+    {
+        return repositoryHandler.getEntitiesForRelationshipType(userId,
+                                                                entityGUID,
+                                                                entityTypeName,
+                                                                relationshipTypeGUID,
+                                                                relationshipTypeName,
+                                                                null,
+                                                                0,
+                                                                false,
+                                                                false,
+                                                                0,
+                                                                0,
+                                                                null,
+                                                                methodName);
+    }
+
+
+    private Set<String> getGUIDs(List<EntityDetail> entities)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        assertEquals(guids.size(), entities.size());
+
+        return guids;
+    }
+
+
+    /**
+     * Return a repository helper that accepts every type and describes the relationship type as a multi-link
+     * relationship.  The handler only uses it to validate and describe types.
+     *
+     * @return repository helper
+     */
+    private OMRSRepositoryHelper getRepositoryHelper()
+    {
+        RelationshipDef relationshipDef = new RelationshipDef();
+
+        relationshipDef.setGUID(relationshipTypeGUID);
+        relationshipDef.setName(relationshipTypeName);
+        relationshipDef.setMultiLink(true);
+
+        return (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                             (proxy, method, arguments) ->
+                                                             {
+                                                                 if ("getTypeDefByName".equals(method.getName()))
+                                                                 {
+                                                                     return relationshipDef;
+                                                                 }
+                                                                 else if (method.getReturnType() == boolean.class)
+                                                                 {
+                                                                     return "isTypeOf".equals(method.getName());
+                                                                 }
+                                                                 else if (method.getReturnType() == int.class)
+                                                                 {
+                                                                     return 0;
+                                                                 }
+
+                                                                 return null;
+                                                             });
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         String end1GUID,
+                                         String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(new InstanceType(TypeDefCategory.RELATIONSHIP_DEF, relationshipTypeGUID, relationshipTypeName, 1L));
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setEntityOneProxy(this.getProxy(end1GUID));
+        relationship.setEntityTwoProxy(this.getProxy(end2GUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+        proxy.setType(new InstanceType(TypeDefCategory.ENTITY_DEF, "entity-type-guid", entityTypeName, 1L));
+        proxy.setStatus(InstanceStatus.ACTIVE);
+
+        return proxy;
+    }
+
+
+    private static EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(new InstanceType(TypeDefCategory.ENTITY_DEF, "entity-type-guid", entityTypeName, 1L));
+        entity.setStatus(InstanceStatus.ACTIVE);
+
+        return entity;
+    }
+
+
+    /**
+     * Metadata collection that holds the relationships attached to one entity and records the entities
+     * requested from it.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        final List<Relationship> relationships   = new ArrayList<>();
+        final Set<String>        missingFromBulk = new HashSet<>();
+        final List<List<String>> bulkRequests    = new ArrayList<>();
+        final List<String>       singleRequests  = new ArrayList<>();
+        boolean                  bulkAuthorized  = true;
+
+
+        TestMetadataCollection(OMRSRepositoryHelper repositoryHelper)
+        {
+            super(null, "TestRepository", repositoryHelper, null, "test-metadata-collection-id");
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid)
+        {
+            singleRequests.add(guid);
+
+            return getEntity(guid);
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                     List<String> guids) throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException
+        {
+            bulkRequests.add(new ArrayList<>(guids));
+
+            if (! bulkAuthorized)
+            {
+                throw new org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException(OMRSErrorCode.NULL_USER_ID.getMessageDefinition("userId",
+                                                                                                                                                              "getEntitiesByGUIDs",
+                                                                                                                                                              repositoryName),
+                                                                                                             this.getClass().getName(),
+                                                                                                             "getEntitiesByGUIDs",
+                                                                                                             userId);
+            }
+
+            List<EntityDetail> results = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                if (! missingFromBulk.contains(guid))
+                {
+                    results.add(getEntity(guid));
+                }
+            }
+
+            return results;
+        }
+
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize)
+        {
+            if (relationships.isEmpty())
+            {
+                return null;
+            }
+
+            return new ArrayList<>(relationships);
+        }
+    }
+}
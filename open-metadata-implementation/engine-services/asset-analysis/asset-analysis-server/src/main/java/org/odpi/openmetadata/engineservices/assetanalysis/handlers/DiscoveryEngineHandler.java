@@ -229,8 +229,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date());
-            thread.start();
+            super.startGovernanceService(discoveryServiceHandler,
+                                         governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date(),
+                                         governanceServiceCache.getRequestParameters(requestParameters));
 
             return discoveryServiceHandler;
         }
@@ -271,8 +272,9 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date());
-        thread.start();
+        super.startGovernanceService(discoveryServiceHandler,
+                                     governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date(),
+                                     governanceServiceCache.getRequestParameters(suppliedAnalysisParameters));
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
@@ -128,6 +128,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
              * Need to combine the request parameters from the SupportedGovernanceService relationship with any from the caller.
              * The caller's request parameters take precedence.  This is done in the governanceServiceCache.
              */
+            Map<String, String> serviceRequestParameters = governanceServiceCache.getRequestParameters(requestParameters);
 
             GovernanceActionServiceHandler governanceActionServiceHandler = new GovernanceActionServiceHandler(governanceEngineProperties,
                                                                                                                governanceEngineGUID,
@@ -135,7 +136,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceActionGUID,
                                                                                                                serverClient,
                                                                                                                governanceServiceCache.getServiceRequestType(),
-                                                                                                               governanceServiceCache.getRequestParameters(requestParameters),
+                                                                                                               serviceRequestParameters,
                                                                                                                requestSourceElements,
                                                                                                                actionTargetElements,
                                                                                                                governanceServiceCache.getGovernanceServiceGUID(),
@@ -146,8 +147,9 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceEngineClient,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date());
-            thread.start();
+            super.startGovernanceService(governanceActionServiceHandler,
+                                         governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date(),
+                                         serviceRequestParameters);
 
             return governanceActionServiceHandler;
         }
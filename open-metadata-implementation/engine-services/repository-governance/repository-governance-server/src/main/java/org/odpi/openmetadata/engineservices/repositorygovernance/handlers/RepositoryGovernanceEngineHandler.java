@@ -94,16 +94,19 @@ public class RepositoryGovernanceEngineHandler extends GovernanceEngineHandler
 
         if ((governanceServiceCache != null) && (actionTargetElements != null) && (! actionTargetElements.isEmpty()))
         {
+            Map<String, String> serviceRequestParameters = governanceServiceCache.getRequestParameters(requestParameters);
+
             RepositoryGovernanceServiceHandler repositoryGovernanceServiceHandler = this.getRepositoryGovernanceServiceHandler(governanceServiceCache.getGovernanceServiceName(),
                                                                                                                                governanceServiceCache.getServiceRequestType(),
-                                                                                                                               governanceServiceCache.getRequestParameters(requestParameters),
+                                                                                                                               serviceRequestParameters,
                                                                                                                                requestSourceElements,
                                                                                                                                actionTargetElements,
                                                                                                                                governanceActionGUID,
                                                                                                                                governanceServiceCache);
 
-            Thread thread = new Thread(repositoryGovernanceServiceHandler, governanceServiceCache.getGovernanceServiceName() + new Date());
-            thread.start();
+            super.startGovernanceService(repositoryGovernanceServiceHandler,
+                                         governanceServiceCache.getGovernanceServiceName() + new Date(),
+                                         serviceRequestParameters);
 
             return repositoryGovernanceServiceHandler;
         }
@@ -311,6 +311,44 @@ public enum EngineHostServicesAuditCode implements AuditLogMessageSet
                              "Review the error messages and resolve the cause of the problem.  Once resolved, it is possible to " +
                                      "retry the governance action by updating its status back to REQUESTED status."),
 
+    GOVERNANCE_SERVICE_EXECUTOR_STARTED("ENGINE-HOST-SERVICES-0035",
+                                        OMRSAuditLogRecordSeverity.STARTUP,
+                                        "The engine host services in server {0} are running governance services on {1} threads with at most {2} governance services waiting to run",
+                                        "Each governance engine runs up to its configured number of governance services at the same time.  " +
+                                                "Further requests wait in a queue that is shared by all the governance engines in the server.  " +
+                                                "Requests that arrive when the queue is full are rejected.",
+                                        "Verify that the limits are suitable for the workload of the server."),
+
+    VIRTUAL_THREADS_UNAVAILABLE("ENGINE-HOST-SERVICES-0036",
+                                OMRSAuditLogRecordSeverity.INFO,
+                                "The engine host services in server {0} are configured to run governance services on virtual threads but they are not supported by this Java runtime",
+                                "The governance services run on platform threads.",
+                                "Run the server on a Java runtime that supports virtual threads, or remove the useVirtualThreads option from the " +
+                                        "server's configuration document."),
+
+    GOVERNANCE_SERVICE_REJECTED("ENGINE-HOST-SERVICES-0037",
+                                OMRSAuditLogRecordSeverity.ERROR,
+                                "Governance service {0} for governance engine {1} has been rejected because {2} governance services are already waiting to run",
+                                "The request is rejected and an exception is returned to the caller.  If the request came from a governance action, " +
+                                        "the governance action is not claimed by this server and keeps its APPROVED status.",
+                                "Review the load on the server.  If it is regularly this busy, increase the maxConcurrentServices of the governance " +
+                                        "engines or the maxQueuedServices of the engine host services in the server's configuration document."),
+
+    GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN("ENGINE-HOST-SERVICES-0038",
+                                         OMRSAuditLogRecordSeverity.SHUTDOWN,
+                                         "The engine host services in server {0} have stopped running governance services; {1} queued governance services were not run",
+                                         "No more governance services are started.  Running governance services are interrupted.  Governance actions " +
+                                                 "whose governance services were queued are marked as FAILED.",
+                                         "Verify that this shutdown is intended.  Governance actions that were queued can be rerun once the server has restarted."),
+
+    GOVERNANCE_ACTION_NOT_RUN("ENGINE-HOST-SERVICES-0039",
+                              OMRSAuditLogRecordSeverity.ERROR,
+                              "Governance action {0} for governance engine {1} has been marked as FAILED because its governance service {2} could not be run: {3}",
+                              "The governance action was claimed by this server but its governance service was not started.  Its status is " +
+                                      "set to FAILED so that it is not left IN_PROGRESS.",
+                              "Review the reason why the governance service could not be run.  Once resolved, it is possible to " +
+                                      "retry the governance action by updating its status back to REQUESTED status."),
+
     NO_OMAS_SERVER_URL("ENGINE-HOST-SERVICES-0150",
                        OMRSAuditLogRecordSeverity.ERROR,
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
@@ -264,6 +264,24 @@ public enum EngineHostServicesErrorCode implements ExceptionMessageSet
                        "the server to fail too.",
                "Add the qualified name for at least one engine to the engine service in this server's configuration document " +
                        "and then restart the server."),
+
+    GOVERNANCE_SERVICE_QUEUE_FULL(503, "ENGINE-HOST-SERVICES-503-001",
+                                  "Governance service {0} for governance engine {1} can not be queued because engine host server {2} already has {3} governance services waiting to run",
+                                  "The request is rejected.  The governance engines in the server are running as many governance services " +
+                                          "as they are configured to and the queue of waiting governance services is full.",
+                                  "Retry the request once the queue has drained.  If the server is regularly this busy, increase the " +
+                                          "maxConcurrentServices of the governance engines or the maxQueuedServices of the engine host services " +
+                                          "in the server's configuration document and restart the server."),
+
+    GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN(503, "ENGINE-HOST-SERVICES-503-002",
+                                         "Governance service {0} for governance engine {1} can not be run because engine host server {2} is shutting down",
+                                         "The request is rejected because no more governance services are being started.",
+                                         "Retry the request once the server has restarted."),
+
+    GOVERNANCE_SERVICE_RESERVATION_USED(500, "ENGINE-HOST-SERVICES-500-001",
+                                        "The queue reservation for governance service {0} of governance engine {1} in engine host server {2} has already been used",
+                                        "The request is rejected because each reservation can only be used to run one governance service.  This is a logic error.",
+                                        "Raise an issue with the Egeria community, including the stack trace of the exception."),
  ;
 
 
@@ -31,6 +31,13 @@ public class GovernanceEngineSummary implements Serializable
     private String                 governanceEngineDescription = null;
     private GovernanceEngineStatus governanceEngineStatus      = null;
     private List<String>           governanceRequestTypes      = null;
+    private int                    maxConcurrentServices       = 0;
+    private int                    queuedServiceCount          = 0;
+    private int                    runningServiceCount         = 0;
+    private long                   completedServiceCount       = 0;
+    private long                   rejectedServiceCount        = 0;
+    private long                   averageServiceRunTime       = 0;
+    private long                   maxServiceRunTime           = 0;
 
 
     /**
@@ -57,6 +64,13 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            maxConcurrentServices = template.getMaxConcurrentServices();
+            queuedServiceCount = template.getQueuedServiceCount();
+            runningServiceCount = template.getRunningServiceCount();
+            completedServiceCount = template.getCompletedServiceCount();
+            rejectedServiceCount = template.getRejectedServiceCount();
+            averageServiceRunTime = template.getAverageServiceRunTime();
+            maxServiceRunTime = template.getMaxServiceRunTime();
         }
     }
 
@@ -224,6 +238,160 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the maximum number of governance services that the governance engine runs at the same time.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that the governance engine runs at the same time.
+     *
+     * @param maxConcurrentServices count
+     */
+    public void setMaxConcurrentServices(int maxConcurrentServices)
+    {
+        this.maxConcurrentServices = maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the number of governance services that are waiting to run.
+     *
+     * @return count
+     */
+    public int getQueuedServiceCount()
+    {
+        return queuedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are waiting to run.
+     *
+     * @param queuedServiceCount count
+     */
+    public void setQueuedServiceCount(int queuedServiceCount)
+    {
+        this.queuedServiceCount = queuedServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return count
+     */
+    public int getRunningServiceCount()
+    {
+        return runningServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are running.
+     *
+     * @param runningServiceCount count
+     */
+    public void setRunningServiceCount(int runningServiceCount)
+    {
+        this.runningServiceCount = runningServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that have finished since the server started.
+     *
+     * @return count
+     */
+    public long getCompletedServiceCount()
+    {
+        return completedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that have finished since the server started.
+     *
+     * @param completedServiceCount count
+     */
+    public void setCompletedServiceCount(long completedServiceCount)
+    {
+        this.completedServiceCount = completedServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that were rejected because the queue was full.
+     *
+     * @return count
+     */
+    public long getRejectedServiceCount()
+    {
+        return rejectedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that were rejected because the queue was full.
+     *
+     * @param rejectedServiceCount count
+     */
+    public void setRejectedServiceCount(long rejectedServiceCount)
+    {
+        this.rejectedServiceCount = rejectedServiceCount;
+    }
+
+
+    /**
+     * Return the average time that a governance service ran for.
+     *
+     * @return milliseconds
+     */
+    public long getAverageServiceRunTime()
+    {
+        return averageServiceRunTime;
+    }
+
+
+    /**
+     * Set up the average time that a governance service ran for.
+     *
+     * @param averageServiceRunTime milliseconds
+     */
+    public void setAverageServiceRunTime(long averageServiceRunTime)
+    {
+        this.averageServiceRunTime = averageServiceRunTime;
+    }
+
+
+    /**
+     * Return the longest time that a governance service ran for.
+     *
+     * @return milliseconds
+     */
+    public long getMaxServiceRunTime()
+    {
+        return maxServiceRunTime;
+    }
+
+
+    /**
+     * Set up the longest time that a governance service ran for.
+     *
+     * @param maxServiceRunTime milliseconds
+     */
+    public void setMaxServiceRunTime(long maxServiceRunTime)
+    {
+        this.maxServiceRunTime = maxServiceRunTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +408,13 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", maxConcurrentServices=" + maxConcurrentServices +
+                       ", queuedServiceCount=" + queuedServiceCount +
+                       ", runningServiceCount=" + runningServiceCount +
+                       ", completedServiceCount=" + completedServiceCount +
+                       ", rejectedServiceCount=" + rejectedServiceCount +
+                       ", averageServiceRunTime=" + averageServiceRunTime +
+                       ", maxServiceRunTime=" + maxServiceRunTime +
                        '}';
     }
 
@@ -268,7 +443,14 @@ public class GovernanceEngineSummary implements Serializable
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
                 Objects.equals(governanceEngineDescription, that.governanceEngineDescription) &&
                 governanceEngineStatus == that.governanceEngineStatus &&
-                Objects.equals(governanceRequestTypes, that.governanceRequestTypes);
+                Objects.equals(governanceRequestTypes, that.governanceRequestTypes) &&
+                maxConcurrentServices == that.maxConcurrentServices &&
+                queuedServiceCount == that.queuedServiceCount &&
+                runningServiceCount == that.runningServiceCount &&
+                completedServiceCount == that.completedServiceCount &&
+                rejectedServiceCount == that.rejectedServiceCount &&
+                averageServiceRunTime == that.averageServiceRunTime &&
+                maxServiceRunTime == that.maxServiceRunTime;
     }
 
 
@@ -281,6 +463,8 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           maxConcurrentServices, queuedServiceCount, runningServiceCount, completedServiceCount,
+                           rejectedServiceCount, averageServiceRunTime, maxServiceRunTime);
    }
 }
@@ -52,6 +52,14 @@ public abstract class GovernanceEngineHandler
 
     private final GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
 
+    private final int                          maxConcurrentServices;     /* Initialized in constructor */
+    private volatile GovernanceServiceExecutor governanceServiceExecutor = null;
+
+    /*
+     * Place in the executor's queue reserved by executeGovernanceAction for the governance service it is starting.
+     */
+    private final ThreadLocal<GovernanceServiceExecutor.Reservation> actionReservation = new ThreadLocal<>();
+
 
     /**
      * Create a client-side object for calling a governance engine.
@@ -87,6 +95,24 @@ public abstract class GovernanceEngineHandler
         this.serverClient = serverClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+        this.maxConcurrentServices = engineConfig.getMaxConcurrentServices();
+    }
+
+
+    /**
+     * Set up the engine host's executor that runs the governance services for this governance engine.  Without an
+     * executor, each governance service runs on a new thread.
+     *
+     * @param governanceServiceExecutor shared executor for the engine host
+     */
+    public void setGovernanceServiceExecutor(GovernanceServiceExecutor governanceServiceExecutor)
+    {
+        if (governanceServiceExecutor != null)
+        {
+            governanceServiceExecutor.registerGovernanceEngine(governanceEngineName, maxConcurrentServices);
+        }
+
+        this.governanceServiceExecutor = governanceServiceExecutor;
     }
 
 
@@ -121,6 +147,12 @@ public abstract class GovernanceEngineHandler
         }
 
         mySummary.setGovernanceRequestTypes(governanceServiceLookupTable.getGovernanceRequestTypes());
+
+        if (governanceServiceExecutor != null)
+        {
+            governanceServiceExecutor.addStatistics(governanceEngineName, mySummary);
+        }
+
         mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.ASSIGNED);
 
         if (governanceEngineGUID != null)
@@ -436,7 +468,10 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Execute the requested governance action on or after the start time.
+     * Execute the requested governance action on or after the start time.  When the governance services run on the
+     * engine host's executor, a place in its queue is reserved before the governance action is claimed.  If the queue
+     * is full, the governance action is left APPROVED for another engine host (or a later request) to run.  If the
+     * governance service can not be started once the governance action is claimed, the governance action is set to FAILED.
      *
      * @param governanceActionGUID unique identifier of potential governance action to run.
      */
@@ -450,17 +485,57 @@ public abstract class GovernanceEngineHandler
 
             if (latestGovernanceActionElement.getActionStatus() == GovernanceActionStatus.APPROVED)
             {
-                serverClient.claimGovernanceAction(serverUserId, governanceActionGUID);
+                GovernanceServiceExecutor             executor               = governanceServiceExecutor;
+                GovernanceServiceExecutor.Reservation reservation            = null;
+                String                                governanceServiceName  = latestGovernanceActionElement.getRequestType();
+                GovernanceServiceCache                governanceServiceCache = this.getServiceCache(governanceServiceName);
 
+                if (governanceServiceCache != null)
+                {
+                    governanceServiceName = governanceServiceCache.getGovernanceServiceName();
+                }
 
-                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
+                if (executor != null)
+                {
+                    reservation = executor.reserve(governanceEngineName, governanceServiceName);
+                }
 
-                runGovernanceService(governanceActionGUID,
-                                     latestGovernanceActionElement.getRequestType(),
-                                     latestGovernanceActionElement.getStartTime(),
-                                     latestGovernanceActionElement.getRequestParameters(),
-                                     latestGovernanceActionElement.getRequestSourceElements(),
-                                     latestGovernanceActionElement.getActionTargetElements());
+                try
+                {
+                    serverClient.claimGovernanceAction(serverUserId, governanceActionGUID);
+
+
+                    serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
+
+                    actionReservation.set(reservation);
+
+                    try
+                    {
+                        runGovernanceService(governanceActionGUID,
+                                             latestGovernanceActionElement.getRequestType(),
+                                             latestGovernanceActionElement.getStartTime(),
+                                             latestGovernanceActionElement.getRequestParameters(),
+                                             latestGovernanceActionElement.getRequestSourceElements(),
+                                             latestGovernanceActionElement.getActionTargetElements());
+                    }
+                    catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException error)
+                    {
+                        this.failGovernanceAction(governanceActionGUID, governanceServiceName, error.getReportedErrorMessage());
+
+                        throw error;
+                    }
+                    finally
+                    {
+                        actionReservation.remove();
+                    }
+                }
+                finally
+                {
+                    if (executor != null)
+                    {
+                        executor.cancel(reservation);
+                    }
+                }
             }
         }
         catch (Exception error)
@@ -501,6 +576,96 @@ public abstract class GovernanceEngineHandler
                                                                                                                           PropertyServerException;
 
 
+    /**
+     * Start a governance service.  It runs on the engine host's executor, where it may wait for other governance
+     * services of this governance engine to finish, or on a new thread if there is no executor.  A governance service
+     * started for a governance action uses the place in the queue reserved by executeGovernanceAction.  If it is
+     * discarded from the queue because the server is shutting down, its governance action is set to FAILED.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param threadName name of the thread while the governance service runs
+     * @param requestParameters request parameters of the governance service - used for its priority
+     *
+     * @throws PropertyServerException the governance service can not be queued
+     */
+    protected void startGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                          String                   threadName,
+                                          Map<String, String>      requestParameters) throws PropertyServerException
+    {
+        final String methodName = "startGovernanceService";
+
+        GovernanceServiceExecutor             executor    = governanceServiceExecutor;
+        GovernanceServiceExecutor.Reservation reservation = actionReservation.get();
+
+        actionReservation.remove();
+
+        if (executor == null)
+        {
+            Thread thread = new Thread(governanceServiceHandler, threadName);
+            thread.start();
+        }
+        else
+        {
+            if (reservation == null)
+            {
+                reservation = executor.reserve(governanceEngineName, governanceServiceHandler.getGovernanceServiceName());
+            }
+
+            executor.submit(reservation,
+                            threadName,
+                            GovernanceServiceExecutor.getPriority(requestParameters),
+                            governanceServiceHandler,
+                            () -> this.failGovernanceAction(governanceServiceHandler.governanceActionGUID,
+                                                            governanceServiceHandler.getGovernanceServiceName(),
+                                                            new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN.getMessageDefinition(governanceServiceHandler.getGovernanceServiceName(),
+                                                                                                                                                                             governanceEngineName,
+                                                                                                                                                                             serverName),
+                                                                                        this.getClass().getName(),
+                                                                                        methodName).getReportedErrorMessage()));
+        }
+    }
+
+
+    /**
+     * Set a governance action that this server has claimed to FAILED because its governance service is not going to run.
+     * This stops the governance action from being left IN_PROGRESS.
+     *
+     * @param governanceActionGUID unique identifier of the governance action (null if the governance service was
+     *                             requested directly)
+     * @param governanceServiceName name of the governance service
+     * @param reason description of why the governance service did not run
+     */
+    private void failGovernanceAction(String governanceActionGUID,
+                                      String governanceServiceName,
+                                      String reason)
+    {
+        final String methodName = "failGovernanceAction";
+
+        if (governanceActionGUID != null)
+        {
+            try
+            {
+                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.FAILED);
+
+                auditLog.logMessage(methodName,
+                                    EngineHostServicesAuditCode.GOVERNANCE_ACTION_NOT_RUN.getMessageDefinition(governanceActionGUID,
+                                                                                                               governanceEngineName,
+                                                                                                               governanceServiceName,
+                                                                                                               reason));
+            }
+            catch (Exception error)
+            {
+                auditLog.logException(methodName,
+                                      EngineHostServicesAuditCode.ACTION_PROCESSING_ERROR.getMessageDefinition(methodName,
+                                                                                                               error.getClass().getName(),
+                                                                                                               governanceActionGUID,
+                                                                                                               error.getMessage()),
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * Pass on the watchdog event to any governance service that supports them.
      *
@@ -0,0 +1,677 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesAuditCode;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+import org.odpi.openmetadata.governanceservers.enginehostservices.properties.GovernanceEngineSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * GovernanceServiceExecutor runs the governance services for all the governance engines in an engine host server.
+ * The worker threads are shared and reused.  Each governance engine runs up to its configured number of governance
+ * services at the same time.  Further requests wait in a queue that is shared by all the governance engines and is
+ * bounded; requests that arrive when it is full are rejected.  Waiting requests are started in priority order
+ * (highest first) and in the order they arrived when the priority is the same.  The priority is taken from the
+ * governanceServicePriority request parameter.
+ *
+ * A caller that must do some work before it can hand over the governance service, such as claiming a governance
+ * action, first reserves a place in the queue.  The governance service submitted with the reservation is never
+ * rejected because the queue is full, so the work is only done when the governance service is able to run.
+ *
+ * Each governance service runs with the thread name it had when it ran on its own thread.
+ */
+public class GovernanceServiceExecutor
+{
+    /**
+     * Request parameter that sets the priority of a governance service.
+     */
+    public static final String PRIORITY_REQUEST_PARAMETER = "governanceServicePriority";
+
+    /**
+     * Number of governance services that a governance engine runs at the same time when it is not configured.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_SERVICES = 20;
+
+    /**
+     * Number of governance services that can wait to run when the engine host is not configured.
+     */
+    public static final int DEFAULT_MAX_QUEUED_SERVICES = 10000;
+
+    private final String          serverName;
+    private final int             maxQueuedServices;
+    private final AuditLog        auditLog;
+    private final ExecutorService workerPool;
+
+    private final Map<String, GovernanceEngineQueue> governanceEngineQueues = new ConcurrentHashMap<>();
+    private final AtomicInteger                      queuedServiceCount     = new AtomicInteger(0);
+    private final AtomicLong                         nextSequenceNumber     = new AtomicLong(0);
+    private volatile boolean                         isShutdown             = false;
+
+
+    /**
+     * Create the executor for an engine host server.
+     *
+     * @param serverName name of the engine host server
+     * @param maxQueuedServices maximum number of governance services that can wait to run; zero means use the default
+     * @param useVirtualThreads run the governance services on virtual threads if the Java runtime supports them
+     * @param auditLog logging destination
+     */
+    public GovernanceServiceExecutor(String   serverName,
+                                     int      maxQueuedServices,
+                                     boolean  useVirtualThreads,
+                                     AuditLog auditLog)
+    {
+        final String actionDescription = "Initialize governance service executor";
+
+        this.serverName        = serverName;
+        this.maxQueuedServices = (maxQueuedServices > 0) ? maxQueuedServices : DEFAULT_MAX_QUEUED_SERVICES;
+        this.auditLog          = auditLog;
+
+        ExecutorService virtualThreadPool = null;
+
+        if (useVirtualThreads)
+        {
+            virtualThreadPool = getVirtualThreadPool();
+
+            if ((virtualThreadPool == null) && (auditLog != null))
+            {
+                auditLog.logMessage(actionDescription, EngineHostServicesAuditCode.VIRTUAL_THREADS_UNAVAILABLE.getMessageDefinition(serverName));
+            }
+        }
+
+        if (virtualThreadPool == null)
+        {
+            this.workerPool = Executors.newCachedThreadPool();
+        }
+        else
+        {
+            this.workerPool = virtualThreadPool;
+        }
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                EngineHostServicesAuditCode.GOVERNANCE_SERVICE_EXECUTOR_STARTED.getMessageDefinition(serverName,
+                                                                                                                     (virtualThreadPool == null) ? "platform" : "virtual",
+                                                                                                                     Integer.toString(this.maxQueuedServices)));
+        }
+    }
+
+
+    /**
+     * Return an executor that starts a virtual thread for each task, or null if the Java runtime does not support
+     * virtual threads.  The method is located by name since the code is compiled for a Java release without them.
+     *
+     * @return executor or null
+     */
+    private ExecutorService getVirtualThreadPool()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (Exception | LinkageError unsupported)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Set up the queue for a governance engine.  Registering a governance engine again changes its limit.
+     *
+     * @param governanceEngineName name of the governance engine
+     * @param maxConcurrentServices maximum number of governance services that the engine runs at the same time;
+     *                              zero means use the default
+     */
+    public void registerGovernanceEngine(String governanceEngineName,
+                                         int    maxConcurrentServices)
+    {
+        int maxRunning = (maxConcurrentServices > 0) ? maxConcurrentServices : DEFAULT_MAX_CONCURRENT_SERVICES;
+
+        governanceEngineQueues.computeIfAbsent(governanceEngineName, name -> new GovernanceEngineQueue()).setMaxRunning(maxRunning);
+    }
+
+
+    /**
+     * Return the priority requested in the request parameters.  The default is zero and higher values run first.
+     *
+     * @param requestParameters request parameters for the governance service (may be null)
+     * @return priority
+     */
+    public static int getPriority(Map<String, String> requestParameters)
+    {
+        if (requestParameters != null)
+        {
+            String priority = requestParameters.get(PRIORITY_REQUEST_PARAMETER);
+
+            if (priority != null)
+            {
+                try
+                {
+                    return Integer.parseInt(priority.trim());
+                }
+                catch (NumberFormatException invalidPriority)
+                {
+                    /*
+                     * The governance service runs at the default priority.
+                     */
+                }
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Run a governance service for a governance engine.  It starts straight away if the governance engine is running
+     * fewer governance services than its limit; otherwise it is queued.
+     *
+     * @param governanceEngineName name of the governance engine
+     * @param governanceServiceName name of the governance service - used for messages
+     * @param threadName name of the thread while the governance service runs
+     * @param priority priority of the governance service when it is queued - higher values run first
+     * @param governanceService governance service to run
+     * @throws PropertyServerException the queue is full or the server is shutting down
+     */
+    public void submit(String   governanceEngineName,
+                       String   governanceServiceName,
+                       String   threadName,
+                       int      priority,
+                       Runnable governanceService) throws PropertyServerException
+    {
+        this.submit(this.reserve(governanceEngineName, governanceServiceName), threadName, priority, governanceService, null);
+    }
+
+
+    /**
+     * Reserve a place in the queue for a governance service of a governance engine.  The reservation must be passed
+     * to submit, or released with cancel if the governance service is not going to run.
+     *
+     * @param governanceEngineName name of the governance engine
+     * @param governanceServiceName name of the governance service - used for messages
+     * @return reservation
+     * @throws PropertyServerException the queue is full or the server is shutting down
+     */
+    public Reservation reserve(String governanceEngineName,
+                               String governanceServiceName) throws PropertyServerException
+    {
+        final String methodName = "reserve";
+
+        GovernanceEngineQueue governanceEngineQueue = governanceEngineQueues.computeIfAbsent(governanceEngineName,
+                                                                                              name -> new GovernanceEngineQueue());
+
+        synchronized (governanceEngineQueue)
+        {
+            this.validateNotShutdown(governanceEngineName, governanceServiceName, methodName);
+
+            if (queuedServiceCount.incrementAndGet() > maxQueuedServices)
+            {
+                queuedServiceCount.decrementAndGet();
+                governanceEngineQueue.rejectedCount.increment();
+
+                if (auditLog != null)
+                {
+                    auditLog.logMessage(methodName,
+                                        EngineHostServicesAuditCode.GOVERNANCE_SERVICE_REJECTED.getMessageDefinition(governanceServiceName,
+                                                                                                                     governanceEngineName,
+                                                                                                                     Integer.toString(maxQueuedServices)));
+                }
+
+                throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_FULL.getMessageDefinition(governanceServiceName,
+                                                                                                                                 governanceEngineName,
+                                                                                                                                 serverName,
+                                                                                                                                 Integer.toString(maxQueuedServices)),
+                                                  this.getClass().getName(),
+                                                  methodName);
+            }
+        }
+
+        return new Reservation(governanceEngineQueue, governanceEngineName, governanceServiceName);
+    }
+
+
+    /**
+     * Release a reservation that has not been used to submit a governance service.  It is ignored if it has
+     * already been used or released.
+     *
+     * @param reservation reservation from reserve
+     */
+    public void cancel(Reservation reservation)
+    {
+        if ((reservation != null) && (reservation.release()))
+        {
+            queuedServiceCount.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * Run a governance service in the place reserved for it.  It starts straight away if the governance engine is
+     * running fewer governance services than its limit; otherwise it is queued.  It is not rejected because the
+     * queue is full.
+     *
+     * @param reservation reservation from reserve
+     * @param threadName name of the thread while the governance service runs
+     * @param priority priority of the governance service when it is queued - higher values run first
+     * @param governanceService governance service to run
+     * @param discardAction called if the governance service is queued and then discarded because the server is
+     *                      shutting down (may be null)
+     * @throws PropertyServerException the reservation has already been used or the server is shutting down
+     */
+    public void submit(Reservation reservation,
+                       String      threadName,
+                       int         priority,
+                       Runnable    governanceService,
+                       Runnable    discardAction) throws PropertyServerException
+    {
+        final String methodName = "submit";
+
+        GovernanceEngineQueue governanceEngineQueue = reservation.governanceEngineQueue;
+
+        if (! reservation.release())
+        {
+            throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_RESERVATION_USED.getMessageDefinition(reservation.governanceServiceName,
+                                                                                                                                   reservation.governanceEngineName,
+                                                                                                                                   serverName),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+
+        QueuedGovernanceService queuedService = new QueuedGovernanceService(governanceEngineQueue,
+                                                                            threadName,
+                                                                            priority,
+                                                                            nextSequenceNumber.getAndIncrement(),
+                                                                            governanceService,
+                                                                            discardAction);
+
+        synchronized (governanceEngineQueue)
+        {
+            if (isShutdown)
+            {
+                queuedServiceCount.decrementAndGet();
+                this.validateNotShutdown(reservation.governanceEngineName, reservation.governanceServiceName, methodName);
+            }
+
+            if (governanceEngineQueue.runningCount < governanceEngineQueue.maxRunning)
+            {
+                queuedServiceCount.decrementAndGet();
+                governanceEngineQueue.runningCount++;
+            }
+            else
+            {
+                governanceEngineQueue.waitingServices.add(queuedService);
+                return;
+            }
+        }
+
+        try
+        {
+            workerPool.execute(queuedService);
+        }
+        catch (RejectedExecutionException error)
+        {
+            synchronized (governanceEngineQueue)
+            {
+                governanceEngineQueue.runningCount--;
+            }
+
+            throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN.getMessageDefinition(reservation.governanceServiceName,
+                                                                                                                                    reservation.governanceEngineName,
+                                                                                                                                    serverName),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              error);
+        }
+    }
+
+
+    /**
+     * Throw an exception if the executor has been shut down.
+     *
+     * @param governanceEngineName name of the governance engine
+     * @param governanceServiceName name of the governance service
+     * @param methodName calling method
+     * @throws PropertyServerException the server is shutting down
+     */
+    private void validateNotShutdown(String governanceEngineName,
+                                     String governanceServiceName,
+                                     String methodName) throws PropertyServerException
+    {
+        if (isShutdown)
+        {
+            throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN.getMessageDefinition(governanceServiceName,
+                                                                                                                                    governanceEngineName,
+                                                                                                                                    serverName),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+    }
+
+
+    /**
+     * Called when a governance service has finished.  The next waiting governance service for the same governance
+     * engine takes over its slot.
+     *
+     * @param governanceEngineQueue queue of the governance engine
+     */
+    private void serviceComplete(GovernanceEngineQueue governanceEngineQueue)
+    {
+        QueuedGovernanceService nextService;
+
+        synchronized (governanceEngineQueue)
+        {
+            nextService = governanceEngineQueue.waitingServices.poll();
+
+            if (nextService == null)
+            {
+                governanceEngineQueue.runningCount--;
+                return;
+            }
+
+            queuedServiceCount.decrementAndGet();
+        }
+
+        try
+        {
+            workerPool.execute(nextService);
+        }
+        catch (RejectedExecutionException error)
+        {
+            /*
+             * The server is shutting down so the governance service is not run.
+             */
+            synchronized (governanceEngineQueue)
+            {
+                governanceEngineQueue.runningCount--;
+            }
+
+            nextService.discard();
+        }
+    }
+
+
+    /**
+     * Return the number of governance services waiting to run across all governance engines.
+     *
+     * @return count
+     */
+    public int getQueuedServiceCount()
+    {
+        return queuedServiceCount.get();
+    }
+
+
+    /**
+     * Add the queue and run time statistics of a governance engine to its summary.
+     *
+     * @param governanceEngineName name of the governance engine
+     * @param governanceEngineSummary summary to update
+     */
+    public void addStatistics(String                  governanceEngineName,
+                              GovernanceEngineSummary governanceEngineSummary)
+    {
+        GovernanceEngineQueue governanceEngineQueue = governanceEngineQueues.get(governanceEngineName);
+
+        if ((governanceEngineQueue != null) && (governanceEngineSummary != null))
+        {
+            synchronized (governanceEngineQueue)
+            {
+                governanceEngineSummary.setMaxConcurrentServices(governanceEngineQueue.maxRunning);
+                governanceEngineSummary.setQueuedServiceCount(governanceEngineQueue.waitingServices.size());
+                governanceEngineSummary.setRunningServiceCount(governanceEngineQueue.runningCount);
+            }
+
+            long completedCount = governanceEngineQueue.completedCount.sum();
+
+            governanceEngineSummary.setCompletedServiceCount(completedCount);
+            governanceEngineSummary.setRejectedServiceCount(governanceEngineQueue.rejectedCount.sum());
+
+            if (completedCount > 0)
+            {
+                governanceEngineSummary.setAverageServiceRunTime(TimeUnit.NANOSECONDS.toMillis(governanceEngineQueue.totalRunTime.sum() / completedCount));
+            }
+
+            governanceEngineSummary.setMaxServiceRunTime(TimeUnit.NANOSECONDS.toMillis(governanceEngineQueue.maxRunTime.get()));
+        }
+    }
+
+
+    /**
+     * Stop running governance services.  Queued governance services are discarded, after calling their discard
+     * actions, and running ones are interrupted.
+     */
+    public void shutdown()
+    {
+        final String actionDescription = "Shutdown governance service executor";
+
+        List<QueuedGovernanceService> discardedServices = new ArrayList<>();
+
+        isShutdown = true;
+
+        for (GovernanceEngineQueue governanceEngineQueue : governanceEngineQueues.values())
+        {
+            synchronized (governanceEngineQueue)
+            {
+                QueuedGovernanceService discardedService = governanceEngineQueue.waitingServices.poll();
+
+                while (discardedService != null)
+                {
+                    queuedServiceCount.decrementAndGet();
+                    discardedServices.add(discardedService);
+                    discardedService = governanceEngineQueue.waitingServices.poll();
+                }
+            }
+        }
+
+        workerPool.shutdownNow();
+
+        for (QueuedGovernanceService discardedService : discardedServices)
+        {
+            discardedService.discard();
+        }
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                EngineHostServicesAuditCode.GOVERNANCE_SERVICE_EXECUTOR_SHUTDOWN.getMessageDefinition(serverName,
+                                                                                                                      Integer.toString(discardedServices.size())));
+        }
+    }
+
+
+    /**
+     * Reservation is a place in the queue for a governance service that has not yet been submitted.
+     */
+    public static class Reservation
+    {
+        private final GovernanceEngineQueue governanceEngineQueue;
+        private final String                governanceEngineName;
+        private final String                governanceServiceName;
+        private boolean                     isReleased = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param governanceEngineQueue queue of the governance engine
+         * @param governanceEngineName name of the governance engine
+         * @param governanceServiceName name of the governance service
+         */
+        private Reservation(GovernanceEngineQueue governanceEngineQueue,
+                            String                governanceEngineName,
+                            String                governanceServiceName)
+        {
+            this.governanceEngineQueue = governanceEngineQueue;
+            this.governanceEngineName  = governanceEngineName;
+            this.governanceServiceName = governanceServiceName;
+        }
+
+
+        /**
+         * Mark the reservation as used.
+         *
+         * @return true if it had not been used before
+         */
+        private synchronized boolean release()
+        {
+            if (isReleased)
+            {
+                return false;
+            }
+
+            isReleased = true;
+            return true;
+        }
+    }
+
+
+    /**
+     * GovernanceEngineQueue holds the waiting governance services and the statistics for one governance engine.
+     * The queue and counts are protected by synchronizing on the object.
+     */
+    private static class GovernanceEngineQueue
+    {
+        private final PriorityQueue<QueuedGovernanceService> waitingServices
+                = new PriorityQueue<>(Comparator.comparingInt((QueuedGovernanceService queuedService) -> - queuedService.priority)
+                                                .thenComparingLong(queuedService -> queuedService.sequenceNumber));
+
+        private int maxRunning   = DEFAULT_MAX_CONCURRENT_SERVICES;
+        private int runningCount = 0;
+
+        private final LongAdder       completedCount = new LongAdder();
+        private final LongAdder       rejectedCount  = new LongAdder();
+        private final LongAdder       totalRunTime   = new LongAdder();
+        private final LongAccumulator maxRunTime     = new LongAccumulator(Math::max, 0);
+
+
+        /**
+         * Set up the number of governance services that can run at the same time.
+         *
+         * @param maxRunning count
+         */
+        synchronized void setMaxRunning(int maxRunning)
+        {
+            this.maxRunning = maxRunning;
+        }
+
+
+        /**
+         * Record a governance service that has finished.
+         *
+         * @param runTime time the governance service ran for in nanoseconds
+         */
+        void recordCompletion(long runTime)
+        {
+            completedCount.increment();
+            totalRunTime.add(runTime);
+            maxRunTime.accumulate(runTime);
+        }
+    }
+
+
+    /**
+     * QueuedGovernanceService wraps a governance service with the thread name and ordering information it needs
+     * while it waits to run.
+     */
+    private class QueuedGovernanceService implements Runnable
+    {
+        private final GovernanceEngineQueue governanceEngineQueue;
+        private final String                threadName;
+        private final int                   priority;
+        private final long                  sequenceNumber;
+        private final Runnable              governanceService;
+        private final Runnable              discardAction;
+
+
+        /**
+         * Constructor
+         *
+         * @param governanceEngineQueue queue of the governance engine that runs the governance service
+         * @param threadName name of the thread while the governance service runs
+         * @param priority priority of the governance service
+         * @param sequenceNumber order that the governance service was submitted
+         * @param governanceService governance service to run
+         * @param discardAction called if the governance service is not run (may be null)
+         */
+        QueuedGovernanceService(GovernanceEngineQueue governanceEngineQueue,
+                                String                threadName,
+                                int                   priority,
+                                long                  sequenceNumber,
+                                Runnable              governanceService,
+                                Runnable              discardAction)
+        {
+            this.governanceEngineQueue = governanceEngineQueue;
+            this.threadName            = threadName;
+            this.priority              = priority;
+            this.sequenceNumber        = sequenceNumber;
+            this.governanceService     = governanceService;
+            this.discardAction         = discardAction;
+        }
+
+
+        /**
+         * Called when the governance service is not going to run because the server is shutting down.
+         */
+        void discard()
+        {
+            if (discardAction != null)
+            {
+                try
+                {
+                    discardAction.run();
+                }
+                catch (Exception error)
+                {
+                    /*
+                     * The remaining governance services are still discarded.
+                     */
+                }
+            }
+        }
+
+
+        /**
+         * Run the governance service under its own thread name and then hand the slot to the next waiting
+         * governance service.
+         */
+        @Override
+        public void run()
+        {
+            Thread currentThread  = Thread.currentThread();
+            String workerName     = currentThread.getName();
+            long   startTime      = System.nanoTime();
+
+            try
+            {
+                currentThread.setName(threadName);
+                governanceService.run();
+            }
+            finally
+            {
+                governanceEngineQueue.recordCompletion(System.nanoTime() - startTime);
+                currentThread.setName(workerName);
+                serviceComplete(governanceEngineQueue);
+            }
+        }
+    }
+}
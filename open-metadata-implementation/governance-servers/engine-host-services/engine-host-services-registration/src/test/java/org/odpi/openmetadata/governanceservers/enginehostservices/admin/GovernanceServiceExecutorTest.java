@@ -0,0 +1,324 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.properties.GovernanceEngineSummary;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that GovernanceServiceExecutor limits the governance services running for each governance engine,
+ * starts queued governance services in priority order, rejects them when the queue is full, honours reservations
+ * and calls the discard action of queued governance services when it shuts down.
+ */
+public class GovernanceServiceExecutorTest
+{
+    private static final String serverName = "testServer";
+
+
+    @Test
+    void testPriorityOrder() throws Exception
+    {
+        final String engineName = "priorityEngine";
+
+        GovernanceServiceExecutor executor    = new GovernanceServiceExecutor(serverName, 0, false, null);
+        CountDownLatch            blocker     = new CountDownLatch(1);
+        CountDownLatch            finished    = new CountDownLatch(4);
+        List<String>              runOrder    = Collections.synchronizedList(new ArrayList<>());
+
+        executor.registerGovernanceEngine(engineName, 1);
+
+        executor.submit(engineName, "blocker", "blockerThread", 0, () -> await(blocker));
+        executor.submit(engineName, "low", "lowThread", 1, () -> { runOrder.add("low"); finished.countDown(); });
+        executor.submit(engineName, "firstHigh", "firstHighThread", 5, () -> { runOrder.add("firstHigh"); finished.countDown(); });
+        executor.submit(engineName, "secondHigh", "secondHighThread", 5, () -> { runOrder.add("secondHigh"); finished.countDown(); });
+        executor.submit(engineName, "default", "defaultThread", 0, () -> { runOrder.add("default"); finished.countDown(); });
+
+        assertEquals(executor.getQueuedServiceCount(), 4);
+
+        blocker.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        assertEquals(runOrder, List.of("firstHigh", "secondHigh", "low", "default"));
+
+        executor.shutdown();
+    }
+
+
+    @Test
+    void testConcurrencyLimit() throws Exception
+    {
+        final String engineName     = "limitedEngine";
+        final int    maxConcurrent  = 3;
+        final int    serviceCount   = 50;
+
+        GovernanceServiceExecutor executor   = new GovernanceServiceExecutor(serverName, 0, false, null);
+        AtomicInteger             running    = new AtomicInteger(0);
+        AtomicInteger             maxRunning = new AtomicInteger(0);
+        CountDownLatch            finished   = new CountDownLatch(serviceCount);
+
+        executor.registerGovernanceEngine(engineName, maxConcurrent);
+
+        for (int i = 0; i < serviceCount; i++)
+        {
+            executor.submit(engineName, "service", "serviceThread" + i, 0, () ->
+            {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        assertEquals(maxRunning.get(), maxConcurrent);
+
+        GovernanceEngineSummary summary = new GovernanceEngineSummary();
+        waitForCompletedCount(executor, engineName, summary, serviceCount);
+
+        assertEquals(summary.getMaxConcurrentServices(), maxConcurrent);
+        assertEquals(summary.getQueuedServiceCount(), 0);
+        assertEquals(summary.getRunningServiceCount(), 0);
+        assertEquals(summary.getRejectedServiceCount(), 0);
+        assertTrue(summary.getMaxServiceRunTime() > 0);
+
+        executor.shutdown();
+    }
+
+
+    @Test
+    void testQueueFull() throws Exception
+    {
+        final String engineName = "busyEngine";
+
+        GovernanceServiceExecutor executor = new GovernanceServiceExecutor(serverName, 2, false, null);
+        CountDownLatch            blocker  = new CountDownLatch(1);
+
+        executor.registerGovernanceEngine(engineName, 1);
+
+        executor.submit(engineName, "running", "runningThread", 0, () -> await(blocker));
+        executor.submit(engineName, "firstQueued", "firstQueuedThread", 0, () -> { });
+        executor.submit(engineName, "secondQueued", "secondQueuedThread", 0, () -> { });
+
+        try
+        {
+            executor.submit(engineName, "rejected", "rejectedThread", 0, () -> { });
+            fail("Governance service should be rejected");
+        }
+        catch (PropertyServerException expected)
+        {
+            assertTrue(expected.getReportedErrorMessageId().contains("503-001"));
+        }
+
+        GovernanceEngineSummary summary = new GovernanceEngineSummary();
+        executor.addStatistics(engineName, summary);
+
+        assertEquals(summary.getQueuedServiceCount(), 2);
+        assertEquals(summary.getRunningServiceCount(), 1);
+        assertEquals(summary.getRejectedServiceCount(), 1);
+
+        blocker.countDown();
+        executor.shutdown();
+    }
+
+
+    @Test
+    void testReservation() throws Exception
+    {
+        final String engineName = "reservingEngine";
+
+        GovernanceServiceExecutor executor = new GovernanceServiceExecutor(serverName, 2, false, null);
+        CountDownLatch            blocker  = new CountDownLatch(1);
+        CountDownLatch            finished = new CountDownLatch(2);
+
+        executor.registerGovernanceEngine(engineName, 1);
+
+        executor.submit(engineName, "running", "runningThread", 0, () -> await(blocker));
+        executor.submit(engineName, "queued", "queuedThread", 0, finished::countDown);
+
+        /*
+         * The reservations fill the queue so that new requests are rejected ...
+         */
+        GovernanceServiceExecutor.Reservation usedReservation = executor.reserve(engineName, "reserved");
+
+        try
+        {
+            executor.reserve(engineName, "rejected");
+            fail("Reservation should be rejected");
+        }
+        catch (PropertyServerException expected)
+        {
+            assertTrue(expected.getReportedErrorMessageId().contains("503-001"));
+        }
+
+        /*
+         * ... but the governance service submitted with a reservation is queued.
+         */
+        executor.submit(usedReservation, "reservedThread", 0, finished::countDown, null);
+        assertEquals(executor.getQueuedServiceCount(), 2);
+
+        try
+        {
+            executor.submit(usedReservation, "reusedThread", 0, () -> { }, null);
+            fail("Reservation should only be used once");
+        }
+        catch (PropertyServerException expected)
+        {
+            assertTrue(expected.getReportedErrorMessageId().contains("500-001"));
+        }
+
+        blocker.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        /*
+         * A cancelled reservation frees its place; cancelling it again has no effect.
+         */
+        GovernanceServiceExecutor.Reservation cancelledReservation = executor.reserve(engineName, "cancelled");
+
+        assertEquals(executor.getQueuedServiceCount(), 1);
+        executor.cancel(cancelledReservation);
+        executor.cancel(cancelledReservation);
+        assertEquals(executor.getQueuedServiceCount(), 0);
+
+        executor.shutdown();
+    }
+
+
+    @Test
+    void testDiscardOnShutdown() throws Exception
+    {
+        final String engineName = "discardingEngine";
+
+        GovernanceServiceExecutor executor  = new GovernanceServiceExecutor(serverName, 0, false, null);
+        CountDownLatch            blocker   = new CountDownLatch(1);
+        List<String>              discarded = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger             runCount  = new AtomicInteger(0);
+
+        executor.registerGovernanceEngine(engineName, 1);
+
+        executor.submit(executor.reserve(engineName, "running"), "runningThread", 0, () -> await(blocker), () -> discarded.add("running"));
+        executor.submit(executor.reserve(engineName, "first"), "firstThread", 0, runCount::incrementAndGet, () -> discarded.add("first"));
+        executor.submit(executor.reserve(engineName, "second"), "secondThread", 0, runCount::incrementAndGet, () -> discarded.add("second"));
+
+        executor.shutdown();
+        blocker.countDown();
+
+        assertEquals(discarded, List.of("first", "second"));
+        assertEquals(runCount.get(), 0);
+        assertEquals(executor.getQueuedServiceCount(), 0);
+    }
+
+
+    @Test
+    void testThreadName() throws Exception
+    {
+        final String engineName = "namedEngine";
+
+        GovernanceServiceExecutor executor    = new GovernanceServiceExecutor(serverName, 0, true, null);
+        Map<String, String>       threadNames = new HashMap<>();
+        CountDownLatch            finished    = new CountDownLatch(1);
+
+        executor.registerGovernanceEngine(engineName, 0);
+
+        executor.submit(engineName, "named", "namedServiceThread", 0, () ->
+        {
+            threadNames.put("named", Thread.currentThread().getName());
+            finished.countDown();
+        });
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(threadNames.get("named"), "namedServiceThread");
+
+        executor.shutdown();
+
+        try
+        {
+            executor.submit(engineName, "late", "lateThread", 0, () -> { });
+            fail("Governance service should be rejected after shutdown");
+        }
+        catch (PropertyServerException expected)
+        {
+            assertTrue(expected.getReportedErrorMessageId().contains("503-002"));
+        }
+    }
+
+
+    @Test
+    void testPriorityRequestParameter()
+    {
+        Map<String, String> requestParameters = new HashMap<>();
+
+        assertEquals(GovernanceServiceExecutor.getPriority(null), 0);
+        assertEquals(GovernanceServiceExecutor.getPriority(requestParameters), 0);
+
+        requestParameters.put(GovernanceServiceExecutor.PRIORITY_REQUEST_PARAMETER, " 7 ");
+        assertEquals(GovernanceServiceExecutor.getPriority(requestParameters), 7);
+
+        requestParameters.put(GovernanceServiceExecutor.PRIORITY_REQUEST_PARAMETER, "urgent");
+        assertEquals(GovernanceServiceExecutor.getPriority(requestParameters), 0);
+    }
+
+
+    /**
+     * The completion of a governance service is recorded after the governance service returns, so wait for the
+     * statistics to catch up.
+     */
+    private void waitForCompletedCount(GovernanceServiceExecutor executor,
+                                       String                    engineName,
+                                       GovernanceEngineSummary   summary,
+                                       long                      completedCount) throws InterruptedException
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            executor.addStatistics(engineName, summary);
+
+            if ((summary.getCompletedServiceCount() == completedCount) && (summary.getRunningServiceCount() == 0))
+            {
+                return;
+            }
+
+            Thread.sleep(50);
+        }
+
+        assertEquals(summary.getCompletedServiceCount(), completedCount);
+    }
+
+
+    private void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private void sleep()
+    {
+        try
+        {
+            Thread.sleep(5);
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
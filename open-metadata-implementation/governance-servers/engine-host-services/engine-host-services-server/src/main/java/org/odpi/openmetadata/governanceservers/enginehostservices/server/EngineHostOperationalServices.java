@@ -20,6 +20,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.EngineServiceAdmin;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceEngineHandler;
+import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceExecutor;
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesAuditCode;
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
 import org.odpi.openmetadata.governanceservers.enginehostservices.threads.EngineConfigurationRefreshThread;
@@ -51,6 +52,7 @@ public class EngineHostOperationalServices
     private final InvalidParameterHandler invalidParameterHandler = new InvalidParameterHandler();
 
     private List<EngineServiceAdmin> engineServiceAdminList = null;
+    private GovernanceServiceExecutor governanceServiceExecutor = null;
 
     /**
      * Constructor used at server startup.
@@ -177,6 +179,23 @@ public class EngineHostOperationalServices
                                                                          serviceEngineLists,
                                                                          governanceEngineHandlers);
 
+            /*
+             * The governance services of all the governance engines run on a shared executor that limits how
+             * many run at once for each governance engine and queues the rest.
+             */
+            governanceServiceExecutor = new GovernanceServiceExecutor(localServerName,
+                                                                      configuration.getMaxQueuedServices(),
+                                                                      configuration.getUseVirtualThreads(),
+                                                                      auditLog);
+
+            for (GovernanceEngineHandler governanceEngineHandler : governanceEngineHandlers.values())
+            {
+                if (governanceEngineHandler != null)
+                {
+                    governanceEngineHandler.setGovernanceServiceExecutor(governanceServiceExecutor);
+                }
+            }
+
             /*
              * Register a listener for the Governance Engine OMAS out topic.  This call will fail if
              * the metadata server is not running so a separate thread is created to retry the registration request at
@@ -429,6 +448,10 @@ public class EngineHostOperationalServices
             }
         }
 
+        if (governanceServiceExecutor != null)
+        {
+            governanceServiceExecutor.shutdown();
+        }
 
         auditLog.logMessage(actionDescription, EngineHostServicesAuditCode.SERVER_SHUTDOWN.getMessageDefinition(localServerName));
     }
@@ -38,6 +38,13 @@ public class IntegrationConnectorReport implements Serializable
     private long                       minMinutesBetweenRefresh = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
+    private Date                       nextRefreshTime          = null;
+    private long                       refreshCount             = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       averageRefreshDuration   = 0L;
+    private long                       maxRefreshDuration       = 0L;
+    private long                       lastRefreshLateness      = 0L;
+    private long                       maxRefreshLateness       = 0L;
 
 
     /**
@@ -67,6 +74,13 @@ public class IntegrationConnectorReport implements Serializable
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
+            nextRefreshTime          = template.getNextRefreshTime();
+            refreshCount             = template.getRefreshCount();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            averageRefreshDuration   = template.getAverageRefreshDuration();
+            maxRefreshDuration       = template.getMaxRefreshDuration();
+            lastRefreshLateness      = template.getLastRefreshLateness();
+            maxRefreshLateness       = template.getMaxRefreshLateness();
         }
     }
 
@@ -298,6 +312,160 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the date/time when the integration daemon will next call refresh.  Null means no refresh is scheduled.
+     *
+     * @return timestamp
+     */
+    public Date getNextRefreshTime()
+    {
+        return nextRefreshTime;
+    }
+
+
+    /**
+     * Set up the date/time when the integration daemon will next call refresh.  Null means no refresh is scheduled.
+     *
+     * @param nextRefreshTime timestamp
+     */
+    public void setNextRefreshTime(Date nextRefreshTime)
+    {
+        this.nextRefreshTime = nextRefreshTime;
+    }
+
+
+    /**
+     * Return the number of calls to refresh that have completed.
+     *
+     * @return count
+     */
+    public long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+    /**
+     * Set up the number of calls to refresh that have completed.
+     *
+     * @param refreshCount count
+     */
+    public void setRefreshCount(long refreshCount)
+    {
+        this.refreshCount = refreshCount;
+    }
+
+
+    /**
+     * Return the time taken by the last call to refresh.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up the time taken by the last call to refresh.
+     *
+     * @param lastRefreshDuration milliseconds
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the mean time taken by the calls to refresh.
+     *
+     * @return milliseconds
+     */
+    public long getAverageRefreshDuration()
+    {
+        return averageRefreshDuration;
+    }
+
+
+    /**
+     * Set up the mean time taken by the calls to refresh.
+     *
+     * @param averageRefreshDuration milliseconds
+     */
+    public void setAverageRefreshDuration(long averageRefreshDuration)
+    {
+        this.averageRefreshDuration = averageRefreshDuration;
+    }
+
+
+    /**
+     * Return the longest time taken by a call to refresh.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration;
+    }
+
+
+    /**
+     * Set up the longest time taken by a call to refresh.
+     *
+     * @param maxRefreshDuration milliseconds
+     */
+    public void setMaxRefreshDuration(long maxRefreshDuration)
+    {
+        this.maxRefreshDuration = maxRefreshDuration;
+    }
+
+
+    /**
+     * Return how late the integration daemon was in starting the last scheduled refresh.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshLateness()
+    {
+        return lastRefreshLateness;
+    }
+
+
+    /**
+     * Set up how late the integration daemon was in starting the last scheduled refresh.
+     *
+     * @param lastRefreshLateness milliseconds
+     */
+    public void setLastRefreshLateness(long lastRefreshLateness)
+    {
+        this.lastRefreshLateness = lastRefreshLateness;
+    }
+
+
+    /**
+     * Return the most that the integration daemon has been late in starting a scheduled refresh.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRefreshLateness()
+    {
+        return maxRefreshLateness;
+    }
+
+
+    /**
+     * Set up the most that the integration daemon has been late in starting a scheduled refresh.
+     *
+     * @param maxRefreshLateness milliseconds
+     */
+    public void setMaxRefreshLateness(long maxRefreshLateness)
+    {
+        this.maxRefreshLateness = maxRefreshLateness;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -317,6 +485,13 @@ public class IntegrationConnectorReport implements Serializable
                        ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
                        ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                        ", statistics=" + statistics +
+                       ", nextRefreshTime=" + nextRefreshTime +
+                       ", refreshCount=" + refreshCount +
+                       ", lastRefreshDuration=" + lastRefreshDuration +
+                       ", averageRefreshDuration=" + averageRefreshDuration +
+                       ", maxRefreshDuration=" + maxRefreshDuration +
+                       ", lastRefreshLateness=" + lastRefreshLateness +
+                       ", maxRefreshLateness=" + maxRefreshLateness +
                        '}';
     }
 
@@ -348,7 +523,14 @@ public class IntegrationConnectorReport implements Serializable
                        Objects.equals(lastStatusChange, that.lastStatusChange) &&
                        Objects.equals(lastRefreshTime, that.lastRefreshTime) &&
                        Objects.equals(failingExceptionMessage, that.failingExceptionMessage) &&
-                       Objects.equals(statistics, that.statistics);
+                       Objects.equals(statistics, that.statistics) &&
+                       Objects.equals(nextRefreshTime, that.nextRefreshTime) &&
+                       refreshCount == that.refreshCount &&
+                       lastRefreshDuration == that.lastRefreshDuration &&
+                       averageRefreshDuration == that.averageRefreshDuration &&
+                       maxRefreshDuration == that.maxRefreshDuration &&
+                       lastRefreshLateness == that.lastRefreshLateness &&
+                       maxRefreshLateness == that.maxRefreshLateness;
     }
 
 
@@ -361,6 +543,8 @@ public class IntegrationConnectorReport implements Serializable
     public int hashCode()
     {
         return Objects.hash(connectorId, connectorName, connection, connectorInstanceId, connectorStatus, lastStatusChange,
-                            lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+                            lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics, nextRefreshTime,
+                            refreshCount, lastRefreshDuration, averageRefreshDuration, maxRefreshDuration, lastRefreshLateness,
+                            maxRefreshLateness);
     }
 }
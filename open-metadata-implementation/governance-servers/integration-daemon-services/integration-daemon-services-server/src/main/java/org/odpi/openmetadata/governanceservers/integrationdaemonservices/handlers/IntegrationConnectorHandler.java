@@ -22,6 +22,8 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads
 import java.io.Serializable;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -65,6 +67,18 @@ public class IntegrationConnectorHandler implements Serializable
     private String                              failingExceptionMessage             = null;
     private Date                                lastRefreshTime                     = null;
 
+    /*
+     * These values record the timing of the refresh calls.  They are not protected by the handler's lock so
+     * they can be read while a refresh is running.
+     */
+    private volatile Date                       nextRefreshTime                     = null;
+    private volatile long                       lastRefreshDuration                 = 0;
+    private volatile long                       lastRefreshLateness                 = 0;
+    private final LongAdder                     refreshCount                        = new LongAdder();
+    private final LongAdder                     totalRefreshDuration                = new LongAdder();
+    private final LongAccumulator               maxRefreshDuration                  = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator               maxRefreshLateness                  = new LongAccumulator(Math::max, 0);
+
 
     /**
      * Constructor creates the integration connector and manages it state.
@@ -281,6 +295,115 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the date/time when the integration daemon will next call refresh.  Null means no refresh is scheduled.
+     *
+     * @return timestamp
+     */
+    public Date getNextRefreshTime()
+    {
+        return nextRefreshTime;
+    }
+
+
+    /**
+     * Set up the date/time when the integration daemon will next call refresh.
+     *
+     * @param nextRefreshTime timestamp or null
+     */
+    public void setNextRefreshTime(Date nextRefreshTime)
+    {
+        this.nextRefreshTime = nextRefreshTime;
+    }
+
+
+    /**
+     * Record how late the integration daemon was in starting a scheduled refresh.
+     *
+     * @param lateness milliseconds after the refresh was due
+     */
+    public void recordRefreshLateness(long lateness)
+    {
+        long refreshLateness = Math.max(lateness, 0);
+
+        this.lastRefreshLateness = refreshLateness;
+        this.maxRefreshLateness.accumulate(refreshLateness);
+    }
+
+
+    /**
+     * Return the number of calls to the connector's refresh() method that have completed.
+     *
+     * @return count
+     */
+    long getRefreshCount()
+    {
+        return refreshCount.sum();
+    }
+
+
+    /**
+     * Return the time taken by the last call to the connector's refresh() method.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the mean time taken by calls to the connector's refresh() method.
+     *
+     * @return milliseconds
+     */
+    long getAverageRefreshDuration()
+    {
+        long count = refreshCount.sum();
+
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        return totalRefreshDuration.sum() / count;
+    }
+
+
+    /**
+     * Return the longest time taken by a call to the connector's refresh() method.
+     *
+     * @return milliseconds
+     */
+    long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration.get();
+    }
+
+
+    /**
+     * Return how late the integration daemon was in starting the last scheduled refresh.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshLateness()
+    {
+        return lastRefreshLateness;
+    }
+
+
+    /**
+     * Return the most that the integration daemon has been late in starting a scheduled refresh.
+     *
+     * @return milliseconds
+     */
+    long getMaxRefreshLateness()
+    {
+        return maxRefreshLateness.get();
+    }
+
+
     /**
      * Return the connector described in the connection object.
      *
@@ -552,14 +675,20 @@ public class IntegrationConnectorHandler implements Serializable
                 integrationConnector.refresh();
                 integrationContext.publishReport();
 
+                Date refreshEnd      = new Date();
+                long refreshDuration = refreshEnd.getTime() - refreshStart.getTime();
+
+                lastRefreshDuration = refreshDuration;
+                refreshCount.increment();
+                totalRefreshDuration.add(refreshDuration);
+                maxRefreshDuration.accumulate(refreshDuration);
+
                 if (auditLog != null)
                 {
-                    Date refreshEnd = new Date();
-
                     auditLog.logMessage(actionDescription,
                                         IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH_COMPLETE.getMessageDefinition(integrationConnectorName,
                                                                                                                                   integrationDaemonName,
-                                                                                                                                  Long.toString(refreshEnd.getTime() - refreshStart.getTime())));
+                                                                                                                                  Long.toString(refreshDuration)));
                 }
             }
 
@@ -180,6 +180,13 @@ public class IntegrationServiceHandler
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
+                    connectorReport.setNextRefreshTime(connectorHandler.getNextRefreshTime());
+                    connectorReport.setRefreshCount(connectorHandler.getRefreshCount());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setAverageRefreshDuration(connectorHandler.getAverageRefreshDuration());
+                    connectorReport.setMaxRefreshDuration(connectorHandler.getMaxRefreshDuration());
+                    connectorReport.setLastRefreshLateness(connectorHandler.getLastRefreshLateness());
+                    connectorReport.setMaxRefreshLateness(connectorHandler.getMaxRefreshLateness());
 
                     connectorReports.add(connectorReport);
                 }
@@ -43,6 +43,7 @@ public class IntegrationDaemonOperationalServices
     private final String                         localServerUserId;             /* Initialized in constructor */
     private final String                         localServerPassword;           /* Initialized in constructor */
     private final int                            maxPageSize;                   /* Initialized in constructor */
+    private final int                            maxRefreshThreads;             /* Initialized in constructor */
 
 
     private AuditLog                        auditLog                  = null;
@@ -66,12 +67,34 @@ public class IntegrationDaemonOperationalServices
                                                 String localServerUserId,
                                                 String localServerPassword,
                                                 int    maxPageSize)
+    {
+        this(localServerName, localServerId, localServerUserId, localServerPassword, maxPageSize, null);
+    }
+
+
+    /**
+     * Constructor used at server startup.
+     *
+     * @param localServerName name of the local server
+     * @param localServerId unique identifier for this server
+     * @param localServerUserId user id for this server to use on REST calls if processing inbound messages.
+     * @param localServerPassword user password for this server to use on REST calls if processing inbound messages.
+     * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
+     * @param maxRefreshThreads maximum number of integration connectors that are refreshed at the same time (null for the default)
+     */
+    public IntegrationDaemonOperationalServices(String  localServerName,
+                                                String  localServerId,
+                                                String  localServerUserId,
+                                                String  localServerPassword,
+                                                int     maxPageSize,
+                                                Integer maxRefreshThreads)
     {
         this.localServerName       = localServerName;
         this.localServerId         = localServerId;
         this.localServerUserId     = localServerUserId;
         this.localServerPassword   = localServerPassword;
         this.maxPageSize           = maxPageSize;
+        this.maxRefreshThreads     = (maxRefreshThreads == null) ? IntegrationDaemonThread.DEFAULT_MAX_REFRESH_THREADS : maxRefreshThreads;
     }
 
 
@@ -292,7 +315,7 @@ public class IntegrationDaemonOperationalServices
             /*
              * Create the thread that calls refresh on all the connectors.
              */
-            integrationDaemonThread = new IntegrationDaemonThread(localServerName, daemonConnectorHandlers, auditLog);
+            integrationDaemonThread = new IntegrationDaemonThread(localServerName, daemonConnectorHandlers, maxRefreshThreads, auditLog);
             integrationDaemonThread.start();
 
             /*
@@ -10,26 +10,68 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handler
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ *
+ * The thread keeps the connectors in a queue ordered by the time that their next refresh is due.  Refreshes that
+ * are due are run on a bounded pool of worker threads so a slow connector does not delay the others.  A connector
+ * is only refreshed by one worker at a time.  The next refresh of a connector is due a fixed time after the previous
+ * one was due, so the refresh times do not drift.  The lateness and duration of each refresh are recorded in the
+ * connector's handler.
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /**
+     * Default number of worker threads that refresh connectors.
+     */
+    public static final int DEFAULT_MAX_REFRESH_THREADS = 10;
+
+    /*
+     * The longest time the thread sleeps before checking for new connectors.  It is also the time before retrying
+     * a connector whose first refresh failed.
+     */
+    private static final long MAX_WAIT_TIME = 1000;
+
+    /*
+     * The time before checking whether a connector that is past its stop date has been given a new one.
+     */
+    private static final long STOPPED_CONNECTOR_CHECK_TIME = 60000;
+
     private final String                            integrationDaemonName;
     private final IntegrationConnectorCacheMap      connectorHandlers;
     private final AuditLog                          auditLog;
+    private final ThreadPoolExecutor                refreshWorkers;
 
 
     private final AtomicBoolean running = new AtomicBoolean(false);
 
+    /*
+     * The schedule holds each connector that is not being refreshed.  Connectors that are being refreshed are
+     * in the refreshing map and return to the schedule when their refresh completes.  Both are protected by
+     * synchronizing on the schedule.
+     */
+    private final PriorityQueue<ScheduledRefresh>                        schedule   = new PriorityQueue<>(Comparator.comparingLong(ScheduledRefresh::getDueTime));
+    private final Map<IntegrationConnectorHandler, ScheduledRefresh>     scheduled  = new IdentityHashMap<>();
+    private final Map<IntegrationConnectorHandler, ScheduledRefresh>     refreshing = new IdentityHashMap<>();
+
 
     /**
      * Constructor provides access to the variables needed to run the connector.
@@ -42,9 +84,39 @@ public class IntegrationDaemonThread implements Runnable
                                    IntegrationConnectorCacheMap connectorHandlers,
                                    AuditLog                     auditLog)
     {
+        this(integrationDaemonName, connectorHandlers, DEFAULT_MAX_REFRESH_THREADS, auditLog);
+    }
+
+
+    /**
+     * Constructor provides access to the variables needed to run the connector.
+     *
+     * @param integrationDaemonName name of this integration daemon server
+     * @param connectorHandlers wrapper for the connector.
+     * @param maxRefreshThreads maximum number of connectors that are refreshed at the same time
+     * @param auditLog logging destination
+     */
+    public IntegrationDaemonThread(String                       integrationDaemonName,
+                                   IntegrationConnectorCacheMap connectorHandlers,
+                                   int                          maxRefreshThreads,
+                                   AuditLog                     auditLog)
+    {
+        final String threadName = "::IntegrationDaemonRefresh::";
+
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
         this.auditLog              = auditLog;
+
+        int           threadCount  = (maxRefreshThreads > 0) ? maxRefreshThreads : DEFAULT_MAX_REFRESH_THREADS;
+        AtomicInteger threadNumber = new AtomicInteger(0);
+
+        this.refreshWorkers = new ThreadPoolExecutor(threadCount,
+                                                     threadCount,
+                                                     60,
+                                                     TimeUnit.SECONDS,
+                                                     new LinkedBlockingQueue<>(),
+                                                     runnable -> new Thread(runnable, integrationDaemonName + threadName + threadNumber.incrementAndGet()));
+        this.refreshWorkers.allowCoreThreadTimeOut(true);
     }
 
 
@@ -61,11 +133,18 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Requests that the integration daemon thread shuts down.
+     * Requests that the integration daemon thread shuts down.  Refreshes that are running are allowed to finish.
      */
     public void stop()
     {
         running.set(false);
+
+        synchronized (schedule)
+        {
+            schedule.notifyAll();
+        }
+
+        refreshWorkers.shutdown();
     }
 
 
@@ -84,72 +163,275 @@ public class IntegrationDaemonThread implements Runnable
 
         while (running.get())
         {
-            Date now = new Date();
+            addNewConnectors();
 
-            List<IntegrationConnectorHandler> integrationConnectorHandlers = connectorHandlers.getIntegrationConnectorProcessingList();
+            List<ScheduledRefresh> dueRefreshes = new ArrayList<>();
+            long                   waitTime;
 
-            if (integrationConnectorHandlers != null)
+            synchronized (schedule)
             {
-                for (IntegrationConnectorHandler connectorHandler : connectorHandlers.getIntegrationConnectorProcessingList())
+                long now = System.currentTimeMillis();
+
+                while ((! schedule.isEmpty()) && (schedule.peek().getDueTime() <= now))
                 {
-                    if (connectorHandler != null)
+                    ScheduledRefresh scheduledRefresh = schedule.poll();
+
+                    scheduled.remove(scheduledRefresh.connectorHandler);
+                    refreshing.put(scheduledRefresh.connectorHandler, scheduledRefresh);
+                    dueRefreshes.add(scheduledRefresh);
+                }
+
+                waitTime = MAX_WAIT_TIME;
+
+                if (! schedule.isEmpty())
+                {
+                    waitTime = Math.min(waitTime, Math.max(schedule.peek().getDueTime() - now, 1));
+                }
+            }
+
+            for (ScheduledRefresh dueRefresh : dueRefreshes)
+            {
+                submitRefresh(dueRefresh, actionDescription);
+            }
+
+            waitToRetry(waitTime);
+        }
+
+        auditLog.logMessage(actionDescription,
+                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
+
+    }
+
+
+    /**
+     * Add the connectors that have been added to the integration daemon since the last check.  A connector that
+     * has not been refreshed is due straight away.
+     */
+    private void addNewConnectors()
+    {
+        List<IntegrationConnectorHandler> integrationConnectorHandlers = connectorHandlers.getIntegrationConnectorProcessingList();
+
+        if (integrationConnectorHandlers != null)
+        {
+            synchronized (schedule)
+            {
+                long now = System.currentTimeMillis();
+
+                for (IntegrationConnectorHandler connectorHandler : integrationConnectorHandlers)
+                {
+                    if ((connectorHandler != null) && (! scheduled.containsKey(connectorHandler)) && (! refreshing.containsKey(connectorHandler)))
                     {
-                        if (((connectorHandler.getStartDate() == null) || now.after(connectorHandler.getStartDate())) &&
-                            ((connectorHandler.getStopDate() == null)  || now.before(connectorHandler.getStopDate())))
+                        long dueTime = now;
+
+                        if ((connectorHandler.getLastRefreshTime() != null) && (connectorHandler.getMinMinutesBetweenRefresh() > 0))
                         {
-                            try
-                            {
-                                if (connectorHandler.getLastRefreshTime() == null)
-                                {
-                                    connectorHandler.refreshConnector(actionDescription, true);
-                                }
-                                else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
-                                {
-                                    long nextRefreshTime =
-                                            connectorHandler.getLastRefreshTime().getTime() +
-                                                    (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
-
-                                    if (nextRefreshTime < now.getTime())
-                                    {
-                                        connectorHandler.refreshConnector(actionDescription, false);
-                                    }
-                                }
-                            }
-                            catch (Exception error)
-                            {
-                                auditLog.logMessage(actionDescription,
-                                                    IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                          error.getClass().getName(),
-                                                                                                                                          error.getMessage()));
-                            }
+                            dueTime = connectorHandler.getLastRefreshTime().getTime() + (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
                         }
+                        else if (connectorHandler.getLastRefreshTime() != null)
+                        {
+                            /*
+                             * Connectors without a refresh interval are only refreshed once.
+                             */
+                            continue;
+                        }
+
+                        schedule(new ScheduledRefresh(connectorHandler, dueTime));
                     }
                 }
             }
+        }
+    }
 
-            waitToRetry();
+
+    /**
+     * Pass a refresh that is due to the worker threads.  A connector that is outside its start and stop dates is
+     * scheduled again without being refreshed.
+     *
+     * @param scheduledRefresh refresh that is due
+     * @param actionDescription calling activity
+     */
+    private void submitRefresh(ScheduledRefresh scheduledRefresh,
+                               String           actionDescription)
+    {
+        IntegrationConnectorHandler connectorHandler = scheduledRefresh.connectorHandler;
+        Date                        now              = new Date();
+
+        if ((connectorHandler.getStartDate() != null) && (! now.after(connectorHandler.getStartDate())))
+        {
+            rescheduleRefresh(scheduledRefresh, connectorHandler.getStartDate().getTime() + 1);
+        }
+        else if ((connectorHandler.getStopDate() != null) && (! now.before(connectorHandler.getStopDate())))
+        {
+            rescheduleRefresh(scheduledRefresh, now.getTime() + STOPPED_CONNECTOR_CHECK_TIME);
         }
+        else
+        {
+            try
+            {
+                refreshWorkers.execute(() -> refresh(scheduledRefresh, actionDescription));
+            }
+            catch (RejectedExecutionException error)
+            {
+                /*
+                 * The integration daemon is shutting down.
+                 */
+                synchronized (schedule)
+                {
+                    refreshing.remove(connectorHandler);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Refresh a connector on a worker thread and then schedule its next refresh.
+     *
+     * @param scheduledRefresh refresh that is due
+     * @param actionDescription calling activity
+     */
+    private void refresh(ScheduledRefresh scheduledRefresh,
+                         String           actionDescription)
+    {
+        IntegrationConnectorHandler connectorHandler = scheduledRefresh.connectorHandler;
+        long                        dueTime          = scheduledRefresh.getDueTime();
+        boolean                     firstCall        = (connectorHandler.getLastRefreshTime() == null);
+
+        try
+        {
+            connectorHandler.recordRefreshLateness(System.currentTimeMillis() - dueTime);
+            connectorHandler.refreshConnector(actionDescription, firstCall);
+        }
+        catch (Exception error)
+        {
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+        finally
+        {
+            long now = System.currentTimeMillis();
+
+            if (connectorHandler.getLastRefreshTime() == null)
+            {
+                /*
+                 * The first refresh did not complete, so it is retried.
+                 */
+                rescheduleRefresh(scheduledRefresh, now + MAX_WAIT_TIME);
+            }
+            else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
+            {
+                long nextDueTime = dueTime + (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
+
+                /*
+                 * A refresh that overran its interval does not cause a burst of refreshes to catch up.
+                 */
+                rescheduleRefresh(scheduledRefresh, Math.max(nextDueTime, now));
+            }
+            else
+            {
+                synchronized (schedule)
+                {
+                    refreshing.remove(connectorHandler);
+                }
+
+                connectorHandler.setNextRefreshTime(null);
+            }
+        }
+    }
 
-        auditLog.logMessage(actionDescription,
-                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
 
+    /**
+     * Return a connector that was due to the schedule.
+     *
+     * @param scheduledRefresh refresh that was due
+     * @param dueTime time that the next refresh is due
+     */
+    private void rescheduleRefresh(ScheduledRefresh scheduledRefresh,
+                                   long             dueTime)
+    {
+        synchronized (schedule)
+        {
+            refreshing.remove(scheduledRefresh.connectorHandler);
+
+            if (running.get())
+            {
+                schedule(new ScheduledRefresh(scheduledRefresh.connectorHandler, dueTime));
+                schedule.notifyAll();
+            }
+        }
     }
 
 
     /**
-     * Wait before retrying ...
+     * Add a refresh to the schedule.  Called with the schedule locked.
+     *
+     * @param scheduledRefresh refresh to add
      */
-    private void waitToRetry()
+    private void schedule(ScheduledRefresh scheduledRefresh)
     {
-        final int  sleepTime = 1000;
+        schedule.add(scheduledRefresh);
+        scheduled.put(scheduledRefresh.connectorHandler, scheduledRefresh);
+        scheduledRefresh.connectorHandler.setNextRefreshTime(new Date(scheduledRefresh.getDueTime()));
+    }
+
 
+    /**
+     * Wait until the next refresh is due, a refresh is rescheduled or the thread is stopped.
+     *
+     * @param waitTime maximum time to wait in milliseconds
+     */
+    private void waitToRetry(long waitTime)
+    {
         try
         {
-            Thread.sleep(sleepTime);
+            synchronized (schedule)
+            {
+                if ((running.get()) && ((schedule.isEmpty()) || (schedule.peek().getDueTime() > System.currentTimeMillis())))
+                {
+                    schedule.wait(waitTime);
+                }
+            }
         }
         catch (Exception error)
         {
-            log.error("Ignored exception from sleep - probably ok", error);
+            log.error("Ignored exception from wait - probably ok", error);
+        }
+    }
+
+
+    /**
+     * ScheduledRefresh records when the next refresh of a connector is due.
+     */
+    private static class ScheduledRefresh
+    {
+        private final IntegrationConnectorHandler connectorHandler;
+        private final long                        dueTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param connectorHandler connector to refresh
+         * @param dueTime time that the refresh is due
+         */
+        ScheduledRefresh(IntegrationConnectorHandler connectorHandler,
+                         long                        dueTime)
+        {
+            this.connectorHandler = connectorHandler;
+            this.dueTime          = dueTime;
+        }
+
+
+        /**
+         * Return the time that the refresh is due.
+         *
+         * @return milliseconds since the epoch
+         */
+        long getDueTime()
+        {
+            return dueTime;
         }
     }
 }
@@ -0,0 +1,187 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.integration.contextmanager.PermittedSynchronization;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Integration connector handler that does not create a connector.  Each refresh sleeps for a fixed time and
+ * records when it ran and how many refreshes were running at once.  Refresh is not synchronized, unlike the
+ * real handler, so that overlapping refreshes from the integration daemon can be detected.
+ */
+public class StubIntegrationConnectorHandler extends IntegrationConnectorHandler
+{
+    private final long          refreshTime;
+    private final AtomicInteger daemonActiveRefreshes;
+    private final AtomicInteger daemonMaxActiveRefreshes;
+    private final AtomicInteger failedRefreshes;
+    private final AtomicInteger refreshCount           = new AtomicInteger(0);
+    private final AtomicInteger completedRefreshCount  = new AtomicInteger(0);
+    private final AtomicInteger activeRefreshes        = new AtomicInteger(0);
+    private final AtomicInteger maxActiveRefreshes     = new AtomicInteger(0);
+
+    private volatile Date firstRefreshTime = null;
+    private volatile Date lastRefreshTime  = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param connectorName name of the connector
+     * @param startDate earliest time that the connector can run
+     * @param stopDate latest time that the connector can run
+     * @param minMinutesBetweenRefresh minimum number of minutes between each refresh
+     * @param refreshTime milliseconds that each refresh takes
+     * @param failedRefreshes number of refreshes that fail before a refresh completes
+     * @param daemonActiveRefreshes count of refreshes running across all the stub handlers
+     * @param daemonMaxActiveRefreshes largest number of refreshes running across all the stub handlers
+     * @param auditLog logging destination
+     */
+    public StubIntegrationConnectorHandler(String        connectorName,
+                                           Date          startDate,
+                                           Date          stopDate,
+                                           long          minMinutesBetweenRefresh,
+                                           long          refreshTime,
+                                           int           failedRefreshes,
+                                           AtomicInteger daemonActiveRefreshes,
+                                           AtomicInteger daemonMaxActiveRefreshes,
+                                           AuditLog      auditLog)
+    {
+        super(connectorName,
+              null,
+              connectorName,
+              "testUser",
+              startDate,
+              stopDate,
+              minMinutesBetweenRefresh,
+              null,
+              null,
+              false,
+              PermittedSynchronization.BOTH_DIRECTIONS,
+              false,
+              "Test Integration Service",
+              "testDaemon",
+              null,
+              auditLog);
+
+        this.refreshTime              = refreshTime;
+        this.failedRefreshes          = new AtomicInteger(failedRefreshes);
+        this.daemonActiveRefreshes    = daemonActiveRefreshes;
+        this.daemonMaxActiveRefreshes = daemonMaxActiveRefreshes;
+    }
+
+
+    /**
+     * There is no connector to create.
+     *
+     * @param actionDescription description of caller's operation
+     */
+    @Override
+    public synchronized void reinitializeConnector(String actionDescription)
+    {
+    }
+
+
+    /**
+     * Return the time that the last refresh completed.
+     *
+     * @return timestamp or null
+     */
+    @Override
+    public Date getLastRefreshTime()
+    {
+        return lastRefreshTime;
+    }
+
+
+    /**
+     * Sleep for the refresh time and record the refresh.  A failed refresh throws an exception and does not set
+     * the last refresh time.
+     *
+     * @param actionDescription external caller's activity
+     * @param firstCall is this the first call to refresh?
+     */
+    @Override
+    public void refreshConnector(String  actionDescription,
+                                 boolean firstCall)
+    {
+        if (firstRefreshTime == null)
+        {
+            firstRefreshTime = new Date();
+        }
+
+        refreshCount.incrementAndGet();
+        maxActiveRefreshes.accumulateAndGet(activeRefreshes.incrementAndGet(), Math::max);
+        daemonMaxActiveRefreshes.accumulateAndGet(daemonActiveRefreshes.incrementAndGet(), Math::max);
+
+        try
+        {
+            Thread.sleep(refreshTime);
+
+            if (failedRefreshes.getAndDecrement() > 0)
+            {
+                throw new IllegalStateException("Test refresh failure");
+            }
+
+            completedRefreshCount.incrementAndGet();
+            lastRefreshTime = new Date();
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            daemonActiveRefreshes.decrementAndGet();
+            activeRefreshes.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * Return the number of times refresh was called.
+     *
+     * @return count
+     */
+    public int getRefreshCallCount()
+    {
+        return refreshCount.get();
+    }
+
+
+    /**
+     * Return the number of refreshes that completed.
+     *
+     * @return count
+     */
+    public int getCompletedRefreshCount()
+    {
+        return completedRefreshCount.get();
+    }
+
+
+    /**
+     * Return the largest number of refreshes of this connector that were running at once.
+     *
+     * @return count
+     */
+    public int getMaxActiveRefreshes()
+    {
+        return maxActiveRefreshes.get();
+    }
+
+
+    /**
+     * Return the time that the first refresh started.
+     *
+     * @return timestamp or null
+     */
+    public Date getFirstRefreshTime()
+    {
+        return firstRefreshTime;
+    }
+}
@@ -0,0 +1,280 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorCacheMap;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.StubIntegrationConnectorHandler;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that IntegrationDaemonThread refreshes each connector when it is due, never runs two refreshes of the
+ * same connector at once, runs no more refreshes at once than it has worker threads, and stops scheduling
+ * refreshes when it is stopped.
+ */
+public class IntegrationDaemonThreadTest
+{
+    private static final String daemonName = "testDaemon";
+    private static final long   waitTime   = 20000;
+
+    private final AuditLog auditLog = new AuditLog(new AuditLogDestination(null)
+    {
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }, new AuditLogReportingComponent(0, null, "IntegrationDaemonThreadTest", "Test", null));
+
+    private AtomicInteger activeRefreshes    = null;
+    private AtomicInteger maxActiveRefreshes = null;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        activeRefreshes    = new AtomicInteger(0);
+        maxActiveRefreshes = new AtomicInteger(0);
+    }
+
+
+    /**
+     * Connectors are refreshed straight away unless they are outside their start and stop dates.  A connector
+     * without a refresh interval is refreshed once, the next refresh of a periodic connector is due one interval
+     * after the first and a failed first refresh is retried.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testRefreshScheduling() throws Exception
+    {
+        long now = System.currentTimeMillis();
+
+        StubIntegrationConnectorHandler once     = this.getHandler("once", null, null, 0, 10, 0);
+        StubIntegrationConnectorHandler periodic = this.getHandler("periodic", null, null, 1, 10, 0);
+        StubIntegrationConnectorHandler notYet   = this.getHandler("notYet", new Date(now + 1500), null, 0, 10, 0);
+        StubIntegrationConnectorHandler stopped  = this.getHandler("stopped", null, new Date(now - 1000), 0, 10, 0);
+        StubIntegrationConnectorHandler failing  = this.getHandler("failing", null, null, 0, 10, 1);
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(4, once, periodic, notYet, stopped, failing);
+        Thread                  runner       = this.start(daemonThread);
+
+        try
+        {
+            assertTrue(this.waitFor(() -> (once.getCompletedRefreshCount() == 1) &&
+                                          (periodic.getCompletedRefreshCount() == 1) &&
+                                          (notYet.getCompletedRefreshCount() == 1) &&
+                                          (failing.getCompletedRefreshCount() == 1)));
+
+            assertTrue(notYet.getFirstRefreshTime().getTime() > now + 1500);
+            assertEquals(failing.getRefreshCallCount(), 2);
+
+            Thread.sleep(1500);
+
+            assertEquals(once.getRefreshCallCount(), 1);
+            assertNull(once.getNextRefreshTime());
+            assertEquals(periodic.getRefreshCallCount(), 1);
+            assertEquals(stopped.getRefreshCallCount(), 0);
+
+            long nextRefreshDelay = periodic.getNextRefreshTime().getTime() - periodic.getFirstRefreshTime().getTime();
+
+            assertTrue((nextRefreshDelay > 59000) && (nextRefreshDelay <= 60000), Long.toString(nextRefreshDelay));
+        }
+        finally
+        {
+            this.stop(daemonThread, runner);
+        }
+    }
+
+
+    /**
+     * A connector whose first refresh is still running is not refreshed again, even though its refresh is
+     * retried until one completes.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testOverlapSuppression() throws Exception
+    {
+        StubIntegrationConnectorHandler slow = this.getHandler("slow", null, null, 0, 3000, 0);
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(4, slow);
+        Thread                  runner       = this.start(daemonThread);
+
+        try
+        {
+            assertTrue(this.waitFor(() -> slow.getCompletedRefreshCount() == 1));
+
+            Thread.sleep(1500);
+
+            assertEquals(slow.getRefreshCallCount(), 1);
+            assertEquals(slow.getMaxActiveRefreshes(), 1);
+        }
+        finally
+        {
+            this.stop(daemonThread, runner);
+        }
+    }
+
+
+    /**
+     * No more connectors are refreshed at once than there are refresh threads.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testBoundedRefreshThreads() throws Exception
+    {
+        StubIntegrationConnectorHandler[] handlers = new StubIntegrationConnectorHandler[6];
+
+        for (int i = 0; i < handlers.length; i++)
+        {
+            handlers[i] = this.getHandler("connector" + i, null, null, 0, 500, 0);
+        }
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(2, handlers);
+        Thread                  runner       = this.start(daemonThread);
+
+        try
+        {
+            assertTrue(this.waitFor(() ->
+                                    {
+                                        for (StubIntegrationConnectorHandler handler : handlers)
+                                        {
+                                            if (handler.getCompletedRefreshCount() != 1)
+                                            {
+                                                return false;
+                                            }
+                                        }
+
+                                        return true;
+                                    }));
+
+            assertEquals(maxActiveRefreshes.get(), 2);
+        }
+        finally
+        {
+            this.stop(daemonThread, runner);
+        }
+    }
+
+
+    /**
+     * Stopping the thread lets a running refresh finish, ends the scheduling loop and prevents further refreshes,
+     * including retries of a failed refresh.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testShutdown() throws Exception
+    {
+        StubIntegrationConnectorHandler running  = this.getHandler("running", null, null, 1, 1000, 0);
+        StubIntegrationConnectorHandler retrying = this.getHandler("retrying", null, null, 0, 10, 100);
+
+        IntegrationDaemonThread daemonThread = this.getDaemonThread(4, running, retrying);
+        Thread                  runner       = this.start(daemonThread);
+
+        assertTrue(this.waitFor(() -> (running.getRefreshCallCount() == 1) && (retrying.getRefreshCallCount() > 0)));
+
+        this.stop(daemonThread, runner);
+
+        assertFalse(runner.isAlive());
+        assertTrue(this.waitFor(() -> running.getCompletedRefreshCount() == 1));
+
+        int retries = retrying.getRefreshCallCount();
+
+        Thread.sleep(2500);
+
+        assertEquals(running.getRefreshCallCount(), 1);
+        assertEquals(retrying.getRefreshCallCount(), retries);
+    }
+
+
+    private StubIntegrationConnectorHandler getHandler(String connectorName,
+                                                       Date   startDate,
+                                                       Date   stopDate,
+                                                       long   minMinutesBetweenRefresh,
+                                                       long   refreshTime,
+                                                       int    failedRefreshes)
+    {
+        return new StubIntegrationConnectorHandler(connectorName,
+                                                   startDate,
+                                                   stopDate,
+                                                   minMinutesBetweenRefresh,
+                                                   refreshTime,
+                                                   failedRefreshes,
+                                                   activeRefreshes,
+                                                   maxActiveRefreshes,
+                                                   auditLog);
+    }
+
+
+    private IntegrationDaemonThread getDaemonThread(int                                maxRefreshThreads,
+                                                    StubIntegrationConnectorHandler... handlers)
+    {
+        IntegrationConnectorCacheMap connectorHandlers = new IntegrationConnectorCacheMap();
+
+        for (StubIntegrationConnectorHandler handler : handlers)
+        {
+            connectorHandlers.putHandlerByConnectorId(handler.getIntegrationConnectorId(), handler, true);
+        }
+
+        return new IntegrationDaemonThread(daemonName, connectorHandlers, maxRefreshThreads, auditLog);
+    }
+
+
+    private Thread start(IntegrationDaemonThread daemonThread)
+    {
+        Thread runner = new Thread(daemonThread, daemonName + "::IntegrationDaemonThreadTest");
+
+        runner.start();
+
+        return runner;
+    }
+
+
+    /**
+     * Stop the daemon thread.  The thread marks itself running when it starts, so each test waits for a refresh
+     * before stopping it.
+     *
+     * @param daemonThread thread to stop
+     * @param runner thread running it
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void stop(IntegrationDaemonThread daemonThread,
+                      Thread                  runner) throws InterruptedException
+    {
+        daemonThread.stop();
+        runner.join(waitTime);
+    }
+
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + waitTime;
+
+        while (! condition.getAsBoolean())
+        {
+            if (System.currentTimeMillis() > deadline)
+            {
+                return false;
+            }
+
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+}
@@ -27,6 +27,8 @@ public class LineageVerticesAndEdges implements Serializable {
 
     private Set<LineageVertex> lineageVertices;
     private Set<LineageEdge> lineageEdges;
+    private boolean truncated;
+    private Set<String> truncatedNodeIDs;
 
     public LineageVerticesAndEdges(){}
 
@@ -51,11 +53,41 @@ public class LineageVerticesAndEdges implements Serializable {
         return lineageEdges;
     }
 
+    /**
+     * Return whether the lineage was cut short because it reached the depth or fan-out limit of the lineage query,
+     * so that there is more lineage than is returned.
+     *
+     * @return boolean result
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    /**
+     * Return the node IDs of the returned vertices whose lineage was not followed any further because of a limit of
+     * the lineage query.  A new query for one of these nodes returns the lineage beyond it.
+     *
+     * @return node IDs, or null if the lineage is complete
+     */
+    public Set<String> getTruncatedNodeIDs() {
+        return truncatedNodeIDs;
+    }
+
+    public void setTruncatedNodeIDs(Set<String> truncatedNodeIDs) {
+        this.truncatedNodeIDs = truncatedNodeIDs;
+    }
+
     @Override
     public String toString() {
         return "LineageVerticesAndEdges{" +
                 "lineageVertices=" + lineageVertices +
                 ", lineageEdges=" + lineageEdges +
+                ", truncated=" + truncated +
+                ", truncatedNodeIDs=" + truncatedNodeIDs +
                 '}';
     }
 }
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.auditlog.ComponentDescription;
@@ -15,22 +17,29 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1RegistrySection;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -43,6 +52,14 @@ import java.util.concurrent.CompletionException;
  *     internal open metadata components that expect to receive OMRS Events.
  * </p>
  * <p>
+ *     Outbound events are encoded in JSON unless the event protocol level is V1_BINARY.  Then they are
+ *     encoded in the binary Smile format for the event bus connectors that are configured to support binary
+ *     events, and in JSON for the others.  Registry events are always encoded in JSON, and binary events are
+ *     only sent once every member that has registered with the cohort has advertised in its registry events
+ *     that it is able to receive them.  Until then, or as soon as a back-level member registers, the events
+ *     are encoded in JSON.  Inbound events may use either encoding whatever the configured protocol level.
+ * </p>
+ * <p>
  *     OMRSTopicConnector implements 3 interfaces:
  * </p>
  * <ul>
@@ -70,11 +87,21 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     private static final ObjectReader OBJECT_READER = OBJECT_MAPPER.reader();
     private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
 
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+    private static final ObjectReader SMILE_READER = SMILE_MAPPER.reader();
+    private static final ObjectWriter SMILE_WRITER = SMILE_MAPPER.writer();
+
     private List<Connector> embeddedConnectors = null;
 
     private final List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
     private final List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
+    /*
+     * Whether each registered member of the cohort is able to receive binary events, keyed by
+     * metadata collection id.  It is filled from the inbound registry events.
+     */
+    private volatile Map<String, Boolean> memberBinaryEventSupport = new ConcurrentHashMap<>();
+
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
     private String                    topicName = "<Unknown>";
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
@@ -149,6 +176,22 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Use the cohort members recorded by another topic connector to decide whether binary events can be sent.
+     * This is needed when the cohort uses dedicated topics, since the registry events that carry each member's
+     * capabilities only arrive on the registration topic.
+     *
+     * @param registrationTopicConnector topic connector that receives the cohort's registry events
+     */
+    public void shareCohortMembership(OMRSTopicConnector registrationTopicConnector)
+    {
+        if ((registrationTopicConnector != null) && (registrationTopicConnector != this))
+        {
+            this.memberBinaryEventSupport = registrationTopicConnector.memberBinaryEventSupport;
+        }
+    }
+
+
     /**
      * Register an OMRSTopicListener object.  This object will be supplied with all the OMRS events
      * received on the topic.
@@ -310,6 +353,15 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 eventBusConnector.start();
+
+                if ((eventProtocolVersion == OMRSEventProtocolVersion.V1_BINARY) &&
+                    (! eventBusConnector.isBinaryEventSupported()) && (auditLog != null))
+                {
+                    auditLog.logMessage(methodName,
+                                        OMRSAuditCode.BINARY_EVENTS_NOT_SUPPORTED.getMessageDefinition(eventBusConnector.getClass().getName(),
+                                                                                                       topicName,
+                                                                                                       eventProtocolVersion.getName()));
+                }
             }
 
             if (auditLog != null)
@@ -322,6 +374,97 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Return whether every event bus connector is able to carry binary events.  This is the capability
+     * this server advertises in its registry events.
+     *
+     * @return boolean
+     */
+    private boolean isBinaryEventSupported()
+    {
+        if (eventBusConnectors.isEmpty())
+        {
+            return false;
+        }
+
+        for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
+        {
+            if ((eventBusConnector == null) || (! eventBusConnector.isBinaryEventSupported()))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return whether an outbound event should be encoded in the binary format.  This needs the V1_BINARY
+     * protocol level and at least one registered member, with every registered member advertising that it
+     * is able to receive binary events.  Registry events are always sent in JSON so that back-level servers
+     * joining the cohort can read them.
+     *
+     * @param event outbound event
+     * @return boolean
+     */
+    private boolean isBinaryEventEncoding(OMRSEventV1 event)
+    {
+        if ((eventProtocolVersion != OMRSEventProtocolVersion.V1_BINARY) ||
+            (event.getEventCategory() == OMRSEventCategory.REGISTRY) ||
+            (memberBinaryEventSupport.isEmpty()))
+        {
+            return false;
+        }
+
+        return ! memberBinaryEventSupport.containsValue(Boolean.FALSE);
+    }
+
+
+    /**
+     * Record the capabilities that a member advertises in its registry events so that binary events are only
+     * sent when every registered member is able to receive them.  Members that do not advertise the
+     * capability are back-level and are recorded as not supporting binary events.
+     *
+     * @param event inbound event
+     */
+    private void recordMemberCapabilities(OMRSEventV1 event)
+    {
+        OMRSEventOriginator        originator      = event.getOriginator();
+        OMRSEventV1RegistrySection registrySection = event.getRegistryEventSection();
+
+        if ((event.getEventCategory() != OMRSEventCategory.REGISTRY) ||
+            (originator == null) || (originator.getMetadataCollectionId() == null) || (registrySection == null))
+        {
+            return;
+        }
+
+        OMRSRegistryEventType registryEventType = registrySection.getRegistryEventType();
+
+        if ((registryEventType == OMRSRegistryEventType.REGISTRATION_EVENT) ||
+            (registryEventType == OMRSRegistryEventType.RE_REGISTRATION_EVENT))
+        {
+            memberBinaryEventSupport.put(originator.getMetadataCollectionId(),
+                                         Boolean.TRUE.equals(registrySection.getBinaryEventsSupported()));
+        }
+        else if (registryEventType == OMRSRegistryEventType.UN_REGISTRATION_EVENT)
+        {
+            memberBinaryEventSupport.remove(originator.getMetadataCollectionId());
+        }
+    }
+
+
+    /**
+     * Return whether the configured event protocol is supported by this connector.
+     *
+     * @return boolean
+     */
+    private boolean isSupportedEventProtocol()
+    {
+        return (eventProtocolVersion == OMRSEventProtocolVersion.V1) || (eventProtocolVersion == OMRSEventProtocolVersion.V1_BINARY);
+    }
+
+
     /**
      * Log that this connector does not support the requested event protocol.
      * This protocol level is requested in the configuration.
@@ -352,9 +495,16 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         final String methodName = "sendRegistryEvent";
 
-        if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
+        if (this.isSupportedEventProtocol())
         {
-            return this.sendEvent(registryEvent.getOMRSEventV1(), true);
+            OMRSEventV1 event = registryEvent.getOMRSEventV1();
+
+            if (event.getRegistryEventSection() != null)
+            {
+                event.getRegistryEventSection().setBinaryEventsSupported(this.isBinaryEventSupported());
+            }
+
+            return this.sendEvent(event, true);
         }
         else
         {
@@ -376,7 +526,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         final String methodName = "sendTypeDefEvent";
 
-        if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
+        if (this.isSupportedEventProtocol())
         {
             return this.sendEvent(typeDefEvent.getOMRSEventV1(), false);
         }
@@ -400,7 +550,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         final String methodName = "sendInstanceEvent";
 
-        if (eventProtocolVersion == OMRSEventProtocolVersion.V1)
+        if (this.isSupportedEventProtocol())
         {
             this.sendEvent(instanceEvent.getOMRSEventV1(), true);
         }
@@ -441,21 +591,46 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         final String methodName = "sendEventTask";
         try
         {
-            String eventString = OBJECT_WRITER.writeValueAsString(event);
+            String eventString = null;
+            byte[] binaryEvent = null;
+
+            /*
+             * The JSON encoding is only created if it is needed.
+             */
+            if (this.isBinaryEventEncoding(event))
+            {
+                binaryEvent = SMILE_WRITER.writeValueAsBytes(event);
+            }
+            else
+            {
+                eventString = OBJECT_WRITER.writeValueAsString(event);
+            }
 
             if ((auditLog != null) && logEvent)
             {
                 auditLog.logMessage(methodName,
                         OMRSAuditCode.OUTBOUND_TOPIC_EVENT.getMessageDefinition(event.getEventCategory().getName(),
                                 topicName),
-                        eventString);
+                        (eventString != null) ? eventString : "<binary event of " + binaryEvent.length + " bytes>");
             }
 
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 if (eventBusConnector != null)
                 {
-                    eventBusConnector.sendEvent(eventString);
+                    if ((binaryEvent != null) && (eventBusConnector.isBinaryEventSupported()))
+                    {
+                        eventBusConnector.sendEvent(binaryEvent);
+                    }
+                    else
+                    {
+                        if (eventString == null)
+                        {
+                            eventString = OBJECT_WRITER.writeValueAsString(event);
+                        }
+
+                        eventBusConnector.sendEvent(eventString);
+                    }
                 }
             }
         }
@@ -483,7 +658,6 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     public void processEvent(String event)
     {
         final String actionDescription = "Process an OMRS Event";
-        final String methodName = "processEvent";
 
         if (event != null)
         {
@@ -506,35 +680,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                 }
             }
 
-
-            /*
-             * If the event bean is successfully created then pass it on to the registered listeners.
-             */
-            if (eventBean instanceof OMRSEventV1)
-            {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
-                {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
-
-                        if (auditLog != null)
-                        {
-                            auditLog.logException(methodName,
-                                                  OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
-                                                                                                            error.toString(),
-                                                                                                            topicListener.toString()),
-                                                  event,
-                                                  error);
-                        }
-                    }
-                });
-            }
+            this.distributeEventBean(eventBean, event);
         }
         else
         {
@@ -548,6 +694,108 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Receives binary events from the real topic, parses them into event objects and passes them on to
+     * the OMRSTopicListeners registered with this connector.  The payload may be encoded in Smile or
+     * be UTF-8 encoded JSON.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processEvent(byte[] event)
+    {
+        final String actionDescription = "Process an OMRS Event";
+
+        if (event == null)
+        {
+            this.processEvent((String)null);
+            return;
+        }
+
+        OMRSEventBean eventBean        = null;
+        String        eventDescription = "<binary event of " + event.length + " bytes>";
+
+        try
+        {
+            if (isSmileEncoded(event))
+            {
+                eventBean = SMILE_READER.readValue(event, OMRSEventBean.class);
+            }
+            else
+            {
+                eventDescription = new String(event, StandardCharsets.UTF_8);
+                eventBean = OBJECT_READER.readValue(event, OMRSEventBean.class);
+            }
+        }
+        catch (Exception   exception)
+        {
+            if (auditLog != null)
+            {
+                auditLog.logException(actionDescription,
+                                      OMRSAuditCode.EVENT_PARSING_ERROR.getMessageDefinition(eventDescription, exception.toString()),
+                                      exception);
+            }
+        }
+
+        this.distributeEventBean(eventBean, eventDescription);
+    }
+
+
+    /**
+     * Return whether the payload begins with the Smile header.  JSON payloads can not begin with these bytes.
+     *
+     * @param event inbound event
+     * @return boolean
+     */
+    private static boolean isSmileEncoded(byte[] event)
+    {
+        return (event.length >= 3) &&
+               (event[0] == SmileConstants.HEADER_BYTE_1) &&
+               (event[1] == SmileConstants.HEADER_BYTE_2) &&
+               (event[2] == SmileConstants.HEADER_BYTE_3);
+    }
+
+
+    /**
+     * If the event bean was successfully created then pass it on to the registered listeners.
+     *
+     * @param eventBean parsed event
+     * @param event description of the inbound event for error messages
+     */
+    private void distributeEventBean(OMRSEventBean eventBean,
+                                     String        event)
+    {
+        final String methodName = "processEvent";
+
+        if (eventBean instanceof OMRSEventV1)
+        {
+            this.recordMemberCapabilities((OMRSEventV1) eventBean);
+
+            internalTopicListeners.parallelStream().forEach((topicListener) ->
+            {
+                try
+                {
+                    this.processOMRSEvent((OMRSEventV1) eventBean, topicListener);
+                }
+                catch (Throwable  error)
+                {
+                    log.debug("Unable to pass event to one of the topic listeners");
+
+                    if (auditLog != null)
+                    {
+                        auditLog.logException(methodName,
+                                              OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
+                                                                                                        error.toString(),
+                                                                                                        topicListener.toString()),
+                                              event,
+                                              error);
+                    }
+                }
+            });
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -24,6 +24,7 @@ public class IncomingEvent
     private volatile IncomingEventState currentState = IncomingEventState.CREATED;
     
     private final String json;
+    private final byte[] binaryPayload;
     private final List<OMRSFuture> asyncProcessingResults = Collections.synchronizedList(new ArrayList<>()); 
     
     /**
@@ -35,6 +36,21 @@ public class IncomingEvent
     public IncomingEvent(String json, String messageId)
     {
         this.json = json;
+        this.binaryPayload = null;
+        this.messageId = messageId;
+    }
+
+
+    /**
+     * Constructor for an event with a binary encoded payload.
+     *
+     * @param binaryPayload the encoded event
+     * @param messageId identifier
+     */
+    public IncomingEvent(byte[] binaryPayload, String messageId)
+    {
+        this.json = null;
+        this.binaryPayload = binaryPayload;
         this.messageId = messageId;
     }
     
@@ -48,6 +64,40 @@ public class IncomingEvent
     }
 
 
+    /**
+     * Gets the binary encoded payload for the event.
+     *
+     * @return encoded event or null if the event is a string
+     */
+    public byte[] getBinaryPayload() {
+        return binaryPayload;
+    }
+
+
+    /**
+     * Return whether the event has a binary encoded payload.
+     *
+     * @return boolean
+     */
+    public boolean isBinary() {
+        return binaryPayload != null;
+    }
+
+
+    /**
+     * Return a description of the payload for diagnostic messages.
+     *
+     * @return the json or a summary of the binary payload
+     */
+    public String getPayloadDescription() {
+        if (binaryPayload != null) {
+            return "<binary event of " + binaryPayload.length + " bytes>";
+        }
+
+        return json;
+    }
+
+
     /**
      * Adds a {@link Future} for the processing of this event by some
      * {@link OMRSInstanceEventProcessor}
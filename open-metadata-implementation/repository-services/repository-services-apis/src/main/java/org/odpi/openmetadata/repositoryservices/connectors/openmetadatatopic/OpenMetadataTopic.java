@@ -29,4 +29,22 @@ public interface OpenMetadataTopic
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
     void sendEvent(String event) throws ConnectorCheckedException;
+
+
+    /**
+     * Return whether the topic is able to carry events in a binary encoding.
+     *
+     * @return boolean
+     */
+    boolean isBinaryEventSupported();
+
+
+    /**
+     * Sends the supplied binary encoded event to the topic.  This is only called if isBinaryEventSupported()
+     * returns true.
+     *
+     * @param event  encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    void sendEvent(byte[] event) throws ConnectorCheckedException;
 }
@@ -6,6 +6,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
@@ -15,6 +21,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.InternalOMRSEventProcessingContext;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFutureImpl;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.slf4j.Logger;
@@ -26,7 +33,11 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should either call the protected deliverEvent() method as each event arrives, or
+ *         override checkForIncomingEvents() to return the events that have arrived since the last call.
+ *         Events passed to deliverEvent() are placed on a bounded dispatch queue and the listener thread
+ *         is woken immediately.  Connectors that override checkForIncomingEvents() are polled every
+ *         sleepTime milliseconds.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -35,6 +46,9 @@ import org.slf4j.LoggerFactory;
  *         When the server no longer needs the topic, it will call disconnect().
  *     </li>
  * </ul>
+ * By default, each event is passed to the registered listeners one after another on the listener thread.
+ * If the dedicatedListenerThreads configuration property is true, each listener receives its events, in order,
+ * on its own thread so that a slow listener does not hold up the delivery of events to the others.
  */
 public abstract class OpenMetadataTopicConnector extends ConnectorBase implements OpenMetadataTopic,
                                                                                   Runnable,
@@ -45,12 +59,19 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private static final String       defaultThreadName = "OpenMetadataTopicListener";
     private static final String       defaultTopicName  = "OpenMetadataTopic";
 
+    private static final int          defaultDispatchQueueSize = 10000;
+    private static final long         deliveryRetryTime        = 1000;
+
     private volatile boolean keepRunning = false;
 
-    private final List<OpenMetadataTopicListener> topicListeners     = new ArrayList<>();
-    private String                                listenerThreadName = defaultThreadName;
-    private String                                topicName          = defaultTopicName;
-    private int                                   sleepTime          = 100;
+    private final List<OpenMetadataTopicListener> topicListeners           = new ArrayList<>();
+    private final List<ListenerLane>              listenerLanes            = new ArrayList<>();
+    private BlockingQueue<IncomingEvent>          dispatchQueue            = new LinkedBlockingQueue<>(defaultDispatchQueueSize);
+    private String                                listenerThreadName       = defaultThreadName;
+    private String                                topicName                = defaultTopicName;
+    private int                                   sleepTime                = 100;
+    private int                                   dispatchQueueSize        = defaultDispatchQueueSize;
+    private boolean                               dedicatedListenerThreads = false;
 
     protected AuditLog auditLog = null;
 
@@ -128,7 +149,24 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * Wait for events delivered by the connector.  The wait ends as soon as an event arrives.
+                 * If no events arrive, the wait lasts for the sleep time before the connector is polled again.
+                 */
+                IncomingEvent deliveredEvent = dispatchQueue.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                if (deliveredEvent != null)
+                {
+                    List<IncomingEvent> deliveredEvents = new ArrayList<>();
+
+                    deliveredEvents.add(deliveredEvent);
+                    dispatchQueue.drainTo(deliveredEvents);
+
+                    for (IncomingEvent event : deliveredEvents)
+                    {
+                        this.distributeEvent(event);
+                    }
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -136,6 +174,11 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
             }
         }
 
+        for (ListenerLane listenerLane : listenerLanes)
+        {
+            listenerLane.shutdown();
+        }
+
         if (auditLog != null)
         {
             auditLog.logMessage(listenerThreadName,
@@ -145,6 +188,66 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Pass an event that has been received by the connector to the listener thread.  The listener thread is
+     * woken immediately.  If the dispatch queue is full, the caller waits until there is space, which slows
+     * the connector down to the speed of the listeners.
+     *
+     * @param event event received from the event bus
+     * @return boolean true if the event was queued; false if the connector is shutting down
+     * @throws InterruptedException the calling thread was interrupted while waiting for space on the queue
+     */
+    protected boolean deliverEvent(IncomingEvent event) throws InterruptedException
+    {
+        if (event == null)
+        {
+            return false;
+        }
+
+        while (keepRunning)
+        {
+            if (dispatchQueue.offer(event, deliveryRetryTime, TimeUnit.MILLISECONDS))
+            {
+                return true;
+            }
+
+            log.debug("Dispatch queue for topic {} is full", topicName);
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Pass an event that has been received by the connector to the listener thread if there is space on the
+     * dispatch queue.  This call does not wait.  It is used by connectors that must keep servicing the event bus
+     * while the listeners catch up, and so hold on to the event and pause the event bus instead.
+     *
+     * @param event event received from the event bus
+     * @return boolean true if the event was queued; false if the dispatch queue is full or the connector is shutting down
+     */
+    protected boolean offerEvent(IncomingEvent event)
+    {
+        if ((event == null) || (! keepRunning))
+        {
+            return false;
+        }
+
+        return dispatchQueue.offer(event);
+    }
+
+
+    /**
+     * Return the number of events passed to deliverEvent() or offerEvent() that are waiting for the listener thread.
+     *
+     * @return count
+     */
+    protected int getPendingEventCount()
+    {
+        return dispatchQueue.size();
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
@@ -156,25 +259,33 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         //have results from processing this event
         InternalOMRSEventProcessingContext.clear();
         InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId(event.getMessageId());
-        for (OpenMetadataTopicListener  topicListener : topicListeners)
+
+        if (dedicatedListenerThreads)
         {
-            try
-            {
-                topicListener.processEvent(event.getJson());
-            }
-            catch (Exception  error)
+            /*
+             * Each lane registers a future for its delivery of the event so the event is not fully
+             * processed until every listener has seen it.
+             */
+            for (ListenerLane listenerLane : listenerLanes)
             {
-                final String   actionDescription = "distributeEvent";
-
-                if (auditLog != null)
+                try
                 {
-                    auditLog.logException(actionDescription,
-                                          OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event.getJson(), error.toString()),
-                                          event.getJson(),
-                                          error);
+                    event.addAsyncProcessingResult(new OMRSFutureImpl(listenerLane.submit(event)));
+                }
+                catch (Exception  error)
+                {
+                    this.logDistributionError(event, error);
                 }
             }
         }
+        else
+        {
+            for (OpenMetadataTopicListener  topicListener : topicListeners)
+            {
+                this.passEventToListener(event, topicListener);
+            }
+        }
+
         
         //Change the state once all listeners have at least seen the event
         //The listeners may be processing the event asynchronously.  In that case,
@@ -188,6 +299,54 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Pass an event to a single listener.
+     *
+     * @param event event to pass
+     * @param topicListener listener to receive the event
+     */
+    private void passEventToListener(IncomingEvent             event,
+                                     OpenMetadataTopicListener topicListener)
+    {
+        try
+        {
+            if (event.isBinary())
+            {
+                topicListener.processEvent(event.getBinaryPayload());
+            }
+            else
+            {
+                topicListener.processEvent(event.getJson());
+            }
+        }
+        catch (Exception  error)
+        {
+            this.logDistributionError(event, error);
+        }
+    }
+
+
+    /**
+     * Log an error from a listener that is processing an event.
+     *
+     * @param event event being processed
+     * @param error exception from the listener
+     */
+    private void logDistributionError(IncomingEvent event,
+                                      Exception     error)
+    {
+        final String   actionDescription = "distributeEvent";
+
+        if (auditLog != null)
+        {
+            auditLog.logException(actionDescription,
+                                  OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event.getPayloadDescription(), error.toString()),
+                                  event.getPayloadDescription(),
+                                  error);
+        }
+    }
+
+
     /**
      * Look to see if there is one of more new events to process.
      *
@@ -217,6 +376,36 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Return whether the topic is able to carry events in a binary encoding.  Event bus connectors that
+     * are able to pass binary payloads override this method and sendEvent(byte[]).
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean isBinaryEventSupported()
+    {
+        return false;
+    }
+
+
+    /**
+     * Sends the supplied binary encoded event to the topic.
+     *
+     * @param event  encoded event
+     * @throws ConnectorCheckedException the connector does not support binary events
+     */
+    @Override
+    public void sendEvent(byte[] event) throws ConnectorCheckedException
+    {
+        final String methodName = "sendEvent";
+
+        throw new ConnectorCheckedException(OMRSErrorCode.BINARY_EVENTS_NOT_SUPPORTED.getMessageDefinition(this.getClass().getName(), topicName),
+                                            this.getClass().getName(),
+                                            methodName);
+    }
+
+
     /**
      * Register a listener object.  This object will be supplied with all the events received on the topic.
      *
@@ -230,6 +419,8 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         {
             topicListeners.add(topicListener);
 
+            listenerLanes.add(new ListenerLane(topicListener, listenerLanes.size()));
+
             if (super.connectionProperties != null)
             {
                 EndpointProperties endpoint = super.connectionProperties.getEndpoint();
@@ -283,6 +474,25 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                 {
                     this.sleepTime = (Integer)sleepTime;
                 }
+
+                Object   dispatchQueueSize = configurationProperties.get(OpenMetadataTopicProvider.dispatchQueueSizeProperty);
+
+                if ((dispatchQueueSize instanceof Integer) && ((Integer)dispatchQueueSize > 0))
+                {
+                    this.dispatchQueueSize = (Integer)dispatchQueueSize;
+                    this.dispatchQueue = new LinkedBlockingQueue<>(this.dispatchQueueSize);
+                }
+
+                Object   dedicatedListenerThreads = configurationProperties.get(OpenMetadataTopicProvider.dedicatedListenerThreadsProperty);
+
+                if (dedicatedListenerThreads instanceof Boolean)
+                {
+                    this.dedicatedListenerThreads = (Boolean)dedicatedListenerThreads;
+                }
+                else if (dedicatedListenerThreads instanceof String)
+                {
+                    this.dedicatedListenerThreads = Boolean.parseBoolean((String)dedicatedListenerThreads);
+                }
             }
         }
 
@@ -303,4 +513,102 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
         keepRunning = false;
     }
+
+
+    /**
+     * A listener lane passes events to a single listener on its own thread.  The events are passed in the
+     * order they were received.  The lane's queue is bounded: when it is full, the listener thread waits for
+     * space, so a listener that falls a long way behind eventually slows the delivery to the other listeners
+     * rather than exhausting memory.  The thread is only created when the first event is submitted.
+     */
+    private class ListenerLane
+    {
+        private final OpenMetadataTopicListener topicListener;
+        private final int                       laneNumber;
+        private ThreadPoolExecutor              laneExecutor = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param topicListener listener served by this lane
+         * @param laneNumber number used in the thread name
+         */
+        ListenerLane(OpenMetadataTopicListener topicListener,
+                     int                       laneNumber)
+        {
+            this.topicListener = topicListener;
+            this.laneNumber = laneNumber;
+        }
+
+
+        /**
+         * Queue an event for the listener.
+         *
+         * @param event event to pass to the listener
+         * @return future that completes when the listener has processed the event
+         */
+        synchronized Future<?> submit(IncomingEvent event)
+        {
+            if (laneExecutor == null)
+            {
+                final String threadName = listenerThreadName + " Lane-" + laneNumber;
+
+                laneExecutor = new ThreadPoolExecutor(1,
+                                                      1,
+                                                      0,
+                                                      TimeUnit.MILLISECONDS,
+                                                      new LinkedBlockingQueue<>(dispatchQueueSize),
+                                                      runnable ->
+                                                      {
+                                                          Thread thread = new Thread(runnable, threadName);
+
+                                                          thread.setDaemon(true);
+
+                                                          return thread;
+                                                      },
+                                                      (runnable, executor) ->
+                                                      {
+                                                          /*
+                                                           * The lane is full so wait for the listener to catch up.
+                                                           */
+                                                          try
+                                                          {
+                                                              executor.getQueue().put(runnable);
+                                                          }
+                                                          catch (InterruptedException interrupted)
+                                                          {
+                                                              Thread.currentThread().interrupt();
+
+                                                              throw new RejectedExecutionException(interrupted);
+                                                          }
+                                                      });
+            }
+
+            return laneExecutor.submit(() ->
+            {
+                InternalOMRSEventProcessingContext.clear();
+                InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId(event.getMessageId());
+
+                passEventToListener(event, topicListener);
+
+                /*
+                 * Record any asynchronous processing started by the listener before this delivery completes.
+                 */
+                event.addAsyncProcessingResult(InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult());
+            });
+        }
+
+
+        /**
+         * Stop the lane's thread once the events already queued have been delivered.
+         */
+        synchronized void shutdown()
+        {
+            if (laneExecutor != null)
+            {
+                laneExecutor.shutdown();
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
+import java.nio.charset.StandardCharsets;
 
 /**
  * OpenMetadataTopicListener defines the interface that a listener must implement in order to receive events
@@ -15,4 +16,19 @@ public interface OpenMetadataTopicListener
      * @param event inbound event
      */
     void processEvent(String event);
+
+
+    /**
+     * Method to pass an event received on topic that is not a string.  Listeners that do not understand
+     * binary encoded events receive the payload as a UTF-8 string.
+     *
+     * @param event inbound event
+     */
+    default void processEvent(byte[] event)
+    {
+        if (event != null)
+        {
+            this.processEvent(new String(event, StandardCharsets.UTF_8));
+        }
+    }
 }
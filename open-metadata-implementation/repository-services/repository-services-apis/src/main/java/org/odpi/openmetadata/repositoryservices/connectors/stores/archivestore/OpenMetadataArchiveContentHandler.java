@@ -0,0 +1,79 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveContentHandler receives the content of an open metadata archive in batches as it is read
+ * from the archive store.  This means the whole archive does not need to be held in memory while it is loaded.
+ * The archive properties are always passed first.  The batches then follow in load order: attribute type
+ * definitions, new type definitions, type definition patches, entities, relationships and finally
+ * classifications.  A connector that reads the archive incrementally checks the whole archive before it passes
+ * any content, so a badly formed archive is not partly loaded.
+ */
+public interface OpenMetadataArchiveContentHandler
+{
+    /**
+     * Process the header properties of the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Process a batch of attribute type definitions.
+     *
+     * @param attributeTypeDefs list of attribute type definitions
+     */
+    void processAttributeTypeDefs(List<AttributeTypeDef> attributeTypeDefs);
+
+
+    /**
+     * Process a batch of new type definitions.
+     *
+     * @param newTypeDefs list of type definitions
+     */
+    void processNewTypeDefs(List<TypeDef> newTypeDefs);
+
+
+    /**
+     * Process a batch of patches to existing type definitions.
+     *
+     * @param typeDefPatches list of patches
+     */
+    void processTypeDefPatches(List<TypeDefPatch> typeDefPatches);
+
+
+    /**
+     * Process a batch of entities.
+     *
+     * @param entities list of entities
+     */
+    void processEntities(List<EntityDetail> entities);
+
+
+    /**
+     * Process a batch of relationships.
+     *
+     * @param relationships list of relationships
+     */
+    void processRelationships(List<Relationship> relationships);
+
+
+    /**
+     * Process a batch of classifications.
+     *
+     * @param classifications list of classifications along with the entities they belong to
+     */
+    void processClassifications(List<ClassificationEntityExtension> classifications);
+}
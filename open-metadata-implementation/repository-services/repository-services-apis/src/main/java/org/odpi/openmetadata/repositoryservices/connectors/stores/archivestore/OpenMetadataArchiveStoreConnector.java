@@ -45,4 +45,18 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
 
         return null;
     }
+
+
+    /**
+     * Pass the contents of the archive to the handler.  This implementation retrieves the whole archive using
+     * getArchiveContents().  Connectors that are able to read the archive incrementally override this method
+     * to pass the content in batches.
+     *
+     * @param handler receiver of the archive content
+     * @return boolean true if the archive was retrieved; false if it is empty
+     */
+    public boolean processArchiveContents(OpenMetadataArchiveContentHandler handler)
+    {
+        return OpenMetadataArchiveStreamReader.processArchive(this.getArchiveContents(), handler);
+    }
 }
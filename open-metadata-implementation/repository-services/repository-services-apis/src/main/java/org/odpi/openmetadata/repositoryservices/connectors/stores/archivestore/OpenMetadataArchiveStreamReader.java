@@ -0,0 +1,517 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * OpenMetadataArchiveStreamReader parses an open metadata archive from a stream of JSON using the Jackson
+ * streaming API.  The type store and instance store are passed to an OpenMetadataArchiveContentHandler
+ * in batches as they are parsed, so the memory needed to load an archive depends on the batch size rather
+ * than the size of the archive.
+ *
+ * The archive properties must be processed before the content of the stores.  Archives written from an
+ * OpenMetadataArchive object place the properties first.  If a store appears before the properties,
+ * it is read into memory and passed to the handler once the properties have been read.
+ *
+ * The other content is passed to the handler in the order it appears in the archive, and a parsing error
+ * part way through the archive stops the reader after some batches have been passed.  A caller that can read
+ * the archive twice uses validateArchive first.  It finds parsing errors before anything is loaded, and it
+ * shows whether the content is in the order it must be loaded.
+ */
+public class OpenMetadataArchiveStreamReader
+{
+    /**
+     * Default number of elements passed to the handler in each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String ARCHIVE_PROPERTIES     = "archiveProperties";
+    private static final String ARCHIVE_TYPE_STORE     = "archiveTypeStore";
+    private static final String ARCHIVE_INSTANCE_STORE = "archiveInstanceStore";
+
+    private static final String ATTRIBUTE_TYPE_DEFS = "attributeTypeDefs";
+    private static final String NEW_TYPE_DEFS       = "newTypeDefs";
+    private static final String TYPE_DEF_PATCHES    = "typeDefPatches";
+
+    private static final String ENTITIES        = "entities";
+    private static final String RELATIONSHIPS   = "relationships";
+    private static final String CLASSIFICATIONS = "classifications";
+
+    private static final int GZIP_MAGIC_BYTE_1 = 0x1f;
+    private static final int GZIP_MAGIC_BYTE_2 = 0x8b;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final OpenMetadataArchiveContentHandler handler;
+    private final int                               batchSize;
+
+
+    /**
+     * Constructor
+     *
+     * @param handler receiver of the archive content
+     * @param batchSize maximum number of elements passed to the handler in a single call
+     */
+    public OpenMetadataArchiveStreamReader(OpenMetadataArchiveContentHandler handler,
+                                           int                               batchSize)
+    {
+        this.handler = handler;
+
+        if (batchSize > 0)
+        {
+            this.batchSize = batchSize;
+        }
+        else
+        {
+            this.batchSize = DEFAULT_BATCH_SIZE;
+        }
+    }
+
+
+    /**
+     * Return a stream that decompresses the supplied stream if it is gzip compressed.  The compression is
+     * detected from the first bytes of the stream rather than the name of the file.
+     *
+     * @param inputStream raw stream
+     * @return stream of uncompressed content
+     * @throws IOException unable to read the stream
+     */
+    public static InputStream getUncompressedStream(InputStream inputStream) throws IOException
+    {
+        BufferedInputStream bufferedStream = new BufferedInputStream(inputStream);
+
+        bufferedStream.mark(2);
+
+        int firstByte  = bufferedStream.read();
+        int secondByte = bufferedStream.read();
+
+        bufferedStream.reset();
+
+        if ((firstByte == GZIP_MAGIC_BYTE_1) && (secondByte == GZIP_MAGIC_BYTE_2))
+        {
+            return new GZIPInputStream(bufferedStream);
+        }
+
+        return bufferedStream;
+    }
+
+
+    /**
+     * Pass the content of an archive that is already in memory to the handler.  Nothing is passed
+     * if the archive has no properties.
+     *
+     * @param archive archive content
+     * @param handler receiver of the archive content
+     * @return boolean true if there is an archive; false if it is null
+     */
+    public static boolean processArchive(OpenMetadataArchive               archive,
+                                         OpenMetadataArchiveContentHandler handler)
+    {
+        if (archive == null)
+        {
+            return false;
+        }
+
+        if (archive.getArchiveProperties() != null)
+        {
+            handler.processArchiveProperties(archive.getArchiveProperties());
+
+            processTypeStore(archive.getArchiveTypeStore(), handler);
+            processInstanceStore(archive.getArchiveInstanceStore(), handler);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Parse the whole archive without passing its content to a handler.  Each element is parsed, so any
+     * error that would stop readArchive part way through is found.  The result says whether the
+     * content appears in the order it must be loaded: attribute type definitions, new type definitions,
+     * type definition patches, entities, relationships and then classifications.  Archives written from an
+     * OpenMetadataArchive object are in this order.  The stream is not closed.
+     *
+     * @param inputStream stream containing the JSON for the archive (use getUncompressedStream if it may be compressed)
+     * @return boolean true if readArchive will pass the content in load order; false if the archive must be
+     * read into memory and passed with processArchive
+     * @throws IOException the stream could not be read or does not contain a valid archive
+     */
+    public static boolean validateArchive(InputStream inputStream) throws IOException
+    {
+        LoadOrderChecker loadOrderChecker = new LoadOrderChecker();
+
+        new OpenMetadataArchiveStreamReader(loadOrderChecker, DEFAULT_BATCH_SIZE).readArchive(inputStream);
+
+        return loadOrderChecker.isInLoadOrder();
+    }
+
+
+    /**
+     * Parse the archive from the stream and pass its content to the handler.  Nothing is passed
+     * if the archive has no properties.  The stream is not closed.
+     *
+     * @param inputStream stream containing the JSON for the archive (use getUncompressedStream if it may be compressed)
+     * @throws IOException the stream could not be read or does not contain an archive
+     */
+    public void readArchive(InputStream inputStream) throws IOException
+    {
+        OpenMetadataArchiveProperties    archiveProperties     = null;
+        OpenMetadataArchiveTypeStore     deferredTypeStore     = null;
+        OpenMetadataArchiveInstanceStore deferredInstanceStore = null;
+
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(inputStream))
+        {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                throw new IOException("Open metadata archive does not begin with a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if (ARCHIVE_PROPERTIES.equals(fieldName))
+                {
+                    archiveProperties = parser.readValueAs(OpenMetadataArchiveProperties.class);
+
+                    if (archiveProperties != null)
+                    {
+                        handler.processArchiveProperties(archiveProperties);
+
+                        processTypeStore(deferredTypeStore, handler);
+                        processInstanceStore(deferredInstanceStore, handler);
+
+                        deferredTypeStore = null;
+                        deferredInstanceStore = null;
+                    }
+                }
+                else if (ARCHIVE_TYPE_STORE.equals(fieldName))
+                {
+                    if (archiveProperties == null)
+                    {
+                        deferredTypeStore = parser.readValueAs(OpenMetadataArchiveTypeStore.class);
+                    }
+                    else
+                    {
+                        this.readTypeStore(parser);
+                    }
+                }
+                else if (ARCHIVE_INSTANCE_STORE.equals(fieldName))
+                {
+                    if (archiveProperties == null)
+                    {
+                        deferredInstanceStore = parser.readValueAs(OpenMetadataArchiveInstanceStore.class);
+                    }
+                    else
+                    {
+                        this.readInstanceStore(parser);
+                    }
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Parse the type store, passing each list of definitions to the handler in batches.
+     *
+     * @param parser parser positioned at the start of the type store
+     * @throws IOException parsing error
+     */
+    private void readTypeStore(JsonParser parser) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            if (ATTRIBUTE_TYPE_DEFS.equals(fieldName))
+            {
+                this.readArray(parser, AttributeTypeDef.class, handler::processAttributeTypeDefs);
+            }
+            else if (NEW_TYPE_DEFS.equals(fieldName))
+            {
+                this.readArray(parser, TypeDef.class, handler::processNewTypeDefs);
+            }
+            else if (TYPE_DEF_PATCHES.equals(fieldName))
+            {
+                this.readArray(parser, TypeDefPatch.class, handler::processTypeDefPatches);
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+
+    /**
+     * Parse the instance store, passing each list of instances to the handler in batches.
+     *
+     * @param parser parser positioned at the start of the instance store
+     * @throws IOException parsing error
+     */
+    private void readInstanceStore(JsonParser parser) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            if (ENTITIES.equals(fieldName))
+            {
+                this.readArray(parser, EntityDetail.class, handler::processEntities);
+            }
+            else if (RELATIONSHIPS.equals(fieldName))
+            {
+                this.readArray(parser, Relationship.class, handler::processRelationships);
+            }
+            else if (CLASSIFICATIONS.equals(fieldName))
+            {
+                this.readArray(parser, ClassificationEntityExtension.class, handler::processClassifications);
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+
+    /**
+     * Parse an array of elements, passing them to the batch processor in batches.
+     *
+     * @param parser parser positioned at the start of the array
+     * @param elementClass class of the elements
+     * @param batchProcessor receiver of each batch
+     * @param <T> type of the elements
+     * @throws IOException parsing error
+     */
+    private <T> void readArray(JsonParser        parser,
+                               Class<T>          elementClass,
+                               Consumer<List<T>> batchProcessor) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        List<T> batch = new ArrayList<>();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            T element = parser.readValueAs(elementClass);
+
+            if (element != null)
+            {
+                batch.add(element);
+            }
+
+            if (batch.size() >= batchSize)
+            {
+                batchProcessor.accept(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        if (! batch.isEmpty())
+        {
+            batchProcessor.accept(batch);
+        }
+    }
+
+
+    /**
+     * Pass the content of a type store that is in memory to the handler.
+     *
+     * @param typeStore type store (may be null)
+     * @param handler receiver of the content
+     */
+    private static void processTypeStore(OpenMetadataArchiveTypeStore      typeStore,
+                                         OpenMetadataArchiveContentHandler handler)
+    {
+        if (typeStore != null)
+        {
+            if (typeStore.getAttributeTypeDefs() != null)
+            {
+                handler.processAttributeTypeDefs(typeStore.getAttributeTypeDefs());
+            }
+
+            if (typeStore.getNewTypeDefs() != null)
+            {
+                handler.processNewTypeDefs(typeStore.getNewTypeDefs());
+            }
+
+            if (typeStore.getTypeDefPatches() != null)
+            {
+                handler.processTypeDefPatches(typeStore.getTypeDefPatches());
+            }
+        }
+    }
+
+
+    /**
+     * Pass the content of an instance store that is in memory to the handler.
+     *
+     * @param instanceStore instance store (may be null)
+     * @param handler receiver of the content
+     */
+    private static void processInstanceStore(OpenMetadataArchiveInstanceStore  instanceStore,
+                                             OpenMetadataArchiveContentHandler handler)
+    {
+        if (instanceStore != null)
+        {
+            if (instanceStore.getEntities() != null)
+            {
+                handler.processEntities(instanceStore.getEntities());
+            }
+
+            if (instanceStore.getRelationships() != null)
+            {
+                handler.processRelationships(instanceStore.getRelationships());
+            }
+
+            if (instanceStore.getClassifications() != null)
+            {
+                handler.processClassifications(instanceStore.getClassifications());
+            }
+        }
+    }
+
+
+    /**
+     * LoadOrderChecker is the handler used by validateArchive.  It discards the content and notes whether
+     * each batch is of the same kind as the one before or a kind that is loaded later.
+     */
+    private static class LoadOrderChecker implements OpenMetadataArchiveContentHandler
+    {
+        private static final int ATTRIBUTE_TYPE_DEFS_STAGE = 1;
+        private static final int NEW_TYPE_DEFS_STAGE       = 2;
+        private static final int TYPE_DEF_PATCHES_STAGE    = 3;
+        private static final int ENTITIES_STAGE            = 4;
+        private static final int RELATIONSHIPS_STAGE       = 5;
+        private static final int CLASSIFICATIONS_STAGE     = 6;
+
+        private int     currentStage = 0;
+        private boolean inLoadOrder  = true;
+
+
+        /**
+         * Note the stage of the latest batch.
+         *
+         * @param stage position of this kind of content in the load order
+         */
+        private void checkStage(int stage)
+        {
+            if (stage < currentStage)
+            {
+                inLoadOrder = false;
+            }
+
+            currentStage = stage;
+        }
+
+
+        /**
+         * Return whether every batch was in load order.
+         *
+         * @return boolean result
+         */
+        boolean isInLoadOrder()
+        {
+            return inLoadOrder;
+        }
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+        }
+
+
+        @Override
+        public void processAttributeTypeDefs(List<AttributeTypeDef> attributeTypeDefs)
+        {
+            this.checkStage(ATTRIBUTE_TYPE_DEFS_STAGE);
+        }
+
+
+        @Override
+        public void processNewTypeDefs(List<TypeDef> newTypeDefs)
+        {
+            this.checkStage(NEW_TYPE_DEFS_STAGE);
+        }
+
+
+        @Override
+        public void processTypeDefPatches(List<TypeDefPatch> typeDefPatches)
+        {
+            this.checkStage(TYPE_DEF_PATCHES_STAGE);
+        }
+
+
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            this.checkStage(ENTITIES_STAGE);
+        }
+
+
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            this.checkStage(RELATIONSHIPS_STAGE);
+        }
+
+
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            this.checkStage(CLASSIFICATIONS_STAGE);
+        }
+    }
+}
@@ -203,6 +203,32 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
     }
 
 
+    /**
+     * Return whether an instance is homed in a metadata collection.  This is its home metadata collection or,
+     * for an instance from an external source, the metadata collection that replicates it.
+     *
+     * @param instance instance to test
+     * @param homeMetadataCollectionId metadata collection to test for (null matches every instance)
+     * @return boolean
+     */
+    protected boolean isHomedIn(InstanceHeader instance,
+                                String         homeMetadataCollectionId)
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return true;
+        }
+
+        if (instance == null)
+        {
+            return false;
+        }
+
+        return (homeMetadataCollectionId.equals(instance.getMetadataCollectionId())) ||
+               (homeMetadataCollectionId.equals(instance.getReplicatedBy()));
+    }
+
+
     /**
      * Return the component description that is used by this connector in the audit log.
      *
@@ -835,6 +861,25 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                          UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  This retrieves
+     * many entities in a single request.  Entities that are not known, or are only stored as proxies, in the
+     * metadata collection are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                          List<String> guids) throws InvalidParameterException,
+                                                                                     RepositoryErrorException,
+                                                                                     UserNotAuthorizedException;
+
+
     /**
      * Return a historical version of an entity.  Thi includes the header, classifications and properties of the entity.
      *
@@ -944,6 +989,83 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the number of relationships for a specific entity.  This is the number of relationships that
+     * getRelationshipsForEntity would return with no paging, without the cost of retrieving them.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the relationships retrieved to produce the count are not valid.
+     * @throws PagingErrorException the relationships could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract int countRelationshipsForEntity(String                     userId,
+                                                    String                     entityGUID,
+                                                    String                     relationshipTypeGUID,
+                                                    List<InstanceStatus>       limitResultsByStatus,
+                                                    Date                       asOfTime) throws InvalidParameterException,
+                                                                                                TypeErrorException,
+                                                                                                RepositoryErrorException,
+                                                                                                EntityNotKnownException,
+                                                                                                PropertyErrorException,
+                                                                                                PagingErrorException,
+                                                                                                FunctionNotSupportedException,
+                                                                                                UserNotAuthorizedException;
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     * A caller that federates several repositories can add up the counts from each repository, asking each one
+     * for the instances homed in its own metadata collection, without counting reference copies twice.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the relationships retrieved to produce the count are not valid.
+     * @throws PagingErrorException the relationships could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract int countRelationshipsForEntity(String                     userId,
+                                                    String                     entityGUID,
+                                                    String                     relationshipTypeGUID,
+                                                    List<InstanceStatus>       limitResultsByStatus,
+                                                    Date                       asOfTime,
+                                                    String                     homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                                TypeErrorException,
+                                                                                                                RepositoryErrorException,
+                                                                                                                EntityNotKnownException,
+                                                                                                                PropertyErrorException,
+                                                                                                                PagingErrorException,
+                                                                                                                FunctionNotSupportedException,
+                                                                                                                UserNotAuthorizedException;
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1052,6 +1174,94 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                                                           UserNotAuthorizedException;
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  This is
+     * the number of entities that findEntitiesByProperty would return with no paging, without the cost of
+     * retrieving them.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the entities could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public  abstract int countEntitiesByProperty(String                    userId,
+                                                 String                    entityTypeGUID,
+                                                 InstanceProperties        matchProperties,
+                                                 MatchCriteria             matchCriteria,
+                                                 List<InstanceStatus>      limitResultsByStatus,
+                                                 List<String>              limitResultsByClassification,
+                                                 Date                      asOfTime) throws InvalidParameterException,
+                                                                                            RepositoryErrorException,
+                                                                                            TypeErrorException,
+                                                                                            PropertyErrorException,
+                                                                                            PagingErrorException,
+                                                                                            FunctionNotSupportedException,
+                                                                                            UserNotAuthorizedException;
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and are
+     * homed in the requested metadata collection.  A caller that federates several repositories can add up the
+     * counts from each repository, asking each one for the instances homed in its own metadata collection,
+     * without counting reference copies twice.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the entities could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  abstract int countEntitiesByProperty(String                    userId,
+                                                 String                    entityTypeGUID,
+                                                 InstanceProperties        matchProperties,
+                                                 MatchCriteria             matchCriteria,
+                                                 List<InstanceStatus>      limitResultsByStatus,
+                                                 List<String>              limitResultsByClassification,
+                                                 Date                      asOfTime,
+                                                 String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                           RepositoryErrorException,
+                                                                                                           TypeErrorException,
+                                                                                                           PropertyErrorException,
+                                                                                                           PagingErrorException,
+                                                                                                           FunctionNotSupportedException,
+                                                                                                           UserNotAuthorizedException;
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1203,6 +1413,25 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                         RelationshipNotKnownException,
                                                                         UserNotAuthorizedException;
 
+
+    /**
+     * Return the current version of each of the requested relationships.  This retrieves many relationships
+     * in a single request.  Relationships that are not known in the metadata collection are left out of
+     * the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                               List<String> guids) throws InvalidParameterException,
+                                                                                          RepositoryErrorException,
+                                                                                          UserNotAuthorizedException;
+
     /**
      * Return a historical version of a relationship.
      *
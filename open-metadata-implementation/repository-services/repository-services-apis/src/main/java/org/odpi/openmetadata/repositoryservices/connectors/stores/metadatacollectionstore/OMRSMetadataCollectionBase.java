@@ -12,6 +12,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRegexMatcher;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -517,7 +519,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (typeDef != null)
                     {
-                        if (typeDef.getName().matches(typeDefName))
+                        if (OMRSRegexMatcher.matches(typeDef.getName(), typeDefName))
                         {
                             matchedTypeDefs.add(typeDef);
                         }
@@ -533,7 +535,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (attributeTypeDef != null)
                     {
-                        if (attributeTypeDef.getName().matches(typeDefName))
+                        if (OMRSRegexMatcher.matches(attributeTypeDef.getName(), typeDefName))
                         {
                             matchedAttributeTypeDefs.add(attributeTypeDef);
                         }
@@ -981,7 +983,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
             {
                 if (typeDef != null)
                 {
-                    if (typeDef.getName().matches(searchCriteria))
+                    if (OMRSRegexMatcher.matches(typeDef.getName(), searchCriteria))
                     {
                         matchedTypeDefs.add(typeDef);
                     }
@@ -1843,6 +1845,38 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for a retrieve of many instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException one of the guids is null
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     */
+    protected  void getInstancesParameterValidation(String       userId,
+                                                    List<String> guids,
+                                                    String       methodName) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String  guidsParameterName = "guids";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (guids != null)
+        {
+            for (String guid : guids)
+            {
+                repositoryValidator.validateGUID(repositoryName, guidsParameterName, guid, methodName);
+            }
+        }
+    }
+
+
     /**
      * Validate the parameters for a retrieve multiple historical versions of an instance.
      *
@@ -2730,6 +2764,66 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  This retrieves
+     * many entities in a single request.  Entities that are not known, or are only stored as proxies, in the
+     * metadata collection are left out of the results.  This default implementation retrieves each entity
+     * with getEntityDetail.  Repositories that can retrieve many entities together should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                results.add(this.getEntityDetail(userId, guid));
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException notFound)
+            {
+                /*
+                 * Entities that are not stored in this metadata collection are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity. This includes the header, classifications and properties of the entity.
      *
@@ -2896,6 +2990,134 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  This default implementation retrieves the
+     * relationships with getRelationshipsForEntity and counts them.  Repositories that can count their
+     * relationships without retrieving them should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the relationships retrieved to produce the count are not valid.
+     * @throws PagingErrorException the relationships could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                          entityGUID,
+                                                                          relationshipTypeGUID,
+                                                                          0,
+                                                                          limitResultsByStatus,
+                                                                          asOfTime,
+                                                                          null,
+                                                                          null,
+                                                                          0);
+
+        if (relationships == null)
+        {
+            return 0;
+        }
+
+        return relationships.size();
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     * This default implementation retrieves the relationships with getRelationshipsForEntity and counts the ones
+     * homed in the metadata collection.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the relationships retrieved to produce the count are not valid.
+     * @throws PagingErrorException the relationships could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           String                     homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                       TypeErrorException,
+                                                                                                       RepositoryErrorException,
+                                                                                                       EntityNotKnownException,
+                                                                                                       PropertyErrorException,
+                                                                                                       PagingErrorException,
+                                                                                                       FunctionNotSupportedException,
+                                                                                                       UserNotAuthorizedException
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return this.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime);
+        }
+
+        List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                          entityGUID,
+                                                                          relationshipTypeGUID,
+                                                                          0,
+                                                                          limitResultsByStatus,
+                                                                          asOfTime,
+                                                                          null,
+                                                                          null,
+                                                                          0);
+        int count = 0;
+
+        if (relationships != null)
+        {
+            for (Relationship relationship : relationships)
+            {
+                if (this.isHomedIn(relationship, homeMetadataCollectionId))
+                {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -3053,6 +3275,152 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  This
+     * default implementation retrieves the entities with findEntitiesByProperty and counts them.  Repositories that
+     * can count their entities without retrieving them should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the entities could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        List<EntityDetail> entities = this.findEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  0,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  null,
+                                                                  null,
+                                                                  0);
+
+        if (entities == null)
+        {
+            return 0;
+        }
+
+        return entities.size();
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and are
+     * homed in the requested metadata collection.  This default implementation retrieves the entities with
+     * findEntitiesByProperty and counts the ones homed in the metadata collection.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the entities could not be retrieved to produce the count.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 TypeErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return this.countEntitiesByProperty(userId,
+                                                entityTypeGUID,
+                                                matchProperties,
+                                                matchCriteria,
+                                                limitResultsByStatus,
+                                                limitResultsByClassification,
+                                                asOfTime);
+        }
+
+        List<EntityDetail> entities = this.findEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  0,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  null,
+                                                                  null,
+                                                                  0);
+        int count = 0;
+
+        if (entities != null)
+        {
+            for (EntityDetail entity : entities)
+            {
+                if (this.isHomedIn(entity, homeMetadataCollectionId))
+                {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -3287,6 +3655,66 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  This retrieves many relationships
+     * in a single request.  Relationships that are not known in the metadata collection are left out of
+     * the results.  This default implementation retrieves each relationship with getRelationship.  Repositories
+     * that can retrieve many relationships together should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationshipsByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Perform operation
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            try
+            {
+                results.add(this.getRelationship(userId, guid));
+            }
+            catch (RelationshipNotKnownException notFound)
+            {
+                /*
+                 * Relationships that are not stored in this metadata collection are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
 
     /**
      * Return a historical version of a relationship.
@@ -6157,6 +6585,166 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate a batch of reference copies.  The request is validated once for the whole batch and then the header
+     * of each instance is checked.  Instances from the local metadata collection are skipped, as they are in
+     * saveInstanceReferenceCopies, and instances with an invalid header are added to the failures rather than
+     * rejecting the whole batch.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances instances to save.
+     * @param validEntities list to add the valid entities to
+     * @param validRelationships list to add the valid relationships to
+     * @param failures map to add the instances that are not valid to, with the exception for each one
+     * @param methodName calling method
+     * @throws InvalidParameterException the userId is invalid
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     */
+    protected void referenceInstanceBatchValidation(String                         userId,
+                                                    InstanceGraph                  instances,
+                                                    List<EntityDetail>             validEntities,
+                                                    List<Relationship>             validRelationships,
+                                                    Map<InstanceHeader, Exception> failures,
+                                                    String                         methodName) throws InvalidParameterException,
+                                                                                                      RepositoryErrorException
+    {
+        final String entityParameterName       = "instances.entities";
+        final String relationshipParameterName = "instances.relationships";
+
+        this.basicRequestValidation(userId, methodName);
+
+        if (instances != null)
+        {
+            if (instances.getEntities() != null)
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                    {
+                        try
+                        {
+                            repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                                metadataCollectionId,
+                                                                                entityParameterName,
+                                                                                entity,
+                                                                                auditLog,
+                                                                                methodName);
+                            validEntities.add(entity);
+                        }
+                        catch (InvalidParameterException | RepositoryErrorException error)
+                        {
+                            failures.put(entity, error);
+                        }
+                    }
+                }
+            }
+
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
+                {
+                    if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                    {
+                        try
+                        {
+                            repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                                metadataCollectionId,
+                                                                                relationshipParameterName,
+                                                                                relationship,
+                                                                                auditLog,
+                                                                                methodName);
+                            validRelationships.add(relationship);
+                        }
+                        catch (InvalidParameterException | RepositoryErrorException error)
+                        {
+                            failures.put(relationship, error);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Report the instances in a batch of reference copies that could not be saved.  Each failure is recorded in the
+     * audit log.  An exception describing the first failure is then thrown so the caller knows that only part of the
+     * batch was saved.
+     *
+     * @param failures instances that could not be saved, with the exception for each one
+     * @param instanceCount number of instances in the batch
+     * @param methodName calling method
+     * @throws InvalidEntityException the first instance that could not be saved is an entity
+     * @throws InvalidRelationshipException the first instance that could not be saved is a relationship
+     */
+    protected void reportReferenceCopyFailures(Map<InstanceHeader, Exception> failures,
+                                               int                            instanceCount,
+                                               String                         methodName) throws InvalidEntityException,
+                                                                                                 InvalidRelationshipException
+    {
+        if ((failures == null) || (failures.isEmpty()))
+        {
+            return;
+        }
+
+        InstanceHeader firstInstance = null;
+        Exception      firstError    = null;
+
+        for (Map.Entry<InstanceHeader, Exception> failure : failures.entrySet())
+        {
+            InstanceHeader instance = failure.getKey();
+            Exception      error    = failure.getValue();
+
+            if (firstInstance == null)
+            {
+                firstInstance = instance;
+                firstError    = error;
+            }
+
+            if (auditLog != null)
+            {
+                String typeName = (instance.getType() == null) ? null : instance.getType().getTypeDefName();
+
+                auditLog.logException(methodName,
+                                      OMRSAuditCode.REFERENCE_COPY_NOT_SAVED.getMessageDefinition(instance.getGUID(),
+                                                                                                  typeName,
+                                                                                                  instance.getMetadataCollectionId(),
+                                                                                                  error.getClass().getName(),
+                                                                                                  error.getMessage()),
+                                      instance.toString(),
+                                      error);
+            }
+        }
+
+        String errorMessage = (firstError instanceof OMRSCheckedExceptionBase) ?
+                ((OMRSCheckedExceptionBase) firstError).getReportedErrorMessage() : firstError.getMessage();
+
+        if (firstInstance instanceof EntityDetail)
+        {
+            throw new InvalidEntityException(OMRSErrorCode.REFERENCE_COPIES_NOT_SAVED.getMessageDefinition(repositoryName,
+                                                                                                           Integer.toString(failures.size()),
+                                                                                                           Integer.toString(instanceCount),
+                                                                                                           firstInstance.getGUID(),
+                                                                                                           firstError.getClass().getName(),
+                                                                                                           errorMessage),
+                                             this.getClass().getName(),
+                                             methodName,
+                                             firstError);
+        }
+
+        throw new InvalidRelationshipException(OMRSErrorCode.REFERENCE_COPIES_NOT_SAVED.getMessageDefinition(repositoryName,
+                                                                                                             Integer.toString(failures.size()),
+                                                                                                             Integer.toString(instanceCount),
+                                                                                                             firstInstance.getGUID(),
+                                                                                                             firstError.getClass().getName(),
+                                                                                                             errorMessage),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               firstError);
+    }
+
+
     /**
      * Save the entity as a reference copy.  The id of the home metadata collection is already set up in the
      * entity.
@@ -215,6 +215,23 @@ public class OMRSMetadataDefaultRepositorySecurity implements OpenMetadataReposi
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return entities to return (may be altered by the repositorySecurityConnector)
+     */
+    @Override
+    public List<EntityDetail>  validateUserForEntityListRead(String             userId,
+                                                             String             metadataCollectionName,
+                                                             List<EntityDetail> instances)
+    {
+        return instances;
+    }
+
+
     /**
      * Tests for whether a specific user should have read access to a specific instance within a repository.
      *
@@ -440,6 +457,23 @@ public class OMRSMetadataDefaultRepositorySecurity implements OpenMetadataReposi
     }
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return relationships to return (may be altered by the repositorySecurityConnector)
+     */
+    @Override
+    public List<Relationship>  validateUserForRelationshipListRead(String             userId,
+                                                                   String             metadataCollectionName,
+                                                                   List<Relationship> instances)
+    {
+        return instances;
+    }
+
+
     /**
      * Tests for whether a specific user should have the right to update a instance within a repository.
      *
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -178,6 +179,42 @@ public interface OpenMetadataRepositorySecurity
                                            EntityDetail instance) throws UserNotAuthorizedException;
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * The default implementation calls validateUserForEntityRead for each instance.  Connectors that consult
+     * an external policy engine can override it to check the whole list in one request.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return entities the user can see, in the order supplied (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    default List<EntityDetail> validateUserForEntityListRead(String             userId,
+                                                             String             metadataCollectionName,
+                                                             List<EntityDetail> instances) throws UserNotAuthorizedException
+    {
+        if (instances == null)
+        {
+            return null;
+        }
+
+        List<EntityDetail> visibleInstances = new ArrayList<>();
+
+        for (EntityDetail instance : instances)
+        {
+            EntityDetail visibleInstance = this.validateUserForEntityRead(userId, metadataCollectionName, instance);
+
+            if (visibleInstance != null)
+            {
+                visibleInstances.add(visibleInstance);
+            }
+        }
+
+        return visibleInstances;
+    }
+
+
     /**
      * Tests for whether a specific user should have read access to a specific instance within a repository.
      *
@@ -377,6 +414,42 @@ public interface OpenMetadataRepositorySecurity
                                                   Relationship instance) throws UserNotAuthorizedException;
 
 
+    /**
+     * Tests for which of a list of instances a specific user should have read access to within a repository.
+     * The default implementation calls validateUserForRelationshipRead for each instance.  Connectors that consult
+     * an external policy engine can override it to check the whole list in one request.
+     *
+     * @param userId identifier of user
+     * @param metadataCollectionName configurable name of the metadata collection
+     * @param instances instance details
+     * @return relationships the user can see, in the order supplied (maybe altered by the connector)
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve instances
+     */
+    default List<Relationship> validateUserForRelationshipListRead(String             userId,
+                                                                   String             metadataCollectionName,
+                                                                   List<Relationship> instances) throws UserNotAuthorizedException
+    {
+        if (instances == null)
+        {
+            return null;
+        }
+
+        List<Relationship> visibleInstances = new ArrayList<>();
+
+        for (Relationship instance : instances)
+        {
+            Relationship visibleInstance = this.validateUserForRelationshipRead(userId, metadataCollectionName, instance);
+
+            if (visibleInstance != null)
+            {
+                visibleInstances.add(visibleInstance);
+            }
+        }
+
+        return visibleInstances;
+    }
+
+
     /**
      * Tests for whether a specific user should have the right to update an instance within a repository.
      *
@@ -0,0 +1,290 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * OMRSRegexMatcher tests string values against the regular expressions used in the search requests.
+ * It is a replacement for String.matches() that avoids compiling the same regular expression for every
+ * value tested.
+ *
+ * Regular expressions built by the repository helper's getExactMatchRegex, getStartsWithRegex,
+ * getEndsWithRegex and getContainsRegex methods (with or without case-insensitivity) are recognized and
+ * tested with plain string comparisons.  Any other regular expression is compiled once and the pattern
+ * is kept in a bounded cache that is shared by all callers in the JVM.
+ */
+public class OMRSRegexMatcher
+{
+    private static final int    MAX_CACHED_EXPRESSIONS = 2000;
+
+    private static final String CASE_INSENSITIVE_FLAG  = "(?i)";
+    private static final String QUOTE_START            = "\\Q";
+    private static final String QUOTE_END              = "\\E";
+    private static final String ANY_CHARACTERS         = ".*";
+
+    private static final Map<String, CompiledRegex> compiledExpressions = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor to prevent instances of this class.
+     */
+    private OMRSRegexMatcher()
+    {
+    }
+
+
+    /**
+     * Return whether the whole of the value matches the regular expression.  This gives the same result
+     * as value.matches(regex).
+     *
+     * @param value value to test
+     * @param regex regular expression
+     * @return boolean result
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    public static boolean matches(String value,
+                                  String regex) throws PatternSyntaxException
+    {
+        return getCompiledRegex(regex).matches(value);
+    }
+
+
+    /**
+     * Return the compiled regular expression, from the cache if possible.  When the cache is full it is emptied
+     * rather than tracking the use of each entry, since the set of regular expressions in use is normally
+     * small and this keeps the lookups free of locks.
+     *
+     * @param regex regular expression
+     * @return compiled form
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    private static CompiledRegex getCompiledRegex(String regex) throws PatternSyntaxException
+    {
+        CompiledRegex compiledRegex = compiledExpressions.get(regex);
+
+        if (compiledRegex == null)
+        {
+            compiledRegex = compile(regex);
+
+            if (compiledExpressions.size() >= MAX_CACHED_EXPRESSIONS)
+            {
+                compiledExpressions.clear();
+            }
+
+            compiledExpressions.put(regex, compiledRegex);
+        }
+
+        return compiledRegex;
+    }
+
+
+    /**
+     * Recognize the literal regular expressions, or compile the regular expression into a pattern.
+     *
+     * @param regex regular expression
+     * @return compiled form
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    private static CompiledRegex compile(String regex) throws PatternSyntaxException
+    {
+        String  body        = regex;
+        boolean insensitive = false;
+
+        if (body.startsWith(CASE_INSENSITIVE_FLAG))
+        {
+            body        = body.substring(CASE_INSENSITIVE_FLAG.length());
+            insensitive = true;
+        }
+
+        boolean anyPrefix = body.startsWith(ANY_CHARACTERS + QUOTE_START);
+        boolean anySuffix = body.endsWith(QUOTE_END + ANY_CHARACTERS);
+
+        if (anyPrefix)
+        {
+            body = body.substring(ANY_CHARACTERS.length());
+        }
+
+        if (anySuffix)
+        {
+            body = body.substring(0, body.length() - ANY_CHARACTERS.length());
+        }
+
+        if ((body.length() >= QUOTE_START.length() + QUOTE_END.length())
+                && (body.startsWith(QUOTE_START))
+                && (body.indexOf(QUOTE_END) == body.length() - QUOTE_END.length()))
+        {
+            String literal = body.substring(QUOTE_START.length(), body.length() - QUOTE_END.length());
+
+            return new CompiledRegex(Pattern.compile(regex), literal, insensitive, anyPrefix, anySuffix);
+        }
+
+        return new CompiledRegex(Pattern.compile(regex), null, false, false, false);
+    }
+
+
+    /**
+     * CompiledRegex holds the compiled pattern for the regular expression and, for the literal regular
+     * expressions, the literal string with the position it must match at.
+     */
+    private static class CompiledRegex
+    {
+        private final Pattern pattern;
+        private final String  literal;
+        private final boolean insensitive;
+        private final boolean anyPrefix;
+        private final boolean anySuffix;
+
+
+        /**
+         * Constructor
+         *
+         * @param pattern compiled regular expression
+         * @param literal literal string to match or null if the regular expression is not a literal match
+         * @param insensitive ignore the case of ASCII letters
+         * @param anyPrefix any characters may precede the literal
+         * @param anySuffix any characters may follow the literal
+         */
+        CompiledRegex(Pattern pattern,
+                      String  literal,
+                      boolean insensitive,
+                      boolean anyPrefix,
+                      boolean anySuffix)
+        {
+            this.pattern     = pattern;
+            this.literal     = literal;
+            this.insensitive = insensitive;
+            this.anyPrefix   = anyPrefix;
+            this.anySuffix   = anySuffix;
+        }
+
+
+        /**
+         * Return whether the whole of the value matches.
+         *
+         * @param value value to test
+         * @return boolean result
+         */
+        boolean matches(String value)
+        {
+            if (literal == null)
+            {
+                return pattern.matcher(value).matches();
+            }
+
+            if ((! anyPrefix) && (! anySuffix))
+            {
+                return (value.length() == literal.length()) && regionMatches(value, 0);
+            }
+
+            /*
+             * In a regular expression "." does not match a line terminator so these values need the full
+             * regular expression.
+             */
+            if (hasLineTerminator(value))
+            {
+                return pattern.matcher(value).matches();
+            }
+
+            int spare = value.length() - literal.length();
+
+            if (spare < 0)
+            {
+                return false;
+            }
+
+            if (! anyPrefix)
+            {
+                return regionMatches(value, 0);
+            }
+
+            if (! anySuffix)
+            {
+                return regionMatches(value, spare);
+            }
+
+            for (int offset = 0; offset <= spare; offset++)
+            {
+                if (regionMatches(value, offset))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Does the literal match the value at the supplied offset?  The case-insensitive comparison only folds
+         * ASCII letters, as the (?i) flag does.
+         *
+         * @param value value to test
+         * @param offset position in the value
+         * @return boolean result
+         */
+        private boolean regionMatches(String value,
+                                      int    offset)
+        {
+            if (! insensitive)
+            {
+                return value.startsWith(literal, offset);
+            }
+
+            for (int i = 0; i < literal.length(); i++)
+            {
+                char valueChar   = value.charAt(offset + i);
+                char literalChar = literal.charAt(i);
+
+                if ((valueChar != literalChar) && (toLowerCaseASCII(valueChar) != toLowerCaseASCII(literalChar)))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Convert an ASCII upper case letter to lower case.
+         *
+         * @param character character to convert
+         * @return converted character
+         */
+        private static char toLowerCaseASCII(char character)
+        {
+            if ((character >= 'A') && (character <= 'Z'))
+            {
+                return (char) (character + ('a' - 'A'));
+            }
+
+            return character;
+        }
+
+
+        /**
+         * Does the value contain a character that a regular expression treats as a line terminator?
+         *
+         * @param value value to test
+         * @return boolean result
+         */
+        private static boolean hasLineTerminator(String value)
+        {
+            for (int i = 0; i < value.length(); i++)
+            {
+                char character = value.charAt(i);
+
+                if ((character == '\n') || (character == '\r') || (character == '\u0085') || (character == '\u2028') || (character == '\u2029'))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -12,15 +12,18 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
 
 /**
- * OMRSEventProtocolVersion provides the identifier for the version number of the event payload.  There is
- * only one version at the moment which is why it looks a little sad.
+ * OMRSEventProtocolVersion provides the identifier for the version number of the event payload.  V1_BINARY
+ * carries the same version 1 event payload as V1 but encodes it in the compact binary Smile format rather than JSON.
+ * Any server that supports V1_BINARY is able to receive both encodings, so it should only be configured
+ * once all members of the cohort are able to decode it.
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown=true)
 public enum OMRSEventProtocolVersion implements Serializable
 {
-    V1 (1, "OMRS V1.0", "OMRS Version 1");
+    V1        (1, "OMRS V1.0", "OMRS Version 1"),
+    V1_BINARY (2, "OMRS V1.0 Binary", "OMRS Version 1 encoded in the binary Smile format");
 
     private static final long     serialVersionUID = 1L;
 
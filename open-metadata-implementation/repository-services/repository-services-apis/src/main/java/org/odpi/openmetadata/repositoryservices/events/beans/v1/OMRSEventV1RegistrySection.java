@@ -28,6 +28,7 @@ public class OMRSEventV1RegistrySection implements Serializable
     private Date                  registrationTimestamp  = null;
     private String                metadataCollectionName = null;
     private Connection            remoteConnection       = null;
+    private Boolean               binaryEventsSupported  = null;
 
 
     public OMRSEventV1RegistrySection()
@@ -83,6 +84,29 @@ public class OMRSEventV1RegistrySection implements Serializable
     }
 
 
+    /**
+     * Return whether the sending server is able to receive events in the binary (Smile) encoding.
+     * Null means the sending server is back-level and does not advertise this capability.
+     *
+     * @return Boolean
+     */
+    public Boolean getBinaryEventsSupported()
+    {
+        return binaryEventsSupported;
+    }
+
+
+    /**
+     * Set up whether the sending server is able to receive events in the binary (Smile) encoding.
+     *
+     * @param binaryEventsSupported Boolean
+     */
+    public void setBinaryEventsSupported(Boolean binaryEventsSupported)
+    {
+        this.binaryEventsSupported = binaryEventsSupported;
+    }
+
+
     /**
      * JSON-style toString.
      *
@@ -96,6 +120,7 @@ public class OMRSEventV1RegistrySection implements Serializable
                        ", registrationTimestamp=" + registrationTimestamp +
                        ", metadataCollectionName='" + metadataCollectionName + '\'' +
                        ", remoteConnection=" + remoteConnection +
+                       ", binaryEventsSupported=" + binaryEventsSupported +
                        '}';
     }
 }
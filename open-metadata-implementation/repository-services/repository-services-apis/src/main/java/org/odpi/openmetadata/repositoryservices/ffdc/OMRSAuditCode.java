@@ -462,6 +462,12 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                           "The OMRS Topic Connector was passed a null event by the event bus.",
                           "Review the exception to identify the source of the error and correct it."),
 
+    BINARY_EVENTS_NOT_SUPPORTED("OMRS-AUDIT-0103",
+                                OMRSAuditLogRecordSeverity.INFO,
+                                "The event bus connector {0} for topic {1} does not support binary events so events for protocol {2} are sent to it as JSON",
+                                "The OMRS Topic Connector sends JSON events to this event bus connector and binary events to the others.",
+                                "No action is required if this is expected.  Otherwise, configure an event bus connector that supports binary events."),
+
     SEND_REGISTRY_EVENT_ERROR("OMRS-AUDIT-0105",
                               OMRSAuditLogRecordSeverity.EXCEPTION,
                               "Unable to send a registry event for cohort {0} due to an error in the OMRS Topic Connector",
@@ -948,6 +954,18 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                        "The local server is processing a federated query to all members of the connected cohorts.  However one of the members is not responding correctly and so it has been skipped from the call. The remote server is probably not running, or has been incorrectly configured.",
                                        "Validate the availability and configuration of the remote server.  It may be a temporary failure due to an outage in the network or the server itself.  However, if the remote server is not configured correctly, or has changed its metadata collection id, then this wil lbe a permanent error and this server will not be included in the federated query until it is fixed."),
 
+    FEDERATED_REQUEST_TIMED_OUT("OMRS-AUDIT-0402",
+                                OMRSAuditLogRecordSeverity.ACTION,
+                                "The call to repository {0} for federated request {1} did not complete within {2} milliseconds and its results have been ignored",
+                                "The local server is processing a federated query to all members of the connected cohorts in parallel.  One of the members did not respond within the time allowed and so the query continued without it.  The remote server may be overloaded, or there may be a problem with the network.",
+                                "Validate the availability and performance of the remote server.  If it is a large repository that needs longer to process queries, increase the federation timeout for the enterprise repository services."),
+
+    FEDERATED_PAGE_INCOMPLETE("OMRS-AUDIT-0403",
+                              OMRSAuditLogRecordSeverity.ACTION,
+                              "A federated query stopped after {0} requests to each repository before its page of results starting at element {1} was complete, so some results are missing",
+                              "The local server is processing a federated query to all members of the connected cohorts.  The repositories returned their results in small pages and the limit on the number of requests for a single page of federated results was reached.  The caller receives the results gathered so far.",
+                              "Increase the maximum page size of the repositories in the cohort, or request smaller pages of results."),
+
     PROCESS_UNKNOWN_EVENT("OMRS-AUDIT-8001",
                           OMRSAuditLogRecordSeverity.ERROR,
                           "Received unknown event: {0}",
@@ -1014,6 +1032,14 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                     "This message is to create a record of the events that are being published.",
                     "Validate that the server is sending the events that are expected"),
 
+    REFERENCE_COPY_NOT_SAVED("OMRS-AUDIT-8010",
+                    OMRSAuditLogRecordSeverity.EXCEPTION,
+                    "The reference copy of instance {0} of type {1} from metadata collection {2} in a batch of reference instances could not " +
+                            "be saved.  The exception was {3} with message {4}",
+                    "The server has skipped this instance and continued to process the rest of the batch.",
+                    "Review the instance and the exception to determine the source of the error and its resolution.  The instance is " +
+                            "saved when the home repository next sends it to the cohort."),
+
     NULL_OMRS_EVENT_RECEIVED("OMRS-AUDIT-9002",
                              OMRSAuditLogRecordSeverity.EXCEPTION,
                              "Unable to process a received event from topic {0} because its content is null",
@@ -383,6 +383,11 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The OMRS repository connector operation {0} does not allow a time range from {1} to {2}",
             "The system is unable continue processing the request because the time range provided does not overlap.",
             "Correct the code in the caller's method (potentially just reverse the times) and retry the request."),
+    REFERENCE_COPIES_NOT_SAVED(400, "OMRS-REPOSITORY-400-084",
+            "Repository {0} was unable to save {1} of the {2} reference instances in a batch.  The first failure was for instance {3} " +
+                    "with exception {4} and message {5}",
+            "The other instances in the batch have been saved.  The failure of each instance has been recorded in the audit log.",
+            "Review the audit log messages for the instances that were not saved to determine the source of the error and its resolution."),
 
     NULL_USER_NAME(400, "OMRS-REST-API-400-001",
             "The OMRS REST API for server {0} has been called with a null user name (userId)",
@@ -579,6 +584,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    INVALID_AUDIT_LOG_PAGING(400, "OMRS-AUDIT-LOG-400-009",
+            "The Audit Log destination {0} has been passed an offset of {1} and a maximumRecords of {2} on the {3} request",
+            "The system is unable to process the query because neither value may be negative.",
+            "Correct the caller's code so that it passes an offset and maximumRecords of zero or more and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -864,6 +873,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "This server does not support the requested event protocol level.",
             "The protocol level is set in the configuration.  The admin services should not allow a protocol level that is not supported by its local OMRS." +
                                             " Raise a Github issue to get this fixed."),
+    BINARY_EVENTS_NOT_SUPPORTED(501, "OMRS-METADATA-TOPIC-CONNECTOR-501-001",
+            "The {0} open metadata topic connector for topic {1} is not able to send binary events",
+            "The event is not sent.",
+            "Only send binary events to open metadata topic connectors that report that they support binary events."),
     NO_REPOSITORIES(503, "OMRS-ENTERPRISE-REPOSITORY-503-001",
             "There are no open metadata repositories available for access service {0}.",
             "The configuration for the server is set up so there is no local repository and no remote repositories " +
@@ -959,6 +972,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "Unable to create REST Client for repository {0}.  The error message was {1}",
             "The server has issued a call to the open metadata repository REST API services in a remote repository and has received an exception from the local client libraries.",
             "Look for errors in the local repository's audit log and console to understand and correct the source of the error."),
+    REMOTE_API_NOT_IMPLEMENTED(501, "OMRS-REST-API-501-001",
+            "API call {0} is not implemented by the platform hosting repository {1}",
+            "The remote platform is from an earlier release that does not offer this call.",
+            "No action is required.  The caller uses the equivalent calls that the remote platform does offer.  Upgrading the remote platform makes the call available."),
     CLIENT_SIDE_REST_API_ERROR(503, "OMRS-REST-API-503-006",
             "A client-side exception was received from API call {0} to repository {1}.  The error message was {2}",
             "The server has invoked a call on the open metadata repository REST API services in a remote repository and has received an exception from the local client libraries.",
@@ -27,6 +27,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
                 @JsonSubTypes.Type(value = ClassificationRequest.class, name = "ClassificationRequest"),
                 @JsonSubTypes.Type(value = InstanceGraphRequest.class, name = "InstanceGraphRequest"),
                 @JsonSubTypes.Type(value = MetadataCollectionIdRequest.class, name = "MetadataCollectionIdRequest"),
+                @JsonSubTypes.Type(value = InstanceGUIDListRequest.class, name = "InstanceGUIDListRequest"),
                 @JsonSubTypes.Type(value = EntityCreateRequest.class, name = "EntityCreateRequest"),
                 @JsonSubTypes.Type(value = RelationshipCreateRequest.class, name = "RelationshipCreateRequest")
         })
@@ -0,0 +1,371 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+/**
+ * Compare the JSON and binary (Smile) encodings of representative OMRS instance events.  The benchmark
+ * records the size of each encoding and the time to encode and decode it.  The results are logged rather
+ * than asserted (apart from the size) since timings depend on the machine running the tests.
+ */
+public class OMRSEventEncodingBenchmarkTest
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSEventEncodingBenchmarkTest.class);
+
+    private static final int WARM_UP_ITERATIONS = 2000;
+    private static final int TIMED_ITERATIONS   = 5000;
+
+    private final ObjectMapper jsonMapper  = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+
+    /**
+     * An event decoded from the binary encoding should be identical to the original event.
+     *
+     * @throws Exception encoding error
+     */
+    @Test
+    public void testBinaryRoundTrip() throws Exception
+    {
+        for (OMRSEventV1 event : this.getRepresentativeEvents())
+        {
+            byte[]        binaryEvent  = smileMapper.writeValueAsBytes(event);
+            OMRSEventBean decodedEvent = smileMapper.readValue(binaryEvent, OMRSEventBean.class);
+
+            assertTrue(decodedEvent instanceof OMRSEventV1);
+            assertEquals(jsonMapper.writeValueAsString(decodedEvent), jsonMapper.writeValueAsString(event));
+        }
+    }
+
+
+    /**
+     * The OMRS topic connector should accept both binary and JSON payloads as byte arrays.
+     *
+     * @throws Exception encoding error
+     */
+    @Test
+    public void testProcessBinaryEvent() throws Exception
+    {
+        OMRSTopicConnector       topicConnector = new OMRSTopicConnector();
+        List<OMRSInstanceEvent>  receivedEvents = new ArrayList<>();
+
+        topicConnector.setAuditLog(new AuditLog(new AuditLogDestination(null)
+        {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord)
+            {
+                log.debug(logRecord.toString());
+            }
+        }, OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR));
+
+        topicConnector.registerListener(new OMRSTopicListener()
+        {
+            @Override
+            public void processRegistryEvent(OMRSRegistryEvent event)
+            {
+            }
+
+            @Override
+            public void processTypeDefEvent(OMRSTypeDefEvent event)
+            {
+            }
+
+            @Override
+            public void processInstanceEvent(OMRSInstanceEvent event)
+            {
+                synchronized (receivedEvents)
+                {
+                    receivedEvents.add(event);
+                }
+            }
+        }, "Encoding Test");
+
+        OMRSEventV1 event = this.getRepresentativeEvents().get(0);
+
+        topicConnector.processEvent(smileMapper.writeValueAsBytes(event));
+        topicConnector.processEvent(jsonMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(receivedEvents.size(), 2);
+
+        for (OMRSInstanceEvent receivedEvent : receivedEvents)
+        {
+            assertEquals(receivedEvent.getInstanceEventType(), OMRSInstanceEventType.UPDATED_ENTITY_EVENT);
+            assertEquals(receivedEvent.getEntity().getGUID(), event.getInstanceEventSection().getEntity().getGUID());
+        }
+    }
+
+
+    /**
+     * Measure the size and the encode/decode time of each encoding.
+     *
+     * @throws Exception encoding error
+     */
+    @Test
+    public void benchmarkEncodings() throws Exception
+    {
+        for (OMRSEventV1 event : this.getRepresentativeEvents())
+        {
+            String eventType  = event.getInstanceEventSection().getEventType().getName();
+            byte[] jsonEvent  = jsonMapper.writeValueAsBytes(event);
+            byte[] smileEvent = smileMapper.writeValueAsBytes(event);
+
+            assertTrue(smileEvent.length < jsonEvent.length);
+
+            long jsonEncode  = this.timeEncoding(jsonMapper, event);
+            long smileEncode = this.timeEncoding(smileMapper, event);
+            long jsonDecode  = this.timeDecoding(jsonMapper, jsonEvent);
+            long smileDecode = this.timeDecoding(smileMapper, smileEvent);
+
+            log.info("{}: JSON {} bytes, encode {} ns, decode {} ns; Smile {} bytes, encode {} ns, decode {} ns",
+                     eventType,
+                     jsonEvent.length, jsonEncode, jsonDecode,
+                     smileEvent.length, smileEncode, smileDecode);
+        }
+    }
+
+
+    /**
+     * Return the average time to encode an event.
+     *
+     * @param mapper mapper for the encoding
+     * @param event event to encode
+     * @return nanoseconds per event
+     * @throws Exception encoding error
+     */
+    private long timeEncoding(ObjectMapper mapper,
+                              OMRSEventV1  event) throws Exception
+    {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+        {
+            mapper.writeValueAsBytes(event);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < TIMED_ITERATIONS; i++)
+        {
+            mapper.writeValueAsBytes(event);
+        }
+
+        return (System.nanoTime() - start) / TIMED_ITERATIONS;
+    }
+
+
+    /**
+     * Return the average time to decode an event.
+     *
+     * @param mapper mapper for the encoding
+     * @param encodedEvent event to decode
+     * @return nanoseconds per event
+     * @throws Exception decoding error
+     */
+    private long timeDecoding(ObjectMapper mapper,
+                              byte[]       encodedEvent) throws Exception
+    {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+        {
+            mapper.readValue(encodedEvent, OMRSEventBean.class);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < TIMED_ITERATIONS; i++)
+        {
+            mapper.readValue(encodedEvent, OMRSEventBean.class);
+        }
+
+        return (System.nanoTime() - start) / TIMED_ITERATIONS;
+    }
+
+
+    /**
+     * Return an updated entity event and a new relationship event with typical content.
+     *
+     * @return list of events
+     */
+    private List<OMRSEventV1> getRepresentativeEvents()
+    {
+        List<OMRSEventV1>   events     = new ArrayList<>();
+        OMRSEventOriginator originator = new OMRSEventOriginator();
+
+        originator.setMetadataCollectionId(UUID.randomUUID().toString());
+        originator.setServerName("cocoMDS1");
+        originator.setServerType("Metadata Access Store");
+        originator.setOrganizationName("Coco Pharmaceuticals");
+
+        EntityDetail originalEntity = this.getEntity("GlossaryTerm", 1L);
+        EntityDetail newEntity      = new EntityDetail(originalEntity);
+
+        newEntity.setVersion(2L);
+        newEntity.setUpdatedBy("erinoverview");
+        newEntity.setUpdateTime(new Date());
+
+        OMRSInstanceEvent entityEvent = new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, originalEntity, newEntity);
+
+        entityEvent.setEventOriginator(originator);
+        events.add(entityEvent.getOMRSEventV1());
+
+        Relationship relationship = new Relationship();
+
+        this.setHeader(relationship, TypeDefCategory.RELATIONSHIP_DEF, "SemanticAssignment", 1L);
+        relationship.setProperties(this.getProperties(6));
+        relationship.setEntityOneProxy(this.getProxy(this.getEntity("RelationalColumn", 1L)));
+        relationship.setEntityTwoProxy(this.getProxy(newEntity));
+
+        OMRSInstanceEvent relationshipEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT, relationship);
+
+        relationshipEvent.setEventOriginator(originator);
+        events.add(relationshipEvent.getOMRSEventV1());
+
+        return events;
+    }
+
+
+    /**
+     * Return an entity with properties and classifications.
+     *
+     * @param typeName name of the entity's type
+     * @param version version of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String typeName,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        this.setHeader(entity, TypeDefCategory.ENTITY_DEF, typeName, version);
+        entity.setProperties(this.getProperties(12));
+
+        List<Classification> classifications = new ArrayList<>();
+
+        for (String classificationName : new String[]{"Confidentiality", "Criticality", "SubjectArea"})
+        {
+            Classification classification = new Classification();
+
+            classification.setName(classificationName);
+            classification.setType(new InstanceType(TypeDefCategory.CLASSIFICATION_DEF,
+                                                    UUID.randomUUID().toString(),
+                                                    classificationName,
+                                                    1L));
+            classification.setClassificationOrigin(ClassificationOrigin.ASSIGNED);
+            classification.setProperties(this.getProperties(4));
+            classification.setStatus(InstanceStatus.ACTIVE);
+            classification.setCreatedBy("garygeeke");
+            classification.setCreateTime(new Date());
+            classification.setVersion(1L);
+
+            classifications.add(classification);
+        }
+
+        entity.setClassifications(classifications);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a proxy for an entity.
+     *
+     * @param entity entity
+     * @return proxy
+     */
+    private EntityProxy getProxy(EntityDetail entity)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        this.setHeader(proxy, TypeDefCategory.ENTITY_DEF, entity.getType().getTypeDefName(), entity.getVersion());
+        proxy.setGUID(entity.getGUID());
+        proxy.setUniqueProperties(this.getProperties(1));
+
+        return proxy;
+    }
+
+
+    /**
+     * Set up the header properties of an instance.
+     *
+     * @param instance instance to update
+     * @param category category of the instance's type
+     * @param typeName name of the instance's type
+     * @param version version of the instance
+     */
+    private void setHeader(InstanceHeader  instance,
+                           TypeDefCategory category,
+                           String          typeName,
+                           long            version)
+    {
+        instance.setGUID(UUID.randomUUID().toString());
+        instance.setType(new InstanceType(category, UUID.randomUUID().toString(), typeName, 1L));
+        instance.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        instance.setMetadataCollectionId(UUID.randomUUID().toString());
+        instance.setMetadataCollectionName("cocoMDS1 metadata collection");
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setCreatedBy("garygeeke");
+        instance.setCreateTime(new Date());
+        instance.setVersion(version);
+        instance.setInstanceURL("https://cocoMDS1:9443/servers/cocoMDS1/open-metadata/repository-services/instances/" + instance.getGUID());
+    }
+
+
+    /**
+     * Return a set of string properties.
+     *
+     * @param count number of properties
+     * @return instance properties
+     */
+    private InstanceProperties getProperties(int count)
+    {
+        InstanceProperties properties = new InstanceProperties();
+
+        for (int i = 0; i < count; i++)
+        {
+            PrimitivePropertyValue value = new PrimitivePropertyValue();
+
+            value.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            value.setTypeName(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getName());
+            value.setTypeGUID(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID());
+            value.setPrimitiveValue("Value of property " + i + " describing part of the metadata for this instance");
+
+            properties.setProperty("property" + i, value);
+        }
+
+        return properties;
+    }
+}
@@ -0,0 +1,319 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMRSTopicConnector only sends binary events when every registered member of the cohort has
+ * advertised that it is able to receive them, and that it advertises its own capability in its registry events.
+ */
+public class OMRSTopicConnectorEncodingTest
+{
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+
+    /**
+     * Events are sent in JSON until a member has registered, in binary while every member supports it,
+     * and in JSON again once a back-level member registers.  Binary events resume when it unregisters.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testEncodingFollowsMembers() throws Exception
+    {
+        RecordingTopicConnector eventBusConnector = new RecordingTopicConnector(true);
+        OMRSTopicConnector      topicConnector    = this.getTopicConnector(eventBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+
+        this.sendTypeDefEvent(topicConnector);
+        assertEquals(eventBusConnector.jsonEvents.size(), 1);
+
+        this.receiveRegistryEvent(topicConnector, "member-1", OMRSRegistryEventType.REGISTRATION_EVENT, true);
+        this.receiveRegistryEvent(topicConnector, "member-2", OMRSRegistryEventType.RE_REGISTRATION_EVENT, true);
+
+        this.sendTypeDefEvent(topicConnector);
+        assertEquals(eventBusConnector.binaryEvents.size(), 1);
+
+        this.receiveRegistryEvent(topicConnector, "member-3", OMRSRegistryEventType.REGISTRATION_EVENT, null);
+
+        this.sendTypeDefEvent(topicConnector);
+        assertEquals(eventBusConnector.jsonEvents.size(), 2);
+        assertEquals(eventBusConnector.binaryEvents.size(), 1);
+
+        this.receiveRegistryEvent(topicConnector, "member-3", OMRSRegistryEventType.UN_REGISTRATION_EVENT, null);
+
+        this.sendTypeDefEvent(topicConnector);
+        assertEquals(eventBusConnector.binaryEvents.size(), 2);
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * Without the V1_BINARY protocol level, or with an event bus connector that can not carry binary events,
+     * events are sent in JSON.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testJSONWithoutBinarySupport() throws Exception
+    {
+        RecordingTopicConnector eventBusConnector = new RecordingTopicConnector(true);
+        OMRSTopicConnector      topicConnector    = this.getTopicConnector(eventBusConnector, OMRSEventProtocolVersion.V1);
+
+        this.receiveRegistryEvent(topicConnector, "member-1", OMRSRegistryEventType.REGISTRATION_EVENT, true);
+        this.sendTypeDefEvent(topicConnector);
+
+        assertEquals(eventBusConnector.jsonEvents.size(), 1);
+        assertTrue(eventBusConnector.binaryEvents.isEmpty());
+
+        topicConnector.disconnect();
+
+        eventBusConnector = new RecordingTopicConnector(false);
+        topicConnector    = this.getTopicConnector(eventBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+
+        this.receiveRegistryEvent(topicConnector, "member-1", OMRSRegistryEventType.REGISTRATION_EVENT, true);
+        this.sendTypeDefEvent(topicConnector);
+
+        assertEquals(eventBusConnector.jsonEvents.size(), 1);
+        assertTrue(eventBusConnector.binaryEvents.isEmpty());
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * Registry events are always sent in JSON and carry this server's capability.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testRegistryEventAdvertisesCapability() throws Exception
+    {
+        RecordingTopicConnector eventBusConnector = new RecordingTopicConnector(true);
+        OMRSTopicConnector      topicConnector    = this.getTopicConnector(eventBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+
+        this.receiveRegistryEvent(topicConnector, "member-1", OMRSRegistryEventType.REGISTRATION_EVENT, true);
+
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.RE_REGISTRATION_EVENT,
+                                                               new Date(),
+                                                               "testCollection",
+                                                               null)).get();
+
+        assertTrue(eventBusConnector.binaryEvents.isEmpty());
+        assertEquals(eventBusConnector.jsonEvents.size(), 1);
+
+        OMRSEventV1 sentEvent = (OMRSEventV1) jsonMapper.readValue(eventBusConnector.jsonEvents.get(0), OMRSEventBean.class);
+
+        assertTrue(sentEvent.getRegistryEventSection().getBinaryEventsSupported());
+
+        topicConnector.disconnect();
+
+        eventBusConnector = new RecordingTopicConnector(false);
+        topicConnector    = this.getTopicConnector(eventBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+
+        topicConnector.sendRegistryEvent(new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                               new Date(),
+                                                               "testCollection",
+                                                               null)).get();
+
+        sentEvent = (OMRSEventV1) jsonMapper.readValue(eventBusConnector.jsonEvents.get(0), OMRSEventBean.class);
+
+        assertFalse(sentEvent.getRegistryEventSection().getBinaryEventsSupported());
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * With dedicated topics, a connector that shares the registration connector's members uses the
+     * registry events received on the registration topic.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSharedCohortMembership() throws Exception
+    {
+        RecordingTopicConnector registrationBusConnector = new RecordingTopicConnector(true);
+        RecordingTopicConnector instancesBusConnector    = new RecordingTopicConnector(true);
+        OMRSTopicConnector      registrationConnector    = this.getTopicConnector(registrationBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+        OMRSTopicConnector      instancesConnector       = this.getTopicConnector(instancesBusConnector, OMRSEventProtocolVersion.V1_BINARY);
+
+        instancesConnector.shareCohortMembership(registrationConnector);
+
+        this.receiveRegistryEvent(registrationConnector, "member-1", OMRSRegistryEventType.REGISTRATION_EVENT, true);
+        this.sendTypeDefEvent(instancesConnector);
+
+        assertEquals(instancesBusConnector.binaryEvents.size(), 1);
+        assertTrue(instancesBusConnector.jsonEvents.isEmpty());
+
+        this.receiveRegistryEvent(registrationConnector, "member-2", OMRSRegistryEventType.REGISTRATION_EVENT, false);
+        this.sendTypeDefEvent(instancesConnector);
+
+        assertEquals(instancesBusConnector.jsonEvents.size(), 1);
+
+        registrationConnector.disconnect();
+        instancesConnector.disconnect();
+    }
+
+
+    /**
+     * A back-level member does not send the capability, which is read as null.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testBackLevelRegistryEvent() throws Exception
+    {
+        OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(OMRSRegistryEventType.REGISTRATION_EVENT,
+                                                                new Date(),
+                                                                "testCollection",
+                                                                null);
+        String            eventString   = jsonMapper.writeValueAsString(registryEvent.getOMRSEventV1());
+
+        assertFalse(eventString.contains("binaryEventsSupported"));
+
+        OMRSEventV1 event = (OMRSEventV1) jsonMapper.readValue(eventString, OMRSEventBean.class);
+
+        assertNull(event.getRegistryEventSection().getBinaryEventsSupported());
+    }
+
+
+    /**
+     * Return a started topic connector that uses the supplied event bus connector.
+     *
+     * @param eventBusConnector event bus connector
+     * @param eventProtocolVersion protocol level
+     * @return topic connector
+     * @throws Exception unable to start the connector
+     */
+    private OMRSTopicConnector getTopicConnector(RecordingTopicConnector  eventBusConnector,
+                                                 OMRSEventProtocolVersion eventProtocolVersion) throws Exception
+    {
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        List<Connector>    embedded       = new ArrayList<>();
+
+        embedded.add(eventBusConnector);
+
+        topicConnector.initialize("OMRSTopicConnectorEncodingTest", new ConnectionProperties(new Connection()));
+        topicConnector.initializeEmbeddedConnectors(embedded);
+        topicConnector.setEventProtocolLevel(eventProtocolVersion);
+        topicConnector.start();
+
+        return topicConnector;
+    }
+
+
+    /**
+     * Send a TypeDef event and wait for it to be passed to the event bus connector.
+     *
+     * @param topicConnector topic connector
+     * @throws Exception unable to send the event
+     */
+    private void sendTypeDefEvent(OMRSTopicConnector topicConnector) throws Exception
+    {
+        topicConnector.sendTypeDefEvent(new OMRSTypeDefEvent(OMRSTypeDefEventType.DELETED_TYPEDEF_EVENT,
+                                                             "typeDefGUID",
+                                                             "TestType")).get();
+    }
+
+
+    /**
+     * Pass a registry event from a member to the topic connector as if it had arrived on the topic.
+     *
+     * @param topicConnector topic connector
+     * @param metadataCollectionId id of the member
+     * @param registryEventType type of registry event
+     * @param binaryEventsSupported capability that the member advertises, or null for a back-level member
+     * @throws Exception unable to encode the event
+     */
+    private void receiveRegistryEvent(OMRSTopicConnector    topicConnector,
+                                      String                metadataCollectionId,
+                                      OMRSRegistryEventType registryEventType,
+                                      Boolean               binaryEventsSupported) throws Exception
+    {
+        OMRSRegistryEvent   registryEvent = new OMRSRegistryEvent(registryEventType, new Date(), metadataCollectionId, null);
+        OMRSEventOriginator originator    = new OMRSEventOriginator();
+
+        originator.setMetadataCollectionId(metadataCollectionId);
+        registryEvent.setEventOriginator(originator);
+
+        OMRSEventV1 event = registryEvent.getOMRSEventV1();
+
+        event.getRegistryEventSection().setBinaryEventsSupported(binaryEventsSupported);
+
+        topicConnector.processEvent(jsonMapper.writeValueAsString(event));
+    }
+
+
+    /**
+     * Event bus connector that records the events it is asked to send.
+     */
+    private static class RecordingTopicConnector extends OpenMetadataTopicConnector
+    {
+        private final boolean      binaryEventSupported;
+        private final List<String> jsonEvents   = new ArrayList<>();
+        private final List<byte[]> binaryEvents = new ArrayList<>();
+
+
+        RecordingTopicConnector(boolean binaryEventSupported)
+        {
+            this.binaryEventSupported = binaryEventSupported;
+        }
+
+
+        @Override
+        public void start()
+        {
+        }
+
+
+        @Override
+        public boolean isBinaryEventSupported()
+        {
+            return binaryEventSupported;
+        }
+
+
+        @Override
+        public void sendEvent(String event)
+        {
+            jsonEvents.add(event);
+        }
+
+
+        @Override
+        public void sendEvent(byte[] event) throws ConnectorCheckedException
+        {
+            if (! binaryEventSupported)
+            {
+                super.sendEvent(event);
+            }
+
+            binaryEvents.add(event);
+        }
+    }
+}
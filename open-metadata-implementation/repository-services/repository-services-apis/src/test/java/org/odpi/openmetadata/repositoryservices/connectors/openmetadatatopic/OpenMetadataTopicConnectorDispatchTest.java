@@ -0,0 +1,240 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the delivery of events from an event bus connector to the topic listeners.
+ */
+public class OpenMetadataTopicConnectorDispatchTest
+{
+    private static final int LONG_SLEEP_TIME = 30000;
+
+
+    /**
+     * Events passed to deliverEvent() should reach the listener without waiting for the sleep time.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testPushDelivery() throws Exception
+    {
+        TestTopicConnector connector = this.getConnector(false, LONG_SLEEP_TIME);
+        CountDownLatch     received  = new CountDownLatch(3);
+        List<String>       events    = Collections.synchronizedList(new ArrayList<>());
+
+        connector.registerListener(event ->
+        {
+            events.add(event);
+            received.countDown();
+        });
+        connector.start();
+
+        try
+        {
+            Thread.sleep(100);
+
+            long start = System.currentTimeMillis();
+
+            assertTrue(connector.deliver(new IncomingEvent("event-1", "1")));
+            assertTrue(connector.deliver(new IncomingEvent("event-2", "2")));
+            assertTrue(connector.deliver(new IncomingEvent("event-3", "3")));
+
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            assertTrue(System.currentTimeMillis() - start < LONG_SLEEP_TIME);
+            assertEquals(events, List.of("event-1", "event-2", "event-3"));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Connectors that only return events from checkForIncomingEvents() should still have their events delivered.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testPolledDelivery() throws Exception
+    {
+        TestTopicConnector connector = this.getConnector(false, 10);
+        CountDownLatch     received  = new CountDownLatch(2);
+
+        connector.registerListener(event -> received.countDown());
+        connector.start();
+
+        try
+        {
+            connector.addPolledEvent(new IncomingEvent("event-1", "1"));
+            connector.addPolledEvent(new IncomingEvent("event-2", "2"));
+
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * With dedicated listener threads, a listener that is blocked should not hold up delivery to the others,
+     * and the event is only fully processed once the blocked listener has seen it.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testDedicatedListenerThreads() throws Exception
+    {
+        TestTopicConnector connector      = this.getConnector(true, LONG_SLEEP_TIME);
+        CountDownLatch     releaseSlow    = new CountDownLatch(1);
+        CountDownLatch     fastReceived   = new CountDownLatch(2);
+        List<String>       slowEvents     = Collections.synchronizedList(new ArrayList<>());
+
+        connector.registerListener(event ->
+        {
+            try
+            {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            slowEvents.add(event);
+        });
+        connector.registerListener(event -> fastReceived.countDown());
+        connector.start();
+
+        try
+        {
+            IncomingEvent firstEvent  = new IncomingEvent("event-1", "1");
+            IncomingEvent secondEvent = new IncomingEvent("event-2", "2");
+
+            connector.deliver(firstEvent);
+            connector.deliver(secondEvent);
+
+            assertTrue(fastReceived.await(10, TimeUnit.SECONDS));
+            assertTrue(slowEvents.isEmpty());
+            assertFalse(firstEvent.isFullyProcessed());
+
+            releaseSlow.countDown();
+
+            long deadline = System.currentTimeMillis() + 10000;
+
+            while ((! secondEvent.isFullyProcessed()) && (System.currentTimeMillis() < deadline))
+            {
+                Thread.sleep(10);
+            }
+
+            assertTrue(firstEvent.isFullyProcessed());
+            assertTrue(secondEvent.isFullyProcessed());
+            assertEquals(slowEvents, List.of("event-1", "event-2"));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Create a connector for the test.
+     *
+     * @param dedicatedListenerThreads should each listener have its own thread
+     * @param sleepTime time in milliseconds between calls to checkForIncomingEvents()
+     * @return initialized connector
+     */
+    private TestTopicConnector getConnector(boolean dedicatedListenerThreads,
+                                            int     sleepTime)
+    {
+        Connection          connection              = new Connection();
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(OpenMetadataTopicProvider.sleepTimeProperty, sleepTime);
+        configurationProperties.put(OpenMetadataTopicProvider.dedicatedListenerThreadsProperty, dedicatedListenerThreads);
+        connection.setConfigurationProperties(configurationProperties);
+
+        TestTopicConnector connector = new TestTopicConnector();
+
+        connector.initialize("TestConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    /**
+     * Simple event bus connector that supports both ways of receiving events.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        private final List<IncomingEvent> polledEvents = new ArrayList<>();
+
+
+        /**
+         * Pass an event to the listener thread.
+         *
+         * @param event event
+         * @return whether the event was queued
+         * @throws InterruptedException interrupted
+         */
+        boolean deliver(IncomingEvent event) throws InterruptedException
+        {
+            return super.deliverEvent(event);
+        }
+
+
+        /**
+         * Add an event to be returned by the next call to checkForIncomingEvents().
+         *
+         * @param event event
+         */
+        synchronized void addPolledEvent(IncomingEvent event)
+        {
+            polledEvents.add(event);
+        }
+
+
+        /**
+         * Return the events added since the last call.
+         *
+         * @return list of events
+         */
+        @Override
+        protected synchronized List<IncomingEvent> checkForIncomingEvents()
+        {
+            List<IncomingEvent> events = new ArrayList<>(polledEvents);
+
+            polledEvents.clear();
+
+            return events;
+        }
+
+
+        /**
+         * Events are not sent in this test.
+         *
+         * @param event event
+         */
+        @Override
+        public void sendEvent(String event)
+        {
+        }
+    }
+}
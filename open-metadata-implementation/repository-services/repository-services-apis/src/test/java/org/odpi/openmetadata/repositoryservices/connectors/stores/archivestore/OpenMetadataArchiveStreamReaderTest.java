@@ -0,0 +1,299 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the stream reader passes the content of an archive to the handler in batches.
+ */
+public class OpenMetadataArchiveStreamReaderTest
+{
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    /**
+     * Entities and relationships should arrive in batches no bigger than the batch size, after the properties.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testBatches() throws Exception
+    {
+        TestHandler handler = new TestHandler();
+
+        new OpenMetadataArchiveStreamReader(handler, 2).readArchive(new ByteArrayInputStream(this.getArchiveJSON()));
+
+        assertEquals(handler.calls, List.of("properties", "entities:2", "entities:2", "entities:1", "relationships:2"));
+        assertEquals(handler.entityGUIDs, List.of("e0", "e1", "e2", "e3", "e4"));
+    }
+
+
+    /**
+     * A gzip compressed archive should be detected and read in the same way.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testCompressedArchive() throws Exception
+    {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed))
+        {
+            gzipStream.write(this.getArchiveJSON());
+        }
+
+        TestHandler handler     = new TestHandler();
+        InputStream inputStream = OpenMetadataArchiveStreamReader.getUncompressedStream(new ByteArrayInputStream(compressed.toByteArray()));
+
+        new OpenMetadataArchiveStreamReader(handler, 10).readArchive(inputStream);
+
+        assertEquals(handler.calls, List.of("properties", "entities:5", "relationships:2"));
+    }
+
+
+    /**
+     * A store that appears before the properties should be held back until the properties have been processed.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testPropertiesAfterStores() throws Exception
+    {
+        OpenMetadataArchiveProperties properties = new OpenMetadataArchiveProperties();
+
+        properties.setArchiveGUID("archive-1");
+
+        String json = "{\"archiveInstanceStore\":" + this.getSingleEntityStoreJSON() + "," +
+                      "\"archiveProperties\":" + objectMapper.writeValueAsString(properties) + "}";
+
+        TestHandler handler = new TestHandler();
+
+        new OpenMetadataArchiveStreamReader(handler, 10).readArchive(new ByteArrayInputStream(json.getBytes()));
+
+        assertEquals(handler.calls, List.of("properties", "entities:1"));
+    }
+
+
+    /**
+     * An archive without properties is not passed to the handler.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testNoProperties() throws Exception
+    {
+        String json = "{\"archiveInstanceStore\":" + this.getSingleEntityStoreJSON() + "}";
+
+        TestHandler handler = new TestHandler();
+
+        new OpenMetadataArchiveStreamReader(handler, 10).readArchive(new ByteArrayInputStream(json.getBytes()));
+
+        assertTrue(handler.calls.isEmpty());
+        assertFalse(OpenMetadataArchiveStreamReader.processArchive(null, handler));
+    }
+
+
+    /**
+     * Validation parses the whole archive and reports whether the content is in load order.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testValidateArchive() throws Exception
+    {
+        assertTrue(OpenMetadataArchiveStreamReader.validateArchive(new ByteArrayInputStream(this.getArchiveJSON())));
+
+        OpenMetadataArchiveProperties properties = new OpenMetadataArchiveProperties();
+        OpenMetadataArchiveTypeStore  typeStore  = new OpenMetadataArchiveTypeStore();
+
+        properties.setArchiveGUID("archive-1");
+        typeStore.setNewTypeDefs(List.of(new EntityDef()));
+
+        String typesFirst = "{\"archiveProperties\":" + objectMapper.writeValueAsString(properties) + "," +
+                            "\"archiveTypeStore\":" + objectMapper.writeValueAsString(typeStore) + "," +
+                            "\"archiveInstanceStore\":" + this.getSingleEntityStoreJSON() + "}";
+        String typesLast  = "{\"archiveProperties\":" + objectMapper.writeValueAsString(properties) + "," +
+                            "\"archiveInstanceStore\":" + this.getSingleEntityStoreJSON() + "," +
+                            "\"archiveTypeStore\":" + objectMapper.writeValueAsString(typeStore) + "}";
+
+        assertTrue(OpenMetadataArchiveStreamReader.validateArchive(new ByteArrayInputStream(typesFirst.getBytes())));
+        assertFalse(OpenMetadataArchiveStreamReader.validateArchive(new ByteArrayInputStream(typesLast.getBytes())));
+    }
+
+
+    /**
+     * An archive that is cut short passes some batches to the handler when it is streamed, but validation
+     * rejects it without passing anything.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testTruncatedArchive() throws Exception
+    {
+        byte[] archiveJSON = this.getArchiveJSON();
+        String truncated   = new String(archiveJSON, 0, archiveJSON.length - 20);
+
+        TestHandler handler = new TestHandler();
+
+        try
+        {
+            new OpenMetadataArchiveStreamReader(handler, 2).readArchive(new ByteArrayInputStream(truncated.getBytes()));
+            fail("IOException expected");
+        }
+        catch (IOException expected)
+        {
+            assertTrue(handler.calls.contains("entities:2"));
+        }
+
+        try
+        {
+            OpenMetadataArchiveStreamReader.validateArchive(new ByteArrayInputStream(truncated.getBytes()));
+            fail("IOException expected");
+        }
+        catch (IOException expected)
+        {
+            /*
+             * The archive is rejected.
+             */
+        }
+    }
+
+
+    /**
+     * Build the JSON for an instance store containing a single entity.
+     *
+     * @return serialized instance store
+     * @throws Exception serialization failure
+     */
+    private String getSingleEntityStoreJSON() throws Exception
+    {
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        EntityDetail                     entity        = new EntityDetail();
+
+        entity.setGUID("e0");
+        instanceStore.setEntities(List.of(entity));
+
+        return objectMapper.writeValueAsString(instanceStore);
+    }
+
+
+    /**
+     * Build the JSON for an archive with five entities and two relationships.
+     *
+     * @return serialized archive
+     * @throws Exception serialization failure
+     */
+    private byte[] getArchiveJSON() throws Exception
+    {
+        OpenMetadataArchive              archive       = new OpenMetadataArchive();
+        OpenMetadataArchiveProperties    properties    = new OpenMetadataArchiveProperties();
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        List<EntityDetail>               entities      = new ArrayList<>();
+        List<Relationship>               relationships = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID("e" + i);
+            entities.add(entity);
+        }
+
+        for (int i = 0; i < 2; i++)
+        {
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("r" + i);
+            relationships.add(relationship);
+        }
+
+        properties.setArchiveGUID("archive-1");
+        instanceStore.setEntities(entities);
+        instanceStore.setRelationships(relationships);
+        archive.setArchiveProperties(properties);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return objectMapper.writeValueAsBytes(archive);
+    }
+
+
+    /**
+     * Handler that records the calls it receives.
+     */
+    private static class TestHandler implements OpenMetadataArchiveContentHandler
+    {
+        final List<String> calls       = new ArrayList<>();
+        final List<String> entityGUIDs = new ArrayList<>();
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            calls.add("properties");
+        }
+
+        @Override
+        public void processAttributeTypeDefs(List<AttributeTypeDef> attributeTypeDefs)
+        {
+            calls.add("attributeTypeDefs:" + attributeTypeDefs.size());
+        }
+
+        @Override
+        public void processNewTypeDefs(List<TypeDef> newTypeDefs)
+        {
+            calls.add("newTypeDefs:" + newTypeDefs.size());
+        }
+
+        @Override
+        public void processTypeDefPatches(List<TypeDefPatch> typeDefPatches)
+        {
+            calls.add("typeDefPatches:" + typeDefPatches.size());
+        }
+
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            calls.add("entities:" + entities.size());
+
+            for (EntityDetail entity : entities)
+            {
+                entityGUIDs.add(entity.getGUID());
+            }
+        }
+
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            calls.add("relationships:" + relationships.size());
+        }
+
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            calls.add("classifications:" + classifications.size());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that OMRSRegexMatcher gives the same results as String.matches() for both the literal regular
+ * expressions that it tests without a pattern and for general regular expressions.
+ */
+public class TestOMRSRegexMatcher
+{
+    private static final String[] literals = { "", "abc", "ABC", "a.c", "a*", "x\\Ey", "\\Q" };
+
+    private static final String[] values   = { "", "abc", "ABC", "xabcx", "xABC", "abcx", "a.c", "abc\nx",
+                                               "x\nabc", "abc\u2028", "a*", "x\\Ey", "\\Qz", "\u212Abc", "kbc" };
+
+    private static final String[] regexes  = { ".*", "a.c", "(?i)a.*", "[a-z]+", "ab|x.*", ".*\\Qb\\E.*\\Qc\\E" };
+
+
+    /**
+     * Check the regular expressions built from literal strings.
+     */
+    @Test public void testLiteralRegexes()
+    {
+        for (String literal : literals)
+        {
+            String quoted = Pattern.quote(literal);
+
+            for (String regex : new String[] { quoted, quoted + ".*", ".*" + quoted, ".*" + quoted + ".*" })
+            {
+                checkValues(regex);
+                checkValues("(?i)" + regex);
+            }
+        }
+
+        checkValues("(?i)\\Qkbc\\E");
+    }
+
+
+    /**
+     * Check general regular expressions.
+     */
+    @Test public void testGeneralRegexes()
+    {
+        for (String regex : regexes)
+        {
+            checkValues(regex);
+        }
+    }
+
+
+    /**
+     * Check that an invalid regular expression is reported.
+     */
+    @Test public void testInvalidRegex()
+    {
+        try
+        {
+            OMRSRegexMatcher.matches("abc", "a[b");
+            fail("PatternSyntaxException expected");
+        }
+        catch (PatternSyntaxException expected)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Compare the matcher with String.matches() for each of the test values.
+     *
+     * @param regex regular expression to test
+     */
+    private void checkValues(String regex)
+    {
+        for (String value : values)
+        {
+            assertEquals(OMRSRegexMatcher.matches(value, regex), value.matches(regex), "'" + value + "' matches '" + regex + "'");
+        }
+    }
+}
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.clients;
 
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
 import org.odpi.openmetadata.adapters.connectors.restclients.factory.RESTClientFactory;
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -1207,6 +1208,47 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities in a single call.
+     * Entities that are not known, or are only stored as proxies, in the metadata collection are left out of
+     * the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException  one of the guids is null.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            FunctionNotSupportedException,
+                                                                            UserNotAuthorizedException
+    {
+        final String methodName  = "getEntitiesByGUIDs";
+        final String operationSpecificURL = "instances/entities/by-guids";
+
+        InstanceGUIDListRequest guidListRequest = new InstanceGUIDListRequest();
+
+        guidListRequest.setGUIDs(guids);
+
+        EntityListResponse restResult = this.callOptionalPostRESTCall(methodName,
+                                                                      EntityListResponse.class,
+                                                                      restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                      guidListRequest,
+                                                                      userId);
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getEntities();
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -1418,6 +1460,89 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param userId                  unique identifier for requesting user.
+     * @param entityGUID              String unique identifier for the entity.
+     * @param relationshipTypeGUID    String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus    By default, relationships in all statuses are counted.  However, it is possible
+     *                                to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                                status values.
+     * @param asOfTime                Requests a historical count of the relationships for the entity.  Null means count the
+     *                                present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException     a parameter is invalid or null.
+     * @throws TypeErrorException            the type guid passed on the request is not known by the
+     *                                       metadata collection.
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws EntityNotKnownException       the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException        the request is not valid for the relationships.
+     * @throws PagingErrorException          the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter, or the
+     *                                       remote platform does not offer counts.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime,
+                                           String               homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 TypeErrorException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 EntityNotKnownException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String                     methodName            = "countRelationshipsForEntity";
+        final String                     operationSpecificURL  = "instances/entity/{1}/relationships/count";
+        final String                     homeSpecificURL       = "instances/entity/{1}/relationships/count?homeMetadataCollectionId={2}";
+        TypeLimitedHistoricalFindRequest findRequestParameters = new TypeLimitedHistoricalFindRequest();
+
+        findRequestParameters.setTypeGUID(relationshipTypeGUID);
+        findRequestParameters.setAsOfTime(asOfTime);
+        findRequestParameters.setLimitResultsByStatus(limitResultsByStatus);
+
+        InstanceCountResponse restResult;
+
+        if (homeMetadataCollectionId == null)
+        {
+            restResult = this.callOptionalPostRESTCall(methodName,
+                                                       InstanceCountResponse.class,
+                                                       restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                       findRequestParameters,
+                                                       userId,
+                                                       entityGUID);
+        }
+        else
+        {
+            restResult = this.callOptionalPostRESTCall(methodName,
+                                                       InstanceCountResponse.class,
+                                                       restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + homeSpecificURL,
+                                                       findRequestParameters,
+                                                       userId,
+                                                       entityGUID,
+                                                       homeMetadataCollectionId);
+        }
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowEntityNotKnownException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowPropertyErrorException(methodName, restResult);
+        this.detectAndThrowTypeErrorException(methodName, restResult);
+        this.detectAndThrowPagingErrorException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getCount();
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1639,6 +1764,92 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters,
+     *                                       or the remote platform does not offer counts.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 TypeErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        final String                        methodName            = "countEntitiesByProperty";
+        final String                        operationSpecificURL  = "instances/entities/by-property/count";
+        final String                        homeSpecificURL       = "instances/entities/by-property/count?homeMetadataCollectionId={1}";
+        EntityPropertyHistoricalFindRequest findRequestParameters = new EntityPropertyHistoricalFindRequest();
+
+        findRequestParameters.setTypeGUID(entityTypeGUID);
+        findRequestParameters.setMatchProperties(matchProperties);
+        findRequestParameters.setMatchCriteria(matchCriteria);
+        findRequestParameters.setAsOfTime(asOfTime);
+        findRequestParameters.setLimitResultsByStatus(limitResultsByStatus);
+        findRequestParameters.setLimitResultsByClassification(limitResultsByClassification);
+
+        InstanceCountResponse restResult;
+
+        if (homeMetadataCollectionId == null)
+        {
+            restResult = this.callOptionalPostRESTCall(methodName,
+                                                       InstanceCountResponse.class,
+                                                       restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                       findRequestParameters,
+                                                       userId);
+        }
+        else
+        {
+            restResult = this.callOptionalPostRESTCall(methodName,
+                                                       InstanceCountResponse.class,
+                                                       restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + homeSpecificURL,
+                                                       findRequestParameters,
+                                                       userId,
+                                                       homeMetadataCollectionId);
+        }
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowTypeErrorException(methodName, restResult);
+        this.detectAndThrowPropertyErrorException(methodName, restResult);
+        this.detectAndThrowPagingErrorException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getCount();
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1929,6 +2140,46 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships in a single call.  Relationships that
+     * are not known in the metadata collection are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 FunctionNotSupportedException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationshipsByGUIDs";
+        final String operationSpecificURL = "instances/relationships/by-guids";
+
+        InstanceGUIDListRequest guidListRequest = new InstanceGUIDListRequest();
+
+        guidListRequest.setGUIDs(guids);
+
+        RelationshipListResponse restResult = this.callOptionalPostRESTCall(methodName,
+                                                                            RelationshipListResponse.class,
+                                                                            restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                            guidListRequest,
+                                                                            userId);
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getRelationships();
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
@@ -5847,6 +6098,64 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Issue a POST REST call to an API that platforms from earlier releases do not offer.
+     *
+     * @param <T> class name
+     * @param methodName name of the method being called
+     * @param returnClass class name of response object
+     * @param operationSpecificURL template of the URL for the REST API call, with place-holders for the parameters
+     * @param request request body object
+     * @param params a list of parameters that are slotted into the url template
+     * @return response object
+     * @throws FunctionNotSupportedException the remote platform does not have the API.
+     * @throws RepositoryErrorException something else went wrong with the REST call stack.
+     */
+    private <T> T callOptionalPostRESTCall(String    methodName,
+                                           Class<T>  returnClass,
+                                           String    operationSpecificURL,
+                                           Object    request,
+                                           Object... params) throws FunctionNotSupportedException,
+                                                                    RepositoryErrorException
+    {
+        try
+        {
+            return restClient.callPostRESTCall(methodName,
+                                               returnClass,
+                                               operationSpecificURL,
+                                               request,
+                                               params);
+        }
+        catch (RESTServerException error)
+        {
+            if (error.getReportedHTTPCode() == 404)
+            {
+                throw new FunctionNotSupportedException(OMRSErrorCode.REMOTE_API_NOT_IMPLEMENTED.getMessageDefinition(methodName,
+                                                                                                                    repositoryName),
+                                                        this.getClass().getName(),
+                                                        methodName,
+                                                        error);
+            }
+
+            throw new RepositoryErrorException(OMRSErrorCode.CLIENT_SIDE_REST_API_ERROR.getMessageDefinition(methodName,
+                                                                                                             repositoryName,
+                                                                                                             error.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+        catch (Exception error)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.CLIENT_SIDE_REST_API_ERROR.getMessageDefinition(methodName,
+                                                                                                             repositoryName,
+                                                                                                             error.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+    }
+
+
     /*
      * ============================================
      * Extracting complex types from REST results
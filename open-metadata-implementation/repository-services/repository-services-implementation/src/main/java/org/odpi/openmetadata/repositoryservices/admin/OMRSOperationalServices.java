@@ -34,6 +34,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSConnectorProvider;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSConnectorProvider;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
@@ -87,6 +88,7 @@ public class OMRSOperationalServices
     private OMRSEnterpriseConnectorManager enterpriseConnectorManager          = null;
     private String                         enterpriseMetadataCollectionId      = null;
     private String                         enterpriseMetadataCollectionName    = null;
+    private long                           federationTimeout                   = ParallelFederationControl.DEFAULT_TIMEOUT;
     private OMRSTopicConnector             enterpriseOMRSTopicConnector        = null;
     private OMRSTopicConnector             remoteEnterpriseOMRSTopicConnector  = null;
     private LocalOMRSRepositoryConnector   localRepositoryConnector            = null;
@@ -171,6 +173,7 @@ public class OMRSOperationalServices
 
                 omrsRepositoryConnector.setCallingServiceName(callingServiceName);
                 omrsRepositoryConnector.setMaxPageSize(maxPageSize);
+                omrsRepositoryConnector.setFederationTimeout(federationTimeout);
 
                 auditLog.logMessage(actionDescription, OMRSAuditCode.NEW_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
 
@@ -752,6 +755,11 @@ public class OMRSOperationalServices
              */
             enterpriseMetadataCollectionId = enterpriseAccessConfig.getEnterpriseMetadataCollectionId();
             enterpriseMetadataCollectionName = enterpriseAccessConfig.getEnterpriseMetadataCollectionName();
+
+            if ((enterpriseAccessConfig.getFederationTimeout() != null) && (enterpriseAccessConfig.getFederationTimeout() > 0))
+            {
+                federationTimeout = enterpriseAccessConfig.getFederationTimeout();
+            }
         }
 
         return enterpriseConnectorManager;
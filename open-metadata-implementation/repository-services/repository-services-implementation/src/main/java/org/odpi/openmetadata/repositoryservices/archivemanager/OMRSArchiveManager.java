@@ -12,7 +12,9 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentHandler;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamReader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
@@ -148,7 +150,8 @@ public class OMRSArchiveManager
 
     /**
      * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  The archive store passes the content in batches so large archives
+     * do not need to be held in memory.
      *
      * @param archiveStore open metadata archive  to process
      * @param archiveSource source of the archive - such as file name
@@ -166,17 +169,17 @@ public class OMRSArchiveManager
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
              * metadata instances.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            ArchiveLoader archiveLoader = new ArchiveLoader(typeDefProcessor, instanceProcessor);
 
-            if (archiveContent == null)
+            if (archiveStore.processArchiveContents(archiveLoader))
             {
-                final String     actionDescription = "Process Open Metadata Archive";
-
-                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+                archiveLoader.completeArchive(archiveSource);
             }
             else
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                final String     actionDescription = "Process Open Metadata Archive";
+
+                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
             }
         }
     }
@@ -196,98 +199,225 @@ public class OMRSArchiveManager
                                             OMRSTypeDefEventProcessorInterface    typeDefProcessor,
                                             OMRSInstanceEventProcessorInterface   instanceProcessor)
     {
-        final String     actionDescription = "Process Open Metadata Archive";
+        ArchiveLoader archiveLoader = new ArchiveLoader(typeDefProcessor, instanceProcessor);
 
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
+        OpenMetadataArchiveStreamReader.processArchive(archiveContent, archiveLoader);
 
-        if (archiveProperties != null)
-        {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+        archiveLoader.completeArchive(archiveSource);
+    }
 
 
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
+    /**
+     * Set up the header of an archive instance.  The header information from the archive
+     * is used in the instance header unless it is set up explicitly in an export archive.
+     * The local metadata collection id is set in the replicatedBy attribute to enable this
+     * repository to send out refresh events about this archive.
+     *
+     * @param localMetadataCollectionId metadata collection id of the local repository
+     * @param metadataCollectionId home metadata collection id
+     * @param metadataConnectionName name of the metadata collection
+     * @param originatorName originator name
+     * @param creationTime creation time of archive
+     * @param provenanceType type of archive
+     * @param originatorLicense any license info
+     * @param instance instance to fill in
+     */
+    private void setInstanceAuditHeader(String                 localMetadataCollectionId,
+                                        String                 metadataCollectionId,
+                                        String                 metadataConnectionName,
+                                        String                 originatorName,
+                                        Date                   creationTime,
+                                        InstanceProvenanceType provenanceType,
+                                        String                 originatorLicense,
+                                        InstanceAuditHeader    instance)
+    {
+        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+        {
+            if (instance.getMetadataCollectionId() == null)
+            {
+                instance.setMetadataCollectionId(metadataCollectionId);
+            }
 
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
+            if (instance.getMetadataCollectionName() == null)
+            {
+                instance.setMetadataCollectionName(metadataConnectionName);
+            }
+
+            if (instance.getCreatedBy() == null)
+            {
+                instance.setCreatedBy(originatorName);
+            }
 
+            if (instance.getCreateTime() == null)
+            {
+                instance.setCreateTime(creationTime);
+            }
 
-            if (archiveTypeStore != null)
+            if (instance.getInstanceProvenanceType() == null)
             {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
+                instance.setInstanceProvenanceType(provenanceType);
             }
 
-            if (archiveInstanceStore != null)
+            if (instance.getInstanceLicense() == null)
             {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                instance.setInstanceLicense(originatorLicense);
             }
 
-            auditLog.logMessage(actionDescription,
-                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
-                                                                                     Integer.toString(instanceCount),
-                                                                                     archiveProperties.getArchiveName()));
+            if (instance.getReplicatedBy() == null)
+            {
+                instance.setReplicatedBy(localMetadataCollectionId);
+            }
         }
-        else
+        else if (provenanceType == InstanceProvenanceType.CONTENT_PACK)
+        {
+            instance.setMetadataCollectionId(metadataCollectionId);
+            instance.setMetadataCollectionName(metadataConnectionName);
+            instance.setCreatedBy(originatorName);
+            instance.setCreateTime(creationTime);
+            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
+            instance.setInstanceLicense(originatorLicense);
+            instance.setReplicatedBy(localMetadataCollectionId);
+        }
+
+        /*
+         * The first version is 1 not 0.
+         */
+        if (instance.getVersion() == 0L)
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            instance.setVersion(1L);
         }
     }
 
 
     /**
-     * The TypeStore is in two parts.  First there is an optional list of patches to existing TypeDefs.
-     * Then an optional list of new TypeDefs.  It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
+     * ArchiveLoader receives the content of a single archive from the archive store in batches and passes
+     * it to the local repository.  The TypeStore has an optional list of attribute type definitions,
+     * an optional list of new TypeDefs and an optional list of patches to existing TypeDefs.
+     * The InstanceStore has an optional list of entities followed by an optional list of relationships
+     * followed by an optional list of classifications.
      *
-     * @param archiveProperties properties of the archive used for logging
-     * @param archiveTypeStore TypeStore from the archive
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @return type count
+     * It is possible that this archive has been processed before and so any duplicates detected are ignored.
+     * However, conflicting TypeDefs and instances are detected.  Any problems found in applying the archive
+     * contents are recorded on the audit log.
      */
-    private int  processTypeDefStore(OpenMetadataArchiveProperties          archiveProperties,
-                                     OpenMetadataArchiveTypeStore           archiveTypeStore,
-                                     OMRSTypeDefEventProcessorInterface     typeDefProcessor)
+    private class ArchiveLoader implements OpenMetadataArchiveContentHandler
     {
-        List<TypeDefPatch>     typeDefPatches       = archiveTypeStore.getTypeDefPatches();
-        List<AttributeTypeDef> newAttributeTypeDefs = archiveTypeStore.getAttributeTypeDefs();
-        List<TypeDef>          newTypeDefs          = archiveTypeStore.getNewTypeDefs();
-        int                    typeCount            = 0;
+        private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private final OMRSInstanceEventProcessorInterface instanceProcessor;
+
+        private OpenMetadataArchiveProperties archiveProperties          = null;
+        private int                           typeCount                  = 0;
+        private int                           instanceCount              = 0;
+        private boolean                       missingProcessorLogged     = false;
+
+        /*
+         * Values from the archive properties used when processing types.
+         */
+        private String                        typeArchiveId              = null;
+        private String                        originatorMetadataCollectionId = null;
+        private String                        originatorServerType       = null;
 
-        if (typeDefProcessor != null)
+        /*
+         * Values from the archive properties used when processing instances.
+         */
+        private String                        instanceArchiveId          = null;
+        private String                        instanceServerType         = OpenMetadataArchiveType.CONTENT_PACK.getName();
+        private InstanceProvenanceType        provenanceType             = InstanceProvenanceType.CONTENT_PACK;
+        private String                        archiveName                = null;
+        private String                        originatorName             = null;
+        private String                        originatorOrganizationName = null;
+        private String                        originatorLicense          = null;
+        private Date                          archiveCreationTime        = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
+         *                          if there is no local repository configured for this server.
+         */
+        ArchiveLoader(OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                      OMRSInstanceEventProcessorInterface instanceProcessor)
         {
-            String       sourceName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String       originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
-            String       originatorServerName = archiveProperties.getArchiveName();
-            String       originatorServerType = null;
-            String       originatorName = archiveProperties.getOriginatorName();
-            String       archiveVersion = archiveProperties.getArchiveVersion();
-            String       originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            this.typeDefProcessor = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+        }
+
+
+        /**
+         * Save the values from the archive properties that are needed to process the content.
+         *
+         * @param archiveProperties properties of the archive
+         */
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            final String     actionDescription = "Process Open Metadata Archive";
+
+            this.archiveProperties = archiveProperties;
+
+            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+
+            String sourceName     = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
+            String archiveVersion = archiveProperties.getArchiveVersion();
+
+            originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
+            archiveName = archiveProperties.getArchiveName();
+            originatorName = archiveProperties.getOriginatorName();
+            originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            originatorLicense = archiveProperties.getOriginatorLicense();
+            archiveCreationTime = archiveProperties.getCreationDate();
+
+            instanceArchiveId = originatorName + " (" + archiveVersion + ")";
 
             /*
              * Originator name can not be null since it is used as the userId for calls to the repository
              */
             if (originatorName == null)
             {
-                originatorName = sourceName;
+                typeArchiveId = sourceName + " (" + archiveVersion + ")";
+            }
+            else
+            {
+                typeArchiveId = instanceArchiveId;
             }
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
 
             if (archiveProperties.getArchiveType() != null)
             {
                 originatorServerType = archiveProperties.getArchiveType().getName();
             }
 
-            if (newAttributeTypeDefs != null)
+            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+            {
+                provenanceType     = InstanceProvenanceType.EXPORT_ARCHIVE;
+                instanceServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+            }
+            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
+            {
+                provenanceType     = InstanceProvenanceType.LOCAL_COHORT;
+                instanceServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
+            }
+        }
+
+
+        /**
+         * Pass a batch of attribute type definitions to the local repository.
+         *
+         * @param attributeTypeDefs list of attribute type definitions
+         */
+        @Override
+        public void processAttributeTypeDefs(List<AttributeTypeDef> attributeTypeDefs)
+        {
+            if (this.checkTypeDefProcessor())
             {
-                for (AttributeTypeDef newAttributeTypeDef : newAttributeTypeDefs)
+                for (AttributeTypeDef newAttributeTypeDef : attributeTypeDefs)
                 {
                     if (newAttributeTypeDef != null)
                     {
-                        typeDefProcessor.processNewAttributeTypeDefEvent(archiveId,
+                        typeDefProcessor.processNewAttributeTypeDefEvent(typeArchiveId,
                                                                          originatorMetadataCollectionId,
-                                                                         originatorServerName,
+                                                                         archiveName,
                                                                          originatorServerType,
                                                                          originatorOrganizationName,
                                                                          newAttributeTypeDef);
@@ -296,16 +426,26 @@ public class OMRSArchiveManager
                     }
                 }
             }
+        }
 
-            if (newTypeDefs != null)
+
+        /**
+         * Pass a batch of new type definitions to the local repository.
+         *
+         * @param newTypeDefs list of type definitions
+         */
+        @Override
+        public void processNewTypeDefs(List<TypeDef> newTypeDefs)
+        {
+            if (this.checkTypeDefProcessor())
             {
                 for (TypeDef newTypeDef : newTypeDefs)
                 {
                     if (newTypeDef != null)
                     {
-                        typeDefProcessor.processNewTypeDefEvent(archiveId,
+                        typeDefProcessor.processNewTypeDefEvent(typeArchiveId,
                                                                 originatorMetadataCollectionId,
-                                                                originatorServerName,
+                                                                archiveName,
                                                                 originatorServerType,
                                                                 originatorOrganizationName,
                                                                 newTypeDef);
@@ -313,16 +453,26 @@ public class OMRSArchiveManager
                     }
                 }
             }
+        }
 
-            if (typeDefPatches != null)
+
+        /**
+         * Pass a batch of type definition patches to the local repository.
+         *
+         * @param typeDefPatches list of patches
+         */
+        @Override
+        public void processTypeDefPatches(List<TypeDefPatch> typeDefPatches)
+        {
+            if (this.checkTypeDefProcessor())
             {
                 for (TypeDefPatch typeDefPatch : typeDefPatches)
                 {
                     if (typeDefPatch != null)
                     {
-                        typeDefProcessor.processUpdatedTypeDefEvent(archiveId,
+                        typeDefProcessor.processUpdatedTypeDefEvent(typeArchiveId,
                                                                     originatorMetadataCollectionId,
-                                                                    originatorServerName,
+                                                                    archiveName,
                                                                     originatorServerType,
                                                                     originatorOrganizationName,
                                                                     typeDefPatch);
@@ -331,79 +481,23 @@ public class OMRSArchiveManager
                 }
             }
         }
-        else
-        {
-            final String actionDescription = "Processing type definitions from archive";
-
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NO_TYPE_DEF_PROCESSOR.getMessageDefinition());
-        }
-
-        return typeCount;
-    }
 
 
-    /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
-     *
-     * It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting instances are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
-     */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
-    {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
-
-        if (instanceProcessor != null)
+        /**
+         * Pass a batch of entities to the local repository.
+         *
+         * @param entities list of entities
+         */
+        @Override
+        public void processEntities(List<EntityDetail> entities)
         {
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 archiveVersion             = archiveProperties.getArchiveVersion();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
-
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
-            {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
-            }
-            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
-            {
-                provenanceType       = InstanceProvenanceType.LOCAL_COHORT;
-                originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
-            }
-
-            if (entities != null)
+            if (this.checkInstanceProcessor())
             {
                 for (EntityDetail entity : entities)
                 {
                     if (entity != null)
                     {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
+                        this.setInstanceAuditHeader(entity);
 
                         /*
                          * There is no need to support delete in archive because the elements are
@@ -411,19 +505,19 @@ public class OMRSArchiveManager
                          */
                         if (entity.getVersion() == 1L)
                         {
-                            instanceProcessor.processNewEntityEvent(archiveId,
-                                                                    homeMetadataCollectionId,
+                            instanceProcessor.processNewEntityEvent(instanceArchiveId,
+                                                                    originatorMetadataCollectionId,
                                                                     archiveName,
-                                                                    originatorServerType,
+                                                                    instanceServerType,
                                                                     originatorOrganizationName,
                                                                     entity);
                         }
                         else
                         {
-                            instanceProcessor.processUpdatedEntityEvent(archiveId,
-                                                                        homeMetadataCollectionId,
+                            instanceProcessor.processUpdatedEntityEvent(instanceArchiveId,
+                                                                        originatorMetadataCollectionId,
                                                                         archiveName,
-                                                                        originatorServerType,
+                                                                        instanceServerType,
                                                                         originatorOrganizationName,
                                                                         null,
                                                                         entity);
@@ -433,21 +527,24 @@ public class OMRSArchiveManager
                     }
                 }
             }
+        }
 
-            if (relationships != null)
+
+        /**
+         * Pass a batch of relationships to the local repository.
+         *
+         * @param relationships list of relationships
+         */
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            if (this.checkInstanceProcessor())
             {
                 for (Relationship relationship : relationships)
                 {
                     if (relationship != null)
                     {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
+                        this.setInstanceAuditHeader(relationship);
 
                         /*
                          * There is no need to support delete in archive because the elements are
@@ -455,19 +552,19 @@ public class OMRSArchiveManager
                          */
                         if (relationship.getVersion() == 1L)
                         {
-                            instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                          homeMetadataCollectionId,
+                            instanceProcessor.processNewRelationshipEvent(instanceArchiveId,
+                                                                          originatorMetadataCollectionId,
                                                                           archiveName,
-                                                                          originatorServerType,
+                                                                          instanceServerType,
                                                                           originatorOrganizationName,
                                                                           relationship);
                         }
                         else
                         {
-                            instanceProcessor.processUpdatedRelationshipEvent(archiveId,
-                                                                              homeMetadataCollectionId,
+                            instanceProcessor.processUpdatedRelationshipEvent(instanceArchiveId,
+                                                                              originatorMetadataCollectionId,
                                                                               archiveName,
-                                                                              originatorServerType,
+                                                                              instanceServerType,
                                                                               originatorOrganizationName,
                                                                               null,
                                                                               relationship);
@@ -477,147 +574,149 @@ public class OMRSArchiveManager
                     }
                 }
             }
+        }
 
-            if (instanceProcessor instanceof OMRSInstanceEventProcessorClassificationExtension)
+
+        /**
+         * Pass a batch of classifications to the local repository.  Classifications are only processed if the
+         * instance processor supports the classification extension.
+         *
+         * @param classifications list of classifications along with the entities they belong to
+         */
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            if ((this.checkInstanceProcessor()) && (instanceProcessor instanceof OMRSInstanceEventProcessorClassificationExtension))
             {
                 OMRSInstanceEventProcessorClassificationExtension classificationInstanceProcessor = (OMRSInstanceEventProcessorClassificationExtension)instanceProcessor;
 
-                if (classifications != null)
+                for (ClassificationEntityExtension classificationEntityExtension : classifications)
                 {
-                    for (ClassificationEntityExtension classificationEntityExtension : classifications)
+                    if (classificationEntityExtension != null)
                     {
-                        if (classificationEntityExtension != null)
+                        Classification classification = classificationEntityExtension.getClassification();
+
+                        this.setInstanceAuditHeader(classification);
+
+                        classificationEntityExtension.setClassification(classification);
+
+                        if (classification.getVersion() == 1L)
+                        {
+                            classificationInstanceProcessor.processClassifiedEntityEvent(instanceArchiveId,
+                                                                                         originatorMetadataCollectionId,
+                                                                                         archiveName,
+                                                                                         instanceServerType,
+                                                                                         originatorOrganizationName,
+                                                                                         classificationEntityExtension.getEntityToClassify(),
+                                                                                         classification);
+                        }
+                        else
                         {
-                            Classification classification = classificationEntityExtension.getClassification();
-
-                            this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                        homeMetadataCollectionId,
-                                                        archiveName,
-                                                        originatorName,
-                                                        archiveCreationTime,
-                                                        provenanceType,
-                                                        originatorLicense,
-                                                        classification);
-
-                            classificationEntityExtension.setClassification(classification);
-
-                            if (classification.getVersion() == 1L)
-                            {
-                                classificationInstanceProcessor.processClassifiedEntityEvent(archiveId,
-                                                                                             homeMetadataCollectionId,
-                                                                                             archiveName,
-                                                                                             originatorServerType,
-                                                                                             originatorOrganizationName,
-                                                                                             classificationEntityExtension.getEntityToClassify(),
-                                                                                             classification);
-                            }
-                            else
-                            {
-                                classificationInstanceProcessor.processReclassifiedEntityEvent(archiveId,
-                                                                                               homeMetadataCollectionId,
-                                                                                               archiveName,
-                                                                                               originatorServerType,
-                                                                                               originatorOrganizationName,
-                                                                                               classificationEntityExtension.getEntityToClassify(),
-                                                                                               null,
-                                                                                               classification);
-                            }
-
-                            instanceCount ++;
+                            classificationInstanceProcessor.processReclassifiedEntityEvent(instanceArchiveId,
+                                                                                           originatorMetadataCollectionId,
+                                                                                           archiveName,
+                                                                                           instanceServerType,
+                                                                                           originatorOrganizationName,
+                                                                                           classificationEntityExtension.getEntityToClassify(),
+                                                                                           null,
+                                                                                           classification);
                         }
+
+                        instanceCount ++;
                     }
                 }
             }
         }
-        else
-        {
-            final String actionDescription = "Processing instances from archive";
 
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
-        }
 
-        return instanceCount;
-    }
-
-
-    /**
-     * Set up the header of an archive instance.  The header information from the archive
-     * is used in the instance header unless it is set up explicitly in an export archive.
-     * The local metadata collection id is set in the replicatedBy attribute to enable this
-     * repository to send out refresh events about this archive.
-     *
-     * @param localMetadataCollectionId metadata collection id of the local repository
-     * @param metadataCollectionId home metadata collection id
-     * @param metadataConnectionName name of the metadata collection
-     * @param originatorName originator name
-     * @param creationTime creation time of archive
-     * @param provenanceType type of archive
-     * @param originatorLicense any license info
-     * @param instance instance to fill in
-     */
-    private void setInstanceAuditHeader(String                 localMetadataCollectionId,
-                                        String                 metadataCollectionId,
-                                        String                 metadataConnectionName,
-                                        String                 originatorName,
-                                        Date                   creationTime,
-                                        InstanceProvenanceType provenanceType,
-                                        String                 originatorLicense,
-                                        InstanceAuditHeader    instance)
-    {
-        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+        /**
+         * Log the result of processing the archive.
+         *
+         * @param archiveSource source of the archive - such as file name
+         */
+        void completeArchive(String archiveSource)
         {
-            if (instance.getMetadataCollectionId() == null)
-            {
-                instance.setMetadataCollectionId(metadataCollectionId);
-            }
+            final String     actionDescription = "Process Open Metadata Archive";
 
-            if (instance.getMetadataCollectionName() == null)
+            if (archiveProperties != null)
             {
-                instance.setMetadataCollectionName(metadataConnectionName);
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount),
+                                                                                         archiveProperties.getArchiveName()));
             }
-
-            if (instance.getCreatedBy() == null)
+            else
             {
-                instance.setCreatedBy(originatorName);
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
             }
+        }
 
-            if (instance.getCreateTime() == null)
-            {
-                instance.setCreateTime(creationTime);
-            }
 
-            if (instance.getInstanceProvenanceType() == null)
+        /**
+         * Return whether there is a processor for type definitions.  The absence of the processor is logged
+         * the first time a type definition is found.
+         *
+         * @return boolean
+         */
+        private boolean checkTypeDefProcessor()
+        {
+            if (typeDefProcessor == null)
             {
-                instance.setInstanceProvenanceType(provenanceType);
-            }
+                if (! missingProcessorLogged)
+                {
+                    final String actionDescription = "Processing type definitions from archive";
 
-            if (instance.getInstanceLicense() == null)
-            {
-                instance.setInstanceLicense(originatorLicense);
-            }
+                    auditLog.logMessage(actionDescription, OMRSAuditCode.NO_TYPE_DEF_PROCESSOR.getMessageDefinition());
+                    missingProcessorLogged = true;
+                }
 
-            if (instance.getReplicatedBy() == null)
-            {
-                instance.setReplicatedBy(localMetadataCollectionId);
+                return false;
             }
+
+            return true;
         }
-        else if (provenanceType == InstanceProvenanceType.CONTENT_PACK)
+
+
+        /**
+         * Return whether there is a processor for instances.  The absence of the processor is logged
+         * the first time an instance is found.
+         *
+         * @return boolean
+         */
+        private boolean checkInstanceProcessor()
         {
-            instance.setMetadataCollectionId(metadataCollectionId);
-            instance.setMetadataCollectionName(metadataConnectionName);
-            instance.setCreatedBy(originatorName);
-            instance.setCreateTime(creationTime);
-            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
-            instance.setInstanceLicense(originatorLicense);
-            instance.setReplicatedBy(localMetadataCollectionId);
+            if (instanceProcessor == null)
+            {
+                if (! missingProcessorLogged)
+                {
+                    final String actionDescription = "Processing instances from archive";
+
+                    auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
+                    missingProcessorLogged = true;
+                }
+
+                return false;
+            }
+
+            return true;
         }
 
-        /*
-         * The first version is 1 not 0.
+
+        /**
+         * Set up the header of an instance from the archive.
+         *
+         * @param instance instance to fill in
          */
-        if (instance.getVersion() == 0L)
+        private void setInstanceAuditHeader(InstanceAuditHeader instance)
         {
-            instance.setVersion(1L);
+            OMRSArchiveManager.this.setInstanceAuditHeader(localMetadataCollectionId,
+                                                           originatorMetadataCollectionId,
+                                                           archiveName,
+                                                           originatorName,
+                                                           archiveCreationTime,
+                                                           provenanceType,
+                                                           originatorLicense,
+                                                           instance);
         }
     }
 }
@@ -15,6 +15,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedPagingCursor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
@@ -53,6 +54,12 @@ import java.util.*;
  *     and the duplicates are removed.  Queries are directed to the local repository and then the remote repositories
  *     until all the requested metadata is assembled.
  * </p>
+ * <p>
+ *     The results of find requests are paged across the repositories.  The sorted results from each repository are
+ *     merged into a single sequence and the requested page is taken from it.  A cursor recording the position
+ *     reached in each repository's results is kept for the next page of the same request so that page only
+ *     retrieves the results that follow it.
+ * </p>
  */
 class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
 {
@@ -63,6 +70,23 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     private final String                            localMetadataCollectionId;
     private final AuditLog                          auditLog;
 
+    /*
+     * Continuation tokens for federated paging.  These are keyed by the query signature and the starting element
+     * of the page they continue from.  The least recently used cursors are discarded.
+     */
+    private static final int MAX_PAGING_CURSORS = 1000;
+
+    private final Map<String, FederatedPagingCursor> pagingCursors = Collections.synchronizedMap(new LinkedHashMap<String, FederatedPagingCursor>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FederatedPagingCursor> eldest)
+        {
+            return size() > MAX_PAGING_CURSORS;
+        }
+    });
+
 
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection id.
@@ -134,7 +158,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -894,7 +918,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetEntityDetailExecutor executor          = new GetEntityDetailExecutor(userId, guid, auditLog, methodName);
 
         /*
@@ -943,7 +967,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl        federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl        federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetEntitySummaryExecutor executor          = new GetEntitySummaryExecutor(userId, guid, auditLog, methodName);
 
         /*
@@ -993,7 +1017,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetEntityDetailExecutor executor          = new GetEntityDetailExecutor(userId, guid, auditLog, methodName);
 
         federationControl.executeCommand(executor);
@@ -1002,6 +1026,54 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  Entities that are
+     * not known, or are only stored as proxies, in the cohort(s) are left out of the results.  Each repository
+     * is sent a single request for the entities it is likely to own.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl          federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
+        GetEntitiesByGUIDsExecutor executor          = new GetEntitiesByGUIDsExecutor(userId, guids, localMetadataCollectionId, auditLog, methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getEntities();
+    }
+
+
     /**
      * Return a historical version of an entity.  This includes the header, classifications and properties of the entity.
      *
@@ -1043,7 +1115,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl       federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetEntityDetailExecutor executor          = new GetEntityDetailExecutor(userId, guid, asOfTime, auditLog, methodName);
 
         /*
@@ -1065,7 +1137,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
             {
                 cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-                federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+                federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
                 executor          = new GetEntityDetailExecutor(userId, guid, asOfTime, auditLog, methodName);
 
                 retryCount ++;
@@ -1130,7 +1202,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl              federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl              federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetEntityDetailHistoryExecutor executor          = new GetEntityDetailHistoryExecutor(userId,
                                                                                               guid,
                                                                                               fromTime,
@@ -1226,7 +1298,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1241,6 +1313,24 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                     repositoryValidator,
                                                                                                     methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromRelationshipElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1248,6 +1338,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         List<Relationship> results = executor.getResults(enterpriseParentConnector);
 
         if ((results == null) || (results.isEmpty()))
@@ -1265,6 +1357,117 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  When there is only one repository in the
+     * open metadata repository cohorts, that repository counts the relationships.  Otherwise each repository
+     * counts the relationships that are homed in it and the counts are added together, so that reference copies
+     * of the same relationship are only counted once.  If a repository is not able to do this, the relationships
+     * are retrieved from all of the repositories, one page at a time, and counted instead.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the request is not valid for the relationships.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime) throws InvalidParameterException,
+                                                                                 TypeErrorException,
+                                                                                 RepositoryErrorException,
+                                                                                 EntityNotKnownException,
+                                                                                 PropertyErrorException,
+                                                                                 PagingErrorException,
+                                                                                 FunctionNotSupportedException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName        = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntityParameterValidation(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           0,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           null,
+                                                           0);
+
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        if ((cohortConnectors != null) && (cohortConnectors.size() == 1))
+        {
+            return cohortConnectors.get(0).getMetadataCollection().countRelationshipsForEntity(userId,
+                                                                                               entityGUID,
+                                                                                               relationshipTypeGUID,
+                                                                                               limitResultsByStatus,
+                                                                                               asOfTime);
+        }
+
+        Integer homedCount = this.sumHomedRelationshipCounts(cohortConnectors,
+                                                             userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        if (homedCount != null)
+        {
+            return homedCount;
+        }
+
+        /*
+         * The relationships are retrieved a page at a time so that each page can be completed from the
+         * repositories within the limits of their page sizes.  The cursor saved by each page means that
+         * each repository is only asked for the results that follow the previous page.
+         */
+        int                pageSize = enterpriseParentConnector.getMaxPageSize();
+        int                count    = 0;
+        List<Relationship> page;
+
+        do
+        {
+            page = this.getRelationshipsForEntity(userId,
+                                                  entityGUID,
+                                                  relationshipTypeGUID,
+                                                  count,
+                                                  limitResultsByStatus,
+                                                  asOfTime,
+                                                  null,
+                                                  null,
+                                                  pageSize);
+
+            if (page != null)
+            {
+                count = count + page.size();
+            }
+        }
+        while ((pageSize > 0) && (page != null) && (page.size() == pageSize));
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -1345,7 +1548,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl              federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl              federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindEntitiesByPropertyExecutor executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                               entityTypeGUID,
                                                                                               matchProperties,
@@ -1362,6 +1565,26 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                               repositoryValidator,
                                                                                               methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             entityTypeGUID,
+                                                             matchProperties,
+                                                             matchCriteria,
+                                                             limitResultsByStatus,
+                                                             limitResultsByClassification,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromEntityElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1369,10 +1592,131 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector, this);
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * When there is only one repository in the open metadata repository cohorts, that repository counts the
+     * entities.  Otherwise each repository counts the entities that are homed in it and the counts are added
+     * together, as for countRelationshipsForEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String               userId,
+                                       String               entityTypeGUID,
+                                       InstanceProperties   matchProperties,
+                                       MatchCriteria        matchCriteria,
+                                       List<InstanceStatus> limitResultsByStatus,
+                                       List<String>         limitResultsByClassification,
+                                       Date                 asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             TypeErrorException,
+                                                                             PropertyErrorException,
+                                                                             PagingErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        0);
+
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        if ((cohortConnectors != null) && (cohortConnectors.size() == 1))
+        {
+            return cohortConnectors.get(0).getMetadataCollection().countEntitiesByProperty(userId,
+                                                                                           entityTypeGUID,
+                                                                                           matchProperties,
+                                                                                           matchCriteria,
+                                                                                           limitResultsByStatus,
+                                                                                           limitResultsByClassification,
+                                                                                           asOfTime);
+        }
+
+        Integer homedCount = this.sumHomedEntityCounts(cohortConnectors,
+                                                       userId,
+                                                       entityTypeGUID,
+                                                       matchProperties,
+                                                       matchCriteria,
+                                                       limitResultsByStatus,
+                                                       limitResultsByClassification,
+                                                       asOfTime);
+
+        if (homedCount != null)
+        {
+            return homedCount;
+        }
+
+        /*
+         * The entities are retrieved a page at a time, as for countRelationshipsForEntity.
+         */
+        int                pageSize = enterpriseParentConnector.getMaxPageSize();
+        int                count    = 0;
+        List<EntityDetail> page;
+
+        do
+        {
+            page = this.findEntitiesByProperty(userId,
+                                               entityTypeGUID,
+                                               matchProperties,
+                                               matchCriteria,
+                                               count,
+                                               limitResultsByStatus,
+                                               limitResultsByClassification,
+                                               asOfTime,
+                                               null,
+                                               null,
+                                               pageSize);
+
+            if (page != null)
+            {
+                count = count + page.size();
+            }
+        }
+        while ((pageSize > 0) && (page != null) && (page.size() == pageSize));
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1451,7 +1795,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl    federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl    federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindEntitiesExecutor executor          = new FindEntitiesExecutor(userId,
                                                                           entityTypeGUID,
                                                                           entitySubtypeGUIDs,
@@ -1468,6 +1812,26 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                           repositoryValidator,
                                                                           methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             entityTypeGUID,
+                                                             entitySubtypeGUIDs,
+                                                             matchProperties,
+                                                             limitResultsByStatus,
+                                                             matchClassifications,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromEntityElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1475,6 +1839,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector, this);
     }
 
@@ -1563,7 +1929,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                    federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl                    federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindEntitiesByClassificationExecutor executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                           entityTypeGUID,
                                                                                                           classificationName,
@@ -1580,6 +1946,26 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                           repositoryValidator,
                                                                                                           methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             entityTypeGUID,
+                                                             classificationName,
+                                                             matchClassificationProperties,
+                                                             matchCriteria,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromEntityElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1587,6 +1973,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector, this);
     }
 
@@ -1671,7 +2059,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1687,6 +2075,25 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         repositoryValidator,
                                                                                                         methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             entityTypeGUID,
+                                                             searchCriteria,
+                                                             limitResultsByStatus,
+                                                             limitResultsByClassification,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromEntityElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1694,6 +2101,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector, this);
     }
 
@@ -1794,6 +2203,54 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  Relationships that are not known in
+     * the cohort(s) are left out of the results.  Each repository is sent a single request for the relationships
+     * that have not yet been retrieved.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationshipsByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl               federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
+        GetRelationshipsByGUIDsExecutor executor          = new GetRelationshipsByGUIDsExecutor(userId, guids, localMetadataCollectionId, auditLog, methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getRelationships();
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
@@ -1925,7 +2382,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl         federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl         federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1941,6 +2398,25 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                     repositoryValidator,
                                                                                     methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             relationshipTypeGUID,
+                                                             relationshipSubtypeGUIDs,
+                                                             matchProperties,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromRelationshipElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1948,6 +2424,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector);
     }
 
@@ -2030,7 +2508,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -2046,6 +2524,25 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         repositoryValidator,
                                                                                                         methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             relationshipTypeGUID,
+                                                             matchProperties,
+                                                             matchCriteria,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromRelationshipElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -2053,6 +2550,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector);
     }
 
@@ -2134,7 +2633,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                        federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl                        federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName, enterpriseParentConnector.getFederationTimeout());
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -2149,6 +2648,24 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                                   repositoryValidator,
                                                                                                                   methodName);
 
+        /*
+         * The results from each repository are merged into a single sequence to produce the requested page.
+         * The cursor saved by the request for the previous page means that each repository is only asked for
+         * the results that follow that page.
+         */
+        String querySignature = this.getPagingQuerySignature(methodName,
+                                                             userId,
+                                                             pageSize,
+                                                             relationshipTypeGUID,
+                                                             searchCriteria,
+                                                             limitResultsByStatus,
+                                                             asOfTime,
+                                                             sequencingProperty,
+                                                             sequencingOrder);
+
+        executor.enableFederatedPaging(this.getPagingCursor(querySignature, fromRelationshipElement, cohortConnectors),
+                                       enterpriseParentConnector.getMaxPageSize());
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -2156,6 +2673,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         federationControl.executeCommand(executor);
 
+        this.savePagingCursor(querySignature, executor.getNextPagingCursor());
+
         return executor.getResults(enterpriseParentConnector);
     }
 
@@ -5101,6 +5620,259 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Add up the number of relationships for an entity that each repository in the cohorts is home to.
+     * A repository that does not know the entity has no relationships for it.  An instance that is homed in a
+     * repository that is not connected is not counted.
+     *
+     * @param cohortConnectors connectors to the repositories in the cohorts
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus list of statuses to restrict the count to (null means all).
+     * @param asOfTime Requests a historical count of the relationships for the entity.
+     * @return count of relationships or null if one of the repositories is not able to count the relationships
+     * homed in it
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException none of the repositories are available.
+     * @throws EntityNotKnownException the requested entity instance is not known in any of the repositories.
+     * @throws PropertyErrorException the request is not valid for the relationships.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private Integer sumHomedRelationshipCounts(List<OMRSRepositoryConnector> cohortConnectors,
+                                               String                        userId,
+                                               String                        entityGUID,
+                                               String                        relationshipTypeGUID,
+                                               List<InstanceStatus>          limitResultsByStatus,
+                                               Date                          asOfTime) throws InvalidParameterException,
+                                                                                              TypeErrorException,
+                                                                                              RepositoryErrorException,
+                                                                                              EntityNotKnownException,
+                                                                                              PropertyErrorException,
+                                                                                              PagingErrorException,
+                                                                                              UserNotAuthorizedException
+    {
+        Set<String>              countedMetadataCollectionIds = new HashSet<>();
+        EntityNotKnownException  entityNotKnownException      = null;
+        RepositoryErrorException repositoryErrorException     = null;
+        boolean                  counted                      = false;
+        int                      count                        = 0;
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                String metadataCollectionId = cohortConnector.getMetadataCollectionId();
+
+                if (metadataCollectionId == null)
+                {
+                    return null;
+                }
+
+                if (countedMetadataCollectionIds.add(metadataCollectionId))
+                {
+                    try
+                    {
+                        count = count + cohortConnector.getMetadataCollection().countRelationshipsForEntity(userId,
+                                                                                                            entityGUID,
+                                                                                                            relationshipTypeGUID,
+                                                                                                            limitResultsByStatus,
+                                                                                                            asOfTime,
+                                                                                                            metadataCollectionId);
+                        counted = true;
+                    }
+                    catch (FunctionNotSupportedException error)
+                    {
+                        return null;
+                    }
+                    catch (EntityNotKnownException error)
+                    {
+                        entityNotKnownException = error;
+                    }
+                    catch (RepositoryErrorException error)
+                    {
+                        repositoryErrorException = error;
+                    }
+                }
+            }
+        }
+
+        if (! counted)
+        {
+            throwCapturedRepositoryErrorException(repositoryErrorException);
+            throwCapturedEntityNotKnownException(entityNotKnownException);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Add up the number of matching entities that each repository in the cohorts is home to.  An instance that
+     * is homed in a repository that is not connected is not counted.
+     *
+     * @param cohortConnectors connectors to the repositories in the cohorts
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match.
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus list of statuses to restrict the count to (null means all).
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.
+     * @return count of matching entities or null if one of the repositories is not able to count the entities
+     * homed in it
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException none of the repositories are available.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private Integer sumHomedEntityCounts(List<OMRSRepositoryConnector> cohortConnectors,
+                                         String                        userId,
+                                         String                        entityTypeGUID,
+                                         InstanceProperties            matchProperties,
+                                         MatchCriteria                 matchCriteria,
+                                         List<InstanceStatus>          limitResultsByStatus,
+                                         List<String>                  limitResultsByClassification,
+                                         Date                          asOfTime) throws InvalidParameterException,
+                                                                                        TypeErrorException,
+                                                                                        RepositoryErrorException,
+                                                                                        PropertyErrorException,
+                                                                                        PagingErrorException,
+                                                                                        UserNotAuthorizedException
+    {
+        Set<String>              countedMetadataCollectionIds = new HashSet<>();
+        RepositoryErrorException repositoryErrorException     = null;
+        boolean                  counted                      = false;
+        int                      count                        = 0;
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                String metadataCollectionId = cohortConnector.getMetadataCollectionId();
+
+                if (metadataCollectionId == null)
+                {
+                    return null;
+                }
+
+                if (countedMetadataCollectionIds.add(metadataCollectionId))
+                {
+                    try
+                    {
+                        count = count + cohortConnector.getMetadataCollection().countEntitiesByProperty(userId,
+                                                                                                        entityTypeGUID,
+                                                                                                        matchProperties,
+                                                                                                        matchCriteria,
+                                                                                                        limitResultsByStatus,
+                                                                                                        limitResultsByClassification,
+                                                                                                        asOfTime,
+                                                                                                        metadataCollectionId);
+                        counted = true;
+                    }
+                    catch (FunctionNotSupportedException error)
+                    {
+                        return null;
+                    }
+                    catch (RepositoryErrorException error)
+                    {
+                        repositoryErrorException = error;
+                    }
+                }
+            }
+        }
+
+        if (! counted)
+        {
+            throwCapturedRepositoryErrorException(repositoryErrorException);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return a string that identifies a paged find request.  It includes all the parameters except the
+     * starting element.
+     *
+     * @param methodName name of the find method
+     * @param userId calling user
+     * @param pageSize requested page size
+     * @param queryParameters the other parameters of the find request
+     * @return query signature
+     */
+    private String getPagingQuerySignature(String    methodName,
+                                           String    userId,
+                                           int       pageSize,
+                                           Object... queryParameters)
+    {
+        return methodName + ":" + userId + ":" + pageSize + ":" + Arrays.deepToString(queryParameters);
+    }
+
+
+    /**
+     * Return the cursor saved by the request for the previous page of a find request.  The cursor is only
+     * returned if the same repositories are still in the cohort.
+     *
+     * @param querySignature signature of the find request
+     * @param startingElement starting element for the requested page
+     * @param cohortConnectors connectors to the repositories that will be called
+     * @return cursor or null
+     */
+    private FederatedPagingCursor getPagingCursor(String                        querySignature,
+                                                  int                           startingElement,
+                                                  List<OMRSRepositoryConnector> cohortConnectors)
+    {
+        if ((startingElement == 0) || (cohortConnectors == null))
+        {
+            return null;
+        }
+
+        FederatedPagingCursor cursor = pagingCursors.get(querySignature + ":" + startingElement);
+
+        if (cursor != null)
+        {
+            Set<String> metadataCollectionIds = new HashSet<>();
+
+            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            {
+                if (cohortConnector != null)
+                {
+                    metadataCollectionIds.add(cohortConnector.getMetadataCollectionId());
+                }
+            }
+
+            if (metadataCollectionIds.equals(cursor.getMetadataCollectionIds()))
+            {
+                return cursor;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save the cursor for the next page of a find request.
+     *
+     * @param querySignature signature of the find request
+     * @param cursor cursor returned by the executor (may be null if there are no more results)
+     */
+    private void savePagingCursor(String                querySignature,
+                                  FederatedPagingCursor cursor)
+    {
+        if (cursor != null)
+        {
+            pagingCursors.put(querySignature + ":" + cursor.getStartingElement(), cursor);
+        }
+    }
+
+
     /**
      * Return a validated, sorted list of search results.
      *
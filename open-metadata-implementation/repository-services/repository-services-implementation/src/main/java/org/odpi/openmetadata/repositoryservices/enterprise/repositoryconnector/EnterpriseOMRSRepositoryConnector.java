@@ -13,6 +13,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
@@ -46,6 +47,7 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
     private String callingServiceName = null;
+    private long   federationTimeout  = ParallelFederationControl.DEFAULT_TIMEOUT;
 
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
@@ -106,6 +108,30 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Set up the time in milliseconds that a federated request waits for the repositories in the
+     * connected cohorts to respond.
+     *
+     * @param federationTimeout timeout in milliseconds
+     */
+    public void setFederationTimeout(long federationTimeout)
+    {
+        this.federationTimeout = federationTimeout;
+    }
+
+
+    /**
+     * Return the time in milliseconds that a federated request waits for the repositories in the
+     * connected cohorts to respond.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getFederationTimeout()
+    {
+        return federationTimeout;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
@@ -118,6 +118,8 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
                 this.addEntity(entity, metadataCollectionId);
             }
 
+            super.saveRepositoryResults(metadataCollectionId, entities);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -125,6 +127,8 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
+            super.saveRepositoryResults(metadataCollectionId, null);
+
             /*
              * Even though results were not found it was still a successful request.
              */
@@ -215,20 +219,37 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
      * @param entityGUID unique identifier for entity of interest
      * @return null or list of metadata collection ids
      */
-    public List<String> getContributingMetadataCollections(String entityGUID)
+    public synchronized List<String> getContributingMetadataCollections(String entityGUID)
     {
-        return accumulatedEntitySources.get(entityGUID);
+        List<String> entitySources = accumulatedEntitySources.get(entityGUID);
+
+        if (entitySources != null)
+        {
+            return new ArrayList<>(entitySources);
+        }
+
+        return null;
     }
 
 
     /**
-     * Return the list of GUIDs for the entities returned from the query.
+     * Return the list of GUIDs for the entities returned from the query.  When federated paging is in use,
+     * only the entities in the requested page are returned.
      *
      * @return null or list of GUIDs
      */
-    public List<String> getResultsForAugmentation()
+    public synchronized List<String> getResultsForAugmentation()
     {
-        if (! accumulatedEntities.isEmpty())
+        if (super.isFederatedPaging())
+        {
+            List<String> pageGUIDs = super.getFederatedPageGUIDs();
+
+            if (! pageGUIDs.isEmpty())
+            {
+                return new ArrayList<>(pageGUIDs);
+            }
+        }
+        else if (! accumulatedEntities.isEmpty())
         {
            return new ArrayList<>(accumulatedEntities.keySet());
         }
@@ -240,7 +261,8 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
     /**
      * Extract the results - this will be a unique list of entities selected from the instances
      * supplied to this accumulator.  It should be called once all the executors have completed processing
-     * their request(s).
+     * their request(s).  When federated paging is in use, the entities in the requested page are returned
+     * in sequence.
      *
      * @param repositoryConnector enterprise connector
      * @param metadataCollection enterprise metadata collection
@@ -255,13 +277,15 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
-            this.makeRefreshRecommendations(repositoryConnector);
+            List<EntityDetail> selectedEntities = this.getSelectedEntities();
+
+            this.makeRefreshRecommendations(repositoryConnector, selectedEntities);
 
             List<EntityDetail>  results = new ArrayList<>();
 
             if (metadataCollection != null)
             {
-                for (EntityDetail accumulatedEntity : accumulatedEntities.values())
+                for (EntityDetail accumulatedEntity : selectedEntities)
                 {
                     if (accumulatedEntity != null)
                     {
@@ -286,6 +310,29 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Return the accumulated entities that make up the results.
+     *
+     * @return list of entities
+     */
+    private List<EntityDetail> getSelectedEntities()
+    {
+        if (super.isFederatedPaging())
+        {
+            List<EntityDetail> selectedEntities = new ArrayList<>();
+
+            for (String entityGUID : super.getFederatedPageGUIDs())
+            {
+                selectedEntities.add(accumulatedEntities.get(entityGUID));
+            }
+
+            return selectedEntities;
+        }
+
+        return new ArrayList<>(accumulatedEntities.values());
+    }
+
+
     /**
      * Return the list of entities that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
@@ -298,8 +345,10 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
      * This call should be made once all processing has stopped.
      *
      * @param repositoryConnector enterprise connector
+     * @param selectedEntities entities that are to be returned
      */
-    private void makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    private void makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                            List<EntityDetail>                selectedEntities)
     {
         /*
          * Either no local repository or nothing accumulated so nothing to return
@@ -312,7 +361,7 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
         /*
          * Ignore all entities that came from the local repository
          */
-        for (EntityDetail accumulatedEntity : accumulatedEntities.values())
+        for (EntityDetail accumulatedEntity : selectedEntities)
         {
             if (accumulatedEntity != null)
             {
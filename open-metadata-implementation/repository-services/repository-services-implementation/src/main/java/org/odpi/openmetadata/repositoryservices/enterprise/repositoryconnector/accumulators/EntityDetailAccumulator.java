@@ -81,7 +81,7 @@ public class EntityDetailAccumulator extends ClassificationAccumulator
      *
      * @return null or list of GUIDs
      */
-    public List<String> getResultsForAugmentation()
+    public synchronized List<String> getResultsForAugmentation()
     {
         if (currentSavedEntity != null)
         {
@@ -102,7 +102,7 @@ public class EntityDetailAccumulator extends ClassificationAccumulator
      * @param returnDeletedClassifications should classifications in deleted status be returned?
      * @return consolidated entity
      */
-    public  EntityDetail getResult(boolean returnDeletedClassifications)
+    public synchronized EntityDetail getResult(boolean returnDeletedClassifications)
     {
         if (currentSavedEntity != null)
         {
@@ -212,9 +212,16 @@ public class EntityHistoryAccumulator extends EntitiesAccumulator
      * @return null or list of metadata collection ids
      */
     @Override
-    public List<String> getContributingMetadataCollections(String entityGUID)
+    public synchronized List<String> getContributingMetadataCollections(String entityGUID)
     {
-        return accumulatedEntitySources.get(entityGUID);
+        List<String> entitySources = accumulatedEntitySources.get(entityGUID);
+
+        if (entitySources != null)
+        {
+            return new ArrayList<>(entitySources);
+        }
+
+        return null;
     }
 
 
@@ -224,7 +231,7 @@ public class EntityHistoryAccumulator extends EntitiesAccumulator
      * @return null or list of GUIDs
      */
     @Override
-    public List<String> getResultsForAugmentation()
+    public synchronized List<String> getResultsForAugmentation()
     {
         if ((! accumulatedEntities.isEmpty() && (entityGUID != null)))
         {
@@ -0,0 +1,93 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FederatedPagingCursor is the continuation token for a federated find request.  It records the position reached
+ * in the results of each repository when a page of federated results was produced.  This means that the request
+ * for the next page only needs to retrieve the results from each repository that follow this position,
+ * rather than retrieving all the results from the start of each repository's results.
+ *
+ * The cursor is immutable so it can be shared between threads.
+ */
+public class FederatedPagingCursor
+{
+    private final int                  startingElement;
+    private final Map<String, Integer> repositoryOffsets;
+
+
+    /**
+     * Constructor.
+     *
+     * @param startingElement the element number of the federated results that this cursor resumes from
+     * @param repositoryOffsets map of metadata collection id to the number of elements consumed from that repository's results
+     */
+    public FederatedPagingCursor(int                  startingElement,
+                                 Map<String, Integer> repositoryOffsets)
+    {
+        this.startingElement = startingElement;
+
+        if (repositoryOffsets == null)
+        {
+            this.repositoryOffsets = Collections.emptyMap();
+        }
+        else
+        {
+            this.repositoryOffsets = Collections.unmodifiableMap(new HashMap<>(repositoryOffsets));
+        }
+    }
+
+
+    /**
+     * Return the element number of the federated results that this cursor resumes from.
+     *
+     * @return element number
+     */
+    public int getStartingElement()
+    {
+        return startingElement;
+    }
+
+
+    /**
+     * Return the starting element to use when requesting the next results from a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return element number or null if the repository is not known to this cursor
+     */
+    public Integer getRepositoryOffset(String metadataCollectionId)
+    {
+        return repositoryOffsets.get(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the metadata collection ids of the repositories that contributed to the results before this cursor.
+     *
+     * @return set of metadata collection ids
+     */
+    public Set<String> getMetadataCollectionIds()
+    {
+        return repositoryOffsets.keySet();
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FederatedPagingCursor{" +
+                       "startingElement=" + startingElement +
+                       ", repositoryOffsets=" + repositoryOffsets +
+                       '}';
+    }
+}
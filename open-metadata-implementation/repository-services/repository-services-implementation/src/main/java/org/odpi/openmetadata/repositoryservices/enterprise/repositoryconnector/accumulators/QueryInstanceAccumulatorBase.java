@@ -4,19 +4,52 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
  * combine results.
+ *
+ * It also supports federated paging.  When this is enabled, each repository is asked for a sorted stream of results
+ * that begins at the position recorded for it in the paging cursor (or at the start of its results if there is no
+ * cursor).  The page of federated results is produced by a k-way merge of these streams using the same ordering
+ * as the repositories.  If a stream runs out of results before the page is complete, and the repository has more
+ * results, the repository is asked for more results in another sweep of the repositories.
  */
 public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
 {
+    private static final int MAX_PAGING_SWEEPS = 100;
+
     protected List<String>            locallyStoredInstancesGUIDs = new ArrayList<>();
 
+    /*
+     * Federated paging state.
+     */
+    private boolean                              federatedPaging    = false;
+    private int                                  startingElement    = 0;
+    private int                                  pageSize           = 0;
+    private int                                  repositoryPageSize = 0;
+    private Comparator<InstanceHeader>           sequencer          = null;
+    private FederatedPagingCursor                startingCursor     = null;
+    private int                                  sweepCount         = 0;
+    private final Map<String, RepositoryResults> repositoryResults  = new TreeMap<>();
+    private final Map<String, Integer>           maxPageSizes       = new HashMap<>();
+    private List<String>                         pageGUIDs          = null;
+    private FederatedPagingCursor                nextCursor         = null;
+    private boolean                              pageIncomplete     = false;
+
+
     /**
      * Construct a query accumulator.  This base class manages the common variables needed to
      * control the execution of requests across all members of the cohort(s).
@@ -38,7 +71,7 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
      *
      * @param locallyStoredInstancesGUID guid of an instance that is best of breed and stored locally
      */
-    void captureLocalInstance(String   locallyStoredInstancesGUID)
+    synchronized void captureLocalInstance(String   locallyStoredInstancesGUID)
     {
         this.locallyStoredInstancesGUIDs.add(locallyStoredInstancesGUID);
     }
@@ -50,8 +83,432 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
      * @param instanceGUID unique identifier (guid) of instance
      * @return boolean true if entity is NOT stored in local repository
      */
-    boolean notLocal(String   instanceGUID)
+    synchronized boolean notLocal(String   instanceGUID)
     {
         return ! (locallyStoredInstancesGUIDs.contains(instanceGUID));
     }
+
+
+    /**
+     * Switch on federated paging.  This must be called before any requests are issued to the repositories.
+     *
+     * @param startingElement the element number of the federated results to start the page from
+     * @param pageSize maximum number of elements in the page - zero means no limit
+     * @param sequencer comparator that matches the ordering used by the repositories
+     * @param cursor continuation token from the previous page (or null)
+     * @param maxRepositoryPageSize largest page size that can be requested from a repository - zero means no limit
+     */
+    public synchronized void enableFederatedPaging(int                        startingElement,
+                                                   int                        pageSize,
+                                                   Comparator<InstanceHeader> sequencer,
+                                                   FederatedPagingCursor      cursor,
+                                                   int                        maxRepositoryPageSize)
+    {
+        this.federatedPaging = true;
+        this.startingElement = startingElement;
+        this.pageSize = pageSize;
+        this.sequencer = sequencer;
+
+        if ((cursor != null) && (cursor.getStartingElement() == startingElement))
+        {
+            this.startingCursor = cursor;
+        }
+
+        if (pageSize == 0)
+        {
+            this.repositoryPageSize = 0;
+        }
+        else if (startingCursor != null)
+        {
+            this.repositoryPageSize = pageSize;
+        }
+        else
+        {
+            /*
+             * Without a cursor, each repository must supply all of its results up to the end of the requested page
+             * since it is not known how many of them precede the start of the page.
+             */
+            this.repositoryPageSize = startingElement + pageSize;
+        }
+
+        if ((maxRepositoryPageSize > 0) && ((repositoryPageSize == 0) || (repositoryPageSize > maxRepositoryPageSize)))
+        {
+            this.repositoryPageSize = maxRepositoryPageSize;
+        }
+    }
+
+
+    /**
+     * Return whether federated paging is in use.
+     *
+     * @return boolean
+     */
+    public synchronized boolean isFederatedPaging()
+    {
+        return federatedPaging;
+    }
+
+
+    /**
+     * Return the starting element for the next request to a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return element number or null if the repository does not need to be called
+     */
+    public synchronized Integer getRepositoryStartingElement(String metadataCollectionId)
+    {
+        RepositoryResults results = repositoryResults.get(metadataCollectionId);
+
+        if (results == null)
+        {
+            if (sweepCount > 0)
+            {
+                /*
+                 * The repository failed on the first sweep.
+                 */
+                return null;
+            }
+
+            return this.getInitialRepositoryOffset(metadataCollectionId);
+        }
+        else if (results.moreRequired)
+        {
+            return results.baseOffset + results.received;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the page size for the next request to a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return page size - zero means no limit
+     */
+    public synchronized int getRepositoryPageSize(String metadataCollectionId)
+    {
+        return repositoryPageSize;
+    }
+
+
+    /**
+     * Record the largest page that a repository returns.  A repository that returns exactly this number of
+     * results when asked for more is capping its page and may have more results.  Any other repository that
+     * returns fewer results than requested has no more results.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param maxPageSize largest page size the repository returns - zero means no limit
+     */
+    public synchronized void setRepositoryMaxPageSize(String metadataCollectionId,
+                                                      int    maxPageSize)
+    {
+        if ((metadataCollectionId != null) && (maxPageSize > 0))
+        {
+            maxPageSizes.put(metadataCollectionId, maxPageSize);
+        }
+    }
+
+
+    /**
+     * Return the position in the repository's results that the first request should start from.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return element number
+     */
+    private int getInitialRepositoryOffset(String metadataCollectionId)
+    {
+        if (startingCursor != null)
+        {
+            Integer offset = startingCursor.getRepositoryOffset(metadataCollectionId);
+
+            if (offset != null)
+            {
+                return offset;
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Save the results returned by a repository for a federated page.  The instances must be in the order
+     * returned by the repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param instances results from the repository
+     */
+    synchronized void saveRepositoryResults(String                         metadataCollectionId,
+                                            List<? extends InstanceHeader> instances)
+    {
+        if ((! federatedPaging) || (metadataCollectionId == null))
+        {
+            return;
+        }
+
+        RepositoryResults results = repositoryResults.get(metadataCollectionId);
+
+        if (results == null)
+        {
+            results = new RepositoryResults(this.getInitialRepositoryOffset(metadataCollectionId));
+            repositoryResults.put(metadataCollectionId, results);
+        }
+
+        int receivedCount = 0;
+
+        if (instances != null)
+        {
+            receivedCount = instances.size();
+
+            for (InstanceHeader instance : instances)
+            {
+                if ((instance != null) && (instance.getGUID() != null))
+                {
+                    results.instances.add(instance);
+                }
+            }
+        }
+
+        results.received = results.received + receivedCount;
+        results.moreRequired = false;
+        results.exhausted = (repositoryPageSize == 0) ||
+                            ((receivedCount < repositoryPageSize) && (! this.isCappedPage(metadataCollectionId, receivedCount)));
+    }
+
+
+    /**
+     * Return whether a short page from a repository is its own maximum page size rather than the end of its results.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param receivedCount number of results returned
+     * @return boolean true if the repository should be asked for more results
+     */
+    private boolean isCappedPage(String metadataCollectionId,
+                                 int    receivedCount)
+    {
+        Integer maxPageSize = maxPageSizes.get(metadataCollectionId);
+
+        return (receivedCount > 0) && (maxPageSize != null) && (receivedCount == maxPageSize);
+    }
+
+
+    /**
+     * Called after each sweep of the repositories to determine whether more results are needed from any
+     * of the repositories to complete the page.  If the page is still not complete after the maximum number
+     * of sweeps, the page is flagged as incomplete.
+     *
+     * @return boolean true if another sweep is needed
+     */
+    public synchronized boolean needsMoreResults()
+    {
+        final String methodName = "needsMoreResults";
+
+        sweepCount++;
+
+        /*
+         * Any repository that was asked for more results and did not respond is treated as having no more results.
+         */
+        for (RepositoryResults results : repositoryResults.values())
+        {
+            if (results.moreRequired)
+            {
+                results.moreRequired = false;
+                results.exhausted = true;
+            }
+        }
+
+        boolean pageComplete = this.mergeRepositoryResults();
+
+        if ((! pageComplete) && (sweepCount >= MAX_PAGING_SWEEPS))
+        {
+            pageIncomplete = true;
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    OMRSAuditCode.FEDERATED_PAGE_INCOMPLETE.getMessageDefinition(Integer.toString(sweepCount),
+                                                                                                 Integer.toString(startingElement)));
+            }
+
+            return false;
+        }
+
+        return ! pageComplete;
+    }
+
+
+    /**
+     * Return whether the limit on the number of sweeps of the repositories was reached before the page was
+     * complete.  The page holds the results gathered so far.
+     *
+     * @return boolean true if results are missing from the page
+     */
+    public synchronized boolean isPageIncomplete()
+    {
+        return pageIncomplete;
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances in the federated page in the order they should be returned.
+     *
+     * @return list of guids
+     */
+    synchronized List<String> getFederatedPageGUIDs()
+    {
+        if (pageGUIDs == null)
+        {
+            this.mergeRepositoryResults();
+        }
+
+        return pageGUIDs;
+    }
+
+
+    /**
+     * Return the continuation token for the page following this one.
+     *
+     * @return cursor or null if there are no more results, or the page could not be assembled from whole
+     * streams of results
+     */
+    public synchronized FederatedPagingCursor getNextCursor()
+    {
+        if (pageGUIDs == null)
+        {
+            this.mergeRepositoryResults();
+        }
+
+        return nextCursor;
+    }
+
+
+    /**
+     * Perform the k-way merge of the results from each repository.  Each repository's results are already sorted
+     * and so the merge takes the first instance from the stream that has the lowest head according to the
+     * sequencer.  Ties are resolved by the order of the metadata collection ids so the same order is produced
+     * on each call.  An instance that has already been taken from another repository is skipped.
+     *
+     * @return boolean true if the page is complete; false if a repository has to be asked for more results
+     */
+    private boolean mergeRepositoryResults()
+    {
+        List<String>            repositoryIds   = new ArrayList<>(repositoryResults.keySet());
+        List<RepositoryResults> streams         = new ArrayList<>(repositoryResults.values());
+        int[]                   positions       = new int[streams.size()];
+        Set<String>             mergedGUIDs     = new HashSet<>();
+        List<String>            resultGUIDs     = new ArrayList<>();
+        int                     elementsToSkip  = 0;
+        boolean                 blocked         = false;
+
+        if (startingCursor == null)
+        {
+            elementsToSkip = startingElement;
+        }
+
+        while ((pageSize == 0) || (resultGUIDs.size() < pageSize))
+        {
+            int nextStream = -1;
+
+            for (int i = 0; i < streams.size(); i++)
+            {
+                RepositoryResults stream = streams.get(i);
+
+                if (positions[i] < stream.instances.size())
+                {
+                    if ((nextStream == -1) ||
+                        (sequencer.compare(stream.instances.get(positions[i]),
+                                           streams.get(nextStream).instances.get(positions[nextStream])) < 0))
+                    {
+                        nextStream = i;
+                    }
+                }
+                else if (! stream.exhausted)
+                {
+                    /*
+                     * The ordering of this repository's later results is unknown so the merge can not continue.
+                     */
+                    stream.moreRequired = true;
+                    blocked = true;
+                }
+            }
+
+            if ((blocked) || (nextStream == -1))
+            {
+                break;
+            }
+
+            InstanceHeader instance = streams.get(nextStream).instances.get(positions[nextStream]);
+
+            positions[nextStream]++;
+
+            if (mergedGUIDs.add(instance.getGUID()))
+            {
+                if (elementsToSkip > 0)
+                {
+                    elementsToSkip--;
+                }
+                else
+                {
+                    resultGUIDs.add(instance.getGUID());
+                }
+            }
+        }
+
+        pageGUIDs = resultGUIDs;
+        nextCursor = null;
+
+        if ((! blocked) && (pageSize > 0) && (resultGUIDs.size() == pageSize))
+        {
+            /*
+             * An instance that is held by more than one repository is only taken from one of the streams.
+             * The other streams must move past it, or it is returned again at the start of the next page.
+             */
+            for (int i = 0; i < streams.size(); i++)
+            {
+                RepositoryResults stream = streams.get(i);
+
+                while ((positions[i] < stream.instances.size()) &&
+                       (mergedGUIDs.contains(stream.instances.get(positions[i]).getGUID())))
+                {
+                    positions[i]++;
+                }
+            }
+
+            Map<String, Integer> repositoryOffsets = new HashMap<>();
+
+            for (int i = 0; i < streams.size(); i++)
+            {
+                repositoryOffsets.put(repositoryIds.get(i), streams.get(i).baseOffset + positions[i]);
+            }
+
+            nextCursor = new FederatedPagingCursor(startingElement + pageSize, repositoryOffsets);
+        }
+
+        return ! blocked;
+    }
+
+
+    /**
+     * The sorted results received from a single repository.
+     */
+    private static class RepositoryResults
+    {
+        final int                  baseOffset;
+        final List<InstanceHeader> instances    = new ArrayList<>();
+        int                        received     = 0;
+        boolean                    exhausted    = false;
+        boolean                    moreRequired = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param baseOffset position in the repository's results of the first instance received
+         */
+        RepositoryResults(int baseOffset)
+        {
+            this.baseOffset = baseOffset;
+        }
+    }
 }
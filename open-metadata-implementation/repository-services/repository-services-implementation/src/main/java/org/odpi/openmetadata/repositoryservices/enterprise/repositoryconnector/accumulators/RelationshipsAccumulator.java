@@ -92,6 +92,8 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
                 this.addRelationship(relationship, metadataCollectionId);
             }
 
+            super.saveRepositoryResults(metadataCollectionId, relationships);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -99,6 +101,8 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
+            super.saveRepositoryResults(metadataCollectionId, null);
+
             /*
              * Even though results were not found it was still a successful request.
              */
@@ -110,7 +114,8 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
     /**
      * Extract the results - this will a list of unique relationships selected from the instances
      * supplied to this accumulator.  It should be called once all the executors have completed processing
-     * their request(s).
+     * their request(s).  When federated paging is in use, the relationships in the requested page are returned
+     * in sequence.
      *
      * @param repositoryConnector enterprise connector
      * @return list of relationships
@@ -123,9 +128,40 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
-            this.makeRefreshRecommendations(repositoryConnector);
-            return new ArrayList<>(accumulatedRelationships.values());
+            List<Relationship> results = this.getSelectedRelationships();
+
+            this.makeRefreshRecommendations(repositoryConnector, results);
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
+        }
+    }
+
+
+    /**
+     * Return the accumulated relationships that make up the results.
+     *
+     * @return list of relationships
+     */
+    private List<Relationship> getSelectedRelationships()
+    {
+        if (super.isFederatedPaging())
+        {
+            List<Relationship> selectedRelationships = new ArrayList<>();
+
+            for (String relationshipGUID : super.getFederatedPageGUIDs())
+            {
+                selectedRelationships.add(accumulatedRelationships.get(relationshipGUID));
+            }
+
+            return selectedRelationships;
         }
+
+        return new ArrayList<>(accumulatedRelationships.values());
     }
 
 
@@ -141,8 +177,10 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
      * This call should be made once all processing has stopped.
      *
      * @param repositoryConnector enterprise connector
+     * @param selectedRelationships relationships that are to be returned
      */
-    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    private  void  makeRefreshRecommendations(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                              List<Relationship>                selectedRelationships)
     {
         /*
          * Either no local repository or nothing accumulated so nothing to return
@@ -155,7 +193,7 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
         /*
          * Ignore all entities that came from the local repository
          */
-        for (Relationship accumulatedRelationship : accumulatedRelationships.values())
+        for (Relationship accumulatedRelationship : selectedRelationships)
         {
             if (accumulatedRelationship != null)
             {
@@ -3,19 +3,55 @@
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The worker threads come from a bounded pool that is shared by all federated requests in the server's JVM.
+ * When the pool is saturated, the request to a repository waits for space in the pool until the timeout
+ * expires.  A repository that could not be called in time is reported in the same way as one that did not respond.
+ *
+ * The executor is shared by the worker threads and so it, and its accumulator, must be thread-safe.
+ * Each sweep of the repositories waits for all the calls to complete, or for the first call that
+ * returns true (meaning the executor has the results it needs), or for the timeout to expire.
+ * While the results are being gathered, the wait also ends once the executor reports that it has the
+ * results it needs.  Calls that are still outstanding at that point are cancelled.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses the sequential federation control since the worker threads are not implemented.
-    private final SequentialFederationControl sequentialFederationControl;
+    /**
+     * The default time in milliseconds that a federated request waits for each repository to respond.
+     */
+    public static final long DEFAULT_TIMEOUT = 60000;
+
+    private static final int  MAX_WORKER_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int  MAX_QUEUED_REQUESTS = 1000;
+    private static final long SUBMIT_RETRY_INTERVAL = 10;
+
+    private static final ThreadPoolExecutor workerPool = createWorkerPool();
+
+    private final long timeout;
+
 
     /**
      * Constructor for a federated query
@@ -29,10 +65,62 @@ public class ParallelFederationControl extends FederationControlBase
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      AuditLog                      auditLog,
                                      String                        methodName)
+    {
+        this(userId, cohortConnectors, auditLog, methodName, DEFAULT_TIMEOUT);
+    }
+
+
+    /**
+     * Constructor for a federated query
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param auditLog logging destination
+     * @param methodName calling method
+     * @param timeout time in milliseconds to wait for each repository to respond
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     AuditLog                      auditLog,
+                                     String                        methodName,
+                                     long                          timeout)
     {
         super(userId, cohortConnectors, auditLog, methodName);
 
-        sequentialFederationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        this.timeout = timeout;
+    }
+
+
+    /**
+     * Create the worker pool shared by all parallel federated requests.  The threads are daemon threads that
+     * are released when they are idle.  Requests that do not fit in the queue are rejected so that they
+     * never run on the calling thread outside the timeout of the request.
+     *
+     * @return thread pool
+     */
+    private static ThreadPoolExecutor createWorkerPool()
+    {
+        final AtomicInteger threadNumber  = new AtomicInteger(0);
+        ThreadFactory       threadFactory = runnable ->
+        {
+            Thread thread = new Thread(runnable, "EnterpriseFederationWorker-" + threadNumber.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        };
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_WORKER_THREADS,
+                                                         MAX_WORKER_THREADS,
+                                                         60,
+                                                         TimeUnit.SECONDS,
+                                                         new LinkedBlockingQueue<>(MAX_QUEUED_REQUESTS),
+                                                         threadFactory,
+                                                         new ThreadPoolExecutor.AbortPolicy());
+
+        pool.allowCoreThreadTimeOut(true);
+
+        return pool;
     }
 
 
@@ -45,6 +133,287 @@ public class ParallelFederationControl extends FederationControlBase
      */
     public void executeCommand(RepositoryExecutor executor) throws RepositoryErrorException
     {
-        sequentialFederationControl.executeCommand(executor);
+        if (super.cohortConnectors != null)
+        {
+            /*
+             * This is the first sweep of the repositories - used to gather the results.
+             */
+            List<RepositoryRequest> requests = new ArrayList<>();
+
+            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            {
+                if (cohortConnector != null)
+                {
+                    requests.add(new RepositoryRequest(cohortConnector.getRepositoryName(),
+                                                       () -> this.issueRequestToRepository(cohortConnector, executor)));
+                }
+            }
+
+            this.runRequests(requests, executor);
+
+            /*
+             * The executor may need more results from some of the repositories before its results are complete.
+             */
+            while (executor.needsAnotherSweep())
+            {
+                this.runRequests(requests, executor);
+            }
+
+            /*
+             * All repositories have been called.
+             * The executor may choose to augment each result element by making another sweep of the repositories.
+             * Each repository is sent all the results to augment by one of the worker threads.
+             */
+            List<String> resultGUIDs = executor.getResultsForAugmentation();
+
+            if ((resultGUIDs != null) && (! resultGUIDs.isEmpty()))
+            {
+                List<RepositoryRequest> augmentations = new ArrayList<>();
+
+                for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+                {
+                    if (cohortConnector != null)
+                    {
+                        augmentations.add(new RepositoryRequest(cohortConnector.getRepositoryName(),
+                                                                () -> this.augmentResultsFromRepository(cohortConnector, executor, resultGUIDs)));
+                    }
+                }
+
+                this.runRequests(augmentations, null);
+            }
+        }
+    }
+
+
+    /**
+     * Call a single repository.  This runs on a worker thread.
+     *
+     * @param cohortConnector connector to the repository
+     * @param executor command to execute
+     * @return boolean true means that the executor has all the results it needs
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private boolean issueRequestToRepository(OMRSRepositoryConnector cohortConnector,
+                                             RepositoryExecutor      executor) throws RepositoryErrorException
+    {
+        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+        String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+        if (metadataCollectionId != null)
+        {
+            executor.setRepositoryMaxPageSize(metadataCollectionId, cohortConnector.getMaxPageSize());
+
+            return executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Augment each of the results from a single repository.  This runs on a worker thread.
+     *
+     * @param cohortConnector connector to the repository
+     * @param executor command to execute
+     * @param resultGUIDs unique identifiers of the results to augment
+     * @return false since all repositories are called to augment the results
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private boolean augmentResultsFromRepository(OMRSRepositoryConnector cohortConnector,
+                                                 RepositoryExecutor      executor,
+                                                 List<String>            resultGUIDs) throws RepositoryErrorException
+    {
+        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+        String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+        if (metadataCollectionId != null)
+        {
+            for (String resultGUID : resultGUIDs)
+            {
+                if (Thread.currentThread().isInterrupted())
+                {
+                    break;
+                }
+
+                executor.augmentResultFromRepository(resultGUID, metadataCollectionId, metadataCollection);
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Run a set of requests on the worker pool and wait for them to complete.  The wait ends early if
+     * one of the requests returns true, the executor has the results it needs or the timeout expires.
+     * Outstanding requests are then cancelled.
+     *
+     * @param requests requests to run
+     * @param executor executor gathering the results, or null if the wait only ends early when a request returns true
+     * @throws RepositoryErrorException problem with the state of one of the repositories
+     */
+    private void runRequests(List<RepositoryRequest> requests,
+                             RepositoryExecutor      executor) throws RepositoryErrorException
+    {
+        CompletionService<Boolean>   completionService = new ExecutorCompletionService<>(workerPool);
+        Map<Future<Boolean>, String> outstandingCalls  = new HashMap<>();
+        long                         deadline          = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean                      resultsComplete   = false;
+        RepositoryErrorException     repositoryError   = null;
+
+        try
+        {
+            for (RepositoryRequest request : requests)
+            {
+                Future<Boolean> call = this.submitRequest(completionService, request, deadline);
+
+                if (call != null)
+                {
+                    outstandingCalls.put(call, request.repositoryName);
+                }
+                else
+                {
+                    this.logTimeout(request.repositoryName);
+                }
+            }
+
+            while ((! resultsComplete) && (! outstandingCalls.isEmpty()))
+            {
+                long            remainingTime = deadline - System.nanoTime();
+                Future<Boolean> completedCall = null;
+
+                if (remainingTime > 0)
+                {
+                    completedCall = completionService.poll(remainingTime, TimeUnit.NANOSECONDS);
+                }
+
+                if (completedCall == null)
+                {
+                    /*
+                     * The timeout has expired.
+                     */
+                    for (String repositoryName : outstandingCalls.values())
+                    {
+                        this.logTimeout(repositoryName);
+                    }
+
+                    break;
+                }
+
+                outstandingCalls.remove(completedCall);
+
+                try
+                {
+                    /*
+                     * The executor returns true if it has all the results it needs.
+                     * If it returns false it means it needs more info from the other repositories.
+                     */
+                    resultsComplete = Boolean.TRUE.equals(completedCall.get());
+                }
+                catch (ExecutionException error)
+                {
+                    if ((error.getCause() instanceof RepositoryErrorException) && (repositoryError == null))
+                    {
+                        repositoryError = (RepositoryErrorException) error.getCause();
+                    }
+                }
+
+                if ((! resultsComplete) && (executor != null))
+                {
+                    resultsComplete = executor.hasRequiredResults();
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            for (Future<Boolean> outstandingCall : outstandingCalls.keySet())
+            {
+                outstandingCall.cancel(true);
+            }
+        }
+
+        if (repositoryError != null)
+        {
+            throw repositoryError;
+        }
+    }
+
+
+    /**
+     * Submit a request to the worker pool.  If the pool is saturated, the submission is retried until
+     * the deadline passes.
+     *
+     * @param completionService completion service wrapping the worker pool
+     * @param request request to run
+     * @param deadline time (from System.nanoTime()) that the request must be started by
+     * @return future for the call, or null if it could not be submitted before the deadline
+     * @throws InterruptedException the calling thread was interrupted while waiting for space in the pool
+     */
+    private Future<Boolean> submitRequest(CompletionService<Boolean> completionService,
+                                          RepositoryRequest          request,
+                                          long                       deadline) throws InterruptedException
+    {
+        while (true)
+        {
+            try
+            {
+                return completionService.submit(request.call);
+            }
+            catch (RejectedExecutionException error)
+            {
+                long remainingTime = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                if (remainingTime <= 0)
+                {
+                    return null;
+                }
+
+                Thread.sleep(Math.min(remainingTime, SUBMIT_RETRY_INTERVAL));
+            }
+        }
+    }
+
+
+    /**
+     * Log that a repository did not respond before the timeout.
+     *
+     * @param repositoryName name of the repository
+     */
+    private void logTimeout(String repositoryName)
+    {
+        auditLog.logMessage(methodName,
+                            OMRSAuditCode.FEDERATED_REQUEST_TIMED_OUT.getMessageDefinition(repositoryName,
+                                                                                           methodName,
+                                                                                           Long.toString(timeout)));
+    }
+
+
+    /**
+     * A call to a single repository along with the name of the repository for logging.
+     */
+    private static class RepositoryRequest
+    {
+        private final String            repositoryName;
+        private final Callable<Boolean> call;
+
+
+        /**
+         * Constructor
+         *
+         * @param repositoryName name of the repository being called
+         * @param call call to make
+         */
+        RepositoryRequest(String            repositoryName,
+                          Callable<Boolean> call)
+        {
+            this.repositoryName = repositoryName;
+            this.call = call;
+        }
     }
 }
@@ -46,28 +46,13 @@ public class SequentialFederationControl extends FederationControlBase
         {
             /*
              * This is the first sweep of the repositories - used to gather the results.
+             * The executor may need more results from some of the repositories before its results are complete.
              */
-            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            do
             {
-                if (cohortConnector != null)
-                {
-                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
-
-                    String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
-
-                    if (metadataCollectionId != null)
-                    {
-                        if (executor.issueRequestToRepository(metadataCollectionId, metadataCollection))
-                        {
-                            /*
-                             * The executor returns true if it has all the results it needs.
-                             * If it returns false it means it needs more info from another repository.
-                             */
-                            break;
-                        }
-                    }
-                }
+                this.sweepRepositories(executor);
             }
+            while (executor.needsAnotherSweep());
 
             /*
              * All repositories have been called.
@@ -97,4 +82,38 @@ public class SequentialFederationControl extends FederationControlBase
             }
         }
     }
+
+
+    /**
+     * Call each repository in turn until the executor has the results it needs.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void sweepRepositories(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+                if (metadataCollectionId != null)
+                {
+                    executor.setRepositoryMaxPageSize(metadataCollectionId, cohortConnector.getMaxPageSize());
+
+                    if (executor.issueRequestToRepository(metadataCollectionId, metadataCollection))
+                    {
+                        /*
+                         * The executor returns true if it has all the results it needs.
+                         * If it returns false it means it needs more info from another repository.
+                         */
+                        break;
+                    }
+                }
+            }
+        }
+    }
 }
@@ -176,6 +176,16 @@ public class FindEntitiesByClassificationExecutor extends PageableEntityReposito
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -186,12 +196,12 @@ public class FindEntitiesByClassificationExecutor extends PageableEntityReposito
                                                                                          classificationName,
                                                                                          matchClassificationProperties,
                                                                                          matchCriteria,
-                                                                                         startingElement,
+                                                                                         repositoryStartingElement,
                                                                                          limitResultsByStatus,
                                                                                          asOfTime,
                                                                                          sequencingProperty,
                                                                                          sequencingOrder,
-                                                                                         pageSize);
+                                                                                         super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addEntities(results, metadataCollectionId);
 
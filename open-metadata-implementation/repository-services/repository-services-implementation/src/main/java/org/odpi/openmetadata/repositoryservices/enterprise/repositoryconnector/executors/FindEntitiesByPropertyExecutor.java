@@ -175,6 +175,16 @@ public class FindEntitiesByPropertyExecutor extends PageableEntityRepositoryExec
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -184,13 +194,13 @@ public class FindEntitiesByPropertyExecutor extends PageableEntityRepositoryExec
                                                                                    instanceTypeGUID,
                                                                                    matchProperties,
                                                                                    matchCriteria,
-                                                                                   startingElement,
+                                                                                   repositoryStartingElement,
                                                                                    limitResultsByStatus,
                                                                                    limitResultsByClassification,
                                                                                    asOfTime,
                                                                                    sequencingProperty,
                                                                                    sequencingOrder,
-                                                                                   pageSize);
+                                                                                   super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addEntities(results, metadataCollectionId);
         }
@@ -169,6 +169,16 @@ public class FindEntitiesByPropertyValueExecutor extends PageableEntityRepositor
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -177,13 +187,13 @@ public class FindEntitiesByPropertyValueExecutor extends PageableEntityRepositor
             List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
                                                                                         instanceTypeGUID,
                                                                                         searchCriteria,
-                                                                                        startingElement,
+                                                                                        repositoryStartingElement,
                                                                                         limitResultsByStatus,
                                                                                         limitResultsByClassification,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addEntities(results, metadataCollectionId);
         }
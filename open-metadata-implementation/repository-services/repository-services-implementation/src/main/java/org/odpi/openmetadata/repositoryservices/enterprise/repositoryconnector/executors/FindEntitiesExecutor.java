@@ -178,6 +178,16 @@ public class FindEntitiesExecutor extends PageableEntityRepositoryExecutorBase
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -187,13 +197,13 @@ public class FindEntitiesExecutor extends PageableEntityRepositoryExecutorBase
                                                                          instanceTypeGUID,
                                                                          instanceSubtypeGUIDs,
                                                                          matchProperties,
-                                                                         startingElement,
+                                                                         repositoryStartingElement,
                                                                          limitResultsByStatus,
                                                                          matchClassifications,
                                                                          asOfTime,
                                                                          sequencingProperty,
                                                                          sequencingOrder,
-                                                                         pageSize);
+                                                                         super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addEntities(results, metadataCollectionId);
         }
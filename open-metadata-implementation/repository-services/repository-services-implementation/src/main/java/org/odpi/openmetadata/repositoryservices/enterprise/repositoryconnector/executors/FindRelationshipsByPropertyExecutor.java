@@ -179,6 +179,16 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -188,12 +198,12 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
                                                                                         instanceTypeGUID,
                                                                                         matchProperties,
                                                                                         matchCriteria,
-                                                                                        startingElement,
+                                                                                        repositoryStartingElement,
                                                                                         limitResultsByStatus,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addRelationships(results, metadataCollectionId);
         }
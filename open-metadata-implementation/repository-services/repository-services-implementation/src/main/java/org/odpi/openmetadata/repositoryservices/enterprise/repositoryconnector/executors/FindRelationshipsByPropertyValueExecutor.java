@@ -168,6 +168,16 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -176,12 +186,12 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
             List<Relationship> results = metadataCollection.findRelationshipsByPropertyValue(userId,
                                                                                              instanceTypeGUID,
                                                                                              searchCriteria,
-                                                                                             startingElement,
+                                                                                             repositoryStartingElement,
                                                                                              limitResultsByStatus,
                                                                                              asOfTime,
                                                                                              sequencingProperty,
                                                                                              sequencingOrder,
-                                                                                             pageSize);
+                                                                                             super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addRelationships(results, metadataCollectionId);
         }
@@ -177,6 +177,16 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -186,12 +196,12 @@ public class FindRelationshipsExecutor extends PageableRepositoryExecutorBase
                                                                               instanceTypeGUID,
                                                                               instanceSubtypeGUIDs,
                                                                               matchProperties,
-                                                                              startingElement,
+                                                                              repositoryStartingElement,
                                                                               limitResultsByStatus,
                                                                               asOfTime,
                                                                               sequencingProperty,
                                                                               sequencingOrder,
-                                                                              pageSize);
+                                                                              super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addRelationships(results, metadataCollectionId);
         }
@@ -0,0 +1,337 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityDetailAccumulator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * GetEntitiesByGUIDsExecutor provides the executor for the getEntitiesByGUIDs method.  Each repository is sent
+ * a single request for the batch of entities it is likely to own.
+ *
+ * When there is a local repository, the first sweep calls only the local repository.  Its reference copies
+ * identify the home repository of each entity.  The second sweep sends each remote repository the entities whose
+ * home copy is still needed and that it is the home for, along with the entities whose home is not yet known.
+ * An entity is no longer requested once its home copy has been retrieved.
+ *
+ * The classifications from every copy retrieved are merged, as they are for getEntityDetail.  Once all the
+ * sweeps are complete, each entity found is augmented with the home classifications held by the repositories
+ * that did not return a copy of it, again as getEntityDetail does.
+ */
+public class GetEntitiesByGUIDsExecutor extends RepositoryExecutorBase
+{
+    private final MaintenanceAccumulator               exceptionAccumulator;
+    private final String                               localMetadataCollectionId;
+    private final Map<String, EntityDetailAccumulator> entityAccumulators        = new LinkedHashMap<>();
+    private final Map<String, String>                  homeMetadataCollectionIds = new HashMap<>();
+    private final Map<String, Set<String>>             requestedGUIDs            = new HashMap<>();
+
+    private boolean localSweep;
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user
+     * @param guids unique identifiers (guids) for the entities
+     * @param localMetadataCollectionId unique identifier of the local repository's metadata collection (null if
+     *                                  there is no local repository)
+     * @param auditLog logging destination
+     * @param methodName calling method
+     */
+    public GetEntitiesByGUIDsExecutor(String       userId,
+                                      List<String> guids,
+                                      String       localMetadataCollectionId,
+                                      AuditLog     auditLog,
+                                      String       methodName)
+    {
+        super(userId, methodName);
+
+        this.exceptionAccumulator = new MaintenanceAccumulator(auditLog);
+        this.localMetadataCollectionId = localMetadataCollectionId;
+        this.localSweep = (localMetadataCollectionId != null);
+
+        if (guids != null)
+        {
+            for (String guid : guids)
+            {
+                entityAccumulators.putIfAbsent(guid, new EntityDetailAccumulator(auditLog));
+            }
+        }
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  The repository is sent one request for all
+     * the entities that it is likely to own.  Some repositories may produce exceptions.  These exceptions are
+     * saved and will be returned if there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the home copy of every entity has been retrieved
+     */
+    @Override
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        List<String> guids = this.getGUIDsForRepository(metadataCollectionId);
+
+        if (! guids.isEmpty())
+        {
+            try
+            {
+                List<EntityDetail> retrievedEntities = metadataCollection.getEntitiesByGUIDs(userId, guids);
+
+                if (retrievedEntities != null)
+                {
+                    for (EntityDetail retrievedEntity : retrievedEntities)
+                    {
+                        this.addEntity(retrievedEntity, metadataCollectionId);
+                    }
+                }
+            }
+            catch (InvalidParameterException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (RepositoryErrorException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (Exception error)
+            {
+                exceptionAccumulator.captureGenericException(methodName, metadataCollectionId, error);
+            }
+        }
+
+        return this.allHomeCopiesRetrieved();
+    }
+
+
+    /**
+     * Return whether another sweep of the repositories is needed.  After the local repository has been called,
+     * the remote repositories are called for the entities whose home copy is still needed.
+     *
+     * @return boolean true if each repository should be called again
+     */
+    @Override
+    public synchronized boolean needsAnotherSweep()
+    {
+        if (localSweep)
+        {
+            localSweep = false;
+
+            return ! this.allHomeCopiesRetrieved();
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return the unique identifiers of the entities that were found.  These are augmented with the home
+     * classifications from the repositories that did not return a copy of them.
+     *
+     * @return null (if no augmentation of results is required) or a list containing the guids of the results.
+     */
+    @Override
+    public synchronized List<String> getResultsForAugmentation()
+    {
+        List<String> resultGUIDs = new ArrayList<>();
+
+        for (Map.Entry<String, EntityDetailAccumulator> entry : entityAccumulators.entrySet())
+        {
+            if (entry.getValue().getResultsForAugmentation() != null)
+            {
+                resultGUIDs.add(entry.getKey());
+            }
+        }
+
+        if (resultGUIDs.isEmpty())
+        {
+            return null;
+        }
+
+        return resultGUIDs;
+    }
+
+
+    /**
+     * Retrieve the home classifications for an entity from a repository that did not return a copy of it.
+     *
+     * @param resultGUID unique identifier of the entity.
+     * @param metadataCollectionId identifier for the metadata collection
+     * @param metadataCollection metadata collection object for the repository
+     */
+    @Override
+    public void augmentResultFromRepository(String                 resultGUID,
+                                            String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        EntityDetailAccumulator entityAccumulator = entityAccumulators.get(resultGUID);
+
+        if (entityAccumulator != null)
+        {
+            List<String> contributingMetadataCollections = entityAccumulator.getContributingMetadataCollections();
+
+            if ((contributingMetadataCollections == null) || (! contributingMetadataCollections.contains(metadataCollectionId)))
+            {
+                try
+                {
+                    List<Classification> homeClassifications = metadataCollection.getHomeClassifications(userId, resultGUID);
+
+                    entityAccumulator.saveClassifications(homeClassifications);
+                }
+                catch (Exception error)
+                {
+                    // ignore exceptions because the returned exceptions come from the retrieval of the entities.
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Select the entities to request from a repository.  These are the entities whose home copy has not been
+     * retrieved, that have not already been requested from the repository, and whose home is either this
+     * repository or is not yet known.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return list of guids (may be empty)
+     */
+    private synchronized List<String> getGUIDsForRepository(String metadataCollectionId)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if ((localSweep) && (! metadataCollectionId.equals(localMetadataCollectionId)))
+        {
+            return guids;
+        }
+
+        Set<String> alreadyRequested = requestedGUIDs.computeIfAbsent(metadataCollectionId, key -> new HashSet<>());
+
+        for (Map.Entry<String, EntityDetailAccumulator> entry : entityAccumulators.entrySet())
+        {
+            String guid = entry.getKey();
+
+            if ((entry.getValue().isInPhaseOne()) && (! alreadyRequested.contains(guid)))
+            {
+                String homeMetadataCollectionId = homeMetadataCollectionIds.get(guid);
+
+                if ((homeMetadataCollectionId == null) || (homeMetadataCollectionId.equals(metadataCollectionId)))
+                {
+                    guids.add(guid);
+                    alreadyRequested.add(guid);
+                }
+            }
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Save an entity retrieved from a repository along with the identity of its home repository.
+     *
+     * @param retrievedEntity entity from the repository
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     */
+    private synchronized void addEntity(EntityDetail retrievedEntity,
+                                        String       metadataCollectionId)
+    {
+        if ((retrievedEntity != null) && (retrievedEntity.getGUID() != null))
+        {
+            EntityDetailAccumulator entityAccumulator = entityAccumulators.get(retrievedEntity.getGUID());
+
+            if (entityAccumulator != null)
+            {
+                entityAccumulator.addEntity(retrievedEntity, metadataCollectionId);
+                entityAccumulator.addContributingMetadataCollection(metadataCollectionId);
+
+                if (retrievedEntity.getMetadataCollectionId() != null)
+                {
+                    homeMetadataCollectionIds.put(retrievedEntity.getGUID(), retrievedEntity.getMetadataCollectionId());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the home copy of every requested entity has been retrieved.
+     *
+     * @return boolean
+     */
+    private synchronized boolean allHomeCopiesRetrieved()
+    {
+        for (EntityDetailAccumulator entityAccumulator : entityAccumulators.values())
+        {
+            if (entityAccumulator.isInPhaseOne())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the header, classifications and properties of each of the requested entities that was found.
+     *
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public synchronized List<EntityDetail> getEntities() throws InvalidParameterException,
+                                                                RepositoryErrorException,
+                                                                UserNotAuthorizedException
+    {
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (EntityDetailAccumulator entityAccumulator : entityAccumulators.values())
+        {
+            EntityDetail entity = entityAccumulator.getResult(false);
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(entity);
+            }
+        }
+
+        if (! results.isEmpty())
+        {
+            return results;
+        }
+
+        exceptionAccumulator.throwCapturedRepositoryErrorException();
+        exceptionAccumulator.throwCapturedUserNotAuthorizedException();
+        exceptionAccumulator.throwCapturedInvalidParameterException();
+
+        return null;
+    }
+}
@@ -127,13 +127,6 @@ public class GetEntityDetailExecutor extends GetEntityExecutor
     {
         try
         {
-            /*
-             * Mark that this metadata collection has been visited.  It does not matter if the request fails or not since
-             * it immediately calls for the home classifications if EntityProxyOnlyException is returned.  This means all information
-             * from the repository is gathered in one go.
-             */
-            accumulator.addContributingMetadataCollection(metadataCollectionId);
-
             /*
              * Issue the request and return if it succeeds.
              */
@@ -165,26 +158,40 @@ public class GetEntityDetailExecutor extends GetEntityExecutor
             {
                 getHomeClassifications(metadataCollection);
             }
+
+            /*
+             * Mark that this metadata collection has been visited.  This is done once the repository has responded
+             * because it immediately calls for the home classifications if EntityProxyOnlyException is returned.
+             * This means all information from the repository is gathered in one go.  A repository that fails
+             * with an unexpected error (such as a request cancelled by a parallel federation control) is not
+             * marked and so is called again when the result is augmented.
+             */
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
         }
         catch (InvalidParameterException error)
         {
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
             accumulator.captureException(error);
         }
         catch (EntityNotKnownException error)
         {
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
             accumulator.captureException(error);
         }
         catch (EntityProxyOnlyException error)
         {
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
             accumulator.captureException(error);
             getHomeClassifications(metadataCollection);
         }
         catch (RepositoryErrorException error)
         {
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
             accumulator.captureException(error);
         }
         catch (UserNotAuthorizedException error)
         {
+            accumulator.addContributingMetadataCollection(metadataCollectionId);
             accumulator.captureException(error);
         }
         catch (Exception error)
@@ -196,6 +203,19 @@ public class GetEntityDetailExecutor extends GetEntityExecutor
     }
 
 
+    /**
+     * Return whether the home copy of the entity has been retrieved.  Any remaining classifications are
+     * picked up when the result is augmented.
+     *
+     * @return boolean true if the remaining calls can be cancelled
+     */
+    @Override
+    public boolean hasRequiredResults()
+    {
+        return ! accumulator.isInPhaseOne();
+    }
+
+
     /**
      * Returns the entity if the entity is stored in the metadata collection, otherwise null.
      *
@@ -114,6 +114,19 @@ public class GetEntitySummaryExecutor extends GetEntityExecutor
     }
 
 
+    /**
+     * Return whether the home copy of the entity has been retrieved.  Any remaining classifications are
+     * picked up when the result is augmented.
+     *
+     * @return boolean true if the remaining calls can be cancelled
+     */
+    @Override
+    public boolean hasRequiredResults()
+    {
+        return ! accumulator.isInPhaseOne();
+    }
+
+
     /**
      * Return the entity and accumulated classifications.  The returned entity summary may be from a full entity object or an entity proxy.
      *
@@ -0,0 +1,240 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * GetRelationshipsByGUIDsExecutor provides the executor for the getRelationshipsByGUIDs method.  Each repository
+ * is sent a single request for the batch of relationships that have not yet been retrieved.
+ *
+ * When there is a local repository, the first sweep calls only the local repository, and the second sweep sends
+ * the remote repositories the relationships that the local repository did not have.  As with getRelationship,
+ * the first copy of each relationship that is retrieved is returned.
+ */
+public class GetRelationshipsByGUIDsExecutor extends RepositoryExecutorBase
+{
+    private final MaintenanceAccumulator    exceptionAccumulator;
+    private final String                    localMetadataCollectionId;
+    private final Map<String, Relationship> retrievedRelationships = new LinkedHashMap<>();
+    private final Map<String, Set<String>>  requestedGUIDs         = new HashMap<>();
+
+    private boolean localSweep;
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user
+     * @param guids unique identifiers (guids) for the relationships
+     * @param localMetadataCollectionId unique identifier of the local repository's metadata collection (null if
+     *                                  there is no local repository)
+     * @param auditLog logging destination
+     * @param methodName calling method
+     */
+    public GetRelationshipsByGUIDsExecutor(String       userId,
+                                           List<String> guids,
+                                           String       localMetadataCollectionId,
+                                           AuditLog     auditLog,
+                                           String       methodName)
+    {
+        super(userId, methodName);
+
+        this.exceptionAccumulator = new MaintenanceAccumulator(auditLog);
+        this.localMetadataCollectionId = localMetadataCollectionId;
+        this.localSweep = (localMetadataCollectionId != null);
+
+        if (guids != null)
+        {
+            for (String guid : guids)
+            {
+                retrievedRelationships.put(guid, null);
+            }
+        }
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.  The repository is sent one request for all
+     * the relationships that have not yet been retrieved.  Some repositories may produce exceptions.  These
+     * exceptions are saved and will be returned if there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that every relationship has been retrieved
+     */
+    @Override
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        List<String> guids = this.getGUIDsForRepository(metadataCollectionId);
+
+        if (! guids.isEmpty())
+        {
+            try
+            {
+                List<Relationship> relationships = metadataCollection.getRelationshipsByGUIDs(userId, guids);
+
+                if (relationships != null)
+                {
+                    for (Relationship relationship : relationships)
+                    {
+                        this.addRelationship(relationship);
+                    }
+                }
+            }
+            catch (InvalidParameterException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (RepositoryErrorException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                exceptionAccumulator.captureException(error);
+            }
+            catch (Exception error)
+            {
+                exceptionAccumulator.captureGenericException(methodName, metadataCollectionId, error);
+            }
+        }
+
+        return this.allRelationshipsRetrieved();
+    }
+
+
+    /**
+     * Return whether another sweep of the repositories is needed.  After the local repository has been called,
+     * the remote repositories are called for the relationships it did not have.
+     *
+     * @return boolean true if each repository should be called again
+     */
+    @Override
+    public synchronized boolean needsAnotherSweep()
+    {
+        if (localSweep)
+        {
+            localSweep = false;
+
+            return ! this.allRelationshipsRetrieved();
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Select the relationships to request from a repository.  These are the relationships that have not been
+     * retrieved and have not already been requested from the repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return list of guids (may be empty)
+     */
+    private synchronized List<String> getGUIDsForRepository(String metadataCollectionId)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if ((localSweep) && (! metadataCollectionId.equals(localMetadataCollectionId)))
+        {
+            return guids;
+        }
+
+        Set<String> alreadyRequested = requestedGUIDs.computeIfAbsent(metadataCollectionId, key -> new HashSet<>());
+
+        for (Map.Entry<String, Relationship> entry : retrievedRelationships.entrySet())
+        {
+            String guid = entry.getKey();
+
+            if ((entry.getValue() == null) && (! alreadyRequested.contains(guid)))
+            {
+                guids.add(guid);
+                alreadyRequested.add(guid);
+            }
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Save a relationship retrieved from a repository unless a copy has already been retrieved.
+     *
+     * @param relationship relationship from the repository
+     */
+    private synchronized void addRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            if ((retrievedRelationships.containsKey(relationship.getGUID())) && (retrievedRelationships.get(relationship.getGUID()) == null))
+            {
+                retrievedRelationships.put(relationship.getGUID(), relationship);
+            }
+        }
+    }
+
+
+    /**
+     * Return whether every requested relationship has been retrieved.
+     *
+     * @return boolean
+     */
+    private synchronized boolean allRelationshipsRetrieved()
+    {
+        return ! retrievedRelationships.containsValue(null);
+    }
+
+
+    /**
+     * Return the current version of each of the requested relationships that was found.
+     *
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public synchronized List<Relationship> getRelationships() throws InvalidParameterException,
+                                                                     RepositoryErrorException,
+                                                                     UserNotAuthorizedException
+    {
+        List<Relationship> results = new ArrayList<>();
+
+        for (Relationship relationship : retrievedRelationships.values())
+        {
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(relationship);
+            }
+        }
+
+        if (! results.isEmpty())
+        {
+            return results;
+        }
+
+        exceptionAccumulator.throwCapturedRepositoryErrorException();
+        exceptionAccumulator.throwCapturedUserNotAuthorizedException();
+        exceptionAccumulator.throwCapturedInvalidParameterException();
+
+        return null;
+    }
+}
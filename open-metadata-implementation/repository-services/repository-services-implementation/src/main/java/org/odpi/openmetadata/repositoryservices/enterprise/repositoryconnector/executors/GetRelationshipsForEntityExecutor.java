@@ -163,6 +163,16 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        Integer repositoryStartingElement = super.getRepositoryStartingElement(metadataCollectionId);
+
+        if (repositoryStartingElement == null)
+        {
+            /*
+             * This repository has already supplied all the results it can contribute to this request.
+             */
+            return false;
+        }
+
         try
         {
             /*
@@ -171,12 +181,12 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
             List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
                                                                                       entityGUID,
                                                                                       instanceTypeGUID,
-                                                                                      startingElement,
+                                                                                      repositoryStartingElement,
                                                                                       limitResultsByStatus,
                                                                                       asOfTime,
                                                                                       sequencingProperty,
                                                                                       sequencingOrder,
-                                                                                      pageSize);
+                                                                                      super.getRepositoryPageSize(metadataCollectionId));
 
             accumulator.addRelationships(results, metadataCollectionId);
         }
@@ -5,8 +5,10 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedPagingCursor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryInstanceAccumulatorBase;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 
 import java.util.Date;
 import java.util.List;
@@ -69,6 +71,102 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     }
 
 
+    /**
+     * Switch on federated paging.  The results from each repository are merged into a single sequence, and the
+     * requested page is taken from this sequence.  This must be called before the request is executed.
+     *
+     * @param cursor continuation token returned by the request for the previous page (or null)
+     * @param maxRepositoryPageSize largest page size that can be requested from a repository - zero means no limit
+     */
+    public void enableFederatedPaging(FederatedPagingCursor cursor,
+                                      int                   maxRepositoryPageSize)
+    {
+        queryInstanceAccumulator.enableFederatedPaging(startingElement,
+                                                       pageSize,
+                                                       OMRSRepositoryContentHelper.getInstanceComparator(sequencingProperty, sequencingOrder),
+                                                       cursor,
+                                                       maxRepositoryPageSize);
+    }
+
+
+    /**
+     * Return the continuation token for the next page of results.  This is only available when federated
+     * paging is in use and there may be more results.
+     *
+     * @return cursor or null
+     */
+    public FederatedPagingCursor getNextPagingCursor()
+    {
+        if (queryInstanceAccumulator.isFederatedPaging())
+        {
+            return queryInstanceAccumulator.getNextCursor();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Pass the largest page size that a repository returns to the accumulator.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param maxPageSize largest page size the repository returns - zero means no limit
+     */
+    @Override
+    public void setRepositoryMaxPageSize(String metadataCollectionId,
+                                         int    maxPageSize)
+    {
+        queryInstanceAccumulator.setRepositoryMaxPageSize(metadataCollectionId, maxPageSize);
+    }
+
+
+    /**
+     * Return whether another sweep of the repositories is needed to gather the results.  This occurs when federated
+     * paging is in use and one of the repositories needs to supply more results to complete the page.
+     *
+     * @return boolean true if each repository should be called again
+     */
+    @Override
+    public boolean needsAnotherSweep()
+    {
+        return queryInstanceAccumulator.isFederatedPaging() && queryInstanceAccumulator.needsMoreResults();
+    }
+
+
+    /**
+     * Return the starting element to use on the request to a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return element number or null if the repository does not need to be called
+     */
+    Integer getRepositoryStartingElement(String metadataCollectionId)
+    {
+        if (queryInstanceAccumulator.isFederatedPaging())
+        {
+            return queryInstanceAccumulator.getRepositoryStartingElement(metadataCollectionId);
+        }
+
+        return startingElement;
+    }
+
+
+    /**
+     * Return the page size to use on the request to a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return page size - zero means no limit
+     */
+    int getRepositoryPageSize(String metadataCollectionId)
+    {
+        if (queryInstanceAccumulator.isFederatedPaging())
+        {
+            return queryInstanceAccumulator.getRepositoryPageSize(metadataCollectionId);
+        }
+
+        return pageSize;
+    }
+
+
     /**
      * Return any of the exceptions that are common to paging requests.
      *
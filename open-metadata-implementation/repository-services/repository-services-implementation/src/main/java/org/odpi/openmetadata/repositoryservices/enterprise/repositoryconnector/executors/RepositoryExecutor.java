@@ -20,6 +20,45 @@ public interface RepositoryExecutor
                                      OMRSMetadataCollection metadataCollection);
 
 
+    /**
+     * Pass the largest page size that a repository returns before the request is issued to it.  This lets an
+     * executor that pages through the repositories' results tell a short page from the end of the results.
+     *
+     * @param metadataCollectionId identifier for the metadata collection
+     * @param maxPageSize largest page size the repository returns - zero means no limit
+     */
+    default void setRepositoryMaxPageSize(String metadataCollectionId,
+                                          int    maxPageSize)
+    {
+    }
+
+
+    /**
+     * Return whether the executor already has the results it needs so that a control that calls the repositories
+     * in parallel can stop waiting for the remaining repositories to respond.  Any calls that are still outstanding
+     * are cancelled.  This does not change the results returned from issueRequestToRepository, and so does not
+     * affect a control that calls the repositories one at a time.
+     *
+     * @return boolean true if the remaining calls can be cancelled
+     */
+    default boolean hasRequiredResults()
+    {
+        return false;
+    }
+
+
+    /**
+     * Return whether another sweep of the repositories is needed to gather the results.  This is called after each
+     * sweep of the repositories and before any augmentation of the results.
+     *
+     * @return boolean true if each repository should be called again
+     */
+    default boolean needsAnotherSweep()
+    {
+        return false;
+    }
+
+
     /**
      * Return the results that need further augmentation.
      *
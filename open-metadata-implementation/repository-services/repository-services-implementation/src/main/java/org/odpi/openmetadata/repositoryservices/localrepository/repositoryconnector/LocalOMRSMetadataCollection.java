@@ -1532,19 +1532,30 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
         }
         else
         {
-            List<EntityDetail> resultList = new ArrayList<>();
+            List<EntityDetail> retrievedList = new ArrayList<>();
 
             for (EntityDetail entity : instanceList)
             {
-                EntityDetail validatedEntity = this.getValidatedEntity(userId, entity);
-
-                if (validatedEntity != null)
+                if (entity != null)
                 {
-                    resultList.add(validatedEntity);
+                    setLocalProvenanceThroughoutEntity(entity);
+                    setLocalProvenanceInEntityClassifications(entity.getClassifications());
+                    retrievedList.add(entity);
                 }
             }
 
-            return resultList;
+            /*
+             * The whole list is passed to the security verifier in one call so that it can use its cached
+             * decisions and make the rest of the decisions together.
+             */
+            try
+            {
+                return securityVerifier.validateUserForEntityListRead(userId, metadataCollectionName, retrievedList);
+            }
+            catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
+            {
+                throw new UserNotAuthorizedException(error);
+            }
         }
     }
 
@@ -1566,19 +1577,25 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
         }
         else
         {
-            List<Relationship> resultList = new ArrayList<>();
+            List<Relationship> retrievedList = new ArrayList<>();
 
             for (Relationship relationship : instanceList)
             {
-                Relationship validatedRelationship = this.getValidatedRelationship(userId, relationship);
-
-                if (validatedRelationship != null)
+                if (relationship != null)
                 {
-                    resultList.add(validatedRelationship);
+                    setLocalProvenanceThroughoutRelationship(relationship);
+                    retrievedList.add(relationship);
                 }
             }
 
-            return resultList;
+            try
+            {
+                return securityVerifier.validateUserForRelationshipListRead(userId, metadataCollectionName, retrievedList);
+            }
+            catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
+            {
+                throw new UserNotAuthorizedException(error);
+            }
         }
     }
 
@@ -1848,6 +1865,40 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  Entities that are
+     * not known, or are only stored as proxies, in the metadata collection are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids) throws InvalidParameterException,
+                                                                            RepositoryErrorException,
+                                                                            UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> resultList = realMetadataCollection.getEntitiesByGUIDs(userId, guids);
+
+        return this.securityVerifyReadEntityList(userId, setLocalProvenanceInEntityList(resultList));
+    }
+
+
     /**
      * Return a historical version of an entity.  This includes the header, classifications and properties of the entity.
      *
@@ -2024,6 +2075,155 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  When the default security verifier is in use,
+     * the real repository counts the relationships; otherwise the relationships are retrieved so that each
+     * one can be checked by the security verifier before it is counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the request is not valid for the relationships.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime) throws InvalidParameterException,
+                                                                                       TypeErrorException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntityParameterValidation(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           0,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           null,
+                                                           0);
+
+        /*
+         * Perform operation
+         */
+        if (securityVerifier.getClass() == OMRSMetadataDefaultRepositorySecurity.class)
+        {
+            return realMetadataCollection.countRelationshipsForEntity(userId,
+                                                                      entityGUID,
+                                                                      relationshipTypeGUID,
+                                                                      limitResultsByStatus,
+                                                                      asOfTime);
+        }
+
+        return super.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime);
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     * When the default security verifier is in use, the real repository counts the relationships; otherwise the
+     * relationships are retrieved so that each one can be checked by the security verifier before it is counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical count of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return count of relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the request is not valid for the relationships.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           String                     homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                       TypeErrorException,
+                                                                                                       RepositoryErrorException,
+                                                                                                       EntityNotKnownException,
+                                                                                                       PropertyErrorException,
+                                                                                                       PagingErrorException,
+                                                                                                       FunctionNotSupportedException,
+                                                                                                       UserNotAuthorizedException
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return this.countRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, limitResultsByStatus, asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntityParameterValidation(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           0,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           null,
+                                                           0);
+
+        /*
+         * Perform operation
+         */
+        if (securityVerifier.getClass() == OMRSMetadataDefaultRepositorySecurity.class)
+        {
+            return realMetadataCollection.countRelationshipsForEntity(userId,
+                                                                      entityGUID,
+                                                                      relationshipTypeGUID,
+                                                                      limitResultsByStatus,
+                                                                      asOfTime,
+                                                                      homeMetadataCollectionId);
+        }
+
+        return super.countRelationshipsForEntity(userId,
+                                                 entityGUID,
+                                                 relationshipTypeGUID,
+                                                 limitResultsByStatus,
+                                                 asOfTime,
+                                                 homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -2117,6 +2317,184 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * When the default security verifier is in use, the real repository counts the entities; otherwise the
+     * entities are retrieved so that each one can be checked by the security verifier before it is counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        0);
+
+        /*
+         * Perform operation
+         */
+        if (securityVerifier.getClass() == OMRSMetadataDefaultRepositorySecurity.class)
+        {
+            return realMetadataCollection.countEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime);
+        }
+
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime);
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and are
+     * homed in the requested metadata collection.  When the default security verifier is in use, the real
+     * repository counts the entities; otherwise the entities are retrieved so that each one can be checked by
+     * the security verifier before it is counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical count of the entities.  Null means count the present values.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return count of matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException the request parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       String                    homeMetadataCollectionId) throws InvalidParameterException,
+                                                                                                 RepositoryErrorException,
+                                                                                                 TypeErrorException,
+                                                                                                 PropertyErrorException,
+                                                                                                 PagingErrorException,
+                                                                                                 FunctionNotSupportedException,
+                                                                                                 UserNotAuthorizedException
+    {
+        if (homeMetadataCollectionId == null)
+        {
+            return this.countEntitiesByProperty(userId,
+                                                entityTypeGUID,
+                                                matchProperties,
+                                                matchCriteria,
+                                                limitResultsByStatus,
+                                                limitResultsByClassification,
+                                                asOfTime);
+        }
+
+        /*
+         * Validate parameters
+         */
+        super.findEntitiesByPropertyParameterValidation(userId,
+                                                        entityTypeGUID,
+                                                        matchProperties,
+                                                        matchCriteria,
+                                                        0,
+                                                        limitResultsByStatus,
+                                                        limitResultsByClassification,
+                                                        asOfTime,
+                                                        null,
+                                                        null,
+                                                        0);
+
+        /*
+         * Perform operation
+         */
+        if (securityVerifier.getClass() == OMRSMetadataDefaultRepositorySecurity.class)
+        {
+            return realMetadataCollection.countEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  homeMetadataCollectionId);
+        }
+
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime,
+                                             homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -2463,6 +2841,40 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  Relationships that are not known in
+     * the metadata collection are left out of the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @return list of Relationship structures in the order of the requested guids, or null if none are found.
+     * @throws InvalidParameterException one of the guids is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsByGUIDs(String       userId,
+                                                      List<String> guids) throws InvalidParameterException,
+                                                                                 RepositoryErrorException,
+                                                                                 UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationshipsByGUIDs";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Process operation
+         */
+        List<Relationship> resultList = realMetadataCollection.getRelationshipsByGUIDs(userId, guids);
+
+        return this.securityVerifyReadRelationshipList(userId, setLocalProvenanceInRelationshipList(resultList));
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
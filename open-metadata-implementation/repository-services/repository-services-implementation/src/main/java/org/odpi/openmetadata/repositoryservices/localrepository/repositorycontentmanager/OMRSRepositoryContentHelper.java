@@ -546,36 +546,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
 
         validateRepositoryContentManager(methodName);
 
-        List<String>  subTypeNames = new ArrayList<>();
-        List<TypeDef> typeDefs = repositoryContentManager.getKnownTypeDefs();
-
-        if (typeDefs != null)
-        {
-            for (TypeDef typeDef : typeDefs)
-            {
-                if (typeDef != null)
-                {
-                    if (! superTypeName.equals(typeDef.getName()))
-                    {
-                        if (repositoryContentManager.isTypeOf(sourceName,
-                                                              typeDef.getName(),
-                                                              superTypeName))
-                        {
-                            subTypeNames.add(typeDef.getName());
-                        }
-                    }
-                }
-            }
-        }
-
-        if (subTypeNames.isEmpty())
-        {
-            return null;
-        }
-        else
-        {
-            return subTypeNames;
-        }
+        return repositoryContentManager.getSubTypesOf(sourceName, superTypeName);
     }
 
 
@@ -2455,21 +2426,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
         // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
         if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise, handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(getInstanceComparator(sequencingProperty, sequencingOrder));
         }
 
         if ((fromElement == 0) && (pageSize > fullResultsSize))
@@ -2527,21 +2484,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
         // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
         if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise, handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(getInstanceComparator(sequencingProperty, sequencingOrder));
         }
 
         if ((fromElement == 0) && (pageSize == 0 || pageSize > fullResultsSize))
@@ -2558,6 +2501,59 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
     }
 
 
+    /**
+     * Return the comparator that orders entities and relationships according to the supplied sequencing parameters.
+     * This is the ordering used by formatEntityResults and formatRelationshipResults, so it can also be used to merge
+     * results that have been sorted by different repositories.
+     *
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.  Null or ANY means that all instances
+     *                        are considered equal.
+     * @return comparator
+     */
+    public static Comparator<InstanceHeader> getInstanceComparator(String          sequencingProperty,
+                                                                   SequencingOrder sequencingOrder)
+    {
+        if ((sequencingOrder == null) || (sequencingOrder == SequencingOrder.ANY))
+        {
+            return (one, two) -> 0;
+        }
+        else if ((sequencingOrder == SequencingOrder.PROPERTY_ASCENDING) || (sequencingOrder == SequencingOrder.PROPERTY_DESCENDING))
+        {
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(getInstanceProperties(one),
+                                                                               getInstanceProperties(two),
+                                                                               sequencingProperty,
+                                                                               sequencingOrder);
+        }
+        else
+        {
+            return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+        }
+    }
+
+
+    /**
+     * Return the properties of an entity or relationship.
+     *
+     * @param instance instance to extract the properties from
+     * @return properties or null
+     */
+    private static InstanceProperties getInstanceProperties(InstanceHeader instance)
+    {
+        if (instance instanceof EntityDetail)
+        {
+            return ((EntityDetail) instance).getProperties();
+        }
+        else if (instance instanceof Relationship)
+        {
+            return ((Relationship) instance).getProperties();
+        }
+
+        return null;
+    }
+
+
     /**
      * Compare the two instances and determine the sort order based on the nominated non-property sort order.
      *
@@ -53,6 +53,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * OMRSRepositoryContentManager supports an in-memory cache of TypeDefs for the local server.  It is used by the OMRS
@@ -92,11 +93,18 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private final Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private final Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private final Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private final Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
     private final Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private final Map<String, String>             metadataCollectionNames        = new HashMap<>();
     private final Map<String, Set<String>>        knownPropertyToTypeDefNames    = new HashMap<>();
 
+    /*
+     * The type lattice answers the type hierarchy queries.  It is rebuilt from knownTypeDefNames on the first
+     * query after the TypeDefs change (typeDefVersion is incremented on each change) and published through the
+     * volatile reference so that queries do not need a lock.
+     */
+    private final AtomicLong                      typeDefVersion                 = new AtomicLong(0L);
+    private volatile OMRSTypeLattice              typeLattice                    = null;
+
 
     /*
      * The audit log provides a verifiable record of the open metadata archives that have been loaded into
@@ -186,6 +194,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
         knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+        typeDefVersion.incrementAndGet();
 
         if (isLocallySupported)
         {
@@ -270,6 +279,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
         knownTypeDefNames.remove(obsoleteTypeDefName);
+        typeDefVersion.incrementAndGet();
 
         if (isLocallySupported)
         {
@@ -377,6 +387,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         {
             knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
             knownTypeDefNames.remove(obsoleteTypeDefName);
+            typeDefVersion.incrementAndGet();
 
             if (localRepositoryConnector != null)
             {
@@ -533,7 +544,38 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the type lattice for the current TypeDefs, building a new one if the TypeDefs have changed
+     * since the last one was built.
+     *
+     * @return type lattice
+     */
+    private OMRSTypeLattice getTypeLattice()
+    {
+        OMRSTypeLattice currentLattice = typeLattice;
+
+        if ((currentLattice == null) || (currentLattice.getTypeDefVersion() != typeDefVersion.get()))
+        {
+            synchronized (typeDefVersion)
+            {
+                currentLattice = typeLattice;
+
+                long currentVersion = typeDefVersion.get();
+
+                if ((currentLattice == null) || (currentLattice.getTypeDefVersion() != currentVersion))
+                {
+                    currentLattice = new OMRSTypeLattice(currentVersion, new ArrayList<>(knownTypeDefNames.values()));
+                    typeLattice = currentLattice;
+                }
+            }
+        }
+
+        return currentLattice;
+    }
+
+
+    /**
+     * Evaluate the superTypes for a type.  The results come from the type lattice.  If the type is not known,
+     * or one of its super types is not known, a logic error is thrown.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
@@ -546,12 +588,17 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String  thisMethodName = "getSuperTypes";
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        OMRSTypeLattice     lattice       = this.getTypeLattice();
+        List<TypeDefLink>   typeHierarchy = null;
 
-        if (typeHierarchy == null)
+        if (lattice.isKnown(typeName))
+        {
+            typeHierarchy = new ArrayList<>(lattice.getSuperTypes(typeName));
+        }
+        else
         {
             /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
+             * The lattice could not resolve the type hierarchy.  Walk it here to report the problem.
              */
             typeHierarchy = new ArrayList<>();
 
@@ -596,10 +643,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                     }
                 }
 
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
             }
             else
             {
@@ -668,6 +711,13 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        OMRSTypeLattice lattice = this.getTypeLattice();
+
+        if (lattice.isKnown(actualTypeName))
+        {
+            return lattice.isTypeOf(actualTypeName, expectedTypeName);
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
@@ -744,6 +794,13 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return true;
         }
 
+        OMRSTypeLattice lattice = this.getTypeLattice();
+
+        if (lattice.isKnown(actualTypeName))
+        {
+            return lattice.isTypeOfByGUID(actualTypeName, expectedTypeGUID);
+        }
+
         /*
          * Looking for a match in the superTypes.
          */
@@ -769,6 +826,30 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Return the list of type names for all the subtypes of a type.  Types whose super types can not be
+     * resolved are not included.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param superTypeName name of the super type - this value is not included in the result.
+     * @return list of type names (a null means the type is not known, or it has no subtypes)
+     */
+    List<String> getSubTypesOf(String sourceName,
+                               String superTypeName)
+    {
+        log.debug("getSubTypesOf: sourceName = " + sourceName + "; superTypeName = " + superTypeName);
+
+        List<String> subTypeNames = this.getTypeLattice().getSubTypeNames(superTypeName);
+
+        if (subTypeNames.isEmpty())
+        {
+            return null;
+        }
+
+        return new ArrayList<>(subTypeNames);
+    }
+
+
     /**
      * Return the InstanceType that matches the supplied type name.  If the type name is not recognized,
      * of the category is incorrect, a logic exception is thrown.
@@ -1618,6 +1699,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
                     knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    typeDefVersion.incrementAndGet();
                 }
             }
             else
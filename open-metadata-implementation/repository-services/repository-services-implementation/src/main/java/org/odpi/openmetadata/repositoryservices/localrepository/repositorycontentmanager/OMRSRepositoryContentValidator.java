@@ -5,6 +5,7 @@ package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconte
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRepositoryPropertiesUtilities;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRegexMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -3804,7 +3805,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (OMRSRegexMatcher.matches(instancePropertyValueString, matchPropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3863,7 +3864,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (expectedValue.matches(matchValue))
+                        if (OMRSRegexMatcher.matches(expectedValue, matchValue))
                         {
                             result = true;
                         }
@@ -4221,7 +4222,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                             else
                             {
                                 String actual = actualValue.valueAsString();
-                                matchesProperties = actual.matches(test);
+                                matchesProperties = OMRSRegexMatcher.matches(actual, test);
                             }
                         }
                         else
@@ -4488,7 +4489,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (OMRSRegexMatcher.matches(stringProperty, searchCriteria))
                                 {
                                     return true;
                                 }
@@ -4502,7 +4503,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (OMRSRegexMatcher.matches(enumValue, searchCriteria))
                             {
                                 return true;
                             }
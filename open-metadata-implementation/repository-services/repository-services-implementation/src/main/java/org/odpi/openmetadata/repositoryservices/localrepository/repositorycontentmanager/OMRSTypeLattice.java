@@ -0,0 +1,224 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OMRSTypeLattice is an immutable snapshot of the type hierarchy built from the TypeDefs known to the
+ * repository content manager.  Each TypeDef is given an integer identifier and a bit set of the identifiers of
+ * its ancestors (including itself) so a type check is two map lookups and a bit test.  The list of super types
+ * and the list of subtypes for each TypeDef are computed once when the lattice is built.
+ *
+ * The content manager builds a new lattice after the TypeDefs change and swaps it in as a single reference,
+ * so readers never need a lock.  A TypeDef whose chain of super types refers to an unknown TypeDef is recorded
+ * as broken and is not answered by the lattice.
+ */
+class OMRSTypeLattice
+{
+    private final long                  typeDefVersion;
+    private final Map<String, Integer>  typeIdsByName = new HashMap<>();
+    private final Map<String, Integer>  typeIdsByGUID = new HashMap<>();
+    private final BitSet[]              ancestors;
+    private final List<TypeDefLink>[]   superTypes;
+    private final List<String>[]        subTypeNames;
+
+
+    /**
+     * Build the lattice from the supplied TypeDefs.
+     *
+     * @param typeDefVersion version of the content manager's TypeDefs that this lattice reflects
+     * @param typeDefs known TypeDefs
+     */
+    @SuppressWarnings("unchecked")
+    OMRSTypeLattice(long                typeDefVersion,
+                    Collection<TypeDef> typeDefs)
+    {
+        this.typeDefVersion = typeDefVersion;
+
+        List<TypeDef>        typeDefList = new ArrayList<>();
+        Map<String, TypeDef> typeDefsByName = new HashMap<>();
+
+        for (TypeDef typeDef : typeDefs)
+        {
+            if ((typeDef != null) && (typeDef.getName() != null) && (! typeIdsByName.containsKey(typeDef.getName())))
+            {
+                typeIdsByName.put(typeDef.getName(), typeDefList.size());
+                typeDefsByName.put(typeDef.getName(), typeDef);
+
+                if (typeDef.getGUID() != null)
+                {
+                    typeIdsByGUID.put(typeDef.getGUID(), typeDefList.size());
+                }
+
+                typeDefList.add(typeDef);
+            }
+        }
+
+        int typeCount = typeDefList.size();
+
+        ancestors    = new BitSet[typeCount];
+        superTypes   = new List[typeCount];
+        subTypeNames = new List[typeCount];
+
+        for (int typeId = 0; typeId < typeCount; typeId++)
+        {
+            BitSet            typeAncestors = new BitSet(typeCount);
+            List<TypeDefLink> typeHierarchy = new ArrayList<>();
+            TypeDefLink       superTypeLink = typeDefList.get(typeId).getSuperType();
+            boolean           isBroken      = false;
+
+            typeAncestors.set(typeId);
+
+            /*
+             * The walk is bounded by the number of types to protect against a loop in the super types.
+             */
+            while ((superTypeLink != null) && (typeHierarchy.size() < typeCount))
+            {
+                Integer superTypeId = null;
+
+                if (superTypeLink.getName() != null)
+                {
+                    superTypeId = typeIdsByName.get(superTypeLink.getName());
+                }
+
+                if (superTypeId == null)
+                {
+                    isBroken = true;
+                    break;
+                }
+
+                typeHierarchy.add(superTypeLink);
+                typeAncestors.set(superTypeId);
+                superTypeLink = typeDefsByName.get(superTypeLink.getName()).getSuperType();
+            }
+
+            if ((! isBroken) && (superTypeLink == null))
+            {
+                ancestors[typeId]  = typeAncestors;
+                superTypes[typeId] = Collections.unmodifiableList(typeHierarchy);
+            }
+
+            subTypeNames[typeId] = new ArrayList<>();
+        }
+
+        for (int typeId = 0; typeId < typeCount; typeId++)
+        {
+            if (ancestors[typeId] != null)
+            {
+                String typeName = typeDefList.get(typeId).getName();
+
+                for (int ancestorId = ancestors[typeId].nextSetBit(0); ancestorId >= 0; ancestorId = ancestors[typeId].nextSetBit(ancestorId + 1))
+                {
+                    if (ancestorId != typeId)
+                    {
+                        subTypeNames[ancestorId].add(typeName);
+                    }
+                }
+            }
+        }
+
+        for (int typeId = 0; typeId < typeCount; typeId++)
+        {
+            subTypeNames[typeId] = Collections.unmodifiableList(subTypeNames[typeId]);
+        }
+    }
+
+
+    /**
+     * Return the version of the content manager's TypeDefs that this lattice reflects.
+     *
+     * @return version number
+     */
+    long getTypeDefVersion()
+    {
+        return typeDefVersion;
+    }
+
+
+    /**
+     * Is the type hierarchy of the named type known to the lattice?
+     *
+     * @param typeName name of the type
+     * @return false if the type is unknown or its super types are broken
+     */
+    boolean isKnown(String typeName)
+    {
+        Integer typeId = typeIdsByName.get(typeName);
+
+        return (typeId != null) && (ancestors[typeId] != null);
+    }
+
+
+    /**
+     * Return the list of links to the super types of the named type, nearest first.  The type must be known.
+     *
+     * @param typeName name of the type
+     * @return unmodifiable list of super type links (empty if the type is top level)
+     */
+    List<TypeDefLink> getSuperTypes(String typeName)
+    {
+        return superTypes[typeIdsByName.get(typeName)];
+    }
+
+
+    /**
+     * Is the named type the same as, or a subtype of, the expected type?  The actual type must be known.
+     *
+     * @param actualTypeName name of the type to test
+     * @param expectedTypeName name of the expected type
+     * @return boolean
+     */
+    boolean isTypeOf(String actualTypeName,
+                     String expectedTypeName)
+    {
+        Integer expectedTypeId = typeIdsByName.get(expectedTypeName);
+
+        return (expectedTypeId != null) && (ancestors[typeIdsByName.get(actualTypeName)].get(expectedTypeId));
+    }
+
+
+    /**
+     * Is the named type the same as, or a subtype of, the type with the expected unique identifier?
+     * The actual type must be known.
+     *
+     * @param actualTypeName name of the type to test
+     * @param expectedTypeGUID unique identifier of the expected type
+     * @return boolean
+     */
+    boolean isTypeOfByGUID(String actualTypeName,
+                           String expectedTypeGUID)
+    {
+        Integer expectedTypeId = typeIdsByGUID.get(expectedTypeGUID);
+
+        return (expectedTypeId != null) && (ancestors[typeIdsByName.get(actualTypeName)].get(expectedTypeId));
+    }
+
+
+    /**
+     * Return the names of all the subtypes of the named type.
+     *
+     * @param superTypeName name of the super type - this value is not included in the result
+     * @return unmodifiable list of type names (empty if the type is not known or has no subtypes)
+     */
+    List<String> getSubTypeNames(String superTypeName)
+    {
+        Integer typeId = typeIdsByName.get(superTypeName);
+
+        if (typeId == null)
+        {
+            return Collections.emptyList();
+        }
+
+        return subTypeNames[typeId];
+    }
+}
@@ -144,6 +144,23 @@ public class OMRSCohortManager
             this.cohortInstancesTopicConnector  = cohortInstancesTopicConnector;
             this.localMetadataCollectionId = localMetadataCollectionId;
 
+            /*
+             * With dedicated topics, the registry events that advertise each member's capabilities only
+             * arrive on the registration topic.
+             */
+            if (cohortRegistrationTopicConnector != null)
+            {
+                if (cohortTypesTopicConnector != null)
+                {
+                    cohortTypesTopicConnector.shareCohortMembership(cohortRegistrationTopicConnector);
+                }
+
+                if (cohortInstancesTopicConnector != null)
+                {
+                    cohortInstancesTopicConnector.shareCohortMembership(cohortRegistrationTopicConnector);
+                }
+            }
+
             /*
              * Create the event manager for processing incoming events from the cohort's OMRS Topic.
              */
@@ -579,6 +579,10 @@ public class OMRSMetadataHighwayManager
             {
                 topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1);
             }
+            else if (protocolVersion == OpenMetadataEventProtocolVersion.V1_BINARY)
+            {
+                topicConnector.setEventProtocolLevel(OMRSEventProtocolVersion.V1_BINARY);
+            }
 
             return topicConnector;
         }
@@ -1927,6 +1927,62 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  Entities that are
+     * not known, or are only stored as proxies, in the metadata collection are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * EntityDetail list in the order of the requested guids.  Null means none of the entities were found or
+     * InvalidParameterException one of the guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public EntityListResponse getEntitiesByGUIDs(String                  serverName,
+                                                 String                  userId,
+                                                 InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getEntitiesByGUIDs";
+
+        log.debug("Calling method: " + methodName);
+
+        EntityListResponse response = new EntityListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guidListRequest != null)
+            {
+                response.setEntities(metadataCollection.getEntitiesByGUIDs(userId, guidListRequest.getGUIDs()));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response);
+
+        return response;
+    }
+
+
     /**
      * Return a historical version of an entity.  This includes the header, classifications and properties of the entity.
      *
@@ -2317,6 +2373,135 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  The relationships are counted by the
+     * repository rather than being returned to the caller.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param findRequestParameters find parameters used to limit the relationships counted.  The paging and
+     *                              sequencing parameters are ignored.
+     * @return InstanceCountResponse:
+     * count of the relationships or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * EntityNotKnownException the requested entity instance is not known in the metadata collection or
+     * PropertyErrorException the request is not valid for the relationships or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceCountResponse countRelationshipsForEntity(String                               serverName,
+                                                             String                               userId,
+                                                             String                               entityGUID,
+                                                             TypeLimitedHistoricalFindRequest     findRequestParameters)
+    {
+        return this.countRelationshipsForEntity(serverName, userId, entityGUID, findRequestParameters, null);
+    }
+
+
+    /**
+     * Return the number of relationships for a specific entity that are homed in the requested metadata collection.
+     * The relationships are counted by the repository rather than being returned to the caller.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param findRequestParameters find parameters used to limit the relationships counted.  The paging and
+     *                              sequencing parameters are ignored.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return InstanceCountResponse:
+     * count of the relationships or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * EntityNotKnownException the requested entity instance is not known in the metadata collection or
+     * PropertyErrorException the request is not valid for the relationships or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public InstanceCountResponse countRelationshipsForEntity(String                               serverName,
+                                                             String                               userId,
+                                                             String                               entityGUID,
+                                                             TypeLimitedHistoricalFindRequest     findRequestParameters,
+                                                             String                               homeMetadataCollectionId)
+    {
+        final  String   methodName = "countRelationshipsForEntity";
+
+        log.debug("Calling method: " + methodName);
+
+        String               relationshipTypeGUID    = null;
+        List<InstanceStatus> limitResultsByStatus    = null;
+        Date                 asOfTime                = null;
+
+        InstanceCountResponse response = new InstanceCountResponse();
+
+        if (findRequestParameters != null)
+        {
+            relationshipTypeGUID    = findRequestParameters.getTypeGUID();
+            limitResultsByStatus    = findRequestParameters.getLimitResultsByStatus();
+            asOfTime                = findRequestParameters.getAsOfTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setCount(metadataCollection.countRelationshipsForEntity(userId,
+                                                                             entityGUID,
+                                                                             relationshipTypeGUID,
+                                                                             limitResultsByStatus,
+                                                                             asOfTime,
+                                                                             homeMetadataCollectionId));
+        }
+        catch (RepositoryErrorException error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (EntityNotKnownException error)
+        {
+            captureEntityNotKnownException(response, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            capturePropertyErrorException(response, error);
+        }
+        catch (TypeErrorException error)
+        {
+            captureTypeErrorException(response, error);
+        }
+        catch (PagingErrorException error)
+        {
+            capturePagingErrorException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response);
+
+        return response;
+    }
+
+
     /**
      * Return a list of entities that match the supplied conditions.  The results can be returned over many pages.
      *
@@ -2779,6 +2964,136 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     * The entities are counted by the repository rather than being returned to the caller.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param findRequestParameters find parameters used to limit the entities counted.  The paging and
+     *                              sequencing parameters are ignored.
+     * @return InstanceCountResponse:
+     * count of the matching entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  InstanceCountResponse countEntitiesByProperty(String                              serverName,
+                                                          String                              userId,
+                                                          EntityPropertyHistoricalFindRequest findRequestParameters)
+    {
+        return this.countEntitiesByProperty(serverName, userId, findRequestParameters, null);
+    }
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria and
+     * are homed in the requested metadata collection.  The entities are counted by the repository rather than
+     * being returned to the caller.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param findRequestParameters find parameters used to limit the entities counted.  The paging and
+     *                              sequencing parameters are ignored.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return InstanceCountResponse:
+     * count of the matching entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  InstanceCountResponse countEntitiesByProperty(String                              serverName,
+                                                          String                              userId,
+                                                          EntityPropertyHistoricalFindRequest findRequestParameters,
+                                                          String                              homeMetadataCollectionId)
+    {
+        final  String   methodName = "countEntitiesByProperty";
+
+        log.debug("Calling method: " + methodName);
+
+        String                    entityTypeGUID                    = null;
+        InstanceProperties        matchProperties                   = null;
+        MatchCriteria             matchCriteria                     = null;
+        List<InstanceStatus>      limitResultsByStatus              = null;
+        List<String>              limitResultsByClassification      = null;
+        Date                      asOfTime                          = null;
+
+        InstanceCountResponse response = new InstanceCountResponse();
+
+        if (findRequestParameters != null)
+        {
+            entityTypeGUID                    = findRequestParameters.getTypeGUID();
+            matchProperties                   = findRequestParameters.getMatchProperties();
+            matchCriteria                     = findRequestParameters.getMatchCriteria();
+            limitResultsByStatus              = findRequestParameters.getLimitResultsByStatus();
+            limitResultsByClassification      = findRequestParameters.getLimitResultsByClassification();
+            asOfTime                          = findRequestParameters.getAsOfTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setCount(metadataCollection.countEntitiesByProperty(userId,
+                                                                         entityTypeGUID,
+                                                                         matchProperties,
+                                                                         matchCriteria,
+                                                                         limitResultsByStatus,
+                                                                         limitResultsByClassification,
+                                                                         asOfTime,
+                                                                         homeMetadataCollectionId));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (TypeErrorException error)
+        {
+            captureTypeErrorException(response, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            capturePropertyErrorException(response, error);
+        }
+        catch (PagingErrorException error)
+        {
+            capturePagingErrorException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response);
+
+        return response;
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classification attached.
      *
@@ -3374,6 +3689,62 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  Relationships that are not known in
+     * the metadata collection are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships.
+     * @return RelationshipListResponse:
+     * Relationship list in the order of the requested guids.  Null means none of the relationships were found or
+     * InvalidParameterException one of the guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public RelationshipListResponse getRelationshipsByGUIDs(String                  serverName,
+                                                            String                  userId,
+                                                            InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getRelationshipsByGUIDs";
+
+        log.debug("Calling method: " + methodName);
+
+        RelationshipListResponse response = new RelationshipListResponse();
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            if (guidListRequest != null)
+            {
+                response.setRelationships(metadataCollection.getRelationshipsByGUIDs(userId, guidListRequest.getGUIDs()));
+            }
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response);
+
+        return response;
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *
@@ -0,0 +1,395 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
+import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentValidator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that the enterprise metadata collection counts instances in a cohort with several members by adding
+ * up the count of the instances homed in each member, so reference copies are not counted twice, and that it
+ * retrieves and counts the instances when a member can not count the instances homed in it.
+ */
+public class EnterpriseOMRSMetadataCollectionCountTest
+{
+    private static final String userId      = "testUser";
+    private static final String entityGUID  = "entity-guid";
+    private static final String memberOneId = "member-one";
+    private static final String memberTwoId = "member-two";
+
+    private TestMetadataCollection           memberOne;
+    private TestMetadataCollection           memberTwo;
+    private EnterpriseOMRSMetadataCollection enterpriseMetadataCollection;
+
+
+    /**
+     * Set up an enterprise connector with two members.  Each member is home to one relationship and one entity
+     * and has a reference copy of the other member's relationship and entity.
+     *
+     * @throws Exception unable to start the connectors
+     */
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        AuditLog                     auditLog       = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testserver", auditLog);
+
+        memberOne = new TestMetadataCollection(memberOneId);
+        memberTwo = new TestMetadataCollection(memberTwoId);
+
+        for (TestMetadataCollection member : List.of(memberOne, memberTwo))
+        {
+            member.relationships.add(this.getInstance(new Relationship(), "relationship-1", memberOneId));
+            member.relationships.add(this.getInstance(new Relationship(), "relationship-2", memberTwoId));
+            member.entities.add(this.getInstance(new EntityDetail(), "entity-1", memberOneId));
+            member.entities.add(this.getInstance(new EntityDetail(), "entity-2", memberTwoId));
+        }
+
+        EnterpriseOMRSRepositoryConnector enterpriseConnector = new EnterpriseOMRSRepositoryConnector(new TestConnectorManager());
+
+        enterpriseConnector.setRepositoryName("Enterprise");
+        enterpriseConnector.setMetadataCollectionId("enterprise");
+        enterpriseConnector.setAuditLog(auditLog);
+        enterpriseConnector.start();
+        enterpriseConnector.addRemoteConnector(memberOneId, this.getMemberConnector(memberOneId, memberOne));
+        enterpriseConnector.addRemoteConnector(memberTwoId, this.getMemberConnector(memberTwoId, memberTwo));
+
+        enterpriseMetadataCollection = new EnterpriseOMRSMetadataCollection(enterpriseConnector,
+                                                                            "Enterprise",
+                                                                            new OMRSRepositoryContentHelper(contentManager),
+                                                                            new OMRSRepositoryContentValidator(contentManager),
+                                                                            "enterprise",
+                                                                            null,
+                                                                            auditLog);
+    }
+
+
+    /**
+     * The counts of the relationships homed in each member are added together without retrieving them.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSumRelationshipCounts() throws Exception
+    {
+        assertEquals(enterpriseMetadataCollection.countRelationshipsForEntity(userId, entityGUID, null, null, null), 2);
+        assertEquals(memberOne.homedCountCalls, 1);
+        assertEquals(memberTwo.homedCountCalls, 1);
+        assertEquals(memberOne.retrieveCalls + memberTwo.retrieveCalls, 0);
+    }
+
+
+    /**
+     * The counts of the entities homed in each member are added together without retrieving them.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testSumEntityCounts() throws Exception
+    {
+        assertEquals(enterpriseMetadataCollection.countEntitiesByProperty(userId, null, null, null, null, null, null), 2);
+        assertEquals(memberOne.homedCountCalls, 1);
+        assertEquals(memberTwo.homedCountCalls, 1);
+        assertEquals(memberOne.retrieveCalls + memberTwo.retrieveCalls, 0);
+    }
+
+
+    /**
+     * A member that does not know the entity has no relationships for it.  The entity is only unknown if no
+     * member knows it.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testEntityNotKnown() throws Exception
+    {
+        memberTwo.entityKnown = false;
+
+        assertEquals(enterpriseMetadataCollection.countRelationshipsForEntity(userId, entityGUID, null, null, null), 1);
+
+        memberOne.entityKnown = false;
+
+        try
+        {
+            enterpriseMetadataCollection.countRelationshipsForEntity(userId, entityGUID, null, null, null);
+            fail("EntityNotKnownException expected");
+        }
+        catch (EntityNotKnownException expected)
+        {
+            /*
+             * No member knows the entity.
+             */
+        }
+    }
+
+
+    /**
+     * When a member can not count the instances homed in it, the instances are retrieved and each one is
+     * counted once.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    public void testFallBackToRetrieval() throws Exception
+    {
+        memberTwo.homedCountSupported = false;
+
+        assertEquals(enterpriseMetadataCollection.countRelationshipsForEntity(userId, entityGUID, null, null, null), 2);
+        assertEquals(enterpriseMetadataCollection.countEntitiesByProperty(userId, null, null, null, null, null, null), 2);
+        assertTrue(memberOne.retrieveCalls > 0);
+        assertTrue(memberTwo.retrieveCalls > 0);
+    }
+
+
+    private <T extends InstanceHeader> T getInstance(T      instance,
+                                                     String guid,
+                                                     String homeMetadataCollectionId)
+    {
+        instance.setGUID(guid);
+        instance.setMetadataCollectionId(homeMetadataCollectionId);
+        instance.setStatus(InstanceStatus.ACTIVE);
+        instance.setVersion(1L);
+        instance.setUpdateTime(new Date(1000));
+
+        return instance;
+    }
+
+
+    private OMRSRepositoryConnector getMemberConnector(String                 metadataCollectionId,
+                                                       TestMetadataCollection member) throws Exception
+    {
+        TestRepositoryConnector connector = new TestRepositoryConnector();
+
+        connector.setRepositoryName(metadataCollectionId);
+        connector.setMetadataCollectionId(metadataCollectionId);
+        connector.setMetadataCollection(member);
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Connector manager that accepts the enterprise connector without sending it any members.
+     */
+    private static class TestConnectorManager implements OMRSConnectorManager
+    {
+        @Override
+        public String registerConnectorConsumer(OMRSConnectorConsumer connectorConsumer)
+        {
+            return "test-consumer";
+        }
+
+
+        @Override
+        public void unregisterConnectorConsumer(String connectorConsumerId)
+        {
+        }
+    }
+
+
+    /**
+     * Connector to one of the members of the cohort.
+     */
+    private static class TestRepositoryConnector extends OMRSRepositoryConnector
+    {
+        void setMetadataCollection(TestMetadataCollection metadataCollection)
+        {
+            super.metadataCollection = metadataCollection;
+        }
+    }
+
+
+    /**
+     * Metadata collection for a member that holds the same relationships and entities as the other member.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        final List<Relationship> relationships       = new ArrayList<>();
+        final List<EntityDetail> entities            = new ArrayList<>();
+        boolean                  homedCountSupported = true;
+        boolean                  entityKnown         = true;
+        int                      homedCountCalls     = 0;
+        int                      retrieveCalls       = 0;
+
+
+        TestMetadataCollection(String metadataCollectionId)
+        {
+            super(null, metadataCollectionId, null, null, metadataCollectionId);
+        }
+
+
+        @Override
+        public String getMetadataCollectionId(String userId)
+        {
+            return metadataCollectionId;
+        }
+
+
+        @Override
+        public int countRelationshipsForEntity(String               userId,
+                                               String               entityGUID,
+                                               String               relationshipTypeGUID,
+                                               List<InstanceStatus> limitResultsByStatus,
+                                               Date                 asOfTime,
+                                               String               homeMetadataCollectionId) throws EntityNotKnownException,
+                                                                                                     FunctionNotSupportedException
+        {
+            final String methodName = "countRelationshipsForEntity";
+
+            homedCountCalls++;
+
+            this.validateEntityKnown(entityGUID, methodName);
+            this.validateHomedCountSupported(methodName);
+
+            return this.countHomed(relationships, homeMetadataCollectionId);
+        }
+
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize) throws EntityNotKnownException
+        {
+            retrieveCalls++;
+
+            this.validateEntityKnown(entityGUID, "getRelationshipsForEntity");
+
+            return this.getPage(relationships, fromRelationshipElement, pageSize);
+        }
+
+
+        @Override
+        public int countEntitiesByProperty(String               userId,
+                                           String               entityTypeGUID,
+                                           InstanceProperties   matchProperties,
+                                           MatchCriteria        matchCriteria,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           List<String>         limitResultsByClassification,
+                                           Date                 asOfTime,
+                                           String               homeMetadataCollectionId) throws FunctionNotSupportedException
+        {
+            homedCountCalls++;
+
+            this.validateHomedCountSupported("countEntitiesByProperty");
+
+            return this.countHomed(entities, homeMetadataCollectionId);
+        }
+
+
+        @Override
+        public List<EntityDetail> findEntitiesByProperty(String               userId,
+                                                         String               entityTypeGUID,
+                                                         InstanceProperties   matchProperties,
+                                                         MatchCriteria        matchCriteria,
+                                                         int                  fromEntityElement,
+                                                         List<InstanceStatus> limitResultsByStatus,
+                                                         List<String>         limitResultsByClassification,
+                                                         Date                 asOfTime,
+                                                         String               sequencingProperty,
+                                                         SequencingOrder      sequencingOrder,
+                                                         int                  pageSize)
+        {
+            retrieveCalls++;
+
+            return this.getPage(entities, fromEntityElement, pageSize);
+        }
+
+
+        private void validateEntityKnown(String entityGUID,
+                                         String methodName) throws EntityNotKnownException
+        {
+            if (! entityKnown)
+            {
+                throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(entityGUID,
+                                                                                                      methodName,
+                                                                                                      repositoryName),
+                                                  this.getClass().getName(),
+                                                  methodName);
+            }
+        }
+
+
+        private void validateHomedCountSupported(String methodName) throws FunctionNotSupportedException
+        {
+            if (! homedCountSupported)
+            {
+                throw new FunctionNotSupportedException(OMRSErrorCode.METHOD_NOT_IMPLEMENTED.getMessageDefinition(methodName,
+                                                                                                                  this.getClass().getName(),
+                                                                                                                  repositoryName),
+                                                        this.getClass().getName(),
+                                                        methodName);
+            }
+        }
+
+
+        private int countHomed(List<? extends InstanceHeader> instances,
+                               String                         homeMetadataCollectionId)
+        {
+            int count = 0;
+
+            for (InstanceHeader instance : instances)
+            {
+                if (super.isHomedIn(instance, homeMetadataCollectionId))
+                {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+
+        private <T> List<T> getPage(List<T> instances,
+                                    int     fromElement,
+                                    int     pageSize)
+        {
+            if (fromElement >= instances.size())
+            {
+                return null;
+            }
+
+            int toElement = instances.size();
+
+            if ((pageSize > 0) && (fromElement + pageSize < toElement))
+            {
+                toElement = fromElement + pageSize;
+            }
+
+            return new ArrayList<>(instances.subList(fromElement, toElement));
+        }
+    }
+}
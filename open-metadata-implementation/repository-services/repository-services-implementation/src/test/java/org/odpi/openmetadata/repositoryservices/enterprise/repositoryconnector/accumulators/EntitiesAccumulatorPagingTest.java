@@ -0,0 +1,366 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the federated paging of the EntitiesAccumulator.  Each simulated repository returns its results sorted by GUID.
+ */
+public class EntitiesAccumulatorPagingTest
+{
+    private static final int PAGE_SIZE = 3;
+
+    private final Map<String, List<String>> repositories       = new TreeMap<>();
+
+    /*
+     * Some repositories return fewer results than requested because they cap their own page size.
+     */
+    private final Map<String, Integer>      repositoryPageCaps = new TreeMap<>();
+    private int                             requestCount       = 0;
+
+
+    /**
+     * Set up three repositories with overlapping results of different lengths.
+     */
+    @BeforeMethod
+    void setUp()
+    {
+        repositories.clear();
+        repositoryPageCaps.clear();
+        requestCount = 0;
+
+        repositories.put("repo-a", Arrays.asList("a01", "a04", "a07", "a10", "a13", "shared-1"));
+        repositories.put("repo-b", Arrays.asList("a02", "a05", "a08", "shared-1", "shared-2"));
+        repositories.put("repo-c", Arrays.asList("a03", "a06", "a09", "a11", "a12", "a14", "a15", "shared-2"));
+    }
+
+
+    /**
+     * Every page retrieved without a cursor should match the corresponding slice of the sorted, de-duplicated results.
+     */
+    @Test
+    void testPagingWithoutCursor()
+    {
+        List<String> expectedResults = this.getExpectedResults();
+
+        for (int startingElement = 0; startingElement < expectedResults.size() + PAGE_SIZE; startingElement += PAGE_SIZE)
+        {
+            EntitiesAccumulator accumulator = this.runPage(startingElement, PAGE_SIZE, null, 0);
+
+            assertEquals(this.getPageGUIDs(accumulator), this.getExpectedPage(expectedResults, startingElement, PAGE_SIZE));
+        }
+    }
+
+
+    /**
+     * Walking the pages with the cursor from the previous page should produce the same results.
+     */
+    @Test
+    void testPagingWithCursor()
+    {
+        List<String>          expectedResults = this.getExpectedResults();
+        FederatedPagingCursor cursor          = null;
+        List<String>          allResults      = new ArrayList<>();
+
+        for (int startingElement = 0; startingElement < expectedResults.size(); startingElement += PAGE_SIZE)
+        {
+            EntitiesAccumulator accumulator = this.runPage(startingElement, PAGE_SIZE, cursor, 0);
+
+            assertEquals(this.getPageGUIDs(accumulator), this.getExpectedPage(expectedResults, startingElement, PAGE_SIZE));
+
+            allResults.addAll(this.getPageGUIDs(accumulator));
+
+            cursor = accumulator.getNextCursor();
+
+            if (startingElement + PAGE_SIZE < expectedResults.size())
+            {
+                assertNotNull(cursor);
+                assertEquals(cursor.getStartingElement(), startingElement + PAGE_SIZE);
+            }
+        }
+
+        assertEquals(allResults, expectedResults);
+    }
+
+
+    /**
+     * A limit on the size of the page requested from each repository means more sweeps are needed.
+     */
+    @Test
+    void testPagingWithRepositoryPageLimit()
+    {
+        List<String> expectedResults = this.getExpectedResults();
+
+        EntitiesAccumulator accumulator = this.runPage(6, 6, null, 2);
+
+        assertEquals(this.getPageGUIDs(accumulator), this.getExpectedPage(expectedResults, 6, 6));
+    }
+
+
+    /**
+     * An instance held by two repositories at the end of a page must not be returned again at the start of
+     * the next page.
+     */
+    @Test
+    void testSharedInstanceAtPageBoundary()
+    {
+        repositories.clear();
+        repositories.put("repo-a", Arrays.asList("b01", "b02", "b03"));
+        repositories.put("repo-b", Arrays.asList("b03", "b04", "b05"));
+
+        List<String>          expectedResults = this.getExpectedResults();
+        FederatedPagingCursor cursor          = null;
+        List<String>          allResults      = new ArrayList<>();
+
+        for (int startingElement = 0; startingElement < expectedResults.size(); startingElement += PAGE_SIZE)
+        {
+            EntitiesAccumulator accumulator = this.runPage(startingElement, PAGE_SIZE, cursor, 0);
+
+            allResults.addAll(this.getPageGUIDs(accumulator));
+
+            cursor = accumulator.getNextCursor();
+        }
+
+        assertEquals(allResults, expectedResults);
+        assertEquals(allResults, Arrays.asList("b01", "b02", "b03", "b04", "b05"));
+    }
+
+
+    /**
+     * A repository that returns its maximum page size when asked for more results still has more results to give.
+     */
+    @Test
+    void testRepositoryCapsItsPageSize()
+    {
+        repositoryPageCaps.put("repo-c", 2);
+
+        List<String>          expectedResults = this.getExpectedResults();
+        FederatedPagingCursor cursor          = null;
+        List<String>          allResults      = new ArrayList<>();
+
+        for (int startingElement = 0; startingElement < expectedResults.size(); startingElement += PAGE_SIZE)
+        {
+            EntitiesAccumulator accumulator = this.runPage(startingElement, PAGE_SIZE, cursor, 0);
+
+            assertEquals(this.getPageGUIDs(accumulator), this.getExpectedPage(expectedResults, startingElement, PAGE_SIZE));
+
+            allResults.addAll(this.getPageGUIDs(accumulator));
+
+            cursor = accumulator.getNextCursor();
+        }
+
+        assertEquals(allResults, expectedResults);
+
+        EntitiesAccumulator accumulator = this.runPage(9, 6, null, 0);
+
+        assertEquals(this.getPageGUIDs(accumulator), this.getExpectedPage(expectedResults, 9, 6));
+    }
+
+
+    /**
+     * A repository that returns fewer results than requested, and fewer than its maximum page size, has no more
+     * results and is not asked again.
+     */
+    @Test
+    void testShortPageEndsResults()
+    {
+        repositoryPageCaps.put("repo-c", 20);
+
+        EntitiesAccumulator accumulator = this.runPage(0, 30, null, 0);
+
+        assertEquals(this.getPageGUIDs(accumulator), this.getExpectedResults());
+        assertEquals(requestCount, repositories.size());
+    }
+
+
+    /**
+     * A page that needs more sweeps of the repositories than allowed is returned incomplete and flagged.
+     */
+    @Test
+    void testIncompletePageIsFlagged()
+    {
+        List<String> manyResults = new ArrayList<>();
+
+        for (int i = 0; i < 150; i++)
+        {
+            manyResults.add(String.format("c%03d", i));
+        }
+
+        repositories.clear();
+        repositories.put("repo-a", manyResults);
+
+        EntitiesAccumulator accumulator = this.runPage(0, 0, null, 1);
+
+        assertTrue(accumulator.isPageIncomplete());
+        assertEquals(this.getPageGUIDs(accumulator), manyResults.subList(0, 100));
+
+        accumulator = this.runPage(0, 0, null, 10);
+
+        assertFalse(accumulator.isPageIncomplete());
+        assertEquals(this.getPageGUIDs(accumulator), manyResults);
+    }
+
+
+    /**
+     * Simulate the federation control.  Each repository is called until the accumulator has the results for the page.
+     *
+     * @param startingElement starting element of the page
+     * @param pageSize size of the page
+     * @param cursor cursor from the previous page
+     * @param maxRepositoryPageSize limit on the page size for a repository request
+     * @return accumulator holding the page
+     */
+    private EntitiesAccumulator runPage(int                   startingElement,
+                                        int                   pageSize,
+                                        FederatedPagingCursor cursor,
+                                        int                   maxRepositoryPageSize)
+    {
+        EntitiesAccumulator accumulator = new EntitiesAccumulator(null, null, null);
+
+        accumulator.enableFederatedPaging(startingElement,
+                                          pageSize,
+                                          OMRSRepositoryContentHelper.getInstanceComparator(null, SequencingOrder.GUID),
+                                          cursor,
+                                          maxRepositoryPageSize);
+
+        for (Map.Entry<String, Integer> repositoryPageCap : repositoryPageCaps.entrySet())
+        {
+            accumulator.setRepositoryMaxPageSize(repositoryPageCap.getKey(), repositoryPageCap.getValue());
+        }
+
+        do
+        {
+            for (String metadataCollectionId : repositories.keySet())
+            {
+                Integer repositoryStartingElement = accumulator.getRepositoryStartingElement(metadataCollectionId);
+
+                if (repositoryStartingElement != null)
+                {
+                    accumulator.addEntities(this.findEntities(metadataCollectionId,
+                                                              repositoryStartingElement,
+                                                              accumulator.getRepositoryPageSize(metadataCollectionId)),
+                                            metadataCollectionId);
+                }
+            }
+        }
+        while (accumulator.needsMoreResults());
+
+        return accumulator;
+    }
+
+
+    /**
+     * Return a page of results from a simulated repository.
+     *
+     * @param metadataCollectionId repository to query
+     * @param startingElement starting element
+     * @param pageSize page size
+     * @return list of entities
+     */
+    private List<EntityDetail> findEntities(String metadataCollectionId,
+                                            int    startingElement,
+                                            int    pageSize)
+    {
+        List<EntityDetail> results  = new ArrayList<>();
+        Integer            pageCap  = repositoryPageCaps.get(metadataCollectionId);
+        int                pageSent = pageSize;
+
+        requestCount++;
+
+        if ((pageCap != null) && ((pageSent == 0) || (pageSent > pageCap)))
+        {
+            pageSent = pageCap;
+        }
+
+        for (String guid : this.getExpectedPage(repositories.get(metadataCollectionId), startingElement, pageSent))
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entity.setVersion(1L);
+
+            results.add(entity);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the GUIDs of the entities in the page.
+     *
+     * @param accumulator accumulator
+     * @return list of GUIDs
+     */
+    private List<String> getPageGUIDs(EntitiesAccumulator accumulator)
+    {
+        List<String> pageGUIDs = accumulator.getResultsForAugmentation();
+
+        if (pageGUIDs == null)
+        {
+            return new ArrayList<>();
+        }
+
+        return pageGUIDs;
+    }
+
+
+    /**
+     * Return all the unique results in GUID order.
+     *
+     * @return list of GUIDs
+     */
+    private List<String> getExpectedResults()
+    {
+        TreeSet<String> allGUIDs = new TreeSet<>();
+
+        for (List<String> repositoryGUIDs : repositories.values())
+        {
+            allGUIDs.addAll(repositoryGUIDs);
+        }
+
+        return new ArrayList<>(allGUIDs);
+    }
+
+
+    /**
+     * Return a slice of a list.
+     *
+     * @param fullList list to slice
+     * @param startingElement starting element
+     * @param pageSize page size (zero means no limit)
+     * @return sub list
+     */
+    private List<String> getExpectedPage(List<String> fullList,
+                                         int          startingElement,
+                                         int          pageSize)
+    {
+        if (startingElement >= fullList.size())
+        {
+            return new ArrayList<>();
+        }
+
+        int endElement = fullList.size();
+
+        if ((pageSize > 0) && (startingElement + pageSize < endElement))
+        {
+            endElement = startingElement + pageSize;
+        }
+
+        return new ArrayList<>(fullList.subList(startingElement, endElement));
+    }
+}
@@ -0,0 +1,340 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the GetEntitiesByGUIDsExecutor sends each repository one request for the entities it is likely to own,
+ * that it returns the home copy of each entity in the order requested, and that it merges the classifications
+ * from every repository as getEntityDetail does.
+ */
+public class GetEntitiesByGUIDsExecutorTest
+{
+    private static final String LOCAL  = "local";
+    private static final String REPO_B = "repo-b";
+    private static final String REPO_C = "repo-c";
+
+
+    /**
+     * The local repository's reference copies route each entity to its home repository.
+     */
+    @Test
+    void testRoutingByHomeRepository() throws Exception
+    {
+        Map<String, MockMetadataCollection> repositories = new LinkedHashMap<>();
+
+        repositories.put(LOCAL,  new MockMetadataCollection(LOCAL, getEntity("e1", REPO_B), getEntity("e2", REPO_C)));
+        repositories.put(REPO_B, new MockMetadataCollection(REPO_B, getEntity("e1", REPO_B)));
+        repositories.put(REPO_C, new MockMetadataCollection(REPO_C, getEntity("e2", REPO_C), getEntity("e3", REPO_C), getEntity("e1", REPO_B)));
+
+        GetEntitiesByGUIDsExecutor executor = new GetEntitiesByGUIDsExecutor("test-user",
+                                                                             Arrays.asList("e1", "e2", "e3", "e4", "e1"),
+                                                                             LOCAL,
+                                                                             null,
+                                                                             "testRoutingByHomeRepository");
+
+        runSweeps(executor, repositories);
+
+        assertEquals(repositories.get(LOCAL).requests, Arrays.asList(Arrays.asList("e1", "e2", "e3", "e4")));
+        assertEquals(repositories.get(REPO_B).requests, Arrays.asList(Arrays.asList("e1", "e3", "e4")));
+        assertEquals(repositories.get(REPO_C).requests, Arrays.asList(Arrays.asList("e2", "e3", "e4")));
+
+        List<EntityDetail> results = executor.getEntities();
+
+        assertNotNull(results);
+        assertEquals(results.size(), 3);
+        assertEquals(results.get(0).getGUID(), "e1");
+        assertEquals(results.get(1).getGUID(), "e2");
+        assertEquals(results.get(2).getGUID(), "e3");
+    }
+
+
+    /**
+     * Without a local repository every repository is called in a single sweep.
+     */
+    @Test
+    void testNoLocalRepository() throws Exception
+    {
+        Map<String, MockMetadataCollection> repositories = new LinkedHashMap<>();
+
+        repositories.put(REPO_B, new MockMetadataCollection(REPO_B, getEntity("e1", REPO_B)));
+        repositories.put(REPO_C, new MockMetadataCollection(REPO_C, getEntity("e2", REPO_C)));
+
+        GetEntitiesByGUIDsExecutor executor = new GetEntitiesByGUIDsExecutor("test-user",
+                                                                             Arrays.asList("e1", "e2"),
+                                                                             null,
+                                                                             null,
+                                                                             "testNoLocalRepository");
+
+        runSweeps(executor, repositories);
+
+        assertEquals(repositories.get(REPO_B).requests, Arrays.asList(Arrays.asList("e1", "e2")));
+        assertEquals(repositories.get(REPO_C).requests, Arrays.asList(Arrays.asList("e2")));
+        assertEquals(executor.getEntities().size(), 2);
+    }
+
+
+    /**
+     * Classifications from every returned copy are merged, and the repositories that did not return a copy
+     * of an entity are asked for the classifications they home for it.
+     */
+    @Test
+    void testClassificationsMerged() throws Exception
+    {
+        Map<String, MockMetadataCollection> repositories = new LinkedHashMap<>();
+
+        EntityDetail localCopy = getEntity("e1", REPO_B);
+
+        localCopy.setClassifications(Arrays.asList(getClassification("Confidentiality", 2L)));
+
+        EntityDetail homeCopy = getEntity("e1", REPO_B);
+
+        homeCopy.setClassifications(Arrays.asList(getClassification("Confidentiality", 1L), getClassification("Memento", 1L)));
+
+        repositories.put(LOCAL,  new MockMetadataCollection(LOCAL, localCopy));
+        repositories.put(REPO_B, new MockMetadataCollection(REPO_B, homeCopy, getEntity("e2", REPO_B)));
+        repositories.put(REPO_C, new MockMetadataCollection(REPO_C));
+
+        repositories.get(REPO_C).homeClassifications.put("e1", Arrays.asList(getClassification("Criticality", 1L)));
+        repositories.get(REPO_C).homeClassifications.put("e2", Arrays.asList(getClassification("Retention", 1L)));
+
+        GetEntitiesByGUIDsExecutor executor = new GetEntitiesByGUIDsExecutor("test-user",
+                                                                             Arrays.asList("e1", "e2"),
+                                                                             LOCAL,
+                                                                             null,
+                                                                             "testClassificationsMerged");
+
+        runSweeps(executor, repositories);
+
+        assertEquals(executor.getResultsForAugmentation(), Arrays.asList("e1", "e2"));
+        assertEquals(repositories.get(LOCAL).homeClassificationRequests, Arrays.asList("e2"));
+        assertTrue(repositories.get(REPO_B).homeClassificationRequests.isEmpty());
+        assertEquals(repositories.get(REPO_C).homeClassificationRequests, Arrays.asList("e1", "e2"));
+
+        List<EntityDetail> results = executor.getEntities();
+
+        assertNotNull(results);
+        assertEquals(results.size(), 2);
+
+        Map<String, Long> e1Classifications = getClassificationVersions(results.get(0));
+
+        assertEquals(e1Classifications.size(), 3);
+        assertEquals(e1Classifications.get("Confidentiality"), Long.valueOf(2L));
+        assertTrue(e1Classifications.containsKey("Memento"));
+        assertTrue(e1Classifications.containsKey("Criticality"));
+
+        Map<String, Long> e2Classifications = getClassificationVersions(results.get(1));
+
+        assertEquals(e2Classifications.size(), 1);
+        assertTrue(e2Classifications.containsKey("Retention"));
+    }
+
+
+    /**
+     * Nothing found returns null rather than an empty list.
+     */
+    @Test
+    void testNothingFound() throws Exception
+    {
+        Map<String, MockMetadataCollection> repositories = new LinkedHashMap<>();
+
+        repositories.put(LOCAL, new MockMetadataCollection(LOCAL));
+
+        GetEntitiesByGUIDsExecutor executor = new GetEntitiesByGUIDsExecutor("test-user",
+                                                                             Arrays.asList("e1"),
+                                                                             LOCAL,
+                                                                             null,
+                                                                             "testNothingFound");
+
+        runSweeps(executor, repositories);
+
+        assertNull(executor.getEntities());
+    }
+
+
+    /**
+     * Call the repositories in turn and then augment the results, as a sequential federation control does.
+     *
+     * @param executor executor under test
+     * @param repositories simulated repositories
+     */
+    private void runSweeps(GetEntitiesByGUIDsExecutor          executor,
+                           Map<String, MockMetadataCollection> repositories)
+    {
+        do
+        {
+            for (Map.Entry<String, MockMetadataCollection> repository : repositories.entrySet())
+            {
+                if (executor.issueRequestToRepository(repository.getKey(), repository.getValue()))
+                {
+                    break;
+                }
+            }
+        }
+        while (executor.needsAnotherSweep());
+
+        List<String> resultGUIDs = executor.getResultsForAugmentation();
+
+        if (resultGUIDs != null)
+        {
+            for (String resultGUID : resultGUIDs)
+            {
+                for (Map.Entry<String, MockMetadataCollection> repository : repositories.entrySet())
+                {
+                    executor.augmentResultFromRepository(resultGUID, repository.getKey(), repository.getValue());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Create an entity.
+     *
+     * @param guid unique identifier
+     * @param homeMetadataCollectionId home repository
+     * @return entity
+     */
+    private static EntityDetail getEntity(String guid,
+                                          String homeMetadataCollectionId)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setMetadataCollectionId(homeMetadataCollectionId);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    /**
+     * Create a classification.
+     *
+     * @param name classification name
+     * @param version version of the classification
+     * @return classification
+     */
+    private static Classification getClassification(String name,
+                                                    long   version)
+    {
+        Classification classification = new Classification();
+
+        classification.setName(name);
+        classification.setStatus(InstanceStatus.ACTIVE);
+        classification.setVersion(version);
+
+        return classification;
+    }
+
+
+    /**
+     * Return the version of each classification of an entity.
+     *
+     * @param entity entity
+     * @return map from classification name to version
+     */
+    private static Map<String, Long> getClassificationVersions(EntityDetail entity)
+    {
+        Map<String, Long> versions = new HashMap<>();
+
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                versions.put(classification.getName(), classification.getVersion());
+            }
+        }
+
+        return versions;
+    }
+
+
+    /**
+     * Simulated repository that records the batches of GUIDs requested from it.
+     */
+    private static class MockMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final Map<String, EntityDetail>         entities                   = new LinkedHashMap<>();
+        private final List<List<String>>                requests                   = new ArrayList<>();
+        private final Map<String, List<Classification>> homeClassifications        = new HashMap<>();
+        private final List<String>                      homeClassificationRequests = new ArrayList<>();
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionId identifier of the repository
+         * @param storedEntities entities stored in the repository
+         */
+        MockMetadataCollection(String          metadataCollectionId,
+                               EntityDetail... storedEntities)
+        {
+            super(null, metadataCollectionId, null, null, metadataCollectionId);
+
+            for (EntityDetail entity : storedEntities)
+            {
+                entities.put(entity.getGUID(), entity);
+            }
+        }
+
+
+        /**
+         * Return the stored entities that are requested.
+         *
+         * @param userId calling user
+         * @param guids requested entities
+         * @return entities or null
+         */
+        @Override
+        public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                     List<String> guids)
+        {
+            requests.add(new ArrayList<>(guids));
+
+            List<EntityDetail> results = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                if (entities.containsKey(guid))
+                {
+                    results.add(new EntityDetail(entities.get(guid)));
+                }
+            }
+
+            return results.isEmpty() ? null : results;
+        }
+
+
+        /**
+         * Return the classifications that this repository homes for an entity.
+         *
+         * @param userId calling user
+         * @param entityGUID requested entity
+         * @return classifications or null
+         */
+        @Override
+        public List<Classification> getHomeClassifications(String userId,
+                                                           String entityGUID)
+        {
+            homeClassificationRequests.add(entityGUID);
+
+            return homeClassifications.get(entityGUID);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+/**
+ * Check the type lattice against the TypeDefs in the open metadata types archive, and measure the time
+ * taken by isTypeOf and getSubTypesOf.  The timings are logged rather than asserted since they depend on
+ * the machine running the tests.
+ */
+public class OMRSTypeLatticeBenchmarkTest
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTypeLatticeBenchmarkTest.class);
+
+    private static final String sourceName = "OMRSTypeLatticeBenchmarkTest";
+
+    private static final int WARM_UP_ITERATIONS = 20;
+    private static final int TIMED_ITERATIONS   = 100;
+
+    private OMRSRepositoryContentManager contentManager;
+    private List<TypeDef>                typeDefs;
+    private Map<String, TypeDef>         typeDefsByName;
+
+
+    /**
+     * Load the open metadata types into a content manager.
+     */
+    @BeforeClass
+    public void loadOpenMetadataTypes()
+    {
+        AuditLog                     auditLog  = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+        OpenMetadataArchiveTypeStore typeStore = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+
+        contentManager = new OMRSRepositoryContentManager("testserver", auditLog);
+        typeDefs       = typeStore.getNewTypeDefs();
+        typeDefsByName = new HashMap<>();
+
+        for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+        {
+            contentManager.addAttributeTypeDef(sourceName, attributeTypeDef);
+        }
+
+        for (TypeDef typeDef : typeDefs)
+        {
+            contentManager.addTypeDef(sourceName, typeDef);
+            typeDefsByName.put(typeDef.getName(), typeDef);
+        }
+    }
+
+
+    /**
+     * Every type check and subtype list from the lattice should match a walk of the super type links.
+     */
+    @Test
+    public void testLatticeMatchesTypeHierarchy()
+    {
+        for (TypeDef typeDef : typeDefs)
+        {
+            List<String> expectedSubTypes = new ArrayList<>();
+
+            for (TypeDef candidate : typeDefs)
+            {
+                boolean isSubType = this.walkSuperTypes(candidate).contains(typeDef.getName());
+
+                assertEquals(contentManager.isTypeOf(sourceName, candidate.getName(), typeDef.getName()),
+                             isSubType || candidate.getName().equals(typeDef.getName()),
+                             candidate.getName() + " isTypeOf " + typeDef.getName());
+
+                if (isSubType)
+                {
+                    expectedSubTypes.add(candidate.getName());
+                }
+            }
+
+            List<String> subTypes = contentManager.getSubTypesOf(sourceName, typeDef.getName());
+
+            if (expectedSubTypes.isEmpty())
+            {
+                assertNull(subTypes);
+            }
+            else
+            {
+                assertNotNull(subTypes);
+                assertEquals(new HashSet<>(subTypes), new HashSet<>(expectedSubTypes));
+            }
+
+            List<TypeDefLink> superTypes     = contentManager.getSuperTypes(sourceName, typeDef.getName(), "testLatticeMatchesTypeHierarchy");
+            List<String>      superTypeNames = new ArrayList<>();
+
+            if (superTypes != null)
+            {
+                for (TypeDefLink superType : superTypes)
+                {
+                    superTypeNames.add(superType.getName());
+                }
+            }
+
+            assertEquals(superTypeNames, this.walkSuperTypes(typeDef));
+        }
+    }
+
+
+    /**
+     * A type added after the lattice has been built should be visible to the next query.  This test runs
+     * after the others since it changes the types known to the content manager.
+     */
+    @Test(dependsOnMethods = {"testLatticeMatchesTypeHierarchy", "testTypeHierarchyBenchmark"})
+    public void testNewTypeIsVisible()
+    {
+        assertNotNull(contentManager.getSubTypesOf(sourceName, "Referenceable"));
+        assertFalse(contentManager.getSubTypesOf(sourceName, "Referenceable").contains("LatticeTestType"));
+
+        TypeDefLink superType = new TypeDefLink();
+        superType.setGUID(typeDefsByName.get("Asset").getGUID());
+        superType.setName("Asset");
+
+        EntityDef newTypeDef = new EntityDef();
+        newTypeDef.setGUID(UUID.randomUUID().toString());
+        newTypeDef.setName("LatticeTestType");
+        newTypeDef.setSuperType(superType);
+
+        contentManager.addTypeDef(sourceName, newTypeDef);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "LatticeTestType", "Referenceable"));
+        assertTrue(contentManager.isTypeOfByGUID(sourceName, newTypeDef.getGUID(), "LatticeTestType", typeDefsByName.get("Asset").getGUID()));
+        assertTrue(contentManager.getSubTypesOf(sourceName, "Referenceable").contains("LatticeTestType"));
+        assertEquals(contentManager.getSubTypesOf(sourceName, "LatticeTestType"), null);
+    }
+
+
+    /**
+     * Measure the time to check every type against every other type, and to list the subtypes of every type.
+     */
+    @Test(dependsOnMethods = "testLatticeMatchesTypeHierarchy")
+    public void testTypeHierarchyBenchmark()
+    {
+        long typeChecks = 0;
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+        {
+            typeChecks += this.checkAllTypes();
+            this.listAllSubTypes();
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < TIMED_ITERATIONS; i++)
+        {
+            typeChecks += this.checkAllTypes();
+        }
+
+        long isTypeOfTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+
+        for (int i = 0; i < TIMED_ITERATIONS; i++)
+        {
+            this.listAllSubTypes();
+        }
+
+        long getSubTypesOfTime = System.nanoTime() - start;
+        long callsPerIteration = (long) typeDefs.size() * typeDefs.size();
+
+        log.info("isTypeOf: {} ns per call over {} types",
+                 isTypeOfTime / (TIMED_ITERATIONS * callsPerIteration), typeDefs.size());
+        log.info("getSubTypesOf: {} ns per call over {} types",
+                 getSubTypesOfTime / ((long) TIMED_ITERATIONS * typeDefs.size()), typeDefs.size());
+
+        assertTrue(typeChecks > 0);
+    }
+
+
+    /**
+     * Check every type against every other type.
+     *
+     * @return number of matches
+     */
+    private long checkAllTypes()
+    {
+        long matches = 0;
+
+        for (TypeDef actualType : typeDefs)
+        {
+            for (TypeDef expectedType : typeDefs)
+            {
+                if (contentManager.isTypeOf(sourceName, actualType.getName(), expectedType.getName()))
+                {
+                    matches++;
+                }
+            }
+        }
+
+        return matches;
+    }
+
+
+    /**
+     * List the subtypes of every type.
+     */
+    private void listAllSubTypes()
+    {
+        for (TypeDef typeDef : typeDefs)
+        {
+            contentManager.getSubTypesOf(sourceName, typeDef.getName());
+        }
+    }
+
+
+    /**
+     * Return the names of the super types of a type by following the super type links.
+     *
+     * @param typeDef type to start from
+     * @return list of super type names, nearest first
+     */
+    private List<String> walkSuperTypes(TypeDef typeDef)
+    {
+        List<String> superTypeNames = new ArrayList<>();
+        TypeDefLink  superType      = typeDef.getSuperType();
+
+        while (superType != null)
+        {
+            superTypeNames.add(superType.getName());
+            superType = typeDefsByName.get(superType.getName()).getSuperType();
+        }
+
+        return superTypeNames;
+    }
+}
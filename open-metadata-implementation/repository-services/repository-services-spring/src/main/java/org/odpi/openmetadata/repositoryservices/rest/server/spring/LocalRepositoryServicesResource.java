@@ -695,6 +695,30 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of each of the requested entities.  Entities that are
+     * not known, or are only stored as proxies, in the metadata collection are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * EntityDetail list in the order of the requested guids.  Null means none of the entities were found or
+     * InvalidParameterException one of the guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public EntityListResponse getEntitiesByGUIDs(@PathVariable String                  serverName,
+                                                 @PathVariable String                  userId,
+                                                 @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getEntitiesByGUIDs(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -816,6 +840,41 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param findRequestParameters find parameters used to limit the relationships counted.
+     * @param homeMetadataCollectionId only count the relationships homed in this metadata collection (null for all).
+     * @return InstanceCountResponse:
+     * count of the relationships or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * EntityNotKnownException the requested entity instance is not known in the metadata collection or
+     * PropertyErrorException the request is not valid for the relationships or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entity/{entityGUID}/relationships/count")
+
+    public InstanceCountResponse countRelationshipsForEntity(@PathVariable String                            serverName,
+                                                             @PathVariable String                            userId,
+                                                             @PathVariable String                            entityGUID,
+                                                             @RequestBody  TypeLimitedHistoricalFindRequest  findRequestParameters,
+                                                             @RequestParam(required = false) String          homeMetadataCollectionId)
+    {
+        return restAPI.countRelationshipsForEntity(serverName, userId,
+                                                   entityGUID,
+                                                   findRequestParameters,
+                                                   homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that match the supplied conditions.  The results can be returned over many pages.
      *
@@ -932,6 +991,36 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param findRequestParameters find parameters used to limit the entities counted.
+     * @param homeMetadataCollectionId only count the entities homed in this metadata collection (null for all).
+     * @return InstanceCountResponse:
+     * count of the matching entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity or
+     * PagingErrorException the request parameters are set up incorrectly or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-property/count")
+
+    public  InstanceCountResponse countEntitiesByProperty(@PathVariable String                              serverName,
+                                                          @PathVariable String                              userId,
+                                                          @RequestBody  EntityPropertyHistoricalFindRequest findRequestParameters,
+                                                          @RequestParam(required = false) String            homeMetadataCollectionId)
+    {
+        return restAPI.countEntitiesByProperty(serverName, userId, findRequestParameters, homeMetadataCollectionId);
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classification attached.
      *
@@ -1108,6 +1197,30 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the current version of each of the requested relationships.  Relationships that are not known in
+     * the metadata collection are left out of the results.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships.
+     * @return RelationshipListResponse:
+     * Relationship list in the order of the requested guids.  Null means none of the relationships were found or
+     * InvalidParameterException one of the guids is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/relationships/by-guids")
+
+    public RelationshipListResponse getRelationshipsByGUIDs(@PathVariable String                  serverName,
+                                                            @PathVariable String                  userId,
+                                                            @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getRelationshipsByGUIDs(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return a historical version of a relationship.
      *